@@ -146,6 +146,28 @@ service EdgeService {
    //ReadReplica read(1:string mbId, 2:byte fetchMetadata,3:string compFormat),
    ReadReplica read(1:i64 mbId, 2:byte fetchMetadata,3:string compFormat,4:i64 uncompSize),
 
+   //returns length bytes of the block starting at offset, fewer if the block ends
+   //before that. Compressed blocks are stored in chunks so only the chunks
+   //spanned by the range are decompressed
+   ReadReplica readRange(1:i64 mbId, 2:string compFormat, 3:i64 offset, 4:i64 length),
+
+   //chunked write of a block too large for a single frame. openWrite returns the id
+   //of the transfer, empty if it could not be opened. The chunks are sent in order
+   //along with their offset in the block and are compressed and written as they
+   //arrive. The block is visible only once committed, a block is read back in
+   //chunks using readRange
+   string openWrite(1:i64 mbId, 2:Metadata mbMetadata),
+
+   byte writeChunk(1:string transferId, 2:i64 offset, 3:binary data),
+
+   WriteResponse commitWrite(1:string transferId),
+
+   byte abortWrite(1:string transferId),
+
+   //removes the blocks along with their metadata and checksum files, the blocks
+   //not present are skipped
+   byte deleteBlocks(1:list<i64> mbIds),
+
    //this only returns the metadata
    //ReadReplica getMetadata(1:string mbId),
    ReadReplica getMetadata(1:i64 mbId),
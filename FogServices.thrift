@@ -104,11 +104,13 @@ struct MessagePayload {
 struct BuddyPayload {
 	1:required binary payload;
 	2:optional map<i64, string> mbIdToStreamIdMap;
+	3:optional map<i16, binary> statsSketches;
 }
 
 struct NeighborPayload {
 	1:required binary payload;
 	2:optional map<i64, string> mbIdToStreamIdMap;
+	3:optional binary statsSketch;
 }
 
 
@@ -411,7 +413,7 @@ service FogService {
 	//The edge may want to leave the cluster
 	byte edgeLeave(1: EdgeInfoData edgeInfoData);
 
-	//Terminate will remove the entry of a stream
+	//Terminate will remove the stream along with all its blocks
 	byte terminate(1: string streamId);
 
 	//Data management APIs
@@ -428,6 +430,19 @@ service FogService {
 
 	StreamMetadata getStreamMetadataFromOwner(1:string streamId);
 
+	//registers a Fog caching the metadata of the stream at the given version
+	//with the owner of the stream, the owner tells it once the metadata changes
+	oneway void registerStreamCache(1:string streamId, 2:NodeInfoData node, 3:i32 version);
+
+	//sent by the owner to the Fogs caching the metadata of the stream once it is
+	//updated to the given version, the cached copy is fetched again when needed
+	oneway void invalidateStreamMetadata(1:string streamId, 2:i32 version);
+
+	//stores the metadata of a stream at a Fog of the pool which is the home of
+	//the stream on the ring of buddy pools, so that other Fogs find the stream
+	//in one hop, if replicate is set the Fog also stores it at its buddies
+	byte registerStreamDirectory(1:string streamId, 2:StreamMetadata metadata, 3:bool replicate);
+
 	//Returns a list of Fog Locations
 	//list<WritableFogData> getWriteLocations(1: byte dataLength, 2: Metadata metadata,
 	//										3: list<i16> blackListedFogs, 4:EdgeInfoData selfInfo);
@@ -459,6 +474,10 @@ service FogService {
 
 	//ReadReplica read(1: string microbatchId, 2:bool fetchMetadata);
 	ReadReplica read(1: i64 microbatchId, 2:bool fetchMetadata,3:string compFormat,4:i64 uncompSize);
+	//reads length bytes of the microbatch starting at offset without the metadata, from the
+	//neighbors and buddies as well if the flags are set
+	ReadReplica readRange(1: i64 microbatchId, 2:string compFormat, 3:i64 offset, 4:i64 length,
+							5:bool checkNeighbors, 6:bool checkBuddies);
 
 	QueryReplica findUsingQuery(1: string metadataKey, 2:string metadataValue, 3:bool checkNeighbors, 4:bool checkBuddies);
 
@@ -515,4 +534,47 @@ service FogService {
 	
 	//used to facilitate the api FindBlock(bquery)
 	map<i64,string> findBlockUsingQuery(1: map<string,string> metaKeyValueMap,2: bool checkNeighbors,3: bool checkBuddies);
+
+	//used during recovery of a dead edge, reads a batch of blocks held by this fog in a single call.
+	//The returned list is in the same order as mbIds and the status of a block not found is FAILURE
+	list<ReadReplica> readBatch(1: list<i64> mbIds, 2: bool fetchMetadata);
+
+	//used during recovery of a dead edge, this fog pulls the blocks directly from the source fog
+	//and writes them locally so that the data doesn't pass through the recovering fog. The returned
+	//list is in the same order as mbIds and has the bytes copied for a block, -1 if it was not copied
+	list<i64> replicateFrom(1: list<i64> mbIds, 2: NodeInfoData source, 3: WritePreference preference);
+	//returns the hits, misses, evictions, entries, size and capacity (in bytes) of the block cache
+	map<string,i64> getBlockCacheStats();
+
+	//chunked write of a block too large for a single frame, the chunks are relayed to the
+	//local edge picked when the transfer is opened. openWrite returns the id of the transfer,
+	//empty if it could not be opened, and the chunks are sent in order along with their offset
+	//in the block. The block is read back in chunks using readRange
+	string openWrite(1:Metadata mbMetadata, 2:i64 length, 3:WritePreference preference);
+
+	byte writeChunk(1:string transferId, 2:i64 offset, 3:binary data);
+
+	WriteResponse commitWrite(1:string transferId);
+
+	byte abortWrite(1:string transferId);
+
+	//called by an edge whose scrubber found blocks not matching their stored checksums, the
+	//edge is no longer taken as a holder of these blocks and they are copied again from the
+	//other replicas
+	byte reportCorruptBlocks(1:i16 edgeId, 2:list<i64> mbIds);
+
+	//deletes a block or all the blocks of a stream from every Fog holding them, searched the
+	//same way as find. The blocks stop being read right away while their files and index
+	//entries are removed in the background
+	byte deleteBlock(1:i64 mbId, 2:bool checkNeighbors, 3:bool checkBuddies);
+
+	byte deleteStream(1:string streamId, 2:bool checkNeighbors, 3:bool checkBuddies);
+
+	//write and read of a block of a stream which is erasure coded, set with the erasure.data and
+	//erasure.parity otherProperties of the stream. The contacted Fog splits the block in fragments
+	//and writes them to the Fogs it picks, a read puts the block back from any erasure.data of the
+	//fragments. The fragments are blocks of their own with ids derived from the block id
+	WriteResponse putErasureCoded(1:Metadata mbMetadata, 2:binary data, 3:map<string,string> metaKeyValueMap);
+
+	ReadReplica readErasureCoded(1:i64 mbId, 2:bool fetchMetadata);
 }
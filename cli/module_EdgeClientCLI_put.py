@@ -21,6 +21,30 @@ from pprint import pprint
 import hashlib
 import contextlib
 
+#CRC32C checksum of a block in the format the Fogs and edges verify, the
+#crc32c package is used when installed as the table lookup below is slow
+try:
+    import crc32c as _crc32c
+except ImportError:
+    _crc32c = None
+
+_CRC32C_TABLE = []
+for _i in range(256):
+    _crc = _i
+    for _j in range(8):
+        _crc = (_crc >> 1) ^ 0x82F63B78 if _crc & 1 else _crc >> 1
+    _CRC32C_TABLE.append(_crc)
+
+def blockChecksum(data):
+    if _crc32c is not None:
+        value = _crc32c.crc32c(data)
+    else:
+        crc = 0xFFFFFFFF
+        for b in bytearray(data):
+            crc = _CRC32C_TABLE[(crc ^ b) & 0xFF] ^ (crc >> 8)
+        value = crc ^ 0xFFFFFFFF
+    return "crc32c:%08x" % value
+
 if os.path.isdir("./DataAndLogs") == False:
     os.mkdir("./DataAndLogs")
 
@@ -428,9 +452,7 @@ class EdgeClient:
 
         #before sending the actual writes, lets add the checksum now as there is no point
         #in sending the checksum while identifying replicas
-        hash_md5 = hashlib.md5()
-        hash_md5.update(data)
-        metaData.checksum = hash_md5.hexdigest()
+        metaData.checksum = blockChecksum(data)
 
         print("the write locations are ",result)
 
@@ -19,6 +19,30 @@ import multiprocessing
 from pprint import pprint
 import hashlib
 
+#CRC32C checksum of a block in the format the Fogs and edges verify, the
+#crc32c package is used when installed as the table lookup below is slow
+try:
+    import crc32c as _crc32c
+except ImportError:
+    _crc32c = None
+
+_CRC32C_TABLE = []
+for _i in range(256):
+    _crc = _i
+    for _j in range(8):
+        _crc = (_crc >> 1) ^ 0x82F63B78 if _crc & 1 else _crc >> 1
+    _CRC32C_TABLE.append(_crc)
+
+def blockChecksum(data):
+    if _crc32c is not None:
+        value = _crc32c.crc32c(data)
+    else:
+        crc = 0xFFFFFFFF
+        for b in bytearray(data):
+            crc = _CRC32C_TABLE[(crc ^ b) & 0xFF] ^ (crc >> 8)
+        value = crc ^ 0xFFFFFFFF
+    return "crc32c:%08x" % value
+
 ######################################################IGNORE ALL THIS ######################################################
 MAX_REPRESENTABLE_DISK_SPACE = 32
 DIVISION_FACTOR = 32
@@ -466,9 +490,7 @@ class EdgeClient:
             #edgeInfoData.storage = 12 #This value is not useful for computation
 
             #update the metadata with the checksum
-            hash_md5 = hashlib.md5()
-            hash_md5.update(data)
-            metaData.checksum = hash_md5.hexdigest()
+            metaData.checksum = blockChecksum(data)
             
 	    #metadata read -50
 	    timeMetadata = microbatchID+","+str(-50)+",local ,metadata req,starttime = "+str(time.time())+","
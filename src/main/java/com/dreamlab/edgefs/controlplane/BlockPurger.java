@@ -0,0 +1,500 @@
+package com.dreamlab.edgefs.controlplane;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TBinaryProtocol;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.transport.TFramedTransport;
+import org.apache.thrift.transport.TSocket;
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dreamlab.edgefs.misc.BloomFilter;
+import com.dreamlab.edgefs.misc.Constants;
+import com.dreamlab.edgefs.model.EdgeInfo;
+import com.dreamlab.edgefs.servicehandler.FogServiceHandler;
+import com.dreamlab.edgefs.thrift.DynamicTypeStreamMetadata;
+import com.dreamlab.edgefs.thrift.EdgeService;
+import com.dreamlab.edgefs.thrift.Metadata;
+import com.dreamlab.edgefs.thrift.StreamMetadata;
+import com.dreamlab.edgefs.thrift.StreamMetadataInfo;
+
+/**
+ * Deletes blocks and streams from this Fog and its edges. A deleted block is
+ * dropped from the location and metadata maps right away so that it is no
+ * longer found or read. The rest is done in the background in batches: the
+ * files are removed from the edges holding the block with a single call per
+ * edge, those of an edge which is not active once it is active again. The
+ * blocks deleted since the last run are removed from the metadata index and
+ * the bloom filters of the edges which held them are rebuilt from what is left
+ * in the index, since a bloom filter can't have an entry removed. The rebuild
+ * scans the whole index so it is done once per run for all the blocks deleted
+ * meanwhile, however many batches their files take. Every run also deletes the blocks older than the
+ * retention of their stream. A Fog holding only replicas of a stream looks up
+ * its metadata to know the retention, the blocks of a stream whose metadata
+ * can't be found are kept as their retention is not known.
+ */
+public class BlockPurger implements Runnable {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(BlockPurger.class);
+
+	private final Fog fog;
+	private final int batchSize;
+	// in seconds, 0 keeps the blocks forever
+	private final long defaultRetention;
+
+	// deleted blocks yet to be purged along with the edges holding them
+	private final Map<Long, Set<Short>> pending = new LinkedHashMap<>();
+
+	// deleted blocks of the edges not active, purged once the edge is back
+	private final Map<Short, Set<Long>> waiting = new HashMap<>();
+
+	// deleted blocks yet to be removed from the index and the edges whose bloom
+	// filters are to be rebuilt
+	private Set<Long> unindexed = new HashSet<>();
+	private Set<Short> staleEdges = new HashSet<>();
+
+	private long lastRetentionCheck = 0;
+
+	// looks up the metadata of the streams not present on this Fog, not set for
+	// a Fog which is not serving
+	private FogServiceHandler handler;
+
+	/**
+	 *
+	 * @param fog              the Fog whose blocks are deleted
+	 * @param batchSize        maximum blocks purged in a single run
+	 * @param defaultRetention seconds for which the blocks of a stream not
+	 *                         setting its own retention are kept, 0 keeps them
+	 *                         forever
+	 */
+	public BlockPurger(Fog fog, int batchSize, long defaultRetention) {
+		this.fog = fog;
+		this.batchSize = Math.max(1, batchSize);
+		this.defaultRetention = defaultRetention;
+	}
+
+	/**
+	 * Deletes the blocks present on this Fog, the others are skipped
+	 *
+	 * @return the number of blocks deleted
+	 */
+	public int delete(Collection<Long> mbIds) {
+		int deleted = 0;
+		List<Long> removed = new ArrayList<>();
+		for (Long mbId : mbIds) {
+			Map<Short, Byte> edgeMap = fog.getMbIDLocationMap().remove(mbId);
+			Metadata mbMetadata = fog.getBlockMetadata().remove(mbId);
+			if (edgeMap == null && mbMetadata == null) {
+				continue;
+			}
+			Set<Short> holders = new HashSet<>();
+			if (edgeMap != null) {
+				holders.addAll(edgeMap.keySet());
+			}
+			for (Short edgeId : holders) {
+				Set<Long> edgeMBList = fog.getEdgeMicrobatchMap().get(edgeId);
+				if (edgeMBList != null) {
+					edgeMBList.remove(mbId);
+				}
+			}
+			String streamId = fog.getMicroBatchToStream().remove(mbId);
+			if (streamId != null && fog.getStreamMbIdMap().get(streamId) != null) {
+				fog.getStreamMbIdMap().get(streamId).remove(mbId);
+			}
+			fog.getMbIdToStreamIdMap().remove(mbId);
+			fog.getMbIdStreamIdMap().remove(mbId);
+			fog.getBlockCache().invalidate(mbId);
+			fog.getStreamPrefetcher().invalidate(mbId);
+			synchronized (this) {
+				Set<Short> edges = pending.get(mbId);
+				if (edges == null) {
+					pending.put(mbId, holders);
+				} else {
+					edges.addAll(holders);
+				}
+				unindexed.add(mbId);
+				staleEdges.addAll(holders);
+			}
+			removed.add(mbId);
+			deleted++;
+		}
+		// not copied again if they were lost with an edge
+		if (!removed.isEmpty() && fog.getRecoveryQueue() != null) {
+			fog.getRecoveryQueue().remove(removed);
+		}
+		if (deleted > 0) {
+			LOGGER.info("Deleted " + deleted + " microbatches, " + pendingCount() + " pending purge");
+		}
+		return deleted;
+	}
+
+	/**
+	 * Deletes the blocks of the stream present on this Fog along with the
+	 * metadata of the stream
+	 *
+	 * @return true if either the stream or any of its blocks was present
+	 */
+	public boolean deleteStream(String streamId) {
+		List<Long> mbIds = new ArrayList<>();
+		for (Entry<Long, String> entry : fog.getMicroBatchToStream().entrySet()) {
+			if (streamId.equals(entry.getValue())) {
+				mbIds.add(entry.getKey());
+			}
+		}
+		Set<Long> mbSet = fog.getStreamMbIdMap().get(streamId);
+		if (mbSet != null) {
+			mbIds.addAll(new ArrayList<>(mbSet));
+		}
+		int deleted = delete(mbIds);
+
+		StreamMetadataInfo metadataInfo = fog.getStreamMetadata().remove(streamId);
+		fog.getStreamMbIdMap().remove(streamId);
+		fog.getPerStreamBlockMetadata().remove(streamId);
+		for (Set<String> streamIds : fog.getStreamMetaStreamIdMap().values()) {
+			streamIds.remove(streamId);
+		}
+		for (Set<String> streamIds : fog.getStreamRelStreamIdMap().values()) {
+			streamIds.remove(streamId);
+		}
+		// only the streams owned by this Fog are in its stream bloom filter
+		if (metadataInfo != null && !metadataInfo.isCached()) {
+			rebuildStreamBloomFilter();
+			// no version is newer than a deleted stream
+			fog.getStreamCacheRegistry().invalidate(streamId, Integer.MAX_VALUE);
+			fog.getStreamCacheRegistry().remove(streamId);
+		}
+		LOGGER.info("StreamId : " + streamId + " deleted with " + deleted + " microbatches");
+		return deleted > 0 || metadataInfo != null;
+	}
+
+	public void setHandler(FogServiceHandler handler) {
+		this.handler = handler;
+	}
+
+	public synchronized int pendingCount() {
+		Set<Long> mbIds = new HashSet<>(pending.keySet());
+		for (Set<Long> edgeBlocks : waiting.values()) {
+			mbIds.addAll(edgeBlocks);
+		}
+		return mbIds.size();
+	}
+
+	@Override
+	public void run() {
+		try {
+			long now = System.currentTimeMillis();
+			if (now - lastRetentionCheck >= Constants.RETENTION_CHECK_INTERVAL * 1000L) {
+				lastRetentionCheck = now;
+				expire(now);
+			}
+			// the backlog of a large delete is worked through a batch per run
+			purge();
+		} catch (Exception e) {
+			LOGGER.error("Error while purging the deleted microbatches : " + e);
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Deletes the blocks older than the retention of their stream
+	 */
+	void expire(long now) {
+		Map<String, Long> retentions = new HashMap<>();
+		List<Long> expired = new ArrayList<>();
+		for (Entry<Long, Metadata> entry : fog.getBlockMetadata().entrySet()) {
+			String streamId = entry.getValue().getStreamId();
+			if (!retentions.containsKey(streamId)) {
+				retentions.put(streamId, getRetention(lookupStreamMetadata(streamId), streamId));
+			}
+			Long retention = retentions.get(streamId);
+			// the default retention is not applied to a stream not known here
+			// as the stream may set a longer one
+			if (retention != null && retention > 0 && entry.getValue().getTimestamp() < now - retention * 1000) {
+				expired.add(entry.getKey());
+			}
+		}
+		if (!expired.isEmpty()) {
+			LOGGER.info(expired.size() + " microbatches past their retention");
+			delete(expired);
+		}
+
+		// a stream owned here which has ended is dropped once its blocks are past
+		// the retention as no more blocks are written to it
+		List<String> ended = new ArrayList<>();
+		for (Entry<String, StreamMetadataInfo> entry : fog.getStreamMetadata().entrySet()) {
+			StreamMetadata streamMetadata = entry.getValue().getStreamMetadata();
+			if (entry.getValue().isCached() || !streamMetadata.isSetEndTime()) {
+				continue;
+			}
+			long retention = getRetention(entry.getValue(), entry.getKey());
+			if (retention > 0 && streamMetadata.getEndTime().getValue() < now - retention * 1000) {
+				ended.add(entry.getKey());
+			}
+		}
+		for (String streamId : ended) {
+			deleteStream(streamId);
+		}
+	}
+
+	// the metadata of the stream from this Fog or else from the owner through
+	// the Fogs which may have it, null if it is not found
+	private StreamMetadataInfo lookupStreamMetadata(String streamId) {
+		StreamMetadataInfo metadataInfo = fog.getStreamMetadata().get(streamId);
+		if (metadataInfo == null && handler != null) {
+			try {
+				// a copy found elsewhere is cached here so the next run has it
+				metadataInfo = handler.getStreamMetadata(streamId, true, true, false);
+			} catch (TException e) {
+				LOGGER.error("Unable to look up the metadata of streamId : " + streamId);
+				e.printStackTrace();
+			}
+		}
+		return metadataInfo;
+	}
+
+	// in seconds, the retention set for the stream or else the default one,
+	// null if the metadata of the stream is not known
+	private Long getRetention(StreamMetadataInfo metadataInfo, String streamId) {
+		if (metadataInfo == null || metadataInfo.getStreamMetadata() == null) {
+			return null;
+		}
+		if (metadataInfo.getStreamMetadata().isSetOtherProperties()) {
+			DynamicTypeStreamMetadata retention = metadataInfo.getStreamMetadata().getOtherProperties()
+					.get(Constants.STREAM_RETENTION_PROPERTY);
+			if (retention != null) {
+				try {
+					return Long.parseLong(retention.getValue());
+				} catch (NumberFormatException e) {
+					LOGGER.error("StreamId : " + streamId + " has an invalid retention " + retention.getValue());
+				}
+			}
+		}
+		return defaultRetention;
+	}
+
+	/**
+	 * Purges a batch of the deleted blocks from the edges and all the blocks
+	 * deleted since the last run from the index
+	 */
+	void purge() {
+		Map<Long, Set<Short>> batch = new HashMap<>();
+		Set<Long> mbIds;
+		Set<Short> edges;
+		synchronized (this) {
+			mbIds = unindexed;
+			edges = staleEdges;
+			unindexed = new HashSet<>();
+			staleEdges = new HashSet<>();
+			resumeWaiting();
+			Iterator<Entry<Long, Set<Short>>> iter = pending.entrySet().iterator();
+			while (iter.hasNext() && batch.size() < batchSize) {
+				Entry<Long, Set<Short>> entry = iter.next();
+				batch.put(entry.getKey(), entry.getValue());
+				iter.remove();
+			}
+		}
+		if (batch.isEmpty() && mbIds.isEmpty()) {
+			return;
+		}
+		LOGGER.info("Purging " + batch.size() + " microbatches, startTime=" + System.currentTimeMillis());
+		Map<Short, List<Long>> edgeBlocks = new HashMap<>();
+		for (Entry<Long, Set<Short>> entry : batch.entrySet()) {
+			for (Short edgeId : entry.getValue()) {
+				if (!edgeBlocks.containsKey(edgeId)) {
+					edgeBlocks.put(edgeId, new ArrayList<Long>());
+				}
+				edgeBlocks.get(edgeId).add(entry.getKey());
+			}
+		}
+		for (Entry<Short, List<Long>> entry : edgeBlocks.entrySet()) {
+			deleteFromEdge(entry.getKey(), entry.getValue());
+		}
+		if (!mbIds.isEmpty()) {
+			rebuildBloomFilters(mbIds, edges);
+		}
+		LOGGER.info("Purging " + batch.size() + " microbatches, endTime=" + System.currentTimeMillis());
+	}
+
+	// the blocks of the edges which are active again are purged in this run
+	private void resumeWaiting() {
+		Iterator<Entry<Short, Set<Long>>> iter = waiting.entrySet().iterator();
+		while (iter.hasNext()) {
+			Entry<Short, Set<Long>> entry = iter.next();
+			EdgeInfo edgeInfo = fog.getLocalEdgesMap().get(entry.getKey());
+			if (edgeInfo == null || edgeInfo.getStatus().equals("A")) {
+				iter.remove();
+				if (edgeInfo != null) {
+					requeue(entry.getKey(), new ArrayList<>(entry.getValue()));
+				}
+			}
+		}
+	}
+
+	private void deleteFromEdge(short edgeId, List<Long> mbIds) {
+		EdgeInfo edgeInfo = fog.getLocalEdgesMap().get(edgeId);
+		if (edgeInfo == null) {
+			return;
+		}
+		// an edge not active may rejoin with the files, so they are removed
+		// once it is active again
+		if (!edgeInfo.getStatus().equals("A")) {
+			synchronized (this) {
+				Set<Long> edgeBlocks = waiting.get(edgeId);
+				if (edgeBlocks == null) {
+					edgeBlocks = new HashSet<>();
+					waiting.put(edgeId, edgeBlocks);
+				}
+				edgeBlocks.addAll(mbIds);
+			}
+			return;
+		}
+		TTransport transport = new TFramedTransport(new TSocket(edgeInfo.getNodeIp(), edgeInfo.getPort()));
+		try {
+			transport.open();
+		} catch (TTransportException e) {
+			transport.close();
+			LOGGER.info("Unable to contact edge device : " + edgeInfo);
+			e.printStackTrace();
+			requeue(edgeId, mbIds);
+			return;
+		}
+		TProtocol protocol = new TBinaryProtocol(transport);
+		EdgeService.Client edgeClient = new EdgeService.Client(protocol);
+		try {
+			if (edgeClient.deleteBlocks(mbIds) != Constants.SUCCESS) {
+				requeue(edgeId, mbIds);
+			}
+		} catch (TException e) {
+			LOGGER.error("Error while deleting microbatches from edge " + edgeId + " : " + e);
+			e.printStackTrace();
+			requeue(edgeId, mbIds);
+		} finally {
+			transport.close();
+		}
+	}
+
+	// the files are removed from the edge in a later run
+	private synchronized void requeue(short edgeId, List<Long> mbIds) {
+		for (Long mbId : mbIds) {
+			Set<Short> edges = pending.get(mbId);
+			if (edges == null) {
+				edges = new HashSet<>();
+				pending.put(mbId, edges);
+			}
+			edges.add(edgeId);
+		}
+	}
+
+	/**
+	 * Removes the blocks from the metadata index and rebuilds the bloom filters
+	 * of the edges which held them from the blocks left in the index. Entries
+	 * stored while the index is scanned are collected in a delta which is
+	 * merged into the rebuilt filter, so a concurrent write is not lost.
+	 */
+	private void rebuildBloomFilters(Set<Long> mbIds, Set<Short> edges) {
+		Map<Short, byte[]> rebuilt = new HashMap<>();
+		fog.getBloomFilterLock().writeLock().lock();
+		try {
+			for (Short edgeId : edges) {
+				if (fog.getEdgeBloomFilters().containsKey(edgeId)) {
+					rebuilt.put(edgeId, new byte[Constants.BLOOM_FILTER_BYTES]);
+					fog.getBloomFilterDeltas().put(edgeId, new byte[Constants.BLOOM_FILTER_BYTES]);
+				}
+			}
+		} finally {
+			fog.getBloomFilterLock().writeLock().unlock();
+		}
+
+		// a single pass over the index both removes the deleted blocks and
+		// collects the entries of the blocks left on the edges
+		Iterator<Entry<String, List<Long>>> iter = fog.getMetaToMBIdListMap().entrySet().iterator();
+		while (iter.hasNext()) {
+			Entry<String, List<Long>> entry = iter.next();
+			List<Long> list = entry.getValue();
+			boolean empty;
+			// an entry being added holds the same lock, so it is not added to
+			// a list after it is dropped
+			synchronized (list) {
+				list.removeAll(mbIds);
+				empty = list.isEmpty();
+				if (empty) {
+					fog.getMetaToMBIdListMap().remove(entry.getKey(), list);
+				}
+			}
+			if (empty) {
+				continue;
+			}
+			if (rebuilt.isEmpty()) {
+				continue;
+			}
+			// the entry was stored as key:value and the bloom filter hashes
+			// the two joined the same way
+			String searchKey = entry.getKey();
+			int idx = searchKey.indexOf(':');
+			if (idx < 0) {
+				continue;
+			}
+			for (Long mbId : new ArrayList<>(list)) {
+				Map<Short, Byte> edgeMap = fog.getMbIDLocationMap().get(mbId);
+				if (edgeMap == null) {
+					continue;
+				}
+				for (Short edgeId : edgeMap.keySet()) {
+					byte[] edgeBFilter = rebuilt.get(edgeId);
+					if (edgeBFilter != null) {
+						BloomFilter.storeEntry(searchKey.substring(0, idx), searchKey.substring(idx + 1),
+								edgeBFilter);
+					}
+				}
+			}
+		}
+
+		fog.getBloomFilterLock().writeLock().lock();
+		try {
+			for (Entry<Short, byte[]> entry : rebuilt.entrySet()) {
+				byte[] edgeBFilter = entry.getValue();
+				byte[] delta = fog.getBloomFilterDeltas().remove(entry.getKey());
+				for (int i = 0; i < edgeBFilter.length; i++) {
+					edgeBFilter[i] = (byte) (edgeBFilter[i] | delta[i]);
+				}
+				fog.getEdgeBloomFilters().put(entry.getKey(), edgeBFilter);
+			}
+			fog.updatePersonalBloomFilter();
+		} finally {
+			fog.getBloomFilterLock().writeLock().unlock();
+		}
+		fog.setMostRecentSelfBFUpdate(System.currentTimeMillis());
+		fog.setMostRecentNeighborBFUpdate(System.currentTimeMillis());
+	}
+
+	private void rebuildStreamBloomFilter() {
+		fog.getBloomFilterLock().writeLock().lock();
+		try {
+			byte[] streamBloomFilter = new byte[Constants.BLOOM_FILTER_BYTES];
+			for (Entry<String, StreamMetadataInfo> entry : fog.getStreamMetadata().entrySet()) {
+				if (!entry.getValue().isCached()) {
+					Fog.storeStreamEntries(entry.getKey(), entry.getValue().getStreamMetadata(), streamBloomFilter);
+				}
+			}
+			fog.setPersonalStreamBFilter(streamBloomFilter);
+		} finally {
+			fog.getBloomFilterLock().writeLock().unlock();
+		}
+		fog.setMostRecentSelfBFUpdate(System.currentTimeMillis());
+		fog.setMostRecentNeighborBFUpdate(System.currentTimeMillis());
+	}
+
+}
@@ -28,6 +28,9 @@ public class CoarseGrainedStats implements Serializable {
 	//removed the 2 bits for FogId as I am sending those 2 bits as i16
 	//in MessagePayload, check FogServices.thrift
 	private byte[] info = new byte[Constants.STATS_BYTES];
+	//sketches of the storage and reliability of the same edges, only
+	//present when stats.sketch.size is set, see EdgeStatsSketch
+	private byte[] sketch;
 	
 	public CoarseGrainedStats() {
 		
@@ -45,6 +48,14 @@ public class CoarseGrainedStats implements Serializable {
 	public void setInfo(byte[] info) {
 		this.info = info;
 	}
+
+	public byte[] getSketch() {
+		return sketch;
+	}
+
+	public void setSketch(byte[] sketch) {
+		this.sketch = sketch;
+	}
 	
 	public String toString() {
 		for(int i=0;i<10;i++) {
@@ -0,0 +1,153 @@
+package com.dreamlab.edgefs.controlplane;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tracks the liveness of the local edges using a hashed timer wheel keyed on the
+ * time by which the next heartbeat of an edge is due. Receiving a heartbeat only
+ * moves the deadline of the edge forward, the wheel entry is moved lazily when
+ * its slot is reached. So a heartbeat costs a map update and every tick only
+ * looks at the edges whose deadline falls in that slot instead of scanning all
+ * the edges. An edge whose deadline has passed is removed and the listener is
+ * notified right away.
+ */
+public class EdgeLivenessTracker {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(EdgeLivenessTracker.class);
+
+	private final long timeout;
+	private final long tickMillis;
+	private final List<Set<Short>> wheel;
+	// the time by which the next heartbeat of the edge should be received
+	private final Map<Short, Long> deadlines = new ConcurrentHashMap<>();
+	private final EdgeDeathListener listener;
+	// the next tick to be processed
+	private long currentTick;
+	private ScheduledExecutorService timer;
+
+	/**
+	 *
+	 * @param timeout    milliseconds after the last heartbeat an edge is dead
+	 * @param tickMillis the resolution of the wheel
+	 * @param wheelSize  the number of slots in the wheel
+	 * @param listener   notified of an edge found dead
+	 */
+	public EdgeLivenessTracker(long timeout, long tickMillis, int wheelSize, EdgeDeathListener listener) {
+		this.timeout = timeout;
+		this.tickMillis = tickMillis;
+		this.listener = listener;
+		this.wheel = new ArrayList<>(wheelSize);
+		for (int i = 0; i < wheelSize; i++) {
+			wheel.add(new HashSet<Short>());
+		}
+		this.currentTick = System.currentTimeMillis() / tickMillis;
+	}
+
+	public void start() {
+		timer = Executors.newSingleThreadScheduledExecutor();
+		timer.scheduleAtFixedRate(new Runnable() {
+
+			@Override
+			public void run() {
+				try {
+					advance(System.currentTimeMillis());
+				} catch (Exception e) {
+					LOGGER.error("Error while checking edge liveness : " + e);
+					e.printStackTrace();
+				}
+			}
+		}, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Records a heartbeat received at the given time, an edge not being tracked
+	 * is added to the wheel
+	 */
+	public void heartbeat(short edgeId, long time) {
+		Long previous = deadlines.put(edgeId, time + timeout);
+		if (previous == null) {
+			schedule(edgeId, time + timeout);
+		}
+	}
+
+	public void remove(short edgeId) {
+		deadlines.remove(edgeId);
+	}
+
+	public boolean isTracked(short edgeId) {
+		return deadlines.containsKey(edgeId);
+	}
+
+	/**
+	 * Processes all the slots up to the given time, invoked by the timer every
+	 * tick
+	 */
+	public void advance(long now) {
+		List<Short> dead = new ArrayList<>();
+		synchronized (this) {
+			long nowTick = now / tickMillis;
+			// a late timer catches up on the slots it missed, a full round at most
+			long firstTick = Math.max(currentTick, nowTick - wheel.size() + 1);
+			for (long tick = firstTick; tick <= nowTick; tick++) {
+				expire((int) (tick % wheel.size()), now, dead);
+			}
+			currentTick = nowTick + 1;
+		}
+		for (Short edgeId : dead) {
+			LOGGER.info("No heartbeat from EdgeId : {} in the last {} ms", edgeId, timeout);
+			listener.edgeDead(edgeId);
+		}
+	}
+
+	private void expire(int slot, long now, List<Short> dead) {
+		Set<Short> bucket = wheel.get(slot);
+		if (bucket.isEmpty()) {
+			return;
+		}
+		for (Short edgeId : new ArrayList<>(bucket)) {
+			Long deadline = deadlines.get(edgeId);
+			// the removal fails if a heartbeat came in meanwhile
+			if (deadline != null && deadline <= now && deadlines.remove(edgeId, deadline)) {
+				bucket.remove(edgeId);
+				dead.add(edgeId);
+				continue;
+			}
+			deadline = deadlines.get(edgeId);
+			if (deadline == null) {
+				bucket.remove(edgeId);
+			} else if (slotOf(deadline) != slot) {
+				// heartbeats received since it was placed here
+				bucket.remove(edgeId);
+				wheel.get(slotOf(deadline)).add(edgeId);
+			}
+			// else the deadline is in a later round of the wheel
+		}
+	}
+
+	private synchronized void schedule(short edgeId, long deadline) {
+		// a deadline already passed is picked in the next tick rather than a
+		// round later
+		long tick = Math.max(deadline / tickMillis, currentTick);
+		wheel.get((int) (tick % wheel.size())).add(edgeId);
+	}
+
+	private int slotOf(long time) {
+		return (int) ((time / tickMillis) % wheel.size());
+	}
+
+	public interface EdgeDeathListener {
+		void edgeDead(short edgeId);
+	}
+
+}
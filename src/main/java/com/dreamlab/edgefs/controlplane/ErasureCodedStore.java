@@ -0,0 +1,380 @@
+package com.dreamlab.edgefs.controlplane;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TBinaryProtocol;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.transport.TFramedTransport;
+import org.apache.thrift.transport.TSocket;
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dreamlab.edgefs.misc.Constants;
+import com.dreamlab.edgefs.misc.ErasureFragment;
+import com.dreamlab.edgefs.misc.ReedSolomon;
+import com.dreamlab.edgefs.servicehandler.FogServiceHandler;
+import com.dreamlab.edgefs.thrift.DynamicTypeStreamMetadata;
+import com.dreamlab.edgefs.thrift.FogService;
+import com.dreamlab.edgefs.thrift.Metadata;
+import com.dreamlab.edgefs.thrift.ReadReplica;
+import com.dreamlab.edgefs.thrift.StreamMetadata;
+import com.dreamlab.edgefs.thrift.StreamMetadataInfo;
+import com.dreamlab.edgefs.thrift.WritableFogData;
+import com.dreamlab.edgefs.thrift.WritePreference;
+import com.dreamlab.edgefs.thrift.WriteResponse;
+
+/**
+ * Writes, reads and recovers the blocks of the streams which are erasure coded
+ * instead of replicated. A block is split in the data fragments of its stream
+ * and the parity fragments are added, and the fragments are placed on as many
+ * Fogs (and edges) picked by the same reliability model used for the replicas.
+ * A Fog gets at most as many fragments as there are parity ones so that losing
+ * it doesn't lose the block.
+ * A read puts the block back from the first data fragments found, or from
+ * any of the fragments when some are missing, and a lost fragment is rebuilt
+ * from the others without copying the whole block again.
+ */
+public class ErasureCodedStore {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ErasureCodedStore.class);
+
+	private final FogServiceHandler handler;
+
+	// the fragments of a block read so far
+	private static class Fragments {
+		private ReedSolomon codec;
+		private byte[][] shards;
+		private long length;
+		private int found;
+		private Metadata metadata;
+	}
+
+	public ErasureCodedStore(FogServiceHandler handler) {
+		this.handler = handler;
+	}
+
+	/**
+	 * @return the number of data and parity fragments of the stream, null if its
+	 *         blocks are replicated
+	 */
+	public static int[] getFragmentCounts(StreamMetadata streamMetadata) {
+		if (streamMetadata == null || !streamMetadata.isSetOtherProperties()) {
+			return null;
+		}
+		DynamicTypeStreamMetadata data = streamMetadata.getOtherProperties()
+				.get(Constants.ERASURE_DATA_FRAGMENTS_PROPERTY);
+		DynamicTypeStreamMetadata parity = streamMetadata.getOtherProperties()
+				.get(Constants.ERASURE_PARITY_FRAGMENTS_PROPERTY);
+		if (data == null) {
+			return null;
+		}
+		try {
+			int dataFragments = Integer.parseInt(data.getValue());
+			int parityFragments = (parity == null) ? 0 : Integer.parseInt(parity.getValue());
+			if (dataFragments > 0 && parityFragments >= 0
+					&& dataFragments + parityFragments <= Constants.ERASURE_MAX_FRAGMENTS) {
+				return new int[] { dataFragments, parityFragments };
+			}
+		} catch (NumberFormatException e) {
+			// logged below
+		}
+		LOGGER.error("StreamId : " + streamMetadata.getStreamId() + " has invalid erasure coding properties");
+		return null;
+	}
+
+	/**
+	 * Splits the block in fragments and writes each of them to a location picked
+	 * for it. The write succeeds only if every fragment is written, else the
+	 * fragments written are deleted
+	 */
+	public WriteResponse write(Metadata mbMetadata, byte[] data, Map<String, String> metaKeyValueMap)
+			throws TException {
+		WriteResponse response = new WriteResponse();
+		response.setStatus(Constants.FAILURE);
+		if (!ErasureFragment.canFragment(mbMetadata.getMbId())) {
+			LOGGER.error("MicrobatchId : " + mbMetadata.getMbId() + " is out of the range of erasure coded blocks");
+			return response;
+		}
+		StreamMetadataInfo strMetadata = handler.getStreamMetadata(mbMetadata.getStreamId(), true, true, false);
+		if (strMetadata == null) {
+			LOGGER.info("Unable to locate the stream metadata for streamId : " + mbMetadata.getStreamId());
+			return response;
+		}
+		int[] counts = getFragmentCounts(strMetadata.getStreamMetadata());
+		if (counts == null) {
+			LOGGER.error("StreamId : " + mbMetadata.getStreamId() + " is not erasure coded");
+			return response;
+		}
+		LOGGER.info("MicrobatchId : " + mbMetadata.getMbId() + ", erasure coded write, startTime="
+				+ System.currentTimeMillis());
+		ReedSolomon codec = new ReedSolomon(counts[0], counts[1]);
+		byte[][] shards = codec.encode(data);
+
+		// one location for every fragment, when fewer are found some of them get
+		// more than one fragment but never more than the parity ones
+		long firstFragment = ErasureFragment.fragmentId(mbMetadata.getMbId(), 0);
+		int totalFragments = codec.getTotalShards();
+		List<WritableFogData> locations = handler.identifyReplicas(firstFragment,
+				shards[0].length / (1024 * 1024), false,
+				strMetadata.getStreamMetadata().getReliability().getValue(), totalFragments, totalFragments);
+		// the local edge is picked again when the fragment is written
+		handler.getFog().getLocalEdgeWritesInProgress().remove(firstFragment);
+		int perLocation = Math.max(1, counts[1]);
+		Set<Short> fogs = new HashSet<>();
+		for (WritableFogData location : locations) {
+			fogs.add(location.getNode().getNodeId());
+		}
+		if (fogs.size() * perLocation < totalFragments) {
+			LOGGER.error("Only " + fogs.size() + " locations found for the " + totalFragments
+					+ " fragments of microbatchId : " + mbMetadata.getMbId());
+			return response;
+		}
+
+		Map<Short, Integer> placed = new HashMap<>();
+		Set<Short> failed = new HashSet<>();
+		List<WritableFogData> writtenAt = new ArrayList<>();
+		for (int i = 0; i < totalFragments; i++) {
+			byte[] fragment = new ErasureFragment(counts[0], counts[1], i, data.length, shards[i]).toBytes();
+			Metadata fragmentMetadata = toFragmentMetadata(mbMetadata, i, fragment.length);
+			WritableFogData written = null;
+			// a failed location is followed by the others which have room left
+			for (int j = 0; j < locations.size() && written == null; j++) {
+				WritableFogData location = locations.get((i + j) % locations.size());
+				short nodeId = location.getNode().getNodeId();
+				int count = placed.containsKey(nodeId) ? placed.get(nodeId) : 0;
+				if (failed.contains(nodeId) || count >= perLocation) {
+					continue;
+				}
+				if (writeFragment(location, fragmentMetadata, fragment, metaKeyValueMap)) {
+					placed.put(nodeId, count + 1);
+					written = location;
+				} else {
+					failed.add(nodeId);
+				}
+			}
+			if (written == null) {
+				LOGGER.error("Unable to write fragment " + i + " of microbatchId : " + mbMetadata.getMbId());
+				deleteFragments(mbMetadata.getMbId(), writtenAt);
+				return response;
+			}
+			writtenAt.add(written);
+		}
+		int mostPlaced = Collections.max(placed.values());
+		if (mostPlaced > 1) {
+			LOGGER.info("MicrobatchId : " + mbMetadata.getMbId() + " has up to " + mostPlaced
+					+ " fragments on a Fog, the loss of " + counts[1] / mostPlaced + " Fogs instead of " + counts[1]
+					+ " is tolerated");
+		}
+		LOGGER.info("MicrobatchId : " + mbMetadata.getMbId() + ", erasure coded write, endTime="
+				+ System.currentTimeMillis());
+		response.setStatus(Constants.SUCCESS);
+		return response;
+	}
+
+	/**
+	 * Reads the fragments of the block, starting with the data fragments, till
+	 * enough are found to put it back together
+	 */
+	public ReadReplica read(long mbId, boolean fetchMetadata) throws TException {
+		ReadReplica replica = new ReadReplica();
+		replica.setStatus(Constants.FAILURE);
+		if (!ErasureFragment.canFragment(mbId)) {
+			LOGGER.error("MicrobatchId : " + mbId + " is out of the range of erasure coded blocks");
+			return replica;
+		}
+		Fragments fragments = readFragments(mbId, -1, fetchMetadata);
+		if (fragments == null) {
+			LOGGER.info("Not enough fragments found for microbatchId : " + mbId);
+			return replica;
+		}
+		byte[] data = fragments.codec.decode(fragments.shards, fragments.length);
+		replica.setStatus(Constants.SUCCESS);
+		replica.setData(data);
+		if (fetchMetadata && fragments.metadata != null) {
+			Metadata metadata = new Metadata(fragments.metadata);
+			metadata.setMbId(mbId);
+			metadata.setUncompSize(data.length);
+			metadata.unsetChecksum();
+			replica.setMetadata(metadata);
+		}
+		return replica;
+	}
+
+	/**
+	 * Rebuilds a fragment held by this Fog which was lost, from the other
+	 * fragments of its block, and writes it to another local edge or if there is
+	 * none to another Fog
+	 *
+	 * @return true if the fragment was written again
+	 */
+	public boolean rebuild(long fragmentId) throws TException {
+		Fog fog = handler.getFog();
+		Metadata metadata = fog.getBlockMetadata().get(fragmentId);
+		if (metadata == null) {
+			return false;
+		}
+		long mbId = ErasureFragment.blockId(fragmentId);
+		int index = ErasureFragment.fragmentIndex(fragmentId);
+		Fragments fragments = readFragments(mbId, index, false);
+		if (fragments == null || index >= fragments.codec.getTotalShards()) {
+			LOGGER.info("Not enough fragments found to rebuild fragment " + index + " of microbatchId : " + mbId);
+			return false;
+		}
+		fragments.codec.reconstruct(fragments.shards);
+		byte[] fragment = new ErasureFragment(fragments.codec.getDataShards(), fragments.codec.getParityShards(),
+				index, fragments.length, fragments.shards[index]).toBytes();
+
+		Metadata fragmentMetadata = new Metadata(metadata);
+		WriteResponse response = handler.putNext(fragmentMetadata, ByteBuffer.wrap(fragment), WritePreference.HHH,
+				new HashMap<String, String>());
+		if (response.getStatus() == Constants.SUCCESS) {
+			return true;
+		}
+		List<WritableFogData> locations = handler.identifyReplicas(fragmentId, fragment.length / (1024 * 1024),
+				false, 0, 1, 1);
+		fog.getLocalEdgeWritesInProgress().remove(fragmentId);
+		for (WritableFogData location : locations) {
+			if (location.getNode().getNodeId() != fog.getMyFogInfo().getNodeID()
+					&& writeFragment(location, fragmentMetadata, fragment, new HashMap<String, String>())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// reads fragments other than skip till there are enough of them to put the
+	// block back, null if there are not
+	private Fragments readFragments(long mbId, int skip, boolean fetchMetadata) throws TException {
+		Fragments fragments = new Fragments();
+		// the number of fragments is known once the first one is read
+		int limit = Constants.ERASURE_MAX_FRAGMENTS;
+		for (int i = 0; i < limit; i++) {
+			if (i == skip) {
+				continue;
+			}
+			ReadReplica replica = handler.read(ErasureFragment.fragmentId(mbId, i),
+					fetchMetadata && fragments.metadata == null, "NA", 0);
+			if (replica.getStatus() != Constants.SUCCESS) {
+				continue;
+			}
+			ErasureFragment fragment = ErasureFragment.parse(replica.getData());
+			if (fragment == null || fragment.getIndex() != i) {
+				LOGGER.error("Fragment " + i + " of microbatchId : " + mbId + " is not valid");
+				continue;
+			}
+			if (fragments.codec == null) {
+				fragments.codec = new ReedSolomon(fragment.getDataFragments(), fragment.getParityFragments());
+				fragments.shards = new byte[fragments.codec.getTotalShards()][];
+				fragments.length = fragment.getLength();
+				limit = fragments.codec.getTotalShards();
+			} else if (fragment.getDataFragments() != fragments.codec.getDataShards()
+					|| fragment.getLength() != fragments.length) {
+				continue;
+			}
+			fragments.shards[i] = fragment.getShard();
+			if (replica.isSetMetadata() && fragments.metadata == null) {
+				fragments.metadata = replica.getMetadata();
+			}
+			fragments.found += 1;
+			if (fragments.found == fragments.codec.getDataShards()) {
+				return fragments;
+			}
+		}
+		return null;
+	}
+
+	private Metadata toFragmentMetadata(Metadata mbMetadata, int index, long length) {
+		Metadata metadata = new Metadata(mbMetadata);
+		metadata.setMbId(ErasureFragment.fragmentId(mbMetadata.getMbId(), index));
+		metadata.setCompFormat("NA");
+		metadata.setUncompSize(length);
+		// the checksum sent is of the whole block, the one of the fragment is
+		// computed when it is written
+		metadata.unsetChecksum();
+		return metadata;
+	}
+
+	// the fragment at index i of the block was written to the location at index i
+	private void deleteFragments(long mbId, List<WritableFogData> writtenAt) {
+		for (int i = 0; i < writtenAt.size(); i++) {
+			if (!deleteFragment(writtenAt.get(i), ErasureFragment.fragmentId(mbId, i))) {
+				LOGGER.error("Unable to delete fragment " + i + " of the failed write of microbatchId : " + mbId);
+			}
+		}
+	}
+
+	private boolean deleteFragment(WritableFogData location, long fragmentId) {
+		Fog fog = handler.getFog();
+		if (location.getNode().getNodeId() == fog.getMyFogInfo().getNodeID()) {
+			try {
+				return handler.deleteBlock(fragmentId, false, false) == Constants.SUCCESS;
+			} catch (TException e) {
+				LOGGER.error("Error while deleting fragment locally : " + e);
+				e.printStackTrace();
+				return false;
+			}
+		}
+		TTransport transport = new TFramedTransport(
+				new TSocket(location.getNode().getNodeIP(), location.getNode().getPort()));
+		try {
+			transport.open();
+			TProtocol protocol = new TBinaryProtocol(transport);
+			FogService.Client fogClient = new FogService.Client(protocol);
+			return fogClient.deleteBlock(fragmentId, false, false) == Constants.SUCCESS;
+		} catch (TException e) {
+			LOGGER.error("Error while deleting fragment from Fog : " + location.getNode().getNodeId() + " : " + e);
+			e.printStackTrace();
+			return false;
+		} finally {
+			transport.close();
+		}
+	}
+
+	private boolean writeFragment(WritableFogData location, Metadata metadata, byte[] fragment,
+			Map<String, String> metaKeyValueMap) {
+		Fog fog = handler.getFog();
+		if (location.getNode().getNodeId() == fog.getMyFogInfo().getNodeID()) {
+			try {
+				return handler.putNext(new Metadata(metadata), ByteBuffer.wrap(fragment), location.getPreference(),
+						metaKeyValueMap).getStatus() == Constants.SUCCESS;
+			} catch (TException e) {
+				LOGGER.error("Error while writing fragment locally : " + e);
+				e.printStackTrace();
+				return false;
+			}
+		}
+		TTransport transport = new TFramedTransport(
+				new TSocket(location.getNode().getNodeIP(), location.getNode().getPort()));
+		try {
+			transport.open();
+		} catch (TTransportException e) {
+			transport.close();
+			LOGGER.error("Unable to contact Fog : " + location.getNode().getNodeId() + " for writing a fragment");
+			e.printStackTrace();
+			return false;
+		}
+		TProtocol protocol = new TBinaryProtocol(transport);
+		FogService.Client fogClient = new FogService.Client(protocol);
+		try {
+			return fogClient.putNext(metadata, ByteBuffer.wrap(fragment), location.getPreference(), metaKeyValueMap)
+					.getStatus() == Constants.SUCCESS;
+		} catch (TException e) {
+			LOGGER.error("Error while writing fragment to Fog : " + location.getNode().getNodeId() + " : " + e);
+			e.printStackTrace();
+			return false;
+		} finally {
+			transport.close();
+		}
+	}
+
+}
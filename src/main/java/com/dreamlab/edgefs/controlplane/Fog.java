@@ -4,7 +4,9 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -13,6 +15,9 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.apache.thrift.TException;
 import org.apache.thrift.protocol.TBinaryProtocol;
@@ -20,13 +25,17 @@ import org.apache.thrift.protocol.TProtocol;
 import org.apache.thrift.transport.TFramedTransport;
 import org.apache.thrift.transport.TSocket;
 import org.apache.thrift.transport.TTransport;
-import org.apache.thrift.transport.TTransportException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.dreamlab.edgefs.misc.AdaptiveCadence;
+import com.dreamlab.edgefs.misc.BlockCache;
+import com.dreamlab.edgefs.misc.BloomFilter;
 import com.dreamlab.edgefs.misc.BuddyDataExchangeFormat;
 import com.dreamlab.edgefs.misc.Constants;
+import com.dreamlab.edgefs.misc.EdgeStatsSketch;
 import com.dreamlab.edgefs.misc.GlobalStatsHandler;
+import com.dreamlab.edgefs.misc.LocalEdgeIndex;
 import com.dreamlab.edgefs.misc.LocalStatsHandler;
 import com.dreamlab.edgefs.misc.NeighborDataExchangeFormat;
 import com.dreamlab.edgefs.model.BlockMetadata;
@@ -42,6 +51,7 @@ import com.dreamlab.edgefs.thrift.BuddyPayload;
 import com.dreamlab.edgefs.thrift.FogService;
 import com.dreamlab.edgefs.thrift.Metadata;
 import com.dreamlab.edgefs.thrift.NeighborPayload;
+import com.dreamlab.edgefs.thrift.StreamMetadata;
 import com.dreamlab.edgefs.thrift.StreamMetadataInfo;
 
 public class Fog implements Serializable {
@@ -253,7 +263,7 @@ public class Fog implements Serializable {
 
 	// This is to maintian a previous allocation that I made for a particular write
 	// for a session
-	private transient Map<String, List<NodeInfo>> sessionLocations = new HashMap<String, List<NodeInfo>>();
+	private transient SessionPlacements sessionLocations;
 
 	// This is used to have a mapping between micro-batchId to the EdgeID
 	// private Map<String,Short> mbIDLocationMap = new ConcurrentHashMap<>();
@@ -362,6 +372,78 @@ public class Fog implements Serializable {
 
 	private transient int replicaCachingTime;
 
+	// size of the edge stats sketches sent with the 10 byte stats, 0 for none
+	private transient int statsSketchSize;
+
+	// number of blocks of a dead edge recovered together in a single batch
+	private transient int recoveryBatchSize;
+
+	// number of recovery threads, the bandwidth (MB/s) they share and the
+	// seconds after which a failed recovery is retried
+	private transient int recoveryConcurrency;
+
+	private transient double recoveryBandwidth;
+
+	private transient int recoveryRetryInterval;
+
+	// failed recoveries of a microbatch after which it is given up
+	private transient int recoveryMaxAttempts;
+
+	// runs the periodic tasks and sends heartbeats to all peers in parallel
+	private transient HeartbeatScheduler heartbeatScheduler;
+
+	// number of updates made to the self and neighbor bloom filters, the rate
+	// at which these change decides how often the bloom filters are sent
+	private transient AtomicLong selfBFUpdates;
+
+	private transient AtomicLong neighborBFUpdates;
+
+	// notices the local edges which stop sending heartbeats
+	private transient EdgeLivenessTracker edgeLivenessTracker;
+
+	// microbatches of dead edges and corrupt copies waiting to be copied again
+	private transient RecoveryQueue recoveryQueue;
+
+	private transient AdaptiveCadence buddyBFCadence;
+
+	private transient AdaptiveCadence subscriberBFCadence;
+
+	// suspect the buddies and neighbors which stop sending heartbeats
+	private transient PhiAccrualFailureDetector buddyFailureDetector;
+
+	private transient PhiAccrualFailureDetector neighborFailureDetector;
+
+	// reads a microbatch from its replicas with hedging and failover
+	private transient HedgedReadCoordinator readCoordinator;
+
+	// the blocks read recently through this Fog
+	private transient BlockCache blockCache;
+
+	// reads ahead the blocks of the streams being read in order
+	private transient StreamPrefetcher streamPrefetcher;
+
+	// deletes the blocks and streams and removes the expired ones
+	private transient BlockPurger blockPurger;
+
+	// the replica placements reused across writes till the global stats change
+	private transient GlobalReplicaAllocation.PlanCache placementPlans;
+
+	// the usable local edges ordered by storage and reliability for the local stats
+	private transient LocalEdgeIndex edgeIndex;
+
+	// the Fogs caching the metadata of the streams owned by this Fog
+	private transient StreamCacheRegistry streamCacheRegistry;
+
+	// the home pool of every stream on the ring of buddy pools
+	private transient StreamDirectory streamDirectory;
+
+	// the bloom filters are written under the read lock and replaced with a
+	// rebuilt one under the write lock
+	private transient ReadWriteLock bloomFilterLock;
+
+	// entries stored in the bloom filter of an edge while it is being rebuilt
+	private transient Map<Short, byte[]> bloomFilterDeltas;
+
 	private Map<String, BlockMetadata> perStreamBlockMetadata = new ConcurrentHashMap<>();
 
 	/*****************************************************************************/
@@ -432,6 +514,7 @@ public class Fog implements Serializable {
 
 	public void setStorageFogMap(HashMap<StorageReliability, List<Short>> storageFogMap) {
 		this.storageFogMap = storageFogMap;
+		getPlacementPlans().invalidate();
 	}
 
 	/*
@@ -668,6 +751,15 @@ public class Fog implements Serializable {
 
 	public void setMostRecentSelfBFUpdate(long mostRecentSelfBFUpdate) {
 		this.mostRecentSelfBFUpdate = mostRecentSelfBFUpdate;
+		getSelfBFUpdates().incrementAndGet();
+	}
+
+	private synchronized AtomicLong getSelfBFUpdates() {
+		// transient so not present for a deserialized instance
+		if (selfBFUpdates == null) {
+			selfBFUpdates = new AtomicLong();
+		}
+		return selfBFUpdates;
 	}
 
 	public long getLastpersonalBFSent() {
@@ -692,6 +784,15 @@ public class Fog implements Serializable {
 
 	public void setMostRecentNeighborBFUpdate(long mostRecentNeighborBFUpdate) {
 		this.mostRecentNeighborBFUpdate = mostRecentNeighborBFUpdate;
+		getNeighborBFUpdates().incrementAndGet();
+	}
+
+	private synchronized AtomicLong getNeighborBFUpdates() {
+		// transient so not present for a deserialized instance
+		if (neighborBFUpdates == null) {
+			neighborBFUpdates = new AtomicLong();
+		}
+		return neighborBFUpdates;
 	}
 
 	public long getLastNeighborBFSent() {
@@ -806,6 +907,267 @@ public class Fog implements Serializable {
 		this.replicaCachingTime = replicaCachingTime;
 	}
 
+	public int getStatsSketchSize() {
+		return statsSketchSize;
+	}
+
+	public void setStatsSketchSize(int statsSketchSize) {
+		this.statsSketchSize = statsSketchSize;
+	}
+
+	public int getRecoveryBatchSize() {
+		return recoveryBatchSize;
+	}
+
+	public void setRecoveryBatchSize(int recoveryBatchSize) {
+		this.recoveryBatchSize = recoveryBatchSize;
+	}
+
+	public int getRecoveryConcurrency() {
+		return recoveryConcurrency;
+	}
+
+	public void setRecoveryConcurrency(int recoveryConcurrency) {
+		this.recoveryConcurrency = recoveryConcurrency;
+	}
+
+	public double getRecoveryBandwidth() {
+		return recoveryBandwidth;
+	}
+
+	public void setRecoveryBandwidth(double recoveryBandwidth) {
+		this.recoveryBandwidth = recoveryBandwidth;
+	}
+
+	public int getRecoveryRetryInterval() {
+		return recoveryRetryInterval;
+	}
+
+	public void setRecoveryRetryInterval(int recoveryRetryInterval) {
+		this.recoveryRetryInterval = recoveryRetryInterval;
+	}
+
+	public int getRecoveryMaxAttempts() {
+		return recoveryMaxAttempts;
+	}
+
+	public void setRecoveryMaxAttempts(int recoveryMaxAttempts) {
+		this.recoveryMaxAttempts = recoveryMaxAttempts;
+	}
+
+	public synchronized HeartbeatScheduler getHeartbeatScheduler() {
+		// transient so not present for a deserialized instance
+		if (heartbeatScheduler == null) {
+			heartbeatScheduler = new HeartbeatScheduler(Constants.HEARTBEAT_SCHEDULER_THREADS,
+					Constants.DEFAULT_HEARTBEAT_DISPATCH_THREADS, Constants.DEFAULT_HEARTBEAT_PEER_TIMEOUT,
+					Constants.DEFAULT_HEARTBEAT_JITTER);
+		}
+		return heartbeatScheduler;
+	}
+
+	public synchronized void setHeartbeatScheduler(HeartbeatScheduler heartbeatScheduler) {
+		this.heartbeatScheduler = heartbeatScheduler;
+	}
+
+	public EdgeLivenessTracker getEdgeLivenessTracker() {
+		return edgeLivenessTracker;
+	}
+
+	public void setEdgeLivenessTracker(EdgeLivenessTracker edgeLivenessTracker) {
+		this.edgeLivenessTracker = edgeLivenessTracker;
+	}
+
+	public RecoveryQueue getRecoveryQueue() {
+		return recoveryQueue;
+	}
+
+	public void setRecoveryQueue(RecoveryQueue recoveryQueue) {
+		this.recoveryQueue = recoveryQueue;
+	}
+
+	public PhiAccrualFailureDetector getBuddyFailureDetector() {
+		return buddyFailureDetector;
+	}
+
+	public void setBuddyFailureDetector(PhiAccrualFailureDetector buddyFailureDetector) {
+		this.buddyFailureDetector = buddyFailureDetector;
+	}
+
+	public PhiAccrualFailureDetector getNeighborFailureDetector() {
+		return neighborFailureDetector;
+	}
+
+	public void setNeighborFailureDetector(PhiAccrualFailureDetector neighborFailureDetector) {
+		this.neighborFailureDetector = neighborFailureDetector;
+	}
+
+	public synchronized HedgedReadCoordinator getReadCoordinator() {
+		// transient so not present for a deserialized instance
+		if (readCoordinator == null) {
+			readCoordinator = new HedgedReadCoordinator(this, Constants.DEFAULT_READ_HEDGE_PERCENTILE,
+					Constants.DEFAULT_READ_HEDGE_DELAY_MIN, Constants.DEFAULT_READ_HEDGE_MAX,
+					Constants.DEFAULT_READ_TIMEOUT, Constants.DEFAULT_READ_THREADS);
+		}
+		return readCoordinator;
+	}
+
+	public synchronized void setReadCoordinator(HedgedReadCoordinator readCoordinator) {
+		this.readCoordinator = readCoordinator;
+	}
+
+	public synchronized BlockCache getBlockCache() {
+		// transient so not present for a deserialized instance
+		if (blockCache == null) {
+			blockCache = new BlockCache(Constants.DEFAULT_BLOCK_CACHE_SIZE * 1024 * 1024,
+					Constants.DEFAULT_BLOCK_CACHE_OFFHEAP == 1, Constants.DEFAULT_BLOCK_CACHE_TTL * 1000);
+		}
+		return blockCache;
+	}
+
+	public synchronized void setBlockCache(BlockCache blockCache) {
+		this.blockCache = blockCache;
+	}
+
+	public synchronized StreamPrefetcher getStreamPrefetcher() {
+		// transient so not present for a deserialized instance
+		if (streamPrefetcher == null) {
+			streamPrefetcher = new StreamPrefetcher(this, Constants.DEFAULT_PREFETCH_WINDOW,
+					Constants.DEFAULT_PREFETCH_MEMORY * 1024 * 1024, Constants.PREFETCH_THREADS);
+		}
+		return streamPrefetcher;
+	}
+
+	public synchronized void setStreamPrefetcher(StreamPrefetcher streamPrefetcher) {
+		this.streamPrefetcher = streamPrefetcher;
+	}
+
+	public synchronized BlockPurger getBlockPurger() {
+		// transient so not present for a deserialized instance
+		if (blockPurger == null) {
+			blockPurger = new BlockPurger(this, Constants.DEFAULT_PURGE_BATCH_SIZE,
+					Constants.DEFAULT_STREAM_RETENTION);
+		}
+		return blockPurger;
+	}
+
+	public synchronized void setBlockPurger(BlockPurger blockPurger) {
+		this.blockPurger = blockPurger;
+	}
+
+	public synchronized GlobalReplicaAllocation.PlanCache getPlacementPlans() {
+		// transient so not present for a deserialized instance
+		if (placementPlans == null) {
+			placementPlans = new GlobalReplicaAllocation.PlanCache(Constants.DEFAULT_PLACEMENT_POOL_SIZE);
+		}
+		return placementPlans;
+	}
+
+	public synchronized void setPlacementPlans(GlobalReplicaAllocation.PlanCache placementPlans) {
+		this.placementPlans = placementPlans;
+	}
+
+	public synchronized LocalEdgeIndex getEdgeIndex() {
+		// transient so not present for a deserialized instance
+		if (edgeIndex == null) {
+			edgeIndex = new LocalEdgeIndex();
+			edgeIndex.rebuild(localEdgesMap, noStorageEdges);
+		}
+		return edgeIndex;
+	}
+
+	public synchronized StreamCacheRegistry getStreamCacheRegistry() {
+		// transient so not present for a deserialized instance
+		if (streamCacheRegistry == null) {
+			// a caching Fog registers again at least once per cache timeout
+			int expiry = streamMetaCacheInvalidation > 0 ? streamMetaCacheInvalidation
+					: Constants.DEFAULT_STREAM_METADATA_CACHE_INVALIDATION_TIMEOUT;
+			streamCacheRegistry = new StreamCacheRegistry(getHeartbeatScheduler(), expiry * 1000L);
+		}
+		return streamCacheRegistry;
+	}
+
+	public synchronized void setStreamCacheRegistry(StreamCacheRegistry streamCacheRegistry) {
+		this.streamCacheRegistry = streamCacheRegistry;
+	}
+
+	public synchronized StreamDirectory getStreamDirectory() {
+		// transient so not present for a deserialized instance
+		if (streamDirectory == null) {
+			streamDirectory = new StreamDirectory(this, Constants.DEFAULT_STREAM_DIRECTORY_VIRTUAL_NODES);
+		}
+		return streamDirectory;
+	}
+
+	public synchronized void setStreamDirectory(StreamDirectory streamDirectory) {
+		this.streamDirectory = streamDirectory;
+	}
+
+	public synchronized SessionPlacements getSessionLocations() {
+		// transient so not present for a deserialized instance
+		if (sessionLocations == null) {
+			sessionLocations = new SessionPlacements(replicaCachingTime);
+		}
+		return sessionLocations;
+	}
+
+	public synchronized void setSessionLocations(SessionPlacements sessionLocations) {
+		this.sessionLocations = sessionLocations;
+	}
+
+	public synchronized ReadWriteLock getBloomFilterLock() {
+		// transient so not present for a deserialized instance
+		if (bloomFilterLock == null) {
+			bloomFilterLock = new ReentrantReadWriteLock();
+		}
+		return bloomFilterLock;
+	}
+
+	public synchronized Map<Short, byte[]> getBloomFilterDeltas() {
+		// transient so not present for a deserialized instance
+		if (bloomFilterDeltas == null) {
+			bloomFilterDeltas = new ConcurrentHashMap<>();
+		}
+		return bloomFilterDeltas;
+	}
+
+	/**
+	 * A buddy or neighbor suspected to have failed is skipped while reading,
+	 * querying and placing replicas instead of waiting on its connection to fail
+	 */
+	public boolean isPeerSuspected(short nodeId) {
+		long now = System.currentTimeMillis();
+		if (buddyFailureDetector != null && buddyFailureDetector.isSuspected(nodeId, now)) {
+			return true;
+		}
+		return neighborFailureDetector != null && neighborFailureDetector.isSuspected(nodeId, now);
+	}
+
+	public synchronized AdaptiveCadence getBuddyBFCadence() {
+		if (buddyBFCadence == null) {
+			buddyBFCadence = new AdaptiveCadence(Constants.DEFAULT_BUDDY_BLOOM_SEND_HEARTBEATS_MIN,
+					Constants.DEFAULT_BUDDY_BLOOM_SEND_HEARTBEATS, Constants.DEFAULT_BUDDY_BLOOM_FORCE_SEND_HEARTBEATS,
+					Constants.DEFAULT_BUDDY_BLOOM_FORCE_SEND_HEARTBEATS_MAX);
+		}
+		return buddyBFCadence;
+	}
+
+	public synchronized void setBuddyBFCadence(AdaptiveCadence buddyBFCadence) {
+		this.buddyBFCadence = buddyBFCadence;
+	}
+
+	public synchronized AdaptiveCadence getSubscriberBFCadence() {
+		if (subscriberBFCadence == null) {
+			subscriberBFCadence = new AdaptiveCadence(Constants.DEFAULT_SUBS_BLOOM_SEND_HEARTBEATS_MIN,
+					Constants.DEFAULT_SUBS_BLOOM_SEND_HEARTBEATS, Constants.DEFAULT_SUBS_BLOOM_FORCE_SEND_HEARTBEATS,
+					Constants.DEFAULT_SUBS_BLOOM_FORCE_SEND_HEARTBEATS_MAX);
+		}
+		return subscriberBFCadence;
+	}
+
+	public synchronized void setSubscriberBFCadence(AdaptiveCadence subscriberBFCadence) {
+		this.subscriberBFCadence = subscriberBFCadence;
+	}
+
 	public Map<String, BlockMetadata> getPerStreamBlockMetadata() {
 		return perStreamBlockMetadata;
 	}
@@ -851,8 +1213,9 @@ public class Fog implements Serializable {
 		}
 		if (getMostRecentEdgeUpdate() >= getLastLocalUpdatedTime()) {
 			LocalStatsHandler lHandler = new LocalStatsHandler(localEdgesMap, coarseGrainedStats, localEdgeMapping,
-					noStorageEdges);
+					noStorageEdges, getEdgeIndex());
 			lHandler.computeLocalEdgeStats();
+			updateStatsSketch();
 			setLastLocalUpdatedTime(System.currentTimeMillis());
 			setMostRecentFogStatsUpdate(System.currentTimeMillis());
 
@@ -862,6 +1225,16 @@ public class Fog implements Serializable {
 		}
 	}
 
+	// the sketches of the same edges as the 10 bytes, sent along with them
+	private void updateStatsSketch() {
+		if (statsSketchSize > 0) {
+			coarseGrainedStats
+					.setSketch(EdgeStatsSketch.build(localEdgesMap, noStorageEdges, statsSketchSize).toBytes());
+		} else {
+			coarseGrainedStats.setSketch(null);
+		}
+	}
+
 	/** return model class with maps **/
 	public void globalStatsCalculate() {
 		if (getMostRecentFogStatsUpdate() >= getLastGlobalStatsUpdatedTime()
@@ -876,14 +1249,42 @@ public class Fog implements Serializable {
 			LOGGER.info("storage fog map is" + storageFogMap.toString());
 			edgeDistributionMap = handler.getGlobalEdgeDistribution();
 			LOGGER.info("edge distribution map is" + edgeDistributionMap.toString());
+			// the placements were computed from the previous distributions
+			getPlacementPlans().invalidate();
+		}
+	}
+
+	/**
+	 * Updates the local stats with the change of an edge, which takes O(log n)
+	 * with the edges kept ordered in the index. The stats are sent with the next
+	 * heartbeats only if the 10 bytes changed.
+	 */
+	public void edgeUpdated(short edgeId) {
+		LocalEdgeIndex index = getEdgeIndex();
+		index.update(edgeId, localEdgesMap.get(edgeId), noStorageEdges);
+		LocalStatsHandler lHandler = new LocalStatsHandler(localEdgesMap, coarseGrainedStats, localEdgeMapping,
+				noStorageEdges, index);
+		byte[] previous;
+		boolean changed;
+		synchronized (index) {
+			previous = coarseGrainedStats.getInfo().clone();
+			lHandler.computeLocalEdgeStats();
+			changed = !Arrays.equals(previous, coarseGrainedStats.getInfo());
+		}
+		if (changed) {
+			setLastLocalUpdatedTime(System.currentTimeMillis());
+			setMostRecentFogStatsUpdate(System.currentTimeMillis());
 		}
 	}
 
 	// This will go, only here as it is used for some unit testing
 	public LocalEdgeStats computeLocalInformation() {
+		// the edges may have been put in the map directly
+		getEdgeIndex().rebuild(localEdgesMap, noStorageEdges);
 		LocalStatsHandler lHandler = new LocalStatsHandler(localEdgesMap, coarseGrainedStats, localEdgeMapping,
-				noStorageEdges);
+				noStorageEdges, getEdgeIndex());
 		LocalEdgeStats lStats = lHandler.computeLocalEdgeStats();
+		updateStatsSketch();
 		setLastLocalUpdatedTime(System.currentTimeMillis());
 		// change in local Fog state in terms of 10 bytes has an effect
 		// on the global state as well, so check for varying the global
@@ -925,41 +1326,44 @@ public class Fog implements Serializable {
 	 * edgeInfo.releaseLock(); } } } }
 	 */
 
-	public void updateMissingHeartBeats(long edgeHeartbeatInterval, int maxMissingHeartbeats) {
-		long currentTime = System.currentTimeMillis();
-		boolean newUpdates = false;
-		for (Short edgeId : localEdgesMap.keySet()) {
-			EdgeInfo edgeInfo = localEdgesMap.get(edgeId);
-			// only add to updateList if the edge device was active previously
-			if (edgeInfo.getStatus().equals("A")) {
-				int missHeatbeats = (int) ((currentTime - edgeInfo.getLastHeartBeatTime()) / edgeHeartbeatInterval);
-				LOGGER.info("The current time is " + currentTime);
-				LOGGER.info("The last update was " + edgeInfo.getLastHeartBeatTime());
-
-				if (missHeatbeats >= maxMissingHeartbeats) {
-					LOGGER.info("The missed heart beats are " + missHeatbeats);
-					LOGGER.info("EdgeId : {} now not usable for puts or reads anymore", edgeInfo.getNodeId());
-					edgeInfo.setStatus("D");
-					newUpdates = true;
-				}
-			}
+	/**
+	 * Invoked by the EdgeLivenessTracker when no heartbeat is received from an
+	 * active edge for the maximum number of missed heartbeats
+	 * 
+	 * @return true if the edge was active and is now marked dead
+	 */
+	public boolean markEdgeDead(short edgeId) {
+		EdgeInfo edgeInfo = localEdgesMap.get(edgeId);
+		// only an edge device active previously is marked dead
+		if (edgeInfo == null || !edgeInfo.getStatus().equals("A")) {
+			return false;
 		}
+		LOGGER.info("EdgeId : {} now not usable for puts or reads anymore", edgeId);
+		edgeInfo.setStatus("D");
+		edgeUpdated(edgeId);
 
 		// setting of edge device status to 'D' is also an edge update which
 		// should involve computing the local stats so that updated 10 bytes
-		// are sent to the subscribers and buddies
-		if (newUpdates) {
-			// some edge device died, so the bloom filter of the fog should
-			// be updated to reflect the change. Also we should update the
-			// most recent time of self bloom filter update to send the update
-			// when the timer hits for sending heartbeats
+		// are sent to the subscribers and buddies. The edge device died, so the
+		// bloom filter of the fog should be updated to reflect the change. Also
+		// we should update the most recent time of self bloom filter update to
+		// send the update when the timer hits for sending heartbeats
+		getBloomFilterLock().writeLock().lock();
+		try {
 			updatePersonalBloomFilter();
-			setMostRecentSelfBFUpdate(System.currentTimeMillis());
-			setMostRecentEdgeUpdate(System.currentTimeMillis());
+		} finally {
+			getBloomFilterLock().writeLock().unlock();
 		}
+		setMostRecentSelfBFUpdate(System.currentTimeMillis());
+		setMostRecentEdgeUpdate(System.currentTimeMillis());
+		return true;
 	}
 
-	private void updatePersonalBloomFilter() {
+	/**
+	 * Recomputes the personal bloom filter from those of the active edges, the
+	 * caller holds the write lock of the bloom filters
+	 */
+	public void updatePersonalBloomFilter() {
 		byte[] fogBFilter = new byte[Constants.BLOOM_FILTER_BYTES];
 		for (Map.Entry<Short, EdgeInfo> entry : localEdgesMap.entrySet()) {
 			if (entry.getValue().getStatus().equals("A")) {
@@ -972,14 +1376,34 @@ public class Fog implements Serializable {
 		setPersonalBloomFilter(fogBFilter);
 	}
 
-	public void sendHeartbeatBuddies(boolean sendBF, boolean forceSendBF, boolean sendStats, boolean forceSendStats) {
+	/**
+	 * Stores the searchable properties of a stream in the given stream bloom
+	 * filter
+	 */
+	public static void storeStreamEntries(String streamId, StreamMetadata streamMetadata, byte[] streamBloomFilter) {
+		BloomFilter.storeEntry(Constants.STREAM_METADATA_ID, streamId, streamBloomFilter);
+		BloomFilter.storeEntry(Constants.STREAM_METADATA_START_TIME,
+				String.valueOf(streamMetadata.getStartTime().getValue()), streamBloomFilter);
+		// the static properties to support findStreamUsingQuery()
+		BloomFilter.storeEntry(Constants.STREAM_MIN_REPLICA, String.valueOf(streamMetadata.getMinReplica().getValue()),
+				streamBloomFilter);
+		BloomFilter.storeEntry(Constants.STREAM_MAX_REPLICA, String.valueOf(streamMetadata.getMaxReplica().getValue()),
+				streamBloomFilter);
+		BloomFilter.storeEntry(Constants.STREAM_RELIABILITY,
+				String.valueOf(streamMetadata.getReliability().getValue()), streamBloomFilter);
+	}
+
+	public void sendHeartbeatBuddies(boolean sendStats, boolean forceSendStats) {
 		Collection<FogInfo> buddies = buddyMap.values();
 		byte[] selfStats = null, consolidatedBFilter = null, consolidatedStreamBF = null;
 		List<FogStats> updatedStats = new ArrayList<>();
+		Map<Short, ByteBuffer> statsSketches = new HashMap<>();
 		// if forced to send the items, then send it else check if you have to send
-		// and there is a more recent change than the last time you sent the items
-		if (forceSendBF || (sendBF && (getMostRecentNeighborBFUpdate() >= getLastNeighborBFSent()
-				|| getMostRecentSelfBFUpdate() >= getLastNeighborBFSent()))) {
+		// and there is a more recent change than the last time you sent the items.
+		// For the bloomfilter, how often it is sent depends on the rate of updates
+		boolean bfPending = getMostRecentNeighborBFUpdate() >= getLastNeighborBFSent()
+				|| getMostRecentSelfBFUpdate() >= getLastNeighborBFSent();
+		if (getBuddyBFCadence().onHeartbeat(getSelfBFUpdates().get() + getNeighborBFUpdates().get(), bfPending)) {
 			// create consolidated bloomfilter of neighbors and self
 			LOGGER.info("Sending consolidated bloomfilter updates to my buddies");
 			List<byte[]> filters = createConsolidatedBloomFilter();
@@ -992,42 +1416,50 @@ public class Fog implements Serializable {
 			LOGGER.info("Sending self and my neighbor stats updates to my buddies");
 			for (Entry<Short, FogExchangeInfo> entry : neighborExchangeInfo.entrySet()) {
 				if (entry.getValue().getLastUpdatedStatsTime() >= getLastNeighborStatsSent()) {
-					updatedStats.add(getFogUpdateMap().get(entry.getKey()));
+					FogStats neighborStats = getFogUpdateMap().get(entry.getKey());
+					updatedStats.add(neighborStats);
+					if (neighborStats != null && neighborStats.getSketch() != null) {
+						statsSketches.put(entry.getKey(), ByteBuffer.wrap(neighborStats.getSketch()));
+					}
 				}
 			}
 			if (getLastLocalUpdatedTime() >= getLastNeighborStatsSent()) {
 				selfStats = coarseGrainedStats.getInfo();
+				if (coarseGrainedStats.getSketch() != null) {
+					statsSketches.put(myFogInfo.getNodeID(), ByteBuffer.wrap(coarseGrainedStats.getSketch()));
+				}
 			}
 			setLastNeighborStatsSent(System.currentTimeMillis());
 		}
 
-		BuddyPayload payload = new BuddyPayload();
+		final BuddyPayload payload = new BuddyPayload();
 		payload.setPayload(BuddyDataExchangeFormat.encodeData(getMyFogInfo(), consolidatedBFilter, consolidatedStreamBF,
 				selfStats, updatedStats));
+		if (!statsSketches.isEmpty()) {
+			payload.setStatsSketches(statsSketches);
+		}
 		
 		/** newly added by Sheshadri **/
 		payload.setMbIdToStreamIdMap(this.getMbIdToStreamIdMap());
 
-		for (FogInfo fInfo : buddies) {
-			LOGGER.info("Sending heartbeat to buddy : " + fInfo);
-			TTransport transport = new TFramedTransport(new TSocket(fInfo.getNodeIP(), fInfo.getPort()));
-			try {
-				transport.open();
-			} catch (TTransportException e) {
-				transport.close();
-				e.printStackTrace();
-				continue;
-			}
-			TProtocol protocol = new TBinaryProtocol(transport);
-			FogService.Client fogClient = new FogService.Client(protocol);
-			try {
-				fogClient.buddyHeartBeat(payload);
-			} catch (TException e) {
-				e.printStackTrace();
-			} finally {
-				transport.close();
+		final HeartbeatScheduler scheduler = getHeartbeatScheduler();
+		scheduler.dispatch("send heartbeat to", buddies, new HeartbeatScheduler.PeerCall<FogInfo>() {
+
+			@Override
+			public void call(FogInfo fInfo) throws TException {
+				LOGGER.info("Sending heartbeat to buddy : " + fInfo);
+				TTransport transport = new TFramedTransport(
+						new TSocket(fInfo.getNodeIP(), fInfo.getPort(), scheduler.getPeerTimeout()));
+				try {
+					transport.open();
+					TProtocol protocol = new TBinaryProtocol(transport);
+					FogService.Client fogClient = new FogService.Client(protocol);
+					fogClient.buddyHeartBeat(payload);
+				} finally {
+					transport.close();
+				}
 			}
-		}
+		});
 	}
 
 	private List<byte[]> createConsolidatedBloomFilter() {
@@ -1055,12 +1487,12 @@ public class Fog implements Serializable {
 		return consolidatedList;
 	}
 
-	public void sendHeartbeatSubscribers(boolean sendBF, boolean forceSendBF, boolean sendStats,
-			boolean forceSendStats) {
+	public void sendHeartbeatSubscribers(boolean sendStats, boolean forceSendStats) {
 		Collection<NodeInfo> values = subscribedMap.values();
 		byte[] bloomFilter = null, streamBFilter = null;
 		CoarseGrainedStats localStats = null;
-		if (forceSendBF || (sendBF && getMostRecentSelfBFUpdate() >= getLastpersonalBFSent())) {
+		boolean bfPending = getMostRecentSelfBFUpdate() >= getLastpersonalBFSent();
+		if (getSubscriberBFCadence().onHeartbeat(getSelfBFUpdates().get(), bfPending)) {
 			LOGGER.info("Sending bloomfilter updates to my subscribers");
 			bloomFilter = personalBloomFilter;
 			streamBFilter = personalStreamBFilter;
@@ -1073,33 +1505,34 @@ public class Fog implements Serializable {
 		}
 
 		// prepare the payload
-		NeighborPayload payload = new NeighborPayload();
+		final NeighborPayload payload = new NeighborPayload();
 		payload.setPayload(
 				NeighborDataExchangeFormat.encodeData(getMyFogInfo(), bloomFilter, streamBFilter, localStats));
+		if (localStats != null && localStats.getSketch() != null) {
+			payload.setStatsSketch(localStats.getSketch());
+		}
 		
 		/** newly added by Sheshadri **/
 		payload.setMbIdToStreamIdMap(this.getMbIdToStreamIdMap());
 
-		for (NodeInfo nInfo : values) {
-			LOGGER.info("Sending heartbeat to subscriber : " + nInfo);
-			TTransport transport = new TFramedTransport(new TSocket(nInfo.getNodeIP(), nInfo.getPort()));
-			try {
-				transport.open();
-			} catch (TTransportException e) {
-				transport.close();
-				e.printStackTrace();
-				continue;
-			}
-			TProtocol protocol = new TBinaryProtocol(transport);
-			FogService.Client fogClient = new FogService.Client(protocol);
-			try {
-				fogClient.neighborHeartBeat(payload);
-			} catch (TException e) {
-				e.printStackTrace();
-			} finally {
-				transport.close();
+		final HeartbeatScheduler scheduler = getHeartbeatScheduler();
+		scheduler.dispatch("send heartbeat to", values, new HeartbeatScheduler.PeerCall<NodeInfo>() {
+
+			@Override
+			public void call(NodeInfo nInfo) throws TException {
+				LOGGER.info("Sending heartbeat to subscriber : " + nInfo);
+				TTransport transport = new TFramedTransport(
+						new TSocket(nInfo.getNodeIP(), nInfo.getPort(), scheduler.getPeerTimeout()));
+				try {
+					transport.open();
+					TProtocol protocol = new TBinaryProtocol(transport);
+					FogService.Client fogClient = new FogService.Client(protocol);
+					fogClient.neighborHeartBeat(payload);
+				} finally {
+					transport.close();
+				}
 			}
-		}
+		});
 	}
 
 	public static Fog deserializeInstance() {
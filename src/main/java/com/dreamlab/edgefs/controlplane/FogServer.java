@@ -11,13 +11,13 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Random;
 import java.util.Set;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Executors;
-import java.util.concurrent.PriorityBlockingQueue;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.thrift.TException;
@@ -33,8 +33,11 @@ import org.apache.thrift.transport.TTransportException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.dreamlab.edgefs.misc.AdaptiveCadence;
+import com.dreamlab.edgefs.misc.BlockCache;
 import com.dreamlab.edgefs.misc.Constants;
 import com.dreamlab.edgefs.model.CheckerTask;
+import com.dreamlab.edgefs.model.EdgeInfo;
 import com.dreamlab.edgefs.model.FogExchangeInfo;
 import com.dreamlab.edgefs.model.FogInfo;
 import com.dreamlab.edgefs.model.NeighborInfo;
@@ -136,61 +139,40 @@ public class FogServer {
 
 			}
 
+			// all the periodic tasks run on a scheduler at a fixed rate, the
+			// heartbeats are sent to the peers in parallel
+			final HeartbeatScheduler scheduler = createHeartbeatScheduler();
+			self.getFog().setHeartbeatScheduler(scheduler);
+
+			// the bloomfilter is sent at an interval that adapts to how often
+			// it changes, the Fog decides on every heartbeat whether to send it
+			self.getFog().setBuddyBFCadence(createBloomCadence(Constants.BUDDY_BLOOM_SEND_HEARTBEATS_MIN,
+					Constants.DEFAULT_BUDDY_BLOOM_SEND_HEARTBEATS_MIN, Constants.BUDDY_BLOOM_SEND_HEARTBEATS,
+					Constants.BUDDY_BLOOM_FORCE_SEND_HEARTBEATS, Constants.BUDDY_BLOOM_FORCE_SEND_HEARTBEATS_MAX,
+					Constants.DEFAULT_BUDDY_BLOOM_FORCE_SEND_HEARTBEATS_MAX));
+			self.getFog().setSubscriberBFCadence(createBloomCadence(Constants.SUBS_BLOOM_SEND_HEARTBEATS_MIN,
+					Constants.DEFAULT_SUBS_BLOOM_SEND_HEARTBEATS_MIN, Constants.SUBS_BLOOM_SEND_HEARTBEATS,
+					Constants.SUBS_BLOOM_FORCE_SEND_HEARTBEATS, Constants.SUBS_BLOOM_FORCE_SEND_HEARTBEATS_MAX,
+					Constants.DEFAULT_SUBS_BLOOM_FORCE_SEND_HEARTBEATS_MAX));
+
+			final int buddyHeartbeatTime = Integer.parseInt(properties.getProperty(Constants.BUDDY_HEARTBEAT_INTERVAL));
 			Runnable buddyHeartBeat = new Runnable() {
 
+				int buddyStatsHeartbeats = Integer
+						.parseInt(properties.getProperty(Constants.BUDDY_STATS_SEND_HEARTBEATS));
+				int buddyForceStatsHeartbeats = Integer
+						.parseInt(properties.getProperty(Constants.BUDDY_STATS_FORCE_SEND_HEARTBEATS));
+				// runs of a task never overlap so no synchronization needed
+				long count = 0;
+
 				@Override
 				public void run() {
-					int buddyHeartbeatTime = Integer
-							.parseInt(properties.getProperty(Constants.BUDDY_HEARTBEAT_INTERVAL));
-					int buddyBFHeartbeats = Integer
-							.parseInt(properties.getProperty(Constants.BUDDY_BLOOM_SEND_HEARTBEATS));
-					int buddyStatsHeartbeats = Integer
-							.parseInt(properties.getProperty(Constants.BUDDY_STATS_SEND_HEARTBEATS));
-					int bootstrapHeartbeats = Integer
-							.parseInt(properties.getProperty(Constants.GLOBAL_BOOTSTRAP_HEARTBEATS));
-					int buddyForceBFHeartbeats = Integer
-							.parseInt(properties.getProperty(Constants.BUDDY_BLOOM_FORCE_SEND_HEARTBEATS));
-					int buddyForceStatsHeartbeats = Integer
-							.parseInt(properties.getProperty(Constants.BUDDY_STATS_FORCE_SEND_HEARTBEATS));
-					long count = 0;
-					// check if to send bloomfilter
-					boolean bloomFilterSend = false, forceBFSend = false;
+					count += 1;
 					// check if to send stats
-					boolean statsSend = false, forceStatsSend = false;
-
-					// allow for initial bootstrap
-					// uncomment for deployment if needed
-					/*
-					 * try { Thread.sleep(bootstrapHeartbeats * buddyHeartbeatTime * 1000); } catch
-					 * (InterruptedException e) { e.printStackTrace(); }
-					 */
-					while (true) {
-						// this will enable initial bootstrapping as well as allow periodic heartbeats
-						try {
-							Thread.sleep(buddyHeartbeatTime * 1000);
-							count += 1;
-							if (count % buddyBFHeartbeats == 0) {
-								bloomFilterSend = true;
-							}
-							if (count % buddyStatsHeartbeats == 0) {
-								statsSend = true;
-							}
-							if (count % buddyForceBFHeartbeats == 0) {
-								forceBFSend = true;
-							}
-							if (count % buddyForceStatsHeartbeats == 0) {
-								forceStatsSend = true;
-							}
-						} catch (InterruptedException e) {
-							e.printStackTrace();
-						}
-						// LOGGER.info("Sending heartbeat to my buddy");
-						self.getFog().sendHeartbeatBuddies(bloomFilterSend, forceBFSend, statsSend, forceStatsSend);
-						bloomFilterSend = false;
-						statsSend = false;
-						forceBFSend = false;
-						forceStatsSend = false;
-					}
+					boolean statsSend = count % buddyStatsHeartbeats == 0;
+					boolean forceStatsSend = count % buddyForceStatsHeartbeats == 0;
+					// LOGGER.info("Sending heartbeat to my buddy");
+					self.getFog().sendHeartbeatBuddies(statsSend, forceStatsSend);
 				}
 			};
 
@@ -214,134 +196,179 @@ public class FogServer {
 				LOGGER.info("Joined Pool Successfully " + result);
 			}
 
-			Thread t2 = new Thread(buddyHeartBeat);
-			t2.start();
+			scheduler.scheduleAtFixedRate("buddyHeartBeat", buddyHeartBeat, buddyHeartbeatTime * 1000L);
 
 			// A separate runnable for subscribed Fog devices
+			final int subscriberHeartbeatTime = Integer
+					.parseInt(properties.getProperty(Constants.SUBS_HEARTBEAT_INTERVAL));
 			Runnable subscriberHeartBeat = new Runnable() {
 
+				int sendStatsHeartbeats = Integer
+						.parseInt(properties.getProperty(Constants.SUBS_STATS_SEND_HEARTBEATS));
+				int forceStatsHeartbeats = Integer
+						.parseInt(properties.getProperty(Constants.SUBS_STATS_FORCE_SEND_HEARTBEATS));
+				long count = 0;
+
 				@Override
 				public void run() {
-					int subscriberHeartbeatTime = Integer
-							.parseInt(properties.getProperty(Constants.SUBS_HEARTBEAT_INTERVAL));
-					int sendBFHeartbeats = Integer
-							.parseInt(properties.getProperty(Constants.SUBS_BLOOM_SEND_HEARTBEATS));
-					int sendStatsHeartbeats = Integer
-							.parseInt(properties.getProperty(Constants.SUBS_STATS_SEND_HEARTBEATS));
-					int bootstrapHeartbeats = Integer
-							.parseInt(properties.getProperty(Constants.GLOBAL_BOOTSTRAP_HEARTBEATS));
-					int forceSendBFHeartbeats = Integer
-							.parseInt(properties.getProperty(Constants.SUBS_BLOOM_FORCE_SEND_HEARTBEATS));
-					int forceStatsHeartbeats = Integer
-							.parseInt(properties.getProperty(Constants.SUBS_STATS_FORCE_SEND_HEARTBEATS));
-					long count = 0;
-					// check if to send bloomfilter
-					boolean bloomFilterSend = false, forceBFSend = false;
-					// check if to send bloomfilter
-					boolean statsSend = false, forceStatsSend = false;
-
-					// allow for initial bootstrap
-					// uncomment for deployment
-					/*
-					 * try { Thread.sleep(bootstrapHeartbeats * subscriberHeartbeatTime * 1000); }
-					 * catch (InterruptedException e) { e.printStackTrace(); }
-					 */
-					while (true) {
-						try {
-							Thread.sleep(subscriberHeartbeatTime * 1000);
-							count += 1;
-							if (count % sendBFHeartbeats == 0) {
-								bloomFilterSend = true;
-							}
-							if (count % sendStatsHeartbeats == 0) {
-								statsSend = true;
-							}
-							if (count % forceSendBFHeartbeats == 0) {
-								forceBFSend = true;
-							}
-							if (count % forceStatsHeartbeats == 0) {
-								forceStatsSend = true;
-							}
-						} catch (InterruptedException e) {
-							e.printStackTrace();
-						}
-						self.getFog().sendHeartbeatSubscribers(bloomFilterSend, forceBFSend, statsSend, forceStatsSend);
-						bloomFilterSend = false;
-						statsSend = false;
-						forceBFSend = false;
-						forceStatsSend = false;
-					}
+					count += 1;
+					boolean statsSend = count % sendStatsHeartbeats == 0;
+					boolean forceStatsSend = count % forceStatsHeartbeats == 0;
+					self.getFog().sendHeartbeatSubscribers(statsSend, forceStatsSend);
 				}
 			};
 
-			Thread t3 = new Thread(subscriberHeartBeat);
-			t3.start();
+			scheduler.scheduleAtFixedRate("subscriberHeartBeat", subscriberHeartBeat, subscriberHeartbeatTime * 1000L);
+
+			// buddies and neighbors which stop sending heartbeats are suspected
+			// and skipped by reads, queries and replica placement
+			self.getFog().setBuddyFailureDetector(createFailureDetector(scheduler, buddyHeartbeatTime * 1000L));
+			self.getFog().setNeighborFailureDetector(createFailureDetector(scheduler, subscriberHeartbeatTime * 1000L));
+
+			// reads are sent to a second replica when the first is slow
+			self.getFog().setReadCoordinator(createReadCoordinator(self.getFog()));
+
+			long blockCacheSize = Constants.DEFAULT_BLOCK_CACHE_SIZE;
+			if (properties.containsKey(Constants.BLOCK_CACHE_SIZE)) {
+				blockCacheSize = Long.parseLong(properties.getProperty(Constants.BLOCK_CACHE_SIZE));
+			}
+			int blockCacheOffHeap = Constants.DEFAULT_BLOCK_CACHE_OFFHEAP;
+			if (properties.containsKey(Constants.BLOCK_CACHE_OFFHEAP)) {
+				blockCacheOffHeap = Integer.parseInt(properties.getProperty(Constants.BLOCK_CACHE_OFFHEAP));
+			}
+			long blockCacheTtl = Constants.DEFAULT_BLOCK_CACHE_TTL;
+			if (properties.containsKey(Constants.BLOCK_CACHE_TTL)) {
+				blockCacheTtl = Long.parseLong(properties.getProperty(Constants.BLOCK_CACHE_TTL));
+			}
+			self.getFog().setBlockCache(
+					new BlockCache(blockCacheSize * 1024 * 1024, blockCacheOffHeap == 1, blockCacheTtl * 1000));
+
+			int placementPoolSize = Constants.DEFAULT_PLACEMENT_POOL_SIZE;
+			if (properties.containsKey(Constants.PLACEMENT_POOL_SIZE)) {
+				placementPoolSize = Integer.parseInt(properties.getProperty(Constants.PLACEMENT_POOL_SIZE));
+			}
+			self.getFog().setPlacementPlans(new GlobalReplicaAllocation.PlanCache(placementPoolSize));
+			// placements reused within a write session when replica caching is enabled
+			self.getFog().setSessionLocations(new SessionPlacements(self.getFog().getReplicaCachingTime()));
+
+			int statsSketchSize = Constants.DEFAULT_STATS_SKETCH_SIZE;
+			if (properties.containsKey(Constants.STATS_SKETCH_SIZE)) {
+				statsSketchSize = Integer.parseInt(properties.getProperty(Constants.STATS_SKETCH_SIZE));
+			}
+			self.getFog().setStatsSketchSize(statsSketchSize);
 
-			// for calculating local stats
+			int directoryVirtualNodes = Constants.DEFAULT_STREAM_DIRECTORY_VIRTUAL_NODES;
+			if (properties.containsKey(Constants.STREAM_DIRECTORY_VIRTUAL_NODES)) {
+				directoryVirtualNodes = Integer
+						.parseInt(properties.getProperty(Constants.STREAM_DIRECTORY_VIRTUAL_NODES));
+			}
+			self.getFog().setStreamDirectory(new StreamDirectory(self.getFog(), directoryVirtualNodes));
+
+			int prefetchWindow = Constants.DEFAULT_PREFETCH_WINDOW;
+			if (properties.containsKey(Constants.PREFETCH_WINDOW)) {
+				prefetchWindow = Integer.parseInt(properties.getProperty(Constants.PREFETCH_WINDOW));
+			}
+			long prefetchMemory = Constants.DEFAULT_PREFETCH_MEMORY;
+			if (properties.containsKey(Constants.PREFETCH_MEMORY)) {
+				prefetchMemory = Long.parseLong(properties.getProperty(Constants.PREFETCH_MEMORY));
+			}
+			self.getFog().setStreamPrefetcher(new StreamPrefetcher(self.getFog(), prefetchWindow,
+					prefetchMemory * 1024 * 1024, Constants.PREFETCH_THREADS));
+
+			// for calculating local stats, the missing heartbeats of the Edges
+			// are tracked separately by the EdgeLivenessTracker
+			int edgeHeartbeatInterval = Integer.parseInt(properties.getProperty(Constants.EDGE_HEARTBEAT_INTERVAL));
+			int localUpdateHeartbeats = Integer.parseInt(properties.getProperty(Constants.LOCAL_STATS_CALC_HEARTBEATS));
+			int localUpdateWindow = edgeHeartbeatInterval * localUpdateHeartbeats;
+			int maxMissingHeartbeats = Integer.parseInt(properties.getProperty(Constants.EDGE_MISS_HEARTBEATS_MAX));
 			Runnable localStatsCalculator = new Runnable() {
 
 				@Override
 				public void run() {
-					int edgeHeartbeatInterval = Integer
-							.parseInt(properties.getProperty(Constants.EDGE_HEARTBEAT_INTERVAL));
-					int localUpdateHeartbeats = Integer
-							.parseInt(properties.getProperty(Constants.LOCAL_STATS_CALC_HEARTBEATS));
-					int localUpdateWindow = edgeHeartbeatInterval * localUpdateHeartbeats;
-					int maxMissingHeartbeats = Integer
-							.parseInt(properties.getProperty(Constants.EDGE_MISS_HEARTBEATS_MAX));
-					while (true) {
-						try {
-							// assuming the supplied value is in seconds
-							Thread.sleep(localUpdateWindow * 1000);
-						} catch (InterruptedException e) {
-							e.printStackTrace();
-						}
-						// missing heartbeats should be updated for the Edge
-						// should we do as part of local stats calculation or
-						// do periodically via another thread
-						self.getFog().updateMissingHeartBeats(edgeHeartbeatInterval * 1000, maxMissingHeartbeats);
-						self.getFog().localStatsCalculate();
-					}
+					self.getFog().localStatsCalculate();
 				}
 			};
 
+			// assuming the supplied value is in seconds
+			scheduler.scheduleAtFixedRate("localStatsCalculator", localStatsCalculator, localUpdateWindow * 1000L);
+
 			// for calculating global stats
+			int globalUpdateHeartbeats = Integer.parseInt(properties.getProperty(Constants.GLOBAL_CALC_HEARTBEATS));
+			int globalUpdateWindow = buddyHeartbeatTime * globalUpdateHeartbeats;
 			Runnable globalStatsCalculator = new Runnable() {
 
 				@Override
 				public void run() {
-					int buddyHeartbeatTime = Integer
-							.parseInt(properties.getProperty(Constants.BUDDY_HEARTBEAT_INTERVAL));
-					int globalUpdateHeartbeats = Integer
-							.parseInt(properties.getProperty(Constants.GLOBAL_CALC_HEARTBEATS));
-					int globalUpdateWindow = buddyHeartbeatTime * globalUpdateHeartbeats;
-					while (true) {
-						try {
-							// assuming the supplied value is in seconds
-							Thread.sleep(globalUpdateWindow * 1000);
-						} catch (InterruptedException e) {
-							e.printStackTrace();
-						}
-						self.getFog().globalStatsCalculate();
-					}
+					self.getFog().globalStatsCalculate();
 				}
 			};
 
-			Thread t4 = new Thread(localStatsCalculator);
-			t4.start();
+			scheduler.scheduleAtFixedRate("globalStatsCalculator", globalStatsCalculator, globalUpdateWindow * 1000L);
 
-			Thread t5 = new Thread(globalStatsCalculator);
-			t5.start();
+			// chunked transfers abandoned by their clients hold a connection to
+			// the edge till they are aborted
+			Runnable transferReaper = new Runnable() {
 
-			// place the to be recovered microbatches in this queue
-			BlockingQueue<Runnable> queue = new PriorityBlockingQueue<Runnable>(Constants.RECOVERY_QUEUE_SIZE);
-			ThreadPoolExecutor executor = new ThreadPoolExecutor(10, 20, 60000, TimeUnit.MILLISECONDS, queue,
-					new RecoveryRejectedHandler());
-			// CheckerTask checker = new CheckerTask(self, queue, fogHandler);
-			CheckerTask checker = new CheckerTask(self.getFog(), executor, fogHandler, queue);
+				@Override
+				public void run() {
+					try {
+						fogHandler.abortIdleTransfers(Constants.TRANSFER_IDLE_TIMEOUT * 1000L);
+					} catch (TException e) {
+						LOGGER.error("Error while aborting the idle transfers : " + e);
+						e.printStackTrace();
+					}
+				}
+			};
+			scheduler.scheduleAtFixedRate("transferReaper", transferReaper, Constants.TRANSFER_REAP_INTERVAL * 1000L);
+
+			// place the to be recovered microbatches in this queue, microbatches
+			// left from before a restart are picked from the journal
+			RecoveryQueue recoveryQueue = new RecoveryQueue(fogHandler, Constants.RECOVERY_JOURNAL_FILE);
+			recoveryQueue.start();
+			self.getFog().setRecoveryQueue(recoveryQueue);
+			CheckerTask checker = new CheckerTask(self.getFog(), recoveryQueue);
+
+			// deleted blocks are removed from the edges and the index in the
+			// background, on a thread of its own as it calls the edges
+			int purgeInterval = Constants.DEFAULT_PURGE_INTERVAL;
+			if (properties.containsKey(Constants.PURGE_INTERVAL)) {
+				purgeInterval = Integer.parseInt(properties.getProperty(Constants.PURGE_INTERVAL));
+			}
+			int purgeBatchSize = Constants.DEFAULT_PURGE_BATCH_SIZE;
+			if (properties.containsKey(Constants.PURGE_BATCH_SIZE)) {
+				purgeBatchSize = Integer.parseInt(properties.getProperty(Constants.PURGE_BATCH_SIZE));
+			}
+			long streamRetention = Constants.DEFAULT_STREAM_RETENTION;
+			if (properties.containsKey(Constants.STREAM_RETENTION)) {
+				streamRetention = Long.parseLong(properties.getProperty(Constants.STREAM_RETENTION));
+			}
+			BlockPurger purger = new BlockPurger(self.getFog(), purgeBatchSize, streamRetention);
+			purger.setHandler(fogHandler);
+			self.getFog().setBlockPurger(purger);
+			ScheduledExecutorService purgeService = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
 
-			Thread t6 = new Thread(checker);
-			t6.start();
+				@Override
+				public Thread newThread(Runnable r) {
+					Thread thread = new Thread(r, "block-purger");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+			purgeService.scheduleWithFixedDelay(purger, purgeInterval, purgeInterval, TimeUnit.SECONDS);
+
+			// an Edge is dead once it misses the maximum number of heartbeats, its
+			// recovery starts as soon as that happens
+			EdgeLivenessTracker livenessTracker = new EdgeLivenessTracker(
+					edgeHeartbeatInterval * 1000L * maxMissingHeartbeats, Constants.EDGE_LIVENESS_TICK,
+					Constants.EDGE_LIVENESS_WHEEL_SIZE, checker);
+			self.getFog().setEdgeLivenessTracker(livenessTracker);
+			// Edges which joined before the tracker was in place
+			for (Entry<Short, EdgeInfo> entry : self.getFog().getLocalEdgesMap().entrySet()) {
+				if (!livenessTracker.isTracked(entry.getKey())) {
+					livenessTracker.heartbeat(entry.getKey(), entry.getValue().getLastHeartBeatTime());
+				}
+			}
+			livenessTracker.start();
 
 		} catch (Exception e) {
 			// TODO: handle exception
@@ -350,6 +377,72 @@ public class FogServer {
 
 	}
 
+	private static HeartbeatScheduler createHeartbeatScheduler() {
+		int dispatchThreads = Constants.DEFAULT_HEARTBEAT_DISPATCH_THREADS;
+		if (properties.containsKey(Constants.HEARTBEAT_DISPATCH_THREADS)) {
+			dispatchThreads = Integer.parseInt(properties.getProperty(Constants.HEARTBEAT_DISPATCH_THREADS));
+		}
+		int peerTimeout = Constants.DEFAULT_HEARTBEAT_PEER_TIMEOUT;
+		if (properties.containsKey(Constants.HEARTBEAT_PEER_TIMEOUT)) {
+			peerTimeout = Integer.parseInt(properties.getProperty(Constants.HEARTBEAT_PEER_TIMEOUT));
+		}
+		int jitter = Constants.DEFAULT_HEARTBEAT_JITTER;
+		if (properties.containsKey(Constants.HEARTBEAT_JITTER)) {
+			jitter = Integer.parseInt(properties.getProperty(Constants.HEARTBEAT_JITTER));
+		}
+		return new HeartbeatScheduler(Constants.HEARTBEAT_SCHEDULER_THREADS, dispatchThreads, peerTimeout, jitter);
+	}
+
+	private static PhiAccrualFailureDetector createFailureDetector(HeartbeatScheduler scheduler,
+			long heartbeatInterval) {
+		double threshold = Constants.DEFAULT_FAILURE_DETECTOR_PHI_THRESHOLD;
+		if (properties.containsKey(Constants.FAILURE_DETECTOR_PHI_THRESHOLD)) {
+			threshold = Double.parseDouble(properties.getProperty(Constants.FAILURE_DETECTOR_PHI_THRESHOLD));
+		}
+		// a heartbeat may be delayed by the jitter and a slow peer ahead of it
+		return new PhiAccrualFailureDetector(threshold, Constants.FAILURE_DETECTOR_WINDOW, heartbeatInterval,
+				Constants.FAILURE_DETECTOR_MIN_STD_DEVIATION, scheduler.getJitter() + scheduler.getPeerTimeout());
+	}
+
+	private static HedgedReadCoordinator createReadCoordinator(Fog fog) {
+		double percentile = Constants.DEFAULT_READ_HEDGE_PERCENTILE;
+		if (properties.containsKey(Constants.READ_HEDGE_PERCENTILE)) {
+			percentile = Double.parseDouble(properties.getProperty(Constants.READ_HEDGE_PERCENTILE));
+		}
+		long minDelay = Constants.DEFAULT_READ_HEDGE_DELAY_MIN;
+		if (properties.containsKey(Constants.READ_HEDGE_DELAY_MIN)) {
+			minDelay = Long.parseLong(properties.getProperty(Constants.READ_HEDGE_DELAY_MIN));
+		}
+		int maxHedges = Constants.DEFAULT_READ_HEDGE_MAX;
+		if (properties.containsKey(Constants.READ_HEDGE_MAX)) {
+			maxHedges = Integer.parseInt(properties.getProperty(Constants.READ_HEDGE_MAX));
+		}
+		int timeout = Constants.DEFAULT_READ_TIMEOUT;
+		if (properties.containsKey(Constants.READ_TIMEOUT)) {
+			timeout = Integer.parseInt(properties.getProperty(Constants.READ_TIMEOUT));
+		}
+		int threads = Constants.DEFAULT_READ_THREADS;
+		if (properties.containsKey(Constants.READ_THREADS)) {
+			threads = Integer.parseInt(properties.getProperty(Constants.READ_THREADS));
+		}
+		return new HedgedReadCoordinator(fog, percentile, minDelay, maxHedges, timeout, threads);
+	}
+
+	private static AdaptiveCadence createBloomCadence(String minKey, int defaultMin, String maxKey, String forceKey,
+			String maxForceKey, int defaultMaxForce) {
+		int minHeartbeats = defaultMin;
+		if (properties.containsKey(minKey)) {
+			minHeartbeats = Integer.parseInt(properties.getProperty(minKey));
+		}
+		int maxHeartbeats = Integer.parseInt(properties.getProperty(maxKey));
+		int forceHeartbeats = Integer.parseInt(properties.getProperty(forceKey));
+		int maxForceHeartbeats = defaultMaxForce;
+		if (properties.containsKey(maxForceKey)) {
+			maxForceHeartbeats = Integer.parseInt(properties.getProperty(maxForceKey));
+		}
+		return new AdaptiveCadence(minHeartbeats, maxHeartbeats, forceHeartbeats, maxForceHeartbeats);
+	}
+
 	private static void initializeFogProperty(FogHolder self) {
 		// set the disk watermark for Edge
 		if (properties.containsKey(Constants.EDGE_DISK_WATERMARK)) {
@@ -405,6 +498,46 @@ public class FogServer {
 			self.getFog().setReplicaCachingTime(Constants.DEFAULT_REPLICA_CACHING_TIME);
 		}
 
+		// number of blocks recovered together from a source fog
+		if (properties.containsKey(Constants.RECOVERY_BATCH_SIZE)) {
+			self.getFog()
+					.setRecoveryBatchSize(Integer.parseInt(properties.getProperty(Constants.RECOVERY_BATCH_SIZE)));
+		} else {
+			self.getFog().setRecoveryBatchSize(Constants.DEFAULT_RECOVERY_BATCH_SIZE);
+		}
+
+		// number of threads recovering microbatches of dead edges
+		if (properties.containsKey(Constants.RECOVERY_CONCURRENCY)) {
+			self.getFog()
+					.setRecoveryConcurrency(Integer.parseInt(properties.getProperty(Constants.RECOVERY_CONCURRENCY)));
+		} else {
+			self.getFog().setRecoveryConcurrency(Constants.DEFAULT_RECOVERY_CONCURRENCY);
+		}
+
+		// bandwidth in MB/s shared by the recovery threads
+		if (properties.containsKey(Constants.RECOVERY_BANDWIDTH)) {
+			self.getFog()
+					.setRecoveryBandwidth(Double.parseDouble(properties.getProperty(Constants.RECOVERY_BANDWIDTH)));
+		} else {
+			self.getFog().setRecoveryBandwidth(Constants.DEFAULT_RECOVERY_BANDWIDTH);
+		}
+
+		// time after which a microbatch that failed recovery is tried again
+		if (properties.containsKey(Constants.RECOVERY_RETRY_INTERVAL)) {
+			self.getFog().setRecoveryRetryInterval(
+					Integer.parseInt(properties.getProperty(Constants.RECOVERY_RETRY_INTERVAL)));
+		} else {
+			self.getFog().setRecoveryRetryInterval(Constants.DEFAULT_RECOVERY_RETRY_INTERVAL);
+		}
+
+		// failed recoveries of a microbatch after which it is given up
+		if (properties.containsKey(Constants.RECOVERY_MAX_ATTEMPTS)) {
+			self.getFog().setRecoveryMaxAttempts(
+					Integer.parseInt(properties.getProperty(Constants.RECOVERY_MAX_ATTEMPTS)));
+		} else {
+			self.getFog().setRecoveryMaxAttempts(Constants.DEFAULT_RECOVERY_MAX_ATTEMPTS);
+		}
+
 	}
 
 	/**
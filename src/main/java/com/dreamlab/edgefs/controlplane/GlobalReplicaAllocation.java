@@ -1,16 +1,18 @@
 package com.dreamlab.edgefs.controlplane;
 
 import java.util.ArrayList;
-import java.util.LinkedHashSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.dreamlab.edgefs.misc.WeightedSampler;
 import com.dreamlab.edgefs.model.FogStats;
 import com.dreamlab.edgefs.model.NodeInfo;
 import com.dreamlab.edgefs.model.StorageReliability;
@@ -32,6 +34,9 @@ public class GlobalReplicaAllocation {
 	private int replicaCount = 0;
 	private Map<Short, NodeInfo> fogSet = new ConcurrentHashMap<Short, NodeInfo>();
 	private Map<Short, List<String>> fogChoiceList = new ConcurrentHashMap<Short, List<String>>();
+	/** Fog samplers per quadrant and part, built once for this placement **/
+	private Map<String, WeightedSampler> samplers = new HashMap<String, WeightedSampler>();
+	private Map<String, List<Short>> samplerFogs = new HashMap<String, List<Short>>();
 
 	/**
 	 * We will return the above Map, it has FogId, list of choices for that fog ID
@@ -459,171 +464,121 @@ public class GlobalReplicaAllocation {
 						&& globalStorageMap.containsKey(StorageReliability.HH)
 						&& globalStorageMap.get(StorageReliability.HH) > 0) {
 
-					int randomFogRange = storageFogMap.get(StorageReliability.HH)
-							.size(); /** Set of Fogs Ids in the HH region **/
 					allocationMade = false; /** Reset the allocation **/
 
-					/** This is to see that random numbers are not repeated **/
-					Set<Short> fogIdRandomIndex = new LinkedHashSet<Short>();
 
 					/**
-					 * First while loop is to check for he high storage range for all Fogs, the 'b'
+					 * First pick is to check for he high storage range for all Fogs, the 'b'
 					 * part of the square c d a 'b'
 					 * 
 					 **/
-					int breakLoop = 0;
-					while (allocationMade == false && breakLoop < randomFogRange) {
-
-						LOGGER.info("HHL..1st");
-
-						Short fogId = storageFogMap.get(StorageReliability.HH)
-								.get(new Random().nextInt(randomFogRange));
-
-						if (fogIdRandomIndex.contains(fogId) == false && fogSet
-								.containsKey(fogId) == false) { /** So that we don't choose a fog already chosen **/
-
-							LOGGER.info("choice test Fog is " + fogId);
-							breakLoop++;
-							fogIdRandomIndex.add(fogId); /** To make sure this value is not used again **/
-
-							if (fogUpdateMap.containsKey(fogId) == false)
-								continue;
-
-							FogStats fStat = fogUpdateMap.get(fogId);
-							LOGGER.info("This executes if fogId is present " + fogId);
-
-							switch (subchoice) {
-							case 0:
-								if (fStat.getB() > 0) { /** This is the HL allocation in the local Fog **/
-
-									allocationMade = true;
-									choice = 1;
-									replicaCount = replicaCount + 1;
-									double reliability = fStat.getMinReliability() / 100.0;
-									achievedReliability = (achievedReliability == 0) ? (reliability)
-											: (1 - ((1 - achievedReliability)
-													* (1 - reliability))); /** Multiply With min reliability **/
-									fogList.add(fStat.getNodeInfo());
-									fogSet.put(fogId, fStat.getNodeInfo());
-									choiceList.add("HHL");
-									fogsChosen.add(fStat.getNodeInfo());
-									reliabilityContribution.add(reliability);
-									LOGGER.info("Choice made HHL" + fStat.toString());
-								}
-								break;
-
-							case 1:
-								if (fStat.getD() > 0) { /** This is the HH allocation in the local Fog **/
-
-									allocationMade = true;
-									choice = 1;
-									replicaCount = replicaCount + 1;
-									double reliability = fStat.getMedianReliability() / 100.0;
-									achievedReliability = (achievedReliability == 0) ? (reliability)
-											: (1 - ((1 - achievedReliability)
-													* (1 - reliability))); /** Multiply With median reliability **/
-									fogList.add(fStat.getNodeInfo());
-									fogSet.put(fogId, fStat.getNodeInfo());
-									choiceList.add("HHH");
-									fogsChosen.add(fStat.getNodeInfo());
-									reliabilityContribution.add(reliability);
-									LOGGER.info("Choice made HHH" + fStat.toString());
-								}
-								break;
-
-							default:
-								LOGGER.info("wrong Choice sent ");
-								break;
-
+					LOGGER.info("HHL..1st");
+
+					Short fogId = pickFog(StorageReliability.HH, subchoice == 0 ? 'B' : 'D', storageFogMap,
+							fogUpdateMap);
+					if (fogId != null) {
+						FogStats fStat = fogUpdateMap.get(fogId);
+
+						switch (subchoice) {
+						case 0:
+							if (fStat.getB() > 0) { /** This is the HL allocation in the local Fog **/
+
+								allocationMade = true;
+								choice = 1;
+								replicaCount = replicaCount + 1;
+								double reliability = fStat.getMinReliability() / 100.0;
+								achievedReliability = (achievedReliability == 0) ? (reliability)
+										: (1 - ((1 - achievedReliability)
+												* (1 - reliability))); /** Multiply With min reliability **/
+								fogList.add(fStat.getNodeInfo());
+								fogSet.put(fogId, fStat.getNodeInfo());
+								choiceList.add("HHL");
+								fogsChosen.add(fStat.getNodeInfo());
+								reliabilityContribution.add(reliability);
+								LOGGER.info("Choice made HHL" + fStat.toString());
+							}
+							break;
+
+						case 1:
+							if (fStat.getD() > 0) { /** This is the HH allocation in the local Fog **/
+
+								allocationMade = true;
+								choice = 1;
+								replicaCount = replicaCount + 1;
+								double reliability = fStat.getMedianReliability() / 100.0;
+								achievedReliability = (achievedReliability == 0) ? (reliability)
+										: (1 - ((1 - achievedReliability)
+												* (1 - reliability))); /** Multiply With median reliability **/
+								fogList.add(fStat.getNodeInfo());
+								fogSet.put(fogId, fStat.getNodeInfo());
+								choiceList.add("HHH");
+								fogsChosen.add(fStat.getNodeInfo());
+								reliabilityContribution.add(reliability);
+								LOGGER.info("Choice made HHH" + fStat.toString());
 							}
+							break;
+
+						default:
+							LOGGER.info("wrong Choice sent ");
+							break;
 
-						} /** End of the choice while loop **/
-						/**
-						 * Logic to break the loop
-						 */
-						if (fogIdRandomIndex.contains(fogId) == false) {
-							breakLoop++;
-							fogIdRandomIndex.add(fogId);
-							LOGGER.info("Added fogid to fogset to break the loop in LH");
 						}
 					}
 
-					fogIdRandomIndex.clear();
 					/**
-					 * Second while loop is to check for the low storage range for all Fogs, the 'a'
+					 * Second pick is to check for the low storage range for all Fogs, the 'a'
 					 * part of the square c d 'a' b
 					 * 
 					 **/
-					LOGGER.info("Random range is " + randomFogRange);
-					breakLoop = 0;
-					while (allocationMade == false && breakLoop < randomFogRange) {
-
-						LOGGER.info("HHL..2nd");
-
-						Short fogId = storageFogMap.get(StorageReliability.HH)
-								.get(new Random().nextInt(randomFogRange));
-
-						if (fogIdRandomIndex.contains(fogId) == false && fogSet.containsKey(
-								fogId) == false) { /** So that we don't choose a fog already chosen before **/
-
-							breakLoop++;
-							fogIdRandomIndex.add(fogId);
-							if (fogUpdateMap.containsKey(fogId) == false)
-								continue;
-
-							FogStats fStat = fogUpdateMap.get(fogId);
-
-							switch (subchoice) {
-							case 0:
-								if (fStat.getA() > 0) { /** This is the HL allocation in the local Fog **/
-
-									allocationMade = true;
-									choice = 1;
-									replicaCount = replicaCount + 1;
-									double reliability = fStat.getMinReliability() / 100.0;
-									achievedReliability = (achievedReliability == 0) ? (reliability)
-											: (1 - ((1 - achievedReliability)
-													* (1 - reliability))); /** Multiply With min reliability **/
-									fogList.add(fStat.getNodeInfo());
-									fogSet.put(fogId, fStat.getNodeInfo()); /**/
-									choiceList.add("HHL");
-									reliabilityContribution.add(reliability);
-									LOGGER.info("Choice made HHL" + fStat.toString());
-								}
-								break;
-
-							case 1:
-								if (fStat.getC() > 0) { /** This is the HH allocation in the local Fog **/
-
-									allocationMade = true;
-									choice = 1;
-									replicaCount = replicaCount + 1;
-									double reliability = fStat.getMedianReliability() / 100.0;
-									achievedReliability = (achievedReliability == 0) ? (reliability)
-											: (1 - ((1 - achievedReliability)
-													* (1 - reliability))); /** Multiply With median reliability **/
-									fogList.add(fStat.getNodeInfo());
-									fogSet.put(fogId, fStat.getNodeInfo());/**/
-									choiceList.add("HHH");
-									fogsChosen.add(fStat.getNodeInfo());
-									reliabilityContribution.add(reliability);
-									LOGGER.info("Choice made HHH" + fStat.toString());
-								}
-								break;
-
-							default:
-								LOGGER.info("Wrong subchoice sent");
-							}
+					LOGGER.info("HHL..2nd");
 
-						}
+					fogId = null;
+					if (allocationMade == false) {
+						fogId = pickFog(StorageReliability.HH, subchoice == 0 ? 'A' : 'C', storageFogMap, fogUpdateMap);
+					}
+					if (fogId != null) {
+						FogStats fStat = fogUpdateMap.get(fogId);
+
+						switch (subchoice) {
+						case 0:
+							if (fStat.getA() > 0) { /** This is the HL allocation in the local Fog **/
+
+								allocationMade = true;
+								choice = 1;
+								replicaCount = replicaCount + 1;
+								double reliability = fStat.getMinReliability() / 100.0;
+								achievedReliability = (achievedReliability == 0) ? (reliability)
+										: (1 - ((1 - achievedReliability)
+												* (1 - reliability))); /** Multiply With min reliability **/
+								fogList.add(fStat.getNodeInfo());
+								fogSet.put(fogId, fStat.getNodeInfo()); /**/
+								choiceList.add("HHL");
+								reliabilityContribution.add(reliability);
+								LOGGER.info("Choice made HHL" + fStat.toString());
+							}
+							break;
+
+						case 1:
+							if (fStat.getC() > 0) { /** This is the HH allocation in the local Fog **/
+
+								allocationMade = true;
+								choice = 1;
+								replicaCount = replicaCount + 1;
+								double reliability = fStat.getMedianReliability() / 100.0;
+								achievedReliability = (achievedReliability == 0) ? (reliability)
+										: (1 - ((1 - achievedReliability)
+												* (1 - reliability))); /** Multiply With median reliability **/
+								fogList.add(fStat.getNodeInfo());
+								fogSet.put(fogId, fStat.getNodeInfo());/**/
+								choiceList.add("HHH");
+								fogsChosen.add(fStat.getNodeInfo());
+								reliabilityContribution.add(reliability);
+								LOGGER.info("Choice made HHH" + fStat.toString());
+							}
+							break;
 
-						/**
-						 * Logic to break the loop
-						 */
-						if (fogIdRandomIndex.contains(fogId) == false) {
-							breakLoop++;
-							fogIdRandomIndex.add(fogId);
-							LOGGER.info("Added fogid to fogset to break the loop in LH");
+						default:
+							LOGGER.info("Wrong subchoice sent");
 						}
 					}
 
@@ -654,191 +609,127 @@ public class GlobalReplicaAllocation {
 						&& globalStorageMap.containsKey(StorageReliability.HL)
 						&& globalStorageMap.get(StorageReliability.HL) > 0) {
 
-					int randomFogRange = storageFogMap.get(StorageReliability.HL).size();
 					allocationMade = false;
 
-					/** This is to see that random numbers are not repeated **/
-					Set<Short> fogIdRandomIndex = new LinkedHashSet<Short>();
 					LOGGER.info("HL size is " + globalStorageMap.get(StorageReliability.HL));
-					LOGGER.info("Random range in HL is " + randomFogRange);
 
 					/**
-					 * First while loop is to check for he high storage range for all Fogs, the 'd'
+					 * First pick is to check for he high storage range for all Fogs, the 'd'
 					 * part of the square c 'd' a b
 					 * 
 					 **/
-					int breakLoop = 0;
-					while (allocationMade == false && breakLoop < randomFogRange) {
-
-						LOGGER.info("HLH... 1st");
-
-						Short fogId = storageFogMap.get(StorageReliability.HL)
-								.get(new Random().nextInt(randomFogRange));
-						LOGGER.info("Fog id is " + fogId);
-
-						if (fogIdRandomIndex.contains(fogId) == false && fogSet.containsKey(
-								fogId) == false) { /** So that we don't choose a Fog already chosen before **/
-
-							fogIdRandomIndex.add(fogId);
-							breakLoop++;
-							if (fogUpdateMap.containsKey(fogId) == false)
-								continue;
-							FogStats fStat = fogUpdateMap.get(fogId);
-
-							LOGGER.info("Fog id is " + fogId + " fogStats is " + fStat.toString());
-							LOGGER.info("Sub choice is " + subchoice);
-							LOGGER.info("D is " + fStat.getD());
-							LOGGER.info("B is " + fStat.getB());
-
-							switch (subchoice) {
-							case 0:
-								if (fStat.getD() > 0) { /** This is the LH in the Fog **/
-
-									allocationMade = true;
-									choice = 0;
-									replicaCount = replicaCount + 1;
-									double reliability = fStat.getMedianReliability() / 100.0;
-									achievedReliability = (achievedReliability == 0) ? (reliability)
-											: (1 - ((1 - achievedReliability)
-													* (1 - reliability)));/** Multiply With median reliability **/
-									fogList.add(fStat.getNodeInfo());
-									fogSet.put(fogId, fStat.getNodeInfo());
-									choiceList.add("HLH");
-									fogsChosen.add(fStat.getNodeInfo());
-									reliabilityContribution.add(reliability);
-									LOGGER.info("Choice made HLH" + fStat.toString());
-									LOGGER.info("Achieved reliability is " + achievedReliability);
-								}
-								break;
-
-							case 1:
-								if (fStat.getB() > 0) { /** This is the LL in the Fog **/
-
-									allocationMade = true;
-									choice = 0;
-									replicaCount = replicaCount + 1;
-									double reliability = fStat.getMinReliability() / 100.0;
-									achievedReliability = (achievedReliability == 0) ? (reliability)
-											: (1 - ((1 - achievedReliability)
-													* (1 - reliability)));/** Multiply With min reliability **/
-									fogList.add(fStat.getNodeInfo());
-									fogSet.put(fogId, fStat.getNodeInfo());
-									choiceList.add("HLL");
-									fogsChosen.add(fStat.getNodeInfo());
-									reliabilityContribution.add(reliability);
-									LOGGER.info("Choice made HLL" + fStat.toString());
-									LOGGER.info("Achieved reliability is " + achievedReliability);
-								}
-								break;
-
-							default:
-
-								break;
+					Short fogId = pickFog(StorageReliability.HL, subchoice == 0 ? 'D' : 'B', storageFogMap,
+							fogUpdateMap);
+					if (fogId != null) {
+						FogStats fStat = fogUpdateMap.get(fogId);
+
+						switch (subchoice) {
+						case 0:
+							if (fStat.getD() > 0) { /** This is the LH in the Fog **/
+
+								allocationMade = true;
+								choice = 0;
+								replicaCount = replicaCount + 1;
+								double reliability = fStat.getMedianReliability() / 100.0;
+								achievedReliability = (achievedReliability == 0) ? (reliability)
+										: (1 - ((1 - achievedReliability)
+												* (1 - reliability)));/** Multiply With median reliability **/
+								fogList.add(fStat.getNodeInfo());
+								fogSet.put(fogId, fStat.getNodeInfo());
+								choiceList.add("HLH");
+								fogsChosen.add(fStat.getNodeInfo());
+								reliabilityContribution.add(reliability);
+								LOGGER.info("Choice made HLH" + fStat.toString());
+								LOGGER.info("Achieved reliability is " + achievedReliability);
 							}
+							break;
+
+						case 1:
+							if (fStat.getB() > 0) { /** This is the LL in the Fog **/
+
+								allocationMade = true;
+								choice = 0;
+								replicaCount = replicaCount + 1;
+								double reliability = fStat.getMinReliability() / 100.0;
+								achievedReliability = (achievedReliability == 0) ? (reliability)
+										: (1 - ((1 - achievedReliability)
+												* (1 - reliability)));/** Multiply With min reliability **/
+								fogList.add(fStat.getNodeInfo());
+								fogSet.put(fogId, fStat.getNodeInfo());
+								choiceList.add("HLL");
+								fogsChosen.add(fStat.getNodeInfo());
+								reliabilityContribution.add(reliability);
+								LOGGER.info("Choice made HLL" + fStat.toString());
+								LOGGER.info("Achieved reliability is " + achievedReliability);
+							}
+							break;
 
-						}
+						default:
 
-						/**
-						 * Logic to break the loop
-						 */
-						if (fogIdRandomIndex.contains(fogId) == false) {
-							breakLoop++;
-							fogIdRandomIndex.add(fogId);
-							LOGGER.info("Added fogid to fogset to break the loop in LH");
+							break;
 						}
 					}
 
-					fogIdRandomIndex.clear();
 					/**
-					 * Second while loop is to check for the low storage range for all Fogs, the 'c'
+					 * Second pick is to check for the low storage range for all Fogs, the 'c'
 					 * part of the square 'c' d a b
 					 * 
 					 **/
-					breakLoop = 0;
-					LOGGER.info("Random Fog Range " + randomFogRange);
-					while (allocationMade == false && breakLoop < randomFogRange) { /**
-																					 * the second condition is to check
-																					 * that we've covered all options
-																					 **/
-
-						LOGGER.info("HLH...2nd");
-
-						Short fogId = storageFogMap.get(StorageReliability.HL)
-								.get(new Random().nextInt(randomFogRange));
-
-						if (fogIdRandomIndex.contains(fogId) == false && fogSet.containsKey(
-								fogId) == false) {/** So that we don't choose a Fog already chosen before **/
-
-							breakLoop++;
-							if (fogUpdateMap.containsKey(fogId) == false)
-								continue;
-
-							FogStats fStat = fogUpdateMap.get(fogId);
-
-							LOGGER.info("Fog id is " + fogId + " fogStats is " + fStat.toString());
-							LOGGER.info("Sub choice is " + subchoice);
-							LOGGER.info("C is " + fStat.getC());
-							LOGGER.info("A is " + fStat.getA());
-
-							switch (subchoice) {
-
-							case 0:
-								if (fStat.getC() > 0) { /** This is the LH in the Fog **/
-
-									fogIdRandomIndex.add(fogId);
-									allocationMade = true;
-									choice = 0;
-									replicaCount = replicaCount + 1;
-									double reliability = fStat.getMedianReliability() / 100.0;
-									achievedReliability = (achievedReliability == 0) ? (reliability)
-											: (1 - ((1 - achievedReliability)
-													* (1 - reliability)));/** Multiply With median reliability **/
-									fogList.add(fStat.getNodeInfo());
-									fogSet.put(fogId, fStat.getNodeInfo());
-									choiceList.add("HLH");
-									fogsChosen.add(fStat.getNodeInfo());
-									reliabilityContribution.add(reliability);
-									LOGGER.info("Choice made HLH" + fStat.toString());
-									LOGGER.info("Achieved reliability is " + achievedReliability);
-								}
-								break;
-
-							case 1:
-								if (fStat.getA() > 0) { /** This is the LL in the Fog **/
-
-									fogIdRandomIndex.add(fogId);
-									allocationMade = true;
-									choice = 0;
-									replicaCount = replicaCount + 1;
-									double reliability = fStat.getMinReliability() / 100.0;
-									achievedReliability = (achievedReliability == 0) ? (reliability)
-											: (1 - ((1 - achievedReliability)
-													* (1 - reliability)));/** Multiply With min reliability **/
-									fogList.add(fStat.getNodeInfo());
-									fogSet.put(fogId, fStat.getNodeInfo());
-									choiceList.add("HLL");
-									fogsChosen.add(fStat.getNodeInfo());
-									reliabilityContribution.add(reliability);
-									LOGGER.info("Choice made HLL" + fStat.toString());
-									LOGGER.info("Achieved reliability is " + achievedReliability);
-								}
-								break;
-
-							default:
-								LOGGER.info("wrong choice sent ");
-
-								break;
+					LOGGER.info("HLH...2nd");
+
+					fogId = null;
+					if (allocationMade == false) {
+						fogId = pickFog(StorageReliability.HL, subchoice == 0 ? 'C' : 'A', storageFogMap, fogUpdateMap);
+					}
+					if (fogId != null) {
+						FogStats fStat = fogUpdateMap.get(fogId);
+
+						switch (subchoice) {
+
+						case 0:
+							if (fStat.getC() > 0) { /** This is the LH in the Fog **/
+
+								allocationMade = true;
+								choice = 0;
+								replicaCount = replicaCount + 1;
+								double reliability = fStat.getMedianReliability() / 100.0;
+								achievedReliability = (achievedReliability == 0) ? (reliability)
+										: (1 - ((1 - achievedReliability)
+												* (1 - reliability)));/** Multiply With median reliability **/
+								fogList.add(fStat.getNodeInfo());
+								fogSet.put(fogId, fStat.getNodeInfo());
+								choiceList.add("HLH");
+								fogsChosen.add(fStat.getNodeInfo());
+								reliabilityContribution.add(reliability);
+								LOGGER.info("Choice made HLH" + fStat.toString());
+								LOGGER.info("Achieved reliability is " + achievedReliability);
 							}
+							break;
+
+						case 1:
+							if (fStat.getA() > 0) { /** This is the LL in the Fog **/
+
+								allocationMade = true;
+								choice = 0;
+								replicaCount = replicaCount + 1;
+								double reliability = fStat.getMinReliability() / 100.0;
+								achievedReliability = (achievedReliability == 0) ? (reliability)
+										: (1 - ((1 - achievedReliability)
+												* (1 - reliability)));/** Multiply With min reliability **/
+								fogList.add(fStat.getNodeInfo());
+								fogSet.put(fogId, fStat.getNodeInfo());
+								choiceList.add("HLL");
+								fogsChosen.add(fStat.getNodeInfo());
+								reliabilityContribution.add(reliability);
+								LOGGER.info("Choice made HLL" + fStat.toString());
+								LOGGER.info("Achieved reliability is " + achievedReliability);
+							}
+							break;
 
-						}
+						default:
+							LOGGER.info("wrong choice sent ");
 
-						/**
-						 * Logic to break the loop
-						 */
-						if (fogIdRandomIndex.contains(fogId) == false) {
-							breakLoop++;
-							fogIdRandomIndex.add(fogId);
-							LOGGER.info("Added fogid to fogset to break the loop in LH");
+							break;
 						}
 					}
 
@@ -904,171 +795,121 @@ public class GlobalReplicaAllocation {
 						&& globalStorageMap.containsKey(StorageReliability.LH)
 						&& globalStorageMap.get(StorageReliability.LH) > 0) {
 
-					int randomFogRange = storageFogMap.get(StorageReliability.LH)
-							.size(); /** Set of Fogs Ids in the HH region **/
 					allocationMade = false; /** Reset the allocation **/
 
-					/** This is to see that random numbers are not repeated **/
-					Set<Short> fogIdRandomIndex = new LinkedHashSet<Short>();
 
 					/**
-					 * First while loop is to check for he high storage range for all Fogs, the 'b'
+					 * First pick is to check for he high storage range for all Fogs, the 'b'
 					 * part of the square c d a 'b'
 					 * 
 					 **/
-					int breakLoop = 0;
-					while (allocationMade == false && breakLoop < randomFogRange) {
-
-						LOGGER.info("LHL..1st");
-
-						Short fogId = storageFogMap.get(StorageReliability.LH)
-								.get(new Random().nextInt(randomFogRange));
-
-						if (fogIdRandomIndex.contains(fogId) == false && fogSet
-								.containsKey(fogId) == false) { /** So that we don't choose a fog already chosen **/
-
-							LOGGER.info("2nd half choice test Fog is " + fogId);
-							breakLoop++;
-							fogIdRandomIndex.add(fogId); /** To make sure this value is not used again **/
-
-							if (fogUpdateMap.containsKey(fogId) == false)
-								continue;
-
-							FogStats fStat = fogUpdateMap.get(fogId);
-							LOGGER.info("This executes if fogId is present " + fogId);
-
-							switch (subchoice) {
-							case 0:
-								if (fStat.getB() > 0) { /** This is the HL allocation in the local Fog **/
-
-									allocationMade = true;
-									choice = 1;
-									replicaCount = replicaCount + 1;
-									double reliability = fStat.getMinReliability() / 100.0;
-									achievedReliability = (achievedReliability == 0) ? (reliability)
-											: (1 - ((1 - achievedReliability)
-													* (1 - reliability))); /** Multiply With min reliability **/
-									fogList.add(fStat.getNodeInfo());
-									fogSet.put(fogId, fStat.getNodeInfo());
-									choiceList.add("LHL");
-									fogsChosen.add(fStat.getNodeInfo());
-									reliabilityContribution.add(reliability);
-									LOGGER.info("Choice made LHL" + fStat.toString());
-								}
-								break;
-
-							case 1:
-								if (fStat.getD() > 0) { /** This is the HH allocation in the local Fog **/
-
-									allocationMade = true;
-									choice = 1;
-									replicaCount = replicaCount + 1;
-									double reliability = fStat.getMedianReliability() / 100.0;
-									achievedReliability = (achievedReliability == 0) ? (reliability)
-											: (1 - ((1 - achievedReliability)
-													* (1 - reliability))); /** Multiply With median reliability **/
-									fogList.add(fStat.getNodeInfo());
-									fogSet.put(fogId, fStat.getNodeInfo());
-									choiceList.add("LHH");
-									fogsChosen.add(fStat.getNodeInfo());
-									reliabilityContribution.add(reliability);
-									LOGGER.info("Choice made LHH" + fStat.toString());
-								}
-								break;
-
-							default:
-								LOGGER.info("wrong Choice sent ");
-								break;
-
+					LOGGER.info("LHL..1st");
+
+					Short fogId = pickFog(StorageReliability.LH, subchoice == 0 ? 'B' : 'D', storageFogMap,
+							fogUpdateMap);
+					if (fogId != null) {
+						FogStats fStat = fogUpdateMap.get(fogId);
+
+						switch (subchoice) {
+						case 0:
+							if (fStat.getB() > 0) { /** This is the HL allocation in the local Fog **/
+
+								allocationMade = true;
+								choice = 1;
+								replicaCount = replicaCount + 1;
+								double reliability = fStat.getMinReliability() / 100.0;
+								achievedReliability = (achievedReliability == 0) ? (reliability)
+										: (1 - ((1 - achievedReliability)
+												* (1 - reliability))); /** Multiply With min reliability **/
+								fogList.add(fStat.getNodeInfo());
+								fogSet.put(fogId, fStat.getNodeInfo());
+								choiceList.add("LHL");
+								fogsChosen.add(fStat.getNodeInfo());
+								reliabilityContribution.add(reliability);
+								LOGGER.info("Choice made LHL" + fStat.toString());
+							}
+							break;
+
+						case 1:
+							if (fStat.getD() > 0) { /** This is the HH allocation in the local Fog **/
+
+								allocationMade = true;
+								choice = 1;
+								replicaCount = replicaCount + 1;
+								double reliability = fStat.getMedianReliability() / 100.0;
+								achievedReliability = (achievedReliability == 0) ? (reliability)
+										: (1 - ((1 - achievedReliability)
+												* (1 - reliability))); /** Multiply With median reliability **/
+								fogList.add(fStat.getNodeInfo());
+								fogSet.put(fogId, fStat.getNodeInfo());
+								choiceList.add("LHH");
+								fogsChosen.add(fStat.getNodeInfo());
+								reliabilityContribution.add(reliability);
+								LOGGER.info("Choice made LHH" + fStat.toString());
 							}
+							break;
+
+						default:
+							LOGGER.info("wrong Choice sent ");
+							break;
 
-						} /** End of the choice while loop **/
-						/**
-						 * Logic to break the loop
-						 */
-						if (fogIdRandomIndex.contains(fogId) == false) {
-							breakLoop++;
-							fogIdRandomIndex.add(fogId);
-							LOGGER.info("Added fogid to fogset to break the loop in LH");
 						}
 					}
 
-					fogIdRandomIndex.clear();
 					/**
-					 * Second while loop is to check for the low storage range for all Fogs, the 'a'
+					 * Second pick is to check for the low storage range for all Fogs, the 'a'
 					 * part of the square c d 'a' b
 					 * 
 					 **/
-					LOGGER.info("Random range is " + randomFogRange);
-					breakLoop = 0;
-					while (allocationMade == false && breakLoop < randomFogRange) {
-
-						LOGGER.info("LHL..2nd");
-
-						Short fogId = storageFogMap.get(StorageReliability.LH)
-								.get(new Random().nextInt(randomFogRange));
-
-						if (fogIdRandomIndex.contains(fogId) == false && fogSet.containsKey(
-								fogId) == false) { /** So that we don't choose a fog already chosen before **/
-
-							breakLoop++;
-							fogIdRandomIndex.add(fogId);
-							if (fogUpdateMap.containsKey(fogId) == false)
-								continue;
-
-							FogStats fStat = fogUpdateMap.get(fogId);
-
-							switch (subchoice) {
-							case 0:
-								if (fStat.getA() > 0) { /** This is the HL allocation in the local Fog **/
-
-									allocationMade = true;
-									choice = 1;
-									replicaCount = replicaCount + 1;
-									double reliability = fStat.getMinReliability() / 100.0;
-									achievedReliability = (achievedReliability == 0) ? (reliability)
-											: (1 - ((1 - achievedReliability)
-													* (1 - reliability))); /** Multiply With min reliability **/
-									fogList.add(fStat.getNodeInfo());
-									fogSet.put(fogId, fStat.getNodeInfo()); /**/
-									choiceList.add("LHL");
-									reliabilityContribution.add(reliability);
-									LOGGER.info("Choice made HHL" + fStat.toString());
-								}
-								break;
-
-							case 1:
-								if (fStat.getC() > 0) { /** This is the HH allocation in the local Fog **/
-
-									allocationMade = true;
-									choice = 1;
-									replicaCount = replicaCount + 1;
-									double reliability = fStat.getMedianReliability() / 100.0;
-									achievedReliability = (achievedReliability == 0) ? (reliability)
-											: (1 - ((1 - achievedReliability)
-													* (1 - reliability))); /** Multiply With median reliability **/
-									fogList.add(fStat.getNodeInfo());
-									fogSet.put(fogId, fStat.getNodeInfo());/**/
-									choiceList.add("LHH");
-									fogsChosen.add(fStat.getNodeInfo());
-									reliabilityContribution.add(reliability);
-									LOGGER.info("Choice made LHH" + fStat.toString());
-								}
-								break;
-
-							default:
-								LOGGER.info("Wrong subchoice sent");
-							}
+					LOGGER.info("LHL..2nd");
 
-						}
+					fogId = null;
+					if (allocationMade == false) {
+						fogId = pickFog(StorageReliability.LH, subchoice == 0 ? 'A' : 'C', storageFogMap, fogUpdateMap);
+					}
+					if (fogId != null) {
+						FogStats fStat = fogUpdateMap.get(fogId);
+
+						switch (subchoice) {
+						case 0:
+							if (fStat.getA() > 0) { /** This is the HL allocation in the local Fog **/
+
+								allocationMade = true;
+								choice = 1;
+								replicaCount = replicaCount + 1;
+								double reliability = fStat.getMinReliability() / 100.0;
+								achievedReliability = (achievedReliability == 0) ? (reliability)
+										: (1 - ((1 - achievedReliability)
+												* (1 - reliability))); /** Multiply With min reliability **/
+								fogList.add(fStat.getNodeInfo());
+								fogSet.put(fogId, fStat.getNodeInfo()); /**/
+								choiceList.add("LHL");
+								reliabilityContribution.add(reliability);
+								LOGGER.info("Choice made HHL" + fStat.toString());
+							}
+							break;
+
+						case 1:
+							if (fStat.getC() > 0) { /** This is the HH allocation in the local Fog **/
+
+								allocationMade = true;
+								choice = 1;
+								replicaCount = replicaCount + 1;
+								double reliability = fStat.getMedianReliability() / 100.0;
+								achievedReliability = (achievedReliability == 0) ? (reliability)
+										: (1 - ((1 - achievedReliability)
+												* (1 - reliability))); /** Multiply With median reliability **/
+								fogList.add(fStat.getNodeInfo());
+								fogSet.put(fogId, fStat.getNodeInfo());/**/
+								choiceList.add("LHH");
+								fogsChosen.add(fStat.getNodeInfo());
+								reliabilityContribution.add(reliability);
+								LOGGER.info("Choice made LHH" + fStat.toString());
+							}
+							break;
 
-						/**
-						 * Logic to break the loop
-						 */
-						if (fogIdRandomIndex.contains(fogId) == false) {
-							breakLoop++;
-							fogIdRandomIndex.add(fogId);
-							LOGGER.info("Added fogid to fogset to break the loop in LH");
+						default:
+							LOGGER.info("Wrong subchoice sent");
 						}
 					}
 
@@ -1099,191 +940,127 @@ public class GlobalReplicaAllocation {
 						&& globalStorageMap.containsKey(StorageReliability.LL)
 						&& globalStorageMap.get(StorageReliability.LL) > 0) {
 
-					int randomFogRange = storageFogMap.get(StorageReliability.LL).size();
 					allocationMade = false;
 
-					/** This is to see that random numbers are not repeated **/
-					Set<Short> fogIdRandomIndex = new LinkedHashSet<Short>();
 					LOGGER.info("LL size is " + globalStorageMap.get(StorageReliability.LL));
-					LOGGER.info("Random range in LL is " + randomFogRange);
 
 					/**
-					 * First while loop is to check for he high storage range for all Fogs, the 'd'
+					 * First pick is to check for he high storage range for all Fogs, the 'd'
 					 * part of the square c 'd' a b
 					 * 
 					 **/
-					int breakLoop = 0;
-					while (allocationMade == false && breakLoop < randomFogRange) {
-
-						LOGGER.info("LLH... 1st");
-
-						Short fogId = storageFogMap.get(StorageReliability.LL)
-								.get(new Random().nextInt(randomFogRange));
-						LOGGER.info("Fog id is " + fogId);
-
-						if (fogIdRandomIndex.contains(fogId) == false && fogSet.containsKey(
-								fogId) == false) { /** So that we don't choose a Fog already chosen before **/
-
-							fogIdRandomIndex.add(fogId);
-							breakLoop++;
-							if (fogUpdateMap.containsKey(fogId) == false)
-								continue;
-							FogStats fStat = fogUpdateMap.get(fogId);
-
-							LOGGER.info("Fog id is " + fogId + " fogStats is " + fStat.toString());
-							LOGGER.info("Sub choice is " + subchoice);
-							LOGGER.info("D is " + fStat.getD());
-							LOGGER.info("B is " + fStat.getB());
-
-							switch (subchoice) {
-							case 0:
-								if (fStat.getD() > 0) { /** This is the LH in the Fog **/
-
-									allocationMade = true;
-									choice = 0;
-									replicaCount = replicaCount + 1;
-									double reliability = fStat.getMedianReliability() / 100.0;
-									achievedReliability = (achievedReliability == 0) ? (reliability)
-											: (1 - ((1 - achievedReliability)
-													* (1 - reliability)));/** Multiply With median reliability **/
-									fogList.add(fStat.getNodeInfo());
-									fogSet.put(fogId, fStat.getNodeInfo());
-									choiceList.add("LLH");
-									fogsChosen.add(fStat.getNodeInfo());
-									reliabilityContribution.add(reliability);
-									LOGGER.info("Choice made LLH" + fStat.toString());
-									LOGGER.info("Achieved reliability is " + achievedReliability);
-								}
-								break;
-
-							case 1:
-								if (fStat.getB() > 0) { /** This is the LL in the Fog **/
-
-									allocationMade = true;
-									choice = 0;
-									replicaCount = replicaCount + 1;
-									double reliability = fStat.getMinReliability() / 100.0;
-									achievedReliability = (achievedReliability == 0) ? (reliability)
-											: (1 - ((1 - achievedReliability)
-													* (1 - reliability)));/** Multiply With min reliability **/
-									fogList.add(fStat.getNodeInfo());
-									fogSet.put(fogId, fStat.getNodeInfo());
-									choiceList.add("LLL");
-									fogsChosen.add(fStat.getNodeInfo());
-									reliabilityContribution.add(reliability);
-									LOGGER.info("Choice made LLL" + fStat.toString());
-									LOGGER.info("Achieved reliability is " + achievedReliability);
-								}
-								break;
-
-							default:
-
-								break;
+					Short fogId = pickFog(StorageReliability.LL, subchoice == 0 ? 'D' : 'B', storageFogMap,
+							fogUpdateMap);
+					if (fogId != null) {
+						FogStats fStat = fogUpdateMap.get(fogId);
+
+						switch (subchoice) {
+						case 0:
+							if (fStat.getD() > 0) { /** This is the LH in the Fog **/
+
+								allocationMade = true;
+								choice = 0;
+								replicaCount = replicaCount + 1;
+								double reliability = fStat.getMedianReliability() / 100.0;
+								achievedReliability = (achievedReliability == 0) ? (reliability)
+										: (1 - ((1 - achievedReliability)
+												* (1 - reliability)));/** Multiply With median reliability **/
+								fogList.add(fStat.getNodeInfo());
+								fogSet.put(fogId, fStat.getNodeInfo());
+								choiceList.add("LLH");
+								fogsChosen.add(fStat.getNodeInfo());
+								reliabilityContribution.add(reliability);
+								LOGGER.info("Choice made LLH" + fStat.toString());
+								LOGGER.info("Achieved reliability is " + achievedReliability);
 							}
+							break;
+
+						case 1:
+							if (fStat.getB() > 0) { /** This is the LL in the Fog **/
+
+								allocationMade = true;
+								choice = 0;
+								replicaCount = replicaCount + 1;
+								double reliability = fStat.getMinReliability() / 100.0;
+								achievedReliability = (achievedReliability == 0) ? (reliability)
+										: (1 - ((1 - achievedReliability)
+												* (1 - reliability)));/** Multiply With min reliability **/
+								fogList.add(fStat.getNodeInfo());
+								fogSet.put(fogId, fStat.getNodeInfo());
+								choiceList.add("LLL");
+								fogsChosen.add(fStat.getNodeInfo());
+								reliabilityContribution.add(reliability);
+								LOGGER.info("Choice made LLL" + fStat.toString());
+								LOGGER.info("Achieved reliability is " + achievedReliability);
+							}
+							break;
 
-						}
+						default:
 
-						/**
-						 * Logic to break the loop
-						 */
-						if (fogIdRandomIndex.contains(fogId) == false) {
-							breakLoop++;
-							fogIdRandomIndex.add(fogId);
-							LOGGER.info("Added fogid to fogset to break the loop in LH");
+							break;
 						}
 					}
 
-					fogIdRandomIndex.clear();
 					/**
-					 * Second while loop is to check for the low storage range for all Fogs, the 'c'
+					 * Second pick is to check for the low storage range for all Fogs, the 'c'
 					 * part of the square 'c' d a b
 					 * 
 					 **/
-					breakLoop = 0;
-					LOGGER.info("Random Fog Range " + randomFogRange);
-					while (allocationMade == false && breakLoop < randomFogRange) { /**
-																					 * the second condition is to check
-																					 * that we've covered all options
-																					 **/
-
-						LOGGER.info("LLH...2nd");
-
-						Short fogId = storageFogMap.get(StorageReliability.LL)
-								.get(new Random().nextInt(randomFogRange));
-
-						if (fogIdRandomIndex.contains(fogId) == false && fogSet.containsKey(
-								fogId) == false) {/** So that we don't choose a Fog already chosen before **/
-
-							breakLoop++;
-							if (fogUpdateMap.containsKey(fogId) == false)
-								continue;
-
-							FogStats fStat = fogUpdateMap.get(fogId);
-
-							LOGGER.info("Fog id is " + fogId + " fogStats is " + fStat.toString());
-							LOGGER.info("Sub choice is " + subchoice);
-							LOGGER.info("C is " + fStat.getC());
-							LOGGER.info("A is " + fStat.getA());
-
-							switch (subchoice) {
-
-							case 0:
-								if (fStat.getC() > 0) { /** This is the LH in the Fog **/
-
-									fogIdRandomIndex.add(fogId);
-									allocationMade = true;
-									choice = 0;
-									replicaCount = replicaCount + 1;
-									double reliability = fStat.getMedianReliability() / 100.0;
-									achievedReliability = (achievedReliability == 0) ? (reliability)
-											: (1 - ((1 - achievedReliability)
-													* (1 - reliability)));/** Multiply With median reliability **/
-									fogList.add(fStat.getNodeInfo());
-									fogSet.put(fogId, fStat.getNodeInfo());
-									choiceList.add("LLH");
-									fogsChosen.add(fStat.getNodeInfo());
-									reliabilityContribution.add(reliability);
-									LOGGER.info("Choice made LLH" + fStat.toString());
-									LOGGER.info("Achieved reliability is " + achievedReliability);
-								}
-								break;
-
-							case 1:
-								if (fStat.getA() > 0) { /** This is the LL in the Fog **/
-
-									fogIdRandomIndex.add(fogId);
-									allocationMade = true;
-									choice = 0;
-									replicaCount = replicaCount + 1;
-									double reliability = fStat.getMinReliability() / 100.0;
-									achievedReliability = (achievedReliability == 0) ? (reliability)
-											: (1 - ((1 - achievedReliability)
-													* (1 - reliability)));/** Multiply With min reliability **/
-									fogList.add(fStat.getNodeInfo());
-									fogSet.put(fogId, fStat.getNodeInfo());
-									choiceList.add("LLL");
-									fogsChosen.add(fStat.getNodeInfo());
-									reliabilityContribution.add(reliability);
-									LOGGER.info("Choice made LLL" + fStat.toString());
-									LOGGER.info("Achieved reliability is " + achievedReliability);
-								}
-								break;
-
-							default:
-								LOGGER.info("wrong choice sent ");
-
-								break;
+					LOGGER.info("LLH...2nd");
+
+					fogId = null;
+					if (allocationMade == false) {
+						fogId = pickFog(StorageReliability.LL, subchoice == 0 ? 'C' : 'A', storageFogMap, fogUpdateMap);
+					}
+					if (fogId != null) {
+						FogStats fStat = fogUpdateMap.get(fogId);
+
+						switch (subchoice) {
+
+						case 0:
+							if (fStat.getC() > 0) { /** This is the LH in the Fog **/
+
+								allocationMade = true;
+								choice = 0;
+								replicaCount = replicaCount + 1;
+								double reliability = fStat.getMedianReliability() / 100.0;
+								achievedReliability = (achievedReliability == 0) ? (reliability)
+										: (1 - ((1 - achievedReliability)
+												* (1 - reliability)));/** Multiply With median reliability **/
+								fogList.add(fStat.getNodeInfo());
+								fogSet.put(fogId, fStat.getNodeInfo());
+								choiceList.add("LLH");
+								fogsChosen.add(fStat.getNodeInfo());
+								reliabilityContribution.add(reliability);
+								LOGGER.info("Choice made LLH" + fStat.toString());
+								LOGGER.info("Achieved reliability is " + achievedReliability);
 							}
+							break;
+
+						case 1:
+							if (fStat.getA() > 0) { /** This is the LL in the Fog **/
+
+								allocationMade = true;
+								choice = 0;
+								replicaCount = replicaCount + 1;
+								double reliability = fStat.getMinReliability() / 100.0;
+								achievedReliability = (achievedReliability == 0) ? (reliability)
+										: (1 - ((1 - achievedReliability)
+												* (1 - reliability)));/** Multiply With min reliability **/
+								fogList.add(fStat.getNodeInfo());
+								fogSet.put(fogId, fStat.getNodeInfo());
+								choiceList.add("LLL");
+								fogsChosen.add(fStat.getNodeInfo());
+								reliabilityContribution.add(reliability);
+								LOGGER.info("Choice made LLL" + fStat.toString());
+								LOGGER.info("Achieved reliability is " + achievedReliability);
+							}
+							break;
 
-						}
+						default:
+							LOGGER.info("wrong choice sent ");
 
-						/**
-						 * Logic to break the loop
-						 */
-						if (fogIdRandomIndex.contains(fogId) == false) {
-							breakLoop++;
-							fogIdRandomIndex.add(fogId);
-							LOGGER.info("Added fogid to fogset to break the loop in LH");
+							break;
 						}
 					}
 
@@ -1314,4 +1091,150 @@ public class GlobalReplicaAllocation {
 
 	}
 
+	/**
+	 * Picks a Fog of the quadrant not chosen before, with probability proportional
+	 * to the edges it has in the given part (a, b, c or d) of its own square. Fogs
+	 * with no such edges or with no stats are never picked. The sampler for a
+	 * quadrant and part is built once for this placement and a picked Fog is
+	 * removed from it, so a pick costs O(log n) however many Fogs were used up.
+	 *
+	 * @return the Fog id or null if no Fog is left to pick
+	 */
+	private Short pickFog(StorageReliability quadrant, char part, Map<StorageReliability, List<Short>> storageFogMap,
+			Map<Short, FogStats> fogUpdateMap) {
+		String key = quadrant.name() + part;
+		WeightedSampler sampler = samplers.get(key);
+		List<Short> fogIds = samplerFogs.get(key);
+		if (sampler == null) {
+			fogIds = storageFogMap.get(quadrant);
+			if (fogIds == null) {
+				return null;
+			}
+			fogIds = new ArrayList<Short>(fogIds);
+			long[] weights = new long[fogIds.size()];
+			for (int i = 0; i < weights.length; i++) {
+				FogStats fStat = fogUpdateMap.get(fogIds.get(i));
+				if (fStat != null && fogSet.containsKey(fogIds.get(i)) == false) {
+					weights[i] = getPart(fStat, part);
+				}
+			}
+			sampler = new WeightedSampler(weights);
+			samplers.put(key, sampler);
+			samplerFogs.put(key, fogIds);
+		}
+		Random random = ThreadLocalRandom.current();
+		int index;
+		while ((index = sampler.draw(random)) >= 0) {
+			sampler.remove(index);
+			Short fogId = fogIds.get(index);
+			/** The Fog may have been chosen through the sampler of another part **/
+			if (fogSet.containsKey(fogId) == false) {
+				LOGGER.info("choice test Fog is " + fogId);
+				return fogId;
+			}
+		}
+		return null;
+	}
+
+	private static int getPart(FogStats fStat, char part) {
+		switch (part) {
+		case 'A':
+			return fStat.getA();
+		case 'B':
+			return fStat.getB();
+		case 'C':
+			return fStat.getC();
+		default:
+			return fStat.getD();
+		}
+	}
+
+	/**
+	 * The placements computed for a write are reused for later writes asking for
+	 * the same reliability and replica counts till the global stats change. For
+	 * every such request a pool of a few placements is kept, each found by a
+	 * separate randomized run of identifyReplicas so that the writes are still
+	 * spread across the Fogs. Once the pool is full a write just picks one of
+	 * them at random. The pools are dropped whenever the global distributions of
+	 * the Fogs and edges are recomputed.
+	 */
+	public static class PlanCache {
+
+		private final int poolSize;
+		private final ConcurrentHashMap<String, List<GlobalReplicaAllocation>> pools = new ConcurrentHashMap<>();
+		private final Random random = new Random();
+
+		/**
+		 * 
+		 * @param poolSize placements kept per request, 0 computes every placement
+		 */
+		public PlanCache(int poolSize) {
+			this.poolSize = poolSize;
+		}
+
+		/**
+		 * Returns a placement with its choice list prepared, the returned instance
+		 * is shared and must not be modified
+		 * 
+		 * @param localReliability the reliability of the local replica already
+		 *                         chosen for the write, 0 if none
+		 */
+		public GlobalReplicaAllocation get(Map<StorageReliability, Short> globalStorageMap,
+				Map<StorageReliability, List<Short>> storageFogMap, Map<Short, FogStats> fogUpdateMap,
+				double localReliability, double expectedReliability, int minReplica, int maxReplica) {
+			if (poolSize <= 0) {
+				return compute(globalStorageMap, storageFogMap, fogUpdateMap, localReliability, expectedReliability,
+						minReplica, maxReplica);
+			}
+			String key = expectedReliability + ":" + minReplica + ":" + maxReplica + ":" + localReliability;
+			List<GlobalReplicaAllocation> pool = pools.get(key);
+			if (pool == null) {
+				pool = new CopyOnWriteArrayList<>();
+				List<GlobalReplicaAllocation> existing = pools.putIfAbsent(key, pool);
+				if (existing != null) {
+					pool = existing;
+				}
+			}
+			if (pool.size() >= poolSize) {
+				GlobalReplicaAllocation plan = pool.get(random.nextInt(pool.size()));
+				if (isLive(plan, fogUpdateMap)) {
+					return plan;
+				}
+				// a Fog of the placement is no longer live, computed again below
+				pool.remove(plan);
+			}
+			GlobalReplicaAllocation plan = compute(globalStorageMap, storageFogMap, fogUpdateMap, localReliability,
+					expectedReliability, minReplica, maxReplica);
+			if (pool.size() < poolSize) {
+				pool.add(plan);
+			}
+			return plan;
+		}
+
+		public void invalidate() {
+			pools.clear();
+		}
+
+		private static GlobalReplicaAllocation compute(Map<StorageReliability, Short> globalStorageMap,
+				Map<StorageReliability, List<Short>> storageFogMap, Map<Short, FogStats> fogUpdateMap,
+				double localReliability, double expectedReliability, int minReplica, int maxReplica) {
+			GlobalReplicaAllocation replicaAlloc = new GlobalReplicaAllocation();
+			replicaAlloc.setReliability(localReliability);
+			replicaAlloc.identifyReplicas(globalStorageMap, storageFogMap, fogUpdateMap, expectedReliability,
+					minReplica, maxReplica);
+			replicaAlloc.prepareChoiceList();
+			return replicaAlloc;
+		}
+
+		// the map passed has only the Fogs not suspected to be down
+		private static boolean isLive(GlobalReplicaAllocation plan, Map<Short, FogStats> fogUpdateMap) {
+			for (NodeInfo node : plan.getFogsChosen()) {
+				if (!fogUpdateMap.containsKey(node.getNodeID())) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
 }
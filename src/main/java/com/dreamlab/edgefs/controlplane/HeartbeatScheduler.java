@@ -0,0 +1,184 @@
+package com.dreamlab.edgefs.controlplane;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the periodic tasks of a Fog (heartbeats to buddies and subscribers,
+ * local and global stats calculation) and sends the heartbeats to all the peers
+ * concurrently. A task is run at a fixed rate, i.e. the time taken by a run
+ * doesn't delay the following runs, with a random jitter added to every run so
+ * that the Fogs of a cluster don't all send at the same instant. The sends to
+ * peers are done in parallel with a timeout per peer so that an unreachable
+ * peer doesn't delay the heartbeats to the others. The timeout of a call starts
+ * when it runs, so the calls waiting for a thread when there are more peers
+ * than threads are not cut short.
+ */
+public class HeartbeatScheduler {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(HeartbeatScheduler.class);
+
+	private ScheduledExecutorService scheduler;
+	private ExecutorService dispatcher;
+	// socket connect and read timeout in milliseconds used for every peer
+	private int peerTimeout;
+	// maximum random delay in milliseconds added to a run
+	private long jitter;
+
+	public HeartbeatScheduler(int schedulerThreads, int dispatchThreads, int peerTimeout, long jitter) {
+		super();
+		this.scheduler = Executors.newScheduledThreadPool(schedulerThreads);
+		this.dispatcher = Executors.newFixedThreadPool(dispatchThreads);
+		this.peerTimeout = peerTimeout;
+		this.jitter = jitter;
+	}
+
+	public int getPeerTimeout() {
+		return peerTimeout;
+	}
+
+	public long getJitter() {
+		return jitter;
+	}
+
+	/**
+	 * Runs the task every period milliseconds, the first run being after one
+	 * period. The runs are on a fixed schedule from the start and the jitter only
+	 * delays an individual run
+	 */
+	public void scheduleAtFixedRate(final String name, final Runnable task, final long period) {
+		final long start = System.currentTimeMillis();
+		scheduler.schedule(new JitteredRun(name, task, period, start + period), nextDelay(start + period),
+				TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Calls every peer in parallel and returns once all the calls are done or
+	 * their time is up. A call failing for a peer is only logged
+	 *
+	 * @param action what the call does for the logs, e.g. "send heartbeat to"
+	 * @param peers  may be a live view, it is copied before the calls are made
+	 */
+	public <T> void dispatch(final String action, Collection<T> peers, final PeerCall<T> call) {
+		// the starts are indexed by the position of the peer so the peers can't
+		// change while they are iterated
+		List<T> snapshot = new ArrayList<>(peers);
+		List<Callable<Void>> calls = new ArrayList<>();
+		// the time each call started at, 0 while it waits for a thread
+		final AtomicLongArray starts = new AtomicLongArray(snapshot.size());
+		for (final T peer : snapshot) {
+			final int index = calls.size();
+			calls.add(new Callable<Void>() {
+
+				@Override
+				public Void call() throws Exception {
+					starts.set(index, System.currentTimeMillis());
+					try {
+						call.call(peer);
+					} catch (Exception e) {
+						LOGGER.error("Unable to " + action + " peer : " + peer + " : " + e);
+					}
+					return null;
+				}
+			});
+		}
+		if (calls.isEmpty()) {
+			return;
+		}
+		List<Future<Void>> futures = new ArrayList<>();
+		for (Callable<Void> peerCall : calls) {
+			futures.add(dispatcher.submit(peerCall));
+		}
+		// a call needs at most the connect and the read timeout, the ones still
+		// running after that are cancelled
+		long limit = 2L * peerTimeout + jitter;
+		try {
+			for (int i = 0; i < futures.size(); i++) {
+				Future<Void> future = futures.get(i);
+				try {
+					// a queued call waits for the ones ahead of it, which are bounded
+					while (starts.get(i) == 0 && !future.isDone()) {
+						try {
+							future.get(limit, TimeUnit.MILLISECONDS);
+						} catch (TimeoutException e) {
+							// not started yet
+						}
+					}
+					long remaining = starts.get(i) + limit - System.currentTimeMillis();
+					future.get(Math.max(0, remaining), TimeUnit.MILLISECONDS);
+				} catch (TimeoutException e) {
+					future.cancel(true);
+				} catch (ExecutionException e) {
+					// logged by the call
+				}
+			}
+		} catch (InterruptedException e) {
+			LOGGER.error("Interrupted while waiting to " + action + " peers : " + e);
+			e.printStackTrace();
+			for (Future<Void> future : futures) {
+				future.cancel(true);
+			}
+		}
+	}
+
+	private long nextDelay(long deadline) {
+		long delay = deadline - System.currentTimeMillis();
+		if (jitter > 0) {
+			delay += ThreadLocalRandom.current().nextLong(jitter);
+		}
+		return Math.max(0, delay);
+	}
+
+	public interface PeerCall<T> {
+		void call(T peer) throws Exception;
+	}
+
+	private class JitteredRun implements Runnable {
+
+		private String name;
+		private Runnable task;
+		private long period;
+		private long deadline;
+
+		JitteredRun(String name, Runnable task, long period, long deadline) {
+			this.name = name;
+			this.task = task;
+			this.period = period;
+			this.deadline = deadline;
+		}
+
+		@Override
+		public void run() {
+			try {
+				task.run();
+			} catch (Throwable e) {
+				// an exception should not stop the following runs
+				LOGGER.error("Error while running periodic task " + name + " : " + e);
+				e.printStackTrace();
+			}
+			deadline += period;
+			long now = System.currentTimeMillis();
+			if (deadline < now) {
+				// the run took longer than a period, skip the missed runs
+				// instead of running them back to back
+				deadline += ((now - deadline) / period + 1) * period;
+			}
+			scheduler.schedule(this, nextDelay(deadline), TimeUnit.MILLISECONDS);
+		}
+	}
+
+}
@@ -0,0 +1,387 @@
+package com.dreamlab.edgefs.controlplane;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TBinaryProtocol;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.transport.TFramedTransport;
+import org.apache.thrift.transport.TSocket;
+import org.apache.thrift.transport.TTransport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dreamlab.edgefs.misc.BloomFilter;
+import com.dreamlab.edgefs.misc.Constants;
+import com.dreamlab.edgefs.misc.LatencyWindow;
+import com.dreamlab.edgefs.model.EdgeInfo;
+import com.dreamlab.edgefs.model.FogExchangeInfo;
+import com.dreamlab.edgefs.model.FogInfo;
+import com.dreamlab.edgefs.model.NeighborInfo;
+import com.dreamlab.edgefs.model.NodeInfo;
+import com.dreamlab.edgefs.thrift.EdgeService;
+import com.dreamlab.edgefs.thrift.FogService;
+import com.dreamlab.edgefs.thrift.ReadReplica;
+
+/**
+ * Reads a microbatch on behalf of a client from one of its replicas. The local
+ * edges holding the microbatch are tried first followed by the neighbors and
+ * buddies whose bloom filters have it, the same lookup used by find. If the
+ * first read doesn't finish within a percentile of the recent read latencies,
+ * another read is sent to the next replica, up to a few of them, and whichever
+ * succeeds first is returned while the others are cancelled by closing their
+ * connections. A failed read moves on to the next replica right away. The
+ * latencies include the failed and the cancelled reads, for which the time
+ * they ran is a lower bound, so that the slow replicas are seen as well.
+ */
+public class HedgedReadCoordinator {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(HedgedReadCoordinator.class);
+
+	private final Fog fog;
+	private final boolean hedgeEnabled;
+	private final long minHedgeDelay;
+	private final int maxHedges;
+	private final int readTimeout;
+	private final LatencyWindow latencies;
+	private final ThreadPoolExecutor executor;
+
+	/**
+	 *
+	 * @param fog           the Fog whose replicas are read
+	 * @param percentile    percentile of the read latencies after which a hedged
+	 *                      read is sent, 0 or less disables hedging
+	 * @param minHedgeDelay lower bound in milliseconds of the hedge delay
+	 * @param maxHedges     reads sent to other replicas while the first is slow
+	 * @param readTimeout   socket timeout in milliseconds of a read
+	 * @param threads       reads in flight at a time, the others wait for a
+	 *                      thread
+	 */
+	public HedgedReadCoordinator(Fog fog, double percentile, long minHedgeDelay, int maxHedges, int readTimeout,
+			int threads) {
+		this.fog = fog;
+		this.hedgeEnabled = percentile > 0 && maxHedges > 0;
+		this.minHedgeDelay = minHedgeDelay;
+		this.maxHedges = maxHedges;
+		this.readTimeout = readTimeout;
+		this.latencies = new LatencyWindow(Constants.READ_LATENCY_WINDOW, percentile,
+				Constants.READ_HEDGE_INITIAL_DELAY, Constants.READ_LATENCY_MIN_SAMPLES);
+		// idle threads are let go so the pool only grows under load
+		this.executor = new ThreadPoolExecutor(Math.max(1, threads), Math.max(1, threads), 60, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+
+					@Override
+					public Thread newThread(Runnable r) {
+						Thread thread = new Thread(r, "hedged-read");
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+	public long getHedgeDelay() {
+		return Math.max(minHedgeDelay, latencies.getValue());
+	}
+
+	/**
+	 * Returns the microbatch read from the first replica to respond successfully,
+	 * the status is FAILURE if none of the replicas could be read
+	 */
+	public ReadReplica read(long mbId, boolean fetchMetadata, String compFormat, long uncompSize) {
+		return read(new BlockRead(mbId, fetchMetadata, compFormat, uncompSize, 0, -1), true, true);
+	}
+
+	/**
+	 * Same as read but only for length bytes of the microbatch from the offset,
+	 * the other Fogs are tried only if asked for
+	 */
+	public ReadReplica readRange(long mbId, String compFormat, long offset, long length, boolean checkNeighbors,
+			boolean checkBuddies) {
+		return read(new BlockRead(mbId, false, compFormat, 0, offset, length), checkNeighbors, checkBuddies);
+	}
+
+	private ReadReplica read(BlockRead request, boolean checkNeighbors, boolean checkBuddies) {
+		ReadReplica failed = new ReadReplica();
+		failed.setStatus(Constants.FAILURE);
+
+		long mbId = request.mbId;
+		List<ReadAttempt> candidates = findCandidates(request, checkNeighbors, checkBuddies);
+		CompletionService<ReadReplica> completion = new ExecutorCompletionService<>(executor);
+		Map<Future<ReadReplica>, ReadAttempt> running = new HashMap<>();
+		int next = 0;
+		int hedges = 0;
+		try {
+			while (next < candidates.size() || !running.isEmpty()) {
+				if (running.isEmpty()) {
+					// the first read or the earlier ones have failed
+					ReadAttempt attempt = candidates.get(next++);
+					running.put(completion.submit(attempt), attempt);
+				}
+				Future<ReadReplica> done;
+				if (hedgeEnabled && hedges < maxHedges && next < candidates.size()) {
+					done = completion.poll(getHedgeDelay(), TimeUnit.MILLISECONDS);
+					if (done == null) {
+						ReadAttempt attempt = candidates.get(next++);
+						LOGGER.info("MicrobatchId : " + mbId + ", sending hedged read to " + attempt);
+						running.put(completion.submit(attempt), attempt);
+						hedges++;
+						continue;
+					}
+				} else {
+					done = completion.take();
+				}
+				ReadAttempt attempt = running.remove(done);
+				// the hedge delay is based on the reads of whole blocks
+				if (request.isWholeBlock()) {
+					latencies.add(attempt.getLatency());
+				}
+				try {
+					ReadReplica data = done.get();
+					if (data != null && data.getStatus() == Constants.SUCCESS && data.isSetData()) {
+						return data;
+					}
+					if (data != null && data.getStatus() == Constants.CORRUPT) {
+						LOGGER.error("MicrobatchId : " + mbId + ", corrupt copy at " + attempt);
+						continue;
+					}
+					LOGGER.info("MicrobatchId : " + mbId + ", not found at " + attempt);
+				} catch (ExecutionException e) {
+					LOGGER.info("MicrobatchId : " + mbId + ", error while reading from " + attempt + " : "
+							+ e.getCause());
+				}
+			}
+		} catch (InterruptedException e) {
+			LOGGER.error("Interrupted while reading microbatchId : " + mbId);
+			Thread.currentThread().interrupt();
+		} finally {
+			for (Entry<Future<ReadReplica>, ReadAttempt> entry : running.entrySet()) {
+				// a read slower than the one returned took at least this long
+				if (request.isWholeBlock() && entry.getValue().isStarted()) {
+					latencies.add(entry.getValue().getLatency());
+				}
+				entry.getValue().cancel();
+				entry.getKey().cancel(true);
+			}
+		}
+		return failed;
+	}
+
+	private List<ReadAttempt> findCandidates(BlockRead request, boolean checkNeighbors, boolean checkBuddies) {
+		List<ReadAttempt> candidates = new ArrayList<>();
+		String mbId = String.valueOf(request.mbId);
+		Map<Short, Byte> edgeMap = fog.getMbIDLocationMap().get(request.mbId);
+		if (edgeMap != null) {
+			for (Short edgeId : edgeMap.keySet()) {
+				EdgeInfo edgeInfo = fog.getLocalEdgesMap().get(edgeId);
+				if (edgeInfo != null && edgeInfo.getStatus().equals("A")) {
+					candidates.add(new EdgeReadAttempt(edgeInfo, request, readTimeout));
+				}
+			}
+		}
+		if (checkNeighbors) {
+			for (Entry<Short, FogExchangeInfo> entry : fog.getNeighborExchangeInfo().entrySet()) {
+				FogExchangeInfo nInfo = entry.getValue();
+				if (nInfo != null && !fog.isPeerSuspected(entry.getKey()) && BloomFilter
+						.search(Constants.MICROBATCH_METADATA_ID, mbId, nInfo.getBloomFilterUpdates())) {
+					NeighborInfo neighbor = fog.getNeighborsMap().get(entry.getKey());
+					if (neighbor != null) {
+						candidates.add(new FogReadAttempt(neighbor.getNode(), request, readTimeout));
+					}
+				}
+			}
+		}
+		if (checkBuddies) {
+			for (Entry<Short, FogExchangeInfo> entry : fog.getBuddyExchangeInfo().entrySet()) {
+				FogExchangeInfo buddyInfo = entry.getValue();
+				if (buddyInfo != null && !fog.isPeerSuspected(entry.getKey()) && BloomFilter
+						.search(Constants.MICROBATCH_METADATA_ID, mbId, buddyInfo.getBloomFilterUpdates())) {
+					FogInfo buddy = fog.getBuddyMap().get(entry.getKey());
+					if (buddy != null) {
+						candidates.add(new FogReadAttempt(buddy, request, readTimeout));
+					}
+				}
+			}
+		}
+		return candidates;
+	}
+
+	/**
+	 * What is to be read, either the whole block or a range of it
+	 */
+	private static class BlockRead {
+
+		private final long mbId;
+		private final boolean fetchMetadata;
+		private final String compFormat;
+		private final long uncompSize;
+		private final long offset;
+		// negative for the whole block
+		private final long length;
+
+		BlockRead(long mbId, boolean fetchMetadata, String compFormat, long uncompSize, long offset, long length) {
+			this.mbId = mbId;
+			this.fetchMetadata = fetchMetadata;
+			this.compFormat = compFormat;
+			this.uncompSize = uncompSize;
+			this.offset = offset;
+			this.length = length;
+		}
+
+		boolean isWholeBlock() {
+			return length < 0;
+		}
+	}
+
+	/**
+	 * A single read from a replica, cancelled by closing its connection which
+	 * makes the blocked read fail
+	 */
+	private abstract static class ReadAttempt implements Callable<ReadReplica> {
+
+		private final int timeout;
+		private volatile TTransport transport;
+		private volatile boolean cancelled;
+		private volatile long start;
+		private volatile long end;
+
+		ReadAttempt(int timeout) {
+			this.timeout = timeout;
+		}
+
+		@Override
+		public ReadReplica call() throws Exception {
+			start = System.currentTimeMillis();
+			TTransport transport = new TFramedTransport(new TSocket(getIp(), getPort(), timeout));
+			this.transport = transport;
+			try {
+				if (cancelled) {
+					return null;
+				}
+				transport.open();
+				return read(new TBinaryProtocol(transport));
+			} finally {
+				end = System.currentTimeMillis();
+				transport.close();
+			}
+		}
+
+		// false while it waits for a thread
+		boolean isStarted() {
+			return start > 0;
+		}
+
+		void cancel() {
+			cancelled = true;
+			TTransport transport = this.transport;
+			if (transport != null) {
+				transport.close();
+			}
+		}
+
+		// the time it has run so far if it is not done
+		long getLatency() {
+			long end = this.end;
+			return (end > 0 ? end : System.currentTimeMillis()) - start;
+		}
+
+		abstract String getIp();
+
+		abstract int getPort();
+
+		abstract ReadReplica read(TProtocol protocol) throws TException;
+	}
+
+	private static class EdgeReadAttempt extends ReadAttempt {
+
+		private EdgeInfo edgeInfo;
+		private BlockRead request;
+
+		EdgeReadAttempt(EdgeInfo edgeInfo, BlockRead request, int timeout) {
+			super(timeout);
+			this.edgeInfo = edgeInfo;
+			this.request = request;
+		}
+
+		@Override
+		String getIp() {
+			return edgeInfo.getNodeIp();
+		}
+
+		@Override
+		int getPort() {
+			return edgeInfo.getPort();
+		}
+
+		@Override
+		ReadReplica read(TProtocol protocol) throws TException {
+			EdgeService.Client edgeClient = new EdgeService.Client(protocol);
+			if (!request.isWholeBlock()) {
+				return edgeClient.readRange(request.mbId, request.compFormat, request.offset, request.length);
+			}
+			return edgeClient.read(request.mbId, request.fetchMetadata ? (byte) 1 : (byte) 0, request.compFormat,
+					request.uncompSize);
+		}
+
+		@Override
+		public String toString() {
+			return "edge " + edgeInfo.getNodeId();
+		}
+	}
+
+	private static class FogReadAttempt extends ReadAttempt {
+
+		private NodeInfo node;
+		private BlockRead request;
+
+		FogReadAttempt(NodeInfo node, BlockRead request, int timeout) {
+			super(timeout);
+			this.node = node;
+			this.request = request;
+		}
+
+		@Override
+		String getIp() {
+			return node.getNodeIP();
+		}
+
+		@Override
+		int getPort() {
+			return node.getPort();
+		}
+
+		@Override
+		ReadReplica read(TProtocol protocol) throws TException {
+			// only the edges of that Fog are read so the read is not forwarded
+			// any further
+			FogService.Client fogClient = new FogService.Client(protocol);
+			if (!request.isWholeBlock()) {
+				return fogClient.readRange(request.mbId, request.compFormat, request.offset, request.length, false,
+						false);
+			}
+			List<ReadReplica> replicas = fogClient.readBatch(Collections.singletonList(request.mbId),
+					request.fetchMetadata);
+			return replicas.isEmpty() ? null : replicas.get(0);
+		}
+
+		@Override
+		public String toString() {
+			return "Fog " + node.getNodeID();
+		}
+	}
+
+}
@@ -0,0 +1,155 @@
+package com.dreamlab.edgefs.controlplane;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Phi accrual failure detector over the heartbeats received from the buddies or
+ * the neighbors. The inter-arrival times of the last few heartbeats of every
+ * peer are kept and phi, the suspicion level, grows with the time elapsed since
+ * the last heartbeat relative to the distribution of these. A peer is suspected
+ * once phi crosses the threshold, so a peer which sends heartbeats irregularly
+ * is given more time than one which is on time. A suspected peer is no longer
+ * suspected as soon as a heartbeat is received from it. Peers not heard from
+ * yet are never suspected.
+ */
+public class PhiAccrualFailureDetector {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(PhiAccrualFailureDetector.class);
+
+	private final double threshold;
+	private final int windowSize;
+	private final long expectedInterval;
+	private final long minStdDeviation;
+	private final long acceptablePause;
+	private final Map<Short, ArrivalWindow> arrivals = new ConcurrentHashMap<>();
+
+	/**
+	 *
+	 * @param threshold        phi above which a peer is suspected
+	 * @param windowSize       number of inter-arrival times kept per peer
+	 * @param expectedInterval the heartbeat interval in milliseconds, used till
+	 *                         enough heartbeats are received from a peer
+	 * @param minStdDeviation  lower bound of the deviation in milliseconds so
+	 *                         that very regular heartbeats don't make the
+	 *                         detector too eager
+	 * @param acceptablePause  milliseconds by which a heartbeat may be late
+	 *                         beyond the usual, like the heartbeat jitter
+	 */
+	public PhiAccrualFailureDetector(double threshold, int windowSize, long expectedInterval, long minStdDeviation,
+			long acceptablePause) {
+		this.threshold = threshold;
+		this.windowSize = Math.max(2, windowSize);
+		this.expectedInterval = expectedInterval;
+		this.minStdDeviation = Math.max(1, minStdDeviation);
+		this.acceptablePause = acceptablePause;
+	}
+
+	public void heartbeat(short nodeId, long time) {
+		ArrivalWindow window = arrivals.get(nodeId);
+		if (window == null) {
+			ArrivalWindow previous = arrivals.putIfAbsent(nodeId, new ArrivalWindow(windowSize, expectedInterval));
+			window = (previous == null) ? arrivals.get(nodeId) : previous;
+		}
+		synchronized (window) {
+			if (window.lastArrival > 0) {
+				// the gap during which a peer was down doesn't reflect its
+				// heartbeat interval and would make the detector slow to
+				// suspect it the next time
+				if (phi(window, time) >= threshold) {
+					LOGGER.info("Heartbeat received from suspected peer : " + nodeId + ", no longer suspected");
+				} else {
+					window.add(time - window.lastArrival);
+				}
+			}
+			window.lastArrival = time;
+		}
+	}
+
+	public double phi(short nodeId, long now) {
+		ArrivalWindow window = arrivals.get(nodeId);
+		if (window == null) {
+			return 0;
+		}
+		synchronized (window) {
+			return phi(window, now);
+		}
+	}
+
+	public boolean isSuspected(short nodeId, long now) {
+		return phi(nodeId, now) >= threshold;
+	}
+
+	public boolean isSuspected(short nodeId) {
+		return isSuspected(nodeId, System.currentTimeMillis());
+	}
+
+	public void remove(short nodeId) {
+		arrivals.remove(nodeId);
+	}
+
+	private double phi(ArrivalWindow window, long now) {
+		if (window.lastArrival <= 0) {
+			return 0;
+		}
+		long elapsed = now - window.lastArrival;
+		double mean = window.mean() + acceptablePause;
+		double stdDeviation = Math.max(minStdDeviation, window.stdDeviation());
+		// logistic approximation of the cumulative normal distribution
+		double y = (elapsed - mean) / stdDeviation;
+		double e = Math.exp(-y * (1.5976 + 0.070566 * y * y));
+		if (elapsed > mean) {
+			return -Math.log10(e / (1.0 + e));
+		}
+		return -Math.log10(1.0 - 1.0 / (1.0 + e));
+	}
+
+	/**
+	 * Ring of the latest inter-arrival times with running sums for the mean and
+	 * the variance
+	 */
+	private static class ArrivalWindow {
+
+		private final long[] intervals;
+		private int count;
+		private int next;
+		private double sum;
+		private double squaredSum;
+		private long lastArrival;
+
+		ArrivalWindow(int size, long expectedInterval) {
+			this.intervals = new long[size];
+			// start with the expected interval and a wide deviation till the
+			// actual heartbeats are seen
+			add(expectedInterval - expectedInterval / 4);
+			add(expectedInterval + expectedInterval / 4);
+		}
+
+		void add(long interval) {
+			if (count == intervals.length) {
+				long oldest = intervals[next];
+				sum -= oldest;
+				squaredSum -= (double) oldest * oldest;
+			} else {
+				count++;
+			}
+			intervals[next] = interval;
+			next = (next + 1) % intervals.length;
+			sum += interval;
+			squaredSum += (double) interval * interval;
+		}
+
+		double mean() {
+			return sum / count;
+		}
+
+		double stdDeviation() {
+			double mean = mean();
+			return Math.sqrt(Math.max(0, squaredSum / count - mean * mean));
+		}
+	}
+
+}
@@ -0,0 +1,458 @@
+package com.dreamlab.edgefs.controlplane;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dreamlab.edgefs.misc.BandwidthThrottle;
+import com.dreamlab.edgefs.misc.BloomFilter;
+import com.dreamlab.edgefs.misc.Constants;
+import com.dreamlab.edgefs.model.BulkRecoverTask;
+import com.dreamlab.edgefs.model.EdgeInfo;
+import com.dreamlab.edgefs.model.FogExchangeInfo;
+import com.dreamlab.edgefs.model.RecoveryItem;
+import com.dreamlab.edgefs.servicehandler.FogServiceHandler;
+
+/**
+ * Holds the microbatches of dead edges which are yet to be recovered. The queue
+ * is unbounded so no microbatch is dropped while it can still be recovered and
+ * every change to it is appended to a journal file so that a restarted Fog
+ * resumes the pending recovery. The journal is rewritten with only the pending
+ * microbatches once it has grown well past them. Microbatches with the fewest
+ * surviving replicas are picked first by a fixed number of worker threads which
+ * share a bandwidth limit so that recovery doesn't starve the foreground reads
+ * and writes. Microbatches which could not be recovered are queued again after
+ * a delay which doubles with every failure up to a cap. They are retried for
+ * as long as they are pending unless a number of attempts to give up after is
+ * configured.
+ */
+public class RecoveryQueue {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(RecoveryQueue.class);
+
+	private static final byte JOURNAL_ADD = 1;
+	private static final byte JOURNAL_REMOVE = 2;
+
+	private FogServiceHandler handler;
+	private String journalFile;
+	private PriorityBlockingQueue<RecoveryItem> queue = new PriorityBlockingQueue<>();
+	// all the microbatches not yet recovered, including the ones being recovered
+	// currently or waiting for a retry. This is what gets written to the journal
+	private Map<Long, RecoveryItem> pending = new ConcurrentHashMap<>();
+	private BandwidthThrottle throttle;
+	private ScheduledExecutorService retryService = Executors.newSingleThreadScheduledExecutor();
+	// appended to with every change, null till the first change is written
+	private DataOutputStream journal;
+	// the file under the journal, synced so that the changes survive a power loss
+	private FileOutputStream journalOut;
+	private int journalRecords;
+
+	public RecoveryQueue(FogServiceHandler handler, String journalFile) {
+		super();
+		this.handler = handler;
+		this.journalFile = journalFile;
+		this.throttle = new BandwidthThrottle(handler.getFog().getRecoveryBandwidth());
+	}
+
+	/**
+	 * Loads the microbatches left from the journal and starts the workers
+	 */
+	public void start() {
+		Collection<RecoveryItem> items = readJournal();
+		if (!items.isEmpty()) {
+			LOGGER.info("Resuming recovery of {} microbatches from the journal", items.size());
+			synchronized (this) {
+				for (RecoveryItem item : items) {
+					pending.put(item.getMbId(), item);
+					queue.offer(item);
+				}
+				compactJournal();
+			}
+		}
+		int concurrency = handler.getFog().getRecoveryConcurrency();
+		if (concurrency <= 0) {
+			concurrency = Constants.DEFAULT_RECOVERY_CONCURRENCY;
+		}
+		for (int i = 0; i < concurrency; i++) {
+			Thread worker = new Thread(new Runnable() {
+
+				@Override
+				public void run() {
+					work();
+				}
+			}, "recovery-worker-" + i);
+			worker.setDaemon(true);
+			worker.start();
+		}
+	}
+
+	/**
+	 * Adds the microbatches lost from a dead edge, the ones already pending are
+	 * not added again
+	 */
+	public void enqueue(short edgeId, int reliability, Collection<Long> mbIds) {
+		Fog fog = handler.getFog();
+		long now = System.currentTimeMillis();
+		int added = 0;
+		synchronized (this) {
+			for (Long mbId : mbIds) {
+				RecoveryItem item = new RecoveryItem(edgeId, mbId, reliability,
+						countSurvivingReplicas(fog, edgeId, mbId), now);
+				if (pending.putIfAbsent(mbId, item) == null) {
+					queue.offer(item);
+					journalAdd(item);
+					added++;
+				}
+			}
+			flushJournal();
+		}
+		LOGGER.info("Added {} microbatches of edgeId : {} for recovery, {} pending in total", added, edgeId,
+				pending.size());
+	}
+
+	/**
+	 * Drops the microbatches which were deleted, they are not recovered any more
+	 */
+	public void remove(Collection<Long> mbIds) {
+		int removed = 0;
+		synchronized (this) {
+			for (Long mbId : mbIds) {
+				RecoveryItem item = pending.remove(mbId);
+				if (item != null) {
+					queue.remove(item);
+					journalRemove(mbId);
+					removed++;
+				}
+			}
+			flushJournal();
+		}
+		if (removed > 0) {
+			LOGGER.info("Dropped {} deleted microbatches from recovery, {} pending in total", removed,
+					pending.size());
+		}
+	}
+
+	public int size() {
+		return pending.size();
+	}
+
+	private void work() {
+		while (true) {
+			List<RecoveryItem> batch = new ArrayList<>();
+			try {
+				batch.add(queue.take());
+			} catch (InterruptedException e) {
+				LOGGER.error("Recovery worker interrupted : " + e);
+				e.printStackTrace();
+				return;
+			}
+			int batchSize = handler.getFog().getRecoveryBatchSize();
+			if (batchSize <= 0) {
+				batchSize = Constants.DEFAULT_RECOVERY_BATCH_SIZE;
+			}
+			// drainTo on a priority queue removes in priority order as well
+			queue.drainTo(batch, batchSize - 1);
+
+			// the new replicas are picked using the reliability of the dead edge
+			// so the microbatches are recovered together per edge
+			Map<Short, List<RecoveryItem>> edgeItems = new LinkedHashMap<>();
+			for (RecoveryItem item : batch) {
+				// removed as the microbatch was deleted
+				if (pending.get(item.getMbId()) != item) {
+					continue;
+				}
+				if (!edgeItems.containsKey(item.getEdgeId())) {
+					edgeItems.put(item.getEdgeId(), new ArrayList<RecoveryItem>());
+				}
+				edgeItems.get(item.getEdgeId()).add(item);
+			}
+			for (Entry<Short, List<RecoveryItem>> entry : edgeItems.entrySet()) {
+				List<RecoveryItem> items = entry.getValue();
+				List<Long> mbIds = new ArrayList<>();
+				for (RecoveryItem item : items) {
+					mbIds.add(item.getMbId());
+				}
+				Set<Long> failed;
+				try {
+					failed = new HashSet<>(recover(entry.getKey(), items.get(0).getReliability(), mbIds));
+				} catch (Exception e) {
+					LOGGER.error("Error while recovering microbatches of edgeId : " + entry.getKey() + " : " + e);
+					e.printStackTrace();
+					failed = new HashSet<>(mbIds);
+				}
+				synchronized (this) {
+					for (RecoveryItem item : items) {
+						// removed as the microbatch was deleted while recovering it
+						if (pending.get(item.getMbId()) != item) {
+							continue;
+						}
+						if (failed.contains(item.getMbId())) {
+							retryLater(item);
+						} else {
+							pending.remove(item.getMbId());
+							journalRemove(item.getMbId());
+						}
+					}
+					flushJournal();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Recovers the microbatches lost from the edge and returns the ones which
+	 * could not be recovered
+	 */
+	protected List<Long> recover(short edgeId, int reliability, List<Long> mbIds) throws Exception {
+		return new BulkRecoverTask(edgeId, reliability, mbIds, handler, throttle).recover();
+	}
+
+	// called holding the lock of the queue
+	private void retryLater(final RecoveryItem item) {
+		item.setAttempts(item.getAttempts() + 1);
+		int maxAttempts = handler.getFog().getRecoveryMaxAttempts();
+		if (maxAttempts > 0 && item.getAttempts() >= maxAttempts) {
+			LOGGER.error("Recovery of microbatchId : {} failed {} times, giving up", item.getMbId(),
+					item.getAttempts());
+			pending.remove(item.getMbId());
+			journalRemove(item.getMbId());
+			return;
+		}
+		// the attempts are kept so that the delay carries over a restart
+		journalAdd(item);
+		int retryInterval = handler.getFog().getRecoveryRetryInterval();
+		if (retryInterval <= 0) {
+			retryInterval = Constants.DEFAULT_RECOVERY_RETRY_INTERVAL;
+		}
+		long delay = (long) retryInterval
+				* Math.min(1L << Math.min(item.getAttempts() - 1, 30), Constants.RECOVERY_MAX_BACKOFF);
+		LOGGER.info("Recovery of microbatchId : {} failed {} times, will be retried after {} seconds",
+				item.getMbId(), item.getAttempts(), delay);
+		retryService.schedule(new Runnable() {
+
+			@Override
+			public void run() {
+				if (pending.get(item.getMbId()) != item) {
+					return;
+				}
+				// a replica might have come up or gone down in the meantime
+				item.setSurvivingReplicas(countSurvivingReplicas(handler.getFog(), item.getEdgeId(), item.getMbId()));
+				queue.offer(item);
+			}
+		}, delay, TimeUnit.SECONDS);
+	}
+
+	// the count is an estimate as the bloom filters can give false positives and
+	// the same Fog may be both a neighbor and a buddy
+	static int countSurvivingReplicas(Fog fog, short edgeId, long mbId) {
+		int count = 0;
+		Map<Short, Byte> edgeMap = fog.getMbIDLocationMap().get(mbId);
+		if (edgeMap != null) {
+			for (Short holder : edgeMap.keySet()) {
+				EdgeInfo holderInfo = fog.getLocalEdgesMap().get(holder);
+				if (holder != edgeId && holderInfo != null && holderInfo.getStatus().equals("A")) {
+					count++;
+				}
+			}
+		}
+		// a suspected Fog is not counted as its replica may be lost as well
+		for (Entry<Short, FogExchangeInfo> entry : fog.getNeighborExchangeInfo().entrySet()) {
+			FogExchangeInfo nInfo = entry.getValue();
+			if (nInfo != null && !fog.isPeerSuspected(entry.getKey())
+					&& BloomFilter.search(Constants.MICROBATCH_METADATA_ID, String.valueOf(mbId),
+					nInfo.getBloomFilterUpdates())) {
+				count++;
+			}
+		}
+		for (Entry<Short, FogExchangeInfo> entry : fog.getBuddyExchangeInfo().entrySet()) {
+			FogExchangeInfo buddyInfo = entry.getValue();
+			if (buddyInfo != null && !fog.isPeerSuspected(entry.getKey())
+					&& BloomFilter.search(Constants.MICROBATCH_METADATA_ID, String.valueOf(mbId),
+					buddyInfo.getBloomFilterUpdates())) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private void journalAdd(RecoveryItem item) {
+		try {
+			DataOutputStream out = getJournal();
+			writeAdd(out, item);
+			journalRecords++;
+		} catch (IOException e) {
+			LOGGER.error("Error while writing the recovery journal");
+			LOGGER.error("The error is ", e);
+		}
+	}
+
+	private void journalRemove(long mbId) {
+		try {
+			DataOutputStream out = getJournal();
+			out.writeByte(JOURNAL_REMOVE);
+			out.writeLong(mbId);
+			journalRecords++;
+		} catch (IOException e) {
+			LOGGER.error("Error while writing the recovery journal");
+			LOGGER.error("The error is ", e);
+		}
+	}
+
+	private static void writeAdd(DataOutputStream out, RecoveryItem item) throws IOException {
+		out.writeByte(JOURNAL_ADD);
+		out.writeLong(item.getMbId());
+		out.writeShort(item.getEdgeId());
+		out.writeInt(item.getReliability());
+		out.writeInt(item.getSurvivingReplicas());
+		out.writeLong(item.getQueuedTime());
+		out.writeInt(item.getAttempts());
+	}
+
+	// the journal is started afresh on the first change so that it holds only
+	// records appended by this instance
+	private DataOutputStream getJournal() throws IOException {
+		if (journal == null) {
+			compactJournal();
+		}
+		if (journal == null) {
+			throw new IOException("The recovery journal " + journalFile + " is not open");
+		}
+		return journal;
+	}
+
+	// the changes of a batch are written out and synced together, and the
+	// journal is rewritten once most of its records are of recovered microbatches
+	private void flushJournal() {
+		if (journal == null) {
+			return;
+		}
+		try {
+			journal.flush();
+			journalOut.getFD().sync();
+		} catch (IOException e) {
+			LOGGER.error("Error while writing the recovery journal");
+			LOGGER.error("The error is ", e);
+		}
+		if (journalRecords > Math.max(Constants.RECOVERY_JOURNAL_COMPACT_MIN, 2 * pending.size())) {
+			compactJournal();
+		}
+	}
+
+	// the pending microbatches are written to a temporary file first and then
+	// moved so that a crash while writing doesn't leave a partial journal
+	// behind, the changes after it are appended to the moved file
+	private void compactJournal() {
+		if (journal != null) {
+			try {
+				journal.close();
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+			journal = null;
+			journalOut = null;
+		}
+		File tmp = new File(journalFile + ".tmp");
+		DataOutputStream out = null;
+		try {
+			FileOutputStream tmpOut = new FileOutputStream(tmp);
+			out = new DataOutputStream(new BufferedOutputStream(tmpOut));
+			for (RecoveryItem item : pending.values()) {
+				writeAdd(out, item);
+			}
+			out.flush();
+			// on the disk before it replaces the old journal
+			tmpOut.getFD().sync();
+			out.close();
+			out = null;
+			Files.move(tmp.toPath(), new File(journalFile).toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+			journalOut = new FileOutputStream(journalFile, true);
+			journal = new DataOutputStream(new BufferedOutputStream(journalOut));
+			journalRecords = pending.size();
+		} catch (IOException e) {
+			LOGGER.error("Error while writing the recovery journal");
+			LOGGER.error("The error is ", e);
+		} finally {
+			if (out != null) {
+				try {
+					out.close();
+				} catch (IOException e) {
+					e.printStackTrace();
+				}
+			}
+		}
+	}
+
+	// replays the records of the journal, a record cut short by a crash is
+	// left out
+	private Collection<RecoveryItem> readJournal() {
+		Map<Long, RecoveryItem> items = new LinkedHashMap<>();
+		File file = new File(journalFile);
+		if (!file.exists()) {
+			return items.values();
+		}
+		DataInputStream in = null;
+		try {
+			in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+			while (true) {
+				byte type;
+				try {
+					type = in.readByte();
+				} catch (EOFException e) {
+					break;
+				}
+				long mbId = in.readLong();
+				if (type == JOURNAL_REMOVE) {
+					items.remove(mbId);
+				} else if (type == JOURNAL_ADD) {
+					RecoveryItem item = new RecoveryItem(in.readShort(), mbId, in.readInt(), in.readInt(),
+							in.readLong());
+					item.setAttempts(in.readInt());
+					items.put(mbId, item);
+				} else {
+					LOGGER.error("Unknown record in the recovery journal, the rest of it is skipped");
+					break;
+				}
+			}
+		} catch (EOFException e) {
+			LOGGER.error("The last record of the recovery journal is incomplete");
+		} catch (IOException e) {
+			LOGGER.error("Error while reading the recovery journal");
+			LOGGER.error("The error is ", e);
+		} finally {
+			if (in != null) {
+				try {
+					in.close();
+				} catch (IOException e) {
+					e.printStackTrace();
+				}
+			}
+		}
+		return items.values();
+	}
+
+}
@@ -0,0 +1,163 @@
+package com.dreamlab.edgefs.controlplane;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dreamlab.edgefs.misc.Constants;
+import com.dreamlab.edgefs.model.EdgeInfo;
+import com.dreamlab.edgefs.model.FogStats;
+import com.dreamlab.edgefs.thrift.WritableFogData;
+
+/**
+ * The write locations handed out to a stream session, keyed by the session
+ * secret returned on open(), so that the blocks a client writes one after the
+ * other in a session go to the same Fogs and edges without the placement being
+ * computed again for each one. A placement is reused till the caching time is
+ * over, and is dropped as soon as one of the Fogs chosen reports edge counts,
+ * reliabilities or storage different from those it had when it was chosen, or
+ * the local edge chosen is no longer active or short of space for the block.
+ */
+public class SessionPlacements {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(SessionPlacements.class);
+
+	// in milliseconds
+	private final long cachingTime;
+	private final Map<String, SessionPlacement> sessions = new ConcurrentHashMap<>();
+	private volatile long lastPrune = System.currentTimeMillis();
+
+	private static class SessionPlacement {
+		private final long createdTime;
+		private final List<WritableFogData> locations;
+		// the stats of every Fog chosen at the time it was chosen
+		private final Map<Short, int[]> fogStats;
+
+		private SessionPlacement(long createdTime, List<WritableFogData> locations, Map<Short, int[]> fogStats) {
+			this.createdTime = createdTime;
+			this.locations = locations;
+			this.fogStats = fogStats;
+		}
+	}
+
+	/**
+	 *
+	 * @param cachingTime seconds for which a placement is reused
+	 */
+	public SessionPlacements(int cachingTime) {
+		this.cachingTime = cachingTime * 1000L;
+	}
+
+	/**
+	 *
+	 * @param sessionSecret the secret of the session writing the block
+	 * @param selfId        id of this Fog, whose location carries the local edge
+	 * @param fogUpdateMap  the current stats of the Fogs not suspected
+	 * @param localEdges    the edges of this Fog
+	 * @param dataLength    size of the block in MB
+	 * @return a copy of the locations of the session or null if there are none
+	 *         still valid
+	 */
+	public List<WritableFogData> get(String sessionSecret, short selfId, Map<Short, FogStats> fogUpdateMap,
+			Map<Short, EdgeInfo> localEdges, long dataLength) {
+		if (sessionSecret == null) {
+			return null;
+		}
+		SessionPlacement placement = sessions.get(sessionSecret);
+		if (placement == null) {
+			return null;
+		}
+		if (System.currentTimeMillis() - placement.createdTime > cachingTime) {
+			sessions.remove(sessionSecret, placement);
+			return null;
+		}
+		for (Entry<Short, int[]> entry : placement.fogStats.entrySet()) {
+			FogStats stats = fogUpdateMap.get(entry.getKey());
+			if (stats == null || !Arrays.equals(entry.getValue(), snapshot(stats))) {
+				LOGGER.info("Stats of Fog " + entry.getKey() + " moved, placement of the session dropped");
+				sessions.remove(sessionSecret, placement);
+				return null;
+			}
+		}
+		List<WritableFogData> locations = new ArrayList<>();
+		for (WritableFogData location : placement.locations) {
+			if (location.getNode().getNodeId() == selfId && location.isSetEdgeInfo()) {
+				EdgeInfo edge = localEdges.get(location.getEdgeInfo().getNodeId());
+				if (edge == null || !edge.getStatus().equals("A")
+						|| edge.getStats().getStorage() < Constants.DISK_WATERMARK
+						|| edge.getStats().getStorage() <= dataLength) {
+					sessions.remove(sessionSecret, placement);
+					return null;
+				}
+			}
+			locations.add(new WritableFogData(location));
+		}
+		return locations;
+	}
+
+	public void put(String sessionSecret, short selfId, List<WritableFogData> locations,
+			Map<Short, FogStats> fogUpdateMap) {
+		if (sessionSecret == null || locations == null || locations.isEmpty()) {
+			return;
+		}
+		Map<Short, int[]> fogStats = new HashMap<>();
+		for (WritableFogData location : locations) {
+			short fogId = location.getNode().getNodeId();
+			if (fogId == selfId) {
+				continue;
+			}
+			FogStats stats = fogUpdateMap.get(fogId);
+			if (stats == null) {
+				return;
+			}
+			fogStats.put(fogId, snapshot(stats));
+		}
+		List<WritableFogData> copy = new ArrayList<>();
+		for (WritableFogData location : locations) {
+			copy.add(new WritableFogData(location));
+		}
+		long now = System.currentTimeMillis();
+		sessions.put(sessionSecret, new SessionPlacement(now, copy, fogStats));
+		// sessions are not closed explicitly, the ones not renewed in time are
+		// dropped here at most once per caching time
+		if (now - lastPrune > cachingTime) {
+			lastPrune = now;
+			Iterator<SessionPlacement> iter = sessions.values().iterator();
+			while (iter.hasNext()) {
+				if (now - iter.next().createdTime > cachingTime) {
+					iter.remove();
+				}
+			}
+		}
+	}
+
+	public void invalidate(String sessionSecret) {
+		if (sessionSecret != null) {
+			sessions.remove(sessionSecret);
+		}
+	}
+
+	public int size() {
+		return sessions.size();
+	}
+
+	// the values the Fog was chosen on, the storage and reliability quadrant
+	// counts of its edges, its reliabilities and its storage. The storage is
+	// taken in the buckets it is sent between the Fogs in, so that only a move
+	// to another bucket drops the placement
+	private static int[] snapshot(FogStats stats) {
+		return new int[] { stats.getA(), stats.getB(), stats.getC(), stats.getD(), stats.getMinReliability(),
+				stats.getMedianReliability(), Constants.encodeLongAsByte(stats.getMinStorage()),
+				Constants.encodeLongAsByte(stats.getMedianStorage()),
+				Constants.encodeLongAsByte(stats.getMaxStorage()) };
+	}
+
+}
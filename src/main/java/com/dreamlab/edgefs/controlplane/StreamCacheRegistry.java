@@ -0,0 +1,218 @@
+package com.dreamlab.edgefs.controlplane;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TBinaryProtocol;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.transport.TFramedTransport;
+import org.apache.thrift.transport.TSocket;
+import org.apache.thrift.transport.TTransport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dreamlab.edgefs.thrift.FogService;
+import com.dreamlab.edgefs.thrift.NodeInfoData;
+
+/**
+ * Kept at the owner of a stream, the Fogs which cached the metadata of the
+ * stream. When the metadata is updated the owner tells them so that they fetch
+ * it again rather than serving the stale copy till their cache times out. The
+ * invalidations are sent in the background so that an update is not held up
+ * by a Fog which is slow or gone, a lost invalidation is still covered by the
+ * cache timeout. For the same reason a caching Fog registers with the owner in
+ * the background.
+ * 
+ * A caching Fog registers again every time it refreshes its copy, which it does
+ * at least once per cache timeout while it uses the stream. A registration not
+ * renewed within the cache timeout, or of a Fog an invalidation could not
+ * reach, is dropped, the copy at that Fog has timed out by then or is fetched
+ * and registered again.
+ */
+public class StreamCacheRegistry {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(StreamCacheRegistry.class);
+
+	private static class CachingFog {
+
+		private final NodeInfoData node;
+		private final long registeredAt;
+
+		CachingFog(NodeInfoData node) {
+			this.node = node;
+			this.registeredAt = System.currentTimeMillis();
+		}
+	}
+
+	private final Map<String, Map<Short, CachingFog>> cachingFogs = new ConcurrentHashMap<>();
+	private final HeartbeatScheduler scheduler;
+	// registrations older than this are dropped, in milliseconds
+	private final long expiry;
+	private volatile long lastPrune = System.currentTimeMillis();
+	// a single thread keeps the invalidations of a stream in order
+	private final ExecutorService sender;
+	// the streams with a registration waiting to be sent to their owner
+	private final Set<String> pendingRegistrations = ConcurrentHashMap.newKeySet();
+
+	public StreamCacheRegistry(HeartbeatScheduler scheduler, long expiry) {
+		this.scheduler = scheduler;
+		this.expiry = expiry;
+		this.sender = Executors.newSingleThreadExecutor(new ThreadFactory() {
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "stream-cache-registry");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	public void register(String streamId, NodeInfoData node) {
+		Map<Short, CachingFog> fogs = cachingFogs.get(streamId);
+		if (fogs == null) {
+			cachingFogs.putIfAbsent(streamId, new ConcurrentHashMap<Short, CachingFog>());
+			fogs = cachingFogs.get(streamId);
+		}
+		fogs.put(node.getNodeId(), new CachingFog(node));
+		// the streams no longer read by other Fogs are only pruned here, at
+		// most once per expiry
+		long now = System.currentTimeMillis();
+		if (now - lastPrune > expiry) {
+			lastPrune = now;
+			prune(now);
+		}
+	}
+
+	private void prune(long now) {
+		for (Map.Entry<String, Map<Short, CachingFog>> entry : cachingFogs.entrySet()) {
+			Iterator<CachingFog> iter = entry.getValue().values().iterator();
+			while (iter.hasNext()) {
+				if (now - iter.next().registeredAt > expiry) {
+					iter.remove();
+				}
+			}
+			if (entry.getValue().isEmpty()) {
+				cachingFogs.remove(entry.getKey(), entry.getValue());
+			}
+		}
+	}
+
+	public Collection<NodeInfoData> getCachingFogs(String streamId) {
+		List<NodeInfoData> nodes = new ArrayList<>();
+		Map<Short, CachingFog> fogs = cachingFogs.get(streamId);
+		if (fogs == null) {
+			return nodes;
+		}
+		long now = System.currentTimeMillis();
+		Iterator<CachingFog> iter = fogs.values().iterator();
+		while (iter.hasNext()) {
+			CachingFog fog = iter.next();
+			if (now - fog.registeredAt > expiry) {
+				iter.remove();
+			} else {
+				nodes.add(fog.node);
+			}
+		}
+		return nodes;
+	}
+
+	private void unregister(String streamId, NodeInfoData node) {
+		Map<Short, CachingFog> fogs = cachingFogs.get(streamId);
+		if (fogs != null) {
+			fogs.remove(node.getNodeId());
+		}
+	}
+
+	public void remove(String streamId) {
+		cachingFogs.remove(streamId);
+	}
+
+	/**
+	 * Tells every Fog caching the metadata of the stream that it is now at the
+	 * given version
+	 */
+	public void invalidate(String streamId, int version) {
+		invalidate(streamId, version, getCachingFogs(streamId));
+	}
+
+	public void invalidate(final String streamId, final int version, final Collection<NodeInfoData> fogs) {
+		if (fogs.isEmpty()) {
+			return;
+		}
+		final List<NodeInfoData> peers = new ArrayList<>(fogs);
+		sender.execute(new Runnable() {
+
+			@Override
+			public void run() {
+				LOGGER.info("Invalidating the metadata of streamId : " + streamId + " at version " + version + " on "
+						+ peers.size() + " Fogs");
+				scheduler.dispatch("invalidate metadata at", peers, new HeartbeatScheduler.PeerCall<NodeInfoData>() {
+
+					@Override
+					public void call(NodeInfoData node) throws Exception {
+						TTransport transport = new TFramedTransport(
+								new TSocket(node.getNodeIP(), node.getPort(), scheduler.getPeerTimeout()));
+						try {
+							transport.open();
+							TProtocol protocol = new TBinaryProtocol(transport);
+							FogService.Client fogClient = new FogService.Client(protocol);
+							fogClient.invalidateStreamMetadata(streamId, version);
+						} catch (Exception e) {
+							// registers again when it fetches the metadata next
+							unregister(streamId, node);
+							throw e;
+						} finally {
+							transport.close();
+						}
+					}
+				});
+			}
+		});
+	}
+
+	/**
+	 * Lets the owner of the stream know that the given Fog caches its metadata
+	 * at the given version. Sent in the background so that reading the metadata
+	 * is not held up by the owner, a registration still waiting to be sent for
+	 * the stream covers this one
+	 */
+	public void registerWithOwner(final String streamId, final String ownerIP, final int ownerPort,
+			final NodeInfoData self, final int version) {
+		if (!pendingRegistrations.add(streamId)) {
+			return;
+		}
+		sender.execute(new Runnable() {
+
+			@Override
+			public void run() {
+				pendingRegistrations.remove(streamId);
+				TTransport transport = new TFramedTransport(
+						new TSocket(ownerIP, ownerPort, scheduler.getPeerTimeout()));
+				try {
+					transport.open();
+					TProtocol protocol = new TBinaryProtocol(transport);
+					FogService.Client fogClient = new FogService.Client(protocol);
+					fogClient.registerStreamCache(streamId, self, version);
+				} catch (TException e) {
+					// the cached copy is still refreshed once the cache times out
+					LOGGER.error("Unable to register the cache of streamId : " + streamId + " with the owner");
+					LOGGER.error("Exception is", e);
+					e.printStackTrace();
+				} finally {
+					transport.close();
+				}
+			}
+		});
+	}
+
+}
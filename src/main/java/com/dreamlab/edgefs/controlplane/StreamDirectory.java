@@ -0,0 +1,201 @@
+package com.dreamlab.edgefs.controlplane;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TBinaryProtocol;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.transport.TFramedTransport;
+import org.apache.thrift.transport.TSocket;
+import org.apache.thrift.transport.TTransport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dreamlab.edgefs.misc.ConsistentHashRing;
+import com.dreamlab.edgefs.misc.Constants;
+import com.dreamlab.edgefs.model.FogInfo;
+import com.dreamlab.edgefs.model.NeighborInfo;
+import com.dreamlab.edgefs.model.NodeInfo;
+import com.dreamlab.edgefs.thrift.FogService;
+import com.dreamlab.edgefs.thrift.NodeInfoData;
+import com.dreamlab.edgefs.thrift.StreamMetadata;
+
+/**
+ * Places the metadata of every stream at a home buddy pool picked by a
+ * consistent hash ring over the buddy pools, every Fog of the home pool keeps a
+ * copy. A Fog knows the Fogs of its own pool and has neighbors in the other
+ * pools but not every Fog of the system, so the ring is over the pools rather
+ * than the Fogs. A Fog not having the metadata of a stream asks one of its
+ * buddies or of its neighbors in the home pool instead of probing the Bloom
+ * filters of all of them, the Bloom filters are still used when the home pool
+ * doesn't have the stream such as for streams registered before the pool
+ * joined.
+ */
+public class StreamDirectory {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(StreamDirectory.class);
+
+	private final Fog fog;
+	private final int virtualNodes;
+	private ConsistentHashRing ring;
+	// the directory entries are sent in the background so that registering a
+	// stream is not held up by the home pool
+	private final ExecutorService sender;
+
+	/**
+	 *
+	 * @param fog          the Fog looking up and publishing the streams
+	 * @param virtualNodes points of every pool on the ring, 0 disables the
+	 *                     directory
+	 */
+	public StreamDirectory(Fog fog, int virtualNodes) {
+		this.fog = fog;
+		this.virtualNodes = virtualNodes;
+		this.sender = Executors.newSingleThreadExecutor(new ThreadFactory() {
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "stream-directory");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	public boolean isEnabled() {
+		return virtualNodes > 0;
+	}
+
+	// the ring changes only when a pool is first seen or no neighbor is left in
+	// it, which moves only the streams of that pool
+	private synchronized ConsistentHashRing getRing() {
+		Set<Short> pools = new TreeSet<>();
+		pools.add(fog.getMyFogInfo().getBuddyPoolId());
+		for (NeighborInfo neighbor : fog.getNeighborsMap().values()) {
+			pools.add(neighbor.getBuddyPoolId());
+		}
+		if (ring == null || !ring.getMembers().equals(pools)) {
+			ring = new ConsistentHashRing(pools, virtualNodes);
+		}
+		return ring;
+	}
+
+	/**
+	 * @return the buddy pool holding the directory entry of the stream, null if
+	 *         the directory is disabled
+	 */
+	public Short getHomePool(String streamId) {
+		if (!isEnabled()) {
+			return null;
+		}
+		return getRing().lookup(streamId);
+	}
+
+	public boolean isHomePool(String streamId) {
+		Short homePool = getHomePool(streamId);
+		return homePool != null && homePool == fog.getMyFogInfo().getBuddyPoolId();
+	}
+
+	/**
+	 * @return the Fogs other than this one which should have the directory entry
+	 *         of the stream, the ones suspected to have failed are left out
+	 */
+	public List<NodeInfoData> getDirectoryFogs(String streamId) {
+		List<NodeInfoData> fogs = new ArrayList<>();
+		Short homePool = getHomePool(streamId);
+		if (homePool == null) {
+			return fogs;
+		}
+		if (homePool == fog.getMyFogInfo().getBuddyPoolId()) {
+			return getBuddies();
+		}
+		for (NeighborInfo neighbor : fog.getNeighborsMap().values()) {
+			NodeInfo node = neighbor.getNode();
+			if (neighbor.getBuddyPoolId() == homePool && !fog.isPeerSuspected(node.getNodeID())) {
+				fogs.add(new NodeInfoData(node.getNodeID(), node.getNodeIP(), node.getPort()));
+			}
+		}
+		return fogs;
+	}
+
+	private List<NodeInfoData> getBuddies() {
+		List<NodeInfoData> buddies = new ArrayList<>();
+		for (FogInfo buddy : fog.getBuddyMap().values()) {
+			if (!fog.isPeerSuspected(buddy.getNodeID())) {
+				buddies.add(new NodeInfoData(buddy.getNodeID(), buddy.getNodeIP(), buddy.getPort()));
+			}
+		}
+		return buddies;
+	}
+
+	/**
+	 * Stores the metadata of a newly registered stream at its home pool. If this
+	 * Fog is in the home pool the metadata is copied to its buddies, else it is
+	 * given to one of the neighbors in the home pool which copies it to its own
+	 * buddies.
+	 */
+	public void publish(final String streamId, final StreamMetadata metadata) {
+		if (!isEnabled()) {
+			return;
+		}
+		sender.execute(new Runnable() {
+
+			@Override
+			public void run() {
+				if (isHomePool(streamId)) {
+					replicate(streamId, metadata);
+					return;
+				}
+				for (NodeInfoData node : getDirectoryFogs(streamId)) {
+					if (send(node, streamId, metadata, true) == Constants.SUCCESS) {
+						return;
+					}
+				}
+				// the stream is still found through the Bloom filters
+				LOGGER.error("Unable to store the directory entry of streamId : " + streamId + " at its home pool "
+						+ getHomePool(streamId));
+			}
+		});
+	}
+
+	/**
+	 * Copies the directory entry of the stream to the buddies of this Fog,
+	 * blocking till all of them are done
+	 */
+	public void replicate(final String streamId, final StreamMetadata metadata) {
+		HeartbeatScheduler scheduler = fog.getHeartbeatScheduler();
+		scheduler.dispatch("copy directory entry to", getBuddies(), new HeartbeatScheduler.PeerCall<NodeInfoData>() {
+
+			@Override
+			public void call(NodeInfoData node) throws Exception {
+				send(node, streamId, metadata, false);
+			}
+		});
+	}
+
+	private byte send(NodeInfoData node, String streamId, StreamMetadata metadata, boolean replicate) {
+		TTransport transport = new TFramedTransport(new TSocket(node.getNodeIP(), node.getPort(),
+				fog.getHeartbeatScheduler().getPeerTimeout()));
+		try {
+			transport.open();
+			TProtocol protocol = new TBinaryProtocol(transport);
+			FogService.Client fogClient = new FogService.Client(protocol);
+			return fogClient.registerStreamDirectory(streamId, metadata, replicate);
+		} catch (TException e) {
+			LOGGER.error("Unable to store the directory entry of streamId : " + streamId + " at Fog : "
+					+ node.getNodeId());
+			LOGGER.error("Exception is", e);
+			e.printStackTrace();
+			return Constants.FAILURE;
+		} finally {
+			transport.close();
+		}
+	}
+
+}
@@ -0,0 +1,227 @@
+package com.dreamlab.edgefs.controlplane;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dreamlab.edgefs.misc.BlockCache;
+import com.dreamlab.edgefs.misc.Constants;
+import com.dreamlab.edgefs.thrift.Metadata;
+import com.dreamlab.edgefs.thrift.ReadReplica;
+
+/**
+ * Reads ahead the blocks of a stream for readers walking it in order. The read
+ * API doesn't identify the client, so every stream keeps a few cursors, each at
+ * the last block read by one reader. A read of the block right after a cursor
+ * moves that cursor and once a cursor has moved a couple of times in a row, the
+ * next blocks of the stream present on this Fog are read from their edges into
+ * a read ahead buffer bounded in size. A read served from the buffer removes
+ * the block from it. The readers of only the streams read most recently are
+ * tracked, and a block updated while it is read ahead is not buffered.
+ */
+public class StreamPrefetcher {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(StreamPrefetcher.class);
+
+	// reads in a row after which the access is taken as sequential
+	private static final int SEQUENTIAL_READS = 2;
+
+	// readers tracked per stream
+	private static final int CURSORS_PER_STREAM = 8;
+
+	// streams whose readers are tracked, the one read least recently is dropped
+	// beyond these
+	private static final int STREAMS_TRACKED = 1024;
+
+	private final Fog fog;
+	private final int window;
+	private final BlockCache buffer;
+	// access ordered so that the eldest entry is the least recently read
+	private final Map<String, Cursor[]> cursors = new LinkedHashMap<String, Cursor[]>(16, 0.75f, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Cursor[]> eldest) {
+			return size() > STREAMS_TRACKED;
+		}
+	};
+	private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+	private final ExecutorService executor;
+
+	/**
+	 *
+	 * @param fog       the Fog whose blocks are read ahead
+	 * @param window    number of blocks read ahead of a sequential reader, 0
+	 *                  disables the read ahead
+	 * @param memoryCap maximum bytes of data in the read ahead buffer
+	 * @param threads   number of threads reading ahead
+	 */
+	public StreamPrefetcher(Fog fog, int window, long memoryCap, int threads) {
+		this.fog = fog;
+		this.window = window;
+		this.buffer = new BlockCache(memoryCap, false);
+		this.executor = Executors.newFixedThreadPool(Math.max(1, threads), new ThreadFactory() {
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "stream-prefetch");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	public boolean isEnabled() {
+		return window > 0 && buffer.isEnabled();
+	}
+
+	/**
+	 * Returns the block if it was read ahead, else null
+	 */
+	public ReadReplica take(long mbId, String compFormat, boolean fetchMetadata) {
+		if (!isEnabled()) {
+			return null;
+		}
+		ReadReplica replica = buffer.get(mbId, compFormat, fetchMetadata);
+		if (replica != null) {
+			buffer.invalidate(mbId);
+		}
+		return replica;
+	}
+
+	/**
+	 * Invoked on every read of a block to track the readers of its stream
+	 */
+	public void onRead(long mbId) {
+		if (!isEnabled()) {
+			return;
+		}
+		String streamId = fog.getMbIdToStreamIdMap().get(mbId);
+		if (streamId == null) {
+			return;
+		}
+		Cursor[] streamCursors;
+		synchronized (cursors) {
+			streamCursors = cursors.get(streamId);
+			if (streamCursors == null) {
+				streamCursors = new Cursor[CURSORS_PER_STREAM];
+				cursors.put(streamId, streamCursors);
+			}
+		}
+		long from;
+		long to;
+		synchronized (streamCursors) {
+			Cursor cursor = advance(streamCursors, mbId);
+			if (cursor.run < SEQUENTIAL_READS) {
+				return;
+			}
+			from = Math.max(mbId + 1, cursor.prefetchedUpTo + 1);
+			to = mbId + window;
+			if (from > to) {
+				return;
+			}
+			cursor.prefetchedUpTo = to;
+		}
+		for (long next = from; next <= to; next++) {
+			// only the blocks of the same stream held by the edges of this Fog
+			if (streamId.equals(fog.getMbIdToStreamIdMap().get(next)) && fog.getMbIDLocationMap().containsKey(next)) {
+				prefetch(next);
+			}
+		}
+	}
+
+	public void invalidate(long mbId) {
+		buffer.invalidate(mbId);
+	}
+
+	public Map<String, Long> getStats() {
+		Map<String, Long> stats = buffer.getStats();
+		synchronized (cursors) {
+			stats.put("streams", (long) cursors.size());
+		}
+		return stats;
+	}
+
+	private Cursor advance(Cursor[] streamCursors, long mbId) {
+		int free = -1;
+		int oldest = 0;
+		long now = System.nanoTime();
+		for (int i = 0; i < streamCursors.length; i++) {
+			Cursor cursor = streamCursors[i];
+			if (cursor == null) {
+				if (free < 0) {
+					free = i;
+				}
+				continue;
+			}
+			if (cursor.position == mbId - 1) {
+				cursor.position = mbId;
+				cursor.run++;
+				cursor.lastUsed = now;
+				return cursor;
+			}
+			if (cursor.position == mbId) {
+				// the same block read again
+				cursor.lastUsed = now;
+				return cursor;
+			}
+			if (streamCursors[oldest] != null && cursor.lastUsed < streamCursors[oldest].lastUsed) {
+				oldest = i;
+			}
+		}
+		// a new reader replaces the one not seen for the longest time
+		Cursor cursor = new Cursor();
+		cursor.position = mbId;
+		cursor.prefetchedUpTo = mbId;
+		cursor.lastUsed = now;
+		streamCursors[free >= 0 ? free : oldest] = cursor;
+		return cursor;
+	}
+
+	private void prefetch(final long mbId) {
+		final Metadata mbMetadata = fog.getBlockMetadata().get(mbId);
+		if (mbMetadata == null || buffer.contains(mbId, mbMetadata.getCompFormat())
+				|| fog.getBlockCache().contains(mbId, mbMetadata.getCompFormat()) || !inFlight.add(mbId)) {
+			return;
+		}
+		// an update while the block is read leaves the old copy out
+		final long generation = buffer.getGeneration(mbId);
+		executor.execute(new Runnable() {
+
+			@Override
+			public void run() {
+				try {
+					ReadReplica replica = fog.getReadCoordinator().read(mbId, true, mbMetadata.getCompFormat(),
+							mbMetadata.getUncompSize());
+					if (replica.getStatus() == Constants.SUCCESS) {
+						buffer.put(mbId, mbMetadata.getCompFormat(), replica, generation);
+					}
+				} catch (Exception e) {
+					LOGGER.error("Error while reading ahead microbatchId : " + mbId + " : " + e);
+					e.printStackTrace();
+				} finally {
+					inFlight.remove(mbId);
+				}
+			}
+		});
+	}
+
+	private static class Cursor {
+		// the last block read
+		private long position;
+		// number of blocks read in order
+		private int run;
+		// the last block read ahead
+		private long prefetchedUpTo;
+		private long lastUsed;
+	}
+
+}
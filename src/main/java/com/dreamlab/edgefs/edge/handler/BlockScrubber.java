@@ -0,0 +1,126 @@
+package com.dreamlab.edgefs.edge.handler;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dreamlab.edgefs.edge.model.Edge;
+import com.dreamlab.edgefs.misc.BandwidthThrottle;
+import com.dreamlab.edgefs.misc.Constants;
+
+/**
+ * Walks the blocks stored on the edge in the background, reading each one back
+ * and checking it against its stored checksum so that a block gone bad on the
+ * disk is found before a reader gets it. The reads are limited to a share of
+ * the disk bandwidth. The corrupt blocks found in a pass are reported to the
+ * Fog which copies them again from the other replicas, and once the Fog has
+ * taken note of them their files are removed from the edge.
+ */
+public class BlockScrubber implements Runnable {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(BlockScrubber.class);
+
+	private final Edge edge;
+	private final EdgeServiceHandler handler;
+	private final BandwidthThrottle throttle;
+	// in seconds
+	private final int passInterval;
+
+	// corrupt blocks not yet reported successfully
+	private final List<Long> unreported = new ArrayList<>();
+
+	/**
+	 *
+	 * @param edge               the edge whose blocks are checked
+	 * @param handler            the handler through which the blocks are read
+	 * @param megaBytesPerSecond the disk bandwidth the scrubber may use
+	 * @param passInterval       seconds between the start of two passes
+	 */
+	public BlockScrubber(Edge edge, EdgeServiceHandler handler, double megaBytesPerSecond, int passInterval) {
+		this.edge = edge;
+		this.handler = handler;
+		this.throttle = new BandwidthThrottle(megaBytesPerSecond);
+		this.passInterval = passInterval;
+	}
+
+	@Override
+	public void run() {
+		while (true) {
+			long start = System.currentTimeMillis();
+			try {
+				scrub();
+			} catch (InterruptedException e) {
+				LOGGER.error("Scrubber interrupted : " + e);
+				return;
+			} catch (Exception e) {
+				LOGGER.error("Error in the scrubber pass : " + e);
+				e.printStackTrace();
+			}
+			long sleepTime = passInterval * 1000L - (System.currentTimeMillis() - start);
+			try {
+				Thread.sleep(Math.max(sleepTime, 0));
+			} catch (InterruptedException e) {
+				LOGGER.error("Scrubber interrupted : " + e);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * A single pass over the blocks present when it starts
+	 */
+	public void scrub() throws InterruptedException {
+		File[] checksumFiles = new File(edge.getDatapath()).listFiles(new FilenameFilter() {
+
+			@Override
+			public boolean accept(File dir, String name) {
+				return name.endsWith(Constants.CHECKSUM_SUFFIX);
+			}
+		});
+		if (checksumFiles == null) {
+			return;
+		}
+		LOGGER.info("Scrubber pass over " + checksumFiles.length + " blocks, startTime=" + System.currentTimeMillis());
+		for (File checksumFile : checksumFiles) {
+			String name = checksumFile.getName();
+			long mbId;
+			try {
+				mbId = Long.parseLong(name.substring(0, name.length() - Constants.CHECKSUM_SUFFIX.length()));
+			} catch (NumberFormatException e) {
+				continue;
+			}
+			if (unreported.contains(mbId)) {
+				continue;
+			}
+			throttle.acquire(getStoredSize(mbId));
+			// the block may have been removed since the listing
+			if (checksumFile.exists() && !handler.verifyBlock(mbId)) {
+				LOGGER.error("MicrobatchId : " + mbId + " found corrupt by the scrubber");
+				unreported.add(mbId);
+			}
+		}
+		LOGGER.info("Scrubber pass done, endTime=" + System.currentTimeMillis());
+		if (unreported.isEmpty()) {
+			return;
+		}
+		// reported again in the next pass if the Fog can't be reached
+		if (edge.reportCorruptBlocksToFog(new ArrayList<Long>(unreported))) {
+			for (Long mbId : unreported) {
+				handler.deleteBlock(mbId);
+			}
+			unreported.clear();
+		}
+	}
+
+	// bytes read from the disk for the block
+	private long getStoredSize(long mbId) {
+		String prefix = edge.getDatapath() + "/" + mbId;
+		return new File(prefix + ".data").length() + new File(prefix + ".data.gz").length()
+				+ new File(prefix + ".data.snappy").length();
+	}
+
+}
@@ -0,0 +1,173 @@
+package com.dreamlab.edgefs.edge.handler;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.UUID;
+
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+import org.apache.commons.io.output.CountingOutputStream;
+import org.xerial.snappy.SnappyOutputStream;
+
+import com.dreamlab.edgefs.misc.BlockChecksum;
+import com.dreamlab.edgefs.misc.Constants;
+
+/**
+ * Compresses and writes a block as its data arrives in pieces, so that a block
+ * sent in chunks is never held in memory as a whole. The files are the same as
+ * the ones written by CompressionAndDecompression for the format, which are
+ * read back the same way. The data goes to a part file named by the transfer,
+ * so that concurrent transfers of the same block don't write to the same file,
+ * which is moved in place only when the writer is finished.
+ */
+public class ChunkedBlockWriter {
+
+	private final String compFormat;
+	private final String dataPath;
+	private final String partPath;
+	private final CountingOutputStream cos;
+	private OutputStream out;
+
+	// gzip members are written for every COMPRESSION_CHUNK_SIZE bytes, same as
+	// compressAndWriteGzip, so the data of the current member is buffered
+	private byte[] gzipBuffer;
+	private int gzipBuffered;
+	private long[] gzipOffsets = new long[16];
+	private int gzipMembers;
+
+	private long written;
+	private final BlockChecksum checksum = new BlockChecksum();
+
+	/**
+	 *
+	 * @param filePath   path of the block without the extension of the format
+	 * @param compFormat one of Gzip, Snappy or NA
+	 */
+	public ChunkedBlockWriter(String filePath, String compFormat) throws IOException {
+		this(filePath, compFormat, UUID.randomUUID().toString());
+	}
+
+	/**
+	 *
+	 * @param filePath   path of the block without the extension of the format
+	 * @param compFormat one of Gzip, Snappy or NA
+	 * @param transferId id of the transfer, part of the name of the part file
+	 */
+	public ChunkedBlockWriter(String filePath, String compFormat, String transferId) throws IOException {
+		this.compFormat = compFormat;
+		if ("Gzip".equals(compFormat)) {
+			dataPath = filePath + ".gz";
+		} else if ("Snappy".equals(compFormat)) {
+			dataPath = filePath + ".snappy";
+		} else if ("NA".equals(compFormat)) {
+			dataPath = filePath;
+		} else {
+			throw new IOException("Unknown compression format " + compFormat);
+		}
+		partPath = dataPath + "." + transferId + Constants.TRANSFER_PART_SUFFIX;
+		cos = new CountingOutputStream(new BufferedOutputStream(new FileOutputStream(partPath)));
+		if ("Gzip".equals(compFormat)) {
+			gzipBuffer = new byte[Constants.COMPRESSION_CHUNK_SIZE];
+			out = cos;
+		} else if ("Snappy".equals(compFormat)) {
+			out = new SnappyOutputStream(cos);
+		} else {
+			out = cos;
+		}
+	}
+
+	/**
+	 * Number of uncompressed bytes written so far
+	 */
+	public long getWritten() {
+		return written;
+	}
+
+	/**
+	 * Checksum of the uncompressed bytes written so far
+	 */
+	public BlockChecksum getChecksum() {
+		return checksum;
+	}
+
+	public void write(byte[] data, int offset, int length) throws IOException {
+		written += length;
+		checksum.update(data, offset, length);
+		if (gzipBuffer == null) {
+			out.write(data, offset, length);
+			return;
+		}
+		while (length > 0) {
+			int copied = Math.min(length, gzipBuffer.length - gzipBuffered);
+			System.arraycopy(data, offset, gzipBuffer, gzipBuffered, copied);
+			gzipBuffered += copied;
+			offset += copied;
+			length -= copied;
+			if (gzipBuffered == gzipBuffer.length) {
+				writeGzipMember();
+			}
+		}
+	}
+
+	/**
+	 * Completes the block and moves it in place, returns the bytes written to
+	 * the disk. Fails if the block is already present
+	 */
+	public int finish() throws IOException {
+		try {
+			if (gzipBuffer != null && (gzipBuffered > 0 || gzipMembers == 0)) {
+				writeGzipMember();
+			}
+			out.close();
+			// checked before the index of the present block is overwritten
+			if (new File(dataPath).exists()) {
+				throw new FileAlreadyExistsException(dataPath);
+			}
+			if (gzipBuffer != null) {
+				CompressionAndDecompression.writeChunkIndex(dataPath + Constants.CHUNK_INDEX_SUFFIX,
+						gzipBuffer.length, Arrays.copyOf(gzipOffsets, gzipMembers));
+			}
+			Files.move(Paths.get(partPath), Paths.get(dataPath));
+		} catch (IOException e) {
+			abort();
+			throw e;
+		}
+		return cos.getCount();
+	}
+
+	/**
+	 * Discards whatever has been written
+	 */
+	public void abort() {
+		try {
+			out.close();
+		} catch (IOException e) {
+			// the part file is removed anyway
+		}
+		new File(partPath).delete();
+	}
+
+	private void writeGzipMember() throws IOException {
+		if (gzipMembers == gzipOffsets.length) {
+			gzipOffsets = Arrays.copyOf(gzipOffsets, gzipMembers * 2);
+		}
+		gzipOffsets[gzipMembers++] = cos.getCount();
+		GzipCompressorOutputStream gzOut = new GzipCompressorOutputStream(cos);
+		gzOut.write(gzipBuffer, 0, gzipBuffered);
+		// finish the member without closing the file
+		gzOut.finish();
+		gzipBuffered = 0;
+	}
+
+	@Override
+	public String toString() {
+		return compFormat + " writer for " + dataPath;
+	}
+
+}
@@ -13,6 +13,12 @@ import java.io.OutputStream;
 import java.io.IOException;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
 
 import org.apache.commons.io.output.CountingOutputStream;
 import org.apache.commons.io.FileUtils;
@@ -20,8 +26,13 @@ import org.apache.thrift.TException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.dreamlab.edgefs.misc.Constants;
+
 import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
 import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+import org.apache.commons.compress.utils.IOUtils;
+import org.xerial.snappy.Snappy;
+import org.xerial.snappy.SnappyCodec;
 import org.xerial.snappy.SnappyInputStream;
 import org.xerial.snappy.SnappyOutputStream;
 
@@ -29,12 +40,16 @@ import org.xerial.snappy.SnappyOutputStream;
 public class CompressionAndDecompression implements CompressionAndDecompressionIFace {
 	//private static final Logger LOGGERCND = LoggerFactory.getLogger(EdgeServiceHandler.class);
 	
+	// the block is written as a series of gzip members of COMPRESSION_CHUNK_SIZE
+	// bytes each, which is still a valid gzip file, along with an index of the
+	// offsets of the members so that a range is read by decompressing only the
+	// members it spans
 	@Override
 	public int compressAndWriteGzip(String filePath, byte[] mbDataInBytesArray) {
 		//LOGGERCND.info("Starting compression : Gzip");
 		filePath = filePath.concat(".gz");
 		int compressedSize = -1; // if this value is returned it implies that the compression is not successful
-		GzipCompressorOutputStream gzOut = null;
+		CountingOutputStream cos = null;
 		try {
 			Path newFilePath = Paths.get(filePath);
 			OutputStream os = Files.newOutputStream(Files.createFile(newFilePath));
@@ -42,16 +57,28 @@ public class CompressionAndDecompression implements CompressionAndDecompressionI
 			// this is used to capture the size of the file after compression and storage.
 			// wrapping it in a counting stream saves a disk read in order to get the
 			// sized of the compressed block
-			CountingOutputStream cos = new CountingOutputStream(bos);
-			gzOut = new GzipCompressorOutputStream(cos);
-			gzOut.write(mbDataInBytesArray);
+			cos = new CountingOutputStream(bos);
+			int chunkSize = Constants.COMPRESSION_CHUNK_SIZE;
+			int chunks = Math.max(1, (mbDataInBytesArray.length + chunkSize - 1) / chunkSize);
+			long[] offsets = new long[chunks];
+			for (int i = 0; i < chunks; i++) {
+				offsets[i] = cos.getCount();
+				int from = i * chunkSize;
+				GzipCompressorOutputStream gzOut = new GzipCompressorOutputStream(cos);
+				gzOut.write(mbDataInBytesArray, from, Math.min(chunkSize, mbDataInBytesArray.length - from));
+				// finish the member without closing the file
+				gzOut.finish();
+			}
+			cos.flush();
 			compressedSize = cos.getCount();
-
+			writeChunkIndex(filePath + Constants.CHUNK_INDEX_SUFFIX, chunkSize, offsets);
 		} catch (IOException e) {
 			e.printStackTrace();
 		} finally {
 			try {
-				gzOut.close();
+				if (cos != null) {
+					cos.close();
+				}
 			} catch (IOException e) {
 				e.printStackTrace();
 			}
@@ -70,9 +97,10 @@ public class CompressionAndDecompression implements CompressionAndDecompressionI
 			Path targetFilePath = Paths.get(filePath);
 			InputStream is = Files.newInputStream(targetFilePath);
 			BufferedInputStream bis = new BufferedInputStream(is);
-			gzIn = new GzipCompressorInputStream(bis);
+			// the block is made of multiple gzip members
+			gzIn = new GzipCompressorInputStream(bis, true);
 			byteArray = new byte[(int)uncompSize];
-			gzIn.read(byteArray);
+			IOUtils.readFully(gzIn, byteArray);
 			return byteArray;
 		} catch (IOException e) {
 			e.printStackTrace();
@@ -174,4 +202,177 @@ public class CompressionAndDecompression implements CompressionAndDecompressionI
 		return byteArray;
 	}
 
+
+	@Override
+	public byte[] readRangeNA(String filePath, long offset, int length) {
+		RandomAccessFile file = null;
+		try {
+			file = new RandomAccessFile(filePath, "r");
+			int available = (int) Math.max(0, Math.min(length, file.length() - offset));
+			byte[] byteArray = new byte[available];
+			file.seek(offset);
+			file.readFully(byteArray);
+			return byteArray;
+		} catch (IOException e) {
+			e.printStackTrace();
+		} finally {
+			try {
+				if (file != null) {
+					file.close();
+				}
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public byte[] readRangeGzip(String filePath, long offset, int length) {
+		filePath = filePath.concat(".gz");
+		InputStream is = null;
+		try {
+			is = new BufferedInputStream(Files.newInputStream(Paths.get(filePath)));
+			long skip = offset;
+			long[] index = readChunkIndex(filePath + Constants.CHUNK_INDEX_SUFFIX);
+			if (index != null) {
+				// start from the member holding the offset, index[0] is the chunk size
+				int chunk = (int) Math.min(offset / index[0], index.length - 2);
+				IOUtils.skip(is, index[chunk + 1]);
+				skip = offset - chunk * index[0];
+			}
+			// a block written before the index was kept is decompressed up to
+			// the end of the range, not beyond
+			GzipCompressorInputStream gzIn = new GzipCompressorInputStream(is, true);
+			IOUtils.skip(gzIn, skip);
+			byte[] byteArray = new byte[length];
+			int read = IOUtils.readFully(gzIn, byteArray);
+			return read == length ? byteArray : Arrays.copyOf(byteArray, read);
+		} catch (IOException e) {
+			e.printStackTrace();
+		} finally {
+			try {
+				if (is != null) {
+					is.close();
+				}
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+		return null;
+	}
+
+	// SnappyOutputStream already writes the block as a header followed by
+	// chunks, each prefixed with its compressed length, and every compressed
+	// chunk starts with its uncompressed length. So the chunks before the range
+	// are skipped without being decompressed
+	@Override
+	public byte[] readRangeSnappy(String filePath, long offset, int length) {
+		String snappyPath = filePath.concat(".snappy");
+		DataInputStream in = null;
+		try {
+			in = new DataInputStream(new BufferedInputStream(Files.newInputStream(Paths.get(snappyPath))));
+			SnappyCodec header = SnappyCodec.readHeader(in);
+			if (!header.isValidMagicHeader()) {
+				in.close();
+				in = null;
+				// not in the chunked format, read it all
+				SnappyInputStream snIn = new SnappyInputStream(
+						new BufferedInputStream(Files.newInputStream(Paths.get(snappyPath))));
+				try {
+					IOUtils.skip(snIn, offset);
+					byte[] byteArray = new byte[length];
+					int read = IOUtils.readFully(snIn, byteArray);
+					return read == length ? byteArray : Arrays.copyOf(byteArray, read);
+				} finally {
+					snIn.close();
+				}
+			}
+			ByteArrayOutputStream out = new ByteArrayOutputStream(length);
+			long chunkStart = 0;
+			long end = offset + length;
+			while (chunkStart < end) {
+				int compressedLength;
+				try {
+					compressedLength = in.readInt();
+				} catch (EOFException e) {
+					break;
+				}
+				byte[] varint = new byte[Math.min(5, compressedLength)];
+				in.readFully(varint);
+				int uncompressedLength = readVarint(varint);
+				if (chunkStart + uncompressedLength <= offset) {
+					in.skipBytes(compressedLength - varint.length);
+				} else {
+					byte[] compressed = Arrays.copyOf(varint, compressedLength);
+					in.readFully(compressed, varint.length, compressedLength - varint.length);
+					byte[] chunk = Snappy.uncompress(compressed);
+					int from = (int) Math.max(0, offset - chunkStart);
+					int to = (int) Math.min(chunk.length, end - chunkStart);
+					out.write(chunk, from, to - from);
+				}
+				chunkStart += uncompressedLength;
+			}
+			return out.toByteArray();
+		} catch (IOException e) {
+			e.printStackTrace();
+		} finally {
+			try {
+				if (in != null) {
+					in.close();
+				}
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+		return null;
+	}
+
+	static void writeChunkIndex(String indexPath, int chunkSize, long[] offsets) throws IOException {
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(indexPath)));
+		try {
+			out.writeInt(chunkSize);
+			out.writeInt(offsets.length);
+			for (long chunkOffset : offsets) {
+				out.writeLong(chunkOffset);
+			}
+		} finally {
+			out.close();
+		}
+	}
+
+	// returns the chunk size followed by the offsets of the chunks, or null if
+	// the block has no index
+	private static long[] readChunkIndex(String indexPath) throws IOException {
+		File indexFile = new File(indexPath);
+		if (!indexFile.exists()) {
+			return null;
+		}
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)));
+		try {
+			int chunkSize = in.readInt();
+			int chunks = in.readInt();
+			long[] index = new long[chunks + 1];
+			index[0] = chunkSize;
+			for (int i = 1; i <= chunks; i++) {
+				index[i] = in.readLong();
+			}
+			return index;
+		} finally {
+			in.close();
+		}
+	}
+
+	// the uncompressed length at the start of a raw snappy chunk
+	private static int readVarint(byte[] bytes) throws IOException {
+		int value = 0;
+		for (int i = 0; i < bytes.length; i++) {
+			value |= (bytes[i] & 0x7f) << (7 * i);
+			if ((bytes[i] & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Invalid snappy chunk");
+	}
+
 }
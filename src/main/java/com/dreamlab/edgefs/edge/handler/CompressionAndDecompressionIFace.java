@@ -17,4 +17,12 @@ public interface CompressionAndDecompressionIFace{
   int compressAndWriteNA(String filePath, byte[] mbDataInBytesArray);
   // returns the data that is read
   byte[] decompressAndReadNA(String filePath,long uncompSize);
+
+  // returns length bytes of the block starting at offset, fewer if the block
+  // ends before that
+  byte[] readRangeSnappy(String filePath, long offset, int length);
+
+  byte[] readRangeGzip(String filePath, long offset, int length);
+
+  byte[] readRangeNA(String filePath, long offset, int length);
 }
@@ -1,5 +1,7 @@
 package com.dreamlab.edgefs.edge.handler;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -8,15 +10,20 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import java.lang.reflect.Method;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.thrift.TException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.dreamlab.edgefs.edge.model.Edge;
+import com.dreamlab.edgefs.misc.BlockChecksum;
 import com.dreamlab.edgefs.misc.Constants;
 import com.dreamlab.edgefs.thrift.EdgeService;
 import com.dreamlab.edgefs.thrift.Metadata;
@@ -29,6 +36,9 @@ public class EdgeServiceHandler implements EdgeService.Iface {
 
 	private Edge edge;
 
+	// blocks being written in chunks by their transfer id
+	private final Map<String, BlockTransfer> transfers = new ConcurrentHashMap<>();
+
 	public EdgeServiceHandler(Edge edge) {
 		super();
 		this.edge = edge;
@@ -49,6 +59,12 @@ public class EdgeServiceHandler implements EdgeService.Iface {
 				byte[] mbDataInBytesArray = new byte[length];
 				mbData.get(mbDataInBytesArray);
 
+				BlockChecksum checksum = new BlockChecksum();
+				checksum.update(mbDataInBytesArray, 0, length);
+				if (!verifyChecksum(mbMetadata, checksum)) {
+					return wrResponse;
+				}
+
 				String filePath = edge.getDatapath() + "/" + mbId + ".data";
 				CompressionAndDecompression compAndDecompObj = new CompressionAndDecompression();
 				Class cls = compAndDecompObj.getClass();
@@ -62,14 +78,10 @@ public class EdgeServiceHandler implements EdgeService.Iface {
 				int mbSize = mbSizeWritten/(1000 * 1000);
 				edge.setStorage(edge.getStorage() - mbSize);
 
-				// Metadata
-				File metaFile = new File(edge.getDatapath() + "/" + mbId + ".meta");
-				FileOutputStream foStream = new FileOutputStream(metaFile);
-				ObjectOutputStream objStream = new ObjectOutputStream(foStream);
+				writeChecksum(mbId, length, checksum);
 
-				objStream.writeObject(mbMetadata);
-				objStream.close();
-				foStream.close();
+				// Metadata
+				writeMetadata(mbId, mbMetadata);
 
 				LOGGER.info(
 						"MicrobatchId : " + mbMetadata.getMbId()+", format : "+mbMetadata.getCompFormat() + ", write, endTime=" + System.currentTimeMillis());
@@ -86,6 +98,254 @@ public class EdgeServiceHandler implements EdgeService.Iface {
 		return wrResponse;
 	}
 
+	private void writeMetadata(long mbId, Metadata mbMetadata) throws IOException {
+		File metaFile = new File(edge.getDatapath() + "/" + mbId + ".meta");
+		FileOutputStream foStream = new FileOutputStream(metaFile);
+		ObjectOutputStream objStream = new ObjectOutputStream(foStream);
+
+		objStream.writeObject(mbMetadata);
+		objStream.close();
+		foStream.close();
+	}
+
+	// checks the data received against the checksum sent with it, the computed
+	// checksum is kept in the metadata if none or one in another format was sent
+	private boolean verifyChecksum(Metadata mbMetadata, BlockChecksum checksum) {
+		if (!BlockChecksum.isVerifiable(mbMetadata.getChecksum())) {
+			mbMetadata.setChecksum(checksum.toString());
+			return true;
+		}
+		if (!BlockChecksum.matches(mbMetadata.getChecksum(), checksum.toString())) {
+			LOGGER.error("MicrobatchId : " + mbMetadata.getMbId() + ", checksum mismatch, expected "
+					+ mbMetadata.getChecksum() + " but got " + checksum);
+			return false;
+		}
+		return true;
+	}
+
+	// the checksum is kept along with the length of the data it covers since
+	// the reads are sized by the client
+	private void writeChecksum(long mbId, long length, BlockChecksum checksum) throws IOException {
+		File checksumFile = new File(edge.getDatapath() + "/" + mbId + Constants.CHECKSUM_SUFFIX);
+		DataOutputStream out = new DataOutputStream(new FileOutputStream(checksumFile));
+		try {
+			out.writeLong(length);
+			out.writeInt(checksum.getValue());
+		} finally {
+			out.close();
+		}
+	}
+
+	// returns the length of the data and its checksum, null if the block was
+	// written before checksums were stored
+	private long[] readChecksum(long mbId) throws IOException {
+		File checksumFile = new File(edge.getDatapath() + "/" + mbId + Constants.CHECKSUM_SUFFIX);
+		if (!checksumFile.exists()) {
+			return null;
+		}
+		DataInputStream in = new DataInputStream(new FileInputStream(checksumFile));
+		try {
+			return new long[] { in.readLong(), in.readInt() };
+		} finally {
+			in.close();
+		}
+	}
+
+	// returns false if the data doesn't match the stored checksum, a block
+	// without a stored checksum is not checked
+	private boolean checkStoredChecksum(long mbId, byte[] data) throws IOException {
+		long[] stored = readChecksum(mbId);
+		if (stored == null) {
+			return true;
+		}
+		if (data.length < stored[0]) {
+			return false;
+		}
+		BlockChecksum checksum = new BlockChecksum();
+		checksum.update(data, 0, (int) stored[0]);
+		return checksum.getValue() == (int) stored[1];
+	}
+
+	/**
+	 * Reads the block back and checks it against its stored checksum, used by
+	 * the scrubber. Returns false if the block could not be read or doesn't
+	 * match, true if it matches or has no stored checksum
+	 */
+	boolean verifyBlock(long mbId) {
+		try {
+			long[] stored = readChecksum(mbId);
+			if (stored == null) {
+				return true;
+			}
+			ReadReplica replica = getMetadata(mbId);
+			if (replica.getStatus() != Constants.SUCCESS) {
+				return false;
+			}
+			// the stored length is what was written so the read is sized by it
+			String compFormat = replica.getMetadata().getCompFormat();
+			return read(mbId, (byte) 0, compFormat, stored[0]).getStatus() == Constants.SUCCESS;
+		} catch (IOException | TException e) {
+			LOGGER.error("Error while verifying the microbatchId : " + mbId + " : " + e);
+			e.printStackTrace();
+		}
+		return false;
+	}
+
+	/**
+	 * Removes all the files of a block
+	 * 
+	 * @return the bytes of data freed on the disk, 0 if the block was not present
+	 */
+	long deleteBlock(long mbId) {
+		String prefix = edge.getDatapath() + "/" + mbId;
+		String[] suffixes = { ".data", ".data.gz", ".data.gz" + Constants.CHUNK_INDEX_SUFFIX, ".data.snappy",
+				".meta", Constants.CHECKSUM_SUFFIX };
+		long freed = 0;
+		for (String suffix : suffixes) {
+			File file = new File(prefix + suffix);
+			long length = file.length();
+			if (file.delete() && suffix.startsWith(".data")) {
+				freed += length;
+			}
+		}
+		return freed;
+	}
+
+	@Override
+	public byte deleteBlocks(List<Long> mbIds) throws TException {
+		if (mbIds == null) {
+			return Constants.FAILURE;
+		}
+		LOGGER.info("Deleting " + mbIds.size() + " microbatches, startTime=" + System.currentTimeMillis());
+		for (Long mbId : mbIds) {
+			long freed = deleteBlock(mbId);
+			// given back the same way it is taken on a write
+			edge.setStorage(edge.getStorage() + freed / (1000 * 1000));
+		}
+		LOGGER.info("Deleting " + mbIds.size() + " microbatches, endTime=" + System.currentTimeMillis());
+		return Constants.SUCCESS;
+	}
+
+	@Override
+	public String openWrite(long mbId, Metadata mbMetadata) throws TException {
+		if (mbMetadata == null) {
+			return "";
+		}
+		abortIdleTransfers(Constants.TRANSFER_IDLE_TIMEOUT * 1000L);
+		if (transfers.size() >= Constants.MAX_OPEN_TRANSFERS) {
+			LOGGER.error("Too many open transfers, not writing the microbatch " + mbId);
+			return "";
+		}
+		String filePath = edge.getDatapath() + "/" + mbId + ".data";
+		try {
+			String transferId = UUID.randomUUID().toString();
+			BlockTransfer transfer = new BlockTransfer(mbId, mbMetadata,
+					new ChunkedBlockWriter(filePath, mbMetadata.getCompFormat(), transferId));
+			transfers.put(transferId, transfer);
+			LOGGER.info("MicrobatchId : " + mbId + ", format : " + mbMetadata.getCompFormat()
+					+ ", openWrite, startTime=" + System.currentTimeMillis());
+			return transferId;
+		} catch (IOException e) {
+			LOGGER.error("Error while opening the write of microbatch " + mbId + " : " + e);
+			e.printStackTrace();
+		}
+		return "";
+	}
+
+	@Override
+	public byte writeChunk(String transferId, long offset, ByteBuffer data) throws TException {
+		BlockTransfer transfer = transfers.get(transferId);
+		if (transfer == null || data == null) {
+			return Constants.FAILURE;
+		}
+		synchronized (transfer) {
+			// chunks are expected in order, a repeated or missing chunk fails
+			// the transfer
+			if (offset != transfer.writer.getWritten()) {
+				LOGGER.error("MicrobatchId : " + transfer.mbId + ", expected chunk at " + transfer.writer.getWritten()
+						+ " but got " + offset);
+				abortWrite(transferId);
+				return Constants.FAILURE;
+			}
+			try {
+				int length = data.remaining();
+				if (data.hasArray()) {
+					transfer.writer.write(data.array(), data.arrayOffset() + data.position(), length);
+				} else {
+					byte[] chunk = new byte[length];
+					data.get(chunk);
+					transfer.writer.write(chunk, 0, length);
+				}
+				transfer.lastUsed = System.currentTimeMillis();
+			} catch (IOException e) {
+				LOGGER.error("Error while writing a chunk of the microbatch " + transfer.mbId + " : " + e);
+				e.printStackTrace();
+				abortWrite(transferId);
+				return Constants.FAILURE;
+			}
+		}
+		return Constants.SUCCESS;
+	}
+
+	@Override
+	public WriteResponse commitWrite(String transferId) throws TException {
+		WriteResponse wrResponse = new WriteResponse();
+		wrResponse.setStatus(Constants.FAILURE);
+		BlockTransfer transfer = transfers.remove(transferId);
+		if (transfer == null) {
+			return wrResponse;
+		}
+		synchronized (transfer) {
+			try {
+				if (!verifyChecksum(transfer.mbMetadata, transfer.writer.getChecksum())) {
+					transfer.writer.abort();
+					return wrResponse;
+				}
+				int mbSizeWritten = transfer.writer.finish();
+				int mbSize = mbSizeWritten / (1000 * 1000);
+				edge.setStorage(edge.getStorage() - mbSize);
+				writeChecksum(transfer.mbId, transfer.writer.getWritten(), transfer.writer.getChecksum());
+				writeMetadata(transfer.mbId, transfer.mbMetadata);
+
+				LOGGER.info("MicrobatchId : " + transfer.mbId + ", format : " + transfer.mbMetadata.getCompFormat()
+						+ ", commitWrite, endTime=" + System.currentTimeMillis());
+				wrResponse.setStatus(Constants.SUCCESS);
+				wrResponse.setReliability(edge.getReliability());
+			} catch (IOException e) {
+				LOGGER.error("Error while committing the microbatch " + transfer.mbId + " : " + e);
+				e.printStackTrace();
+			}
+		}
+		return wrResponse;
+	}
+
+	@Override
+	public byte abortWrite(String transferId) throws TException {
+		BlockTransfer transfer = transfers.remove(transferId);
+		if (transfer == null) {
+			return Constants.FAILURE;
+		}
+		synchronized (transfer) {
+			transfer.writer.abort();
+		}
+		LOGGER.info("MicrobatchId : " + transfer.mbId + ", write aborted");
+		return Constants.SUCCESS;
+	}
+
+	/**
+	 * Aborts the transfers abandoned by their clients, the ones with no chunk
+	 * sent for the given milliseconds. Run periodically and when a transfer is
+	 * opened
+	 */
+	public void abortIdleTransfers(long idleTimeout) throws TException {
+		long idleSince = System.currentTimeMillis() - idleTimeout;
+		for (Entry<String, BlockTransfer> entry : transfers.entrySet()) {
+			if (entry.getValue().lastUsed < idleSince) {
+				abortWrite(entry.getKey());
+			}
+		}
+	}
+
 	@Override
 	public ReadReplica read(long mbId, byte fetchMetadata, String compFormat,long uncompSize) throws TException {
 		ReadReplica replica = new ReadReplica();
@@ -99,6 +359,13 @@ public class EdgeServiceHandler implements EdgeService.Iface {
 			byte[] byteArray = (byte[]) decompressAndReadMethod.invoke(compAndDecompObj, filePath,uncompSize);
 			//byte[] byteArray = FileUtils.readFileToByteArray(mbFile);
 			if (byteArray != null) {
+				// a copy that has gone bad is reported so that the block is
+				// read from another replica
+				if (!checkStoredChecksum(mbId, byteArray)) {
+					LOGGER.error("MicrobatchId : " + mbId + ", checksum mismatch while reading");
+					replica.setStatus(Constants.CORRUPT);
+					return replica;
+				}
 				replica.setData(byteArray);
 			} else {
 				return replica;
@@ -131,6 +398,33 @@ public class EdgeServiceHandler implements EdgeService.Iface {
 		return replica;
 	}
 
+	@Override
+	public ReadReplica readRange(long mbId, String compFormat, long offset, long length) throws TException {
+		ReadReplica replica = new ReadReplica();
+		replica.setStatus(Constants.FAILURE);
+		if (offset < 0 || length <= 0 || length > Integer.MAX_VALUE) {
+			return replica;
+		}
+		String filePath = edge.getDatapath() + "/" + mbId + ".data";
+		try {
+			CompressionAndDecompression compAndDecompObj = new CompressionAndDecompression();
+			Class cls = compAndDecompObj.getClass();
+			Method readRangeMethod = cls.getDeclaredMethod("readRange" + compFormat, String.class, long.class,
+					int.class);
+			byte[] byteArray = (byte[]) readRangeMethod.invoke(compAndDecompObj, filePath, offset, (int) length);
+			if (byteArray == null) {
+				return replica;
+			}
+			replica.setData(byteArray);
+		} catch (Exception e) {
+			LOGGER.error("Error while reading a range of the microbatchId : " + mbId);
+			e.printStackTrace();
+			return replica;
+		}
+		replica.setStatus(Constants.SUCCESS);
+		return replica;
+	}
+
 	@Override
 	public ReadReplica getMetadata(long mbId) throws TException {
 		ReadReplica replica = new ReadReplica();
@@ -188,11 +482,34 @@ public class EdgeServiceHandler implements EdgeService.Iface {
 				LOGGER.info(
 						"MicrobatchId : " + mbMetadata.getMbId() + ", write, startTime=" + System.currentTimeMillis());
 
-				// data
-				File myFile = new File(edge.getDatapath() + "/" + mbId + ".data");
-				FileUtils.writeByteArrayToFile(myFile, mbData.array());
+				// the buffer may be a slice of the whole frame, so only the
+				// remaining bytes are the block
+				int length = mbData.remaining();
+				byte[] mbDataInBytesArray = new byte[length];
+				mbData.get(mbDataInBytesArray);
 
-				int mbSize = mbData.array().length/(1000 * 1000);
+				BlockChecksum checksum = new BlockChecksum();
+				checksum.update(mbDataInBytesArray, 0, length);
+				if (!verifyChecksum(mbMetadata, checksum)) {
+					return wrResponse;
+				}
+
+				// the previous version may be in another format, and a format
+				// can't write over an existing file
+				long freed = deleteBlock(mbId);
+				edge.setStorage(edge.getStorage() + freed / (1000 * 1000));
+
+				// data, written in the block's format like a write so that the
+				// stored checksum of the uncompressed bytes holds on a read
+				String filePath = edge.getDatapath() + "/" + mbId + ".data";
+				CompressionAndDecompression compAndDecompObj = new CompressionAndDecompression();
+				Class cls = compAndDecompObj.getClass();
+				Method compressAndWriteMethod = cls.getDeclaredMethod("compressAndWrite" + mbMetadata.getCompFormat(),String.class,byte[].class);
+				int mbSizeWritten = (int) compressAndWriteMethod.invoke(compAndDecompObj,filePath,mbDataInBytesArray);
+
+				writeChecksum(mbId, length, checksum);
+
+				int mbSize = mbSizeWritten/(1000 * 1000);
 				edge.setStorage(edge.getStorage() - mbSize);
 
 				// Metadata
@@ -212,9 +529,29 @@ public class EdgeServiceHandler implements EdgeService.Iface {
 			} catch (IOException e) {
 				LOGGER.error("Error while writing the microbatch " + e);
 				e.printStackTrace();
+			} catch(Exception e){
+				e.printStackTrace();
 			}
 		}
 		return wrResponse;
 	}
 
+	/**
+	 * A block being written in chunks
+	 */
+	private static class BlockTransfer {
+
+		private final long mbId;
+		private final Metadata mbMetadata;
+		private final ChunkedBlockWriter writer;
+		private volatile long lastUsed;
+
+		BlockTransfer(long mbId, Metadata mbMetadata, ChunkedBlockWriter writer) {
+			this.mbId = mbId;
+			this.mbMetadata = mbMetadata;
+			this.writer = writer;
+			this.lastUsed = System.currentTimeMillis();
+		}
+	}
+
 }
@@ -1,6 +1,7 @@
 package com.dreamlab.edgefs.edge.model;
 
 import java.io.File;
+import java.util.List;
 
 import org.apache.thrift.TException;
 import org.apache.thrift.protocol.TBinaryProtocol;
@@ -158,6 +159,30 @@ public class Edge {
 		}
 	}
 
+	// returns true if the Fog has taken note of the corrupt blocks
+	public boolean reportCorruptBlocksToFog(List<Long> mbIds) {
+		TTransport transport = new TFramedTransport(new TSocket(fogIp, fogPort));
+		try {
+			transport.open();
+		} catch (TTransportException e) {
+			transport.close();
+			LOGGER.error("Error opening connection to FogIp : {} and port : {}", fogIp, fogPort);
+			e.printStackTrace();
+			return false;
+		}
+		TProtocol protocol = new TBinaryProtocol(transport);
+		FogService.Client fogClient = new FogService.Client(protocol);
+		try {
+			return fogClient.reportCorruptBlocks(nodeId, mbIds) == Constants.SUCCESS;
+		} catch (TException e) {
+			LOGGER.error("Error in reporting corrupt blocks to FogIp : {} and port : {}", fogIp, fogPort);
+			e.printStackTrace();
+		} finally {
+			transport.close();
+		}
+		return false;
+	}
+
 	public void sendHeartbeatToFog() {
 		//create the payload first
 		EdgePayload payload = createEdgePayload();
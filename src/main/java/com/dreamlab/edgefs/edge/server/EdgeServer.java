@@ -1,5 +1,6 @@
 package com.dreamlab.edgefs.edge.server;
 
+import org.apache.thrift.TException;
 import org.apache.thrift.server.TNonblockingServer;
 import org.apache.thrift.server.TServer;
 import org.apache.thrift.transport.TNonblockingServerSocket;
@@ -7,8 +8,10 @@ import org.apache.thrift.transport.TNonblockingServerTransport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.dreamlab.edgefs.edge.handler.BlockScrubber;
 import com.dreamlab.edgefs.edge.handler.EdgeServiceHandler;
 import com.dreamlab.edgefs.edge.model.Edge;
+import com.dreamlab.edgefs.misc.Constants;
 import com.dreamlab.edgefs.misc.EdgeConstants;
 import com.dreamlab.edgefs.thrift.EdgeService;
 
@@ -37,6 +40,11 @@ public class EdgeServer {
 		int fogPort = Integer.parseInt(args[5]);
 		String dataPath = args[6];
 		String baseLog = args[7];
+		// optional, the disk bandwidth in MB/s for the block scrubber
+		double scrubBandwidth = EdgeConstants.SCRUB_BANDWIDTH;
+		if (args.length > 8) {
+			scrubBandwidth = Double.parseDouble(args[8]);
+		}
 
 		Edge self = new Edge(edgeId, edgeIp, edgePort, (byte) reliability,
 				fogIp, fogPort, dataPath, baseLog);
@@ -77,6 +85,37 @@ public class EdgeServer {
 			Thread t2 = new Thread(heartbeatToFog);
 			t2.start();
 
+			// the part files of transfers abandoned by their clients are removed
+			// even when no other transfer is opened
+			Runnable transferReaper = new Runnable() {
+
+				@Override
+				public void run() {
+					while (true) {
+						try {
+							Thread.sleep(Constants.TRANSFER_REAP_INTERVAL * 1000L);
+							edgeServiceHandler.abortIdleTransfers(Constants.TRANSFER_IDLE_TIMEOUT * 1000L);
+						} catch (InterruptedException e) {
+							LOGGER.error("Transfer reaper interrupted : " + e);
+							return;
+						} catch (TException e) {
+							LOGGER.error("Error while aborting the idle transfers : " + e);
+							e.printStackTrace();
+						}
+					}
+				}
+			};
+			Thread reaper = new Thread(transferReaper, "transfer-reaper");
+			reaper.setDaemon(true);
+			reaper.start();
+
+			if (scrubBandwidth > 0) {
+				Thread scrubber = new Thread(new BlockScrubber(self, edgeServiceHandler, scrubBandwidth,
+						EdgeConstants.SCRUB_PASS_INTERVAL), "block-scrubber");
+				scrubber.setDaemon(true);
+				scrubber.start();
+			}
+
 		} catch (Exception e) {
 			
 		}
@@ -0,0 +1,82 @@
+package com.dreamlab.edgefs.misc;
+
+/**
+ * Decides on every heartbeat if the bloom filter should be sent along with it.
+ * The number of bloom filter updates seen per heartbeat is smoothed and the
+ * bloom filter is sent roughly once for every update, i.e. every heartbeat when
+ * the Fog is busy and every maxHeartbeats when it is mostly idle, but never
+ * sooner than minHeartbeats. Forced sends which refresh the state at the peers
+ * even without an update back off exponentially (up to maxForceHeartbeats) for
+ * as long as nothing changes.
+ */
+public class AdaptiveCadence {
+
+	// weight of the latest heartbeat in the smoothed rate of updates
+	private static final double SMOOTHING = 0.3;
+
+	private final int minHeartbeats;
+	private final int maxHeartbeats;
+	private final int forceHeartbeats;
+	private final int maxForceHeartbeats;
+
+	// smoothed number of updates per heartbeat
+	private double changeRate;
+	private long lastChangeCount;
+	private int interval;
+	private int forceInterval;
+	private int heartbeatsSinceSend;
+
+	public AdaptiveCadence(int minHeartbeats, int maxHeartbeats, int forceHeartbeats, int maxForceHeartbeats) {
+		this.minHeartbeats = Math.max(1, minHeartbeats);
+		this.maxHeartbeats = Math.max(this.minHeartbeats, maxHeartbeats);
+		this.forceHeartbeats = Math.max(1, forceHeartbeats);
+		this.maxForceHeartbeats = Math.max(this.forceHeartbeats, maxForceHeartbeats);
+		this.interval = this.maxHeartbeats;
+		this.forceInterval = this.forceHeartbeats;
+	}
+
+	/**
+	 *
+	 * @param changeCount the total number of updates made so far
+	 * @param pending     if there is an update not yet sent
+	 * @return true if the bloom filter should be sent with this heartbeat
+	 */
+	public synchronized boolean onHeartbeat(long changeCount, boolean pending) {
+		long changes = Math.max(0, changeCount - lastChangeCount);
+		lastChangeCount = changeCount;
+		changeRate = SMOOTHING * changes + (1 - SMOOTHING) * changeRate;
+		interval = computeInterval();
+		heartbeatsSinceSend += 1;
+
+		if (pending && heartbeatsSinceSend >= interval) {
+			forceInterval = forceHeartbeats;
+			heartbeatsSinceSend = 0;
+			return true;
+		}
+		if (heartbeatsSinceSend >= forceInterval) {
+			// peers already have the latest bloom filter if nothing is pending
+			// so refresh them less often
+			forceInterval = pending ? forceHeartbeats : Math.min(maxForceHeartbeats, forceInterval * 2);
+			heartbeatsSinceSend = 0;
+			return true;
+		}
+		return false;
+	}
+
+	private int computeInterval() {
+		if (changeRate * maxHeartbeats <= 1) {
+			return maxHeartbeats;
+		}
+		int heartbeats = (int) Math.ceil(1 / changeRate);
+		return Math.max(minHeartbeats, Math.min(maxHeartbeats, heartbeats));
+	}
+
+	public synchronized int getInterval() {
+		return interval;
+	}
+
+	public synchronized int getForceInterval() {
+		return forceInterval;
+	}
+
+}
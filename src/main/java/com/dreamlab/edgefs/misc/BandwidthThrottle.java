@@ -0,0 +1,45 @@
+package com.dreamlab.edgefs.misc;
+
+/**
+ * Limits the rate at which bytes are moved by the threads sharing an instance.
+ * A caller asks for the bytes it is about to send or has received and is made
+ * to sleep long enough so that the overall rate stays within the limit. A
+ * non-positive limit means there is no throttling.
+ */
+public class BandwidthThrottle {
+
+	private final double bytesPerMilli;
+
+	// the time at which the bytes granted so far would have been moved at the
+	// configured rate
+	private long nextFreeTime = 0;
+
+	public BandwidthThrottle(double megaBytesPerSecond) {
+		this.bytesPerMilli = megaBytesPerSecond * 1024 * 1024 / 1000;
+	}
+
+	public boolean isLimited() {
+		return bytesPerMilli > 0;
+	}
+
+	public void acquire(long bytes) throws InterruptedException {
+		long waitTime = reserve(bytes, System.currentTimeMillis());
+		if (waitTime > 0) {
+			Thread.sleep(waitTime);
+		}
+	}
+
+	// returns how long the caller has to wait before moving the bytes
+	synchronized long reserve(long bytes, long now) {
+		if (!isLimited() || bytes <= 0) {
+			return 0;
+		}
+		if (nextFreeTime < now) {
+			nextFreeTime = now;
+		}
+		long waitTime = nextFreeTime - now;
+		nextFreeTime += (long) Math.ceil(bytes / bytesPerMilli);
+		return waitTime;
+	}
+
+}
@@ -0,0 +1,280 @@
+package com.dreamlab.edgefs.misc;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.dreamlab.edgefs.thrift.Metadata;
+import com.dreamlab.edgefs.thrift.ReadReplica;
+
+/**
+ * Size bounded LRU cache of the blocks read through a Fog so that a block read
+ * repeatedly, like the latest block of a stream, is not fetched and decompressed
+ * at the edge every time. Blocks are keyed by the microbatch id and the
+ * compression format they were read with and the data can optionally be kept
+ * off the heap in direct buffers. An update to a block removes it from the
+ * cache and bumps its generation, a read which fetched the block before the
+ * update passes the generation it saw and its copy is not cached. A block
+ * updated through another Fog is not removed here, so the blocks expire after
+ * a time to live.
+ */
+public class BlockCache {
+
+	private static final int GENERATION_STRIPES = 1024;
+
+	private final long capacity;
+	private final boolean offHeap;
+	// access ordered so that the eldest entry is the least recently used
+	private final LinkedHashMap<BlockKey, CachedBlock> blocks = new LinkedHashMap<>(16, 0.75f, true);
+	// the formats each block is cached with so an invalidation doesn't scan
+	// all the blocks
+	private final Map<Long, Set<String>> formats = new HashMap<>();
+	private long size;
+	private final long ttl;
+	// bumped by every invalidation of the blocks hashing to the stripe, a
+	// shared stripe only leaves a block uncached once
+	private final long[] generations = new long[GENERATION_STRIPES];
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+
+	/**
+	 *
+	 * @param capacity maximum bytes of data cached, 0 or less disables the cache
+	 * @param offHeap  if the data should be kept in direct buffers
+	 */
+	public BlockCache(long capacity, boolean offHeap) {
+		this(capacity, offHeap, 0);
+	}
+
+	/**
+	 *
+	 * @param capacity maximum bytes of data cached, 0 or less disables the cache
+	 * @param offHeap  if the data should be kept in direct buffers
+	 * @param ttl      milliseconds a block is served from the cache, 0 or less
+	 *                 keeps it till it is evicted
+	 */
+	public BlockCache(long capacity, boolean offHeap, long ttl) {
+		this.capacity = capacity;
+		this.offHeap = offHeap;
+		this.ttl = ttl;
+	}
+
+	public boolean isEnabled() {
+		return capacity > 0;
+	}
+
+	/**
+	 * Returns the cached block or null if not present. A block cached without
+	 * its metadata is not returned if the metadata is needed
+	 */
+	public ReadReplica get(long mbId, String compFormat, boolean fetchMetadata) {
+		if (!isEnabled()) {
+			return null;
+		}
+		CachedBlock block;
+		synchronized (this) {
+			block = getLive(new BlockKey(mbId, compFormat));
+		}
+		if (block == null || (fetchMetadata && block.metadata == null)) {
+			misses.incrementAndGet();
+			return null;
+		}
+		hits.incrementAndGet();
+		ReadReplica replica = new ReadReplica();
+		replica.setStatus(Constants.SUCCESS);
+		replica.setData(block.getData());
+		if (fetchMetadata) {
+			replica.setMetadata(block.metadata.deepCopy());
+		}
+		return replica;
+	}
+
+	/**
+	 * Checks for the block without counting a hit or a miss
+	 */
+	public synchronized boolean contains(long mbId, String compFormat) {
+		return getLive(new BlockKey(mbId, compFormat)) != null;
+	}
+
+	// the block unless it has outlived the time to live, in which case it is
+	// removed
+	private CachedBlock getLive(BlockKey key) {
+		CachedBlock block = blocks.get(key);
+		if (block != null && ttl > 0 && System.currentTimeMillis() - block.cachedAt > ttl) {
+			blocks.remove(key);
+			unindex(key);
+			size -= block.length;
+			return null;
+		}
+		return block;
+	}
+
+	private void index(BlockKey key) {
+		Set<String> blockFormats = formats.get(key.mbId);
+		if (blockFormats == null) {
+			blockFormats = new HashSet<>();
+			formats.put(key.mbId, blockFormats);
+		}
+		blockFormats.add(key.compFormat);
+	}
+
+	private void unindex(BlockKey key) {
+		Set<String> blockFormats = formats.get(key.mbId);
+		if (blockFormats != null && blockFormats.remove(key.compFormat) && blockFormats.isEmpty()) {
+			formats.remove(key.mbId);
+		}
+	}
+
+	/**
+	 * The generation of the block to be passed to put by a read fetching it,
+	 * taken before the fetch
+	 */
+	public synchronized long getGeneration(long mbId) {
+		return generations[stripe(mbId)];
+	}
+
+	private static int stripe(long mbId) {
+		return (Long.hashCode(mbId) & 0x7fffffff) % GENERATION_STRIPES;
+	}
+
+	public void put(long mbId, String compFormat, ReadReplica replica) {
+		put(mbId, compFormat, replica, -1);
+	}
+
+	/**
+	 * Caches the block unless it was invalidated after the generation was taken,
+	 * a negative generation caches it regardless
+	 */
+	public void put(long mbId, String compFormat, ReadReplica replica, long generation) {
+		if (!isEnabled() || replica.getStatus() != Constants.SUCCESS || !replica.isSetData()) {
+			return;
+		}
+		byte[] data = replica.getData();
+		if (data.length > capacity) {
+			return;
+		}
+		CachedBlock block = new CachedBlock(data, replica.isSetMetadata() ? replica.getMetadata().deepCopy() : null,
+				offHeap);
+		synchronized (this) {
+			if (generation >= 0 && generations[stripe(mbId)] != generation) {
+				return;
+			}
+			BlockKey key = new BlockKey(mbId, compFormat);
+			CachedBlock previous = blocks.put(key, block);
+			if (previous != null) {
+				size -= previous.length;
+			} else {
+				index(key);
+			}
+			size += block.length;
+			Iterator<Map.Entry<BlockKey, CachedBlock>> iter = blocks.entrySet().iterator();
+			while (size > capacity && iter.hasNext()) {
+				Map.Entry<BlockKey, CachedBlock> eldest = iter.next();
+				size -= eldest.getValue().length;
+				iter.remove();
+				unindex(eldest.getKey());
+				evictions.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Removes the block in all the compression formats it was cached with
+	 */
+	public synchronized void invalidate(long mbId) {
+		generations[stripe(mbId)]++;
+		Set<String> blockFormats = formats.remove(mbId);
+		if (blockFormats == null) {
+			return;
+		}
+		for (String compFormat : blockFormats) {
+			CachedBlock block = blocks.remove(new BlockKey(mbId, compFormat));
+			if (block != null) {
+				size -= block.length;
+			}
+		}
+	}
+
+	public Map<String, Long> getStats() {
+		Map<String, Long> stats = new LinkedHashMap<>();
+		stats.put("hits", hits.get());
+		stats.put("misses", misses.get());
+		stats.put("evictions", evictions.get());
+		synchronized (this) {
+			stats.put("entries", (long) blocks.size());
+			stats.put("size", size);
+		}
+		stats.put("capacity", capacity);
+		return stats;
+	}
+
+	private static class BlockKey {
+
+		private final long mbId;
+		private final String compFormat;
+
+		BlockKey(long mbId, String compFormat) {
+			this.mbId = mbId;
+			this.compFormat = compFormat;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * Long.hashCode(mbId) + (compFormat == null ? 0 : compFormat.hashCode());
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof BlockKey)) {
+				return false;
+			}
+			BlockKey other = (BlockKey) obj;
+			return mbId == other.mbId
+					&& (compFormat == null ? other.compFormat == null : compFormat.equals(other.compFormat));
+		}
+	}
+
+	private static class CachedBlock {
+
+		private final byte[] heapData;
+		private final ByteBuffer directData;
+		private final int length;
+		private final Metadata metadata;
+		private final long cachedAt = System.currentTimeMillis();
+
+		CachedBlock(byte[] data, Metadata metadata, boolean offHeap) {
+			this.length = data.length;
+			this.metadata = metadata;
+			if (offHeap) {
+				this.heapData = null;
+				// written through a duplicate so the position stays at the start
+				this.directData = ByteBuffer.allocateDirect(data.length);
+				this.directData.duplicate().put(data);
+			} else {
+				this.heapData = data;
+				this.directData = null;
+			}
+		}
+
+		byte[] getData() {
+			if (heapData != null) {
+				return heapData;
+			}
+			// a duplicate so that concurrent readers don't share the position
+			byte[] data = new byte[length];
+			directData.duplicate().get(data);
+			return data;
+		}
+	}
+
+}
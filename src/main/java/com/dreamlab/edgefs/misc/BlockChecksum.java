@@ -0,0 +1,87 @@
+package com.dreamlab.edgefs.misc;
+
+import java.nio.ByteBuffer;
+
+import org.xerial.snappy.PureJavaCrc32C;
+
+/**
+ * CRC32C checksum of the data of a block. It is computed by the client or
+ * else by the first Fog or edge that receives the block, verified by the Fog
+ * and the edge on receipt and stored by the edge next to the block so that
+ * every read is checked. The checksum is carried in the metadata as
+ * "crc32c:" followed by the value in hex. A checksum in any other format,
+ * like the MD5 digests sent by older clients, is replaced by the computed one
+ * where the data is received.
+ */
+public class BlockChecksum {
+
+	public static final String PREFIX = "crc32c:";
+
+	// a buffer without a backing array is checksummed in pieces of this size
+	private static final int COPY_SIZE = 64 * 1024;
+
+	private final PureJavaCrc32C crc = new PureJavaCrc32C();
+
+	public void update(byte[] data, int offset, int length) {
+		crc.update(data, offset, length);
+	}
+
+	/**
+	 * Adds the remaining bytes of the buffer, its position is left unchanged
+	 */
+	public void update(ByteBuffer data) {
+		if (data.hasArray()) {
+			crc.update(data.array(), data.arrayOffset() + data.position(), data.remaining());
+			return;
+		}
+		ByteBuffer copy = data.duplicate();
+		byte[] piece = new byte[Math.min(COPY_SIZE, copy.remaining())];
+		while (copy.hasRemaining()) {
+			int length = Math.min(piece.length, copy.remaining());
+			copy.get(piece, 0, length);
+			crc.update(piece, 0, length);
+		}
+	}
+
+	public int getValue() {
+		return crc.getIntegerValue();
+	}
+
+	@Override
+	public String toString() {
+		return format(getValue());
+	}
+
+	public static String format(int value) {
+		return PREFIX + String.format("%08x", value);
+	}
+
+	public static String compute(ByteBuffer data) {
+		BlockChecksum checksum = new BlockChecksum();
+		checksum.update(data);
+		return checksum.toString();
+	}
+
+	public static String compute(byte[] data) {
+		BlockChecksum checksum = new BlockChecksum();
+		checksum.update(data, 0, data.length);
+		return checksum.toString();
+	}
+
+	public static boolean isVerifiable(String checksum) {
+		return checksum != null && checksum.startsWith(PREFIX);
+	}
+
+	/**
+	 * Checks the data against the checksum, a checksum which is not in the
+	 * CRC32C format never matches
+	 */
+	public static boolean matches(String checksum, String computed) {
+		return isVerifiable(checksum) && checksum.equalsIgnoreCase(computed);
+	}
+
+	public static boolean matches(String checksum, ByteBuffer data) {
+		return isVerifiable(checksum) && checksum.equalsIgnoreCase(compute(data));
+	}
+
+}
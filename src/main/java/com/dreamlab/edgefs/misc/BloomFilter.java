@@ -44,8 +44,13 @@ public class BloomFilter {
 	public static void storeEntry(String key, String value, byte[] bfArray) {
 		String persistedKey = key + ":" + value;
 		byte[] hash = getHash(persistedKey);
-		for(int i = 0; i < hash.length; i++) {
-			bfArray[i] = (byte) (bfArray[i] | hash[i]);
+		// writes of different blocks store into the same filter concurrently and
+		// the or of a byte is not atomic, a bit set by one may be lost to another.
+		// The hash is computed outside so only the few byte ors are serialized
+		synchronized (bfArray) {
+			for(int i = 0; i < hash.length; i++) {
+				bfArray[i] = (byte) (bfArray[i] | hash[i]);
+			}
 		}
 	}
 	
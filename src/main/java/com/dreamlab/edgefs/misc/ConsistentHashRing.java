@@ -0,0 +1,77 @@
+package com.dreamlab.edgefs.misc;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Maps keys to members such that every node computing the ring over the same
+ * members gets the same member for a key, and adding or removing a member only
+ * moves the keys of that member. Every member is placed at a number of virtual
+ * points on the ring to spread the keys evenly and a key goes to the member of
+ * the first point at or after the hash of the key.
+ */
+public class ConsistentHashRing {
+
+	private final TreeMap<Long, Short> ring = new TreeMap<>();
+	private final Set<Short> members;
+
+	public ConsistentHashRing(Collection<Short> members, int virtualNodes) {
+		this.members = new TreeSet<>(members);
+		for (Short member : this.members) {
+			for (int i = 0; i < virtualNodes; i++) {
+				long point = hash(member + "#" + i);
+				// on the rare collision the smaller member keeps the point so
+				// that the ring does not depend on the order of the members
+				if (!ring.containsKey(point)) {
+					ring.put(point, member);
+				}
+			}
+		}
+	}
+
+	public Set<Short> getMembers() {
+		return members;
+	}
+
+	public boolean isEmpty() {
+		return ring.isEmpty();
+	}
+
+	/**
+	 * @return the member owning the key or null if the ring is empty
+	 */
+	public Short lookup(String key) {
+		if (ring.isEmpty()) {
+			return null;
+		}
+		Entry<Long, Short> entry = ring.ceilingEntry(hash(key));
+		if (entry == null) {
+			entry = ring.firstEntry();
+		}
+		return entry.getValue();
+	}
+
+	// first 8 bytes of the MD5 of the string, the same on every node
+	static long hash(String str) {
+		MessageDigest md;
+		try {
+			md = MessageDigest.getInstance("MD5");
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform is required to support MD5
+			throw new IllegalStateException(e);
+		}
+		byte[] digest = md.digest(str.getBytes(StandardCharsets.UTF_8));
+		long hash = 0;
+		for (int i = 0; i < 8; i++) {
+			hash = (hash << 8) | (digest[i] & 0xff);
+		}
+		return hash;
+	}
+
+}
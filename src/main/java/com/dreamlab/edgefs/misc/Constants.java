@@ -13,6 +13,8 @@ public final class Constants {
 	public static final String STATUS_YES = "YES";
 	public static final byte SUCCESS = 1;
 	public static final byte  FAILURE = 0;
+	// status of a read whose data doesn't match the stored checksum
+	public static final byte CORRUPT = 2;
 	public static int KMAX = 5;
 	// for now, keeping kmin as 2 .
 	public static int KMIN = 2;
@@ -103,7 +105,8 @@ public final class Constants {
 	
 	public static String SERIALIZATION_FILE = "fog.ser";
 	
-	public static int RECOVERY_QUEUE_SIZE = 100;
+	//pending recovery of microbatches of dead edges, survives a restart
+	public static String RECOVERY_JOURNAL_FILE = "recovery.ser";
 	
 	public static String STREAM_METADATA_CACHE_INVALIDATION_TIMEOUT = "stream.metadata.cache.invalidation.timeout";
 	
@@ -125,6 +128,243 @@ public final class Constants {
 	
 	public static int DEFAULT_REPLICA_CACHING_TIME = 40;
 	
+	public static String RECOVERY_BATCH_SIZE = "recovery.batch.size";
+	
+	//number of blocks of a dead edge read and written together during recovery
+	public static int DEFAULT_RECOVERY_BATCH_SIZE = 50;
+	
+	public static String RECOVERY_CONCURRENCY = "recovery.concurrency";
+	
+	public static int DEFAULT_RECOVERY_CONCURRENCY = 4;
+	
+	public static String RECOVERY_BANDWIDTH = "recovery.bandwidth";
+	
+	//in MB/s, 0 or less means recovery is not throttled
+	public static double DEFAULT_RECOVERY_BANDWIDTH = 10;
+	
+	public static String RECOVERY_RETRY_INTERVAL = "recovery.retry.interval";
+	
+	public static int DEFAULT_RECOVERY_RETRY_INTERVAL = 60;
+	
+	//number of failed recoveries of a block after which it is given up, 0
+	//retries it for ever
+	public static String RECOVERY_MAX_ATTEMPTS = "recovery.max.attempts";
+	
+	public static int DEFAULT_RECOVERY_MAX_ATTEMPTS = 0;
+	
+	//the delay before retrying a failed recovery doubles with every failure up
+	//to this many times the retry interval
+	public static long RECOVERY_MAX_BACKOFF = 32;
+	
+	//the recovery journal is rewritten once it has more than this many records
+	//and twice as many as the pending blocks
+	public static int RECOVERY_JOURNAL_COMPACT_MIN = 1024;
+	
+	//resolution in milliseconds and number of slots of the timer wheel tracking
+	//the liveness of the local edges
+	public static long EDGE_LIVENESS_TICK = 1000;
+	
+	public static int EDGE_LIVENESS_WHEEL_SIZE = 512;
+	
+	//one thread each for buddy and subscriber heartbeats and local and global stats
+	public static int HEARTBEAT_SCHEDULER_THREADS = 4;
+	
+	public static String HEARTBEAT_DISPATCH_THREADS = "heartbeat.dispatch.threads";
+	
+	public static int DEFAULT_HEARTBEAT_DISPATCH_THREADS = 16;
+	
+	public static String HEARTBEAT_PEER_TIMEOUT = "heartbeat.peer.timeout";
+	
+	//in milliseconds
+	public static int DEFAULT_HEARTBEAT_PEER_TIMEOUT = 2000;
+	
+	public static String HEARTBEAT_JITTER = "heartbeat.jitter";
+	
+	//in milliseconds
+	public static int DEFAULT_HEARTBEAT_JITTER = 1000;
+	
+	//the bloomfilter send interval adapts to the rate of bloomfilter updates,
+	//buddy.bloom.send.heartbeats and subs.bloom.send.heartbeats are the upper
+	//bounds and these the lower bounds of the interval (in heartbeats)
+	public static String BUDDY_BLOOM_SEND_HEARTBEATS_MIN = "buddy.bloom.send.heartbeats.min";
+	
+	public static int DEFAULT_BUDDY_BLOOM_SEND_HEARTBEATS_MIN = 1;
+	
+	public static int DEFAULT_BUDDY_BLOOM_SEND_HEARTBEATS = 5;
+	
+	public static int DEFAULT_BUDDY_BLOOM_FORCE_SEND_HEARTBEATS = 15;
+	
+	//forced sends back off up to this many heartbeats while nothing changes
+	public static String BUDDY_BLOOM_FORCE_SEND_HEARTBEATS_MAX = "buddy.bloom.force.send.heartbeats.max";
+	
+	public static int DEFAULT_BUDDY_BLOOM_FORCE_SEND_HEARTBEATS_MAX = 60;
+	
+	public static String SUBS_BLOOM_SEND_HEARTBEATS_MIN = "subs.bloom.send.heartbeats.min";
+	
+	public static int DEFAULT_SUBS_BLOOM_SEND_HEARTBEATS_MIN = 1;
+	
+	public static int DEFAULT_SUBS_BLOOM_SEND_HEARTBEATS = 3;
+	
+	public static int DEFAULT_SUBS_BLOOM_FORCE_SEND_HEARTBEATS = 9;
+	
+	public static String SUBS_BLOOM_FORCE_SEND_HEARTBEATS_MAX = "subs.bloom.force.send.heartbeats.max";
+	
+	public static int DEFAULT_SUBS_BLOOM_FORCE_SEND_HEARTBEATS_MAX = 36;
+	
+	//a buddy or neighbor is suspected to have failed and is skipped while
+	//reading, querying and placing replicas once the phi computed from its
+	//heartbeat arrival times crosses this threshold
+	public static String FAILURE_DETECTOR_PHI_THRESHOLD = "failure.detector.phi.threshold";
+	
+	public static double DEFAULT_FAILURE_DETECTOR_PHI_THRESHOLD = 8;
+	
+	//number of heartbeat inter-arrival times kept per peer
+	public static int FAILURE_DETECTOR_WINDOW = 100;
+	
+	//in milliseconds
+	public static long FAILURE_DETECTOR_MIN_STD_DEVIATION = 500;
+	
+	//a read not served within this percentile of the recent read latencies
+	//is sent to a second replica as well, 0 disables the hedged reads
+	public static String READ_HEDGE_PERCENTILE = "read.hedge.percentile";
+	
+	public static double DEFAULT_READ_HEDGE_PERCENTILE = 95;
+	
+	public static String READ_HEDGE_DELAY_MIN = "read.hedge.delay.min";
+	
+	//in milliseconds
+	public static long DEFAULT_READ_HEDGE_DELAY_MIN = 10;
+	
+	//reads sent to other replicas while the first one is slow
+	public static String READ_HEDGE_MAX = "read.hedge.max";
+	
+	public static int DEFAULT_READ_HEDGE_MAX = 2;
+	
+	//in milliseconds, socket timeout of a read from a replica
+	public static String READ_TIMEOUT = "read.timeout";
+	
+	public static int DEFAULT_READ_TIMEOUT = 10000;
+	
+	//reads of replicas in flight at a time, the others wait for a thread
+	public static String READ_THREADS = "read.threads";
+	
+	public static int DEFAULT_READ_THREADS = 64;
+	
+	//in milliseconds, used till enough reads are seen
+	public static long READ_HEDGE_INITIAL_DELAY = 100;
+	
+	public static int READ_LATENCY_WINDOW = 1024;
+	
+	public static int READ_LATENCY_MIN_SAMPLES = 20;
+	
+	//in MB, the blocks read through a Fog are cached up to this size, 0
+	//disables the cache
+	public static String BLOCK_CACHE_SIZE = "block.cache.size";
+	
+	public static long DEFAULT_BLOCK_CACHE_SIZE = 64;
+	
+	//1 keeps the cached blocks off the heap
+	public static String BLOCK_CACHE_OFFHEAP = "block.cache.offheap";
+	
+	public static int DEFAULT_BLOCK_CACHE_OFFHEAP = 0;
+	
+	//in seconds, a cached block is served for this long as an update through
+	//another Fog doesn't remove it, 0 keeps it till it is evicted
+	public static String BLOCK_CACHE_TTL = "block.cache.ttl";
+	
+	public static long DEFAULT_BLOCK_CACHE_TTL = 60;
+	
+	//number of blocks of a stream read ahead for a reader reading it in
+	//order, 0 disables the read ahead
+	public static String PREFETCH_WINDOW = "prefetch.window";
+	
+	public static int DEFAULT_PREFETCH_WINDOW = 4;
+	
+	//in MB, upper bound of the blocks held in the read ahead buffer
+	public static String PREFETCH_MEMORY = "prefetch.memory";
+	
+	public static long DEFAULT_PREFETCH_MEMORY = 32;
+	
+	public static int PREFETCH_THREADS = 2;
+	
+	//locks the stream operations at the owner are striped over, the opens,
+	//block count increments and lease renewals of streams on different
+	//stripes don't wait for each other
+	public static int STREAM_LOCK_STRIPES = 64;
+	
+	//compressed blocks are written in chunks of these many uncompressed
+	//bytes so that a range of a block is read without decompressing all of it
+	public static int COMPRESSION_CHUNK_SIZE = 64 * 1024;
+	
+	//suffix of the file holding the offsets of the chunks of a block
+	public static String CHUNK_INDEX_SUFFIX = ".idx";
+
+	//in seconds, a chunked transfer with no chunk sent for this long is aborted
+	public static int TRANSFER_IDLE_TIMEOUT = 300;
+
+	//in seconds, how often the idle chunked transfers are looked for
+	public static int TRANSFER_REAP_INTERVAL = 60;
+
+	//maximum chunked transfers open at a time on a Fog or an edge
+	public static int MAX_OPEN_TRANSFERS = 64;
+
+	//suffix of the file a block is written to till its transfer is committed
+	public static String TRANSFER_PART_SUFFIX = ".part";
+
+	//suffix of the file holding the CRC32C checksum of a block on an edge
+	public static String CHECKSUM_SUFFIX = ".crc";
+
+	//in seconds, blocks older than this are deleted, 0 keeps them forever. A
+	//stream can set its own in its retention property
+	public static String STREAM_RETENTION = "stream.retention";
+
+	public static long DEFAULT_STREAM_RETENTION = 0;
+
+	//key in the otherProperties of a StreamMetadata overriding stream.retention
+	public static String STREAM_RETENTION_PROPERTY = "retention";
+
+	//in seconds, interval at which the deleted blocks are purged
+	public static String PURGE_INTERVAL = "purge.interval";
+
+	public static int DEFAULT_PURGE_INTERVAL = 10;
+
+	//maximum deleted blocks purged in a single run
+	public static String PURGE_BATCH_SIZE = "purge.batch.size";
+
+	public static int DEFAULT_PURGE_BATCH_SIZE = 1000;
+
+	//in seconds, interval at which the blocks past their retention are looked for
+	public static int RETENTION_CHECK_INTERVAL = 60;
+
+	//placements kept per reliability and replica counts asked for by the
+	//writes, reused till the next global stats update, 0 computes every one
+	public static String PLACEMENT_POOL_SIZE = "placement.pool.size";
+
+	public static int DEFAULT_PLACEMENT_POOL_SIZE = 8;
+
+	//keys in the otherProperties of a StreamMetadata storing its blocks erasure
+	//coded instead of replicated, each block is split in erasure.data fragments
+	//and erasure.parity fragments are added so that any erasure.data of them
+	//give the block back
+	public static String ERASURE_DATA_FRAGMENTS_PROPERTY = "erasure.data";
+
+	public static String ERASURE_PARITY_FRAGMENTS_PROPERTY = "erasure.parity";
+
+	//the most fragments a block is coded in
+	public static int ERASURE_MAX_FRAGMENTS = 32;
+
+	//size of the quantile sketches of edge storage and reliability sent along
+	//with the 10 byte stats, 0 sends only the 10 bytes
+	public static String STATS_SKETCH_SIZE = "stats.sketch.size";
+
+	public static int DEFAULT_STATS_SKETCH_SIZE = 0;
+
+	//points every buddy pool gets on the ring placing the directory entries of
+	//the streams, 0 finds the streams through the Bloom filters only
+	public static String STREAM_DIRECTORY_VIRTUAL_NODES = "stream.directory.virtual.nodes";
+
+	public static int DEFAULT_STREAM_DIRECTORY_VIRTUAL_NODES = 64;
+
 	public static long interpretByteAsLong(byte b) {
 		int diskSpace = (int) b;
 
@@ -9,6 +9,13 @@ public class EdgeConstants {
 	public static final int STORAGE_SENT_TIME = 60;
 	
 	public static final int STORAGE_SENT_HEARTBEATS = 2;
+
+	//in MB/s, the disk bandwidth used by the block scrubber when not given
+	//to the EdgeServer, 0 or less turns the scrubber off
+	public static final double SCRUB_BANDWIDTH = 1;
+
+	//in seconds, between the start of two scrubber passes
+	public static final int SCRUB_PASS_INTERVAL = 6 * 60 * 60;
 	
 	
 
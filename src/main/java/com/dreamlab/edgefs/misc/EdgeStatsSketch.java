@@ -0,0 +1,84 @@
+package com.dreamlab.edgefs.misc;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Set;
+
+import com.dreamlab.edgefs.model.EdgeInfo;
+
+/**
+ * Quantile sketches of the storage and the reliability of the edges of a Fog.
+ * These are exchanged along with the 10 byte stats when enabled so that the
+ * global medians and the contribution of every Fog to the four quadrants are
+ * computed from the actual distribution of the edges rather than by
+ * interpolating between the min, median and max of every Fog.
+ */
+public class EdgeStatsSketch {
+
+	private final QuantileSketch storage;
+	private final QuantileSketch reliability;
+
+	public EdgeStatsSketch(int k) {
+		this(new QuantileSketch(k), new QuantileSketch(k));
+	}
+
+	private EdgeStatsSketch(QuantileSketch storage, QuantileSketch reliability) {
+		this.storage = storage;
+		this.reliability = reliability;
+	}
+
+	public QuantileSketch getStorage() {
+		return storage;
+	}
+
+	public QuantileSketch getReliability() {
+		return reliability;
+	}
+
+	// same edges as the ones considered for the 10 byte stats
+	public static EdgeStatsSketch build(Map<Short, EdgeInfo> localEdgesMap, Set<Short> noStorageEdges, int k) {
+		EdgeStatsSketch sketch = new EdgeStatsSketch(k);
+		for (Short key : localEdgesMap.keySet()) {
+			EdgeInfo edgeInfo = localEdgesMap.get(key);
+			if (edgeInfo.getStatus().equals("A") && !noStorageEdges.contains(key) && edgeInfo.getStats() != null) {
+				sketch.storage.update(edgeInfo.getStats().getStorage());
+				sketch.reliability.update(edgeInfo.getStats().getReliability());
+			}
+		}
+		return sketch;
+	}
+
+	public void merge(EdgeStatsSketch other) {
+		storage.merge(other.storage);
+		reliability.merge(other.reliability);
+	}
+
+	public byte[] toBytes() {
+		byte[] storageBytes = storage.toBytes();
+		byte[] reliabilityBytes = reliability.toBytes();
+		ByteBuffer buffer = ByteBuffer.allocate(storageBytes.length + reliabilityBytes.length);
+		buffer.put(storageBytes);
+		buffer.put(reliabilityBytes);
+		return buffer.array();
+	}
+
+	/**
+	 * @return the sketches or null if the bytes don't hold them
+	 */
+	public static EdgeStatsSketch fromBytes(byte[] bytes) {
+		if (bytes == null) {
+			return null;
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		QuantileSketch storage = QuantileSketch.fromBytes(buffer);
+		if (storage == null) {
+			return null;
+		}
+		QuantileSketch reliability = QuantileSketch.fromBytes(buffer);
+		if (reliability == null) {
+			return null;
+		}
+		return new EdgeStatsSketch(storage, reliability);
+	}
+
+}
@@ -0,0 +1,116 @@
+package com.dreamlab.edgefs.misc;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A fragment of a block of an erasure coded stream. Every fragment is stored as
+ * a block of its own whose id is derived from the id of the block and the index
+ * of the fragment, so it is written, found, read, recovered and deleted the
+ * same way as any other block. The fragment carries a small header with the
+ * number of data and parity fragments, its index and the size of the block so
+ * that a reader can put the block back together from the fragments alone.
+ */
+public class ErasureFragment {
+
+	// data fragments, parity fragments, index and block length
+	private static final int HEADER_SIZE = 3 + 8;
+
+	private final int dataFragments;
+	private final int parityFragments;
+	private final int index;
+	private final long length;
+	private final byte[] shard;
+
+	public ErasureFragment(int dataFragments, int parityFragments, int index, long length, byte[] shard) {
+		this.dataFragments = dataFragments;
+		this.parityFragments = parityFragments;
+		this.index = index;
+		this.length = length;
+		this.shard = shard;
+	}
+
+	public int getDataFragments() {
+		return dataFragments;
+	}
+
+	public int getParityFragments() {
+		return parityFragments;
+	}
+
+	public int getIndex() {
+		return index;
+	}
+
+	public long getLength() {
+		return length;
+	}
+
+	public byte[] getShard() {
+		return shard;
+	}
+
+	public byte[] toBytes() {
+		ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + shard.length);
+		buffer.put((byte) dataFragments);
+		buffer.put((byte) parityFragments);
+		buffer.put((byte) index);
+		buffer.putLong(length);
+		buffer.put(shard);
+		return buffer.array();
+	}
+
+	/**
+	 * @return the fragment or null if the bytes are not one
+	 */
+	public static ErasureFragment parse(byte[] bytes) {
+		if (bytes == null || bytes.length < HEADER_SIZE) {
+			return null;
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		int dataFragments = buffer.get() & 0xff;
+		int parityFragments = buffer.get() & 0xff;
+		int index = buffer.get() & 0xff;
+		long length = buffer.getLong();
+		if (dataFragments == 0 || dataFragments + parityFragments > Constants.ERASURE_MAX_FRAGMENTS
+				|| index >= dataFragments + parityFragments || length < 0) {
+			return null;
+		}
+		byte[] shard = new byte[buffer.remaining()];
+		buffer.get(shard);
+		return new ErasureFragment(dataFragments, parityFragments, index, length, shard);
+	}
+
+	/**
+	 * The fragment ids are negative so that they don't collide with the ids of
+	 * the blocks which are handed out by the clients starting from 0
+	 *
+	 * @throws IllegalArgumentException if the block can't be fragmented
+	 */
+	public static long fragmentId(long mbId, int index) {
+		if (!canFragment(mbId)) {
+			throw new IllegalArgumentException("MicrobatchId " + mbId + " has no fragment ids");
+		}
+		return -(mbId * Constants.ERASURE_MAX_FRAGMENTS + index) - 1;
+	}
+
+	/**
+	 * Whether the ids of all the fragments of the block fit in a long, which
+	 * holds for the blocks from 0 to about 2^58
+	 */
+	public static boolean canFragment(long mbId) {
+		return mbId >= 0 && mbId <= (Long.MAX_VALUE - Constants.ERASURE_MAX_FRAGMENTS) / Constants.ERASURE_MAX_FRAGMENTS;
+	}
+
+	public static boolean isFragmentId(long id) {
+		return id < 0;
+	}
+
+	public static long blockId(long fragmentId) {
+		return (-fragmentId - 1) / Constants.ERASURE_MAX_FRAGMENTS;
+	}
+
+	public static int fragmentIndex(long fragmentId) {
+		return (int) ((-fragmentId - 1) % Constants.ERASURE_MAX_FRAGMENTS);
+	}
+
+}
@@ -64,9 +64,18 @@ public class GlobalFogContributions {
 		LOGGER.info(" global info here " + globalInfo.toString());
 		HashMap<Short, HashMap<StorageReliability, Short>> globalAllocationMap = new HashMap<Short, HashMap<StorageReliability, Short>>();
 
+		// the edges of the Fogs which sent their sketches, split between the
+		// quadrants as fractions and rounded once all are added
+		double[] sketchContributions = new double[4];
 		for (Short fogId : globalInfo.keySet()) {
 			FogStats singleFog = globalInfo.get(fogId);
 
+			EdgeStatsSketch sketch = EdgeStatsSketch.fromBytes(singleFog.getSketch());
+			if (sketch != null) {
+				addSketchContribution(singleFog, sketch, sketchContributions);
+				continue;
+			}
+
 			HashMap<StorageReliability, Short> aMap = computeContributionOfFogToGlobalMap(singleFog.getA(),
 					singleFog.getMinStorage(), singleFog.getMedianStorage(), singleFog.getMinReliability(),
 					singleFog.getMedianReliability());
@@ -85,6 +94,11 @@ public class GlobalFogContributions {
 
 		}
 
+		LL = LL + (int) Math.round(sketchContributions[0]);
+		HL = HL + (int) Math.round(sketchContributions[1]);
+		LH = LH + (int) Math.round(sketchContributions[2]);
+		HH = HH + (int) Math.round(sketchContributions[3]);
+
 		HashMap<StorageReliability, Short> globalEdgeDistribution = new HashMap<StorageReliability, Short>();
 		globalEdgeDistribution.put(StorageReliability.HH, (short) HH);
 		globalEdgeDistribution.put(StorageReliability.HL, (short) HL);
@@ -94,6 +108,54 @@ public class GlobalFogContributions {
 		return globalEdgeDistribution;
 	}
 
+	/**
+	 * Splits every cell of a Fog between the global quadrants by the fraction of
+	 * the edges of the Fog in the cell's storage and reliability ranges that are
+	 * at or above the global medians, as given by the sketches of the Fog. The
+	 * storage and reliability within a cell are taken to be independent.
+	 * 
+	 * @param contributions LL, HL, LH and HH edges, added to
+	 */
+	void addSketchContribution(FogStats fog, EdgeStatsSketch sketch, double[] contributions) {
+		QuantileSketch storage = sketch.getStorage();
+		QuantileSketch reliability = sketch.getReliability();
+		long sMedian = fog.getMedianStorage();
+		long rMedian = fog.getMedianReliability();
+		long sGlobal = (long) sGlobalMedian;
+		long rGlobal = (long) rGlobalMedian;
+
+		double sLowCell = fractionAtLeast(storage, sMedian, sGlobal, false);
+		double sHighCell = fractionAtLeast(storage, sMedian, sGlobal, true);
+		double rLowCell = fractionAtLeast(reliability, rMedian, rGlobal, false);
+		double rHighCell = fractionAtLeast(reliability, rMedian, rGlobal, true);
+
+		addCell(fog.getA(), sLowCell, rLowCell, contributions);
+		addCell(fog.getB(), sHighCell, rLowCell, contributions);
+		addCell(fog.getC(), sLowCell, rHighCell, contributions);
+		addCell(fog.getD(), sHighCell, rHighCell, contributions);
+	}
+
+	private static void addCell(int edges, double highStorage, double highReliability, double[] contributions) {
+		contributions[0] += edges * (1 - highStorage) * (1 - highReliability);
+		contributions[1] += edges * highStorage * (1 - highReliability);
+		contributions[2] += edges * (1 - highStorage) * highReliability;
+		contributions[3] += edges * highStorage * highReliability;
+	}
+
+	// fraction of the values below (or from when upperHalf) the Fog median which
+	// are at least the global median
+	private static double fractionAtLeast(QuantileSketch sketch, long median, long globalMedian,
+			boolean upperHalf) {
+		double lower = upperHalf ? sketch.cdf(median) : 0;
+		double upper = upperHalf ? 1 : sketch.cdf(median);
+		if (upper - lower <= 0) {
+			// nothing in the sketch on this side of the Fog median
+			return median >= globalMedian ? 1 : 0;
+		}
+		double below = Math.min(Math.max(sketch.cdf(globalMedian), lower), upper);
+		return (upper - below) / (upper - lower);
+	}
+
 	/**
 	 * 
 	 * @param a the number of edges in the LL Quadrant
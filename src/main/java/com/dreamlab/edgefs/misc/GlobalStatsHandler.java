@@ -71,6 +71,7 @@ public class GlobalStatsHandler {
 		// handling is done
 		FogStats selfStats = prepareSelfStats(localInfo); 
 		globalInfo.put(selfId, selfStats);
+		EdgeStatsSketch sketch = mergeSketches();
 		
 		long storageMedian = 0;
 		int reliabilityMedian = 0;
@@ -81,6 +82,12 @@ public class GlobalStatsHandler {
 			// I am the only Fog in the system
 			storageMedian = selfStats.getMedianStorage();
 			reliabilityMedian = selfStats.getMedianReliability();
+		} else if (sketch != null && !sketch.getStorage().isEmpty()) {
+			// every Fog sent the sketches of its edges, the medians of the
+			// merged sketches are the global medians
+			storageMedian = sketch.getStorage().quantile(0.5);
+			reliabilityMedian = (int) sketch.getReliability().quantile(0.5);
+			LOGGER.info("Global medians from the sketches of " + sketch.getStorage().getCount() + " edges");
 		} else {
 			storageMedian = computeGlobalStorageMedian(stats.getMinStorage(), stats.getMaxStorage());
 			reliabilityMedian = computeGlobalReliabilityMedian(stats.getMinReliability(), stats.getMaxReliability());
@@ -275,6 +282,27 @@ public class GlobalStatsHandler {
 		return (long) medianStorage;
 	}
 
+	// merges the edge sketches of all the Fogs, null if a Fog with edges didn't
+	// send its sketches in which case the 10 bytes are used instead
+	private EdgeStatsSketch mergeSketches() {
+		EdgeStatsSketch merged = null;
+		for (FogStats current : globalInfo.values()) {
+			if (current.getA() + current.getB() + current.getC() + current.getD() == 0) {
+				continue;
+			}
+			EdgeStatsSketch sketch = EdgeStatsSketch.fromBytes(current.getSketch());
+			if (sketch == null) {
+				return null;
+			}
+			if (merged == null) {
+				merged = sketch;
+			} else {
+				merged.merge(sketch);
+			}
+		}
+		return merged;
+	}
+
 	private FogStats prepareSelfStats(CoarseGrainedStats selfInfo) {
 		byte[] info = selfInfo.getInfo();
 		FogStats selfStats = new FogStats();
@@ -288,6 +316,7 @@ public class GlobalStatsHandler {
 		selfStats.setB(info[7]);
 		selfStats.setC(info[8]);
 		selfStats.setD(info[9]);
+		selfStats.setSketch(selfInfo.getSketch());
 		return selfStats;
 	}
 
@@ -0,0 +1,59 @@
+package com.dreamlab.edgefs.misc;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the latest latencies in a ring and gives a percentile of them. The
+ * percentile is recomputed only after every few samples since it needs a sort
+ * of the whole window. Till enough samples are seen the initial value is used.
+ */
+public class LatencyWindow {
+
+	// samples after which the percentile is recomputed
+	private static final int RECOMPUTE_SAMPLES = 16;
+
+	private final long[] samples;
+	private final double percentile;
+	private final long initialValue;
+	private final int minSamples;
+	private int count;
+	private int next;
+	private int sinceRecompute;
+	private long value;
+
+	/**
+	 *
+	 * @param size         number of latest samples kept
+	 * @param percentile   the percentile, between 0 and 100
+	 * @param initialValue used till minSamples samples are seen
+	 * @param minSamples   samples needed before the percentile is used
+	 */
+	public LatencyWindow(int size, double percentile, long initialValue, int minSamples) {
+		this.samples = new long[Math.max(1, size)];
+		this.percentile = Math.max(0, Math.min(100, percentile));
+		this.initialValue = initialValue;
+		this.minSamples = Math.max(1, Math.min(minSamples, this.samples.length));
+		this.value = initialValue;
+	}
+
+	public synchronized void add(long latency) {
+		samples[next] = latency;
+		next = (next + 1) % samples.length;
+		if (count < samples.length) {
+			count++;
+		}
+		sinceRecompute++;
+		if (count >= minSamples && (count == minSamples || sinceRecompute >= RECOMPUTE_SAMPLES)) {
+			long[] sorted = Arrays.copyOf(samples, count);
+			Arrays.sort(sorted);
+			int index = (int) Math.ceil(percentile / 100 * count) - 1;
+			value = sorted[Math.max(0, Math.min(count - 1, index))];
+			sinceRecompute = 0;
+		}
+	}
+
+	public synchronized long getValue() {
+		return count >= minSamples ? value : initialValue;
+	}
+
+}
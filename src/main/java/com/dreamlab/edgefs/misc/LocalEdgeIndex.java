@@ -0,0 +1,229 @@
+package com.dreamlab.edgefs.misc;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.dreamlab.edgefs.model.EdgeInfo;
+import com.dreamlab.edgefs.model.FogStats;
+import com.dreamlab.edgefs.model.StorageReliability;
+
+/**
+ * The active edges of a Fog with storage above the watermark, kept ordered by
+ * storage and by reliability so that the local stats are updated in O(log n)
+ * as the edges join, die or send their free space rather than recomputed over
+ * all the edges. A Fenwick tree over the reliability holding the storage of
+ * the edges gives the number of edges below both medians, from which the four
+ * quadrant counts follow.
+ *
+ * The keys of the trees are the value shifted left by 16 bits with the edge id
+ * in the low bits so that every edge has its own key.
+ */
+public class LocalEdgeIndex {
+
+	// reliability is a percentage sent as a byte, the values outside are clamped
+	private static final int RELIABILITY_BUCKETS = 256;
+
+	private static final long MAX_STORAGE = (1L << 47) - 1;
+
+	private final OrderStatisticTree storage = new OrderStatisticTree();
+	private final OrderStatisticTree reliability = new OrderStatisticTree();
+	// indexed from 1 by reliability + 1
+	private final OrderStatisticTree[] storageByReliability = new OrderStatisticTree[RELIABILITY_BUCKETS + 1];
+	// storage and reliability every edge is indexed with
+	private final Map<Short, long[]> indexed = new HashMap<>();
+	// edges added, removed or updated since the last refresh
+	private final Set<Short> changed = new HashSet<>();
+	// quadrant of every edge in the localEdgeMapping
+	private final Map<Short, StorageReliability> quadrants = new HashMap<>();
+	private boolean mapped = false;
+	private long storageThreshold;
+	private long reliabilityThreshold;
+
+	public LocalEdgeIndex() {
+		for (int i = 1; i <= RELIABILITY_BUCKETS; i++) {
+			storageByReliability[i] = new OrderStatisticTree();
+		}
+	}
+
+	// same edges as the ones considered for the 10 byte stats so far
+	public static boolean isUsable(Short edgeId, EdgeInfo edgeInfo, Set<Short> noStorageEdges) {
+		return edgeInfo != null && edgeInfo.getStats() != null && edgeInfo.getStatus().equals("A")
+				&& !noStorageEdges.contains(edgeId);
+	}
+
+	public synchronized void rebuild(Map<Short, EdgeInfo> localEdgesMap, Set<Short> noStorageEdges) {
+		for (Short edgeId : new ArrayList<>(indexed.keySet())) {
+			remove(edgeId);
+		}
+		for (Short edgeId : localEdgesMap.keySet()) {
+			update(edgeId, localEdgesMap.get(edgeId), noStorageEdges);
+		}
+	}
+
+	/**
+	 * Indexes the edge with its current stats, or removes it if it is not active
+	 * or is short of storage
+	 */
+	public synchronized void update(Short edgeId, EdgeInfo edgeInfo, Set<Short> noStorageEdges) {
+		remove(edgeId);
+		if (isUsable(edgeId, edgeInfo, noStorageEdges)) {
+			long s = Math.min(Math.max(edgeInfo.getStats().getStorage(), 0), MAX_STORAGE);
+			long r = Math.min(Math.max(edgeInfo.getStats().getReliability(), 0), RELIABILITY_BUCKETS - 1);
+			storage.insert(key(s, edgeId));
+			reliability.insert(key(r, edgeId));
+			for (int i = (int) r + 1; i <= RELIABILITY_BUCKETS; i += i & -i) {
+				storageByReliability[i].insert(key(s, edgeId));
+			}
+			indexed.put(edgeId, new long[] { s, r });
+		}
+		changed.add(edgeId);
+	}
+
+	public synchronized void remove(Short edgeId) {
+		long[] values = indexed.remove(edgeId);
+		if (values != null) {
+			storage.remove(key(values[0], edgeId));
+			reliability.remove(key(values[1], edgeId));
+			for (int i = (int) values[1] + 1; i <= RELIABILITY_BUCKETS; i += i & -i) {
+				storageByReliability[i].remove(key(values[0], edgeId));
+			}
+		}
+		changed.add(edgeId);
+	}
+
+	public synchronized int size() {
+		return indexed.size();
+	}
+
+	/**
+	 * Computes the min, median and max storage and reliability along with the
+	 * number of edges in the four quadrants (a for LL, b for HL, c for LH and d
+	 * for HH) and moves the edges whose quadrant changed in the localEdgeMapping.
+	 *
+	 * @return the stats or null if there is no usable edge
+	 */
+	public synchronized FogStats refresh(Map<StorageReliability, List<Short>> localEdgeMapping) {
+		int n = indexed.size();
+		if (n == 0) {
+			updateMapping(localEdgeMapping, storageThreshold, reliabilityThreshold);
+			return null;
+		}
+		long minStorage = value(storage.select(0));
+		long medianStorage = value(storage.select((n - 1) / 2));
+		long maxStorage = value(storage.select(n - 1));
+		long minReliability = value(reliability.select(0));
+		long medianReliability = value(reliability.select(n / 2));
+		long maxReliability = value(reliability.select(n - 1));
+
+		// at most half the edges are below the median reliability, when many
+		// edges share it the next larger reliability may split them more evenly
+		int low = reliability.rank(key(medianReliability, 0));
+		if (!isBalanced(low, n)) {
+			int atMost = reliability.rank(key(medianReliability + 1, 0));
+			if (atMost < n && Math.abs(n - 2 * atMost) < Math.abs(n - 2 * low)) {
+				medianReliability = value(reliability.select(atMost));
+				low = atMost;
+			}
+		}
+
+		int a = countBelow(medianStorage, medianReliability);
+		int b = low - a;
+		int c = storage.rank(key(medianStorage, 0)) - a;
+		int d = n - a - b - c;
+		updateMapping(localEdgeMapping, medianStorage, medianReliability);
+		return new FogStats(minStorage, medianStorage, maxStorage, (int) minReliability, (int) medianReliability,
+				(int) maxReliability, a, b, c, d);
+	}
+
+	private static boolean isBalanced(int low, int n) {
+		int diff = Math.abs(n - 2 * low);
+		return diff == 0 || ((n & 1) != 0 && diff == 1);
+	}
+
+	// edges with storage below s and reliability below r
+	private int countBelow(long s, long r) {
+		int count = 0;
+		for (int i = (int) Math.min(r, RELIABILITY_BUCKETS); i > 0; i -= i & -i) {
+			count += storageByReliability[i].rank(key(s, 0));
+		}
+		return count;
+	}
+
+	// only the changed edges and the ones between the previous and the new
+	// medians can move to another quadrant
+	private void updateMapping(Map<StorageReliability, List<Short>> localEdgeMapping, long newStorageThreshold,
+			long newReliabilityThreshold) {
+		Set<Short> edges = new HashSet<>(changed);
+		if (!mapped) {
+			for (List<Short> list : localEdgeMapping.values()) {
+				list.clear();
+			}
+			quadrants.clear();
+			edges.addAll(indexed.keySet());
+			mapped = true;
+		} else {
+			if (newStorageThreshold != storageThreshold) {
+				for (Long key : storage.range(key(Math.min(storageThreshold, newStorageThreshold), 0),
+						key(Math.max(storageThreshold, newStorageThreshold), 0))) {
+					edges.add(edgeId(key));
+				}
+			}
+			if (newReliabilityThreshold != reliabilityThreshold) {
+				for (Long key : reliability.range(key(Math.min(reliabilityThreshold, newReliabilityThreshold), 0),
+						key(Math.max(reliabilityThreshold, newReliabilityThreshold), 0))) {
+					edges.add(edgeId(key));
+				}
+			}
+		}
+		changed.clear();
+		storageThreshold = newStorageThreshold;
+		reliabilityThreshold = newReliabilityThreshold;
+
+		for (Short edgeId : edges) {
+			long[] values = indexed.get(edgeId);
+			StorageReliability quadrant = null;
+			if (values != null) {
+				if (values[0] >= storageThreshold) {
+					quadrant = values[1] >= reliabilityThreshold ? StorageReliability.HH : StorageReliability.HL;
+				} else {
+					quadrant = values[1] >= reliabilityThreshold ? StorageReliability.LH : StorageReliability.LL;
+				}
+			}
+			StorageReliability previous = quadrants.get(edgeId);
+			if (quadrant == previous) {
+				continue;
+			}
+			if (previous != null) {
+				List<Short> list = localEdgeMapping.get(previous);
+				if (list != null) {
+					list.remove(edgeId);
+				}
+				quadrants.remove(edgeId);
+			}
+			if (quadrant != null) {
+				if (localEdgeMapping.get(quadrant) == null) {
+					localEdgeMapping.put(quadrant, new ArrayList<Short>());
+				}
+				localEdgeMapping.get(quadrant).add(edgeId);
+				quadrants.put(edgeId, quadrant);
+			}
+		}
+	}
+
+	private static long key(long value, int edgeId) {
+		return (value << 16) | (edgeId & 0xffff);
+	}
+
+	private static long value(long key) {
+		return key >> 16;
+	}
+
+	private static short edgeId(long key) {
+		return (short) (key & 0xffff);
+	}
+
+}
@@ -0,0 +1,184 @@
+package com.dreamlab.edgefs.misc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A set of long keys which also answers how many keys are smaller than a given
+ * one and which is the k-th smallest key, each in O(log n). It is a treap where
+ * every node keeps the size of its subtree.
+ */
+public class OrderStatisticTree {
+
+	private static final class Node {
+		private final long key;
+		private final int priority;
+		private int size = 1;
+		private Node left;
+		private Node right;
+
+		private Node(long key, int priority) {
+			this.key = key;
+			this.priority = priority;
+		}
+	}
+
+	private final Random random = new Random();
+	private Node root;
+
+	public int size() {
+		return size(root);
+	}
+
+	public boolean isEmpty() {
+		return root == null;
+	}
+
+	public void clear() {
+		root = null;
+	}
+
+	public boolean contains(long key) {
+		Node node = root;
+		while (node != null) {
+			if (key == node.key) {
+				return true;
+			}
+			node = key < node.key ? node.left : node.right;
+		}
+		return false;
+	}
+
+	/**
+	 * @return false if the key was already present
+	 */
+	public boolean insert(long key) {
+		if (contains(key)) {
+			return false;
+		}
+		Node[] parts = split(root, key);
+		root = merge(merge(parts[0], new Node(key, random.nextInt())), parts[1]);
+		return true;
+	}
+
+	/**
+	 * @return false if the key was not present
+	 */
+	public boolean remove(long key) {
+		if (!contains(key)) {
+			return false;
+		}
+		Node[] parts = split(root, key);
+		Node[] rest = split(parts[1], key + 1);
+		root = merge(parts[0], rest[1]);
+		return true;
+	}
+
+	/**
+	 * @return the number of keys smaller than key
+	 */
+	public int rank(long key) {
+		int rank = 0;
+		Node node = root;
+		while (node != null) {
+			if (key <= node.key) {
+				node = node.left;
+			} else {
+				rank += size(node.left) + 1;
+				node = node.right;
+			}
+		}
+		return rank;
+	}
+
+	/**
+	 * @param k from 0 for the smallest key
+	 * @return the k-th smallest key
+	 */
+	public long select(int k) {
+		if (k < 0 || k >= size()) {
+			throw new IndexOutOfBoundsException("Index : " + k + ", size : " + size());
+		}
+		Node node = root;
+		while (true) {
+			int leftSize = size(node.left);
+			if (k < leftSize) {
+				node = node.left;
+			} else if (k == leftSize) {
+				return node.key;
+			} else {
+				k -= leftSize + 1;
+				node = node.right;
+			}
+		}
+	}
+
+	/**
+	 * @return the keys from (inclusive) to (exclusive) in order
+	 */
+	public List<Long> range(long from, long to) {
+		List<Long> keys = new ArrayList<>();
+		collect(root, from, to, keys);
+		return keys;
+	}
+
+	private static void collect(Node node, long from, long to, List<Long> keys) {
+		if (node == null) {
+			return;
+		}
+		if (from < node.key) {
+			collect(node.left, from, to, keys);
+		}
+		if (node.key >= from && node.key < to) {
+			keys.add(node.key);
+		}
+		if (to > node.key + 1) {
+			collect(node.right, from, to, keys);
+		}
+	}
+
+	private static int size(Node node) {
+		return node == null ? 0 : node.size;
+	}
+
+	private static void update(Node node) {
+		node.size = size(node.left) + size(node.right) + 1;
+	}
+
+	// the keys smaller than key and the rest
+	private static Node[] split(Node node, long key) {
+		if (node == null) {
+			return new Node[] { null, null };
+		}
+		if (node.key < key) {
+			Node[] parts = split(node.right, key);
+			node.right = parts[0];
+			update(node);
+			return new Node[] { node, parts[1] };
+		}
+		Node[] parts = split(node.left, key);
+		node.left = parts[1];
+		update(node);
+		return new Node[] { parts[0], node };
+	}
+
+	// every key of left is smaller than the keys of right
+	private static Node merge(Node left, Node right) {
+		if (left == null) {
+			return right;
+		}
+		if (right == null) {
+			return left;
+		}
+		if (left.priority > right.priority) {
+			left.right = merge(left.right, right);
+			update(left);
+			return left;
+		}
+		right.left = merge(left, right.left);
+		update(right);
+		return right;
+	}
+
+}
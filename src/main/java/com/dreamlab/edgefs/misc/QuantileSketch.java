@@ -0,0 +1,216 @@
+package com.dreamlab.edgefs.misc;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A KLL quantile sketch of a stream of values. The values are kept in levels
+ * of compactors where a value at level h stands for 2^h of the values added.
+ * When the sketch is full a level is sorted and every other value of it moves
+ * up a level, so the sketch keeps O(k) values however many are added while a
+ * rank is off by about n/k at most. Two sketches are merged by putting their
+ * levels together, which is what lets the sketches of the edges of every Fog
+ * be combined into one for the whole system.
+ */
+public class QuantileSketch {
+
+	private final int k;
+	private final List<List<Long>> levels = new ArrayList<>();
+	private long count;
+
+	public QuantileSketch(int k) {
+		this.k = Math.max(k, 2);
+		levels.add(new ArrayList<Long>());
+	}
+
+	public int getK() {
+		return k;
+	}
+
+	/**
+	 * @return the number of values added to the sketch or to the ones merged in
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	public boolean isEmpty() {
+		return count == 0;
+	}
+
+	public void update(long value) {
+		levels.get(0).add(value);
+		count += 1;
+		compress();
+	}
+
+	public void merge(QuantileSketch other) {
+		while (levels.size() < other.levels.size()) {
+			levels.add(new ArrayList<Long>());
+		}
+		for (int h = 0; h < other.levels.size(); h++) {
+			levels.get(h).addAll(other.levels.get(h));
+		}
+		count += other.count;
+		compress();
+	}
+
+	/**
+	 * @return the fraction of the values smaller than value
+	 */
+	public double cdf(long value) {
+		long total = 0;
+		long smaller = 0;
+		for (int h = 0; h < levels.size(); h++) {
+			long weight = 1L << h;
+			for (Long item : levels.get(h)) {
+				total += weight;
+				if (item < value) {
+					smaller += weight;
+				}
+			}
+		}
+		return total == 0 ? 0 : (double) smaller / total;
+	}
+
+	/**
+	 * @return the value at the given fraction of the values in sorted order, 0 if
+	 *         the sketch is empty
+	 */
+	public long quantile(double fraction) {
+		List<long[]> items = new ArrayList<>();
+		long total = 0;
+		for (int h = 0; h < levels.size(); h++) {
+			for (Long item : levels.get(h)) {
+				items.add(new long[] { item, 1L << h });
+				total += 1L << h;
+			}
+		}
+		if (items.isEmpty()) {
+			return 0;
+		}
+		Collections.sort(items, new Comparator<long[]>() {
+
+			@Override
+			public int compare(long[] o1, long[] o2) {
+				return Long.compare(o1[0], o2[0]);
+			}
+		});
+		double target = fraction * total;
+		long seen = 0;
+		for (long[] item : items) {
+			seen += item[1];
+			if (seen >= target) {
+				return item[0];
+			}
+		}
+		return items.get(items.size() - 1)[0];
+	}
+
+	public byte[] toBytes() {
+		int size = 4 + 8 + 4;
+		for (List<Long> level : levels) {
+			size += 4 + 8 * level.size();
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(size);
+		buffer.putInt(k);
+		buffer.putLong(count);
+		buffer.putInt(levels.size());
+		for (List<Long> level : levels) {
+			buffer.putInt(level.size());
+			for (Long item : level) {
+				buffer.putLong(item);
+			}
+		}
+		return buffer.array();
+	}
+
+	/**
+	 * @return the sketch read from the buffer or null if it doesn't hold one
+	 */
+	public static QuantileSketch fromBytes(ByteBuffer buffer) {
+		try {
+			QuantileSketch sketch = new QuantileSketch(buffer.getInt());
+			sketch.count = buffer.getLong();
+			int numLevels = buffer.getInt();
+			if (numLevels <= 0 || numLevels > 64) {
+				return null;
+			}
+			sketch.levels.clear();
+			for (int h = 0; h < numLevels; h++) {
+				int size = buffer.getInt();
+				if (size < 0 || size * 8L > buffer.remaining()) {
+					return null;
+				}
+				List<Long> level = new ArrayList<>(size);
+				for (int i = 0; i < size; i++) {
+					level.add(buffer.getLong());
+				}
+				sketch.levels.add(level);
+			}
+			return sketch;
+		} catch (BufferUnderflowException e) {
+			return null;
+		}
+	}
+
+	// the lower levels get geometrically smaller capacities, the top one k
+	private int capacity(int h) {
+		int depth = levels.size() - h - 1;
+		return Math.max(2, (int) Math.ceil(k * Math.pow(2.0 / 3, depth)));
+	}
+
+	private int size() {
+		int size = 0;
+		for (List<Long> level : levels) {
+			size += level.size();
+		}
+		return size;
+	}
+
+	private int maxSize() {
+		int maxSize = 0;
+		for (int h = 0; h < levels.size(); h++) {
+			maxSize += capacity(h);
+		}
+		return maxSize;
+	}
+
+	private void compress() {
+		while (size() > maxSize()) {
+			for (int h = 0; h < levels.size(); h++) {
+				if (levels.get(h).size() >= capacity(h)) {
+					if (h + 1 >= levels.size()) {
+						levels.add(new ArrayList<Long>());
+					}
+					compact(levels.get(h), levels.get(h + 1));
+					break;
+				}
+			}
+		}
+	}
+
+	// every other value goes up a level with twice the weight, a random start
+	// keeps the ranks unbiased. With an odd number of values the largest stays
+	private static void compact(List<Long> level, List<Long> next) {
+		Collections.sort(level);
+		Long last = null;
+		if (level.size() % 2 == 1) {
+			last = level.remove(level.size() - 1);
+		}
+		int offset = ThreadLocalRandom.current().nextBoolean() ? 1 : 0;
+		for (int i = offset; i < level.size(); i += 2) {
+			next.add(level.get(i));
+		}
+		level.clear();
+		if (last != null) {
+			level.add(last);
+		}
+	}
+
+}
@@ -0,0 +1,225 @@
+package com.dreamlab.edgefs.misc;
+
+/**
+ * Reed-Solomon code over GF(2^8) splitting a block in dataShards equal pieces
+ * and adding parityShards pieces computed from them, so that the block can be
+ * put back together from any dataShards of the pieces. The code is systematic,
+ * the data shards are the block itself (padded with zeroes at the end) and the
+ * parity shards use the rows of a Cauchy matrix, any square submatrix of which
+ * is invertible.
+ */
+public class ReedSolomon {
+
+	// product of every pair of field elements, the rows are indexed by the
+	// coefficient so that a shard is multiplied by looking up a single row
+	private static final byte[][] MUL = new byte[256][256];
+	private static final int[] EXP = new int[510];
+	private static final int[] LOG = new int[256];
+
+	static {
+		int x = 1;
+		for (int i = 0; i < 255; i++) {
+			EXP[i] = x;
+			EXP[i + 255] = x;
+			LOG[x] = i;
+			x <<= 1;
+			if ((x & 0x100) != 0) {
+				// x^8 + x^4 + x^3 + x^2 + 1
+				x ^= 0x11d;
+			}
+		}
+		for (int a = 1; a < 256; a++) {
+			for (int b = 1; b < 256; b++) {
+				MUL[a][b] = (byte) EXP[LOG[a] + LOG[b]];
+			}
+		}
+	}
+
+	private final int dataShards;
+	private final int parityShards;
+	// parity[i][j] is the coefficient of data shard j in parity shard i
+	private final int[][] parity;
+
+	public ReedSolomon(int dataShards, int parityShards) {
+		if (dataShards <= 0 || parityShards < 0 || dataShards + parityShards > 256) {
+			throw new IllegalArgumentException(
+					"Unsupported number of shards, data : " + dataShards + ", parity : " + parityShards);
+		}
+		this.dataShards = dataShards;
+		this.parityShards = parityShards;
+		this.parity = new int[parityShards][dataShards];
+		for (int i = 0; i < parityShards; i++) {
+			for (int j = 0; j < dataShards; j++) {
+				// 1 / (x_i - y_j) with x_i = dataShards + i and y_j = j
+				parity[i][j] = inverse((dataShards + i) ^ j);
+			}
+		}
+	}
+
+	public int getDataShards() {
+		return dataShards;
+	}
+
+	public int getParityShards() {
+		return parityShards;
+	}
+
+	public int getTotalShards() {
+		return dataShards + parityShards;
+	}
+
+	/**
+	 * Splits the data in the data shards followed by the parity shards, all of
+	 * the same size
+	 */
+	public byte[][] encode(byte[] data) {
+		int shardSize = Math.max(1, (data.length + dataShards - 1) / dataShards);
+		byte[][] shards = new byte[getTotalShards()][shardSize];
+		for (int i = 0; i < dataShards; i++) {
+			int from = i * shardSize;
+			if (from < data.length) {
+				System.arraycopy(data, from, shards[i], 0, Math.min(shardSize, data.length - from));
+			}
+		}
+		for (int i = 0; i < parityShards; i++) {
+			combine(parity[i], shards, shards[dataShards + i]);
+		}
+		return shards;
+	}
+
+	/**
+	 * Fills in the missing shards, the ones which are null, from the ones present.
+	 *
+	 * @throws IllegalArgumentException if fewer than dataShards shards are present
+	 */
+	public void reconstruct(byte[][] shards) {
+		int[] present = new int[dataShards];
+		int count = 0;
+		int shardSize = 0;
+		for (int i = 0; i < shards.length && count < dataShards; i++) {
+			if (shards[i] != null) {
+				present[count++] = i;
+				shardSize = shards[i].length;
+			}
+		}
+		if (count < dataShards) {
+			throw new IllegalArgumentException("Only " + count + " shards present, " + dataShards + " needed");
+		}
+
+		// the rows of the encoding matrix for the shards present, inverted, give
+		// the data shards back from them
+		int[][] matrix = new int[dataShards][];
+		byte[][] inputs = new byte[dataShards][];
+		for (int r = 0; r < dataShards; r++) {
+			int index = present[r];
+			if (index < dataShards) {
+				matrix[r] = new int[dataShards];
+				matrix[r][index] = 1;
+			} else {
+				matrix[r] = parity[index - dataShards].clone();
+			}
+			inputs[r] = shards[index];
+		}
+		int[][] decode = invert(matrix);
+		for (int i = 0; i < dataShards; i++) {
+			if (shards[i] == null) {
+				shards[i] = new byte[shardSize];
+				combine(decode[i], inputs, shards[i]);
+			}
+		}
+		for (int i = 0; i < parityShards; i++) {
+			if (shards[dataShards + i] == null) {
+				shards[dataShards + i] = new byte[shardSize];
+				combine(parity[i], shards, shards[dataShards + i]);
+			}
+		}
+	}
+
+	/**
+	 * Puts the data back together from the shards, reconstructing the missing
+	 * data shards if needed
+	 *
+	 * @param length size of the data before it was split
+	 */
+	public byte[] decode(byte[][] shards, long length) {
+		for (int i = 0; i < dataShards; i++) {
+			if (shards[i] == null) {
+				reconstruct(shards);
+				break;
+			}
+		}
+		byte[] data = new byte[(int) length];
+		int shardSize = shards[0].length;
+		for (int i = 0; i < dataShards; i++) {
+			int from = i * shardSize;
+			if (from >= data.length) {
+				break;
+			}
+			System.arraycopy(shards[i], 0, data, from, Math.min(shardSize, data.length - from));
+		}
+		return data;
+	}
+
+	// output = sum of coefficients[j] * inputs[j] over the first
+	// coefficients.length inputs
+	private static void combine(int[] coefficients, byte[][] inputs, byte[] output) {
+		for (int j = 0; j < coefficients.length; j++) {
+			if (coefficients[j] == 0) {
+				continue;
+			}
+			byte[] row = MUL[coefficients[j]];
+			byte[] input = inputs[j];
+			for (int b = 0; b < output.length; b++) {
+				output[b] ^= row[input[b] & 0xff];
+			}
+		}
+	}
+
+	private static int multiply(int a, int b) {
+		return MUL[a][b] & 0xff;
+	}
+
+	private static int inverse(int a) {
+		return EXP[255 - LOG[a]];
+	}
+
+	// Gauss-Jordan elimination, the matrix is always invertible for the rows of
+	// the identity and the Cauchy matrix
+	private static int[][] invert(int[][] matrix) {
+		int n = matrix.length;
+		int[][] result = new int[n][n];
+		for (int i = 0; i < n; i++) {
+			result[i][i] = 1;
+		}
+		for (int col = 0; col < n; col++) {
+			int pivot = col;
+			while (matrix[pivot][col] == 0) {
+				pivot++;
+			}
+			int[] tmp = matrix[pivot];
+			matrix[pivot] = matrix[col];
+			matrix[col] = tmp;
+			tmp = result[pivot];
+			result[pivot] = result[col];
+			result[col] = tmp;
+
+			int scale = inverse(matrix[col][col]);
+			for (int j = 0; j < n; j++) {
+				matrix[col][j] = multiply(matrix[col][j], scale);
+				result[col][j] = multiply(result[col][j], scale);
+			}
+			for (int row = 0; row < n; row++) {
+				int factor = matrix[row][col];
+				if (row == col || factor == 0) {
+					continue;
+				}
+				for (int j = 0; j < n; j++) {
+					matrix[row][j] ^= multiply(factor, matrix[col][j]);
+					result[row][j] ^= multiply(factor, result[col][j]);
+				}
+			}
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,40 @@
+package com.dreamlab.edgefs.misc;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A fixed set of locks shared by the keys hashing to them, so that operations
+ * on the same key are serialized while the ones on different keys mostly run
+ * in parallel. Unlike a lock per key nothing has to be removed once a key is
+ * gone.
+ */
+public class StripedLocks {
+
+	private final Lock[] locks;
+	private final int mask;
+
+	/**
+	 * @param stripes number of locks, rounded up to a power of two
+	 */
+	public StripedLocks(int stripes) {
+		int size = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+		locks = new Lock[size];
+		for (int i = 0; i < size; i++) {
+			locks[i] = new ReentrantLock();
+		}
+		mask = size - 1;
+	}
+
+	public int size() {
+		return locks.length;
+	}
+
+	public Lock get(Object key) {
+		int h = key.hashCode();
+		// the high bits are folded in as only the low ones pick the lock
+		h ^= (h >>> 16);
+		return locks[h & mask];
+	}
+
+}
@@ -0,0 +1,82 @@
+package com.dreamlab.edgefs.misc;
+
+import java.util.Random;
+
+/**
+ * Draws indices at random in proportion to their weights, without replacement
+ * once an index is removed. The weights are kept in a Fenwick tree so that a
+ * draw and a removal take O(log n) irrespective of how many of the indices
+ * were drawn before, unlike retrying uniform draws till an unused index comes
+ * up. Not thread safe, an instance is used by a single placement.
+ */
+public class WeightedSampler {
+
+	// tree[i] holds the sum of the weights of the indices (i - lowbit(i), i]
+	private final long[] tree;
+	private final long[] weights;
+	private long total;
+
+	public WeightedSampler(long[] weights) {
+		this.weights = new long[weights.length];
+		this.tree = new long[weights.length + 1];
+		for (int i = 0; i < weights.length; i++) {
+			this.weights[i] = Math.max(0, weights[i]);
+			total += this.weights[i];
+			tree[i + 1] += this.weights[i];
+			// linear construction by pushing every partial sum to its parent
+			int parent = (i + 1) + ((i + 1) & -(i + 1));
+			if (parent <= weights.length) {
+				tree[parent] += tree[i + 1];
+			}
+		}
+	}
+
+	public int size() {
+		return weights.length;
+	}
+
+	public long getTotal() {
+		return total;
+	}
+
+	public long getWeight(int index) {
+		return weights[index];
+	}
+
+	/**
+	 * Returns an index with probability proportional to its weight, -1 if all
+	 * the weights are 0
+	 */
+	public int draw(Random random) {
+		if (total <= 0) {
+			return -1;
+		}
+		long target = (long) (random.nextDouble() * total);
+		// descend the tree for the first index whose prefix sum exceeds target
+		int pos = 0;
+		for (int step = Integer.highestOneBit(weights.length); step > 0; step >>= 1) {
+			int next = pos + step;
+			if (next <= weights.length && tree[next] <= target) {
+				pos = next;
+				target -= tree[next];
+			}
+		}
+		return Math.min(pos, weights.length - 1);
+	}
+
+	/**
+	 * Sets the weight of the index to 0 so that it is not drawn again
+	 */
+	public void remove(int index) {
+		long weight = weights[index];
+		if (weight == 0) {
+			return;
+		}
+		weights[index] = 0;
+		total -= weight;
+		for (int i = index + 1; i <= weights.length; i += i & -i) {
+			tree[i] -= weight;
+		}
+	}
+
+}
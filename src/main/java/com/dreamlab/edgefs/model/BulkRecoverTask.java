@@ -0,0 +1,360 @@
+package com.dreamlab.edgefs.model;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TBinaryProtocol;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.transport.TFramedTransport;
+import org.apache.thrift.transport.TSocket;
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dreamlab.edgefs.controlplane.Fog;
+import com.dreamlab.edgefs.misc.BandwidthThrottle;
+import com.dreamlab.edgefs.misc.BloomFilter;
+import com.dreamlab.edgefs.misc.Constants;
+import com.dreamlab.edgefs.misc.ErasureFragment;
+import com.dreamlab.edgefs.servicehandler.FogServiceHandler;
+import com.dreamlab.edgefs.thrift.FindReplica;
+import com.dreamlab.edgefs.thrift.FogService;
+import com.dreamlab.edgefs.thrift.Metadata;
+import com.dreamlab.edgefs.thrift.NodeInfoData;
+import com.dreamlab.edgefs.thrift.WritableFogData;
+import com.dreamlab.edgefs.thrift.WritePreference;
+
+/**
+ * Recovers all the microbatches of a dead edge together. Instead of doing a
+ * find, read, identifyReplicas and write per microbatch, the lost microbatches
+ * are grouped by a Fog holding a surviving replica (located using the bloom
+ * filters of neighbors and buddies) and split in batches. The replicas for a
+ * batch are picked once and each of them is asked to copy the batch directly
+ * from the source Fog, so the data flows only once and this Fog only
+ * orchestrates. The data copied is accounted against the bandwidth throttle
+ * shared by all the recovery workers.
+ */
+public class BulkRecoverTask {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(BulkRecoverTask.class);
+
+	private short edgeId;
+	private Integer reliability;
+	private List<Long> microbatchIds;
+	private FogServiceHandler handler;
+	private BandwidthThrottle throttle;
+
+	public BulkRecoverTask() {
+
+	}
+
+	public BulkRecoverTask(short edgeId, Integer reliability, List<Long> microbatchIds, FogServiceHandler handler,
+			BandwidthThrottle throttle) {
+		super();
+		this.edgeId = edgeId;
+		this.reliability = reliability;
+		this.microbatchIds = microbatchIds;
+		this.handler = handler;
+		this.throttle = throttle;
+	}
+
+	public short getEdgeId() {
+		return edgeId;
+	}
+
+	public void setEdgeId(short edgeId) {
+		this.edgeId = edgeId;
+	}
+
+	public Integer getReliability() {
+		return reliability;
+	}
+
+	public List<Long> getMicrobatchIds() {
+		return microbatchIds;
+	}
+
+	/**
+	 * Recovers the microbatches and returns the ones which could not be read from
+	 * any surviving replica or not written to any new replica
+	 */
+	public List<Long> recover() throws InterruptedException {
+		Fog fog = handler.getFog();
+		LOGGER.info("Bulk recovery of " + microbatchIds.size() + " microbatches belonging to EdgeId: " + edgeId
+				+ " starts at " + System.currentTimeMillis());
+
+		// first pass uses only the bloom filters to pick a source Fog for every
+		// microbatch, the ones which could not be copied from the picked source are
+		// located again using the full find and retried
+		Map<NodeInfoData, List<Long>> sourceBlocks = new LinkedHashMap<>();
+		List<Long> unlocated = new ArrayList<>();
+		for (Long mbId : microbatchIds) {
+			NodeInfoData source = locateSource(fog, mbId);
+			if (source == null) {
+				unlocated.add(mbId);
+			} else {
+				addToSource(sourceBlocks, source, mbId);
+			}
+		}
+		List<Long> failed = recoverFromSources(sourceBlocks);
+		failed.addAll(unlocated);
+
+		if (!failed.isEmpty()) {
+			LOGGER.info(failed.size() + " microbatches of EdgeId: " + edgeId
+					+ " not recovered in first pass, locating them using find");
+			sourceBlocks = new LinkedHashMap<>();
+			for (Long mbId : failed) {
+				List<FindReplica> currentReplicas = new ArrayList<>();
+				try {
+					currentReplicas = handler.find(mbId, true, true, null);
+				} catch (TException e) {
+					LOGGER.error("Error while finding replicas for data recovery : " + e);
+					e.printStackTrace();
+				}
+				if (currentReplicas.isEmpty()) {
+					LOGGER.info("No surviving replica found for microbatchId : " + mbId);
+					continue;
+				}
+				addToSource(sourceBlocks, currentReplicas.get(0).getNode(), mbId);
+			}
+			List<Long> notFound = new ArrayList<>(failed);
+			notFound.removeAll(flatten(sourceBlocks));
+			failed = recoverFromSources(sourceBlocks);
+			failed.addAll(rebuildFragments(notFound));
+			for (Long mbId : failed) {
+				LOGGER.info("Unable to recover microbatchId : " + mbId + " lost from edgeId: " + edgeId);
+			}
+		}
+
+		LOGGER.info("Bulk recovery of microbatches belonging to EdgeId: " + edgeId + " ends at "
+				+ System.currentTimeMillis());
+		Set<Long> set = fog.getEdgeMicrobatchMap().get(edgeId);
+		if (set != null && set.size() == 0) {
+			LOGGER.info("All microbatches recovered for EdgeId: " + edgeId + " at " + System.currentTimeMillis());
+		}
+		return failed;
+	}
+
+	// a fragment of an erasure coded block has no other copy, it is rebuilt from
+	// the other fragments of the block instead. Returns the ones not rebuilt
+	private List<Long> rebuildFragments(List<Long> mbIds) {
+		List<Long> notRebuilt = new ArrayList<>();
+		Set<Long> set = handler.getFog().getEdgeMicrobatchMap().get(edgeId);
+		for (Long mbId : mbIds) {
+			boolean rebuilt = false;
+			if (ErasureFragment.isFragmentId(mbId)) {
+				try {
+					rebuilt = handler.getErasureCodedStore().rebuild(mbId);
+				} catch (TException e) {
+					LOGGER.error("Error while rebuilding fragment : " + mbId + " : " + e);
+					e.printStackTrace();
+				}
+			}
+			if (rebuilt) {
+				LOGGER.info("Successfully rebuilt fragment : " + mbId + " lost from edgeId: " + edgeId);
+				if (set != null) {
+					set.remove(mbId);
+				}
+			} else {
+				notRebuilt.add(mbId);
+			}
+		}
+		return notRebuilt;
+	}
+
+	private List<Long> flatten(Map<NodeInfoData, List<Long>> sourceBlocks) {
+		List<Long> mbIds = new ArrayList<>();
+		for (List<Long> blocks : sourceBlocks.values()) {
+			mbIds.addAll(blocks);
+		}
+		return mbIds;
+	}
+
+	private void addToSource(Map<NodeInfoData, List<Long>> sourceBlocks, NodeInfoData source, Long mbId) {
+		if (!sourceBlocks.containsKey(source)) {
+			sourceBlocks.put(source, new ArrayList<Long>());
+		}
+		sourceBlocks.get(source).add(mbId);
+	}
+
+	// picks a Fog which may have a surviving replica of the microbatch, first
+	// checking the other local edges and then the neighbor and buddy bloom filters
+	private NodeInfoData locateSource(Fog fog, Long mbId) {
+		Map<Short, Byte> edgeMap = fog.getMbIDLocationMap().get(mbId);
+		if (edgeMap != null) {
+			for (Short holder : edgeMap.keySet()) {
+				EdgeInfo holderInfo = fog.getLocalEdgesMap().get(holder);
+				if (holder != edgeId && holderInfo != null && holderInfo.getStatus().equals("A")) {
+					FogInfo myFogInfo = fog.getMyFogInfo();
+					return new NodeInfoData(myFogInfo.getNodeID(), myFogInfo.getNodeIP(), myFogInfo.getPort());
+				}
+			}
+		}
+		for (Entry<Short, FogExchangeInfo> entry : fog.getNeighborExchangeInfo().entrySet()) {
+			FogExchangeInfo nInfo = entry.getValue();
+			if (nInfo != null && !fog.isPeerSuspected(entry.getKey())
+					&& BloomFilter.search(Constants.MICROBATCH_METADATA_ID, String.valueOf(mbId),
+					nInfo.getBloomFilterUpdates())) {
+				NeighborInfo neighbor = fog.getNeighborsMap().get(entry.getKey());
+				if (neighbor != null) {
+					return new NodeInfoData(neighbor.getNode().getNodeID(), neighbor.getNode().getNodeIP(),
+							neighbor.getNode().getPort());
+				}
+			}
+		}
+		for (Entry<Short, FogExchangeInfo> entry : fog.getBuddyExchangeInfo().entrySet()) {
+			FogExchangeInfo buddyInfo = entry.getValue();
+			if (buddyInfo != null && !fog.isPeerSuspected(entry.getKey())
+					&& BloomFilter.search(Constants.MICROBATCH_METADATA_ID, String.valueOf(mbId),
+					buddyInfo.getBloomFilterUpdates())) {
+				FogInfo buddy = fog.getBuddyMap().get(entry.getKey());
+				if (buddy != null) {
+					return new NodeInfoData(buddy.getNodeID(), buddy.getNodeIP(), buddy.getPort());
+				}
+			}
+		}
+		return null;
+	}
+
+	// for every source the microbatches are split in batches and the new replicas
+	// of each batch are asked to copy it directly from the source, returns the
+	// microbatches which could not be recovered
+	private List<Long> recoverFromSources(Map<NodeInfoData, List<Long>> sourceBlocks)
+			throws InterruptedException {
+		List<Long> failed = new ArrayList<>();
+		int batchSize = handler.getFog().getRecoveryBatchSize();
+		if (batchSize <= 0) {
+			batchSize = Constants.DEFAULT_RECOVERY_BATCH_SIZE;
+		}
+		for (Entry<NodeInfoData, List<Long>> entry : sourceBlocks.entrySet()) {
+			for (List<Long> blocks : groupByHolders(entry.getValue()).values()) {
+				for (int start = 0; start < blocks.size(); start += batchSize) {
+					List<Long> batch = new ArrayList<>(
+							blocks.subList(start, Math.min(start + batchSize, blocks.size())));
+					failed.addAll(replicateBatch(entry.getKey(), batch));
+				}
+			}
+		}
+		return failed;
+	}
+
+	// the replicas of a batch are picked avoiding the local edges holding its
+	// first microbatch, so only the microbatches held by the same local edges
+	// are batched together and none of them gets a second replica on an edge
+	// already holding it
+	private Map<Set<Short>, List<Long>> groupByHolders(List<Long> blocks) {
+		Fog fog = handler.getFog();
+		Map<Set<Short>, List<Long>> holderBlocks = new LinkedHashMap<>();
+		for (Long mbId : blocks) {
+			Set<Short> holders = new HashSet<>();
+			Map<Short, Byte> edgeMap = fog.getMbIDLocationMap().get(mbId);
+			if (edgeMap != null) {
+				holders.addAll(edgeMap.keySet());
+			}
+			if (!holderBlocks.containsKey(holders)) {
+				holderBlocks.put(holders, new ArrayList<Long>());
+			}
+			holderBlocks.get(holders).add(mbId);
+		}
+		return holderBlocks;
+	}
+
+	// the replicas are identified once for the whole batch using the largest
+	// microbatch in it and each of them pulls the batch from the source, this Fog
+	// only orchestrates and the data doesn't pass through it. All the microbatches
+	// of the batch are held by the same local edges so the ones avoided for the
+	// first are the ones to avoid for the rest. Returns the microbatches not
+	// copied to any new replica
+	private List<Long> replicateBatch(NodeInfoData source, List<Long> batch) throws InterruptedException {
+		Fog fog = handler.getFog();
+		// the size is known from the metadata kept for the local edges, identify
+		// replicas take MB size of datalength
+		long maxLength = 0;
+		for (Long mbId : batch) {
+			Metadata metadata = fog.getBlockMetadata().get(mbId);
+			if (metadata != null && metadata.isSetUncompSize()) {
+				maxLength = Math.max(maxLength, metadata.getUncompSize());
+			}
+		}
+		Long firstMbId = batch.get(0);
+		List<WritableFogData> newReplicas = handler.identifyReplicas(firstMbId, maxLength / (1024 * 1024), true,
+				(double) (reliability * 1.0) / 100, 1, 2);
+		// the local edge picked is only used for the reliability computation here,
+		// the actual edge is picked per microbatch during the write
+		fog.getLocalEdgeWritesInProgress().remove(firstMbId);
+		LOGGER.info("Found new replicas for copying a batch of " + batch.size() + " microbatches from Fog : "
+				+ source.getNodeId());
+
+		// a Fog may be picked more than once, in which case it is asked to copy
+		// the batch that many times using the same connection
+		Map<Short, List<WritableFogData>> targets = new LinkedHashMap<>();
+		for (WritableFogData fogData : newReplicas) {
+			Short nodeId = fogData.getNode().getNodeId();
+			if (!targets.containsKey(nodeId)) {
+				targets.put(nodeId, new ArrayList<WritableFogData>());
+			}
+			targets.get(nodeId).add(fogData);
+		}
+
+		Set<Long> copiedOnce = new HashSet<>();
+		for (List<WritableFogData> fogWrites : targets.values()) {
+			NodeInfoData node = fogWrites.get(0).getNode();
+			TTransport transport = new TFramedTransport(new TSocket(node.getNodeIP(), node.getPort()));
+			try {
+				transport.open();
+			} catch (TTransportException e) {
+				// write failure not accounted
+				transport.close();
+				LOGGER.error("Unable to contact for copying while recovery : " + e);
+				e.printStackTrace();
+				continue;
+			}
+			TProtocol protocol = new TBinaryProtocol(transport);
+			FogService.Client fogClient = new FogService.Client(protocol);
+			try {
+				for (int i = 0; i < fogWrites.size(); i++) {
+					List<Long> copied = fogClient.replicateFrom(batch, source, WritePreference.HHH);
+					long bytesCopied = 0;
+					for (int j = 0; j < batch.size(); j++) {
+						if (copied.get(j) >= 0) {
+							copiedOnce.add(batch.get(j));
+							bytesCopied += copied.get(j);
+						}
+					}
+					// the copy has already happened, this paces the next one
+					throttle.acquire(bytesCopied);
+				}
+			} catch (TException e) {
+				LOGGER.error("Error while copying data during recovery : " + e);
+				e.printStackTrace();
+			} finally {
+				transport.close();
+			}
+		}
+
+		// remove the recovered microbatches from the list of microbatches the edge
+		// has, the ones not copied anywhere stay there
+		List<Long> notCopied = new ArrayList<>();
+		Set<Long> set = fog.getEdgeMicrobatchMap().get(edgeId);
+		for (Long mbId : batch) {
+			if (copiedOnce.contains(mbId)) {
+				LOGGER.info("Successfully recovered microbatch : " + mbId + " lost from edgeId: " + edgeId);
+				if (set != null) {
+					set.remove(mbId);
+				}
+			} else {
+				LOGGER.info("Unable to copy microbatch : " + mbId + " lost from edgeId: " + edgeId);
+				notCopied.add(mbId);
+			}
+		}
+		return notCopied;
+	}
+
+}
@@ -2,75 +2,54 @@ package com.dreamlab.edgefs.model;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map.Entry;
 import java.util.Set;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ThreadPoolExecutor;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.dreamlab.edgefs.controlplane.EdgeLivenessTracker;
 import com.dreamlab.edgefs.controlplane.Fog;
-import com.dreamlab.edgefs.servicehandler.FogServiceHandler;
+import com.dreamlab.edgefs.controlplane.RecoveryQueue;
 
-public class CheckerTask implements Runnable {
+/**
+ * Notified by the EdgeLivenessTracker as soon as an edge misses the maximum
+ * number of heartbeats, marks the edge dead and queues its microbatches for
+ * recovery
+ */
+public class CheckerTask implements EdgeLivenessTracker.EdgeDeathListener {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(CheckerTask.class);
-	
+
 	private Fog fog;
-	private FogServiceHandler handler;
-	private ThreadPoolExecutor executor;
-	private BlockingQueue<Runnable> queue;
-	
-	public CheckerTask(Fog fog, ThreadPoolExecutor exec, FogServiceHandler handler,
-			BlockingQueue<Runnable> queue) {
+	private RecoveryQueue recoveryQueue;
+
+	public CheckerTask(Fog fog, RecoveryQueue recoveryQueue) {
 		super();
 		this.fog = fog;
-		this.executor = exec;
-		this.handler = handler;
-		this.queue = queue;
+		this.recoveryQueue = recoveryQueue;
 	}
-	
-	
+
 	@Override
-	public void run() {
-		while (true) {
-			try {
-				// will be configurable
-				Thread.sleep(150000);
-			} catch (InterruptedException e) {
-				LOGGER.error("Exception : " + e);
-				e.printStackTrace();
-			}
-			LOGGER.info("Going to check if there is a dead edge");
-			for (Entry<Short, EdgeInfo> entry : fog.getLocalEdgesMap().entrySet()) {
-				EdgeInfo edgeInfo = entry.getValue();
-				//should not check here only for status "A". Either check for
-				//both !"A"(Active) and !"R"(dead edge in microbatch Recovery mode)
-				//or check for "D" (Dead edge where microbatch recovery not started yet)
-				if (edgeInfo != null && edgeInfo.getStatus().equals("D")) {
-					LOGGER.info("Found a dead edge");
-//					List<String> mbList = new ArrayList<>();
-					List<Long> mbList = new ArrayList<>();
-					mbList.addAll(fog.getEdgeMicrobatchMap().get(entry.getKey()));
-					if (mbList != null) {
-						LOGGER.info("Dead EdgeId: " + edgeInfo.getNodeId() + " had " + mbList.size()
-								+ " microbatches, adding to executor queue at :" + System.currentTimeMillis());
-						int size = mbList.size();
-						for (int i = 0; i < size; i++) {
-							executor.execute(
-									new RecoverTask(entry.getKey(), edgeInfo.getStats().getReliability(), 
-											mbList.get(i), handler));
-						}
-					}
-					//once all microbatches of the dead edge are added to the executor queue
-					//of the recovery thread pool, mark status as "R" so that checker doesn't
-					//pick this dead edge again for recovery
-					edgeInfo.setStatus("R");
-				}
-			}
+	public void edgeDead(short edgeId) {
+		//only an edge with status "A" is marked "D" (Dead edge where microbatch
+		//recovery not started yet), an edge already in recovery is not picked again
+		if (!fog.markEdgeDead(edgeId)) {
+			return;
 		}
+		EdgeInfo edgeInfo = fog.getLocalEdgesMap().get(edgeId);
+		LOGGER.info("Found a dead edge");
+		Set<Long> microbatches = fog.getEdgeMicrobatchMap().get(edgeId);
+		if (microbatches != null) {
+			List<Long> mbList = new ArrayList<>(microbatches);
+			LOGGER.info("Dead EdgeId: " + edgeId + " had " + mbList.size()
+					+ " microbatches, adding to recovery queue at :" + System.currentTimeMillis());
+			// the recovery queue is persisted and ordered by the number
+			// of surviving replicas of each microbatch
+			recoveryQueue.enqueue(edgeId, edgeInfo.getStats().getReliability(), mbList);
+		}
+		//once the microbatches of the dead edge are added to the recovery queue,
+		//mark status as "R" (dead edge in microbatch Recovery mode)
+		edgeInfo.setStatus("R");
 	}
-	
-	
+
 }
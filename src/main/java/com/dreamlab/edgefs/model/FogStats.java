@@ -31,6 +31,10 @@ public class FogStats implements Serializable {
 	//outside of this Fog's knowledge
 	private NodeInfo nodeInfo;
 	
+	//the sketches of the edges of the Fog if it sent them along with
+	//the ten values, see EdgeStatsSketch
+	private byte[] sketch;
+	
 	public FogStats() {
 		
 	}
@@ -147,6 +151,14 @@ public class FogStats implements Serializable {
 	public void setNodeInfo(NodeInfo nodeInfo) {
 		this.nodeInfo = nodeInfo;
 	}
+
+	public byte[] getSketch() {
+		return sketch;
+	}
+
+	public void setSketch(byte[] sketch) {
+		this.sketch = sketch;
+	}
 	
 	public static FogStats createInstance(byte[] arr) {
 		FogStats stats = new FogStats();
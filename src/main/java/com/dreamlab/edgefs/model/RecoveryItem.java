@@ -0,0 +1,102 @@
+package com.dreamlab.edgefs.model;
+
+import java.io.Serializable;
+
+/**
+ * A single microbatch lost from a dead edge which is waiting to be recovered.
+ * Items are ordered such that the microbatches with the fewest surviving
+ * replicas are recovered first, ties broken by the time they were queued.
+ */
+public class RecoveryItem implements Comparable<RecoveryItem>, Serializable {
+
+	/**
+	 *
+	 */
+	private static final long serialVersionUID = 4417162310574305219L;
+
+	private short edgeId;
+	private long mbId;
+	// reliability of the dead edge, used while identifying new replicas
+	private int reliability;
+	// estimate of the number of replicas still present, computed using the
+	// local edges and the bloom filters of neighbors and buddies
+	private int survivingReplicas;
+	private long queuedTime;
+	private int attempts;
+
+	public RecoveryItem() {
+
+	}
+
+	public RecoveryItem(short edgeId, long mbId, int reliability, int survivingReplicas, long queuedTime) {
+		super();
+		this.edgeId = edgeId;
+		this.mbId = mbId;
+		this.reliability = reliability;
+		this.survivingReplicas = survivingReplicas;
+		this.queuedTime = queuedTime;
+	}
+
+	public short getEdgeId() {
+		return edgeId;
+	}
+
+	public void setEdgeId(short edgeId) {
+		this.edgeId = edgeId;
+	}
+
+	public long getMbId() {
+		return mbId;
+	}
+
+	public void setMbId(long mbId) {
+		this.mbId = mbId;
+	}
+
+	public int getReliability() {
+		return reliability;
+	}
+
+	public void setReliability(int reliability) {
+		this.reliability = reliability;
+	}
+
+	public int getSurvivingReplicas() {
+		return survivingReplicas;
+	}
+
+	public void setSurvivingReplicas(int survivingReplicas) {
+		this.survivingReplicas = survivingReplicas;
+	}
+
+	public long getQueuedTime() {
+		return queuedTime;
+	}
+
+	public void setQueuedTime(long queuedTime) {
+		this.queuedTime = queuedTime;
+	}
+
+	public int getAttempts() {
+		return attempts;
+	}
+
+	public void setAttempts(int attempts) {
+		this.attempts = attempts;
+	}
+
+	@Override
+	public int compareTo(RecoveryItem item) {
+		if (survivingReplicas != item.getSurvivingReplicas()) {
+			return Integer.compare(survivingReplicas, item.getSurvivingReplicas());
+		}
+		return Long.compare(queuedTime, item.getQueuedTime());
+	}
+
+	@Override
+	public String toString() {
+		return "RecoveryItem [edgeId=" + edgeId + ", mbId=" + mbId + ", survivingReplicas=" + survivingReplicas
+				+ ", attempts=" + attempts + "]";
+	}
+
+}
@@ -5,9 +5,8 @@ import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.lang.reflect.Field;
 import java.nio.ByteBuffer;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -22,7 +21,6 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.thrift.TException;
 import org.apache.thrift.protocol.TBinaryProtocol;
@@ -34,14 +32,19 @@ import org.apache.thrift.transport.TTransportException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.dreamlab.edgefs.controlplane.ErasureCodedStore;
 import com.dreamlab.edgefs.controlplane.Fog;
 import com.dreamlab.edgefs.controlplane.GlobalReplicaAllocation;
+import com.dreamlab.edgefs.controlplane.RecoveryQueue;
+import com.dreamlab.edgefs.controlplane.StreamCacheRegistry;
+import com.dreamlab.edgefs.misc.BlockChecksum;
 import com.dreamlab.edgefs.misc.BloomFilter;
 import com.dreamlab.edgefs.misc.BuddyDataExchangeFormat;
 import com.dreamlab.edgefs.misc.Constants;
-import com.dreamlab.edgefs.misc.GlobalStatsHandler;
+import com.dreamlab.edgefs.misc.ErasureFragment;
 import com.dreamlab.edgefs.misc.NeighborDataExchangeFormat;
 import com.dreamlab.edgefs.misc.StaticStreamMetaComparator;
+import com.dreamlab.edgefs.misc.StripedLocks;
 import com.dreamlab.edgefs.model.BlockMetadata;
 import com.dreamlab.edgefs.model.BlockMetadataUpdateMessage;
 import com.dreamlab.edgefs.model.BuddyHeartbeatData;
@@ -111,22 +114,19 @@ public class FogServiceHandler implements FogService.Iface {
 	private int delK = 0; // need to make this synchronized
 	private HashMap<Short, String> nodeJoiningStateMap = null; // This is to maintain state per each node which is
 
-	// this lock is specifically used when metadata related to the microbatches
-	// held by an edge is updated. To be more specific, this is used to serialize
-	// access to mbIDLocationMap since it might happen that concurrent writes for a
-	// single microbatch to different edges of a single Fog is happening and in that
-	// case when we create entry in the map, we have a check if that microbatchId is
-	// present
-	// and if not, we initialize it with value being a new empty set. We don't want
-	// to lose
-	// any updates so fine grained locking is necessary and sufficient
-	private final Lock edgeMicrobatchLock = new ReentrantLock();
+	// these locks are for serializing the metadata updates of a stream, striped
+	// so that the updates of different streams don't wait for each other
+	private final StripedLocks streamMetadataUpdateLocks = new StripedLocks(Constants.STREAM_LOCK_STRIPES);
 
-	// this lock is for serializing stream metadata updates
-	private final Lock streamMetadataUpdateLock = new ReentrantLock();
+	// these prevent multiple clients to succeed in opening a stream for writing,
+	// the lock of a stream is shared by open, incrementBlockCount and renewLease
+	private final StripedLocks streamOpenLocks = new StripedLocks(Constants.STREAM_LOCK_STRIPES);
 
-	// this prevents multiple client to succeed in opening the stream for writing
-	private final Lock streamOpenLock = new ReentrantLock();
+	// blocks being written in chunks through this Fog by their transfer id
+	private final Map<String, BlockTransfer> transfers = new ConcurrentHashMap<>();
+
+	// writes and reads the blocks of the erasure coded streams
+	private final ErasureCodedStore erasureCodedStore = new ErasureCodedStore(this);
 
 	public FogServiceHandler(Fog fog) {
 		super();
@@ -143,6 +143,10 @@ public class FogServiceHandler implements FogService.Iface {
 		return fog;
 	}
 
+	public ErasureCodedStore getErasureCodedStore() {
+		return erasureCodedStore;
+	}
+
 	public void setFog(Fog fog) {
 		this.fog = fog;
 	}
@@ -487,7 +491,7 @@ public class FogServiceHandler implements FogService.Iface {
 		}
 		Collection<NeighborInfo> neighbors = fog.getNeighborsMap().values();
 		for (NeighborInfo neighbor : neighbors) {
-			if (neighbor.getBuddyPoolId() == buddyPoolId) {
+			if (neighbor.getBuddyPoolId() == buddyPoolId && !fog.isPeerSuspected(neighbor.getNode().getNodeID())) {
 				NodeInfo nodeInfo = neighbor.getNode();
 				return new NodeInfoData(nodeInfo.getNodeID(), nodeInfo.getNodeIP(), nodeInfo.getPort());
 			}
@@ -608,14 +612,9 @@ public class FogServiceHandler implements FogService.Iface {
 
 		LOGGER.info("the data length requested is " + dataLength);
 
-		GlobalStatsHandler globalStatsHandler = new GlobalStatsHandler(fog.getFogUpdateMap(),
-				fog.getCoarseGrainedStats(), fog.getMyFogInfo().getNodeID());
-
 		List<NodeInfoData> replicasToWrite = new ArrayList<NodeInfoData>();//
 		List<WritableFogData> fogsToWrite = new ArrayList<WritableFogData>();
 
-		GlobalReplicaAllocation replicaAlloc = new GlobalReplicaAllocation();
-
 		String pref = "HHL";
 		double reliability = 0.0;
 
@@ -663,9 +662,8 @@ public class FogServiceHandler implements FogService.Iface {
 		} else {
 			NodeInfoData edgeData = new NodeInfoData(chosenEdge.getNodeId(), chosenEdge.getNodeIp(),
 					chosenEdge.getPort());
-			replicaAlloc.setReliability((double) chosenEdge.getStats().getReliability() / 100.0);
-			LOGGER.info("The reliability is set to " + replicaAlloc.getReliability());
-			reliability = replicaAlloc.getReliability();
+			reliability = (double) chosenEdge.getStats().getReliability() / 100.0;
+			LOGGER.info("The reliability is set to " + reliability);
 			replicasToWrite.add(edgeData);
 			// this is for the local write, so update the localEdgeWritesInProgress
 			fog.getLocalEdgeWritesInProgress().put(mbId, chosenEdge.getNodeId());
@@ -720,17 +718,15 @@ public class FogServiceHandler implements FogService.Iface {
 		LOGGER.info("The edge distribution map " + fog.getEdgeDistributionMap().toString());
 		LOGGER.info("The fog distribution map " + fog.getStorageFogMap().toString());
 
-		// TODO: REMOVE HARD CODING
-		List<NodeInfo> allotedFogReplicas = replicaAlloc.identifyReplicas(fog.getEdgeDistributionMap(), /**
-																										 * updated here
-																										 **/
-				fog.getStorageFogMap(), fog.getFogUpdateMap(), expectedReliability, minReplica - replicasToWrite.size(),
-				maxReplica - replicasToWrite.size()); // needed reliability, minReplica and
-		// MaxReplica
+		// the placement starts from the reliability of the local replica and is
+		// reused from the ones computed since the last global stats update
+		GlobalReplicaAllocation replicaAlloc = fog.getPlacementPlans().get(fog.getEdgeDistributionMap(),
+				fog.getStorageFogMap(), getLiveFogUpdateMap(), reliability, expectedReliability,
+				minReplica - replicasToWrite.size(), maxReplica - replicasToWrite.size()); // needed reliability,
+																							// minReplica and MaxReplica
 
 		Map<Short, List<String>> fogChoiceList = replicaAlloc.getFogChoiceList();
 		LOGGER.info("The choices made are " + fogChoiceList.toString());
-		replicaAlloc.prepareChoiceList();
 
 		LOGGER.info("The choice list is " + replicaAlloc.getFogChoiceList().toString());
 		LOGGER.info("The replica choices finals " + replicasToWrite.toString());
@@ -739,9 +735,6 @@ public class FogServiceHandler implements FogService.Iface {
 		List<NodeInfo> nodesChosen = replicaAlloc.getFogsChosen();
 		List<Double> distribution = replicaAlloc.getReliabilityContribution();
 
-		replicaAlloc.prepareChoiceList();
-		fogChoiceList = replicaAlloc.getFogChoiceList();
-
 		LOGGER.info("The choices made " + preferenceList.toString());
 		LOGGER.info("The nodes chosen " + nodesChosen.toString());
 		LOGGER.info("The reliability distribution " + distribution.toString());
@@ -844,6 +837,9 @@ public class FogServiceHandler implements FogService.Iface {
 				return false;
 			edgeInfo.setLastHeartBeatTime(currentTime);
 			edgeInfo.setMissedHeartbeats(0);
+			if (fog.getEdgeLivenessTracker() != null) {
+				fog.getEdgeLivenessTracker().heartbeat(edgeId, currentTime);
+			}
 			// TODO : handling the heartbeats of edge devices which come back after failure
 			// we may need to update the status of the EdgeInfo in case
 			// it was D and starts sending heartbeats
@@ -860,6 +856,7 @@ public class FogServiceHandler implements FogService.Iface {
 							+ " be considered in the local and global stats", edgeId);
 					fog.getNoStorageEdges().add(edgeId);
 				}
+				fog.edgeUpdated(edgeId);
 				edgeInfo.setLastUpdatedTime(currentTime);
 				fog.setMostRecentEdgeUpdate(System.currentTimeMillis());
 			}
@@ -891,18 +888,24 @@ public class FogServiceHandler implements FogService.Iface {
 		edgeInfo.setStats(edgeStats);
 		/** The edge is added to the local edge map **/ // No need to synchronize here
 		fog.getLocalEdgesMap().put(nodeId, edgeInfo);
+		fog.edgeUpdated(nodeId);
 		fog.setMostRecentEdgeUpdate(System.currentTimeMillis());
 
 		// a newly joining edge should trigger local stats calculation
 		fog.setMostRecentEdgeUpdate(System.currentTimeMillis());
 		// add this edge to map containing edge to list of microbatch mapping
-		fog.getEdgeMicrobatchMap().put(nodeId, new HashSet<>());
+		fog.getEdgeMicrobatchMap().put(nodeId, ConcurrentHashMap.<Long>newKeySet());
 
 		// as a fix to issue #25, we need to maintain an individual bloom filter for
 		// each edge, so create an entry in the edgeBloomFilters of the Fog while
 		// joining
 		fog.getEdgeBloomFilters().put(edgeInfoData.getNodeId(), new byte[Constants.BLOOM_FILTER_BYTES]);
 
+		// start tracking the liveness of the edge from the join time
+		if (fog.getEdgeLivenessTracker() != null) {
+			fog.getEdgeLivenessTracker().heartbeat(nodeId, edgeInfo.getLastHeartBeatTime());
+		}
+
 		// please set a consistent value of return values, keep success fixed as 0 or 1
 		return 1;
 	}
@@ -918,7 +921,7 @@ public class FogServiceHandler implements FogService.Iface {
 
 //		fog.getStreamIDEdgeIDMap().remove(streamId);
 
-		return 0;
+		return deleteStream(streamId, true, true);
 	}
 
 	// registerStream is equivalent of the create()
@@ -948,7 +951,7 @@ public class FogServiceHandler implements FogService.Iface {
 			fog.getStreamMetadata().put(streamId, metadataInfo);
 
 			// once stream is registered, initialize the set of microbatches for the stream
-			fog.getStreamMbIdMap().put(streamId, new HashSet<>());
+			fog.getStreamMbIdMap().put(streamId, ConcurrentHashMap.<Long>newKeySet());
 
 			// after creation, create an instance of BlockMetadata for this stream
 			fog.getPerStreamBlockMetadata().put(streamId, new BlockMetadata(streamId, startSequenceNum));
@@ -990,6 +993,9 @@ public class FogServiceHandler implements FogService.Iface {
 			LOGGER.info("FINAL MAP " + fog.getStreamMetaStreamIdMap().toString());
 			// TODO:create directory in the edge if don't want a flat namespace
 			updateStreamBloomFilter(streamId, metadata);
+			// the home pool of the stream keeps a copy so that other Fogs find it
+			// without probing the Bloom filters
+			fog.getStreamDirectory().publish(streamId, metadata);
 			return Constants.SUCCESS;
 		}
 		return Constants.FAILURE;
@@ -1022,47 +1028,51 @@ public class FogServiceHandler implements FogService.Iface {
 			response.setMessage(StreamMetadataUpdateMessage.FAIL_NOT_OWNER.getMessage());
 			return response;
 		}
-		streamOpenLock.lock();
-		BlockMetadata blockMetadata = fog.getPerStreamBlockMetadata().get(streamId);
-		LOGGER.info("open stream : " + blockMetadata.toString() + " the streamid is " + streamId + " the clientid is "
-				+ clientId);
-		if (blockMetadata.getLock() == null) {
-			setBlockMetadata(clientId, blockMetadata, response, setLease);
-			LOGGER.info("open stream : This is for the first time block metadata is " + blockMetadata.toString());
-		} else {
-			// the lease maybe held by some other client and its soft lease may have expired
-			// lets give the lease to the newer client then
-			if ((System.currentTimeMillis() - blockMetadata.getLeaseStartTime()) >= blockMetadata.getLeaseDuration()) {
-				// at this time, it might happen that the client currently holding the lock
-				// is progressing towards writing the block. The writing of block consists of
-				// two parts. One is writing the data to replicas and second is to increment
-				// the last blockId as well as append the MD5 checksum to the BlockMetadata
-				// instance. At the point of incrementing the last blockId, we should try to
-				// acquire the lock and see if it goes through. If not, this part has succeeded
-				// and the lock belongs to the newer client now. Also since we have written the
-				// blocks to the replicas, we will get some replicas while reading which are not
-				// consistent since their checksum won't match with the actual data for that
-				// blockId. So reading may require consulting the owner Fog (thoughts ??)
-				LOGGER.info("open stream : in the else-if condition ");
+		Lock streamLock = streamOpenLocks.get(streamId);
+		streamLock.lock();
+		try {
+			BlockMetadata blockMetadata = fog.getPerStreamBlockMetadata().get(streamId);
+			LOGGER.info("open stream : " + blockMetadata.toString() + " the streamid is " + streamId + " the clientid is "
+					+ clientId);
+			if (blockMetadata.getLock() == null) {
 				setBlockMetadata(clientId, blockMetadata, response, setLease);
+				LOGGER.info("open stream : This is for the first time block metadata is " + blockMetadata.toString());
 			} else {
-				// someone else has the lock within the soft lease or whatever duration was
-				// agreed as the lease time, so fail at this time
-				LOGGER.info("open stream : in the else-if-else condition ");
-
-				// TODO::get rid of this hardcoding as well by maybe having another
-				// enum dedicated to only this type of response
-//				setBlockMetadata(clientId, blockMetadata, response, setLease);
-				if (setLease == false)
+				// the lease maybe held by some other client and its soft lease may have expired
+				// lets give the lease to the newer client then
+				if ((System.currentTimeMillis() - blockMetadata.getLeaseStartTime()) >= blockMetadata.getLeaseDuration()) {
+					// at this time, it might happen that the client currently holding the lock
+					// is progressing towards writing the block. The writing of block consists of
+					// two parts. One is writing the data to replicas and second is to increment
+					// the last blockId as well as append the MD5 checksum to the BlockMetadata
+					// instance. At the point of incrementing the last blockId, we should try to
+					// acquire the lock and see if it goes through. If not, this part has succeeded
+					// and the lock belongs to the newer client now. Also since we have written the
+					// blocks to the replicas, we will get some replicas while reading which are not
+					// consistent since their checksum won't match with the actual data for that
+					// blockId. So reading may require consulting the owner Fog (thoughts ??)
+					LOGGER.info("open stream : in the else-if condition ");
 					setBlockMetadata(clientId, blockMetadata, response, setLease);
-				else {
-					response.setStatus(Constants.FAILURE);
-					response.setMessage("Stream in open state, retry opening after some time");
-				}
+				} else {
+					// someone else has the lock within the soft lease or whatever duration was
+					// agreed as the lease time, so fail at this time
+					LOGGER.info("open stream : in the else-if-else condition ");
+
+					// TODO::get rid of this hardcoding as well by maybe having another
+					// enum dedicated to only this type of response
+//					setBlockMetadata(clientId, blockMetadata, response, setLease);
+					if (setLease == false)
+						setBlockMetadata(clientId, blockMetadata, response, setLease);
+					else {
+						response.setStatus(Constants.FAILURE);
+						response.setMessage("Stream in open state, retry opening after some time");
+					}
 
+				}
 			}
+		} finally {
+			streamLock.unlock();
 		}
-		streamOpenLock.unlock();
 		LOGGER.info("open stream : The response being sent is " + response.toString());
 		return response;
 	}
@@ -1091,16 +1101,15 @@ public class FogServiceHandler implements FogService.Iface {
 		// the personal stream bloomfilter. Currently search is not supported on top of
 		// the stream metadata, to do that a similar thing like microbatch needs to be
 		// done
-		byte[] streamBloomFilter = fog.getPersonalStreamBFilter();
-		BloomFilter.storeEntry(Constants.STREAM_METADATA_ID, streamId, streamBloomFilter);
-		BloomFilter.storeEntry(Constants.STREAM_METADATA_START_TIME,
-				String.valueOf(streamMetadata.getStartTime().getValue()), streamBloomFilter);
-		
 		//ISHAN: added to support findStreamUsingQuery() API ,similar to findBlockUsingQuery() API
 		// Three static metadata properties are updated. 1. minReplica, 2. maxReplica, 3. reli
-		BloomFilter.storeEntry(Constants.STREAM_MIN_REPLICA,String.valueOf(streamMetadata.getMinReplica().getValue()), streamBloomFilter);
-		BloomFilter.storeEntry(Constants.STREAM_MAX_REPLICA,String.valueOf(streamMetadata.getMaxReplica().getValue()), streamBloomFilter);
-		BloomFilter.storeEntry(Constants.STREAM_RELIABILITY,String.valueOf(streamMetadata.getReliability().getValue()), streamBloomFilter);
+		// the filter is replaced under the write lock when a stream is deleted
+		fog.getBloomFilterLock().readLock().lock();
+		try {
+			Fog.storeStreamEntries(streamId, streamMetadata, fog.getPersonalStreamBFilter());
+		} finally {
+			fog.getBloomFilterLock().readLock().unlock();
+		}
 		// others can also be hashed and stored in BF but since search is supported on
 		// top of
 		// streamId only to fetch the StreamMetadata, for now this will do
@@ -1238,64 +1247,226 @@ public class FogServiceHandler implements FogService.Iface {
 		return replicas;
 	}
 
+	/**
+	 * Reads the microbatch from one of its replicas. The local edges are tried
+	 * first followed by the other Fogs holding it, a slow replica is hedged with
+	 * a read to the next one and a failed one is followed by the next right away
+	 */
 	@Override
 	public ReadReplica read(long microbatchId, boolean fetchMetadata, String compFormat, long uncompSize) throws TException {
-		ReadReplica data = new ReadReplica();
-		data.setStatus(Constants.FAILURE);
-
 		LOGGER.info("MicrobatchId : " + microbatchId + ", read, startTime=" + System.currentTimeMillis());
 
-		// Short edgeId = fog.getMbIDLocationMap().get(microbatchId);
+		// a block read often is served from the cache without going to the edge
+		// and a reader walking a stream finds the block already read ahead
+		ReadReplica data = fog.getBlockCache().get(microbatchId, compFormat, fetchMetadata);
+		if (data == null) {
+			// an update while the block is fetched leaves the old copy uncached
+			long generation = fog.getBlockCache().getGeneration(microbatchId);
+			data = fog.getStreamPrefetcher().take(microbatchId, compFormat, fetchMetadata);
+			if (data == null) {
+				data = fog.getReadCoordinator().read(microbatchId, fetchMetadata, compFormat, uncompSize);
+			}
+			fog.getBlockCache().put(microbatchId, compFormat, data, generation);
+		}
+		fog.getStreamPrefetcher().onRead(microbatchId);
 
-		// since now we may have multiple edges on a single Fog holding the
-		// copy of a single microbatch, don't fail-fast in case the request
-		// is not served at a single edge or the edge contacted is down. Try
-		// till either a success is returned or all edges have been tried.
-		boolean readData = false;
-		Map<Short, Byte> edgeMap = fog.getMbIDLocationMap().get(microbatchId);
-		if (edgeMap != null) {
+		LOGGER.info("MicrobatchId : " + microbatchId + ", read, endTime=" + System.currentTimeMillis() + ",status="
+				+ data.getStatus());
+		return data;
+	}
+
+	/**
+	 * Reads only the given range of the microbatch, served from the cache if the
+	 * whole block is present there. Other Fogs holding the microbatch are tried
+	 * only if the flags are set
+	 */
+	@Override
+	public ReadReplica readRange(long microbatchId, String compFormat, long offset, long length,
+			boolean checkNeighbors, boolean checkBuddies) throws TException {
+		LOGGER.info("MicrobatchId : " + microbatchId + ", readRange, startTime=" + System.currentTimeMillis());
+		ReadReplica data = fog.getBlockCache().get(microbatchId, compFormat, false);
+		if (data != null) {
+			byte[] block = data.getData();
+			int from = (int) Math.max(0, Math.min(offset, block.length));
+			int to = (int) Math.min(block.length, from + Math.max(0, length));
+			data.setData(Arrays.copyOfRange(block, from, to));
+		} else {
+			data = fog.getReadCoordinator().readRange(microbatchId, compFormat, offset, length, checkNeighbors,
+					checkBuddies);
+		}
+		LOGGER.info("MicrobatchId : " + microbatchId + ", readRange, endTime=" + System.currentTimeMillis()
+				+ ",status=" + data.getStatus());
+		return data;
+	}
+
+	/**
+	 * Used during recovery of a dead edge to read a batch of blocks in a single
+	 * call. The blocks are grouped by the local edge holding them so that only one
+	 * connection is opened per edge for the whole batch. A block the edge could
+	 * not return is read from the next local edge holding it. The returned list is
+	 * in the same order as mbIds and a block which could not be read has its
+	 * status set to FAILURE
+	 */
+	@Override
+	public List<ReadReplica> readBatch(List<Long> mbIds, boolean fetchMetadata) throws TException {
+		LOGGER.info("readBatch of " + mbIds.size() + " microbatches, startTime=" + System.currentTimeMillis());
+		List<ReadReplica> replicas = new ArrayList<>();
+		// the active local edges holding each block, tried in turn
+		List<List<Short>> holders = new ArrayList<>();
+		for (int i = 0; i < mbIds.size(); i++) {
+			ReadReplica failed = new ReadReplica();
+			failed.setStatus(Constants.FAILURE);
+			replicas.add(failed);
+			List<Short> edgeIds = new ArrayList<>();
+			holders.add(edgeIds);
+			Long mbId = mbIds.get(i);
+			Map<Short, Byte> edgeMap = fog.getMbIDLocationMap().get(mbId);
+			if (edgeMap == null || !fog.getBlockMetadata().containsKey(mbId)) {
+				continue;
+			}
 			for (Short edgeId : edgeMap.keySet()) {
-				if (readData) {
-					break;
+				EdgeInfo edgeInfo = fog.getLocalEdgesMap().get(edgeId);
+				if (edgeInfo != null && edgeInfo.getStatus().equals("A")) {
+					edgeIds.add(edgeId);
 				}
-				if (edgeId != null) {
-					EdgeInfo edgeInfo = fog.getLocalEdgesMap().get(edgeId);
-					if (edgeInfo != null && edgeInfo.getStatus().equals("A")) {
-						TTransport transport = new TFramedTransport(
-								new TSocket(edgeInfo.getNodeIp(), edgeInfo.getPort()));
-						try {
-							transport.open();
-						} catch (TTransportException e) {
-							transport.close();
-							LOGGER.info("Unable to contact edge device : " + edgeInfo);
-							e.printStackTrace();
-							LOGGER.info("MicrobatchId : " + microbatchId + ", read, endTime="
-									+ System.currentTimeMillis() + ",status=0");
-							continue;
-						}
-						TProtocol protocol = new TBinaryProtocol(transport);
-						EdgeService.Client edgeClient = new EdgeService.Client(protocol);
-						try {
-							if (fetchMetadata) {
-								data = edgeClient.read(microbatchId, (byte) 1, compFormat,uncompSize);
-							} else {
-								data = edgeClient.read(microbatchId, (byte) 0, compFormat,uncompSize);
-							}
-							readData = true;
-						} catch (TException e) {
-							LOGGER.info("Error while reading microbatch from edge : " + edgeInfo);
-							e.printStackTrace();
-						} finally {
-							transport.close();
-						}
-					}
+			}
+		}
+
+		Set<Short> unreachable = new HashSet<>();
+		while (true) {
+			Map<Short, List<Integer>> edgeBatches = new HashMap<>();
+			for (int i = 0; i < mbIds.size(); i++) {
+				List<Short> edgeIds = holders.get(i);
+				if (replicas.get(i).getStatus() == Constants.SUCCESS) {
+					continue;
+				}
+				while (!edgeIds.isEmpty() && unreachable.contains(edgeIds.get(0))) {
+					edgeIds.remove(0);
+				}
+				if (edgeIds.isEmpty()) {
+					continue;
+				}
+				Short edgeId = edgeIds.remove(0);
+				if (!edgeBatches.containsKey(edgeId)) {
+					edgeBatches.put(edgeId, new ArrayList<Integer>());
+				}
+				edgeBatches.get(edgeId).add(i);
+			}
+			if (edgeBatches.isEmpty()) {
+				break;
+			}
+			for (Entry<Short, List<Integer>> entry : edgeBatches.entrySet()) {
+				if (!readBatchFromEdge(entry.getKey(), entry.getValue(), mbIds, fetchMetadata, replicas)) {
+					unreachable.add(entry.getKey());
 				}
 			}
 		}
-		LOGGER.info("MicrobatchId : " + microbatchId + ", read, endTime=" + System.currentTimeMillis() + ",status="
-				+ data.getStatus());
-		data.setStatus(Constants.SUCCESS);
-		return data;
+		LOGGER.info("readBatch of " + mbIds.size() + " microbatches, endTime=" + System.currentTimeMillis());
+		return replicas;
+	}
+
+	// reads the blocks at the given indexes from the edge into replicas, returns
+	// false if the edge could not be read from
+	private boolean readBatchFromEdge(Short edgeId, List<Integer> indexes, List<Long> mbIds, boolean fetchMetadata,
+			List<ReadReplica> replicas) {
+		EdgeInfo edgeInfo = fog.getLocalEdgesMap().get(edgeId);
+		if (edgeInfo == null) {
+			return false;
+		}
+		TTransport transport = new TFramedTransport(new TSocket(edgeInfo.getNodeIp(), edgeInfo.getPort()));
+		try {
+			transport.open();
+		} catch (TTransportException e) {
+			transport.close();
+			LOGGER.info("Unable to contact edge device : " + edgeInfo);
+			e.printStackTrace();
+			return false;
+		}
+		TProtocol protocol = new TBinaryProtocol(transport);
+		EdgeService.Client edgeClient = new EdgeService.Client(protocol);
+		try {
+			for (Integer idx : indexes) {
+				Metadata mbMetadata = fog.getBlockMetadata().get(mbIds.get(idx));
+				ReadReplica data = edgeClient.read(mbIds.get(idx), fetchMetadata ? (byte) 1 : (byte) 0,
+						mbMetadata.getCompFormat(), mbMetadata.getUncompSize());
+				if (data.getStatus() == Constants.SUCCESS && data.isSetData()) {
+					replicas.set(idx, data);
+				}
+			}
+		} catch (TException e) {
+			LOGGER.info("Error while reading microbatches from edge : " + edgeInfo);
+			e.printStackTrace();
+			return false;
+		} finally {
+			transport.close();
+		}
+		return true;
+	}
+
+	/**
+	 * Used during recovery of a dead edge where the recovering Fog asks this Fog
+	 * (a new replica) to copy the blocks directly from a Fog holding a surviving
+	 * replica. The blocks are pulled in a single readBatch call and written locally
+	 * so the data flows only once between the source and this Fog. The returned
+	 * list is in the same order as mbIds and has the number of bytes copied for a
+	 * block or -1 if it was not copied
+	 */
+	@Override
+	public List<Long> replicateFrom(List<Long> mbIds, NodeInfoData source, WritePreference preference)
+			throws TException {
+		LOGGER.info("replicateFrom of " + mbIds.size() + " microbatches from Fog : " + source.getNodeId()
+				+ ", startTime=" + System.currentTimeMillis());
+		List<Long> copied = new ArrayList<>();
+		for (int i = 0; i < mbIds.size(); i++) {
+			copied.add(-1L);
+		}
+		List<ReadReplica> replicas = null;
+		if (source.getNodeId() == fog.getMyFogInfo().getNodeID()) {
+			replicas = readBatch(mbIds, true);
+		} else {
+			TTransport transport = new TFramedTransport(new TSocket(source.getNodeIP(), source.getPort()));
+			try {
+				transport.open();
+				TProtocol protocol = new TBinaryProtocol(transport);
+				FogService.Client fogClient = new FogService.Client(protocol);
+				replicas = fogClient.readBatch(mbIds, true);
+			} catch (TException e) {
+				LOGGER.error("Unable to read microbatches from source Fog : " + source + " : " + e);
+				e.printStackTrace();
+				return copied;
+			} finally {
+				transport.close();
+			}
+		}
+
+		for (int i = 0; i < mbIds.size(); i++) {
+			ReadReplica read = replicas.get(i);
+			if (read.getStatus() != Constants.SUCCESS || !read.isSetData() || !read.isSetMetadata()) {
+				continue;
+			}
+			WriteResponse response = write(read.getMetadata(), ByteBuffer.wrap(read.getData()), preference);
+			if (response.getStatus() == Constants.SUCCESS) {
+				copied.set(i, (long) read.getData().length);
+			}
+		}
+		LOGGER.info("replicateFrom of " + mbIds.size() + " microbatches from Fog : " + source.getNodeId()
+				+ ", endTime=" + System.currentTimeMillis());
+		return copied;
+	}
+
+	/**
+	 * The global stats of the Fogs without the buddies and neighbors suspected to
+	 * be down, the replica allocation skips a Fog whose stats are not present
+	 */
+	private Map<Short, FogStats> getLiveFogUpdateMap() {
+		Map<Short, FogStats> fogUpdateMap = new HashMap<>(fog.getFogUpdateMap());
+		Iterator<Short> iter = fogUpdateMap.keySet().iterator();
+		while (iter.hasNext()) {
+			if (fog.isPeerSuspected(iter.next())) {
+				iter.remove();
+			}
+		}
+		return fogUpdateMap;
 	}
 
 	private List<FindReplica> getFromNeighbors(String searchKey, long searchValue, EdgeInfoData selfInfo) {
@@ -1303,7 +1474,9 @@ public class FogServiceHandler implements FogService.Iface {
 		Map<Short, FogExchangeInfo> neighborExchangeInfo = fog.getNeighborExchangeInfo();
 		for (Entry<Short, FogExchangeInfo> entry : neighborExchangeInfo.entrySet()) {
 			FogExchangeInfo nInfo = entry.getValue();
-			if (nInfo != null) {
+			// a neighbor suspected to be down is skipped rather than waiting
+			// for the connection to it to fail
+			if (nInfo != null && !fog.isPeerSuspected(entry.getKey())) {
 				byte[] bloomFilter = nInfo.getBloomFilterUpdates();
 				if (BloomFilter.search(searchKey, String.valueOf(searchValue), bloomFilter)) {
 					// match with BloomFilter, now contact the node to see if data present or not
@@ -1324,7 +1497,7 @@ public class FogServiceHandler implements FogService.Iface {
 		Map<Short, FogExchangeInfo> buddyExchangeInfo = fog.getBuddyExchangeInfo();
 		for (Entry<Short, FogExchangeInfo> entry : buddyExchangeInfo.entrySet()) {
 			FogExchangeInfo buddyInfo = entry.getValue();
-			if (buddyInfo != null) {
+			if (buddyInfo != null && !fog.isPeerSuspected(entry.getKey())) {
 				byte[] consolidateBFilter = buddyInfo.getBloomFilterUpdates();
 				if (BloomFilter.search(searchKey, String.valueOf(searchValue), consolidateBFilter)) {
 					// match with BloomFilter, now contact the node to see if data present or not
@@ -1438,7 +1611,7 @@ public class FogServiceHandler implements FogService.Iface {
 		Map<Short, FogExchangeInfo> neighborExchangeInfo = fog.getNeighborExchangeInfo();
 		for (Entry<Short, FogExchangeInfo> entry : neighborExchangeInfo.entrySet()) {
 			FogExchangeInfo nInfo = entry.getValue();
-			if (nInfo != null) {
+			if (nInfo != null && !fog.isPeerSuspected(entry.getKey())) {
 				byte[] bloomFilter = nInfo.getBloomFilterUpdates();
 				if (BloomFilter.search(searchKey, String.valueOf(searchValue), bloomFilter)) {
 					// match with BloomFilter, now contact the node to see if data present or not
@@ -1459,7 +1632,7 @@ public class FogServiceHandler implements FogService.Iface {
 		Map<Short, FogExchangeInfo> buddyExchangeInfo = fog.getBuddyExchangeInfo();
 		for (Entry<Short, FogExchangeInfo> entry : buddyExchangeInfo.entrySet()) {
 			FogExchangeInfo buddyInfo = entry.getValue();
-			if (buddyInfo != null) {
+			if (buddyInfo != null && !fog.isPeerSuspected(entry.getKey())) {
 				byte[] consolidateBFilter = buddyInfo.getBloomFilterUpdates();
 				if (BloomFilter.search(searchKey, String.valueOf(searchValue), consolidateBFilter)) {
 					// match with BloomFilter, now contact the node to see if data present or not
@@ -1532,7 +1705,7 @@ public class FogServiceHandler implements FogService.Iface {
 		Map<Short, FogExchangeInfo> neighborExchangeInfo = fog.getNeighborExchangeInfo();
 		for (Entry<Short, FogExchangeInfo> entry : neighborExchangeInfo.entrySet()) {
 			FogExchangeInfo nInfo = entry.getValue();
-			if (nInfo != null) {
+			if (nInfo != null && !fog.isPeerSuspected(entry.getKey())) {
 				byte[] bloomFilter = nInfo.getBloomFilterUpdates();
 				if (BloomFilter.search(searchKey, searchValue, bloomFilter)) {
 					// match with BloomFilter, now contact the node to see if data present or not
@@ -1559,7 +1732,7 @@ public class FogServiceHandler implements FogService.Iface {
 		Map<Short, FogExchangeInfo> buddyExchangeInfo = fog.getBuddyExchangeInfo();
 		for (Entry<Short, FogExchangeInfo> entry : buddyExchangeInfo.entrySet()) {
 			FogExchangeInfo buddyInfo = entry.getValue();
-			if (buddyInfo != null) {
+			if (buddyInfo != null && !fog.isPeerSuspected(entry.getKey())) {
 				byte[] consolidateBFilter = buddyInfo.getBloomFilterUpdates();
 				if (BloomFilter.search(searchKey, searchValue, consolidateBFilter)) {
 					// match with BloomFilter, now contact the node to see if data present or not
@@ -1708,8 +1881,15 @@ public class FogServiceHandler implements FogService.Iface {
 		LOGGER.info(
 				"MicrobatchId : " + metadata.getMbId() + ", identifyReplicas, startTime=" + System.currentTimeMillis());
 //		List<WritableFogData> fogLocations = identifyReplicas(decodedLength, clientEdgeInfo,expectedReliability, strMetadata.getMinReplica(), strMetadata.getMaxReplica());
-		List<WritableFogData> fogLocations = identifyReplicas(metadata.getMbId(), decodedLength, isEdge,
-				expectedReliability, minReplica, maxReplica);
+		List<WritableFogData> fogLocations = getSessionLocations(metadata, decodedLength, blackListedFogs);
+		if (fogLocations == null) {
+			fogLocations = identifyReplicas(metadata.getMbId(), decodedLength, isEdge, expectedReliability,
+					minReplica, maxReplica);
+			if (fog.isReplicaCachingEnabled()) {
+				fog.getSessionLocations().put(metadata.getSessionSecret(), fog.getMyFogInfo().getNodeID(),
+						fogLocations, fog.getFogUpdateMap());
+			}
+		}
 		LOGGER.info(
 				"MicrobatchId : " + metadata.getMbId() + ", identifyReplicas, endTime=" + System.currentTimeMillis());
 
@@ -1719,6 +1899,40 @@ public class FogServiceHandler implements FogService.Iface {
 		return fogLocations;
 	}
 
+	/**
+	 * The locations handed out earlier in the same session if replica caching is
+	 * enabled and they are still valid, null otherwise. A client asking again
+	 * after a Fog failed it gets a fresh placement.
+	 */
+	private List<WritableFogData> getSessionLocations(Metadata metadata, long dataLength,
+			List<Short> blackListedFogs) {
+		if (!fog.isReplicaCachingEnabled() || !metadata.isSetSessionSecret()) {
+			return null;
+		}
+		if (blackListedFogs != null && !blackListedFogs.isEmpty()) {
+			fog.getSessionLocations().invalidate(metadata.getSessionSecret());
+			return null;
+		}
+		// a block already placed here is written to edges other than its holders
+		if (fog.getMbIDLocationMap().containsKey(metadata.getMbId())
+				|| fog.getLocalEdgeWritesInProgress().containsKey(metadata.getMbId())) {
+			return null;
+		}
+		short selfId = fog.getMyFogInfo().getNodeID();
+		List<WritableFogData> fogLocations = fog.getSessionLocations().get(metadata.getSessionSecret(), selfId,
+				getLiveFogUpdateMap(), fog.getLocalEdgesMap(), dataLength);
+		if (fogLocations == null) {
+			return null;
+		}
+		for (WritableFogData location : fogLocations) {
+			if (location.getNode().getNodeId() == selfId && location.isSetEdgeInfo()) {
+				fog.getLocalEdgeWritesInProgress().put(metadata.getMbId(), location.getEdgeInfo().getNodeId());
+			}
+		}
+		LOGGER.info("MicrobatchId : " + metadata.getMbId() + ", reusing the locations of the session");
+		return fogLocations;
+	}
+
 	@Override
 	public StreamMetadataInfo getStreamMetadata(String streamId, boolean checkNeighbors, boolean checkBuddies,
 			boolean forceLatest) throws TException {
@@ -1742,6 +1956,7 @@ public class FogServiceHandler implements FogService.Iface {
 						// no need to have this line
 						streamMetadataInfo.setCached(true);
 						streamMetadataInfo.setCacheTime(System.currentTimeMillis());
+						registerStreamCache(streamId, metadata);
 						return streamMetadataInfo;
 					}
 				} else {
@@ -1749,12 +1964,20 @@ public class FogServiceHandler implements FogService.Iface {
 				}
 			}
 		}
+		if (checkNeighbors && checkBuddies) {
+			// only the Fog contacted by the client looks up the home pool of the
+			// stream, which is a single call in place of the Bloom filter probes.
+			// It is handled below like a copy got from a neighbor
+			metadataInfo = getStreamFromDirectory(streamId);
+		}
 		if (checkNeighbors) {
 			// no need to force the neighbor or buddy to get the latest stream metadata
 			// if this node wants the latest metadata, it should get the latest one by
 			// knowing the owner from its neighbor or buddy and then fetching the latest
 			// metadata from the owner
-			metadataInfo = getStreamFromNeighbors(Constants.STREAM_METADATA_ID, streamId, false);
+			if (metadataInfo == null) {
+				metadataInfo = getStreamFromNeighbors(Constants.STREAM_METADATA_ID, streamId, false);
+			}
 			if (metadataInfo != null) {
 				// currently if the node doesn't have the metadata, it will get it from
 				// its neighbors or its buddies. In case none of them is the owner, then
@@ -1784,6 +2007,7 @@ public class FogServiceHandler implements FogService.Iface {
 				metadataInfo.setCached(true);
 				metadataInfo.setCacheTime(System.currentTimeMillis());
 				fog.getStreamMetadata().put(streamId, metadataInfo);
+				registerStreamCache(streamId, metadataInfo.getStreamMetadata());
 				return metadataInfo;
 			}
 		}
@@ -1811,12 +2035,82 @@ public class FogServiceHandler implements FogService.Iface {
 				metadataInfo.setCached(true);
 				metadataInfo.setCacheTime(System.currentTimeMillis());
 				fog.getStreamMetadata().put(streamId, metadataInfo);
+				registerStreamCache(streamId, metadataInfo.getStreamMetadata());
 			}
 		}
 
 		return metadataInfo;
 	}
 
+	// lets the owner know that this Fog caches the metadata of the stream so
+	// that it is told when the metadata is updated
+	private void registerStreamCache(String streamId, StreamMetadata metadata) {
+		if (metadata == null || !metadata.isSetOwner()) {
+			return;
+		}
+		NodeInfoPrimary ownerInfo = metadata.getOwner().getValue();
+		FogInfo self = fog.getMyFogInfo();
+		if (ownerInfo.getNodeIP().equals(self.getNodeIP()) && ownerInfo.getPort() == self.getPort()) {
+			return;
+		}
+		fog.getStreamCacheRegistry().registerWithOwner(streamId, ownerInfo.getNodeIP(), ownerInfo.getPort(),
+				new NodeInfoData(self.getNodeID(), self.getNodeIP(), self.getPort()), metadata.getVersion().getValue());
+	}
+
+	@Override
+	public void registerStreamCache(String streamId, NodeInfoData node, int version) throws TException {
+		StreamMetadataInfo metadataInfo = fog.getStreamMetadata().get(streamId);
+		// only the owner keeps track of the caching Fogs
+		if (metadataInfo == null || metadataInfo.isCached()) {
+			return;
+		}
+		StreamCacheRegistry registry = fog.getStreamCacheRegistry();
+		registry.register(streamId, node);
+		// the metadata may have been updated after the Fog got its copy and
+		// before it registered, in which case it missed the invalidation
+		int currentVersion = metadataInfo.getStreamMetadata().getVersion().getValue();
+		if (currentVersion > version) {
+			registry.invalidate(streamId, currentVersion, Collections.singletonList(node));
+		}
+	}
+
+	@Override
+	public void invalidateStreamMetadata(String streamId, int version) throws TException {
+		StreamMetadataInfo metadataInfo = fog.getStreamMetadata().get(streamId);
+		if (metadataInfo == null || !metadataInfo.isCached()) {
+			return;
+		}
+		if (metadataInfo.getStreamMetadata().getVersion().getValue() < version) {
+			LOGGER.info("Cached metadata of streamId : " + streamId + " is stale, the owner has version " + version);
+			// the cache is treated as timed out so the next access fetches the
+			// metadata from the owner
+			metadataInfo.setCacheTime(0);
+		}
+	}
+
+	@Override
+	public byte registerStreamDirectory(String streamId, StreamMetadata metadata, boolean replicate)
+			throws TException {
+		if (metadata == null) {
+			return Constants.FAILURE;
+		}
+		StreamMetadataInfo current = fog.getStreamMetadata().get(streamId);
+		// the owner keeps its own copy and a cached copy is replaced only by a
+		// later version
+		if (current == null || (current.isCached() && current.getStreamMetadata().getVersion()
+				.getValue() < metadata.getVersion().getValue())) {
+			StreamMetadataInfo metadataInfo = new StreamMetadataInfo(metadata, true);
+			metadataInfo.setCacheTime(System.currentTimeMillis());
+			fog.getStreamMetadata().put(streamId, metadataInfo);
+			// the copy is kept fresh by the invalidations of the owner
+			registerStreamCache(streamId, metadata);
+		}
+		if (replicate) {
+			fog.getStreamDirectory().replicate(streamId, metadata);
+		}
+		return Constants.SUCCESS;
+	}
+
 	private StreamMetadata fetchMetadataFromOwner(String streamId, String nodeIP, int port) {
 		TTransport transport = new TFramedTransport(new TSocket(nodeIP, port));
 		StreamMetadata metadata = null;
@@ -1849,11 +2143,23 @@ public class FogServiceHandler implements FogService.Iface {
 		return fog.getStreamMetadata().get(streamId).getStreamMetadata();
 	}
 
+	// asks the Fogs of the home pool of the stream, each of which keeps a copy
+	private StreamMetadataInfo getStreamFromDirectory(String streamId) {
+		for (NodeInfoData node : fog.getStreamDirectory().getDirectoryFogs(streamId)) {
+			StreamMetadataInfo metadata = fetchStreamFromOtherFog(node.getNodeIP(), node.getPort(),
+					Constants.STREAM_METADATA_ID, streamId, false, false, false);
+			if (metadata != null) {
+				return metadata;
+			}
+		}
+		return null;
+	}
+
 	private StreamMetadataInfo getStreamFromNeighbors(String searchKey, String searchValue, boolean fetchLatest) {
 		Map<Short, FogExchangeInfo> neighborExchangeInfo = fog.getNeighborExchangeInfo();
 		for (Entry<Short, FogExchangeInfo> entry : neighborExchangeInfo.entrySet()) {
 			FogExchangeInfo nInfo = entry.getValue();
-			if (nInfo != null) {
+			if (nInfo != null && !fog.isPeerSuspected(entry.getKey())) {
 				byte[] bloomFilter = nInfo.getStreamBFilterUpdates();
 				if (BloomFilter.search(searchKey, searchValue, bloomFilter)) {
 					// match with BloomFilter, now contact the node to see if data present or not
@@ -1872,7 +2178,7 @@ public class FogServiceHandler implements FogService.Iface {
 		Map<Short, FogExchangeInfo> buddyExchangeInfo = fog.getBuddyExchangeInfo();
 		for (Entry<Short, FogExchangeInfo> entry : buddyExchangeInfo.entrySet()) {
 			FogExchangeInfo buddyInfo = entry.getValue();
-			if (buddyInfo != null) {
+			if (buddyInfo != null && !fog.isPeerSuspected(entry.getKey())) {
 				byte[] consolidateBFilter = buddyInfo.getStreamBFilterUpdates();
 				if (BloomFilter.search(searchKey, searchValue, consolidateBFilter)) {
 					// match with BloomFilter, now contact the node to see if data present or not
@@ -1937,7 +2243,7 @@ public class FogServiceHandler implements FogService.Iface {
 		// microbatch
 		// present so we should pick a different edge to make sure there is proper
 		// replication
-		EdgeInfo localEdge = identifyLocalReplica(data.capacity(), preference, duplicateHolders, mbMetadata.getMbId());
+		EdgeInfo localEdge = identifyLocalReplica(data.remaining(), preference, duplicateHolders, mbMetadata.getMbId());
 		if (localEdge == null) {
 			LOGGER.info("No suitable edge present");
 			return wrResponse;
@@ -1947,6 +2253,9 @@ public class FogServiceHandler implements FogService.Iface {
 			LOGGER.error("No metadata supplied while writing");
 			return wrResponse;
 		}
+		if (!checkChecksum(data, mbMetadata)) {
+			return wrResponse;
+		}
 		TTransport transport = new TFramedTransport(new TSocket(localEdge.getNodeIp(), localEdge.getPort()));
 		try {
 			transport.open();
@@ -1980,12 +2289,14 @@ public class FogServiceHandler implements FogService.Iface {
 			Map<String, String> metaKeyValueMap) {
 		// microbatch to edgeId mapping
 		// fog.getMbIDLocationMap().put(mbMetadata.getMbId(), edgeInfo.getNodeId());
-		edgeMicrobatchLock.lock();
-		if (!fog.getMbIDLocationMap().containsKey(mbMetadata.getMbId())) {
-			fog.getMbIDLocationMap().put(mbMetadata.getMbId(), new ConcurrentHashMap<>());
-		}
-		edgeMicrobatchLock.unlock();
+		// concurrent writes of a single microbatch to different edges of this Fog
+		// may create the entry at the same time, putIfAbsent keeps only one of
+		// them so no update is lost without serializing the writes on a lock
 		Map<Short, Byte> edgeMap = fog.getMbIDLocationMap().get(mbMetadata.getMbId());
+		if (edgeMap == null) {
+			edgeMap = putIfAbsent(fog.getMbIDLocationMap(), mbMetadata.getMbId(),
+					new ConcurrentHashMap<Short, Byte>());
+		}
 		// value in this map is some dummy value
 		edgeMap.put(edgeInfo.getNodeId(), (byte) 1);
 
@@ -2002,9 +2313,7 @@ public class FogServiceHandler implements FogService.Iface {
 //		Set<String> mbSet = fog.getStreamMbIdMap().get(mbMetadata.getStreamId());
 		Set<Long> mbSet = fog.getStreamMbIdMap().get(mbMetadata.getStreamId());
 		if (mbSet == null) {
-			// notice concurrent modification can come here but currently
-			// we are nowhere using an iterator for scanning it
-			mbSet = new HashSet<>();
+			mbSet = putIfAbsent(fog.getStreamMbIdMap(), mbMetadata.getStreamId(), ConcurrentHashMap.<Long>newKeySet());
 		}
 		mbSet.add(mbMetadata.getMbId());
 		// commented due to above CONCURRENT WRITES comment
@@ -2021,7 +2330,8 @@ public class FogServiceHandler implements FogService.Iface {
 //		Set<String> edgeMBList = fog.getEdgeMicrobatchMap().get(edgeInfo.getNodeId());
 		Set<Long> edgeMBList = fog.getEdgeMicrobatchMap().get(edgeInfo.getNodeId());
 		if (edgeMBList == null) {
-			edgeMBList = new HashSet<>();
+			edgeMBList = putIfAbsent(fog.getEdgeMicrobatchMap(), edgeInfo.getNodeId(),
+					ConcurrentHashMap.<Long>newKeySet());
 		}
 		edgeMBList.add(mbMetadata.getMbId());
 		// commented due to above CONCURRENT WRITES comment
@@ -2035,17 +2345,22 @@ public class FogServiceHandler implements FogService.Iface {
 		// may need to check for the concurrent writes scenario
 		updateBloomFilters(mbMetadata, edgeInfo, metaKeyValueMap);
 
-		// add the MD5 checksum for the block of data as well
+		// add the CRC32C checksum for the block of data as well
 		// Note:: This call can come from the write() or insertMetadata()
 		// The case of write is fine as it has the data from which the checksum can
 		// be computed however insertMetadata() doesn't have the data as it comes
 		// from a local edge and makes a separate metadata call. This edge client
-		// should compute the MD5 checksum on its own and send it as a field in the
+		// should compute the checksum on its own and send it as a field in the
 		// Metadata object passed
 		// additional check added since the client can send the checksum added metadata
 		// in both cases, writing directly to edge or writing via routing through a fog
-		if (data != null && !mbMetadata.isSetChecksum()) {
-			computeMD5Checksum(data, mbMetadata);
+		if (data != null && !BlockChecksum.isVerifiable(mbMetadata.getChecksum())) {
+			mbMetadata.setChecksum(BlockChecksum.compute(data));
+		} else if (data == null && mbMetadata.isSetChecksum()
+				&& !BlockChecksum.isVerifiable(mbMetadata.getChecksum())) {
+			// without the data a checksum in another format can't be
+			// replaced, so it is dropped rather than kept unverifiable
+			mbMetadata.unsetChecksum();
 		}
 
 		// put the Metadata object into the map, this is a new addition
@@ -2061,40 +2376,56 @@ public class FogServiceHandler implements FogService.Iface {
 		fog.setMostRecentNeighborBFUpdate(System.currentTimeMillis());
 	}
 
-	private void computeMD5Checksum(ByteBuffer data, Metadata mbMetadata) {
-		try {
-			MessageDigest md = MessageDigest.getInstance("MD5");
-			byte[] arr = data.array();
-			for (int i = 0; i < arr.length; i += 1024) {
-				if (arr.length - i <= 1023) {
-					md.update(arr, i, arr.length - i);
-				} else {
-					md.update(arr, i, 1024);
-				}
-			}
-			StringBuilder checkSum = new StringBuilder();
-			for (byte b : md.digest()) {
-				checkSum.append(String.format("%02x", b));
+	// verifies the data received against the checksum sent by the client or
+	// computes it if none was sent, so that the edge stores it with the block
+	private boolean checkChecksum(ByteBuffer data, Metadata mbMetadata) {
+		return checkChecksum(BlockChecksum.compute(data), mbMetadata);
+	}
+
+	private boolean checkChecksum(String computed, Metadata mbMetadata) {
+		if (!BlockChecksum.isVerifiable(mbMetadata.getChecksum())) {
+			// an older client may send some other digest which can't be
+			// checked, the CRC32C computed here is kept in its place
+			if (mbMetadata.isSetChecksum()) {
+				LOGGER.info("MicrobatchId : " + mbMetadata.getMbId() + ", replacing the checksum "
+						+ mbMetadata.getChecksum() + " with " + computed);
 			}
-			mbMetadata.setChecksum(checkSum.toString());
-			LOGGER.info("The MD5 checksum for the block {} is : {}", mbMetadata.getMbId(), mbMetadata.getChecksum());
-		} catch (NoSuchAlgorithmException e) {
-			LOGGER.error("The algorithm for messagedigest is not present");
-			e.printStackTrace();
+			mbMetadata.setChecksum(computed);
+			return true;
+		}
+		if (!BlockChecksum.matches(mbMetadata.getChecksum(), computed)) {
+			LOGGER.error("MicrobatchId : " + mbMetadata.getMbId() + ", checksum mismatch, expected "
+					+ mbMetadata.getChecksum() + " but got " + computed);
+			return false;
 		}
+		return true;
 	}
 
 	// personal bloomfilter is sent to subscribers and also in consolidated
 	// form to neighbors. Its aim is to purely facilitate microbatch searches
 	// based on microbatch metadata (though streamId can also be used)
 	private void updateBloomFilters(Metadata mbMetadata, EdgeInfo edgeInfo, Map<String, String> metaKeyValueMap) {
-		byte[] fogBFilter = fog.getPersonalBloomFilter();
-		byte[] edgeBFilter = fog.getEdgeBloomFilters().get(edgeInfo.getNodeId());
+		// the filters of an edge are rebuilt when its blocks are deleted, the
+		// entries stored meanwhile go to the delta as well so none is lost
+		fog.getBloomFilterLock().readLock().lock();
+		try {
+			byte[] fogBFilter = fog.getPersonalBloomFilter();
+			byte[] edgeBFilter = fog.getEdgeBloomFilters().get(edgeInfo.getNodeId());
+			byte[] deltaBFilter = fog.getBloomFilterDeltas().get(edgeInfo.getNodeId());
+			updateBloomFilters(mbMetadata, metaKeyValueMap, fogBFilter, edgeBFilter, deltaBFilter);
+		} finally {
+			fog.getBloomFilterLock().readLock().unlock();
+		}
+	}
+
+	private void updateBloomFilters(Metadata mbMetadata, Map<String, String> metaKeyValueMap, byte[] fogBFilter,
+			byte[] edgeBFilter, byte[] deltaBFilter) {
 		updateFogAndEdgeBloomFilters(Constants.MICROBATCH_METADATA_ID, String.valueOf(mbMetadata.getMbId()), fogBFilter,
-				edgeBFilter);
-		updateFogAndEdgeBloomFilters(Constants.STREAM_METADATA_ID, mbMetadata.getStreamId(), fogBFilter, edgeBFilter);
+				edgeBFilter, deltaBFilter);
+		updateFogAndEdgeBloomFilters(Constants.STREAM_METADATA_ID, mbMetadata.getStreamId(), fogBFilter, edgeBFilter,
+				deltaBFilter);
 		updateFogAndEdgeBloomFilters(Constants.MICROBATCH_METADATA_TIMESTAMP, String.valueOf(mbMetadata.getTimestamp()),
-				fogBFilter, edgeBFilter);
+				fogBFilter, edgeBFilter, deltaBFilter);
 		String properties = mbMetadata.getProperties();
 		if (properties != null) {
 			// assuming properties is a map
@@ -2110,7 +2441,7 @@ public class FogServiceHandler implements FogService.Iface {
 				String key = entry.getKey();
 				Object value = entry.getValue();
 				if (key != null && value != null) {
-					updateFogAndEdgeBloomFilters(key, String.valueOf(value), fogBFilter, edgeBFilter);
+					updateFogAndEdgeBloomFilters(key, String.valueOf(value), fogBFilter, edgeBFilter, deltaBFilter);
 				}
 			}
 		}
@@ -2122,13 +2453,17 @@ public class FogServiceHandler implements FogService.Iface {
 		Iterator<Map.Entry<String, String>> itr = metaKeyValueMap.entrySet().iterator();
 		while (itr.hasNext()) {
 			Map.Entry<String, String> entry = itr.next();
-			updateFogAndEdgeBloomFilters(entry.getKey(), entry.getValue(), fogBFilter, edgeBFilter);
+			updateFogAndEdgeBloomFilters(entry.getKey(), entry.getValue(), fogBFilter, edgeBFilter, deltaBFilter);
 		}
 	}
 
-	private void updateFogAndEdgeBloomFilters(String key, String value, byte[] fogBFilter, byte[] edgeBFilter) {
+	private void updateFogAndEdgeBloomFilters(String key, String value, byte[] fogBFilter, byte[] edgeBFilter,
+			byte[] deltaBFilter) {
 		BloomFilter.storeEntry(key, value, fogBFilter);
 		BloomFilter.storeEntry(key, value, edgeBFilter);
+		if (deltaBFilter != null) {
+			BloomFilter.storeEntry(key, value, deltaBFilter);
+		}
 	}
 
 	private void updateMetadataMap(Metadata mbMetadata, EdgeInfo edgeInfo, Map<String, String> metaKeyValueMap) {
@@ -2191,14 +2526,30 @@ public class FogServiceHandler implements FogService.Iface {
 
 	private void checkAndInsertEntry(String searchKey, long mbId) {
 		Map<String, List<Long>> metaToMBIdListMap = fog.getMetaToMBIdListMap();
-		List<Long> list = metaToMBIdListMap.get(searchKey);
-		if (list == null)
-			list = new ArrayList<>();
-		list.add(mbId);
-		metaToMBIdListMap.put(searchKey, list);
+		while (true) {
+			List<Long> list = metaToMBIdListMap.get(searchKey);
+			if (list == null) {
+				list = putIfAbsent(metaToMBIdListMap, searchKey, Collections.synchronizedList(new ArrayList<Long>()));
+			}
+			// the BlockPurger drops a list it empties while holding its lock, so
+			// the entry is added only to a list which is still in the map
+			synchronized (list) {
+				if (metaToMBIdListMap.get(searchKey) == list) {
+					list.add(mbId);
+					return;
+				}
+			}
+		}
 	}
 
-	private EdgeInfo identifyLocalReplica(int dataLength, WritePreference preference, Map<Short, Byte> duplicateHolders,
+	// the value in the map for the key, which is the given one unless another
+	// thread put one first
+	private static <K, V> V putIfAbsent(Map<K, V> map, K key, V value) {
+		V previous = map.putIfAbsent(key, value);
+		return previous == null ? value : previous;
+	}
+
+	private EdgeInfo identifyLocalReplica(long dataLength, WritePreference preference, Map<Short, Byte> duplicateHolders,
 			long mbId) {
 		FogStats selfStats = FogStats.createInstance(fog.getCoarseGrainedStats().getInfo());
 		EdgeInfo edgeInfo = null;
@@ -2403,6 +2754,9 @@ public class FogServiceHandler implements FogService.Iface {
 
 		FogExchangeInfo nInfo = fog.getNeighborExchangeInfo().get(nodeId);
 		nInfo.setLastHeartBeatTime(currentTime);
+		if (fog.getNeighborFailureDetector() != null) {
+			fog.getNeighborFailureDetector().heartbeat(nodeId, currentTime);
+		}
 		if (data.getBloomFilterUpdates() != null) {
 			nInfo.setLastUpdatedBFTime(currentTime);
 			nInfo.setBloomFilterUpdates(data.getBloomFilterUpdates());
@@ -2416,6 +2770,9 @@ public class FogServiceHandler implements FogService.Iface {
 
 		if (data.getNeighborStats() != null) {
 			nInfo.setLastUpdatedStatsTime(currentTime);
+			if (payload.isSetStatsSketch()) {
+				data.getNeighborStats().setSketch(payload.getStatsSketch());
+			}
 			fog.getFogUpdateMap().put(nodeId, data.getNeighborStats());
 			fog.setMostRecentNeighborStatsUpdate(System.currentTimeMillis());
 			fog.setMostRecentFogStatsUpdate(System.currentTimeMillis());
@@ -2455,6 +2812,9 @@ public class FogServiceHandler implements FogService.Iface {
 		}
 		FogExchangeInfo buddyExchangeInfo = fog.getBuddyExchangeInfo().get(buddyId);
 		buddyExchangeInfo.setLastHeartBeatTime(currentTime);
+		if (fog.getBuddyFailureDetector() != null) {
+			fog.getBuddyFailureDetector().heartbeat(buddyId, currentTime);
+		}
 		if (consolidatedBloomFilter != null) {
 			buddyExchangeInfo.setLastUpdatedBFTime(currentTime);
 			buddyExchangeInfo.setBloomFilterUpdates(consolidatedBloomFilter);
@@ -2465,11 +2825,13 @@ public class FogServiceHandler implements FogService.Iface {
 		if (buddyStats != null) {
 			buddyExchangeInfo.setLastUpdatedStatsTime(currentTime);
 			FogStats stats = FogStats.createInstance(buddyStats, buddyInfo);
+			stats.setSketch(getStatsSketch(payload, buddyId));
 			fog.getFogUpdateMap().put(buddyId, stats);
 			anyStatsUpdate = true;
 		}
 		if (buddyNeighborStats != null && !buddyNeighborStats.isEmpty()) {
 			for (FogStats stats : buddyNeighborStats) {
+				stats.setSketch(getStatsSketch(payload, stats.getNodeInfo().getNodeID()));
 				fog.getFogUpdateMap().put(stats.getNodeInfo().getNodeID(), stats);
 			}
 			anyStatsUpdate = true;
@@ -2494,6 +2856,17 @@ public class FogServiceHandler implements FogService.Iface {
 
 	}
 
+	// the edge stats sketch of a Fog the buddy sent stats of, null if not sent
+	private byte[] getStatsSketch(BuddyPayload payload, short fogId) {
+		if (!payload.isSetStatsSketches() || !payload.getStatsSketches().containsKey(fogId)) {
+			return null;
+		}
+		ByteBuffer buffer = payload.getStatsSketches().get(fogId);
+		byte[] sketch = new byte[buffer.remaining()];
+		buffer.duplicate().get(sketch);
+		return sketch;
+	}
+
 	@Override
 	public byte serializeState() throws TException {
 		LOGGER.info("The serialization started at {}", System.currentTimeMillis());
@@ -2537,19 +2910,27 @@ public class FogServiceHandler implements FogService.Iface {
 		StreamMetadataUpdateMessage updateStatus = checkForUpdateValidity(metadataInfo.getStreamMetadata(), metadata);
 		StreamMetadataUpdateResponse response = null;
 		if (updateStatus.getCode() > 0) {
-			streamMetadataUpdateLock.lock();
-			// multiple incoming update requests passed the semantic checker
-			if (metadataInfo.getStreamMetadata().getVersion().getValue() != metadata.getVersion().getValue()) {
-				LOGGER.error("Update of stream metadata failed due to version mismatch");
-				response = new StreamMetadataUpdateResponse(Constants.FAILURE,
-						StreamMetadataUpdateMessage.FAIL_VERSION_MISMATCH.getCode());
-			} else {
-				// increment the version here
-				metadata.setVersion(new I32TypeStreamMetadata(metadata.getVersion().getValue() + 1, true));
-				metadataInfo.setStreamMetadata(metadata);
-				response = new StreamMetadataUpdateResponse(Constants.SUCCESS, updateStatus.getCode());
+			Lock streamLock = streamMetadataUpdateLocks.get(metadata.getStreamId());
+			streamLock.lock();
+			try {
+				// multiple incoming update requests passed the semantic checker
+				if (metadataInfo.getStreamMetadata().getVersion().getValue() != metadata.getVersion().getValue()) {
+					LOGGER.error("Update of stream metadata failed due to version mismatch");
+					response = new StreamMetadataUpdateResponse(Constants.FAILURE,
+							StreamMetadataUpdateMessage.FAIL_VERSION_MISMATCH.getCode());
+				} else {
+					// increment the version here
+					metadata.setVersion(new I32TypeStreamMetadata(metadata.getVersion().getValue() + 1, true));
+					metadataInfo.setStreamMetadata(metadata);
+					response = new StreamMetadataUpdateResponse(Constants.SUCCESS, updateStatus.getCode());
+				}
+			} finally {
+				streamLock.unlock();
+			}
+			if (response.getStatus() == Constants.SUCCESS) {
+				// the Fogs caching the metadata fetch the new version when needed
+				fog.getStreamCacheRegistry().invalidate(metadata.getStreamId(), metadata.getVersion().getValue());
 			}
-			streamMetadataUpdateLock.unlock();
 		} else {
 			response = new StreamMetadataUpdateResponse(Constants.FAILURE, updateStatus.getCode());
 		}
@@ -2593,7 +2974,7 @@ public class FogServiceHandler implements FogService.Iface {
 		// microbatch
 		// present so we should pick a different edge to make sure there is proper
 		// replication
-		EdgeInfo localEdge = identifyLocalReplica(data.capacity(), preference, duplicateHolders, mbMetadata.getMbId());
+		EdgeInfo localEdge = identifyLocalReplica(data.remaining(), preference, duplicateHolders, mbMetadata.getMbId());
 		if (localEdge == null) {
 			LOGGER.info("No suitable edge present");
 			return wrResponse;
@@ -2603,6 +2984,9 @@ public class FogServiceHandler implements FogService.Iface {
 			LOGGER.error("No metadata supplied while writing");
 			return wrResponse;
 		}
+		if (!checkChecksum(data, mbMetadata)) {
+			return wrResponse;
+		}
 		TTransport transport = new TFramedTransport(new TSocket(localEdge.getNodeIp(), localEdge.getPort()));
 		try {
 			transport.open();
@@ -2656,9 +3040,9 @@ public class FogServiceHandler implements FogService.Iface {
 	/**
 	 * This is called once the writes are done and the lastBlockId as well as the
 	 * MD5 of the recently written block should be made available at the owner fog
-	 * of the stream. This method uses streamOpenLock which is shared among this,
-	 * open() and renewLease() methods so check carefully for serializing lock
-	 * acquisition and behavior
+	 * of the stream. This method uses the lock of the stream in streamOpenLocks
+	 * which is shared among this, open() and renewLease() methods so check
+	 * carefully for serializing lock acquisition and behavior
 	 */
 	@Override
 	public BlockMetadataUpdateResponse incrementBlockCount(Metadata mbMetadata, boolean setLease) throws TException {
@@ -2677,29 +3061,33 @@ public class FogServiceHandler implements FogService.Iface {
 			BlockMetadataUpdateMessage msg = BlockMetadataUpdateMessage.FAIL_NOT_OWNER;
 			return new BlockMetadataUpdateResponse(Constants.FAILURE, msg.getMessage(), msg.getCode());
 		}
-		streamOpenLock.lock();
-		BlockMetadataUpdateMessage checkLeaseOwnership = checkLeaseOwnership(mbMetadata, setLease);
-		if (checkLeaseOwnership == BlockMetadataUpdateMessage.SUCCESS) {
-			BlockMetadata blockMetadata = fog.getPerStreamBlockMetadata().get(mbMetadata.getStreamId());
-			// increment block count will be successful in case this blockId is not
-			// already present in the map. Presence of blockId means some other client
-			// has already written a block with this blockId so we have to fail
-			if (!blockMetadata.getBlockMD5Map().containsKey(mbMetadata.getMbId())) {
-				blockMetadata.setLastBlockId(mbMetadata.getMbId());
-				blockMetadata.getBlockMD5Map().put(mbMetadata.getMbId(), mbMetadata.getChecksum());
-				response = new BlockMetadataUpdateResponse(Constants.SUCCESS, checkLeaseOwnership.getMessage(),
-						checkLeaseOwnership.getCode());
+		Lock streamLock = streamOpenLocks.get(mbMetadata.getStreamId());
+		streamLock.lock();
+		try {
+			BlockMetadataUpdateMessage checkLeaseOwnership = checkLeaseOwnership(mbMetadata, setLease);
+			if (checkLeaseOwnership == BlockMetadataUpdateMessage.SUCCESS) {
+				BlockMetadata blockMetadata = fog.getPerStreamBlockMetadata().get(mbMetadata.getStreamId());
+				// increment block count will be successful in case this blockId is not
+				// already present in the map. Presence of blockId means some other client
+				// has already written a block with this blockId so we have to fail
+				if (!blockMetadata.getBlockMD5Map().containsKey(mbMetadata.getMbId())) {
+					blockMetadata.setLastBlockId(mbMetadata.getMbId());
+					blockMetadata.getBlockMD5Map().put(mbMetadata.getMbId(), mbMetadata.getChecksum());
+					response = new BlockMetadataUpdateResponse(Constants.SUCCESS, checkLeaseOwnership.getMessage(),
+							checkLeaseOwnership.getCode());
+				} else {
+					// another block is already written with this blockId, so failure scenario
+					response = new BlockMetadataUpdateResponse(Constants.FAILURE,
+							BlockMetadataUpdateMessage.FAIL_BLOCK_NUMBER_EXISTS.getMessage(),
+							BlockMetadataUpdateMessage.FAIL_BLOCK_NUMBER_EXISTS.getCode());
+				}
 			} else {
-				// another block is already written with this blockId, so failure scenario
-				response = new BlockMetadataUpdateResponse(Constants.FAILURE,
-						BlockMetadataUpdateMessage.FAIL_BLOCK_NUMBER_EXISTS.getMessage(),
-						BlockMetadataUpdateMessage.FAIL_BLOCK_NUMBER_EXISTS.getCode());
+				response = new BlockMetadataUpdateResponse(Constants.FAILURE, checkLeaseOwnership.getMessage(),
+						checkLeaseOwnership.getCode());
 			}
-		} else {
-			response = new BlockMetadataUpdateResponse(Constants.FAILURE, checkLeaseOwnership.getMessage(),
-					checkLeaseOwnership.getCode());
+		} finally {
+			streamLock.unlock();
 		}
-		streamOpenLock.unlock();
 		return response;
 	}
 
@@ -2760,59 +3148,62 @@ public class FogServiceHandler implements FogService.Iface {
 		if (fog.getStreamMetadata().get(streamId).isCached()) {
 			return new StreamLeaseRenewalResponse(Constants.FAILURE, StreamLeaseRenewalCode.FAIL_NOT_OWNER.getCode());
 		}
-		streamOpenLock.lock();
-		BlockMetadata blockMetadata = fog.getPerStreamBlockMetadata().get(streamId);
+		Lock streamLock = streamOpenLocks.get(streamId);
+		streamLock.lock();
+		try {
+			BlockMetadata blockMetadata = fog.getPerStreamBlockMetadata().get(streamId);
 
-		if (setLease == false) {
-			response = new StreamLeaseRenewalResponse(Constants.SUCCESS, StreamLeaseRenewalCode.SUCCESS.getCode());
-			response.setLeaseTime(1);
-			streamOpenLock.unlock();
-			return response;
+			if (setLease == false) {
+				response = new StreamLeaseRenewalResponse(Constants.SUCCESS, StreamLeaseRenewalCode.SUCCESS.getCode());
+				response.setLeaseTime(1);
+				return response;
+
+			} // to successfully renew the lease, the same client should be the one holding
+				// the lock
+				// previously i.e. no other client should have acquired the lock between the
+				// hard lease
+				// time expiration and renew call made
+				// NOTE::There is no consideration of time in this case i.e. it might happen
+				// that
+				// the client is the one last holding the lock but makes the renew call after a
+				// long
+				// time particularly longer than the hard lease time, in that case the renewal
+				// should
+				// still fail and client should first call open() and then do the necessary
+				// operations
+				// Lets fix this after the feature set completion
+				// NOTE:: As per the discussion, the renew call is made by the client when the
+				// client
+				// feels that the lease time left is less than the time taken to complete some
+				// specific
+				// operation whose time the client maintains.
+			if (blockMetadata.getLock() == null || !blockMetadata.getLock().equals(clientId)
+					|| !blockMetadata.getSessionSecret().equals(sessionSecret)) {
+				response = new StreamLeaseRenewalResponse(Constants.FAILURE,
+						StreamLeaseRenewalCode.FAIL_LOCK_ACQUIRED.getCode());
+			} else { /* lock is present */
+				if ((System.currentTimeMillis() - blockMetadata.getLeaseStartTime()) < (fog.getStreamHardLease() * 1000)) {
+					blockMetadata.setLeaseStartTime(System.currentTimeMillis());
 
-		} // to successfully renew the lease, the same client should be the one holding
-			// the lock
-			// previously i.e. no other client should have acquired the lock between the
-			// hard lease
-			// time expiration and renew call made
-			// NOTE::There is no consideration of time in this case i.e. it might happen
-			// that
-			// the client is the one last holding the lock but makes the renew call after a
-			// long
-			// time particularly longer than the hard lease time, in that case the renewal
-			// should
-			// still fail and client should first call open() and then do the necessary
-			// operations
-			// Lets fix this after the feature set completion
-			// NOTE:: As per the discussion, the renew call is made by the client when the
-			// client
-			// feels that the lease time left is less than the time taken to complete some
-			// specific
-			// operation whose time the client maintains.
-		if (blockMetadata.getLock() == null || !blockMetadata.getLock().equals(clientId)
-				|| !blockMetadata.getSessionSecret().equals(sessionSecret)) {
-			response = new StreamLeaseRenewalResponse(Constants.FAILURE,
-					StreamLeaseRenewalCode.FAIL_LOCK_ACQUIRED.getCode());
-		} else { /* lock is present */
-			if ((System.currentTimeMillis() - blockMetadata.getLeaseStartTime()) < (fog.getStreamHardLease() * 1000)) {
-				blockMetadata.setLeaseStartTime(System.currentTimeMillis());
+					if(expectedLease <=0 ) {
+						expectedLease = 90; // set 90s as default lease duration
+					}
 
-				if(expectedLease <=0 ) {
-					expectedLease = 90; // set 90s as default lease duration
+					blockMetadata.setLeaseDuration(expectedLease
+							* 1000); /**
+										 * expected lease is added here previously => fog.getStreamSoftLease() * 1000
+										 **/
+					LOGGER.info("The lease is set to " + expectedLease);
+					response = new StreamLeaseRenewalResponse(Constants.SUCCESS, StreamLeaseRenewalCode.SUCCESS.getCode());
+					response.setLeaseTime(blockMetadata.getLeaseDuration());
+				} else {
+					response = new StreamLeaseRenewalResponse(Constants.FAILURE,
+							StreamLeaseRenewalCode.FAIL_LEASE_EXPIRED.getCode());
 				}
-
-				blockMetadata.setLeaseDuration(expectedLease
-						* 1000); /**
-									 * expected lease is added here previously => fog.getStreamSoftLease() * 1000
-									 **/
-				LOGGER.info("The lease is set to " + expectedLease);
-				response = new StreamLeaseRenewalResponse(Constants.SUCCESS, StreamLeaseRenewalCode.SUCCESS.getCode());
-				response.setLeaseTime(blockMetadata.getLeaseDuration());
-			} else {
-				response = new StreamLeaseRenewalResponse(Constants.FAILURE,
-						StreamLeaseRenewalCode.FAIL_LEASE_EXPIRED.getCode());
 			}
+		} finally {
+			streamLock.unlock();
 		}
-		streamOpenLock.unlock();
 		return response;
 	}
 
@@ -2934,7 +3325,7 @@ public class FogServiceHandler implements FogService.Iface {
 		Map<Short, FogExchangeInfo> neighborExchangeInfo = fog.getNeighborExchangeInfo();
 		for (Entry<Short, FogExchangeInfo> entry : neighborExchangeInfo.entrySet()) {
 			FogExchangeInfo nInfo = entry.getValue();
-			if (nInfo != null) {
+			if (nInfo != null && !fog.isPeerSuspected(entry.getKey())) {
 				byte[] streamBloomFilter = nInfo.getStreamBFilterUpdates();
 
 				// Iteration needed; based on number of properties passed for condition checking
@@ -2972,7 +3363,7 @@ public class FogServiceHandler implements FogService.Iface {
 		Map<Short, FogExchangeInfo> buddyExchangeInfo = fog.getBuddyExchangeInfo();
 		for (Entry<Short, FogExchangeInfo> entry : buddyExchangeInfo.entrySet()) {
 			FogExchangeInfo buddyInfo = entry.getValue();
-			if (buddyInfo != null) {
+			if (buddyInfo != null && !fog.isPeerSuspected(entry.getKey())) {
 				byte[] streamBloomFilter = buddyInfo.getStreamBFilterUpdates();
 				// Iteration needed; based on number of properties passed for condition checking
 				// in the map
@@ -3058,8 +3449,9 @@ public class FogServiceHandler implements FogService.Iface {
 			List<Long> matchingMbIds = fog.getMetaToMBIdListMap().get(searchKey);
 			if (firstPass) {
 
+				// copied first as the list may be appended to concurrently
 				if(matchingMbIds!=null)
-					validMbTdList.addAll(matchingMbIds);
+					validMbTdList.addAll(new ArrayList<>(matchingMbIds));
 				firstPass = false;
 			} else {
 				if(matchingMbIds!=null)
@@ -3084,7 +3476,7 @@ public class FogServiceHandler implements FogService.Iface {
 		Map<Short, FogExchangeInfo> neighborExchangeInfo = fog.getNeighborExchangeInfo();
 		for (Entry<Short, FogExchangeInfo> entry : neighborExchangeInfo.entrySet()) {
 			FogExchangeInfo nInfo = entry.getValue();
-			if (nInfo != null) {
+			if (nInfo != null && !fog.isPeerSuspected(entry.getKey())) {
 				byte[] bloomFilter = nInfo.getBloomFilterUpdates();
 
 				// Iteration needed; based on number of properties passed for condition checking
@@ -3125,7 +3517,7 @@ public class FogServiceHandler implements FogService.Iface {
 		Map<Short, FogExchangeInfo> buddyExchangeInfo = fog.getBuddyExchangeInfo();
 		for (Entry<Short, FogExchangeInfo> entry : buddyExchangeInfo.entrySet()) {
 			FogExchangeInfo buddyInfo = entry.getValue();
-			if (buddyInfo != null) {
+			if (buddyInfo != null && !fog.isPeerSuspected(entry.getKey())) {
 				byte[] bloomFilter = buddyInfo.getBloomFilterUpdates();
 				// Iteration needed; based on number of properties passed for condition checking
 				// in the map
@@ -3212,6 +3604,14 @@ public class FogServiceHandler implements FogService.Iface {
 		WriteResponse wrResponse = new WriteResponse();
 		wrResponse.setStatus(Constants.FAILURE);
 
+		if (mbMetadata == null || mbData == null || !checkChecksum(mbData, mbMetadata)) {
+			return wrResponse;
+		}
+
+		// the cached copy is stale once the block is overwritten
+		fog.getBlockCache().invalidate(mbId);
+		fog.getStreamPrefetcher().invalidate(mbId);
+
 		boolean writeData = false;
 		Map<Short, Byte> edgeMap = fog.getMbIDLocationMap().get(mbId);
 		if (edgeMap != null) {
@@ -3250,7 +3650,354 @@ public class FogServiceHandler implements FogService.Iface {
 			}
 		}
 
+		// a read that raced with the update may have cached the old copy
+		fog.getBlockCache().invalidate(mbId);
+		fog.getStreamPrefetcher().invalidate(mbId);
 		return wrResponse;
 	}
 
+	@Override
+	public Map<String, Long> getBlockCacheStats() throws TException {
+		return fog.getBlockCache().getStats();
+	}
+
+	@Override
+	public String openWrite(Metadata mbMetadata, long length, WritePreference preference) throws TException {
+		if (mbMetadata == null) {
+			LOGGER.error("No metadata supplied while writing");
+			return "";
+		}
+		abortIdleTransfers(Constants.TRANSFER_IDLE_TIMEOUT * 1000L);
+		if (transfers.size() >= Constants.MAX_OPEN_TRANSFERS) {
+			LOGGER.error("Too many open transfers, not writing the microbatch " + mbMetadata.getMbId());
+			return "";
+		}
+		LOGGER.info("MicrobatchId : " + mbMetadata.getMbId() + ", openWrite, startTime=" + System.currentTimeMillis());
+		Map<Short, Byte> duplicateHolders = fog.getMbIDLocationMap().get(mbMetadata.getMbId());
+		EdgeInfo localEdge = identifyLocalReplica(length, preference, duplicateHolders, mbMetadata.getMbId());
+		if (localEdge == null) {
+			LOGGER.info("No suitable edge present");
+			return "";
+		}
+		// the connection to the edge is kept open till the transfer ends so
+		// that the chunks are relayed as they come
+		TTransport transport = new TFramedTransport(new TSocket(localEdge.getNodeIp(), localEdge.getPort()));
+		try {
+			transport.open();
+			EdgeService.Client edgeClient = new EdgeService.Client(new TBinaryProtocol(transport));
+			String edgeTransferId = edgeClient.openWrite(mbMetadata.getMbId(), mbMetadata);
+			if (edgeTransferId == null || edgeTransferId.isEmpty()) {
+				transport.close();
+				return "";
+			}
+			String transferId = UUID.randomUUID().toString();
+			transfers.put(transferId, new BlockTransfer(mbMetadata, localEdge, transport, edgeClient, edgeTransferId));
+			return transferId;
+		} catch (TException e) {
+			transport.close();
+			LOGGER.error("Unable to open the write with edge device : " + localEdge);
+			e.printStackTrace();
+		}
+		return "";
+	}
+
+	@Override
+	public byte writeChunk(String transferId, long offset, ByteBuffer data) throws TException {
+		BlockTransfer transfer = transfers.get(transferId);
+		if (transfer == null || data == null) {
+			return Constants.FAILURE;
+		}
+		synchronized (transfer) {
+			try {
+				// the edge checks the offset of the chunk
+				transfer.checksum.update(data);
+				byte status = transfer.edgeClient.writeChunk(transfer.edgeTransferId, offset, data);
+				transfer.lastUsed = System.currentTimeMillis();
+				if (status != Constants.SUCCESS) {
+					// the edge has already dropped its side of the transfer
+					transfers.remove(transferId);
+					transfer.transport.close();
+				}
+				return status;
+			} catch (TException e) {
+				LOGGER.error("Error while relaying a chunk of microbatch " + transfer.mbMetadata.getMbId()
+						+ " to edge : " + transfer.edgeInfo);
+				e.printStackTrace();
+				abortWrite(transferId);
+			}
+		}
+		return Constants.FAILURE;
+	}
+
+	@Override
+	public WriteResponse commitWrite(String transferId) throws TException {
+		WriteResponse wrResponse = new WriteResponse();
+		wrResponse.setStatus(Constants.FAILURE);
+		BlockTransfer transfer = transfers.remove(transferId);
+		if (transfer == null) {
+			return wrResponse;
+		}
+		Metadata mbMetadata = transfer.mbMetadata;
+		synchronized (transfer) {
+			try {
+				// the edge verifies the checksum as well, the Fog keeps the one
+				// computed if the client didn't send it
+				if (!checkChecksum(transfer.checksum.toString(), mbMetadata)) {
+					transfer.edgeClient.abortWrite(transfer.edgeTransferId);
+					return wrResponse;
+				}
+				wrResponse = transfer.edgeClient.commitWrite(transfer.edgeTransferId);
+			} catch (TException e) {
+				LOGGER.info("Error while committing microbatch to edge : " + transfer.edgeInfo);
+				e.printStackTrace();
+				return wrResponse;
+			} finally {
+				transfer.transport.close();
+			}
+		}
+		if (wrResponse.getStatus() != Constants.SUCCESS) {
+			return wrResponse;
+		}
+		updateMicrobatchLocalInfo(mbMetadata, null, transfer.edgeInfo, new HashMap<String, String>());
+		LOGGER.info("MicrobatchId : " + mbMetadata.getMbId() + ", commitWrite, endTime=" + System.currentTimeMillis());
+		return wrResponse;
+	}
+
+	@Override
+	public byte abortWrite(String transferId) throws TException {
+		BlockTransfer transfer = transfers.remove(transferId);
+		if (transfer == null) {
+			return Constants.FAILURE;
+		}
+		synchronized (transfer) {
+			try {
+				transfer.edgeClient.abortWrite(transfer.edgeTransferId);
+			} catch (TException e) {
+				// the edge drops the transfer on its own once it is idle
+				LOGGER.info("Unable to abort the write at edge : " + transfer.edgeInfo);
+			} finally {
+				transfer.transport.close();
+			}
+		}
+		LOGGER.info("MicrobatchId : " + transfer.mbMetadata.getMbId() + ", write aborted");
+		return Constants.SUCCESS;
+	}
+
+	@Override
+	public byte reportCorruptBlocks(short edgeId, List<Long> mbIds) throws TException {
+		EdgeInfo edgeInfo = fog.getLocalEdgesMap().get(edgeId);
+		RecoveryQueue recoveryQueue = fog.getRecoveryQueue();
+		if (edgeInfo == null || mbIds == null || recoveryQueue == null) {
+			return Constants.FAILURE;
+		}
+		LOGGER.info("EdgeId : " + edgeId + " reported " + mbIds.size() + " corrupt microbatches " + mbIds);
+		List<Long> lost = new ArrayList<>();
+		Set<Long> edgeMBList = fog.getEdgeMicrobatchMap().get(edgeId);
+		for (Long mbId : mbIds) {
+			// the edge removes its copy once the report is accepted so it is
+			// neither read from nor counted as a replica any more
+			Map<Short, Byte> edgeMap = fog.getMbIDLocationMap().get(mbId);
+			if (edgeMap == null || edgeMap.remove(edgeId) == null) {
+				continue;
+			}
+			if (edgeMBList != null) {
+				edgeMBList.remove(mbId);
+			}
+			fog.getBlockCache().invalidate(mbId);
+			fog.getStreamPrefetcher().invalidate(mbId);
+			lost.add(mbId);
+		}
+		// copied again the same way as the microbatches of a dead edge
+		if (!lost.isEmpty()) {
+			recoveryQueue.enqueue(edgeId, edgeInfo.getStats().getReliability(), lost);
+		}
+		return Constants.SUCCESS;
+	}
+
+	@Override
+	public byte deleteBlock(long mbId, boolean checkNeighbors, boolean checkBuddies) throws TException {
+		LOGGER.info("MicrobatchId : " + mbId + ", delete, startTime=" + System.currentTimeMillis());
+		boolean deleted = fog.getBlockPurger().delete(Collections.singletonList(mbId)) > 0;
+		// the other replicas are searched the same way as in find
+		if (deleteFromOtherFogs(Constants.MICROBATCH_METADATA_ID, String.valueOf(mbId), mbId, null, checkNeighbors,
+				checkBuddies)) {
+			deleted = true;
+		}
+		// a block of an erasure coded stream is present only as its fragments
+		if (!deleted && ErasureFragment.canFragment(mbId)) {
+			int fragments = countFragments(mbId, checkNeighbors, checkBuddies);
+			for (int i = 0; i < fragments; i++) {
+				long fragmentId = ErasureFragment.fragmentId(mbId, i);
+				if (deleteBlock(fragmentId, checkNeighbors, checkBuddies) == Constants.SUCCESS) {
+					deleted = true;
+				}
+			}
+		}
+		LOGGER.info("MicrobatchId : " + mbId + ", delete, endTime=" + System.currentTimeMillis());
+		return deleted ? Constants.SUCCESS : Constants.FAILURE;
+	}
+
+	// the number of fragments of a block stored erasure coded, found from the
+	// stream of its first fragment, 0 if there is no such fragment or the
+	// stream is not erasure coded
+	private int countFragments(long mbId, boolean checkNeighbors, boolean checkBuddies) throws TException {
+		long firstFragment = ErasureFragment.fragmentId(mbId, 0);
+		Metadata metadata = fog.getBlockMetadata().get(firstFragment);
+		if (metadata == null) {
+			ReadReplica replica = getMeta(firstFragment, checkNeighbors, checkBuddies);
+			if (replica.getStatus() != Constants.SUCCESS || !replica.isSetMetadata()) {
+				return 0;
+			}
+			metadata = replica.getMetadata();
+		}
+		StreamMetadataInfo strMetadata = getStreamMetadata(metadata.getStreamId(), true, true, false);
+		if (strMetadata == null) {
+			LOGGER.info("Unable to locate the stream metadata for streamId : " + metadata.getStreamId());
+			return 0;
+		}
+		int[] counts = ErasureCodedStore.getFragmentCounts(strMetadata.getStreamMetadata());
+		return counts == null ? 0 : counts[0] + counts[1];
+	}
+
+	@Override
+	public byte deleteStream(String streamId, boolean checkNeighbors, boolean checkBuddies) throws TException {
+		LOGGER.info("StreamId : " + streamId + ", delete, startTime=" + System.currentTimeMillis());
+		boolean deleted = fog.getBlockPurger().deleteStream(streamId);
+		if (deleteFromOtherFogs(Constants.STREAM_METADATA_ID, streamId, -1, streamId, checkNeighbors,
+				checkBuddies)) {
+			deleted = true;
+		}
+		LOGGER.info("StreamId : " + streamId + ", delete, endTime=" + System.currentTimeMillis());
+		return deleted ? Constants.SUCCESS : Constants.FAILURE;
+	}
+
+	@Override
+	public WriteResponse putErasureCoded(Metadata mbMetadata, ByteBuffer data, Map<String, String> metaKeyValueMap)
+			throws TException {
+		if (mbMetadata == null) {
+			LOGGER.error("No metadata supplied while writing");
+			return new WriteResponse(Constants.FAILURE);
+		}
+		if (!checkChecksum(data, mbMetadata)) {
+			return new WriteResponse(Constants.FAILURE);
+		}
+		byte[] block = new byte[data.remaining()];
+		data.duplicate().get(block);
+		return erasureCodedStore.write(mbMetadata, block,
+				metaKeyValueMap == null ? new HashMap<String, String>() : metaKeyValueMap);
+	}
+
+	@Override
+	public ReadReplica readErasureCoded(long mbId, boolean fetchMetadata) throws TException {
+		LOGGER.info("MicrobatchId : " + mbId + ", readErasureCoded, startTime=" + System.currentTimeMillis());
+		ReadReplica data = erasureCodedStore.read(mbId, fetchMetadata);
+		LOGGER.info("MicrobatchId : " + mbId + ", readErasureCoded, endTime=" + System.currentTimeMillis()
+				+ ",status=" + data.getStatus());
+		return data;
+	}
+
+	// a Fog is contacted if its bloom filters may have the block or stream,
+	// the stream bloom filter has the streams owned by the Fog and the block
+	// one the streams of the blocks it holds
+	private boolean deleteFromOtherFogs(String searchKey, String searchValue, long mbId, String streamId,
+			boolean checkNeighbors, boolean checkBuddies) {
+		boolean deleted = false;
+		if (checkNeighbors) {
+			for (Entry<Short, FogExchangeInfo> entry : fog.getNeighborExchangeInfo().entrySet()) {
+				FogExchangeInfo nInfo = entry.getValue();
+				NeighborInfo neighbor = fog.getNeighborsMap().get(entry.getKey());
+				if (nInfo != null && neighbor != null && !fog.isPeerSuspected(entry.getKey())
+						&& (BloomFilter.search(searchKey, searchValue, nInfo.getBloomFilterUpdates())
+								|| BloomFilter.search(searchKey, searchValue, nInfo.getStreamBFilterUpdates()))) {
+					if (deleteFromOtherFog(neighbor.getNode().getNodeIP(), neighbor.getNode().getPort(), mbId,
+							streamId, false, false)) {
+						deleted = true;
+					}
+				}
+			}
+		}
+		if (checkBuddies) {
+			for (Entry<Short, FogExchangeInfo> entry : fog.getBuddyExchangeInfo().entrySet()) {
+				FogExchangeInfo buddyInfo = entry.getValue();
+				FogInfo buddy = fog.getBuddyMap().get(entry.getKey());
+				if (buddyInfo != null && buddy != null && !fog.isPeerSuspected(entry.getKey())
+						&& (BloomFilter.search(searchKey, searchValue, buddyInfo.getBloomFilterUpdates())
+								|| BloomFilter.search(searchKey, searchValue, buddyInfo.getStreamBFilterUpdates()))) {
+					if (deleteFromOtherFog(buddy.getNodeIP(), buddy.getPort(), mbId, streamId, true, false)) {
+						deleted = true;
+					}
+				}
+			}
+		}
+		return deleted;
+	}
+
+	private boolean deleteFromOtherFog(String ip, int port, long mbId, String streamId, boolean checkNeighbors,
+			boolean checkBuddies) {
+		TTransport transport = new TFramedTransport(new TSocket(ip, port));
+		try {
+			transport.open();
+		} catch (TTransportException e) {
+			transport.close();
+			LOGGER.error("Error while deleting from other fogs");
+			e.printStackTrace();
+			return false;
+		}
+		TProtocol protocol = new TBinaryProtocol(transport);
+		FogService.Client fogClient = new FogService.Client(protocol);
+		try {
+			byte status;
+			if (streamId != null) {
+				status = fogClient.deleteStream(streamId, checkNeighbors, checkBuddies);
+			} else {
+				status = fogClient.deleteBlock(mbId, checkNeighbors, checkBuddies);
+			}
+			return status == Constants.SUCCESS;
+		} catch (TException e) {
+			LOGGER.error("Error while deleting from the fog " + ip);
+			e.printStackTrace();
+		} finally {
+			transport.close();
+		}
+		return false;
+	}
+
+	/**
+	 * Aborts the transfers abandoned by their clients, the ones with no chunk
+	 * sent for the given milliseconds. Run periodically and when a transfer is
+	 * opened
+	 */
+	public void abortIdleTransfers(long idleTimeout) throws TException {
+		long idleSince = System.currentTimeMillis() - idleTimeout;
+		for (Entry<String, BlockTransfer> entry : transfers.entrySet()) {
+			if (entry.getValue().lastUsed < idleSince) {
+				abortWrite(entry.getKey());
+			}
+		}
+	}
+
+	/**
+	 * A block being written in chunks to a local edge
+	 */
+	private static class BlockTransfer {
+
+		private final Metadata mbMetadata;
+		private final EdgeInfo edgeInfo;
+		private final TTransport transport;
+		private final EdgeService.Client edgeClient;
+		private final String edgeTransferId;
+		private final BlockChecksum checksum = new BlockChecksum();
+		private volatile long lastUsed;
+
+		BlockTransfer(Metadata mbMetadata, EdgeInfo edgeInfo, TTransport transport, EdgeService.Client edgeClient,
+				String edgeTransferId) {
+			this.mbMetadata = mbMetadata;
+			this.edgeInfo = edgeInfo;
+			this.transport = transport;
+			this.edgeClient = edgeClient;
+			this.edgeTransferId = edgeTransferId;
+			this.lastUsed = System.currentTimeMillis();
+		}
+	}
+
 }
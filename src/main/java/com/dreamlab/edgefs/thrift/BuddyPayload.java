@@ -13,17 +13,20 @@ public class BuddyPayload implements org.apache.thrift.TBase<BuddyPayload, Buddy
 
   private static final org.apache.thrift.protocol.TField PAYLOAD_FIELD_DESC = new org.apache.thrift.protocol.TField("payload", org.apache.thrift.protocol.TType.STRING, (short)1);
   private static final org.apache.thrift.protocol.TField MB_ID_TO_STREAM_ID_MAP_FIELD_DESC = new org.apache.thrift.protocol.TField("mbIdToStreamIdMap", org.apache.thrift.protocol.TType.MAP, (short)2);
+  private static final org.apache.thrift.protocol.TField STATS_SKETCHES_FIELD_DESC = new org.apache.thrift.protocol.TField("statsSketches", org.apache.thrift.protocol.TType.MAP, (short)3);
 
   private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new BuddyPayloadStandardSchemeFactory();
   private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new BuddyPayloadTupleSchemeFactory();
 
   public java.nio.ByteBuffer payload; // required
   public java.util.Map<java.lang.Long,java.lang.String> mbIdToStreamIdMap; // optional
+  public java.util.Map<java.lang.Short,java.nio.ByteBuffer> statsSketches; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.thrift.TFieldIdEnum {
     PAYLOAD((short)1, "payload"),
-    MB_ID_TO_STREAM_ID_MAP((short)2, "mbIdToStreamIdMap");
+    MB_ID_TO_STREAM_ID_MAP((short)2, "mbIdToStreamIdMap"),
+    STATS_SKETCHES((short)3, "statsSketches");
 
     private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
 
@@ -42,6 +45,8 @@ public class BuddyPayload implements org.apache.thrift.TBase<BuddyPayload, Buddy
           return PAYLOAD;
         case 2: // MB_ID_TO_STREAM_ID_MAP
           return MB_ID_TO_STREAM_ID_MAP;
+        case 3: // STATS_SKETCHES
+          return STATS_SKETCHES;
         default:
           return null;
       }
@@ -82,7 +87,7 @@ public class BuddyPayload implements org.apache.thrift.TBase<BuddyPayload, Buddy
   }
 
   // isset id assignments
-  private static final _Fields optionals[] = {_Fields.MB_ID_TO_STREAM_ID_MAP};
+  private static final _Fields optionals[] = {_Fields.MB_ID_TO_STREAM_ID_MAP,_Fields.STATS_SKETCHES};
   public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -92,6 +97,10 @@ public class BuddyPayload implements org.apache.thrift.TBase<BuddyPayload, Buddy
         new org.apache.thrift.meta_data.MapMetaData(org.apache.thrift.protocol.TType.MAP, 
             new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64), 
             new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING))));
+    tmpMap.put(_Fields.STATS_SKETCHES, new org.apache.thrift.meta_data.FieldMetaData("statsSketches", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.MapMetaData(org.apache.thrift.protocol.TType.MAP, 
+            new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I16), 
+            new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING            , true))));
     metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
     org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(BuddyPayload.class, metaDataMap);
   }
@@ -117,6 +126,10 @@ public class BuddyPayload implements org.apache.thrift.TBase<BuddyPayload, Buddy
       java.util.Map<java.lang.Long,java.lang.String> __this__mbIdToStreamIdMap = new java.util.HashMap<java.lang.Long,java.lang.String>(other.mbIdToStreamIdMap);
       this.mbIdToStreamIdMap = __this__mbIdToStreamIdMap;
     }
+    if (other.isSetStatsSketches()) {
+      java.util.Map<java.lang.Short,java.nio.ByteBuffer> __this__statsSketches = new java.util.HashMap<java.lang.Short,java.nio.ByteBuffer>(other.statsSketches);
+      this.statsSketches = __this__statsSketches;
+    }
   }
 
   public BuddyPayload deepCopy() {
@@ -127,6 +140,7 @@ public class BuddyPayload implements org.apache.thrift.TBase<BuddyPayload, Buddy
   public void clear() {
     this.payload = null;
     this.mbIdToStreamIdMap = null;
+    this.statsSketches = null;
   }
 
   public byte[] getPayload() {
@@ -198,6 +212,41 @@ public class BuddyPayload implements org.apache.thrift.TBase<BuddyPayload, Buddy
     }
   }
 
+  public int getStatsSketchesSize() {
+    return (this.statsSketches == null) ? 0 : this.statsSketches.size();
+  }
+
+  public void putToStatsSketches(short key, java.nio.ByteBuffer val) {
+    if (this.statsSketches == null) {
+      this.statsSketches = new java.util.HashMap<java.lang.Short,java.nio.ByteBuffer>();
+    }
+    this.statsSketches.put(key, val);
+  }
+
+  public java.util.Map<java.lang.Short,java.nio.ByteBuffer> getStatsSketches() {
+    return this.statsSketches;
+  }
+
+  public BuddyPayload setStatsSketches(java.util.Map<java.lang.Short,java.nio.ByteBuffer> statsSketches) {
+    this.statsSketches = statsSketches;
+    return this;
+  }
+
+  public void unsetStatsSketches() {
+    this.statsSketches = null;
+  }
+
+  /** Returns true if field statsSketches is set (has been assigned a value) and false otherwise */
+  public boolean isSetStatsSketches() {
+    return this.statsSketches != null;
+  }
+
+  public void setStatsSketchesIsSet(boolean value) {
+    if (!value) {
+      this.statsSketches = null;
+    }
+  }
+
   public void setFieldValue(_Fields field, java.lang.Object value) {
     switch (field) {
     case PAYLOAD:
@@ -220,6 +269,14 @@ public class BuddyPayload implements org.apache.thrift.TBase<BuddyPayload, Buddy
       }
       break;
 
+    case STATS_SKETCHES:
+      if (value == null) {
+        unsetStatsSketches();
+      } else {
+        setStatsSketches((java.util.Map<java.lang.Short,java.nio.ByteBuffer>)value);
+      }
+      break;
+
     }
   }
 
@@ -231,6 +288,9 @@ public class BuddyPayload implements org.apache.thrift.TBase<BuddyPayload, Buddy
     case MB_ID_TO_STREAM_ID_MAP:
       return getMbIdToStreamIdMap();
 
+    case STATS_SKETCHES:
+      return getStatsSketches();
+
     }
     throw new java.lang.IllegalStateException();
   }
@@ -246,6 +306,8 @@ public class BuddyPayload implements org.apache.thrift.TBase<BuddyPayload, Buddy
       return isSetPayload();
     case MB_ID_TO_STREAM_ID_MAP:
       return isSetMbIdToStreamIdMap();
+    case STATS_SKETCHES:
+      return isSetStatsSketches();
     }
     throw new java.lang.IllegalStateException();
   }
@@ -283,6 +345,15 @@ public class BuddyPayload implements org.apache.thrift.TBase<BuddyPayload, Buddy
         return false;
     }
 
+    boolean this_present_statsSketches = true && this.isSetStatsSketches();
+    boolean that_present_statsSketches = true && that.isSetStatsSketches();
+    if (this_present_statsSketches || that_present_statsSketches) {
+      if (!(this_present_statsSketches && that_present_statsSketches))
+        return false;
+      if (!this.statsSketches.equals(that.statsSketches))
+        return false;
+    }
+
     return true;
   }
 
@@ -298,6 +369,10 @@ public class BuddyPayload implements org.apache.thrift.TBase<BuddyPayload, Buddy
     if (isSetMbIdToStreamIdMap())
       hashCode = hashCode * 8191 + mbIdToStreamIdMap.hashCode();
 
+    hashCode = hashCode * 8191 + ((isSetStatsSketches()) ? 131071 : 524287);
+    if (isSetStatsSketches())
+      hashCode = hashCode * 8191 + statsSketches.hashCode();
+
     return hashCode;
   }
 
@@ -329,6 +404,16 @@ public class BuddyPayload implements org.apache.thrift.TBase<BuddyPayload, Buddy
         return lastComparison;
       }
     }
+    lastComparison = java.lang.Boolean.valueOf(isSetStatsSketches()).compareTo(other.isSetStatsSketches());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetStatsSketches()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.statsSketches, other.statsSketches);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -366,6 +451,16 @@ public class BuddyPayload implements org.apache.thrift.TBase<BuddyPayload, Buddy
       }
       first = false;
     }
+    if (isSetStatsSketches()) {
+      if (!first) sb.append(", ");
+      sb.append("statsSketches:");
+      if (this.statsSketches == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.statsSketches);
+      }
+      first = false;
+    }
     sb.append(")");
     return sb.toString();
   }
@@ -440,6 +535,26 @@ public class BuddyPayload implements org.apache.thrift.TBase<BuddyPayload, Buddy
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 3: // STATS_SKETCHES
+            if (schemeField.type == org.apache.thrift.protocol.TType.MAP) {
+              {
+                org.apache.thrift.protocol.TMap _map22 = iprot.readMapBegin();
+                struct.statsSketches = new java.util.HashMap<java.lang.Short,java.nio.ByteBuffer>(2*_map22.size);
+                short _key23;
+                java.nio.ByteBuffer _val24;
+                for (int _i25 = 0; _i25 < _map22.size; ++_i25)
+                {
+                  _key23 = iprot.readI16();
+                  _val24 = iprot.readBinary();
+                  struct.statsSketches.put(_key23, _val24);
+                }
+                iprot.readMapEnd();
+              }
+              struct.setStatsSketchesIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -465,10 +580,25 @@ public class BuddyPayload implements org.apache.thrift.TBase<BuddyPayload, Buddy
           oprot.writeFieldBegin(MB_ID_TO_STREAM_ID_MAP_FIELD_DESC);
           {
             oprot.writeMapBegin(new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.I64, org.apache.thrift.protocol.TType.STRING, struct.mbIdToStreamIdMap.size()));
-            for (java.util.Map.Entry<java.lang.Long, java.lang.String> _iter22 : struct.mbIdToStreamIdMap.entrySet())
+            for (java.util.Map.Entry<java.lang.Long, java.lang.String> _iter26 : struct.mbIdToStreamIdMap.entrySet())
+            {
+              oprot.writeI64(_iter26.getKey());
+              oprot.writeString(_iter26.getValue());
+            }
+            oprot.writeMapEnd();
+          }
+          oprot.writeFieldEnd();
+        }
+      }
+      if (struct.statsSketches != null) {
+        if (struct.isSetStatsSketches()) {
+          oprot.writeFieldBegin(STATS_SKETCHES_FIELD_DESC);
+          {
+            oprot.writeMapBegin(new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.I16, org.apache.thrift.protocol.TType.STRING, struct.statsSketches.size()));
+            for (java.util.Map.Entry<java.lang.Short, java.nio.ByteBuffer> _iter27 : struct.statsSketches.entrySet())
             {
-              oprot.writeI64(_iter22.getKey());
-              oprot.writeString(_iter22.getValue());
+              oprot.writeI16(_iter27.getKey());
+              oprot.writeBinary(_iter27.getValue());
             }
             oprot.writeMapEnd();
           }
@@ -497,14 +627,27 @@ public class BuddyPayload implements org.apache.thrift.TBase<BuddyPayload, Buddy
       if (struct.isSetMbIdToStreamIdMap()) {
         optionals.set(0);
       }
-      oprot.writeBitSet(optionals, 1);
+      if (struct.isSetStatsSketches()) {
+        optionals.set(1);
+      }
+      oprot.writeBitSet(optionals, 2);
       if (struct.isSetMbIdToStreamIdMap()) {
         {
           oprot.writeI32(struct.mbIdToStreamIdMap.size());
-          for (java.util.Map.Entry<java.lang.Long, java.lang.String> _iter23 : struct.mbIdToStreamIdMap.entrySet())
+          for (java.util.Map.Entry<java.lang.Long, java.lang.String> _iter28 : struct.mbIdToStreamIdMap.entrySet())
+          {
+            oprot.writeI64(_iter28.getKey());
+            oprot.writeString(_iter28.getValue());
+          }
+        }
+      }
+      if (struct.isSetStatsSketches()) {
+        {
+          oprot.writeI32(struct.statsSketches.size());
+          for (java.util.Map.Entry<java.lang.Short, java.nio.ByteBuffer> _iter29 : struct.statsSketches.entrySet())
           {
-            oprot.writeI64(_iter23.getKey());
-            oprot.writeString(_iter23.getValue());
+            oprot.writeI16(_iter29.getKey());
+            oprot.writeBinary(_iter29.getValue());
           }
         }
       }
@@ -515,22 +658,37 @@ public class BuddyPayload implements org.apache.thrift.TBase<BuddyPayload, Buddy
       org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
       struct.payload = iprot.readBinary();
       struct.setPayloadIsSet(true);
-      java.util.BitSet incoming = iprot.readBitSet(1);
+      java.util.BitSet incoming = iprot.readBitSet(2);
       if (incoming.get(0)) {
         {
-          org.apache.thrift.protocol.TMap _map24 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.I64, org.apache.thrift.protocol.TType.STRING, iprot.readI32());
-          struct.mbIdToStreamIdMap = new java.util.HashMap<java.lang.Long,java.lang.String>(2*_map24.size);
-          long _key25;
-          java.lang.String _val26;
-          for (int _i27 = 0; _i27 < _map24.size; ++_i27)
+          org.apache.thrift.protocol.TMap _map30 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.I64, org.apache.thrift.protocol.TType.STRING, iprot.readI32());
+          struct.mbIdToStreamIdMap = new java.util.HashMap<java.lang.Long,java.lang.String>(2*_map30.size);
+          long _key31;
+          java.lang.String _val32;
+          for (int _i33 = 0; _i33 < _map30.size; ++_i33)
           {
-            _key25 = iprot.readI64();
-            _val26 = iprot.readString();
-            struct.mbIdToStreamIdMap.put(_key25, _val26);
+            _key31 = iprot.readI64();
+            _val32 = iprot.readString();
+            struct.mbIdToStreamIdMap.put(_key31, _val32);
           }
         }
         struct.setMbIdToStreamIdMapIsSet(true);
       }
+      if (incoming.get(1)) {
+        {
+          org.apache.thrift.protocol.TMap _map34 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.I16, org.apache.thrift.protocol.TType.STRING, iprot.readI32());
+          struct.statsSketches = new java.util.HashMap<java.lang.Short,java.nio.ByteBuffer>(2*_map34.size);
+          short _key35;
+          java.nio.ByteBuffer _val36;
+          for (int _i37 = 0; _i37 < _map34.size; ++_i37)
+          {
+            _key35 = iprot.readI16();
+            _val36 = iprot.readBinary();
+            struct.statsSketches.put(_key35, _val36);
+          }
+        }
+        struct.setStatsSketchesIsSet(true);
+      }
     }
   }
 
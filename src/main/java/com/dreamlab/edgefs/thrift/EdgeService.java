@@ -30,6 +30,18 @@ public class EdgeService {
 
     public ReadReplica read(long mbId, byte fetchMetadata, java.lang.String compFormat, long uncompSize) throws org.apache.thrift.TException;
 
+    public ReadReplica readRange(long mbId, java.lang.String compFormat, long offset, long length) throws org.apache.thrift.TException;
+
+    public java.lang.String openWrite(long mbId, Metadata mbMetadata) throws org.apache.thrift.TException;
+
+    public byte writeChunk(java.lang.String transferId, long offset, java.nio.ByteBuffer data) throws org.apache.thrift.TException;
+
+    public WriteResponse commitWrite(java.lang.String transferId) throws org.apache.thrift.TException;
+
+    public byte abortWrite(java.lang.String transferId) throws org.apache.thrift.TException;
+
+    public byte deleteBlocks(java.util.List<java.lang.Long> mbIds) throws org.apache.thrift.TException;
+
     public ReadReplica getMetadata(long mbId) throws org.apache.thrift.TException;
 
     /**
@@ -55,6 +67,18 @@ public class EdgeService {
 
     public void read(long mbId, byte fetchMetadata, java.lang.String compFormat, long uncompSize, org.apache.thrift.async.AsyncMethodCallback<ReadReplica> resultHandler) throws org.apache.thrift.TException;
 
+    public void readRange(long mbId, java.lang.String compFormat, long offset, long length, org.apache.thrift.async.AsyncMethodCallback<ReadReplica> resultHandler) throws org.apache.thrift.TException;
+
+    public void openWrite(long mbId, Metadata mbMetadata, org.apache.thrift.async.AsyncMethodCallback<java.lang.String> resultHandler) throws org.apache.thrift.TException;
+
+    public void writeChunk(java.lang.String transferId, long offset, java.nio.ByteBuffer data, org.apache.thrift.async.AsyncMethodCallback<java.lang.Byte> resultHandler) throws org.apache.thrift.TException;
+
+    public void commitWrite(java.lang.String transferId, org.apache.thrift.async.AsyncMethodCallback<WriteResponse> resultHandler) throws org.apache.thrift.TException;
+
+    public void abortWrite(java.lang.String transferId, org.apache.thrift.async.AsyncMethodCallback<java.lang.Byte> resultHandler) throws org.apache.thrift.TException;
+
+    public void deleteBlocks(java.util.List<java.lang.Long> mbIds, org.apache.thrift.async.AsyncMethodCallback<java.lang.Byte> resultHandler) throws org.apache.thrift.TException;
+
     public void getMetadata(long mbId, org.apache.thrift.async.AsyncMethodCallback<ReadReplica> resultHandler) throws org.apache.thrift.TException;
 
     public void zip(org.apache.thrift.async.AsyncMethodCallback<Void> resultHandler) throws org.apache.thrift.TException;
@@ -223,6 +247,150 @@ public class EdgeService {
       throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "read failed: unknown result");
     }
 
+    public ReadReplica readRange(long mbId, java.lang.String compFormat, long offset, long length) throws org.apache.thrift.TException
+    {
+      send_readRange(mbId, compFormat, offset, length);
+      return recv_readRange();
+    }
+
+    public void send_readRange(long mbId, java.lang.String compFormat, long offset, long length) throws org.apache.thrift.TException
+    {
+      readRange_args args = new readRange_args();
+      args.setMbId(mbId);
+      args.setCompFormat(compFormat);
+      args.setOffset(offset);
+      args.setLength(length);
+      sendBase("readRange", args);
+    }
+
+    public ReadReplica recv_readRange() throws org.apache.thrift.TException
+    {
+      readRange_result result = new readRange_result();
+      receiveBase(result, "readRange");
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "readRange failed: unknown result");
+    }
+
+    public java.lang.String openWrite(long mbId, Metadata mbMetadata) throws org.apache.thrift.TException
+    {
+      send_openWrite(mbId, mbMetadata);
+      return recv_openWrite();
+    }
+
+    public void send_openWrite(long mbId, Metadata mbMetadata) throws org.apache.thrift.TException
+    {
+      openWrite_args args = new openWrite_args();
+      args.setMbId(mbId);
+      args.setMbMetadata(mbMetadata);
+      sendBase("openWrite", args);
+    }
+
+    public java.lang.String recv_openWrite() throws org.apache.thrift.TException
+    {
+      openWrite_result result = new openWrite_result();
+      receiveBase(result, "openWrite");
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "openWrite failed: unknown result");
+    }
+
+    public byte writeChunk(java.lang.String transferId, long offset, java.nio.ByteBuffer data) throws org.apache.thrift.TException
+    {
+      send_writeChunk(transferId, offset, data);
+      return recv_writeChunk();
+    }
+
+    public void send_writeChunk(java.lang.String transferId, long offset, java.nio.ByteBuffer data) throws org.apache.thrift.TException
+    {
+      writeChunk_args args = new writeChunk_args();
+      args.setTransferId(transferId);
+      args.setOffset(offset);
+      args.setData(data);
+      sendBase("writeChunk", args);
+    }
+
+    public byte recv_writeChunk() throws org.apache.thrift.TException
+    {
+      writeChunk_result result = new writeChunk_result();
+      receiveBase(result, "writeChunk");
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "writeChunk failed: unknown result");
+    }
+
+    public WriteResponse commitWrite(java.lang.String transferId) throws org.apache.thrift.TException
+    {
+      send_commitWrite(transferId);
+      return recv_commitWrite();
+    }
+
+    public void send_commitWrite(java.lang.String transferId) throws org.apache.thrift.TException
+    {
+      commitWrite_args args = new commitWrite_args();
+      args.setTransferId(transferId);
+      sendBase("commitWrite", args);
+    }
+
+    public WriteResponse recv_commitWrite() throws org.apache.thrift.TException
+    {
+      commitWrite_result result = new commitWrite_result();
+      receiveBase(result, "commitWrite");
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "commitWrite failed: unknown result");
+    }
+
+    public byte abortWrite(java.lang.String transferId) throws org.apache.thrift.TException
+    {
+      send_abortWrite(transferId);
+      return recv_abortWrite();
+    }
+
+    public void send_abortWrite(java.lang.String transferId) throws org.apache.thrift.TException
+    {
+      abortWrite_args args = new abortWrite_args();
+      args.setTransferId(transferId);
+      sendBase("abortWrite", args);
+    }
+
+    public byte recv_abortWrite() throws org.apache.thrift.TException
+    {
+      abortWrite_result result = new abortWrite_result();
+      receiveBase(result, "abortWrite");
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "abortWrite failed: unknown result");
+    }
+
+    public byte deleteBlocks(java.util.List<java.lang.Long> mbIds) throws org.apache.thrift.TException
+    {
+      send_deleteBlocks(mbIds);
+      return recv_deleteBlocks();
+    }
+
+    public void send_deleteBlocks(java.util.List<java.lang.Long> mbIds) throws org.apache.thrift.TException
+    {
+      deleteBlocks_args args = new deleteBlocks_args();
+      args.setMbIds(mbIds);
+      sendBase("deleteBlocks", args);
+    }
+
+    public byte recv_deleteBlocks() throws org.apache.thrift.TException
+    {
+      deleteBlocks_result result = new deleteBlocks_result();
+      receiveBase(result, "deleteBlocks");
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "deleteBlocks failed: unknown result");
+    }
+
     public ReadReplica getMetadata(long mbId) throws org.apache.thrift.TException
     {
       send_getMetadata(mbId);
@@ -488,6 +656,216 @@ public class EdgeService {
       }
     }
 
+    public void readRange(long mbId, java.lang.String compFormat, long offset, long length, org.apache.thrift.async.AsyncMethodCallback<ReadReplica> resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      readRange_call method_call = new readRange_call(mbId, compFormat, offset, length, resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
+
+    public static class readRange_call extends org.apache.thrift.async.TAsyncMethodCall<ReadReplica> {
+      private long mbId;
+      private java.lang.String compFormat;
+      private long offset;
+      private long length;
+      public readRange_call(long mbId, java.lang.String compFormat, long offset, long length, org.apache.thrift.async.AsyncMethodCallback<ReadReplica> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.mbId = mbId;
+        this.compFormat = compFormat;
+        this.offset = offset;
+        this.length = length;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("readRange", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        readRange_args args = new readRange_args();
+        args.setMbId(mbId);
+        args.setCompFormat(compFormat);
+        args.setOffset(offset);
+        args.setLength(length);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public ReadReplica getResult() throws org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new java.lang.IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_readRange();
+      }
+    }
+
+    public void openWrite(long mbId, Metadata mbMetadata, org.apache.thrift.async.AsyncMethodCallback<java.lang.String> resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      openWrite_call method_call = new openWrite_call(mbId, mbMetadata, resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
+
+    public static class openWrite_call extends org.apache.thrift.async.TAsyncMethodCall<java.lang.String> {
+      private long mbId;
+      private Metadata mbMetadata;
+      public openWrite_call(long mbId, Metadata mbMetadata, org.apache.thrift.async.AsyncMethodCallback<java.lang.String> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.mbId = mbId;
+        this.mbMetadata = mbMetadata;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("openWrite", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        openWrite_args args = new openWrite_args();
+        args.setMbId(mbId);
+        args.setMbMetadata(mbMetadata);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public java.lang.String getResult() throws org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new java.lang.IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_openWrite();
+      }
+    }
+
+    public void writeChunk(java.lang.String transferId, long offset, java.nio.ByteBuffer data, org.apache.thrift.async.AsyncMethodCallback<java.lang.Byte> resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      writeChunk_call method_call = new writeChunk_call(transferId, offset, data, resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
+
+    public static class writeChunk_call extends org.apache.thrift.async.TAsyncMethodCall<java.lang.Byte> {
+      private java.lang.String transferId;
+      private long offset;
+      private java.nio.ByteBuffer data;
+      public writeChunk_call(java.lang.String transferId, long offset, java.nio.ByteBuffer data, org.apache.thrift.async.AsyncMethodCallback<java.lang.Byte> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.transferId = transferId;
+        this.offset = offset;
+        this.data = data;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("writeChunk", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        writeChunk_args args = new writeChunk_args();
+        args.setTransferId(transferId);
+        args.setOffset(offset);
+        args.setData(data);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public java.lang.Byte getResult() throws org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new java.lang.IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_writeChunk();
+      }
+    }
+
+    public void commitWrite(java.lang.String transferId, org.apache.thrift.async.AsyncMethodCallback<WriteResponse> resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      commitWrite_call method_call = new commitWrite_call(transferId, resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
+
+    public static class commitWrite_call extends org.apache.thrift.async.TAsyncMethodCall<WriteResponse> {
+      private java.lang.String transferId;
+      public commitWrite_call(java.lang.String transferId, org.apache.thrift.async.AsyncMethodCallback<WriteResponse> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.transferId = transferId;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("commitWrite", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        commitWrite_args args = new commitWrite_args();
+        args.setTransferId(transferId);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public WriteResponse getResult() throws org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new java.lang.IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_commitWrite();
+      }
+    }
+
+    public void abortWrite(java.lang.String transferId, org.apache.thrift.async.AsyncMethodCallback<java.lang.Byte> resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      abortWrite_call method_call = new abortWrite_call(transferId, resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
+
+    public static class abortWrite_call extends org.apache.thrift.async.TAsyncMethodCall<java.lang.Byte> {
+      private java.lang.String transferId;
+      public abortWrite_call(java.lang.String transferId, org.apache.thrift.async.AsyncMethodCallback<java.lang.Byte> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.transferId = transferId;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("abortWrite", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        abortWrite_args args = new abortWrite_args();
+        args.setTransferId(transferId);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public java.lang.Byte getResult() throws org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new java.lang.IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_abortWrite();
+      }
+    }
+
+    public void deleteBlocks(java.util.List<java.lang.Long> mbIds, org.apache.thrift.async.AsyncMethodCallback<java.lang.Byte> resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      deleteBlocks_call method_call = new deleteBlocks_call(mbIds, resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
+
+    public static class deleteBlocks_call extends org.apache.thrift.async.TAsyncMethodCall<java.lang.Byte> {
+      private java.util.List<java.lang.Long> mbIds;
+      public deleteBlocks_call(java.util.List<java.lang.Long> mbIds, org.apache.thrift.async.AsyncMethodCallback<java.lang.Byte> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.mbIds = mbIds;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("deleteBlocks", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        deleteBlocks_args args = new deleteBlocks_args();
+        args.setMbIds(mbIds);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public java.lang.Byte getResult() throws org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new java.lang.IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_deleteBlocks();
+      }
+    }
+
     public void getMetadata(long mbId, org.apache.thrift.async.AsyncMethodCallback<ReadReplica> resultHandler) throws org.apache.thrift.TException {
       checkReady();
       getMetadata_call method_call = new getMetadata_call(mbId, resultHandler, this, ___protocolFactory, ___transport);
@@ -568,6 +946,12 @@ public class EdgeService {
       processMap.put("write", new write());
       processMap.put("update", new update());
       processMap.put("read", new read());
+      processMap.put("readRange", new readRange());
+      processMap.put("openWrite", new openWrite());
+      processMap.put("writeChunk", new writeChunk());
+      processMap.put("commitWrite", new commitWrite());
+      processMap.put("abortWrite", new abortWrite());
+      processMap.put("deleteBlocks", new deleteBlocks());
       processMap.put("getMetadata", new getMetadata());
       processMap.put("zip", new zip());
       return processMap;
@@ -725,13 +1109,13 @@ public class EdgeService {
       }
     }
 
-    public static class getMetadata<I extends Iface> extends org.apache.thrift.ProcessFunction<I, getMetadata_args> {
-      public getMetadata() {
-        super("getMetadata");
+    public static class readRange<I extends Iface> extends org.apache.thrift.ProcessFunction<I, readRange_args> {
+      public readRange() {
+        super("readRange");
       }
 
-      public getMetadata_args getEmptyArgsInstance() {
-        return new getMetadata_args();
+      public readRange_args getEmptyArgsInstance() {
+        return new readRange_args();
       }
 
       protected boolean isOneway() {
@@ -743,24 +1127,24 @@ public class EdgeService {
         return false;
       }
 
-      public getMetadata_result getResult(I iface, getMetadata_args args) throws org.apache.thrift.TException {
-        getMetadata_result result = new getMetadata_result();
-        result.success = iface.getMetadata(args.mbId);
+      public readRange_result getResult(I iface, readRange_args args) throws org.apache.thrift.TException {
+        readRange_result result = new readRange_result();
+        result.success = iface.readRange(args.mbId, args.compFormat, args.offset, args.length);
         return result;
       }
     }
 
-    public static class zip<I extends Iface> extends org.apache.thrift.ProcessFunction<I, zip_args> {
-      public zip() {
-        super("zip");
+    public static class openWrite<I extends Iface> extends org.apache.thrift.ProcessFunction<I, openWrite_args> {
+      public openWrite() {
+        super("openWrite");
       }
 
-      public zip_args getEmptyArgsInstance() {
-        return new zip_args();
+      public openWrite_args getEmptyArgsInstance() {
+        return new openWrite_args();
       }
 
       protected boolean isOneway() {
-        return true;
+        return false;
       }
 
       @Override
@@ -768,13 +1152,166 @@ public class EdgeService {
         return false;
       }
 
-      public org.apache.thrift.TBase getResult(I iface, zip_args args) throws org.apache.thrift.TException {
-        iface.zip();
-        return null;
+      public openWrite_result getResult(I iface, openWrite_args args) throws org.apache.thrift.TException {
+        openWrite_result result = new openWrite_result();
+        result.success = iface.openWrite(args.mbId, args.mbMetadata);
+        return result;
       }
     }
 
-  }
+    public static class writeChunk<I extends Iface> extends org.apache.thrift.ProcessFunction<I, writeChunk_args> {
+      public writeChunk() {
+        super("writeChunk");
+      }
+
+      public writeChunk_args getEmptyArgsInstance() {
+        return new writeChunk_args();
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      @Override
+      protected boolean handleRuntimeExceptions() {
+        return false;
+      }
+
+      public writeChunk_result getResult(I iface, writeChunk_args args) throws org.apache.thrift.TException {
+        writeChunk_result result = new writeChunk_result();
+        result.success = iface.writeChunk(args.transferId, args.offset, args.data);
+        result.setSuccessIsSet(true);
+        return result;
+      }
+    }
+
+    public static class commitWrite<I extends Iface> extends org.apache.thrift.ProcessFunction<I, commitWrite_args> {
+      public commitWrite() {
+        super("commitWrite");
+      }
+
+      public commitWrite_args getEmptyArgsInstance() {
+        return new commitWrite_args();
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      @Override
+      protected boolean handleRuntimeExceptions() {
+        return false;
+      }
+
+      public commitWrite_result getResult(I iface, commitWrite_args args) throws org.apache.thrift.TException {
+        commitWrite_result result = new commitWrite_result();
+        result.success = iface.commitWrite(args.transferId);
+        return result;
+      }
+    }
+
+    public static class abortWrite<I extends Iface> extends org.apache.thrift.ProcessFunction<I, abortWrite_args> {
+      public abortWrite() {
+        super("abortWrite");
+      }
+
+      public abortWrite_args getEmptyArgsInstance() {
+        return new abortWrite_args();
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      @Override
+      protected boolean handleRuntimeExceptions() {
+        return false;
+      }
+
+      public abortWrite_result getResult(I iface, abortWrite_args args) throws org.apache.thrift.TException {
+        abortWrite_result result = new abortWrite_result();
+        result.success = iface.abortWrite(args.transferId);
+        result.setSuccessIsSet(true);
+        return result;
+      }
+    }
+
+    public static class deleteBlocks<I extends Iface> extends org.apache.thrift.ProcessFunction<I, deleteBlocks_args> {
+      public deleteBlocks() {
+        super("deleteBlocks");
+      }
+
+      public deleteBlocks_args getEmptyArgsInstance() {
+        return new deleteBlocks_args();
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      @Override
+      protected boolean handleRuntimeExceptions() {
+        return false;
+      }
+
+      public deleteBlocks_result getResult(I iface, deleteBlocks_args args) throws org.apache.thrift.TException {
+        deleteBlocks_result result = new deleteBlocks_result();
+        result.success = iface.deleteBlocks(args.mbIds);
+        result.setSuccessIsSet(true);
+        return result;
+      }
+    }
+
+    public static class getMetadata<I extends Iface> extends org.apache.thrift.ProcessFunction<I, getMetadata_args> {
+      public getMetadata() {
+        super("getMetadata");
+      }
+
+      public getMetadata_args getEmptyArgsInstance() {
+        return new getMetadata_args();
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      @Override
+      protected boolean handleRuntimeExceptions() {
+        return false;
+      }
+
+      public getMetadata_result getResult(I iface, getMetadata_args args) throws org.apache.thrift.TException {
+        getMetadata_result result = new getMetadata_result();
+        result.success = iface.getMetadata(args.mbId);
+        return result;
+      }
+    }
+
+    public static class zip<I extends Iface> extends org.apache.thrift.ProcessFunction<I, zip_args> {
+      public zip() {
+        super("zip");
+      }
+
+      public zip_args getEmptyArgsInstance() {
+        return new zip_args();
+      }
+
+      protected boolean isOneway() {
+        return true;
+      }
+
+      @Override
+      protected boolean handleRuntimeExceptions() {
+        return false;
+      }
+
+      public org.apache.thrift.TBase getResult(I iface, zip_args args) throws org.apache.thrift.TException {
+        iface.zip();
+        return null;
+      }
+    }
+
+  }
 
   public static class AsyncProcessor<I extends AsyncIface> extends org.apache.thrift.TBaseAsyncProcessor<I> {
     private static final org.slf4j.Logger _LOGGER = org.slf4j.LoggerFactory.getLogger(AsyncProcessor.class.getName());
@@ -793,6 +1330,12 @@ public class EdgeService {
       processMap.put("write", new write());
       processMap.put("update", new update());
       processMap.put("read", new read());
+      processMap.put("readRange", new readRange());
+      processMap.put("openWrite", new openWrite());
+      processMap.put("writeChunk", new writeChunk());
+      processMap.put("commitWrite", new commitWrite());
+      processMap.put("abortWrite", new abortWrite());
+      processMap.put("deleteBlocks", new deleteBlocks());
       processMap.put("getMetadata", new getMetadata());
       processMap.put("zip", new zip());
       return processMap;
@@ -1165,20 +1708,20 @@ public class EdgeService {
       }
     }
 
-    public static class getMetadata<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, getMetadata_args, ReadReplica> {
-      public getMetadata() {
-        super("getMetadata");
+    public static class readRange<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, readRange_args, ReadReplica> {
+      public readRange() {
+        super("readRange");
       }
 
-      public getMetadata_args getEmptyArgsInstance() {
-        return new getMetadata_args();
+      public readRange_args getEmptyArgsInstance() {
+        return new readRange_args();
       }
 
       public org.apache.thrift.async.AsyncMethodCallback<ReadReplica> getResultHandler(final org.apache.thrift.server.AbstractNonblockingServer.AsyncFrameBuffer fb, final int seqid) {
         final org.apache.thrift.AsyncProcessFunction fcall = this;
         return new org.apache.thrift.async.AsyncMethodCallback<ReadReplica>() { 
           public void onComplete(ReadReplica o) {
-            getMetadata_result result = new getMetadata_result();
+            readRange_result result = new readRange_result();
             result.success = o;
             try {
               fcall.sendResponse(fb, result, org.apache.thrift.protocol.TMessageType.REPLY,seqid);
@@ -1193,7 +1736,7 @@ public class EdgeService {
           public void onError(java.lang.Exception e) {
             byte msgType = org.apache.thrift.protocol.TMessageType.REPLY;
             org.apache.thrift.TSerializable msg;
-            getMetadata_result result = new getMetadata_result();
+            readRange_result result = new readRange_result();
             if (e instanceof org.apache.thrift.transport.TTransportException) {
               _LOGGER.error("TTransportException inside handler", e);
               fb.close();
@@ -1221,141 +1764,5685 @@ public class EdgeService {
         return false;
       }
 
-      public void start(I iface, getMetadata_args args, org.apache.thrift.async.AsyncMethodCallback<ReadReplica> resultHandler) throws org.apache.thrift.TException {
-        iface.getMetadata(args.mbId,resultHandler);
+      public void start(I iface, readRange_args args, org.apache.thrift.async.AsyncMethodCallback<ReadReplica> resultHandler) throws org.apache.thrift.TException {
+        iface.readRange(args.mbId, args.compFormat, args.offset, args.length,resultHandler);
       }
     }
 
-    public static class zip<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, zip_args, Void> {
-      public zip() {
-        super("zip");
+    public static class openWrite<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, openWrite_args, java.lang.String> {
+      public openWrite() {
+        super("openWrite");
       }
 
-      public zip_args getEmptyArgsInstance() {
-        return new zip_args();
+      public openWrite_args getEmptyArgsInstance() {
+        return new openWrite_args();
       }
 
-      public org.apache.thrift.async.AsyncMethodCallback<Void> getResultHandler(final org.apache.thrift.server.AbstractNonblockingServer.AsyncFrameBuffer fb, final int seqid) {
+      public org.apache.thrift.async.AsyncMethodCallback<java.lang.String> getResultHandler(final org.apache.thrift.server.AbstractNonblockingServer.AsyncFrameBuffer fb, final int seqid) {
         final org.apache.thrift.AsyncProcessFunction fcall = this;
-        return new org.apache.thrift.async.AsyncMethodCallback<Void>() { 
-          public void onComplete(Void o) {
+        return new org.apache.thrift.async.AsyncMethodCallback<java.lang.String>() { 
+          public void onComplete(java.lang.String o) {
+            openWrite_result result = new openWrite_result();
+            result.success = o;
+            try {
+              fcall.sendResponse(fb, result, org.apache.thrift.protocol.TMessageType.REPLY,seqid);
+            } catch (org.apache.thrift.transport.TTransportException e) {
+              _LOGGER.error("TTransportException writing to internal frame buffer", e);
+              fb.close();
+            } catch (java.lang.Exception e) {
+              _LOGGER.error("Exception writing to internal frame buffer", e);
+              onError(e);
+            }
           }
           public void onError(java.lang.Exception e) {
+            byte msgType = org.apache.thrift.protocol.TMessageType.REPLY;
+            org.apache.thrift.TSerializable msg;
+            openWrite_result result = new openWrite_result();
             if (e instanceof org.apache.thrift.transport.TTransportException) {
               _LOGGER.error("TTransportException inside handler", e);
               fb.close();
+              return;
+            } else if (e instanceof org.apache.thrift.TApplicationException) {
+              _LOGGER.error("TApplicationException inside handler", e);
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = (org.apache.thrift.TApplicationException)e;
             } else {
-              _LOGGER.error("Exception inside oneway handler", e);
+              _LOGGER.error("Exception inside handler", e);
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.INTERNAL_ERROR, e.getMessage());
+            }
+            try {
+              fcall.sendResponse(fb,msg,msgType,seqid);
+            } catch (java.lang.Exception ex) {
+              _LOGGER.error("Exception writing to internal frame buffer", ex);
+              fb.close();
             }
           }
         };
       }
 
       protected boolean isOneway() {
-        return true;
+        return false;
       }
 
-      public void start(I iface, zip_args args, org.apache.thrift.async.AsyncMethodCallback<Void> resultHandler) throws org.apache.thrift.TException {
-        iface.zip(resultHandler);
+      public void start(I iface, openWrite_args args, org.apache.thrift.async.AsyncMethodCallback<java.lang.String> resultHandler) throws org.apache.thrift.TException {
+        iface.openWrite(args.mbId, args.mbMetadata,resultHandler);
       }
     }
 
-  }
-
-  public static class pong_args implements org.apache.thrift.TBase<pong_args, pong_args._Fields>, java.io.Serializable, Cloneable, Comparable<pong_args>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("pong_args");
-
-
-    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new pong_argsStandardSchemeFactory();
-    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new pong_argsTupleSchemeFactory();
-
-
-    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
-    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
-;
+    public static class writeChunk<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, writeChunk_args, java.lang.Byte> {
+      public writeChunk() {
+        super("writeChunk");
+      }
 
-      private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
+      public writeChunk_args getEmptyArgsInstance() {
+        return new writeChunk_args();
+      }
 
-      static {
-        for (_Fields field : java.util.EnumSet.allOf(_Fields.class)) {
-          byName.put(field.getFieldName(), field);
-        }
+      public org.apache.thrift.async.AsyncMethodCallback<java.lang.Byte> getResultHandler(final org.apache.thrift.server.AbstractNonblockingServer.AsyncFrameBuffer fb, final int seqid) {
+        final org.apache.thrift.AsyncProcessFunction fcall = this;
+        return new org.apache.thrift.async.AsyncMethodCallback<java.lang.Byte>() { 
+          public void onComplete(java.lang.Byte o) {
+            writeChunk_result result = new writeChunk_result();
+            result.success = o;
+            result.setSuccessIsSet(true);
+            try {
+              fcall.sendResponse(fb, result, org.apache.thrift.protocol.TMessageType.REPLY,seqid);
+            } catch (org.apache.thrift.transport.TTransportException e) {
+              _LOGGER.error("TTransportException writing to internal frame buffer", e);
+              fb.close();
+            } catch (java.lang.Exception e) {
+              _LOGGER.error("Exception writing to internal frame buffer", e);
+              onError(e);
+            }
+          }
+          public void onError(java.lang.Exception e) {
+            byte msgType = org.apache.thrift.protocol.TMessageType.REPLY;
+            org.apache.thrift.TSerializable msg;
+            writeChunk_result result = new writeChunk_result();
+            if (e instanceof org.apache.thrift.transport.TTransportException) {
+              _LOGGER.error("TTransportException inside handler", e);
+              fb.close();
+              return;
+            } else if (e instanceof org.apache.thrift.TApplicationException) {
+              _LOGGER.error("TApplicationException inside handler", e);
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = (org.apache.thrift.TApplicationException)e;
+            } else {
+              _LOGGER.error("Exception inside handler", e);
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.INTERNAL_ERROR, e.getMessage());
+            }
+            try {
+              fcall.sendResponse(fb,msg,msgType,seqid);
+            } catch (java.lang.Exception ex) {
+              _LOGGER.error("Exception writing to internal frame buffer", ex);
+              fb.close();
+            }
+          }
+        };
       }
 
-      /**
-       * Find the _Fields constant that matches fieldId, or null if its not found.
-       */
-      public static _Fields findByThriftId(int fieldId) {
-        switch(fieldId) {
-          default:
-            return null;
-        }
+      protected boolean isOneway() {
+        return false;
       }
 
-      /**
-       * Find the _Fields constant that matches fieldId, throwing an exception
-       * if it is not found.
-       */
-      public static _Fields findByThriftIdOrThrow(int fieldId) {
-        _Fields fields = findByThriftId(fieldId);
-        if (fields == null) throw new java.lang.IllegalArgumentException("Field " + fieldId + " doesn't exist!");
-        return fields;
+      public void start(I iface, writeChunk_args args, org.apache.thrift.async.AsyncMethodCallback<java.lang.Byte> resultHandler) throws org.apache.thrift.TException {
+        iface.writeChunk(args.transferId, args.offset, args.data,resultHandler);
       }
+    }
 
-      /**
-       * Find the _Fields constant that matches name, or null if its not found.
-       */
-      public static _Fields findByName(java.lang.String name) {
-        return byName.get(name);
+    public static class commitWrite<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, commitWrite_args, WriteResponse> {
+      public commitWrite() {
+        super("commitWrite");
       }
 
-      private final short _thriftId;
-      private final java.lang.String _fieldName;
+      public commitWrite_args getEmptyArgsInstance() {
+        return new commitWrite_args();
+      }
 
-      _Fields(short thriftId, java.lang.String fieldName) {
+      public org.apache.thrift.async.AsyncMethodCallback<WriteResponse> getResultHandler(final org.apache.thrift.server.AbstractNonblockingServer.AsyncFrameBuffer fb, final int seqid) {
+        final org.apache.thrift.AsyncProcessFunction fcall = this;
+        return new org.apache.thrift.async.AsyncMethodCallback<WriteResponse>() { 
+          public void onComplete(WriteResponse o) {
+            commitWrite_result result = new commitWrite_result();
+            result.success = o;
+            try {
+              fcall.sendResponse(fb, result, org.apache.thrift.protocol.TMessageType.REPLY,seqid);
+            } catch (org.apache.thrift.transport.TTransportException e) {
+              _LOGGER.error("TTransportException writing to internal frame buffer", e);
+              fb.close();
+            } catch (java.lang.Exception e) {
+              _LOGGER.error("Exception writing to internal frame buffer", e);
+              onError(e);
+            }
+          }
+          public void onError(java.lang.Exception e) {
+            byte msgType = org.apache.thrift.protocol.TMessageType.REPLY;
+            org.apache.thrift.TSerializable msg;
+            commitWrite_result result = new commitWrite_result();
+            if (e instanceof org.apache.thrift.transport.TTransportException) {
+              _LOGGER.error("TTransportException inside handler", e);
+              fb.close();
+              return;
+            } else if (e instanceof org.apache.thrift.TApplicationException) {
+              _LOGGER.error("TApplicationException inside handler", e);
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = (org.apache.thrift.TApplicationException)e;
+            } else {
+              _LOGGER.error("Exception inside handler", e);
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.INTERNAL_ERROR, e.getMessage());
+            }
+            try {
+              fcall.sendResponse(fb,msg,msgType,seqid);
+            } catch (java.lang.Exception ex) {
+              _LOGGER.error("Exception writing to internal frame buffer", ex);
+              fb.close();
+            }
+          }
+        };
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public void start(I iface, commitWrite_args args, org.apache.thrift.async.AsyncMethodCallback<WriteResponse> resultHandler) throws org.apache.thrift.TException {
+        iface.commitWrite(args.transferId,resultHandler);
+      }
+    }
+
+    public static class abortWrite<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, abortWrite_args, java.lang.Byte> {
+      public abortWrite() {
+        super("abortWrite");
+      }
+
+      public abortWrite_args getEmptyArgsInstance() {
+        return new abortWrite_args();
+      }
+
+      public org.apache.thrift.async.AsyncMethodCallback<java.lang.Byte> getResultHandler(final org.apache.thrift.server.AbstractNonblockingServer.AsyncFrameBuffer fb, final int seqid) {
+        final org.apache.thrift.AsyncProcessFunction fcall = this;
+        return new org.apache.thrift.async.AsyncMethodCallback<java.lang.Byte>() { 
+          public void onComplete(java.lang.Byte o) {
+            abortWrite_result result = new abortWrite_result();
+            result.success = o;
+            result.setSuccessIsSet(true);
+            try {
+              fcall.sendResponse(fb, result, org.apache.thrift.protocol.TMessageType.REPLY,seqid);
+            } catch (org.apache.thrift.transport.TTransportException e) {
+              _LOGGER.error("TTransportException writing to internal frame buffer", e);
+              fb.close();
+            } catch (java.lang.Exception e) {
+              _LOGGER.error("Exception writing to internal frame buffer", e);
+              onError(e);
+            }
+          }
+          public void onError(java.lang.Exception e) {
+            byte msgType = org.apache.thrift.protocol.TMessageType.REPLY;
+            org.apache.thrift.TSerializable msg;
+            abortWrite_result result = new abortWrite_result();
+            if (e instanceof org.apache.thrift.transport.TTransportException) {
+              _LOGGER.error("TTransportException inside handler", e);
+              fb.close();
+              return;
+            } else if (e instanceof org.apache.thrift.TApplicationException) {
+              _LOGGER.error("TApplicationException inside handler", e);
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = (org.apache.thrift.TApplicationException)e;
+            } else {
+              _LOGGER.error("Exception inside handler", e);
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.INTERNAL_ERROR, e.getMessage());
+            }
+            try {
+              fcall.sendResponse(fb,msg,msgType,seqid);
+            } catch (java.lang.Exception ex) {
+              _LOGGER.error("Exception writing to internal frame buffer", ex);
+              fb.close();
+            }
+          }
+        };
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public void start(I iface, abortWrite_args args, org.apache.thrift.async.AsyncMethodCallback<java.lang.Byte> resultHandler) throws org.apache.thrift.TException {
+        iface.abortWrite(args.transferId,resultHandler);
+      }
+    }
+
+    public static class deleteBlocks<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, deleteBlocks_args, java.lang.Byte> {
+      public deleteBlocks() {
+        super("deleteBlocks");
+      }
+
+      public deleteBlocks_args getEmptyArgsInstance() {
+        return new deleteBlocks_args();
+      }
+
+      public org.apache.thrift.async.AsyncMethodCallback<java.lang.Byte> getResultHandler(final org.apache.thrift.server.AbstractNonblockingServer.AsyncFrameBuffer fb, final int seqid) {
+        final org.apache.thrift.AsyncProcessFunction fcall = this;
+        return new org.apache.thrift.async.AsyncMethodCallback<java.lang.Byte>() { 
+          public void onComplete(java.lang.Byte o) {
+            deleteBlocks_result result = new deleteBlocks_result();
+            result.success = o;
+            result.setSuccessIsSet(true);
+            try {
+              fcall.sendResponse(fb, result, org.apache.thrift.protocol.TMessageType.REPLY,seqid);
+            } catch (org.apache.thrift.transport.TTransportException e) {
+              _LOGGER.error("TTransportException writing to internal frame buffer", e);
+              fb.close();
+            } catch (java.lang.Exception e) {
+              _LOGGER.error("Exception writing to internal frame buffer", e);
+              onError(e);
+            }
+          }
+          public void onError(java.lang.Exception e) {
+            byte msgType = org.apache.thrift.protocol.TMessageType.REPLY;
+            org.apache.thrift.TSerializable msg;
+            deleteBlocks_result result = new deleteBlocks_result();
+            if (e instanceof org.apache.thrift.transport.TTransportException) {
+              _LOGGER.error("TTransportException inside handler", e);
+              fb.close();
+              return;
+            } else if (e instanceof org.apache.thrift.TApplicationException) {
+              _LOGGER.error("TApplicationException inside handler", e);
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = (org.apache.thrift.TApplicationException)e;
+            } else {
+              _LOGGER.error("Exception inside handler", e);
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.INTERNAL_ERROR, e.getMessage());
+            }
+            try {
+              fcall.sendResponse(fb,msg,msgType,seqid);
+            } catch (java.lang.Exception ex) {
+              _LOGGER.error("Exception writing to internal frame buffer", ex);
+              fb.close();
+            }
+          }
+        };
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public void start(I iface, deleteBlocks_args args, org.apache.thrift.async.AsyncMethodCallback<java.lang.Byte> resultHandler) throws org.apache.thrift.TException {
+        iface.deleteBlocks(args.mbIds,resultHandler);
+      }
+    }
+
+    public static class getMetadata<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, getMetadata_args, ReadReplica> {
+      public getMetadata() {
+        super("getMetadata");
+      }
+
+      public getMetadata_args getEmptyArgsInstance() {
+        return new getMetadata_args();
+      }
+
+      public org.apache.thrift.async.AsyncMethodCallback<ReadReplica> getResultHandler(final org.apache.thrift.server.AbstractNonblockingServer.AsyncFrameBuffer fb, final int seqid) {
+        final org.apache.thrift.AsyncProcessFunction fcall = this;
+        return new org.apache.thrift.async.AsyncMethodCallback<ReadReplica>() { 
+          public void onComplete(ReadReplica o) {
+            getMetadata_result result = new getMetadata_result();
+            result.success = o;
+            try {
+              fcall.sendResponse(fb, result, org.apache.thrift.protocol.TMessageType.REPLY,seqid);
+            } catch (org.apache.thrift.transport.TTransportException e) {
+              _LOGGER.error("TTransportException writing to internal frame buffer", e);
+              fb.close();
+            } catch (java.lang.Exception e) {
+              _LOGGER.error("Exception writing to internal frame buffer", e);
+              onError(e);
+            }
+          }
+          public void onError(java.lang.Exception e) {
+            byte msgType = org.apache.thrift.protocol.TMessageType.REPLY;
+            org.apache.thrift.TSerializable msg;
+            getMetadata_result result = new getMetadata_result();
+            if (e instanceof org.apache.thrift.transport.TTransportException) {
+              _LOGGER.error("TTransportException inside handler", e);
+              fb.close();
+              return;
+            } else if (e instanceof org.apache.thrift.TApplicationException) {
+              _LOGGER.error("TApplicationException inside handler", e);
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = (org.apache.thrift.TApplicationException)e;
+            } else {
+              _LOGGER.error("Exception inside handler", e);
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.INTERNAL_ERROR, e.getMessage());
+            }
+            try {
+              fcall.sendResponse(fb,msg,msgType,seqid);
+            } catch (java.lang.Exception ex) {
+              _LOGGER.error("Exception writing to internal frame buffer", ex);
+              fb.close();
+            }
+          }
+        };
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public void start(I iface, getMetadata_args args, org.apache.thrift.async.AsyncMethodCallback<ReadReplica> resultHandler) throws org.apache.thrift.TException {
+        iface.getMetadata(args.mbId,resultHandler);
+      }
+    }
+
+    public static class zip<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, zip_args, Void> {
+      public zip() {
+        super("zip");
+      }
+
+      public zip_args getEmptyArgsInstance() {
+        return new zip_args();
+      }
+
+      public org.apache.thrift.async.AsyncMethodCallback<Void> getResultHandler(final org.apache.thrift.server.AbstractNonblockingServer.AsyncFrameBuffer fb, final int seqid) {
+        final org.apache.thrift.AsyncProcessFunction fcall = this;
+        return new org.apache.thrift.async.AsyncMethodCallback<Void>() { 
+          public void onComplete(Void o) {
+          }
+          public void onError(java.lang.Exception e) {
+            if (e instanceof org.apache.thrift.transport.TTransportException) {
+              _LOGGER.error("TTransportException inside handler", e);
+              fb.close();
+            } else {
+              _LOGGER.error("Exception inside oneway handler", e);
+            }
+          }
+        };
+      }
+
+      protected boolean isOneway() {
+        return true;
+      }
+
+      public void start(I iface, zip_args args, org.apache.thrift.async.AsyncMethodCallback<Void> resultHandler) throws org.apache.thrift.TException {
+        iface.zip(resultHandler);
+      }
+    }
+
+  }
+
+  public static class pong_args implements org.apache.thrift.TBase<pong_args, pong_args._Fields>, java.io.Serializable, Cloneable, Comparable<pong_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("pong_args");
+
+
+    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new pong_argsStandardSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new pong_argsTupleSchemeFactory();
+
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+;
+
+      private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
+
+      static {
+        for (_Fields field : java.util.EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new java.lang.IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(java.lang.String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final java.lang.String _fieldName;
+
+      _Fields(short thriftId, java.lang.String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public java.lang.String getFieldName() {
+        return _fieldName;
+      }
+    }
+    public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(pong_args.class, metaDataMap);
+    }
+
+    public pong_args() {
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public pong_args(pong_args other) {
+    }
+
+    public pong_args deepCopy() {
+      return new pong_args(this);
+    }
+
+    @Override
+    public void clear() {
+    }
+
+    public void setFieldValue(_Fields field, java.lang.Object value) {
+      switch (field) {
+      }
+    }
+
+    public java.lang.Object getFieldValue(_Fields field) {
+      switch (field) {
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new java.lang.IllegalArgumentException();
+      }
+
+      switch (field) {
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(java.lang.Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof pong_args)
+        return this.equals((pong_args)that);
+      return false;
+    }
+
+    public boolean equals(pong_args that) {
+      if (that == null)
+        return false;
+      if (this == that)
+        return true;
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+
+      return hashCode;
+    }
+
+    @Override
+    public int compareTo(pong_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      scheme(iprot).read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      scheme(oprot).write(oprot, this);
+    }
+
+    @Override
+    public java.lang.String toString() {
+      java.lang.StringBuilder sb = new java.lang.StringBuilder("pong_args(");
+      boolean first = true;
+
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, java.lang.ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class pong_argsStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public pong_argsStandardScheme getScheme() {
+        return new pong_argsStandardScheme();
+      }
+    }
+
+    private static class pong_argsStandardScheme extends org.apache.thrift.scheme.StandardScheme<pong_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, pong_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, pong_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class pong_argsTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public pong_argsTupleScheme getScheme() {
+        return new pong_argsTupleScheme();
+      }
+    }
+
+    private static class pong_argsTupleScheme extends org.apache.thrift.scheme.TupleScheme<pong_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, pong_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol oprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, pong_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+      }
+    }
+
+    private static <S extends org.apache.thrift.scheme.IScheme> S scheme(org.apache.thrift.protocol.TProtocol proto) {
+      return (org.apache.thrift.scheme.StandardScheme.class.equals(proto.getScheme()) ? STANDARD_SCHEME_FACTORY : TUPLE_SCHEME_FACTORY).getScheme();
+    }
+  }
+
+  public static class pong_result implements org.apache.thrift.TBase<pong_result, pong_result._Fields>, java.io.Serializable, Cloneable, Comparable<pong_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("pong_result");
+
+
+    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new pong_resultStandardSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new pong_resultTupleSchemeFactory();
+
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+;
+
+      private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
+
+      static {
+        for (_Fields field : java.util.EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new java.lang.IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(java.lang.String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final java.lang.String _fieldName;
+
+      _Fields(short thriftId, java.lang.String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public java.lang.String getFieldName() {
+        return _fieldName;
+      }
+    }
+    public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(pong_result.class, metaDataMap);
+    }
+
+    public pong_result() {
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public pong_result(pong_result other) {
+    }
+
+    public pong_result deepCopy() {
+      return new pong_result(this);
+    }
+
+    @Override
+    public void clear() {
+    }
+
+    public void setFieldValue(_Fields field, java.lang.Object value) {
+      switch (field) {
+      }
+    }
+
+    public java.lang.Object getFieldValue(_Fields field) {
+      switch (field) {
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new java.lang.IllegalArgumentException();
+      }
+
+      switch (field) {
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(java.lang.Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof pong_result)
+        return this.equals((pong_result)that);
+      return false;
+    }
+
+    public boolean equals(pong_result that) {
+      if (that == null)
+        return false;
+      if (this == that)
+        return true;
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+
+      return hashCode;
+    }
+
+    @Override
+    public int compareTo(pong_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      scheme(iprot).read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      scheme(oprot).write(oprot, this);
+      }
+
+    @Override
+    public java.lang.String toString() {
+      java.lang.StringBuilder sb = new java.lang.StringBuilder("pong_result(");
+      boolean first = true;
+
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, java.lang.ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class pong_resultStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public pong_resultStandardScheme getScheme() {
+        return new pong_resultStandardScheme();
+      }
+    }
+
+    private static class pong_resultStandardScheme extends org.apache.thrift.scheme.StandardScheme<pong_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, pong_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, pong_result struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class pong_resultTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public pong_resultTupleScheme getScheme() {
+        return new pong_resultTupleScheme();
+      }
+    }
+
+    private static class pong_resultTupleScheme extends org.apache.thrift.scheme.TupleScheme<pong_result> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, pong_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol oprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, pong_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+      }
+    }
+
+    private static <S extends org.apache.thrift.scheme.IScheme> S scheme(org.apache.thrift.protocol.TProtocol proto) {
+      return (org.apache.thrift.scheme.StandardScheme.class.equals(proto.getScheme()) ? STANDARD_SCHEME_FACTORY : TUPLE_SCHEME_FACTORY).getScheme();
+    }
+  }
+
+  public static class insert_args implements org.apache.thrift.TBase<insert_args, insert_args._Fields>, java.io.Serializable, Cloneable, Comparable<insert_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("insert_args");
+
+    private static final org.apache.thrift.protocol.TField DATA_FIELD_DESC = new org.apache.thrift.protocol.TField("data", org.apache.thrift.protocol.TType.STRING, (short)1);
+
+    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new insert_argsStandardSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new insert_argsTupleSchemeFactory();
+
+    public java.nio.ByteBuffer data; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      DATA((short)1, "data");
+
+      private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
+
+      static {
+        for (_Fields field : java.util.EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // DATA
+            return DATA;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new java.lang.IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(java.lang.String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final java.lang.String _fieldName;
+
+      _Fields(short thriftId, java.lang.String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public java.lang.String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.DATA, new org.apache.thrift.meta_data.FieldMetaData("data", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING          , true)));
+      metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(insert_args.class, metaDataMap);
+    }
+
+    public insert_args() {
+    }
+
+    public insert_args(
+      java.nio.ByteBuffer data)
+    {
+      this();
+      this.data = org.apache.thrift.TBaseHelper.copyBinary(data);
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public insert_args(insert_args other) {
+      if (other.isSetData()) {
+        this.data = org.apache.thrift.TBaseHelper.copyBinary(other.data);
+      }
+    }
+
+    public insert_args deepCopy() {
+      return new insert_args(this);
+    }
+
+    @Override
+    public void clear() {
+      this.data = null;
+    }
+
+    public byte[] getData() {
+      setData(org.apache.thrift.TBaseHelper.rightSize(data));
+      return data == null ? null : data.array();
+    }
+
+    public java.nio.ByteBuffer bufferForData() {
+      return org.apache.thrift.TBaseHelper.copyBinary(data);
+    }
+
+    public insert_args setData(byte[] data) {
+      this.data = data == null ? (java.nio.ByteBuffer)null : java.nio.ByteBuffer.wrap(data.clone());
+      return this;
+    }
+
+    public insert_args setData(java.nio.ByteBuffer data) {
+      this.data = org.apache.thrift.TBaseHelper.copyBinary(data);
+      return this;
+    }
+
+    public void unsetData() {
+      this.data = null;
+    }
+
+    /** Returns true if field data is set (has been assigned a value) and false otherwise */
+    public boolean isSetData() {
+      return this.data != null;
+    }
+
+    public void setDataIsSet(boolean value) {
+      if (!value) {
+        this.data = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, java.lang.Object value) {
+      switch (field) {
+      case DATA:
+        if (value == null) {
+          unsetData();
+        } else {
+          if (value instanceof byte[]) {
+            setData((byte[])value);
+          } else {
+            setData((java.nio.ByteBuffer)value);
+          }
+        }
+        break;
+
+      }
+    }
+
+    public java.lang.Object getFieldValue(_Fields field) {
+      switch (field) {
+      case DATA:
+        return getData();
+
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new java.lang.IllegalArgumentException();
+      }
+
+      switch (field) {
+      case DATA:
+        return isSetData();
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(java.lang.Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof insert_args)
+        return this.equals((insert_args)that);
+      return false;
+    }
+
+    public boolean equals(insert_args that) {
+      if (that == null)
+        return false;
+      if (this == that)
+        return true;
+
+      boolean this_present_data = true && this.isSetData();
+      boolean that_present_data = true && that.isSetData();
+      if (this_present_data || that_present_data) {
+        if (!(this_present_data && that_present_data))
+          return false;
+        if (!this.data.equals(that.data))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+
+      hashCode = hashCode * 8191 + ((isSetData()) ? 131071 : 524287);
+      if (isSetData())
+        hashCode = hashCode * 8191 + data.hashCode();
+
+      return hashCode;
+    }
+
+    @Override
+    public int compareTo(insert_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = java.lang.Boolean.valueOf(isSetData()).compareTo(other.isSetData());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetData()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.data, other.data);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      scheme(iprot).read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      scheme(oprot).write(oprot, this);
+    }
+
+    @Override
+    public java.lang.String toString() {
+      java.lang.StringBuilder sb = new java.lang.StringBuilder("insert_args(");
+      boolean first = true;
+
+      sb.append("data:");
+      if (this.data == null) {
+        sb.append("null");
+      } else {
+        org.apache.thrift.TBaseHelper.toString(this.data, sb);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, java.lang.ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class insert_argsStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public insert_argsStandardScheme getScheme() {
+        return new insert_argsStandardScheme();
+      }
+    }
+
+    private static class insert_argsStandardScheme extends org.apache.thrift.scheme.StandardScheme<insert_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, insert_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 1: // DATA
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+                struct.data = iprot.readBinary();
+                struct.setDataIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, insert_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.data != null) {
+          oprot.writeFieldBegin(DATA_FIELD_DESC);
+          oprot.writeBinary(struct.data);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class insert_argsTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public insert_argsTupleScheme getScheme() {
+        return new insert_argsTupleScheme();
+      }
+    }
+
+    private static class insert_argsTupleScheme extends org.apache.thrift.scheme.TupleScheme<insert_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, insert_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol oprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet optionals = new java.util.BitSet();
+        if (struct.isSetData()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetData()) {
+          oprot.writeBinary(struct.data);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, insert_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          struct.data = iprot.readBinary();
+          struct.setDataIsSet(true);
+        }
+      }
+    }
+
+    private static <S extends org.apache.thrift.scheme.IScheme> S scheme(org.apache.thrift.protocol.TProtocol proto) {
+      return (org.apache.thrift.scheme.StandardScheme.class.equals(proto.getScheme()) ? STANDARD_SCHEME_FACTORY : TUPLE_SCHEME_FACTORY).getScheme();
+    }
+  }
+
+  public static class insert_result implements org.apache.thrift.TBase<insert_result, insert_result._Fields>, java.io.Serializable, Cloneable, Comparable<insert_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("insert_result");
+
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.BYTE, (short)0);
+
+    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new insert_resultStandardSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new insert_resultTupleSchemeFactory();
+
+    public byte success; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      SUCCESS((short)0, "success");
+
+      private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
+
+      static {
+        for (_Fields field : java.util.EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new java.lang.IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(java.lang.String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final java.lang.String _fieldName;
+
+      _Fields(short thriftId, java.lang.String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public java.lang.String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    private static final int __SUCCESS_ISSET_ID = 0;
+    private byte __isset_bitfield = 0;
+    public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.BYTE)));
+      metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(insert_result.class, metaDataMap);
+    }
+
+    public insert_result() {
+    }
+
+    public insert_result(
+      byte success)
+    {
+      this();
+      this.success = success;
+      setSuccessIsSet(true);
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public insert_result(insert_result other) {
+      __isset_bitfield = other.__isset_bitfield;
+      this.success = other.success;
+    }
+
+    public insert_result deepCopy() {
+      return new insert_result(this);
+    }
+
+    @Override
+    public void clear() {
+      setSuccessIsSet(false);
+      this.success = 0;
+    }
+
+    public byte getSuccess() {
+      return this.success;
+    }
+
+    public insert_result setSuccess(byte success) {
+      this.success = success;
+      setSuccessIsSet(true);
+      return this;
+    }
+
+    public void unsetSuccess() {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __SUCCESS_ISSET_ID);
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __SUCCESS_ISSET_ID);
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __SUCCESS_ISSET_ID, value);
+    }
+
+    public void setFieldValue(_Fields field, java.lang.Object value) {
+      switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((java.lang.Byte)value);
+        }
+        break;
+
+      }
+    }
+
+    public java.lang.Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return getSuccess();
+
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new java.lang.IllegalArgumentException();
+      }
+
+      switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(java.lang.Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof insert_result)
+        return this.equals((insert_result)that);
+      return false;
+    }
+
+    public boolean equals(insert_result that) {
+      if (that == null)
+        return false;
+      if (this == that)
+        return true;
+
+      boolean this_present_success = true;
+      boolean that_present_success = true;
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (this.success != that.success)
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+
+      hashCode = hashCode * 8191 + (int) (success);
+
+      return hashCode;
+    }
+
+    @Override
+    public int compareTo(insert_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = java.lang.Boolean.valueOf(isSetSuccess()).compareTo(other.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, other.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      scheme(iprot).read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      scheme(oprot).write(oprot, this);
+      }
+
+    @Override
+    public java.lang.String toString() {
+      java.lang.StringBuilder sb = new java.lang.StringBuilder("insert_result(");
+      boolean first = true;
+
+      sb.append("success:");
+      sb.append(this.success);
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, java.lang.ClassNotFoundException {
+      try {
+        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+        __isset_bitfield = 0;
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class insert_resultStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public insert_resultStandardScheme getScheme() {
+        return new insert_resultStandardScheme();
+      }
+    }
+
+    private static class insert_resultStandardScheme extends org.apache.thrift.scheme.StandardScheme<insert_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, insert_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 0: // SUCCESS
+              if (schemeField.type == org.apache.thrift.protocol.TType.BYTE) {
+                struct.success = iprot.readByte();
+                struct.setSuccessIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, insert_result struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.isSetSuccess()) {
+          oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+          oprot.writeByte(struct.success);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class insert_resultTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public insert_resultTupleScheme getScheme() {
+        return new insert_resultTupleScheme();
+      }
+    }
+
+    private static class insert_resultTupleScheme extends org.apache.thrift.scheme.TupleScheme<insert_result> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, insert_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol oprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet optionals = new java.util.BitSet();
+        if (struct.isSetSuccess()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetSuccess()) {
+          oprot.writeByte(struct.success);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, insert_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          struct.success = iprot.readByte();
+          struct.setSuccessIsSet(true);
+        }
+      }
+    }
+
+    private static <S extends org.apache.thrift.scheme.IScheme> S scheme(org.apache.thrift.protocol.TProtocol proto) {
+      return (org.apache.thrift.scheme.StandardScheme.class.equals(proto.getScheme()) ? STANDARD_SCHEME_FACTORY : TUPLE_SCHEME_FACTORY).getScheme();
+    }
+  }
+
+  public static class add_args implements org.apache.thrift.TBase<add_args, add_args._Fields>, java.io.Serializable, Cloneable, Comparable<add_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("add_args");
+
+    private static final org.apache.thrift.protocol.TField NUM1_FIELD_DESC = new org.apache.thrift.protocol.TField("num1", org.apache.thrift.protocol.TType.I32, (short)1);
+    private static final org.apache.thrift.protocol.TField NUM2_FIELD_DESC = new org.apache.thrift.protocol.TField("num2", org.apache.thrift.protocol.TType.I32, (short)2);
+
+    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new add_argsStandardSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new add_argsTupleSchemeFactory();
+
+    public int num1; // required
+    public int num2; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      NUM1((short)1, "num1"),
+      NUM2((short)2, "num2");
+
+      private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
+
+      static {
+        for (_Fields field : java.util.EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // NUM1
+            return NUM1;
+          case 2: // NUM2
+            return NUM2;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new java.lang.IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(java.lang.String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final java.lang.String _fieldName;
+
+      _Fields(short thriftId, java.lang.String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public java.lang.String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    private static final int __NUM1_ISSET_ID = 0;
+    private static final int __NUM2_ISSET_ID = 1;
+    private byte __isset_bitfield = 0;
+    public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.NUM1, new org.apache.thrift.meta_data.FieldMetaData("num1", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
+      tmpMap.put(_Fields.NUM2, new org.apache.thrift.meta_data.FieldMetaData("num2", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
+      metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(add_args.class, metaDataMap);
+    }
+
+    public add_args() {
+    }
+
+    public add_args(
+      int num1,
+      int num2)
+    {
+      this();
+      this.num1 = num1;
+      setNum1IsSet(true);
+      this.num2 = num2;
+      setNum2IsSet(true);
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public add_args(add_args other) {
+      __isset_bitfield = other.__isset_bitfield;
+      this.num1 = other.num1;
+      this.num2 = other.num2;
+    }
+
+    public add_args deepCopy() {
+      return new add_args(this);
+    }
+
+    @Override
+    public void clear() {
+      setNum1IsSet(false);
+      this.num1 = 0;
+      setNum2IsSet(false);
+      this.num2 = 0;
+    }
+
+    public int getNum1() {
+      return this.num1;
+    }
+
+    public add_args setNum1(int num1) {
+      this.num1 = num1;
+      setNum1IsSet(true);
+      return this;
+    }
+
+    public void unsetNum1() {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __NUM1_ISSET_ID);
+    }
+
+    /** Returns true if field num1 is set (has been assigned a value) and false otherwise */
+    public boolean isSetNum1() {
+      return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __NUM1_ISSET_ID);
+    }
+
+    public void setNum1IsSet(boolean value) {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __NUM1_ISSET_ID, value);
+    }
+
+    public int getNum2() {
+      return this.num2;
+    }
+
+    public add_args setNum2(int num2) {
+      this.num2 = num2;
+      setNum2IsSet(true);
+      return this;
+    }
+
+    public void unsetNum2() {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __NUM2_ISSET_ID);
+    }
+
+    /** Returns true if field num2 is set (has been assigned a value) and false otherwise */
+    public boolean isSetNum2() {
+      return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __NUM2_ISSET_ID);
+    }
+
+    public void setNum2IsSet(boolean value) {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __NUM2_ISSET_ID, value);
+    }
+
+    public void setFieldValue(_Fields field, java.lang.Object value) {
+      switch (field) {
+      case NUM1:
+        if (value == null) {
+          unsetNum1();
+        } else {
+          setNum1((java.lang.Integer)value);
+        }
+        break;
+
+      case NUM2:
+        if (value == null) {
+          unsetNum2();
+        } else {
+          setNum2((java.lang.Integer)value);
+        }
+        break;
+
+      }
+    }
+
+    public java.lang.Object getFieldValue(_Fields field) {
+      switch (field) {
+      case NUM1:
+        return getNum1();
+
+      case NUM2:
+        return getNum2();
+
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new java.lang.IllegalArgumentException();
+      }
+
+      switch (field) {
+      case NUM1:
+        return isSetNum1();
+      case NUM2:
+        return isSetNum2();
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(java.lang.Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof add_args)
+        return this.equals((add_args)that);
+      return false;
+    }
+
+    public boolean equals(add_args that) {
+      if (that == null)
+        return false;
+      if (this == that)
+        return true;
+
+      boolean this_present_num1 = true;
+      boolean that_present_num1 = true;
+      if (this_present_num1 || that_present_num1) {
+        if (!(this_present_num1 && that_present_num1))
+          return false;
+        if (this.num1 != that.num1)
+          return false;
+      }
+
+      boolean this_present_num2 = true;
+      boolean that_present_num2 = true;
+      if (this_present_num2 || that_present_num2) {
+        if (!(this_present_num2 && that_present_num2))
+          return false;
+        if (this.num2 != that.num2)
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+
+      hashCode = hashCode * 8191 + num1;
+
+      hashCode = hashCode * 8191 + num2;
+
+      return hashCode;
+    }
+
+    @Override
+    public int compareTo(add_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = java.lang.Boolean.valueOf(isSetNum1()).compareTo(other.isSetNum1());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetNum1()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.num1, other.num1);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = java.lang.Boolean.valueOf(isSetNum2()).compareTo(other.isSetNum2());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetNum2()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.num2, other.num2);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      scheme(iprot).read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      scheme(oprot).write(oprot, this);
+    }
+
+    @Override
+    public java.lang.String toString() {
+      java.lang.StringBuilder sb = new java.lang.StringBuilder("add_args(");
+      boolean first = true;
+
+      sb.append("num1:");
+      sb.append(this.num1);
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("num2:");
+      sb.append(this.num2);
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, java.lang.ClassNotFoundException {
+      try {
+        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+        __isset_bitfield = 0;
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class add_argsStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public add_argsStandardScheme getScheme() {
+        return new add_argsStandardScheme();
+      }
+    }
+
+    private static class add_argsStandardScheme extends org.apache.thrift.scheme.StandardScheme<add_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, add_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 1: // NUM1
+              if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
+                struct.num1 = iprot.readI32();
+                struct.setNum1IsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 2: // NUM2
+              if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
+                struct.num2 = iprot.readI32();
+                struct.setNum2IsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, add_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        oprot.writeFieldBegin(NUM1_FIELD_DESC);
+        oprot.writeI32(struct.num1);
+        oprot.writeFieldEnd();
+        oprot.writeFieldBegin(NUM2_FIELD_DESC);
+        oprot.writeI32(struct.num2);
+        oprot.writeFieldEnd();
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class add_argsTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public add_argsTupleScheme getScheme() {
+        return new add_argsTupleScheme();
+      }
+    }
+
+    private static class add_argsTupleScheme extends org.apache.thrift.scheme.TupleScheme<add_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, add_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol oprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet optionals = new java.util.BitSet();
+        if (struct.isSetNum1()) {
+          optionals.set(0);
+        }
+        if (struct.isSetNum2()) {
+          optionals.set(1);
+        }
+        oprot.writeBitSet(optionals, 2);
+        if (struct.isSetNum1()) {
+          oprot.writeI32(struct.num1);
+        }
+        if (struct.isSetNum2()) {
+          oprot.writeI32(struct.num2);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, add_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet incoming = iprot.readBitSet(2);
+        if (incoming.get(0)) {
+          struct.num1 = iprot.readI32();
+          struct.setNum1IsSet(true);
+        }
+        if (incoming.get(1)) {
+          struct.num2 = iprot.readI32();
+          struct.setNum2IsSet(true);
+        }
+      }
+    }
+
+    private static <S extends org.apache.thrift.scheme.IScheme> S scheme(org.apache.thrift.protocol.TProtocol proto) {
+      return (org.apache.thrift.scheme.StandardScheme.class.equals(proto.getScheme()) ? STANDARD_SCHEME_FACTORY : TUPLE_SCHEME_FACTORY).getScheme();
+    }
+  }
+
+  public static class add_result implements org.apache.thrift.TBase<add_result, add_result._Fields>, java.io.Serializable, Cloneable, Comparable<add_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("add_result");
+
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.I32, (short)0);
+
+    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new add_resultStandardSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new add_resultTupleSchemeFactory();
+
+    public int success; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      SUCCESS((short)0, "success");
+
+      private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
+
+      static {
+        for (_Fields field : java.util.EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new java.lang.IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(java.lang.String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final java.lang.String _fieldName;
+
+      _Fields(short thriftId, java.lang.String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public java.lang.String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    private static final int __SUCCESS_ISSET_ID = 0;
+    private byte __isset_bitfield = 0;
+    public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
+      metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(add_result.class, metaDataMap);
+    }
+
+    public add_result() {
+    }
+
+    public add_result(
+      int success)
+    {
+      this();
+      this.success = success;
+      setSuccessIsSet(true);
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public add_result(add_result other) {
+      __isset_bitfield = other.__isset_bitfield;
+      this.success = other.success;
+    }
+
+    public add_result deepCopy() {
+      return new add_result(this);
+    }
+
+    @Override
+    public void clear() {
+      setSuccessIsSet(false);
+      this.success = 0;
+    }
+
+    public int getSuccess() {
+      return this.success;
+    }
+
+    public add_result setSuccess(int success) {
+      this.success = success;
+      setSuccessIsSet(true);
+      return this;
+    }
+
+    public void unsetSuccess() {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __SUCCESS_ISSET_ID);
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __SUCCESS_ISSET_ID);
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __SUCCESS_ISSET_ID, value);
+    }
+
+    public void setFieldValue(_Fields field, java.lang.Object value) {
+      switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((java.lang.Integer)value);
+        }
+        break;
+
+      }
+    }
+
+    public java.lang.Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return getSuccess();
+
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new java.lang.IllegalArgumentException();
+      }
+
+      switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(java.lang.Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof add_result)
+        return this.equals((add_result)that);
+      return false;
+    }
+
+    public boolean equals(add_result that) {
+      if (that == null)
+        return false;
+      if (this == that)
+        return true;
+
+      boolean this_present_success = true;
+      boolean that_present_success = true;
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (this.success != that.success)
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+
+      hashCode = hashCode * 8191 + success;
+
+      return hashCode;
+    }
+
+    @Override
+    public int compareTo(add_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = java.lang.Boolean.valueOf(isSetSuccess()).compareTo(other.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, other.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      scheme(iprot).read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      scheme(oprot).write(oprot, this);
+      }
+
+    @Override
+    public java.lang.String toString() {
+      java.lang.StringBuilder sb = new java.lang.StringBuilder("add_result(");
+      boolean first = true;
+
+      sb.append("success:");
+      sb.append(this.success);
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, java.lang.ClassNotFoundException {
+      try {
+        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+        __isset_bitfield = 0;
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class add_resultStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public add_resultStandardScheme getScheme() {
+        return new add_resultStandardScheme();
+      }
+    }
+
+    private static class add_resultStandardScheme extends org.apache.thrift.scheme.StandardScheme<add_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, add_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 0: // SUCCESS
+              if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
+                struct.success = iprot.readI32();
+                struct.setSuccessIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, add_result struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.isSetSuccess()) {
+          oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+          oprot.writeI32(struct.success);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class add_resultTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public add_resultTupleScheme getScheme() {
+        return new add_resultTupleScheme();
+      }
+    }
+
+    private static class add_resultTupleScheme extends org.apache.thrift.scheme.TupleScheme<add_result> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, add_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol oprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet optionals = new java.util.BitSet();
+        if (struct.isSetSuccess()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetSuccess()) {
+          oprot.writeI32(struct.success);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, add_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          struct.success = iprot.readI32();
+          struct.setSuccessIsSet(true);
+        }
+      }
+    }
+
+    private static <S extends org.apache.thrift.scheme.IScheme> S scheme(org.apache.thrift.protocol.TProtocol proto) {
+      return (org.apache.thrift.scheme.StandardScheme.class.equals(proto.getScheme()) ? STANDARD_SCHEME_FACTORY : TUPLE_SCHEME_FACTORY).getScheme();
+    }
+  }
+
+  public static class write_args implements org.apache.thrift.TBase<write_args, write_args._Fields>, java.io.Serializable, Cloneable, Comparable<write_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("write_args");
+
+    private static final org.apache.thrift.protocol.TField MB_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("mbId", org.apache.thrift.protocol.TType.I64, (short)1);
+    private static final org.apache.thrift.protocol.TField MB_METADATA_FIELD_DESC = new org.apache.thrift.protocol.TField("mbMetadata", org.apache.thrift.protocol.TType.STRUCT, (short)2);
+    private static final org.apache.thrift.protocol.TField MB_DATA_FIELD_DESC = new org.apache.thrift.protocol.TField("mbData", org.apache.thrift.protocol.TType.STRING, (short)3);
+
+    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new write_argsStandardSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new write_argsTupleSchemeFactory();
+
+    public long mbId; // required
+    public Metadata mbMetadata; // required
+    public java.nio.ByteBuffer mbData; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      MB_ID((short)1, "mbId"),
+      MB_METADATA((short)2, "mbMetadata"),
+      MB_DATA((short)3, "mbData");
+
+      private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
+
+      static {
+        for (_Fields field : java.util.EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // MB_ID
+            return MB_ID;
+          case 2: // MB_METADATA
+            return MB_METADATA;
+          case 3: // MB_DATA
+            return MB_DATA;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new java.lang.IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(java.lang.String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final java.lang.String _fieldName;
+
+      _Fields(short thriftId, java.lang.String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public java.lang.String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    private static final int __MBID_ISSET_ID = 0;
+    private byte __isset_bitfield = 0;
+    public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.MB_ID, new org.apache.thrift.meta_data.FieldMetaData("mbId", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+      tmpMap.put(_Fields.MB_METADATA, new org.apache.thrift.meta_data.FieldMetaData("mbMetadata", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, Metadata.class)));
+      tmpMap.put(_Fields.MB_DATA, new org.apache.thrift.meta_data.FieldMetaData("mbData", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING          , true)));
+      metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(write_args.class, metaDataMap);
+    }
+
+    public write_args() {
+    }
+
+    public write_args(
+      long mbId,
+      Metadata mbMetadata,
+      java.nio.ByteBuffer mbData)
+    {
+      this();
+      this.mbId = mbId;
+      setMbIdIsSet(true);
+      this.mbMetadata = mbMetadata;
+      this.mbData = org.apache.thrift.TBaseHelper.copyBinary(mbData);
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public write_args(write_args other) {
+      __isset_bitfield = other.__isset_bitfield;
+      this.mbId = other.mbId;
+      if (other.isSetMbMetadata()) {
+        this.mbMetadata = new Metadata(other.mbMetadata);
+      }
+      if (other.isSetMbData()) {
+        this.mbData = org.apache.thrift.TBaseHelper.copyBinary(other.mbData);
+      }
+    }
+
+    public write_args deepCopy() {
+      return new write_args(this);
+    }
+
+    @Override
+    public void clear() {
+      setMbIdIsSet(false);
+      this.mbId = 0;
+      this.mbMetadata = null;
+      this.mbData = null;
+    }
+
+    public long getMbId() {
+      return this.mbId;
+    }
+
+    public write_args setMbId(long mbId) {
+      this.mbId = mbId;
+      setMbIdIsSet(true);
+      return this;
+    }
+
+    public void unsetMbId() {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __MBID_ISSET_ID);
+    }
+
+    /** Returns true if field mbId is set (has been assigned a value) and false otherwise */
+    public boolean isSetMbId() {
+      return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __MBID_ISSET_ID);
+    }
+
+    public void setMbIdIsSet(boolean value) {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __MBID_ISSET_ID, value);
+    }
+
+    public Metadata getMbMetadata() {
+      return this.mbMetadata;
+    }
+
+    public write_args setMbMetadata(Metadata mbMetadata) {
+      this.mbMetadata = mbMetadata;
+      return this;
+    }
+
+    public void unsetMbMetadata() {
+      this.mbMetadata = null;
+    }
+
+    /** Returns true if field mbMetadata is set (has been assigned a value) and false otherwise */
+    public boolean isSetMbMetadata() {
+      return this.mbMetadata != null;
+    }
+
+    public void setMbMetadataIsSet(boolean value) {
+      if (!value) {
+        this.mbMetadata = null;
+      }
+    }
+
+    public byte[] getMbData() {
+      setMbData(org.apache.thrift.TBaseHelper.rightSize(mbData));
+      return mbData == null ? null : mbData.array();
+    }
+
+    public java.nio.ByteBuffer bufferForMbData() {
+      return org.apache.thrift.TBaseHelper.copyBinary(mbData);
+    }
+
+    public write_args setMbData(byte[] mbData) {
+      this.mbData = mbData == null ? (java.nio.ByteBuffer)null : java.nio.ByteBuffer.wrap(mbData.clone());
+      return this;
+    }
+
+    public write_args setMbData(java.nio.ByteBuffer mbData) {
+      this.mbData = org.apache.thrift.TBaseHelper.copyBinary(mbData);
+      return this;
+    }
+
+    public void unsetMbData() {
+      this.mbData = null;
+    }
+
+    /** Returns true if field mbData is set (has been assigned a value) and false otherwise */
+    public boolean isSetMbData() {
+      return this.mbData != null;
+    }
+
+    public void setMbDataIsSet(boolean value) {
+      if (!value) {
+        this.mbData = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, java.lang.Object value) {
+      switch (field) {
+      case MB_ID:
+        if (value == null) {
+          unsetMbId();
+        } else {
+          setMbId((java.lang.Long)value);
+        }
+        break;
+
+      case MB_METADATA:
+        if (value == null) {
+          unsetMbMetadata();
+        } else {
+          setMbMetadata((Metadata)value);
+        }
+        break;
+
+      case MB_DATA:
+        if (value == null) {
+          unsetMbData();
+        } else {
+          if (value instanceof byte[]) {
+            setMbData((byte[])value);
+          } else {
+            setMbData((java.nio.ByteBuffer)value);
+          }
+        }
+        break;
+
+      }
+    }
+
+    public java.lang.Object getFieldValue(_Fields field) {
+      switch (field) {
+      case MB_ID:
+        return getMbId();
+
+      case MB_METADATA:
+        return getMbMetadata();
+
+      case MB_DATA:
+        return getMbData();
+
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new java.lang.IllegalArgumentException();
+      }
+
+      switch (field) {
+      case MB_ID:
+        return isSetMbId();
+      case MB_METADATA:
+        return isSetMbMetadata();
+      case MB_DATA:
+        return isSetMbData();
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(java.lang.Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof write_args)
+        return this.equals((write_args)that);
+      return false;
+    }
+
+    public boolean equals(write_args that) {
+      if (that == null)
+        return false;
+      if (this == that)
+        return true;
+
+      boolean this_present_mbId = true;
+      boolean that_present_mbId = true;
+      if (this_present_mbId || that_present_mbId) {
+        if (!(this_present_mbId && that_present_mbId))
+          return false;
+        if (this.mbId != that.mbId)
+          return false;
+      }
+
+      boolean this_present_mbMetadata = true && this.isSetMbMetadata();
+      boolean that_present_mbMetadata = true && that.isSetMbMetadata();
+      if (this_present_mbMetadata || that_present_mbMetadata) {
+        if (!(this_present_mbMetadata && that_present_mbMetadata))
+          return false;
+        if (!this.mbMetadata.equals(that.mbMetadata))
+          return false;
+      }
+
+      boolean this_present_mbData = true && this.isSetMbData();
+      boolean that_present_mbData = true && that.isSetMbData();
+      if (this_present_mbData || that_present_mbData) {
+        if (!(this_present_mbData && that_present_mbData))
+          return false;
+        if (!this.mbData.equals(that.mbData))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+
+      hashCode = hashCode * 8191 + org.apache.thrift.TBaseHelper.hashCode(mbId);
+
+      hashCode = hashCode * 8191 + ((isSetMbMetadata()) ? 131071 : 524287);
+      if (isSetMbMetadata())
+        hashCode = hashCode * 8191 + mbMetadata.hashCode();
+
+      hashCode = hashCode * 8191 + ((isSetMbData()) ? 131071 : 524287);
+      if (isSetMbData())
+        hashCode = hashCode * 8191 + mbData.hashCode();
+
+      return hashCode;
+    }
+
+    @Override
+    public int compareTo(write_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = java.lang.Boolean.valueOf(isSetMbId()).compareTo(other.isSetMbId());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetMbId()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.mbId, other.mbId);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = java.lang.Boolean.valueOf(isSetMbMetadata()).compareTo(other.isSetMbMetadata());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetMbMetadata()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.mbMetadata, other.mbMetadata);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = java.lang.Boolean.valueOf(isSetMbData()).compareTo(other.isSetMbData());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetMbData()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.mbData, other.mbData);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      scheme(iprot).read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      scheme(oprot).write(oprot, this);
+    }
+
+    @Override
+    public java.lang.String toString() {
+      java.lang.StringBuilder sb = new java.lang.StringBuilder("write_args(");
+      boolean first = true;
+
+      sb.append("mbId:");
+      sb.append(this.mbId);
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("mbMetadata:");
+      if (this.mbMetadata == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.mbMetadata);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("mbData:");
+      if (this.mbData == null) {
+        sb.append("null");
+      } else {
+        org.apache.thrift.TBaseHelper.toString(this.mbData, sb);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+      if (mbMetadata != null) {
+        mbMetadata.validate();
+      }
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, java.lang.ClassNotFoundException {
+      try {
+        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+        __isset_bitfield = 0;
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class write_argsStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public write_argsStandardScheme getScheme() {
+        return new write_argsStandardScheme();
+      }
+    }
+
+    private static class write_argsStandardScheme extends org.apache.thrift.scheme.StandardScheme<write_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, write_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 1: // MB_ID
+              if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+                struct.mbId = iprot.readI64();
+                struct.setMbIdIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 2: // MB_METADATA
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.mbMetadata = new Metadata();
+                struct.mbMetadata.read(iprot);
+                struct.setMbMetadataIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 3: // MB_DATA
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+                struct.mbData = iprot.readBinary();
+                struct.setMbDataIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, write_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        oprot.writeFieldBegin(MB_ID_FIELD_DESC);
+        oprot.writeI64(struct.mbId);
+        oprot.writeFieldEnd();
+        if (struct.mbMetadata != null) {
+          oprot.writeFieldBegin(MB_METADATA_FIELD_DESC);
+          struct.mbMetadata.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        if (struct.mbData != null) {
+          oprot.writeFieldBegin(MB_DATA_FIELD_DESC);
+          oprot.writeBinary(struct.mbData);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class write_argsTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public write_argsTupleScheme getScheme() {
+        return new write_argsTupleScheme();
+      }
+    }
+
+    private static class write_argsTupleScheme extends org.apache.thrift.scheme.TupleScheme<write_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, write_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol oprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet optionals = new java.util.BitSet();
+        if (struct.isSetMbId()) {
+          optionals.set(0);
+        }
+        if (struct.isSetMbMetadata()) {
+          optionals.set(1);
+        }
+        if (struct.isSetMbData()) {
+          optionals.set(2);
+        }
+        oprot.writeBitSet(optionals, 3);
+        if (struct.isSetMbId()) {
+          oprot.writeI64(struct.mbId);
+        }
+        if (struct.isSetMbMetadata()) {
+          struct.mbMetadata.write(oprot);
+        }
+        if (struct.isSetMbData()) {
+          oprot.writeBinary(struct.mbData);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, write_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet incoming = iprot.readBitSet(3);
+        if (incoming.get(0)) {
+          struct.mbId = iprot.readI64();
+          struct.setMbIdIsSet(true);
+        }
+        if (incoming.get(1)) {
+          struct.mbMetadata = new Metadata();
+          struct.mbMetadata.read(iprot);
+          struct.setMbMetadataIsSet(true);
+        }
+        if (incoming.get(2)) {
+          struct.mbData = iprot.readBinary();
+          struct.setMbDataIsSet(true);
+        }
+      }
+    }
+
+    private static <S extends org.apache.thrift.scheme.IScheme> S scheme(org.apache.thrift.protocol.TProtocol proto) {
+      return (org.apache.thrift.scheme.StandardScheme.class.equals(proto.getScheme()) ? STANDARD_SCHEME_FACTORY : TUPLE_SCHEME_FACTORY).getScheme();
+    }
+  }
+
+  public static class write_result implements org.apache.thrift.TBase<write_result, write_result._Fields>, java.io.Serializable, Cloneable, Comparable<write_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("write_result");
+
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
+
+    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new write_resultStandardSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new write_resultTupleSchemeFactory();
+
+    public WriteResponse success; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      SUCCESS((short)0, "success");
+
+      private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
+
+      static {
+        for (_Fields field : java.util.EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new java.lang.IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(java.lang.String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final java.lang.String _fieldName;
+
+      _Fields(short thriftId, java.lang.String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public java.lang.String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, WriteResponse.class)));
+      metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(write_result.class, metaDataMap);
+    }
+
+    public write_result() {
+    }
+
+    public write_result(
+      WriteResponse success)
+    {
+      this();
+      this.success = success;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public write_result(write_result other) {
+      if (other.isSetSuccess()) {
+        this.success = new WriteResponse(other.success);
+      }
+    }
+
+    public write_result deepCopy() {
+      return new write_result(this);
+    }
+
+    @Override
+    public void clear() {
+      this.success = null;
+    }
+
+    public WriteResponse getSuccess() {
+      return this.success;
+    }
+
+    public write_result setSuccess(WriteResponse success) {
+      this.success = success;
+      return this;
+    }
+
+    public void unsetSuccess() {
+      this.success = null;
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return this.success != null;
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      if (!value) {
+        this.success = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, java.lang.Object value) {
+      switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((WriteResponse)value);
+        }
+        break;
+
+      }
+    }
+
+    public java.lang.Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return getSuccess();
+
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new java.lang.IllegalArgumentException();
+      }
+
+      switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(java.lang.Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof write_result)
+        return this.equals((write_result)that);
+      return false;
+    }
+
+    public boolean equals(write_result that) {
+      if (that == null)
+        return false;
+      if (this == that)
+        return true;
+
+      boolean this_present_success = true && this.isSetSuccess();
+      boolean that_present_success = true && that.isSetSuccess();
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (!this.success.equals(that.success))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+
+      hashCode = hashCode * 8191 + ((isSetSuccess()) ? 131071 : 524287);
+      if (isSetSuccess())
+        hashCode = hashCode * 8191 + success.hashCode();
+
+      return hashCode;
+    }
+
+    @Override
+    public int compareTo(write_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = java.lang.Boolean.valueOf(isSetSuccess()).compareTo(other.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, other.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      scheme(iprot).read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      scheme(oprot).write(oprot, this);
+      }
+
+    @Override
+    public java.lang.String toString() {
+      java.lang.StringBuilder sb = new java.lang.StringBuilder("write_result(");
+      boolean first = true;
+
+      sb.append("success:");
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.success);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+      if (success != null) {
+        success.validate();
+      }
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, java.lang.ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class write_resultStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public write_resultStandardScheme getScheme() {
+        return new write_resultStandardScheme();
+      }
+    }
+
+    private static class write_resultStandardScheme extends org.apache.thrift.scheme.StandardScheme<write_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, write_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 0: // SUCCESS
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.success = new WriteResponse();
+                struct.success.read(iprot);
+                struct.setSuccessIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, write_result struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.success != null) {
+          oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+          struct.success.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class write_resultTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public write_resultTupleScheme getScheme() {
+        return new write_resultTupleScheme();
+      }
+    }
+
+    private static class write_resultTupleScheme extends org.apache.thrift.scheme.TupleScheme<write_result> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, write_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol oprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet optionals = new java.util.BitSet();
+        if (struct.isSetSuccess()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetSuccess()) {
+          struct.success.write(oprot);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, write_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          struct.success = new WriteResponse();
+          struct.success.read(iprot);
+          struct.setSuccessIsSet(true);
+        }
+      }
+    }
+
+    private static <S extends org.apache.thrift.scheme.IScheme> S scheme(org.apache.thrift.protocol.TProtocol proto) {
+      return (org.apache.thrift.scheme.StandardScheme.class.equals(proto.getScheme()) ? STANDARD_SCHEME_FACTORY : TUPLE_SCHEME_FACTORY).getScheme();
+    }
+  }
+
+  public static class update_args implements org.apache.thrift.TBase<update_args, update_args._Fields>, java.io.Serializable, Cloneable, Comparable<update_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("update_args");
+
+    private static final org.apache.thrift.protocol.TField MB_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("mbId", org.apache.thrift.protocol.TType.I64, (short)1);
+    private static final org.apache.thrift.protocol.TField MB_METADATA_FIELD_DESC = new org.apache.thrift.protocol.TField("mbMetadata", org.apache.thrift.protocol.TType.STRUCT, (short)2);
+    private static final org.apache.thrift.protocol.TField MB_DATA_FIELD_DESC = new org.apache.thrift.protocol.TField("mbData", org.apache.thrift.protocol.TType.STRING, (short)3);
+
+    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new update_argsStandardSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new update_argsTupleSchemeFactory();
+
+    public long mbId; // required
+    public Metadata mbMetadata; // required
+    public java.nio.ByteBuffer mbData; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      MB_ID((short)1, "mbId"),
+      MB_METADATA((short)2, "mbMetadata"),
+      MB_DATA((short)3, "mbData");
+
+      private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
+
+      static {
+        for (_Fields field : java.util.EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // MB_ID
+            return MB_ID;
+          case 2: // MB_METADATA
+            return MB_METADATA;
+          case 3: // MB_DATA
+            return MB_DATA;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new java.lang.IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(java.lang.String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final java.lang.String _fieldName;
+
+      _Fields(short thriftId, java.lang.String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public java.lang.String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    private static final int __MBID_ISSET_ID = 0;
+    private byte __isset_bitfield = 0;
+    public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.MB_ID, new org.apache.thrift.meta_data.FieldMetaData("mbId", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+      tmpMap.put(_Fields.MB_METADATA, new org.apache.thrift.meta_data.FieldMetaData("mbMetadata", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, Metadata.class)));
+      tmpMap.put(_Fields.MB_DATA, new org.apache.thrift.meta_data.FieldMetaData("mbData", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING          , true)));
+      metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(update_args.class, metaDataMap);
+    }
+
+    public update_args() {
+    }
+
+    public update_args(
+      long mbId,
+      Metadata mbMetadata,
+      java.nio.ByteBuffer mbData)
+    {
+      this();
+      this.mbId = mbId;
+      setMbIdIsSet(true);
+      this.mbMetadata = mbMetadata;
+      this.mbData = org.apache.thrift.TBaseHelper.copyBinary(mbData);
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public update_args(update_args other) {
+      __isset_bitfield = other.__isset_bitfield;
+      this.mbId = other.mbId;
+      if (other.isSetMbMetadata()) {
+        this.mbMetadata = new Metadata(other.mbMetadata);
+      }
+      if (other.isSetMbData()) {
+        this.mbData = org.apache.thrift.TBaseHelper.copyBinary(other.mbData);
+      }
+    }
+
+    public update_args deepCopy() {
+      return new update_args(this);
+    }
+
+    @Override
+    public void clear() {
+      setMbIdIsSet(false);
+      this.mbId = 0;
+      this.mbMetadata = null;
+      this.mbData = null;
+    }
+
+    public long getMbId() {
+      return this.mbId;
+    }
+
+    public update_args setMbId(long mbId) {
+      this.mbId = mbId;
+      setMbIdIsSet(true);
+      return this;
+    }
+
+    public void unsetMbId() {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __MBID_ISSET_ID);
+    }
+
+    /** Returns true if field mbId is set (has been assigned a value) and false otherwise */
+    public boolean isSetMbId() {
+      return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __MBID_ISSET_ID);
+    }
+
+    public void setMbIdIsSet(boolean value) {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __MBID_ISSET_ID, value);
+    }
+
+    public Metadata getMbMetadata() {
+      return this.mbMetadata;
+    }
+
+    public update_args setMbMetadata(Metadata mbMetadata) {
+      this.mbMetadata = mbMetadata;
+      return this;
+    }
+
+    public void unsetMbMetadata() {
+      this.mbMetadata = null;
+    }
+
+    /** Returns true if field mbMetadata is set (has been assigned a value) and false otherwise */
+    public boolean isSetMbMetadata() {
+      return this.mbMetadata != null;
+    }
+
+    public void setMbMetadataIsSet(boolean value) {
+      if (!value) {
+        this.mbMetadata = null;
+      }
+    }
+
+    public byte[] getMbData() {
+      setMbData(org.apache.thrift.TBaseHelper.rightSize(mbData));
+      return mbData == null ? null : mbData.array();
+    }
+
+    public java.nio.ByteBuffer bufferForMbData() {
+      return org.apache.thrift.TBaseHelper.copyBinary(mbData);
+    }
+
+    public update_args setMbData(byte[] mbData) {
+      this.mbData = mbData == null ? (java.nio.ByteBuffer)null : java.nio.ByteBuffer.wrap(mbData.clone());
+      return this;
+    }
+
+    public update_args setMbData(java.nio.ByteBuffer mbData) {
+      this.mbData = org.apache.thrift.TBaseHelper.copyBinary(mbData);
+      return this;
+    }
+
+    public void unsetMbData() {
+      this.mbData = null;
+    }
+
+    /** Returns true if field mbData is set (has been assigned a value) and false otherwise */
+    public boolean isSetMbData() {
+      return this.mbData != null;
+    }
+
+    public void setMbDataIsSet(boolean value) {
+      if (!value) {
+        this.mbData = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, java.lang.Object value) {
+      switch (field) {
+      case MB_ID:
+        if (value == null) {
+          unsetMbId();
+        } else {
+          setMbId((java.lang.Long)value);
+        }
+        break;
+
+      case MB_METADATA:
+        if (value == null) {
+          unsetMbMetadata();
+        } else {
+          setMbMetadata((Metadata)value);
+        }
+        break;
+
+      case MB_DATA:
+        if (value == null) {
+          unsetMbData();
+        } else {
+          if (value instanceof byte[]) {
+            setMbData((byte[])value);
+          } else {
+            setMbData((java.nio.ByteBuffer)value);
+          }
+        }
+        break;
+
+      }
+    }
+
+    public java.lang.Object getFieldValue(_Fields field) {
+      switch (field) {
+      case MB_ID:
+        return getMbId();
+
+      case MB_METADATA:
+        return getMbMetadata();
+
+      case MB_DATA:
+        return getMbData();
+
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new java.lang.IllegalArgumentException();
+      }
+
+      switch (field) {
+      case MB_ID:
+        return isSetMbId();
+      case MB_METADATA:
+        return isSetMbMetadata();
+      case MB_DATA:
+        return isSetMbData();
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(java.lang.Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof update_args)
+        return this.equals((update_args)that);
+      return false;
+    }
+
+    public boolean equals(update_args that) {
+      if (that == null)
+        return false;
+      if (this == that)
+        return true;
+
+      boolean this_present_mbId = true;
+      boolean that_present_mbId = true;
+      if (this_present_mbId || that_present_mbId) {
+        if (!(this_present_mbId && that_present_mbId))
+          return false;
+        if (this.mbId != that.mbId)
+          return false;
+      }
+
+      boolean this_present_mbMetadata = true && this.isSetMbMetadata();
+      boolean that_present_mbMetadata = true && that.isSetMbMetadata();
+      if (this_present_mbMetadata || that_present_mbMetadata) {
+        if (!(this_present_mbMetadata && that_present_mbMetadata))
+          return false;
+        if (!this.mbMetadata.equals(that.mbMetadata))
+          return false;
+      }
+
+      boolean this_present_mbData = true && this.isSetMbData();
+      boolean that_present_mbData = true && that.isSetMbData();
+      if (this_present_mbData || that_present_mbData) {
+        if (!(this_present_mbData && that_present_mbData))
+          return false;
+        if (!this.mbData.equals(that.mbData))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+
+      hashCode = hashCode * 8191 + org.apache.thrift.TBaseHelper.hashCode(mbId);
+
+      hashCode = hashCode * 8191 + ((isSetMbMetadata()) ? 131071 : 524287);
+      if (isSetMbMetadata())
+        hashCode = hashCode * 8191 + mbMetadata.hashCode();
+
+      hashCode = hashCode * 8191 + ((isSetMbData()) ? 131071 : 524287);
+      if (isSetMbData())
+        hashCode = hashCode * 8191 + mbData.hashCode();
+
+      return hashCode;
+    }
+
+    @Override
+    public int compareTo(update_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = java.lang.Boolean.valueOf(isSetMbId()).compareTo(other.isSetMbId());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetMbId()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.mbId, other.mbId);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = java.lang.Boolean.valueOf(isSetMbMetadata()).compareTo(other.isSetMbMetadata());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetMbMetadata()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.mbMetadata, other.mbMetadata);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = java.lang.Boolean.valueOf(isSetMbData()).compareTo(other.isSetMbData());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetMbData()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.mbData, other.mbData);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      scheme(iprot).read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      scheme(oprot).write(oprot, this);
+    }
+
+    @Override
+    public java.lang.String toString() {
+      java.lang.StringBuilder sb = new java.lang.StringBuilder("update_args(");
+      boolean first = true;
+
+      sb.append("mbId:");
+      sb.append(this.mbId);
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("mbMetadata:");
+      if (this.mbMetadata == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.mbMetadata);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("mbData:");
+      if (this.mbData == null) {
+        sb.append("null");
+      } else {
+        org.apache.thrift.TBaseHelper.toString(this.mbData, sb);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+      if (mbMetadata != null) {
+        mbMetadata.validate();
+      }
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, java.lang.ClassNotFoundException {
+      try {
+        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+        __isset_bitfield = 0;
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class update_argsStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public update_argsStandardScheme getScheme() {
+        return new update_argsStandardScheme();
+      }
+    }
+
+    private static class update_argsStandardScheme extends org.apache.thrift.scheme.StandardScheme<update_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, update_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 1: // MB_ID
+              if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+                struct.mbId = iprot.readI64();
+                struct.setMbIdIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 2: // MB_METADATA
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.mbMetadata = new Metadata();
+                struct.mbMetadata.read(iprot);
+                struct.setMbMetadataIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 3: // MB_DATA
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+                struct.mbData = iprot.readBinary();
+                struct.setMbDataIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, update_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        oprot.writeFieldBegin(MB_ID_FIELD_DESC);
+        oprot.writeI64(struct.mbId);
+        oprot.writeFieldEnd();
+        if (struct.mbMetadata != null) {
+          oprot.writeFieldBegin(MB_METADATA_FIELD_DESC);
+          struct.mbMetadata.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        if (struct.mbData != null) {
+          oprot.writeFieldBegin(MB_DATA_FIELD_DESC);
+          oprot.writeBinary(struct.mbData);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class update_argsTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public update_argsTupleScheme getScheme() {
+        return new update_argsTupleScheme();
+      }
+    }
+
+    private static class update_argsTupleScheme extends org.apache.thrift.scheme.TupleScheme<update_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, update_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol oprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet optionals = new java.util.BitSet();
+        if (struct.isSetMbId()) {
+          optionals.set(0);
+        }
+        if (struct.isSetMbMetadata()) {
+          optionals.set(1);
+        }
+        if (struct.isSetMbData()) {
+          optionals.set(2);
+        }
+        oprot.writeBitSet(optionals, 3);
+        if (struct.isSetMbId()) {
+          oprot.writeI64(struct.mbId);
+        }
+        if (struct.isSetMbMetadata()) {
+          struct.mbMetadata.write(oprot);
+        }
+        if (struct.isSetMbData()) {
+          oprot.writeBinary(struct.mbData);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, update_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet incoming = iprot.readBitSet(3);
+        if (incoming.get(0)) {
+          struct.mbId = iprot.readI64();
+          struct.setMbIdIsSet(true);
+        }
+        if (incoming.get(1)) {
+          struct.mbMetadata = new Metadata();
+          struct.mbMetadata.read(iprot);
+          struct.setMbMetadataIsSet(true);
+        }
+        if (incoming.get(2)) {
+          struct.mbData = iprot.readBinary();
+          struct.setMbDataIsSet(true);
+        }
+      }
+    }
+
+    private static <S extends org.apache.thrift.scheme.IScheme> S scheme(org.apache.thrift.protocol.TProtocol proto) {
+      return (org.apache.thrift.scheme.StandardScheme.class.equals(proto.getScheme()) ? STANDARD_SCHEME_FACTORY : TUPLE_SCHEME_FACTORY).getScheme();
+    }
+  }
+
+  public static class update_result implements org.apache.thrift.TBase<update_result, update_result._Fields>, java.io.Serializable, Cloneable, Comparable<update_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("update_result");
+
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
+
+    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new update_resultStandardSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new update_resultTupleSchemeFactory();
+
+    public WriteResponse success; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      SUCCESS((short)0, "success");
+
+      private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
+
+      static {
+        for (_Fields field : java.util.EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new java.lang.IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(java.lang.String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final java.lang.String _fieldName;
+
+      _Fields(short thriftId, java.lang.String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public java.lang.String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, WriteResponse.class)));
+      metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(update_result.class, metaDataMap);
+    }
+
+    public update_result() {
+    }
+
+    public update_result(
+      WriteResponse success)
+    {
+      this();
+      this.success = success;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public update_result(update_result other) {
+      if (other.isSetSuccess()) {
+        this.success = new WriteResponse(other.success);
+      }
+    }
+
+    public update_result deepCopy() {
+      return new update_result(this);
+    }
+
+    @Override
+    public void clear() {
+      this.success = null;
+    }
+
+    public WriteResponse getSuccess() {
+      return this.success;
+    }
+
+    public update_result setSuccess(WriteResponse success) {
+      this.success = success;
+      return this;
+    }
+
+    public void unsetSuccess() {
+      this.success = null;
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return this.success != null;
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      if (!value) {
+        this.success = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, java.lang.Object value) {
+      switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((WriteResponse)value);
+        }
+        break;
+
+      }
+    }
+
+    public java.lang.Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return getSuccess();
+
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new java.lang.IllegalArgumentException();
+      }
+
+      switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(java.lang.Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof update_result)
+        return this.equals((update_result)that);
+      return false;
+    }
+
+    public boolean equals(update_result that) {
+      if (that == null)
+        return false;
+      if (this == that)
+        return true;
+
+      boolean this_present_success = true && this.isSetSuccess();
+      boolean that_present_success = true && that.isSetSuccess();
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (!this.success.equals(that.success))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+
+      hashCode = hashCode * 8191 + ((isSetSuccess()) ? 131071 : 524287);
+      if (isSetSuccess())
+        hashCode = hashCode * 8191 + success.hashCode();
+
+      return hashCode;
+    }
+
+    @Override
+    public int compareTo(update_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = java.lang.Boolean.valueOf(isSetSuccess()).compareTo(other.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, other.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      scheme(iprot).read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      scheme(oprot).write(oprot, this);
+      }
+
+    @Override
+    public java.lang.String toString() {
+      java.lang.StringBuilder sb = new java.lang.StringBuilder("update_result(");
+      boolean first = true;
+
+      sb.append("success:");
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.success);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+      if (success != null) {
+        success.validate();
+      }
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, java.lang.ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class update_resultStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public update_resultStandardScheme getScheme() {
+        return new update_resultStandardScheme();
+      }
+    }
+
+    private static class update_resultStandardScheme extends org.apache.thrift.scheme.StandardScheme<update_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, update_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 0: // SUCCESS
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.success = new WriteResponse();
+                struct.success.read(iprot);
+                struct.setSuccessIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, update_result struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.success != null) {
+          oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+          struct.success.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class update_resultTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public update_resultTupleScheme getScheme() {
+        return new update_resultTupleScheme();
+      }
+    }
+
+    private static class update_resultTupleScheme extends org.apache.thrift.scheme.TupleScheme<update_result> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, update_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol oprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet optionals = new java.util.BitSet();
+        if (struct.isSetSuccess()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetSuccess()) {
+          struct.success.write(oprot);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, update_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          struct.success = new WriteResponse();
+          struct.success.read(iprot);
+          struct.setSuccessIsSet(true);
+        }
+      }
+    }
+
+    private static <S extends org.apache.thrift.scheme.IScheme> S scheme(org.apache.thrift.protocol.TProtocol proto) {
+      return (org.apache.thrift.scheme.StandardScheme.class.equals(proto.getScheme()) ? STANDARD_SCHEME_FACTORY : TUPLE_SCHEME_FACTORY).getScheme();
+    }
+  }
+
+  public static class read_args implements org.apache.thrift.TBase<read_args, read_args._Fields>, java.io.Serializable, Cloneable, Comparable<read_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("read_args");
+
+    private static final org.apache.thrift.protocol.TField MB_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("mbId", org.apache.thrift.protocol.TType.I64, (short)1);
+    private static final org.apache.thrift.protocol.TField FETCH_METADATA_FIELD_DESC = new org.apache.thrift.protocol.TField("fetchMetadata", org.apache.thrift.protocol.TType.BYTE, (short)2);
+    private static final org.apache.thrift.protocol.TField COMP_FORMAT_FIELD_DESC = new org.apache.thrift.protocol.TField("compFormat", org.apache.thrift.protocol.TType.STRING, (short)3);
+    private static final org.apache.thrift.protocol.TField UNCOMP_SIZE_FIELD_DESC = new org.apache.thrift.protocol.TField("uncompSize", org.apache.thrift.protocol.TType.I64, (short)4);
+
+    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new read_argsStandardSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new read_argsTupleSchemeFactory();
+
+    public long mbId; // required
+    public byte fetchMetadata; // required
+    public java.lang.String compFormat; // required
+    public long uncompSize; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      MB_ID((short)1, "mbId"),
+      FETCH_METADATA((short)2, "fetchMetadata"),
+      COMP_FORMAT((short)3, "compFormat"),
+      UNCOMP_SIZE((short)4, "uncompSize");
+
+      private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
+
+      static {
+        for (_Fields field : java.util.EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // MB_ID
+            return MB_ID;
+          case 2: // FETCH_METADATA
+            return FETCH_METADATA;
+          case 3: // COMP_FORMAT
+            return COMP_FORMAT;
+          case 4: // UNCOMP_SIZE
+            return UNCOMP_SIZE;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new java.lang.IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(java.lang.String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final java.lang.String _fieldName;
+
+      _Fields(short thriftId, java.lang.String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public java.lang.String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    private static final int __MBID_ISSET_ID = 0;
+    private static final int __FETCHMETADATA_ISSET_ID = 1;
+    private static final int __UNCOMPSIZE_ISSET_ID = 2;
+    private byte __isset_bitfield = 0;
+    public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.MB_ID, new org.apache.thrift.meta_data.FieldMetaData("mbId", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+      tmpMap.put(_Fields.FETCH_METADATA, new org.apache.thrift.meta_data.FieldMetaData("fetchMetadata", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.BYTE)));
+      tmpMap.put(_Fields.COMP_FORMAT, new org.apache.thrift.meta_data.FieldMetaData("compFormat", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+      tmpMap.put(_Fields.UNCOMP_SIZE, new org.apache.thrift.meta_data.FieldMetaData("uncompSize", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+      metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(read_args.class, metaDataMap);
+    }
+
+    public read_args() {
+    }
+
+    public read_args(
+      long mbId,
+      byte fetchMetadata,
+      java.lang.String compFormat,
+      long uncompSize)
+    {
+      this();
+      this.mbId = mbId;
+      setMbIdIsSet(true);
+      this.fetchMetadata = fetchMetadata;
+      setFetchMetadataIsSet(true);
+      this.compFormat = compFormat;
+      this.uncompSize = uncompSize;
+      setUncompSizeIsSet(true);
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public read_args(read_args other) {
+      __isset_bitfield = other.__isset_bitfield;
+      this.mbId = other.mbId;
+      this.fetchMetadata = other.fetchMetadata;
+      if (other.isSetCompFormat()) {
+        this.compFormat = other.compFormat;
+      }
+      this.uncompSize = other.uncompSize;
+    }
+
+    public read_args deepCopy() {
+      return new read_args(this);
+    }
+
+    @Override
+    public void clear() {
+      setMbIdIsSet(false);
+      this.mbId = 0;
+      setFetchMetadataIsSet(false);
+      this.fetchMetadata = 0;
+      this.compFormat = null;
+      setUncompSizeIsSet(false);
+      this.uncompSize = 0;
+    }
+
+    public long getMbId() {
+      return this.mbId;
+    }
+
+    public read_args setMbId(long mbId) {
+      this.mbId = mbId;
+      setMbIdIsSet(true);
+      return this;
+    }
+
+    public void unsetMbId() {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __MBID_ISSET_ID);
+    }
+
+    /** Returns true if field mbId is set (has been assigned a value) and false otherwise */
+    public boolean isSetMbId() {
+      return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __MBID_ISSET_ID);
+    }
+
+    public void setMbIdIsSet(boolean value) {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __MBID_ISSET_ID, value);
+    }
+
+    public byte getFetchMetadata() {
+      return this.fetchMetadata;
+    }
+
+    public read_args setFetchMetadata(byte fetchMetadata) {
+      this.fetchMetadata = fetchMetadata;
+      setFetchMetadataIsSet(true);
+      return this;
+    }
+
+    public void unsetFetchMetadata() {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __FETCHMETADATA_ISSET_ID);
+    }
+
+    /** Returns true if field fetchMetadata is set (has been assigned a value) and false otherwise */
+    public boolean isSetFetchMetadata() {
+      return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __FETCHMETADATA_ISSET_ID);
+    }
+
+    public void setFetchMetadataIsSet(boolean value) {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __FETCHMETADATA_ISSET_ID, value);
+    }
+
+    public java.lang.String getCompFormat() {
+      return this.compFormat;
+    }
+
+    public read_args setCompFormat(java.lang.String compFormat) {
+      this.compFormat = compFormat;
+      return this;
+    }
+
+    public void unsetCompFormat() {
+      this.compFormat = null;
+    }
+
+    /** Returns true if field compFormat is set (has been assigned a value) and false otherwise */
+    public boolean isSetCompFormat() {
+      return this.compFormat != null;
+    }
+
+    public void setCompFormatIsSet(boolean value) {
+      if (!value) {
+        this.compFormat = null;
+      }
+    }
+
+    public long getUncompSize() {
+      return this.uncompSize;
+    }
+
+    public read_args setUncompSize(long uncompSize) {
+      this.uncompSize = uncompSize;
+      setUncompSizeIsSet(true);
+      return this;
+    }
+
+    public void unsetUncompSize() {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __UNCOMPSIZE_ISSET_ID);
+    }
+
+    /** Returns true if field uncompSize is set (has been assigned a value) and false otherwise */
+    public boolean isSetUncompSize() {
+      return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __UNCOMPSIZE_ISSET_ID);
+    }
+
+    public void setUncompSizeIsSet(boolean value) {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __UNCOMPSIZE_ISSET_ID, value);
+    }
+
+    public void setFieldValue(_Fields field, java.lang.Object value) {
+      switch (field) {
+      case MB_ID:
+        if (value == null) {
+          unsetMbId();
+        } else {
+          setMbId((java.lang.Long)value);
+        }
+        break;
+
+      case FETCH_METADATA:
+        if (value == null) {
+          unsetFetchMetadata();
+        } else {
+          setFetchMetadata((java.lang.Byte)value);
+        }
+        break;
+
+      case COMP_FORMAT:
+        if (value == null) {
+          unsetCompFormat();
+        } else {
+          setCompFormat((java.lang.String)value);
+        }
+        break;
+
+      case UNCOMP_SIZE:
+        if (value == null) {
+          unsetUncompSize();
+        } else {
+          setUncompSize((java.lang.Long)value);
+        }
+        break;
+
+      }
+    }
+
+    public java.lang.Object getFieldValue(_Fields field) {
+      switch (field) {
+      case MB_ID:
+        return getMbId();
+
+      case FETCH_METADATA:
+        return getFetchMetadata();
+
+      case COMP_FORMAT:
+        return getCompFormat();
+
+      case UNCOMP_SIZE:
+        return getUncompSize();
+
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new java.lang.IllegalArgumentException();
+      }
+
+      switch (field) {
+      case MB_ID:
+        return isSetMbId();
+      case FETCH_METADATA:
+        return isSetFetchMetadata();
+      case COMP_FORMAT:
+        return isSetCompFormat();
+      case UNCOMP_SIZE:
+        return isSetUncompSize();
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(java.lang.Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof read_args)
+        return this.equals((read_args)that);
+      return false;
+    }
+
+    public boolean equals(read_args that) {
+      if (that == null)
+        return false;
+      if (this == that)
+        return true;
+
+      boolean this_present_mbId = true;
+      boolean that_present_mbId = true;
+      if (this_present_mbId || that_present_mbId) {
+        if (!(this_present_mbId && that_present_mbId))
+          return false;
+        if (this.mbId != that.mbId)
+          return false;
+      }
+
+      boolean this_present_fetchMetadata = true;
+      boolean that_present_fetchMetadata = true;
+      if (this_present_fetchMetadata || that_present_fetchMetadata) {
+        if (!(this_present_fetchMetadata && that_present_fetchMetadata))
+          return false;
+        if (this.fetchMetadata != that.fetchMetadata)
+          return false;
+      }
+
+      boolean this_present_compFormat = true && this.isSetCompFormat();
+      boolean that_present_compFormat = true && that.isSetCompFormat();
+      if (this_present_compFormat || that_present_compFormat) {
+        if (!(this_present_compFormat && that_present_compFormat))
+          return false;
+        if (!this.compFormat.equals(that.compFormat))
+          return false;
+      }
+
+      boolean this_present_uncompSize = true;
+      boolean that_present_uncompSize = true;
+      if (this_present_uncompSize || that_present_uncompSize) {
+        if (!(this_present_uncompSize && that_present_uncompSize))
+          return false;
+        if (this.uncompSize != that.uncompSize)
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+
+      hashCode = hashCode * 8191 + org.apache.thrift.TBaseHelper.hashCode(mbId);
+
+      hashCode = hashCode * 8191 + (int) (fetchMetadata);
+
+      hashCode = hashCode * 8191 + ((isSetCompFormat()) ? 131071 : 524287);
+      if (isSetCompFormat())
+        hashCode = hashCode * 8191 + compFormat.hashCode();
+
+      hashCode = hashCode * 8191 + org.apache.thrift.TBaseHelper.hashCode(uncompSize);
+
+      return hashCode;
+    }
+
+    @Override
+    public int compareTo(read_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = java.lang.Boolean.valueOf(isSetMbId()).compareTo(other.isSetMbId());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetMbId()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.mbId, other.mbId);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = java.lang.Boolean.valueOf(isSetFetchMetadata()).compareTo(other.isSetFetchMetadata());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetFetchMetadata()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.fetchMetadata, other.fetchMetadata);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = java.lang.Boolean.valueOf(isSetCompFormat()).compareTo(other.isSetCompFormat());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetCompFormat()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.compFormat, other.compFormat);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = java.lang.Boolean.valueOf(isSetUncompSize()).compareTo(other.isSetUncompSize());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetUncompSize()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.uncompSize, other.uncompSize);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      scheme(iprot).read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      scheme(oprot).write(oprot, this);
+    }
+
+    @Override
+    public java.lang.String toString() {
+      java.lang.StringBuilder sb = new java.lang.StringBuilder("read_args(");
+      boolean first = true;
+
+      sb.append("mbId:");
+      sb.append(this.mbId);
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("fetchMetadata:");
+      sb.append(this.fetchMetadata);
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("compFormat:");
+      if (this.compFormat == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.compFormat);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("uncompSize:");
+      sb.append(this.uncompSize);
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, java.lang.ClassNotFoundException {
+      try {
+        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+        __isset_bitfield = 0;
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class read_argsStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public read_argsStandardScheme getScheme() {
+        return new read_argsStandardScheme();
+      }
+    }
+
+    private static class read_argsStandardScheme extends org.apache.thrift.scheme.StandardScheme<read_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, read_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 1: // MB_ID
+              if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+                struct.mbId = iprot.readI64();
+                struct.setMbIdIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 2: // FETCH_METADATA
+              if (schemeField.type == org.apache.thrift.protocol.TType.BYTE) {
+                struct.fetchMetadata = iprot.readByte();
+                struct.setFetchMetadataIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 3: // COMP_FORMAT
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+                struct.compFormat = iprot.readString();
+                struct.setCompFormatIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 4: // UNCOMP_SIZE
+              if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+                struct.uncompSize = iprot.readI64();
+                struct.setUncompSizeIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, read_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        oprot.writeFieldBegin(MB_ID_FIELD_DESC);
+        oprot.writeI64(struct.mbId);
+        oprot.writeFieldEnd();
+        oprot.writeFieldBegin(FETCH_METADATA_FIELD_DESC);
+        oprot.writeByte(struct.fetchMetadata);
+        oprot.writeFieldEnd();
+        if (struct.compFormat != null) {
+          oprot.writeFieldBegin(COMP_FORMAT_FIELD_DESC);
+          oprot.writeString(struct.compFormat);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldBegin(UNCOMP_SIZE_FIELD_DESC);
+        oprot.writeI64(struct.uncompSize);
+        oprot.writeFieldEnd();
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class read_argsTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public read_argsTupleScheme getScheme() {
+        return new read_argsTupleScheme();
+      }
+    }
+
+    private static class read_argsTupleScheme extends org.apache.thrift.scheme.TupleScheme<read_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, read_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol oprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet optionals = new java.util.BitSet();
+        if (struct.isSetMbId()) {
+          optionals.set(0);
+        }
+        if (struct.isSetFetchMetadata()) {
+          optionals.set(1);
+        }
+        if (struct.isSetCompFormat()) {
+          optionals.set(2);
+        }
+        if (struct.isSetUncompSize()) {
+          optionals.set(3);
+        }
+        oprot.writeBitSet(optionals, 4);
+        if (struct.isSetMbId()) {
+          oprot.writeI64(struct.mbId);
+        }
+        if (struct.isSetFetchMetadata()) {
+          oprot.writeByte(struct.fetchMetadata);
+        }
+        if (struct.isSetCompFormat()) {
+          oprot.writeString(struct.compFormat);
+        }
+        if (struct.isSetUncompSize()) {
+          oprot.writeI64(struct.uncompSize);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, read_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet incoming = iprot.readBitSet(4);
+        if (incoming.get(0)) {
+          struct.mbId = iprot.readI64();
+          struct.setMbIdIsSet(true);
+        }
+        if (incoming.get(1)) {
+          struct.fetchMetadata = iprot.readByte();
+          struct.setFetchMetadataIsSet(true);
+        }
+        if (incoming.get(2)) {
+          struct.compFormat = iprot.readString();
+          struct.setCompFormatIsSet(true);
+        }
+        if (incoming.get(3)) {
+          struct.uncompSize = iprot.readI64();
+          struct.setUncompSizeIsSet(true);
+        }
+      }
+    }
+
+    private static <S extends org.apache.thrift.scheme.IScheme> S scheme(org.apache.thrift.protocol.TProtocol proto) {
+      return (org.apache.thrift.scheme.StandardScheme.class.equals(proto.getScheme()) ? STANDARD_SCHEME_FACTORY : TUPLE_SCHEME_FACTORY).getScheme();
+    }
+  }
+
+  public static class read_result implements org.apache.thrift.TBase<read_result, read_result._Fields>, java.io.Serializable, Cloneable, Comparable<read_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("read_result");
+
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
+
+    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new read_resultStandardSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new read_resultTupleSchemeFactory();
+
+    public ReadReplica success; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      SUCCESS((short)0, "success");
+
+      private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
+
+      static {
+        for (_Fields field : java.util.EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new java.lang.IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(java.lang.String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final java.lang.String _fieldName;
+
+      _Fields(short thriftId, java.lang.String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public java.lang.String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, ReadReplica.class)));
+      metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(read_result.class, metaDataMap);
+    }
+
+    public read_result() {
+    }
+
+    public read_result(
+      ReadReplica success)
+    {
+      this();
+      this.success = success;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public read_result(read_result other) {
+      if (other.isSetSuccess()) {
+        this.success = new ReadReplica(other.success);
+      }
+    }
+
+    public read_result deepCopy() {
+      return new read_result(this);
+    }
+
+    @Override
+    public void clear() {
+      this.success = null;
+    }
+
+    public ReadReplica getSuccess() {
+      return this.success;
+    }
+
+    public read_result setSuccess(ReadReplica success) {
+      this.success = success;
+      return this;
+    }
+
+    public void unsetSuccess() {
+      this.success = null;
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return this.success != null;
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      if (!value) {
+        this.success = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, java.lang.Object value) {
+      switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((ReadReplica)value);
+        }
+        break;
+
+      }
+    }
+
+    public java.lang.Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return getSuccess();
+
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new java.lang.IllegalArgumentException();
+      }
+
+      switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(java.lang.Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof read_result)
+        return this.equals((read_result)that);
+      return false;
+    }
+
+    public boolean equals(read_result that) {
+      if (that == null)
+        return false;
+      if (this == that)
+        return true;
+
+      boolean this_present_success = true && this.isSetSuccess();
+      boolean that_present_success = true && that.isSetSuccess();
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (!this.success.equals(that.success))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+
+      hashCode = hashCode * 8191 + ((isSetSuccess()) ? 131071 : 524287);
+      if (isSetSuccess())
+        hashCode = hashCode * 8191 + success.hashCode();
+
+      return hashCode;
+    }
+
+    @Override
+    public int compareTo(read_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = java.lang.Boolean.valueOf(isSetSuccess()).compareTo(other.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, other.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      scheme(iprot).read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      scheme(oprot).write(oprot, this);
+      }
+
+    @Override
+    public java.lang.String toString() {
+      java.lang.StringBuilder sb = new java.lang.StringBuilder("read_result(");
+      boolean first = true;
+
+      sb.append("success:");
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.success);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+      if (success != null) {
+        success.validate();
+      }
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, java.lang.ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class read_resultStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public read_resultStandardScheme getScheme() {
+        return new read_resultStandardScheme();
+      }
+    }
+
+    private static class read_resultStandardScheme extends org.apache.thrift.scheme.StandardScheme<read_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, read_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 0: // SUCCESS
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.success = new ReadReplica();
+                struct.success.read(iprot);
+                struct.setSuccessIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, read_result struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.success != null) {
+          oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+          struct.success.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class read_resultTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public read_resultTupleScheme getScheme() {
+        return new read_resultTupleScheme();
+      }
+    }
+
+    private static class read_resultTupleScheme extends org.apache.thrift.scheme.TupleScheme<read_result> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, read_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol oprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet optionals = new java.util.BitSet();
+        if (struct.isSetSuccess()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetSuccess()) {
+          struct.success.write(oprot);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, read_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          struct.success = new ReadReplica();
+          struct.success.read(iprot);
+          struct.setSuccessIsSet(true);
+        }
+      }
+    }
+
+    private static <S extends org.apache.thrift.scheme.IScheme> S scheme(org.apache.thrift.protocol.TProtocol proto) {
+      return (org.apache.thrift.scheme.StandardScheme.class.equals(proto.getScheme()) ? STANDARD_SCHEME_FACTORY : TUPLE_SCHEME_FACTORY).getScheme();
+    }
+  }
+
+  public static class readRange_args implements org.apache.thrift.TBase<readRange_args, readRange_args._Fields>, java.io.Serializable, Cloneable, Comparable<readRange_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("readRange_args");
+
+    private static final org.apache.thrift.protocol.TField MB_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("mbId", org.apache.thrift.protocol.TType.I64, (short)1);
+    private static final org.apache.thrift.protocol.TField COMP_FORMAT_FIELD_DESC = new org.apache.thrift.protocol.TField("compFormat", org.apache.thrift.protocol.TType.STRING, (short)2);
+    private static final org.apache.thrift.protocol.TField OFFSET_FIELD_DESC = new org.apache.thrift.protocol.TField("offset", org.apache.thrift.protocol.TType.I64, (short)3);
+    private static final org.apache.thrift.protocol.TField LENGTH_FIELD_DESC = new org.apache.thrift.protocol.TField("length", org.apache.thrift.protocol.TType.I64, (short)4);
+
+    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new readRange_argsStandardSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new readRange_argsTupleSchemeFactory();
+
+    public long mbId; // required
+    public java.lang.String compFormat; // required
+    public long offset; // required
+    public long length; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      MB_ID((short)1, "mbId"),
+      COMP_FORMAT((short)2, "compFormat"),
+      OFFSET((short)3, "offset"),
+      LENGTH((short)4, "length");
+
+      private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
+
+      static {
+        for (_Fields field : java.util.EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // MB_ID
+            return MB_ID;
+          case 2: // COMP_FORMAT
+            return COMP_FORMAT;
+          case 3: // OFFSET
+            return OFFSET;
+          case 4: // LENGTH
+            return LENGTH;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new java.lang.IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(java.lang.String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final java.lang.String _fieldName;
+
+      _Fields(short thriftId, java.lang.String fieldName) {
         _thriftId = thriftId;
         _fieldName = fieldName;
       }
 
-      public short getThriftFieldId() {
-        return _thriftId;
-      }
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public java.lang.String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    private static final int __MBID_ISSET_ID = 0;
+    private static final int __OFFSET_ISSET_ID = 1;
+    private static final int __LENGTH_ISSET_ID = 2;
+    private byte __isset_bitfield = 0;
+    public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.MB_ID, new org.apache.thrift.meta_data.FieldMetaData("mbId", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+      tmpMap.put(_Fields.COMP_FORMAT, new org.apache.thrift.meta_data.FieldMetaData("compFormat", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+      tmpMap.put(_Fields.OFFSET, new org.apache.thrift.meta_data.FieldMetaData("offset", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+      tmpMap.put(_Fields.LENGTH, new org.apache.thrift.meta_data.FieldMetaData("length", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+      metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(readRange_args.class, metaDataMap);
+    }
+
+    public readRange_args() {
+    }
+
+    public readRange_args(
+      long mbId,
+      java.lang.String compFormat,
+      long offset,
+      long length)
+    {
+      this();
+      this.mbId = mbId;
+      setMbIdIsSet(true);
+      this.compFormat = compFormat;
+      this.offset = offset;
+      setOffsetIsSet(true);
+      this.length = length;
+      setLengthIsSet(true);
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public readRange_args(readRange_args other) {
+      __isset_bitfield = other.__isset_bitfield;
+      this.mbId = other.mbId;
+      if (other.isSetCompFormat()) {
+        this.compFormat = other.compFormat;
+      }
+      this.offset = other.offset;
+      this.length = other.length;
+    }
+
+    public readRange_args deepCopy() {
+      return new readRange_args(this);
+    }
+
+    @Override
+    public void clear() {
+      setMbIdIsSet(false);
+      this.mbId = 0;
+      this.compFormat = null;
+      setOffsetIsSet(false);
+      this.offset = 0;
+      setLengthIsSet(false);
+      this.length = 0;
+    }
+
+    public long getMbId() {
+      return this.mbId;
+    }
+
+    public readRange_args setMbId(long mbId) {
+      this.mbId = mbId;
+      setMbIdIsSet(true);
+      return this;
+    }
+
+    public void unsetMbId() {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __MBID_ISSET_ID);
+    }
+
+    /** Returns true if field mbId is set (has been assigned a value) and false otherwise */
+    public boolean isSetMbId() {
+      return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __MBID_ISSET_ID);
+    }
+
+    public void setMbIdIsSet(boolean value) {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __MBID_ISSET_ID, value);
+    }
 
-      public java.lang.String getFieldName() {
-        return _fieldName;
+    public java.lang.String getCompFormat() {
+      return this.compFormat;
+    }
+
+    public readRange_args setCompFormat(java.lang.String compFormat) {
+      this.compFormat = compFormat;
+      return this;
+    }
+
+    public void unsetCompFormat() {
+      this.compFormat = null;
+    }
+
+    /** Returns true if field compFormat is set (has been assigned a value) and false otherwise */
+    public boolean isSetCompFormat() {
+      return this.compFormat != null;
+    }
+
+    public void setCompFormatIsSet(boolean value) {
+      if (!value) {
+        this.compFormat = null;
       }
     }
-    public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
-    static {
-      java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
-      metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(pong_args.class, metaDataMap);
+
+    public long getOffset() {
+      return this.offset;
     }
 
-    public pong_args() {
+    public readRange_args setOffset(long offset) {
+      this.offset = offset;
+      setOffsetIsSet(true);
+      return this;
     }
 
-    /**
-     * Performs a deep copy on <i>other</i>.
-     */
-    public pong_args(pong_args other) {
+    public void unsetOffset() {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __OFFSET_ISSET_ID);
     }
 
-    public pong_args deepCopy() {
-      return new pong_args(this);
+    /** Returns true if field offset is set (has been assigned a value) and false otherwise */
+    public boolean isSetOffset() {
+      return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __OFFSET_ISSET_ID);
     }
 
-    @Override
-    public void clear() {
+    public void setOffsetIsSet(boolean value) {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __OFFSET_ISSET_ID, value);
+    }
+
+    public long getLength() {
+      return this.length;
+    }
+
+    public readRange_args setLength(long length) {
+      this.length = length;
+      setLengthIsSet(true);
+      return this;
+    }
+
+    public void unsetLength() {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __LENGTH_ISSET_ID);
+    }
+
+    /** Returns true if field length is set (has been assigned a value) and false otherwise */
+    public boolean isSetLength() {
+      return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __LENGTH_ISSET_ID);
+    }
+
+    public void setLengthIsSet(boolean value) {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __LENGTH_ISSET_ID, value);
     }
 
     public void setFieldValue(_Fields field, java.lang.Object value) {
       switch (field) {
+      case MB_ID:
+        if (value == null) {
+          unsetMbId();
+        } else {
+          setMbId((java.lang.Long)value);
+        }
+        break;
+
+      case COMP_FORMAT:
+        if (value == null) {
+          unsetCompFormat();
+        } else {
+          setCompFormat((java.lang.String)value);
+        }
+        break;
+
+      case OFFSET:
+        if (value == null) {
+          unsetOffset();
+        } else {
+          setOffset((java.lang.Long)value);
+        }
+        break;
+
+      case LENGTH:
+        if (value == null) {
+          unsetLength();
+        } else {
+          setLength((java.lang.Long)value);
+        }
+        break;
+
       }
     }
 
     public java.lang.Object getFieldValue(_Fields field) {
       switch (field) {
+      case MB_ID:
+        return getMbId();
+
+      case COMP_FORMAT:
+        return getCompFormat();
+
+      case OFFSET:
+        return getOffset();
+
+      case LENGTH:
+        return getLength();
+
       }
       throw new java.lang.IllegalStateException();
     }
@@ -1367,6 +7454,14 @@ public class EdgeService {
       }
 
       switch (field) {
+      case MB_ID:
+        return isSetMbId();
+      case COMP_FORMAT:
+        return isSetCompFormat();
+      case OFFSET:
+        return isSetOffset();
+      case LENGTH:
+        return isSetLength();
       }
       throw new java.lang.IllegalStateException();
     }
@@ -1375,17 +7470,53 @@ public class EdgeService {
     public boolean equals(java.lang.Object that) {
       if (that == null)
         return false;
-      if (that instanceof pong_args)
-        return this.equals((pong_args)that);
+      if (that instanceof readRange_args)
+        return this.equals((readRange_args)that);
       return false;
     }
 
-    public boolean equals(pong_args that) {
+    public boolean equals(readRange_args that) {
       if (that == null)
         return false;
       if (this == that)
         return true;
 
+      boolean this_present_mbId = true;
+      boolean that_present_mbId = true;
+      if (this_present_mbId || that_present_mbId) {
+        if (!(this_present_mbId && that_present_mbId))
+          return false;
+        if (this.mbId != that.mbId)
+          return false;
+      }
+
+      boolean this_present_compFormat = true && this.isSetCompFormat();
+      boolean that_present_compFormat = true && that.isSetCompFormat();
+      if (this_present_compFormat || that_present_compFormat) {
+        if (!(this_present_compFormat && that_present_compFormat))
+          return false;
+        if (!this.compFormat.equals(that.compFormat))
+          return false;
+      }
+
+      boolean this_present_offset = true;
+      boolean that_present_offset = true;
+      if (this_present_offset || that_present_offset) {
+        if (!(this_present_offset && that_present_offset))
+          return false;
+        if (this.offset != that.offset)
+          return false;
+      }
+
+      boolean this_present_length = true;
+      boolean that_present_length = true;
+      if (this_present_length || that_present_length) {
+        if (!(this_present_length && that_present_length))
+          return false;
+        if (this.length != that.length)
+          return false;
+      }
+
       return true;
     }
 
@@ -1393,17 +7524,67 @@ public class EdgeService {
     public int hashCode() {
       int hashCode = 1;
 
+      hashCode = hashCode * 8191 + org.apache.thrift.TBaseHelper.hashCode(mbId);
+
+      hashCode = hashCode * 8191 + ((isSetCompFormat()) ? 131071 : 524287);
+      if (isSetCompFormat())
+        hashCode = hashCode * 8191 + compFormat.hashCode();
+
+      hashCode = hashCode * 8191 + org.apache.thrift.TBaseHelper.hashCode(offset);
+
+      hashCode = hashCode * 8191 + org.apache.thrift.TBaseHelper.hashCode(length);
+
       return hashCode;
     }
 
     @Override
-    public int compareTo(pong_args other) {
+    public int compareTo(readRange_args other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
 
+      lastComparison = java.lang.Boolean.valueOf(isSetMbId()).compareTo(other.isSetMbId());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetMbId()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.mbId, other.mbId);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = java.lang.Boolean.valueOf(isSetCompFormat()).compareTo(other.isSetCompFormat());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetCompFormat()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.compFormat, other.compFormat);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = java.lang.Boolean.valueOf(isSetOffset()).compareTo(other.isSetOffset());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetOffset()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.offset, other.offset);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = java.lang.Boolean.valueOf(isSetLength()).compareTo(other.isSetLength());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetLength()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.length, other.length);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
       return 0;
     }
 
@@ -1421,9 +7602,28 @@ public class EdgeService {
 
     @Override
     public java.lang.String toString() {
-      java.lang.StringBuilder sb = new java.lang.StringBuilder("pong_args(");
+      java.lang.StringBuilder sb = new java.lang.StringBuilder("readRange_args(");
       boolean first = true;
 
+      sb.append("mbId:");
+      sb.append(this.mbId);
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("compFormat:");
+      if (this.compFormat == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.compFormat);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("offset:");
+      sb.append(this.offset);
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("length:");
+      sb.append(this.length);
+      first = false;
       sb.append(")");
       return sb.toString();
     }
@@ -1443,21 +7643,23 @@ public class EdgeService {
 
     private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, java.lang.ClassNotFoundException {
       try {
+        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+        __isset_bitfield = 0;
         read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
       } catch (org.apache.thrift.TException te) {
         throw new java.io.IOException(te);
       }
     }
 
-    private static class pong_argsStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
-      public pong_argsStandardScheme getScheme() {
-        return new pong_argsStandardScheme();
+    private static class readRange_argsStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public readRange_argsStandardScheme getScheme() {
+        return new readRange_argsStandardScheme();
       }
     }
 
-    private static class pong_argsStandardScheme extends org.apache.thrift.scheme.StandardScheme<pong_args> {
+    private static class readRange_argsStandardScheme extends org.apache.thrift.scheme.StandardScheme<readRange_args> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, pong_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, readRange_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -1467,6 +7669,38 @@ public class EdgeService {
             break;
           }
           switch (schemeField.id) {
+            case 1: // MB_ID
+              if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+                struct.mbId = iprot.readI64();
+                struct.setMbIdIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 2: // COMP_FORMAT
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+                struct.compFormat = iprot.readString();
+                struct.setCompFormatIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 3: // OFFSET
+              if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+                struct.offset = iprot.readI64();
+                struct.setOffsetIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 4: // LENGTH
+              if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+                struct.length = iprot.readI64();
+                struct.setLengthIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
             default:
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           }
@@ -1478,32 +7712,89 @@ public class EdgeService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, pong_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, readRange_args struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
+        oprot.writeFieldBegin(MB_ID_FIELD_DESC);
+        oprot.writeI64(struct.mbId);
+        oprot.writeFieldEnd();
+        if (struct.compFormat != null) {
+          oprot.writeFieldBegin(COMP_FORMAT_FIELD_DESC);
+          oprot.writeString(struct.compFormat);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldBegin(OFFSET_FIELD_DESC);
+        oprot.writeI64(struct.offset);
+        oprot.writeFieldEnd();
+        oprot.writeFieldBegin(LENGTH_FIELD_DESC);
+        oprot.writeI64(struct.length);
+        oprot.writeFieldEnd();
         oprot.writeFieldStop();
         oprot.writeStructEnd();
       }
 
     }
 
-    private static class pong_argsTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
-      public pong_argsTupleScheme getScheme() {
-        return new pong_argsTupleScheme();
+    private static class readRange_argsTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public readRange_argsTupleScheme getScheme() {
+        return new readRange_argsTupleScheme();
       }
     }
 
-    private static class pong_argsTupleScheme extends org.apache.thrift.scheme.TupleScheme<pong_args> {
+    private static class readRange_argsTupleScheme extends org.apache.thrift.scheme.TupleScheme<readRange_args> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, pong_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, readRange_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TTupleProtocol oprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet optionals = new java.util.BitSet();
+        if (struct.isSetMbId()) {
+          optionals.set(0);
+        }
+        if (struct.isSetCompFormat()) {
+          optionals.set(1);
+        }
+        if (struct.isSetOffset()) {
+          optionals.set(2);
+        }
+        if (struct.isSetLength()) {
+          optionals.set(3);
+        }
+        oprot.writeBitSet(optionals, 4);
+        if (struct.isSetMbId()) {
+          oprot.writeI64(struct.mbId);
+        }
+        if (struct.isSetCompFormat()) {
+          oprot.writeString(struct.compFormat);
+        }
+        if (struct.isSetOffset()) {
+          oprot.writeI64(struct.offset);
+        }
+        if (struct.isSetLength()) {
+          oprot.writeI64(struct.length);
+        }
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, pong_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, readRange_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet incoming = iprot.readBitSet(4);
+        if (incoming.get(0)) {
+          struct.mbId = iprot.readI64();
+          struct.setMbIdIsSet(true);
+        }
+        if (incoming.get(1)) {
+          struct.compFormat = iprot.readString();
+          struct.setCompFormatIsSet(true);
+        }
+        if (incoming.get(2)) {
+          struct.offset = iprot.readI64();
+          struct.setOffsetIsSet(true);
+        }
+        if (incoming.get(3)) {
+          struct.length = iprot.readI64();
+          struct.setLengthIsSet(true);
+        }
       }
     }
 
@@ -1512,17 +7803,19 @@ public class EdgeService {
     }
   }
 
-  public static class pong_result implements org.apache.thrift.TBase<pong_result, pong_result._Fields>, java.io.Serializable, Cloneable, Comparable<pong_result>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("pong_result");
+  public static class readRange_result implements org.apache.thrift.TBase<readRange_result, readRange_result._Fields>, java.io.Serializable, Cloneable, Comparable<readRange_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("readRange_result");
 
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
 
-    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new pong_resultStandardSchemeFactory();
-    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new pong_resultTupleSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new readRange_resultStandardSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new readRange_resultTupleSchemeFactory();
 
+    public ReadReplica success; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
-;
+      SUCCESS((short)0, "success");
 
       private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
 
@@ -1537,6 +7830,8 @@ public class EdgeService {
        */
       public static _Fields findByThriftId(int fieldId) {
         switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
           default:
             return null;
         }
@@ -1575,37 +7870,87 @@ public class EdgeService {
         return _fieldName;
       }
     }
+
+    // isset id assignments
     public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
     static {
       java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, ReadReplica.class)));
       metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(pong_result.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(readRange_result.class, metaDataMap);
     }
 
-    public pong_result() {
+    public readRange_result() {
+    }
+
+    public readRange_result(
+      ReadReplica success)
+    {
+      this();
+      this.success = success;
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public pong_result(pong_result other) {
+    public readRange_result(readRange_result other) {
+      if (other.isSetSuccess()) {
+        this.success = new ReadReplica(other.success);
+      }
     }
 
-    public pong_result deepCopy() {
-      return new pong_result(this);
+    public readRange_result deepCopy() {
+      return new readRange_result(this);
     }
 
     @Override
     public void clear() {
+      this.success = null;
+    }
+
+    public ReadReplica getSuccess() {
+      return this.success;
+    }
+
+    public readRange_result setSuccess(ReadReplica success) {
+      this.success = success;
+      return this;
+    }
+
+    public void unsetSuccess() {
+      this.success = null;
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return this.success != null;
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      if (!value) {
+        this.success = null;
+      }
     }
 
     public void setFieldValue(_Fields field, java.lang.Object value) {
       switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((ReadReplica)value);
+        }
+        break;
+
       }
     }
 
     public java.lang.Object getFieldValue(_Fields field) {
       switch (field) {
+      case SUCCESS:
+        return getSuccess();
+
       }
       throw new java.lang.IllegalStateException();
     }
@@ -1617,6 +7962,8 @@ public class EdgeService {
       }
 
       switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
       }
       throw new java.lang.IllegalStateException();
     }
@@ -1625,17 +7972,26 @@ public class EdgeService {
     public boolean equals(java.lang.Object that) {
       if (that == null)
         return false;
-      if (that instanceof pong_result)
-        return this.equals((pong_result)that);
+      if (that instanceof readRange_result)
+        return this.equals((readRange_result)that);
       return false;
     }
 
-    public boolean equals(pong_result that) {
+    public boolean equals(readRange_result that) {
       if (that == null)
         return false;
       if (this == that)
         return true;
 
+      boolean this_present_success = true && this.isSetSuccess();
+      boolean that_present_success = true && that.isSetSuccess();
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (!this.success.equals(that.success))
+          return false;
+      }
+
       return true;
     }
 
@@ -1643,17 +7999,31 @@ public class EdgeService {
     public int hashCode() {
       int hashCode = 1;
 
+      hashCode = hashCode * 8191 + ((isSetSuccess()) ? 131071 : 524287);
+      if (isSetSuccess())
+        hashCode = hashCode * 8191 + success.hashCode();
+
       return hashCode;
     }
 
     @Override
-    public int compareTo(pong_result other) {
+    public int compareTo(readRange_result other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
 
+      lastComparison = java.lang.Boolean.valueOf(isSetSuccess()).compareTo(other.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, other.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
       return 0;
     }
 
@@ -1671,9 +8041,16 @@ public class EdgeService {
 
     @Override
     public java.lang.String toString() {
-      java.lang.StringBuilder sb = new java.lang.StringBuilder("pong_result(");
+      java.lang.StringBuilder sb = new java.lang.StringBuilder("readRange_result(");
       boolean first = true;
 
+      sb.append("success:");
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.success);
+      }
+      first = false;
       sb.append(")");
       return sb.toString();
     }
@@ -1681,6 +8058,9 @@ public class EdgeService {
     public void validate() throws org.apache.thrift.TException {
       // check for required fields
       // check for sub-struct validity
+      if (success != null) {
+        success.validate();
+      }
     }
 
     private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
@@ -1699,15 +8079,15 @@ public class EdgeService {
       }
     }
 
-    private static class pong_resultStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
-      public pong_resultStandardScheme getScheme() {
-        return new pong_resultStandardScheme();
+    private static class readRange_resultStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public readRange_resultStandardScheme getScheme() {
+        return new readRange_resultStandardScheme();
       }
     }
 
-    private static class pong_resultStandardScheme extends org.apache.thrift.scheme.StandardScheme<pong_result> {
+    private static class readRange_resultStandardScheme extends org.apache.thrift.scheme.StandardScheme<readRange_result> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, pong_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, readRange_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -1717,6 +8097,15 @@ public class EdgeService {
             break;
           }
           switch (schemeField.id) {
+            case 0: // SUCCESS
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.success = new ReadReplica();
+                struct.success.read(iprot);
+                struct.setSuccessIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
             default:
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           }
@@ -1728,32 +8117,51 @@ public class EdgeService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, pong_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, readRange_result struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.success != null) {
+          oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+          struct.success.write(oprot);
+          oprot.writeFieldEnd();
+        }
         oprot.writeFieldStop();
         oprot.writeStructEnd();
       }
 
     }
 
-    private static class pong_resultTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
-      public pong_resultTupleScheme getScheme() {
-        return new pong_resultTupleScheme();
+    private static class readRange_resultTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public readRange_resultTupleScheme getScheme() {
+        return new readRange_resultTupleScheme();
       }
     }
 
-    private static class pong_resultTupleScheme extends org.apache.thrift.scheme.TupleScheme<pong_result> {
+    private static class readRange_resultTupleScheme extends org.apache.thrift.scheme.TupleScheme<readRange_result> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, pong_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, readRange_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TTupleProtocol oprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet optionals = new java.util.BitSet();
+        if (struct.isSetSuccess()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetSuccess()) {
+          struct.success.write(oprot);
+        }
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, pong_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, readRange_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          struct.success = new ReadReplica();
+          struct.success.read(iprot);
+          struct.setSuccessIsSet(true);
+        }
       }
     }
 
@@ -1762,19 +8170,22 @@ public class EdgeService {
     }
   }
 
-  public static class insert_args implements org.apache.thrift.TBase<insert_args, insert_args._Fields>, java.io.Serializable, Cloneable, Comparable<insert_args>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("insert_args");
+  public static class openWrite_args implements org.apache.thrift.TBase<openWrite_args, openWrite_args._Fields>, java.io.Serializable, Cloneable, Comparable<openWrite_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("openWrite_args");
 
-    private static final org.apache.thrift.protocol.TField DATA_FIELD_DESC = new org.apache.thrift.protocol.TField("data", org.apache.thrift.protocol.TType.STRING, (short)1);
+    private static final org.apache.thrift.protocol.TField MB_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("mbId", org.apache.thrift.protocol.TType.I64, (short)1);
+    private static final org.apache.thrift.protocol.TField MB_METADATA_FIELD_DESC = new org.apache.thrift.protocol.TField("mbMetadata", org.apache.thrift.protocol.TType.STRUCT, (short)2);
 
-    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new insert_argsStandardSchemeFactory();
-    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new insert_argsTupleSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new openWrite_argsStandardSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new openWrite_argsTupleSchemeFactory();
 
-    public java.nio.ByteBuffer data; // required
+    public long mbId; // required
+    public Metadata mbMetadata; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
-      DATA((short)1, "data");
+      MB_ID((short)1, "mbId"),
+      MB_METADATA((short)2, "mbMetadata");
 
       private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
 
@@ -1789,8 +8200,10 @@ public class EdgeService {
        */
       public static _Fields findByThriftId(int fieldId) {
         switch(fieldId) {
-          case 1: // DATA
-            return DATA;
+          case 1: // MB_ID
+            return MB_ID;
+          case 2: // MB_METADATA
+            return MB_METADATA;
           default:
             return null;
         }
@@ -1831,88 +8244,116 @@ public class EdgeService {
     }
 
     // isset id assignments
+    private static final int __MBID_ISSET_ID = 0;
+    private byte __isset_bitfield = 0;
     public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
     static {
       java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
-      tmpMap.put(_Fields.DATA, new org.apache.thrift.meta_data.FieldMetaData("data", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING          , true)));
+      tmpMap.put(_Fields.MB_ID, new org.apache.thrift.meta_data.FieldMetaData("mbId", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+      tmpMap.put(_Fields.MB_METADATA, new org.apache.thrift.meta_data.FieldMetaData("mbMetadata", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, Metadata.class)));
       metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(insert_args.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(openWrite_args.class, metaDataMap);
     }
 
-    public insert_args() {
+    public openWrite_args() {
     }
 
-    public insert_args(
-      java.nio.ByteBuffer data)
+    public openWrite_args(
+      long mbId,
+      Metadata mbMetadata)
     {
       this();
-      this.data = org.apache.thrift.TBaseHelper.copyBinary(data);
+      this.mbId = mbId;
+      setMbIdIsSet(true);
+      this.mbMetadata = mbMetadata;
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public insert_args(insert_args other) {
-      if (other.isSetData()) {
-        this.data = org.apache.thrift.TBaseHelper.copyBinary(other.data);
+    public openWrite_args(openWrite_args other) {
+      __isset_bitfield = other.__isset_bitfield;
+      this.mbId = other.mbId;
+      if (other.isSetMbMetadata()) {
+        this.mbMetadata = new Metadata(other.mbMetadata);
       }
     }
 
-    public insert_args deepCopy() {
-      return new insert_args(this);
+    public openWrite_args deepCopy() {
+      return new openWrite_args(this);
     }
 
     @Override
     public void clear() {
-      this.data = null;
+      setMbIdIsSet(false);
+      this.mbId = 0;
+      this.mbMetadata = null;
     }
 
-    public byte[] getData() {
-      setData(org.apache.thrift.TBaseHelper.rightSize(data));
-      return data == null ? null : data.array();
+    public long getMbId() {
+      return this.mbId;
     }
 
-    public java.nio.ByteBuffer bufferForData() {
-      return org.apache.thrift.TBaseHelper.copyBinary(data);
+    public openWrite_args setMbId(long mbId) {
+      this.mbId = mbId;
+      setMbIdIsSet(true);
+      return this;
     }
 
-    public insert_args setData(byte[] data) {
-      this.data = data == null ? (java.nio.ByteBuffer)null : java.nio.ByteBuffer.wrap(data.clone());
-      return this;
+    public void unsetMbId() {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __MBID_ISSET_ID);
     }
 
-    public insert_args setData(java.nio.ByteBuffer data) {
-      this.data = org.apache.thrift.TBaseHelper.copyBinary(data);
+    /** Returns true if field mbId is set (has been assigned a value) and false otherwise */
+    public boolean isSetMbId() {
+      return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __MBID_ISSET_ID);
+    }
+
+    public void setMbIdIsSet(boolean value) {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __MBID_ISSET_ID, value);
+    }
+
+    public Metadata getMbMetadata() {
+      return this.mbMetadata;
+    }
+
+    public openWrite_args setMbMetadata(Metadata mbMetadata) {
+      this.mbMetadata = mbMetadata;
       return this;
     }
 
-    public void unsetData() {
-      this.data = null;
+    public void unsetMbMetadata() {
+      this.mbMetadata = null;
     }
 
-    /** Returns true if field data is set (has been assigned a value) and false otherwise */
-    public boolean isSetData() {
-      return this.data != null;
+    /** Returns true if field mbMetadata is set (has been assigned a value) and false otherwise */
+    public boolean isSetMbMetadata() {
+      return this.mbMetadata != null;
     }
 
-    public void setDataIsSet(boolean value) {
+    public void setMbMetadataIsSet(boolean value) {
       if (!value) {
-        this.data = null;
+        this.mbMetadata = null;
       }
     }
 
     public void setFieldValue(_Fields field, java.lang.Object value) {
       switch (field) {
-      case DATA:
+      case MB_ID:
         if (value == null) {
-          unsetData();
+          unsetMbId();
         } else {
-          if (value instanceof byte[]) {
-            setData((byte[])value);
-          } else {
-            setData((java.nio.ByteBuffer)value);
-          }
+          setMbId((java.lang.Long)value);
+        }
+        break;
+
+      case MB_METADATA:
+        if (value == null) {
+          unsetMbMetadata();
+        } else {
+          setMbMetadata((Metadata)value);
         }
         break;
 
@@ -1921,8 +8362,11 @@ public class EdgeService {
 
     public java.lang.Object getFieldValue(_Fields field) {
       switch (field) {
-      case DATA:
-        return getData();
+      case MB_ID:
+        return getMbId();
+
+      case MB_METADATA:
+        return getMbMetadata();
 
       }
       throw new java.lang.IllegalStateException();
@@ -1935,8 +8379,10 @@ public class EdgeService {
       }
 
       switch (field) {
-      case DATA:
-        return isSetData();
+      case MB_ID:
+        return isSetMbId();
+      case MB_METADATA:
+        return isSetMbMetadata();
       }
       throw new java.lang.IllegalStateException();
     }
@@ -1945,23 +8391,32 @@ public class EdgeService {
     public boolean equals(java.lang.Object that) {
       if (that == null)
         return false;
-      if (that instanceof insert_args)
-        return this.equals((insert_args)that);
+      if (that instanceof openWrite_args)
+        return this.equals((openWrite_args)that);
       return false;
     }
 
-    public boolean equals(insert_args that) {
+    public boolean equals(openWrite_args that) {
       if (that == null)
         return false;
       if (this == that)
         return true;
 
-      boolean this_present_data = true && this.isSetData();
-      boolean that_present_data = true && that.isSetData();
-      if (this_present_data || that_present_data) {
-        if (!(this_present_data && that_present_data))
+      boolean this_present_mbId = true;
+      boolean that_present_mbId = true;
+      if (this_present_mbId || that_present_mbId) {
+        if (!(this_present_mbId && that_present_mbId))
           return false;
-        if (!this.data.equals(that.data))
+        if (this.mbId != that.mbId)
+          return false;
+      }
+
+      boolean this_present_mbMetadata = true && this.isSetMbMetadata();
+      boolean that_present_mbMetadata = true && that.isSetMbMetadata();
+      if (this_present_mbMetadata || that_present_mbMetadata) {
+        if (!(this_present_mbMetadata && that_present_mbMetadata))
+          return false;
+        if (!this.mbMetadata.equals(that.mbMetadata))
           return false;
       }
 
@@ -1972,27 +8427,39 @@ public class EdgeService {
     public int hashCode() {
       int hashCode = 1;
 
-      hashCode = hashCode * 8191 + ((isSetData()) ? 131071 : 524287);
-      if (isSetData())
-        hashCode = hashCode * 8191 + data.hashCode();
+      hashCode = hashCode * 8191 + org.apache.thrift.TBaseHelper.hashCode(mbId);
+
+      hashCode = hashCode * 8191 + ((isSetMbMetadata()) ? 131071 : 524287);
+      if (isSetMbMetadata())
+        hashCode = hashCode * 8191 + mbMetadata.hashCode();
 
       return hashCode;
     }
 
     @Override
-    public int compareTo(insert_args other) {
+    public int compareTo(openWrite_args other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
 
-      lastComparison = java.lang.Boolean.valueOf(isSetData()).compareTo(other.isSetData());
+      lastComparison = java.lang.Boolean.valueOf(isSetMbId()).compareTo(other.isSetMbId());
       if (lastComparison != 0) {
         return lastComparison;
       }
-      if (isSetData()) {
-        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.data, other.data);
+      if (isSetMbId()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.mbId, other.mbId);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = java.lang.Boolean.valueOf(isSetMbMetadata()).compareTo(other.isSetMbMetadata());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetMbMetadata()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.mbMetadata, other.mbMetadata);
         if (lastComparison != 0) {
           return lastComparison;
         }
@@ -2014,14 +8481,18 @@ public class EdgeService {
 
     @Override
     public java.lang.String toString() {
-      java.lang.StringBuilder sb = new java.lang.StringBuilder("insert_args(");
+      java.lang.StringBuilder sb = new java.lang.StringBuilder("openWrite_args(");
       boolean first = true;
 
-      sb.append("data:");
-      if (this.data == null) {
+      sb.append("mbId:");
+      sb.append(this.mbId);
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("mbMetadata:");
+      if (this.mbMetadata == null) {
         sb.append("null");
       } else {
-        org.apache.thrift.TBaseHelper.toString(this.data, sb);
+        sb.append(this.mbMetadata);
       }
       first = false;
       sb.append(")");
@@ -2031,6 +8502,9 @@ public class EdgeService {
     public void validate() throws org.apache.thrift.TException {
       // check for required fields
       // check for sub-struct validity
+      if (mbMetadata != null) {
+        mbMetadata.validate();
+      }
     }
 
     private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
@@ -2043,21 +8517,23 @@ public class EdgeService {
 
     private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, java.lang.ClassNotFoundException {
       try {
+        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+        __isset_bitfield = 0;
         read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
       } catch (org.apache.thrift.TException te) {
         throw new java.io.IOException(te);
       }
     }
 
-    private static class insert_argsStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
-      public insert_argsStandardScheme getScheme() {
-        return new insert_argsStandardScheme();
+    private static class openWrite_argsStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public openWrite_argsStandardScheme getScheme() {
+        return new openWrite_argsStandardScheme();
       }
     }
 
-    private static class insert_argsStandardScheme extends org.apache.thrift.scheme.StandardScheme<insert_args> {
+    private static class openWrite_argsStandardScheme extends org.apache.thrift.scheme.StandardScheme<openWrite_args> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, insert_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, openWrite_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -2067,10 +8543,19 @@ public class EdgeService {
             break;
           }
           switch (schemeField.id) {
-            case 1: // DATA
-              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
-                struct.data = iprot.readBinary();
-                struct.setDataIsSet(true);
+            case 1: // MB_ID
+              if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+                struct.mbId = iprot.readI64();
+                struct.setMbIdIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 2: // MB_METADATA
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.mbMetadata = new Metadata();
+                struct.mbMetadata.read(iprot);
+                struct.setMbMetadataIsSet(true);
               } else { 
                 org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
               }
@@ -2086,13 +8571,16 @@ public class EdgeService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, insert_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, openWrite_args struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
-        if (struct.data != null) {
-          oprot.writeFieldBegin(DATA_FIELD_DESC);
-          oprot.writeBinary(struct.data);
+        oprot.writeFieldBegin(MB_ID_FIELD_DESC);
+        oprot.writeI64(struct.mbId);
+        oprot.writeFieldEnd();
+        if (struct.mbMetadata != null) {
+          oprot.writeFieldBegin(MB_METADATA_FIELD_DESC);
+          struct.mbMetadata.write(oprot);
           oprot.writeFieldEnd();
         }
         oprot.writeFieldStop();
@@ -2101,34 +8589,45 @@ public class EdgeService {
 
     }
 
-    private static class insert_argsTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
-      public insert_argsTupleScheme getScheme() {
-        return new insert_argsTupleScheme();
+    private static class openWrite_argsTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public openWrite_argsTupleScheme getScheme() {
+        return new openWrite_argsTupleScheme();
       }
     }
 
-    private static class insert_argsTupleScheme extends org.apache.thrift.scheme.TupleScheme<insert_args> {
+    private static class openWrite_argsTupleScheme extends org.apache.thrift.scheme.TupleScheme<openWrite_args> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, insert_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, openWrite_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TTupleProtocol oprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
         java.util.BitSet optionals = new java.util.BitSet();
-        if (struct.isSetData()) {
+        if (struct.isSetMbId()) {
           optionals.set(0);
         }
-        oprot.writeBitSet(optionals, 1);
-        if (struct.isSetData()) {
-          oprot.writeBinary(struct.data);
+        if (struct.isSetMbMetadata()) {
+          optionals.set(1);
+        }
+        oprot.writeBitSet(optionals, 2);
+        if (struct.isSetMbId()) {
+          oprot.writeI64(struct.mbId);
+        }
+        if (struct.isSetMbMetadata()) {
+          struct.mbMetadata.write(oprot);
         }
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, insert_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, openWrite_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
-        java.util.BitSet incoming = iprot.readBitSet(1);
+        java.util.BitSet incoming = iprot.readBitSet(2);
         if (incoming.get(0)) {
-          struct.data = iprot.readBinary();
-          struct.setDataIsSet(true);
+          struct.mbId = iprot.readI64();
+          struct.setMbIdIsSet(true);
+        }
+        if (incoming.get(1)) {
+          struct.mbMetadata = new Metadata();
+          struct.mbMetadata.read(iprot);
+          struct.setMbMetadataIsSet(true);
         }
       }
     }
@@ -2138,15 +8637,15 @@ public class EdgeService {
     }
   }
 
-  public static class insert_result implements org.apache.thrift.TBase<insert_result, insert_result._Fields>, java.io.Serializable, Cloneable, Comparable<insert_result>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("insert_result");
+  public static class openWrite_result implements org.apache.thrift.TBase<openWrite_result, openWrite_result._Fields>, java.io.Serializable, Cloneable, Comparable<openWrite_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("openWrite_result");
 
-    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.BYTE, (short)0);
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRING, (short)0);
 
-    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new insert_resultStandardSchemeFactory();
-    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new insert_resultTupleSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new openWrite_resultStandardSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new openWrite_resultTupleSchemeFactory();
 
-    public byte success; // required
+    public java.lang.String success; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -2207,67 +8706,65 @@ public class EdgeService {
     }
 
     // isset id assignments
-    private static final int __SUCCESS_ISSET_ID = 0;
-    private byte __isset_bitfield = 0;
     public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
     static {
       java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
       tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.BYTE)));
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
       metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(insert_result.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(openWrite_result.class, metaDataMap);
     }
 
-    public insert_result() {
+    public openWrite_result() {
     }
 
-    public insert_result(
-      byte success)
+    public openWrite_result(
+      java.lang.String success)
     {
       this();
       this.success = success;
-      setSuccessIsSet(true);
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public insert_result(insert_result other) {
-      __isset_bitfield = other.__isset_bitfield;
-      this.success = other.success;
+    public openWrite_result(openWrite_result other) {
+      if (other.isSetSuccess()) {
+        this.success = other.success;
+      }
     }
 
-    public insert_result deepCopy() {
-      return new insert_result(this);
+    public openWrite_result deepCopy() {
+      return new openWrite_result(this);
     }
 
     @Override
     public void clear() {
-      setSuccessIsSet(false);
-      this.success = 0;
+      this.success = null;
     }
 
-    public byte getSuccess() {
+    public java.lang.String getSuccess() {
       return this.success;
     }
 
-    public insert_result setSuccess(byte success) {
+    public openWrite_result setSuccess(java.lang.String success) {
       this.success = success;
-      setSuccessIsSet(true);
       return this;
     }
 
     public void unsetSuccess() {
-      __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __SUCCESS_ISSET_ID);
+      this.success = null;
     }
 
     /** Returns true if field success is set (has been assigned a value) and false otherwise */
     public boolean isSetSuccess() {
-      return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __SUCCESS_ISSET_ID);
+      return this.success != null;
     }
 
     public void setSuccessIsSet(boolean value) {
-      __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __SUCCESS_ISSET_ID, value);
+      if (!value) {
+        this.success = null;
+      }
     }
 
     public void setFieldValue(_Fields field, java.lang.Object value) {
@@ -2276,7 +8773,7 @@ public class EdgeService {
         if (value == null) {
           unsetSuccess();
         } else {
-          setSuccess((java.lang.Byte)value);
+          setSuccess((java.lang.String)value);
         }
         break;
 
@@ -2309,23 +8806,23 @@ public class EdgeService {
     public boolean equals(java.lang.Object that) {
       if (that == null)
         return false;
-      if (that instanceof insert_result)
-        return this.equals((insert_result)that);
+      if (that instanceof openWrite_result)
+        return this.equals((openWrite_result)that);
       return false;
     }
 
-    public boolean equals(insert_result that) {
+    public boolean equals(openWrite_result that) {
       if (that == null)
         return false;
       if (this == that)
         return true;
 
-      boolean this_present_success = true;
-      boolean that_present_success = true;
+      boolean this_present_success = true && this.isSetSuccess();
+      boolean that_present_success = true && that.isSetSuccess();
       if (this_present_success || that_present_success) {
         if (!(this_present_success && that_present_success))
           return false;
-        if (this.success != that.success)
+        if (!this.success.equals(that.success))
           return false;
       }
 
@@ -2336,13 +8833,15 @@ public class EdgeService {
     public int hashCode() {
       int hashCode = 1;
 
-      hashCode = hashCode * 8191 + (int) (success);
+      hashCode = hashCode * 8191 + ((isSetSuccess()) ? 131071 : 524287);
+      if (isSetSuccess())
+        hashCode = hashCode * 8191 + success.hashCode();
 
       return hashCode;
     }
 
     @Override
-    public int compareTo(insert_result other) {
+    public int compareTo(openWrite_result other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
@@ -2376,11 +8875,15 @@ public class EdgeService {
 
     @Override
     public java.lang.String toString() {
-      java.lang.StringBuilder sb = new java.lang.StringBuilder("insert_result(");
+      java.lang.StringBuilder sb = new java.lang.StringBuilder("openWrite_result(");
       boolean first = true;
 
       sb.append("success:");
-      sb.append(this.success);
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.success);
+      }
       first = false;
       sb.append(")");
       return sb.toString();
@@ -2401,23 +8904,21 @@ public class EdgeService {
 
     private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, java.lang.ClassNotFoundException {
       try {
-        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
-        __isset_bitfield = 0;
         read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
       } catch (org.apache.thrift.TException te) {
         throw new java.io.IOException(te);
       }
     }
 
-    private static class insert_resultStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
-      public insert_resultStandardScheme getScheme() {
-        return new insert_resultStandardScheme();
+    private static class openWrite_resultStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public openWrite_resultStandardScheme getScheme() {
+        return new openWrite_resultStandardScheme();
       }
     }
 
-    private static class insert_resultStandardScheme extends org.apache.thrift.scheme.StandardScheme<insert_result> {
+    private static class openWrite_resultStandardScheme extends org.apache.thrift.scheme.StandardScheme<openWrite_result> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, insert_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, openWrite_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -2428,8 +8929,8 @@ public class EdgeService {
           }
           switch (schemeField.id) {
             case 0: // SUCCESS
-              if (schemeField.type == org.apache.thrift.protocol.TType.BYTE) {
-                struct.success = iprot.readByte();
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+                struct.success = iprot.readString();
                 struct.setSuccessIsSet(true);
               } else { 
                 org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
@@ -2446,13 +8947,13 @@ public class EdgeService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, insert_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, openWrite_result struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
-        if (struct.isSetSuccess()) {
+        if (struct.success != null) {
           oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
-          oprot.writeByte(struct.success);
+          oprot.writeString(struct.success);
           oprot.writeFieldEnd();
         }
         oprot.writeFieldStop();
@@ -2461,16 +8962,16 @@ public class EdgeService {
 
     }
 
-    private static class insert_resultTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
-      public insert_resultTupleScheme getScheme() {
-        return new insert_resultTupleScheme();
+    private static class openWrite_resultTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public openWrite_resultTupleScheme getScheme() {
+        return new openWrite_resultTupleScheme();
       }
     }
 
-    private static class insert_resultTupleScheme extends org.apache.thrift.scheme.TupleScheme<insert_result> {
+    private static class openWrite_resultTupleScheme extends org.apache.thrift.scheme.TupleScheme<openWrite_result> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, insert_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, openWrite_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TTupleProtocol oprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
         java.util.BitSet optionals = new java.util.BitSet();
         if (struct.isSetSuccess()) {
@@ -2478,16 +8979,16 @@ public class EdgeService {
         }
         oprot.writeBitSet(optionals, 1);
         if (struct.isSetSuccess()) {
-          oprot.writeByte(struct.success);
+          oprot.writeString(struct.success);
         }
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, insert_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, openWrite_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
         java.util.BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
-          struct.success = iprot.readByte();
+          struct.success = iprot.readString();
           struct.setSuccessIsSet(true);
         }
       }
@@ -2498,22 +8999,25 @@ public class EdgeService {
     }
   }
 
-  public static class add_args implements org.apache.thrift.TBase<add_args, add_args._Fields>, java.io.Serializable, Cloneable, Comparable<add_args>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("add_args");
+  public static class writeChunk_args implements org.apache.thrift.TBase<writeChunk_args, writeChunk_args._Fields>, java.io.Serializable, Cloneable, Comparable<writeChunk_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("writeChunk_args");
 
-    private static final org.apache.thrift.protocol.TField NUM1_FIELD_DESC = new org.apache.thrift.protocol.TField("num1", org.apache.thrift.protocol.TType.I32, (short)1);
-    private static final org.apache.thrift.protocol.TField NUM2_FIELD_DESC = new org.apache.thrift.protocol.TField("num2", org.apache.thrift.protocol.TType.I32, (short)2);
+    private static final org.apache.thrift.protocol.TField TRANSFER_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("transferId", org.apache.thrift.protocol.TType.STRING, (short)1);
+    private static final org.apache.thrift.protocol.TField OFFSET_FIELD_DESC = new org.apache.thrift.protocol.TField("offset", org.apache.thrift.protocol.TType.I64, (short)2);
+    private static final org.apache.thrift.protocol.TField DATA_FIELD_DESC = new org.apache.thrift.protocol.TField("data", org.apache.thrift.protocol.TType.STRING, (short)3);
 
-    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new add_argsStandardSchemeFactory();
-    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new add_argsTupleSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new writeChunk_argsStandardSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new writeChunk_argsTupleSchemeFactory();
 
-    public int num1; // required
-    public int num2; // required
+    public java.lang.String transferId; // required
+    public long offset; // required
+    public java.nio.ByteBuffer data; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
-      NUM1((short)1, "num1"),
-      NUM2((short)2, "num2");
+      TRANSFER_ID((short)1, "transferId"),
+      OFFSET((short)2, "offset"),
+      DATA((short)3, "data");
 
       private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
 
@@ -2528,10 +9032,12 @@ public class EdgeService {
        */
       public static _Fields findByThriftId(int fieldId) {
         switch(fieldId) {
-          case 1: // NUM1
-            return NUM1;
-          case 2: // NUM2
-            return NUM2;
+          case 1: // TRANSFER_ID
+            return TRANSFER_ID;
+          case 2: // OFFSET
+            return OFFSET;
+          case 3: // DATA
+            return DATA;
           default:
             return null;
         }
@@ -2572,116 +9078,170 @@ public class EdgeService {
     }
 
     // isset id assignments
-    private static final int __NUM1_ISSET_ID = 0;
-    private static final int __NUM2_ISSET_ID = 1;
+    private static final int __OFFSET_ISSET_ID = 0;
     private byte __isset_bitfield = 0;
     public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
     static {
       java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
-      tmpMap.put(_Fields.NUM1, new org.apache.thrift.meta_data.FieldMetaData("num1", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
-      tmpMap.put(_Fields.NUM2, new org.apache.thrift.meta_data.FieldMetaData("num2", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
+      tmpMap.put(_Fields.TRANSFER_ID, new org.apache.thrift.meta_data.FieldMetaData("transferId", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+      tmpMap.put(_Fields.OFFSET, new org.apache.thrift.meta_data.FieldMetaData("offset", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+      tmpMap.put(_Fields.DATA, new org.apache.thrift.meta_data.FieldMetaData("data", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING          , true)));
       metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(add_args.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(writeChunk_args.class, metaDataMap);
     }
 
-    public add_args() {
+    public writeChunk_args() {
     }
 
-    public add_args(
-      int num1,
-      int num2)
+    public writeChunk_args(
+      java.lang.String transferId,
+      long offset,
+      java.nio.ByteBuffer data)
     {
       this();
-      this.num1 = num1;
-      setNum1IsSet(true);
-      this.num2 = num2;
-      setNum2IsSet(true);
+      this.transferId = transferId;
+      this.offset = offset;
+      setOffsetIsSet(true);
+      this.data = org.apache.thrift.TBaseHelper.copyBinary(data);
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public add_args(add_args other) {
+    public writeChunk_args(writeChunk_args other) {
       __isset_bitfield = other.__isset_bitfield;
-      this.num1 = other.num1;
-      this.num2 = other.num2;
+      if (other.isSetTransferId()) {
+        this.transferId = other.transferId;
+      }
+      this.offset = other.offset;
+      if (other.isSetData()) {
+        this.data = org.apache.thrift.TBaseHelper.copyBinary(other.data);
+      }
     }
 
-    public add_args deepCopy() {
-      return new add_args(this);
+    public writeChunk_args deepCopy() {
+      return new writeChunk_args(this);
     }
 
     @Override
     public void clear() {
-      setNum1IsSet(false);
-      this.num1 = 0;
-      setNum2IsSet(false);
-      this.num2 = 0;
+      this.transferId = null;
+      setOffsetIsSet(false);
+      this.offset = 0;
+      this.data = null;
     }
 
-    public int getNum1() {
-      return this.num1;
+    public java.lang.String getTransferId() {
+      return this.transferId;
     }
 
-    public add_args setNum1(int num1) {
-      this.num1 = num1;
-      setNum1IsSet(true);
+    public writeChunk_args setTransferId(java.lang.String transferId) {
+      this.transferId = transferId;
       return this;
     }
 
-    public void unsetNum1() {
-      __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __NUM1_ISSET_ID);
+    public void unsetTransferId() {
+      this.transferId = null;
     }
 
-    /** Returns true if field num1 is set (has been assigned a value) and false otherwise */
-    public boolean isSetNum1() {
-      return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __NUM1_ISSET_ID);
+    /** Returns true if field transferId is set (has been assigned a value) and false otherwise */
+    public boolean isSetTransferId() {
+      return this.transferId != null;
     }
 
-    public void setNum1IsSet(boolean value) {
-      __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __NUM1_ISSET_ID, value);
+    public void setTransferIdIsSet(boolean value) {
+      if (!value) {
+        this.transferId = null;
+      }
     }
 
-    public int getNum2() {
-      return this.num2;
+    public long getOffset() {
+      return this.offset;
     }
 
-    public add_args setNum2(int num2) {
-      this.num2 = num2;
-      setNum2IsSet(true);
+    public writeChunk_args setOffset(long offset) {
+      this.offset = offset;
+      setOffsetIsSet(true);
       return this;
     }
 
-    public void unsetNum2() {
-      __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __NUM2_ISSET_ID);
+    public void unsetOffset() {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __OFFSET_ISSET_ID);
     }
 
-    /** Returns true if field num2 is set (has been assigned a value) and false otherwise */
-    public boolean isSetNum2() {
-      return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __NUM2_ISSET_ID);
+    /** Returns true if field offset is set (has been assigned a value) and false otherwise */
+    public boolean isSetOffset() {
+      return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __OFFSET_ISSET_ID);
     }
 
-    public void setNum2IsSet(boolean value) {
-      __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __NUM2_ISSET_ID, value);
+    public void setOffsetIsSet(boolean value) {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __OFFSET_ISSET_ID, value);
+    }
+
+    public byte[] getData() {
+      setData(org.apache.thrift.TBaseHelper.rightSize(data));
+      return data == null ? null : data.array();
+    }
+
+    public java.nio.ByteBuffer bufferForData() {
+      return org.apache.thrift.TBaseHelper.copyBinary(data);
+    }
+
+    public writeChunk_args setData(byte[] data) {
+      this.data = data == null ? (java.nio.ByteBuffer)null : java.nio.ByteBuffer.wrap(data.clone());
+      return this;
+    }
+
+    public writeChunk_args setData(java.nio.ByteBuffer data) {
+      this.data = org.apache.thrift.TBaseHelper.copyBinary(data);
+      return this;
+    }
+
+    public void unsetData() {
+      this.data = null;
+    }
+
+    /** Returns true if field data is set (has been assigned a value) and false otherwise */
+    public boolean isSetData() {
+      return this.data != null;
+    }
+
+    public void setDataIsSet(boolean value) {
+      if (!value) {
+        this.data = null;
+      }
     }
 
     public void setFieldValue(_Fields field, java.lang.Object value) {
       switch (field) {
-      case NUM1:
+      case TRANSFER_ID:
         if (value == null) {
-          unsetNum1();
+          unsetTransferId();
         } else {
-          setNum1((java.lang.Integer)value);
+          setTransferId((java.lang.String)value);
         }
         break;
 
-      case NUM2:
+      case OFFSET:
         if (value == null) {
-          unsetNum2();
+          unsetOffset();
         } else {
-          setNum2((java.lang.Integer)value);
+          setOffset((java.lang.Long)value);
+        }
+        break;
+
+      case DATA:
+        if (value == null) {
+          unsetData();
+        } else {
+          if (value instanceof byte[]) {
+            setData((byte[])value);
+          } else {
+            setData((java.nio.ByteBuffer)value);
+          }
         }
         break;
 
@@ -2690,11 +9250,14 @@ public class EdgeService {
 
     public java.lang.Object getFieldValue(_Fields field) {
       switch (field) {
-      case NUM1:
-        return getNum1();
+      case TRANSFER_ID:
+        return getTransferId();
 
-      case NUM2:
-        return getNum2();
+      case OFFSET:
+        return getOffset();
+
+      case DATA:
+        return getData();
 
       }
       throw new java.lang.IllegalStateException();
@@ -2707,10 +9270,12 @@ public class EdgeService {
       }
 
       switch (field) {
-      case NUM1:
-        return isSetNum1();
-      case NUM2:
-        return isSetNum2();
+      case TRANSFER_ID:
+        return isSetTransferId();
+      case OFFSET:
+        return isSetOffset();
+      case DATA:
+        return isSetData();
       }
       throw new java.lang.IllegalStateException();
     }
@@ -2719,32 +9284,41 @@ public class EdgeService {
     public boolean equals(java.lang.Object that) {
       if (that == null)
         return false;
-      if (that instanceof add_args)
-        return this.equals((add_args)that);
+      if (that instanceof writeChunk_args)
+        return this.equals((writeChunk_args)that);
       return false;
     }
 
-    public boolean equals(add_args that) {
+    public boolean equals(writeChunk_args that) {
       if (that == null)
         return false;
       if (this == that)
         return true;
 
-      boolean this_present_num1 = true;
-      boolean that_present_num1 = true;
-      if (this_present_num1 || that_present_num1) {
-        if (!(this_present_num1 && that_present_num1))
+      boolean this_present_transferId = true && this.isSetTransferId();
+      boolean that_present_transferId = true && that.isSetTransferId();
+      if (this_present_transferId || that_present_transferId) {
+        if (!(this_present_transferId && that_present_transferId))
           return false;
-        if (this.num1 != that.num1)
+        if (!this.transferId.equals(that.transferId))
           return false;
       }
 
-      boolean this_present_num2 = true;
-      boolean that_present_num2 = true;
-      if (this_present_num2 || that_present_num2) {
-        if (!(this_present_num2 && that_present_num2))
+      boolean this_present_offset = true;
+      boolean that_present_offset = true;
+      if (this_present_offset || that_present_offset) {
+        if (!(this_present_offset && that_present_offset))
           return false;
-        if (this.num2 != that.num2)
+        if (this.offset != that.offset)
+          return false;
+      }
+
+      boolean this_present_data = true && this.isSetData();
+      boolean that_present_data = true && that.isSetData();
+      if (this_present_data || that_present_data) {
+        if (!(this_present_data && that_present_data))
+          return false;
+        if (!this.data.equals(that.data))
           return false;
       }
 
@@ -2755,37 +9329,53 @@ public class EdgeService {
     public int hashCode() {
       int hashCode = 1;
 
-      hashCode = hashCode * 8191 + num1;
+      hashCode = hashCode * 8191 + ((isSetTransferId()) ? 131071 : 524287);
+      if (isSetTransferId())
+        hashCode = hashCode * 8191 + transferId.hashCode();
 
-      hashCode = hashCode * 8191 + num2;
+      hashCode = hashCode * 8191 + org.apache.thrift.TBaseHelper.hashCode(offset);
+
+      hashCode = hashCode * 8191 + ((isSetData()) ? 131071 : 524287);
+      if (isSetData())
+        hashCode = hashCode * 8191 + data.hashCode();
 
       return hashCode;
     }
 
     @Override
-    public int compareTo(add_args other) {
+    public int compareTo(writeChunk_args other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
 
-      lastComparison = java.lang.Boolean.valueOf(isSetNum1()).compareTo(other.isSetNum1());
+      lastComparison = java.lang.Boolean.valueOf(isSetTransferId()).compareTo(other.isSetTransferId());
       if (lastComparison != 0) {
         return lastComparison;
       }
-      if (isSetNum1()) {
-        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.num1, other.num1);
+      if (isSetTransferId()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.transferId, other.transferId);
         if (lastComparison != 0) {
           return lastComparison;
         }
       }
-      lastComparison = java.lang.Boolean.valueOf(isSetNum2()).compareTo(other.isSetNum2());
+      lastComparison = java.lang.Boolean.valueOf(isSetOffset()).compareTo(other.isSetOffset());
       if (lastComparison != 0) {
         return lastComparison;
       }
-      if (isSetNum2()) {
-        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.num2, other.num2);
+      if (isSetOffset()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.offset, other.offset);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = java.lang.Boolean.valueOf(isSetData()).compareTo(other.isSetData());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetData()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.data, other.data);
         if (lastComparison != 0) {
           return lastComparison;
         }
@@ -2807,15 +9397,27 @@ public class EdgeService {
 
     @Override
     public java.lang.String toString() {
-      java.lang.StringBuilder sb = new java.lang.StringBuilder("add_args(");
+      java.lang.StringBuilder sb = new java.lang.StringBuilder("writeChunk_args(");
       boolean first = true;
 
-      sb.append("num1:");
-      sb.append(this.num1);
+      sb.append("transferId:");
+      if (this.transferId == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.transferId);
+      }
       first = false;
       if (!first) sb.append(", ");
-      sb.append("num2:");
-      sb.append(this.num2);
+      sb.append("offset:");
+      sb.append(this.offset);
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("data:");
+      if (this.data == null) {
+        sb.append("null");
+      } else {
+        org.apache.thrift.TBaseHelper.toString(this.data, sb);
+      }
       first = false;
       sb.append(")");
       return sb.toString();
@@ -2844,15 +9446,15 @@ public class EdgeService {
       }
     }
 
-    private static class add_argsStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
-      public add_argsStandardScheme getScheme() {
-        return new add_argsStandardScheme();
+    private static class writeChunk_argsStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public writeChunk_argsStandardScheme getScheme() {
+        return new writeChunk_argsStandardScheme();
       }
     }
 
-    private static class add_argsStandardScheme extends org.apache.thrift.scheme.StandardScheme<add_args> {
+    private static class writeChunk_argsStandardScheme extends org.apache.thrift.scheme.StandardScheme<writeChunk_args> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, add_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, writeChunk_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -2862,18 +9464,26 @@ public class EdgeService {
             break;
           }
           switch (schemeField.id) {
-            case 1: // NUM1
-              if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
-                struct.num1 = iprot.readI32();
-                struct.setNum1IsSet(true);
+            case 1: // TRANSFER_ID
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+                struct.transferId = iprot.readString();
+                struct.setTransferIdIsSet(true);
               } else { 
                 org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
               }
               break;
-            case 2: // NUM2
-              if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
-                struct.num2 = iprot.readI32();
-                struct.setNum2IsSet(true);
+            case 2: // OFFSET
+              if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+                struct.offset = iprot.readI64();
+                struct.setOffsetIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 3: // DATA
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+                struct.data = iprot.readBinary();
+                struct.setDataIsSet(true);
               } else { 
                 org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
               }
@@ -2889,60 +9499,77 @@ public class EdgeService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, add_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, writeChunk_args struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
-        oprot.writeFieldBegin(NUM1_FIELD_DESC);
-        oprot.writeI32(struct.num1);
-        oprot.writeFieldEnd();
-        oprot.writeFieldBegin(NUM2_FIELD_DESC);
-        oprot.writeI32(struct.num2);
+        if (struct.transferId != null) {
+          oprot.writeFieldBegin(TRANSFER_ID_FIELD_DESC);
+          oprot.writeString(struct.transferId);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldBegin(OFFSET_FIELD_DESC);
+        oprot.writeI64(struct.offset);
         oprot.writeFieldEnd();
+        if (struct.data != null) {
+          oprot.writeFieldBegin(DATA_FIELD_DESC);
+          oprot.writeBinary(struct.data);
+          oprot.writeFieldEnd();
+        }
         oprot.writeFieldStop();
         oprot.writeStructEnd();
       }
 
     }
 
-    private static class add_argsTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
-      public add_argsTupleScheme getScheme() {
-        return new add_argsTupleScheme();
+    private static class writeChunk_argsTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public writeChunk_argsTupleScheme getScheme() {
+        return new writeChunk_argsTupleScheme();
       }
     }
 
-    private static class add_argsTupleScheme extends org.apache.thrift.scheme.TupleScheme<add_args> {
+    private static class writeChunk_argsTupleScheme extends org.apache.thrift.scheme.TupleScheme<writeChunk_args> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, add_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, writeChunk_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TTupleProtocol oprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
         java.util.BitSet optionals = new java.util.BitSet();
-        if (struct.isSetNum1()) {
+        if (struct.isSetTransferId()) {
           optionals.set(0);
         }
-        if (struct.isSetNum2()) {
+        if (struct.isSetOffset()) {
           optionals.set(1);
         }
-        oprot.writeBitSet(optionals, 2);
-        if (struct.isSetNum1()) {
-          oprot.writeI32(struct.num1);
+        if (struct.isSetData()) {
+          optionals.set(2);
         }
-        if (struct.isSetNum2()) {
-          oprot.writeI32(struct.num2);
+        oprot.writeBitSet(optionals, 3);
+        if (struct.isSetTransferId()) {
+          oprot.writeString(struct.transferId);
+        }
+        if (struct.isSetOffset()) {
+          oprot.writeI64(struct.offset);
+        }
+        if (struct.isSetData()) {
+          oprot.writeBinary(struct.data);
         }
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, add_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, writeChunk_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
-        java.util.BitSet incoming = iprot.readBitSet(2);
+        java.util.BitSet incoming = iprot.readBitSet(3);
         if (incoming.get(0)) {
-          struct.num1 = iprot.readI32();
-          struct.setNum1IsSet(true);
+          struct.transferId = iprot.readString();
+          struct.setTransferIdIsSet(true);
         }
         if (incoming.get(1)) {
-          struct.num2 = iprot.readI32();
-          struct.setNum2IsSet(true);
+          struct.offset = iprot.readI64();
+          struct.setOffsetIsSet(true);
+        }
+        if (incoming.get(2)) {
+          struct.data = iprot.readBinary();
+          struct.setDataIsSet(true);
         }
       }
     }
@@ -2952,15 +9579,15 @@ public class EdgeService {
     }
   }
 
-  public static class add_result implements org.apache.thrift.TBase<add_result, add_result._Fields>, java.io.Serializable, Cloneable, Comparable<add_result>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("add_result");
+  public static class writeChunk_result implements org.apache.thrift.TBase<writeChunk_result, writeChunk_result._Fields>, java.io.Serializable, Cloneable, Comparable<writeChunk_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("writeChunk_result");
 
-    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.I32, (short)0);
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.BYTE, (short)0);
 
-    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new add_resultStandardSchemeFactory();
-    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new add_resultTupleSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new writeChunk_resultStandardSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new writeChunk_resultTupleSchemeFactory();
 
-    public int success; // required
+    public byte success; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -3027,16 +9654,16 @@ public class EdgeService {
     static {
       java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
       tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.BYTE)));
       metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(add_result.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(writeChunk_result.class, metaDataMap);
     }
 
-    public add_result() {
+    public writeChunk_result() {
     }
 
-    public add_result(
-      int success)
+    public writeChunk_result(
+      byte success)
     {
       this();
       this.success = success;
@@ -3046,13 +9673,13 @@ public class EdgeService {
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public add_result(add_result other) {
+    public writeChunk_result(writeChunk_result other) {
       __isset_bitfield = other.__isset_bitfield;
       this.success = other.success;
     }
 
-    public add_result deepCopy() {
-      return new add_result(this);
+    public writeChunk_result deepCopy() {
+      return new writeChunk_result(this);
     }
 
     @Override
@@ -3061,11 +9688,11 @@ public class EdgeService {
       this.success = 0;
     }
 
-    public int getSuccess() {
+    public byte getSuccess() {
       return this.success;
     }
 
-    public add_result setSuccess(int success) {
+    public writeChunk_result setSuccess(byte success) {
       this.success = success;
       setSuccessIsSet(true);
       return this;
@@ -3090,7 +9717,7 @@ public class EdgeService {
         if (value == null) {
           unsetSuccess();
         } else {
-          setSuccess((java.lang.Integer)value);
+          setSuccess((java.lang.Byte)value);
         }
         break;
 
@@ -3123,12 +9750,12 @@ public class EdgeService {
     public boolean equals(java.lang.Object that) {
       if (that == null)
         return false;
-      if (that instanceof add_result)
-        return this.equals((add_result)that);
+      if (that instanceof writeChunk_result)
+        return this.equals((writeChunk_result)that);
       return false;
     }
 
-    public boolean equals(add_result that) {
+    public boolean equals(writeChunk_result that) {
       if (that == null)
         return false;
       if (this == that)
@@ -3150,13 +9777,13 @@ public class EdgeService {
     public int hashCode() {
       int hashCode = 1;
 
-      hashCode = hashCode * 8191 + success;
+      hashCode = hashCode * 8191 + (int) (success);
 
       return hashCode;
     }
 
     @Override
-    public int compareTo(add_result other) {
+    public int compareTo(writeChunk_result other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
@@ -3190,7 +9817,7 @@ public class EdgeService {
 
     @Override
     public java.lang.String toString() {
-      java.lang.StringBuilder sb = new java.lang.StringBuilder("add_result(");
+      java.lang.StringBuilder sb = new java.lang.StringBuilder("writeChunk_result(");
       boolean first = true;
 
       sb.append("success:");
@@ -3223,15 +9850,15 @@ public class EdgeService {
       }
     }
 
-    private static class add_resultStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
-      public add_resultStandardScheme getScheme() {
-        return new add_resultStandardScheme();
+    private static class writeChunk_resultStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public writeChunk_resultStandardScheme getScheme() {
+        return new writeChunk_resultStandardScheme();
       }
     }
 
-    private static class add_resultStandardScheme extends org.apache.thrift.scheme.StandardScheme<add_result> {
+    private static class writeChunk_resultStandardScheme extends org.apache.thrift.scheme.StandardScheme<writeChunk_result> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, add_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, writeChunk_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -3242,8 +9869,8 @@ public class EdgeService {
           }
           switch (schemeField.id) {
             case 0: // SUCCESS
-              if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
-                struct.success = iprot.readI32();
+              if (schemeField.type == org.apache.thrift.protocol.TType.BYTE) {
+                struct.success = iprot.readByte();
                 struct.setSuccessIsSet(true);
               } else { 
                 org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
@@ -3260,13 +9887,13 @@ public class EdgeService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, add_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, writeChunk_result struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
         if (struct.isSetSuccess()) {
           oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
-          oprot.writeI32(struct.success);
+          oprot.writeByte(struct.success);
           oprot.writeFieldEnd();
         }
         oprot.writeFieldStop();
@@ -3275,16 +9902,16 @@ public class EdgeService {
 
     }
 
-    private static class add_resultTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
-      public add_resultTupleScheme getScheme() {
-        return new add_resultTupleScheme();
+    private static class writeChunk_resultTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public writeChunk_resultTupleScheme getScheme() {
+        return new writeChunk_resultTupleScheme();
       }
     }
 
-    private static class add_resultTupleScheme extends org.apache.thrift.scheme.TupleScheme<add_result> {
+    private static class writeChunk_resultTupleScheme extends org.apache.thrift.scheme.TupleScheme<writeChunk_result> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, add_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, writeChunk_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TTupleProtocol oprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
         java.util.BitSet optionals = new java.util.BitSet();
         if (struct.isSetSuccess()) {
@@ -3292,16 +9919,16 @@ public class EdgeService {
         }
         oprot.writeBitSet(optionals, 1);
         if (struct.isSetSuccess()) {
-          oprot.writeI32(struct.success);
+          oprot.writeByte(struct.success);
         }
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, add_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, writeChunk_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
         java.util.BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
-          struct.success = iprot.readI32();
+          struct.success = iprot.readByte();
           struct.setSuccessIsSet(true);
         }
       }
@@ -3312,25 +9939,19 @@ public class EdgeService {
     }
   }
 
-  public static class write_args implements org.apache.thrift.TBase<write_args, write_args._Fields>, java.io.Serializable, Cloneable, Comparable<write_args>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("write_args");
+  public static class commitWrite_args implements org.apache.thrift.TBase<commitWrite_args, commitWrite_args._Fields>, java.io.Serializable, Cloneable, Comparable<commitWrite_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("commitWrite_args");
 
-    private static final org.apache.thrift.protocol.TField MB_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("mbId", org.apache.thrift.protocol.TType.I64, (short)1);
-    private static final org.apache.thrift.protocol.TField MB_METADATA_FIELD_DESC = new org.apache.thrift.protocol.TField("mbMetadata", org.apache.thrift.protocol.TType.STRUCT, (short)2);
-    private static final org.apache.thrift.protocol.TField MB_DATA_FIELD_DESC = new org.apache.thrift.protocol.TField("mbData", org.apache.thrift.protocol.TType.STRING, (short)3);
+    private static final org.apache.thrift.protocol.TField TRANSFER_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("transferId", org.apache.thrift.protocol.TType.STRING, (short)1);
 
-    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new write_argsStandardSchemeFactory();
-    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new write_argsTupleSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new commitWrite_argsStandardSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new commitWrite_argsTupleSchemeFactory();
 
-    public long mbId; // required
-    public Metadata mbMetadata; // required
-    public java.nio.ByteBuffer mbData; // required
+    public java.lang.String transferId; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
-      MB_ID((short)1, "mbId"),
-      MB_METADATA((short)2, "mbMetadata"),
-      MB_DATA((short)3, "mbData");
+      TRANSFER_ID((short)1, "transferId");
 
       private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
 
@@ -3345,12 +9966,8 @@ public class EdgeService {
        */
       public static _Fields findByThriftId(int fieldId) {
         switch(fieldId) {
-          case 1: // MB_ID
-            return MB_ID;
-          case 2: // MB_METADATA
-            return MB_METADATA;
-          case 3: // MB_DATA
-            return MB_DATA;
+          case 1: // TRANSFER_ID
+            return TRANSFER_ID;
           default:
             return null;
         }
@@ -3391,170 +10008,74 @@ public class EdgeService {
     }
 
     // isset id assignments
-    private static final int __MBID_ISSET_ID = 0;
-    private byte __isset_bitfield = 0;
     public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
     static {
       java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
-      tmpMap.put(_Fields.MB_ID, new org.apache.thrift.meta_data.FieldMetaData("mbId", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
-      tmpMap.put(_Fields.MB_METADATA, new org.apache.thrift.meta_data.FieldMetaData("mbMetadata", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, Metadata.class)));
-      tmpMap.put(_Fields.MB_DATA, new org.apache.thrift.meta_data.FieldMetaData("mbData", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING          , true)));
+      tmpMap.put(_Fields.TRANSFER_ID, new org.apache.thrift.meta_data.FieldMetaData("transferId", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
       metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(write_args.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(commitWrite_args.class, metaDataMap);
     }
 
-    public write_args() {
+    public commitWrite_args() {
     }
 
-    public write_args(
-      long mbId,
-      Metadata mbMetadata,
-      java.nio.ByteBuffer mbData)
+    public commitWrite_args(
+      java.lang.String transferId)
     {
       this();
-      this.mbId = mbId;
-      setMbIdIsSet(true);
-      this.mbMetadata = mbMetadata;
-      this.mbData = org.apache.thrift.TBaseHelper.copyBinary(mbData);
+      this.transferId = transferId;
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public write_args(write_args other) {
-      __isset_bitfield = other.__isset_bitfield;
-      this.mbId = other.mbId;
-      if (other.isSetMbMetadata()) {
-        this.mbMetadata = new Metadata(other.mbMetadata);
-      }
-      if (other.isSetMbData()) {
-        this.mbData = org.apache.thrift.TBaseHelper.copyBinary(other.mbData);
+    public commitWrite_args(commitWrite_args other) {
+      if (other.isSetTransferId()) {
+        this.transferId = other.transferId;
       }
     }
 
-    public write_args deepCopy() {
-      return new write_args(this);
+    public commitWrite_args deepCopy() {
+      return new commitWrite_args(this);
     }
 
     @Override
     public void clear() {
-      setMbIdIsSet(false);
-      this.mbId = 0;
-      this.mbMetadata = null;
-      this.mbData = null;
-    }
-
-    public long getMbId() {
-      return this.mbId;
-    }
-
-    public write_args setMbId(long mbId) {
-      this.mbId = mbId;
-      setMbIdIsSet(true);
-      return this;
-    }
-
-    public void unsetMbId() {
-      __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __MBID_ISSET_ID);
-    }
-
-    /** Returns true if field mbId is set (has been assigned a value) and false otherwise */
-    public boolean isSetMbId() {
-      return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __MBID_ISSET_ID);
-    }
-
-    public void setMbIdIsSet(boolean value) {
-      __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __MBID_ISSET_ID, value);
-    }
-
-    public Metadata getMbMetadata() {
-      return this.mbMetadata;
-    }
-
-    public write_args setMbMetadata(Metadata mbMetadata) {
-      this.mbMetadata = mbMetadata;
-      return this;
-    }
-
-    public void unsetMbMetadata() {
-      this.mbMetadata = null;
-    }
-
-    /** Returns true if field mbMetadata is set (has been assigned a value) and false otherwise */
-    public boolean isSetMbMetadata() {
-      return this.mbMetadata != null;
-    }
-
-    public void setMbMetadataIsSet(boolean value) {
-      if (!value) {
-        this.mbMetadata = null;
-      }
-    }
-
-    public byte[] getMbData() {
-      setMbData(org.apache.thrift.TBaseHelper.rightSize(mbData));
-      return mbData == null ? null : mbData.array();
-    }
-
-    public java.nio.ByteBuffer bufferForMbData() {
-      return org.apache.thrift.TBaseHelper.copyBinary(mbData);
+      this.transferId = null;
     }
 
-    public write_args setMbData(byte[] mbData) {
-      this.mbData = mbData == null ? (java.nio.ByteBuffer)null : java.nio.ByteBuffer.wrap(mbData.clone());
-      return this;
+    public java.lang.String getTransferId() {
+      return this.transferId;
     }
 
-    public write_args setMbData(java.nio.ByteBuffer mbData) {
-      this.mbData = org.apache.thrift.TBaseHelper.copyBinary(mbData);
+    public commitWrite_args setTransferId(java.lang.String transferId) {
+      this.transferId = transferId;
       return this;
     }
 
-    public void unsetMbData() {
-      this.mbData = null;
+    public void unsetTransferId() {
+      this.transferId = null;
     }
 
-    /** Returns true if field mbData is set (has been assigned a value) and false otherwise */
-    public boolean isSetMbData() {
-      return this.mbData != null;
+    /** Returns true if field transferId is set (has been assigned a value) and false otherwise */
+    public boolean isSetTransferId() {
+      return this.transferId != null;
     }
 
-    public void setMbDataIsSet(boolean value) {
+    public void setTransferIdIsSet(boolean value) {
       if (!value) {
-        this.mbData = null;
+        this.transferId = null;
       }
     }
 
     public void setFieldValue(_Fields field, java.lang.Object value) {
       switch (field) {
-      case MB_ID:
-        if (value == null) {
-          unsetMbId();
-        } else {
-          setMbId((java.lang.Long)value);
-        }
-        break;
-
-      case MB_METADATA:
-        if (value == null) {
-          unsetMbMetadata();
-        } else {
-          setMbMetadata((Metadata)value);
-        }
-        break;
-
-      case MB_DATA:
+      case TRANSFER_ID:
         if (value == null) {
-          unsetMbData();
+          unsetTransferId();
         } else {
-          if (value instanceof byte[]) {
-            setMbData((byte[])value);
-          } else {
-            setMbData((java.nio.ByteBuffer)value);
-          }
+          setTransferId((java.lang.String)value);
         }
         break;
 
@@ -3563,14 +10084,8 @@ public class EdgeService {
 
     public java.lang.Object getFieldValue(_Fields field) {
       switch (field) {
-      case MB_ID:
-        return getMbId();
-
-      case MB_METADATA:
-        return getMbMetadata();
-
-      case MB_DATA:
-        return getMbData();
+      case TRANSFER_ID:
+        return getTransferId();
 
       }
       throw new java.lang.IllegalStateException();
@@ -3583,12 +10098,8 @@ public class EdgeService {
       }
 
       switch (field) {
-      case MB_ID:
-        return isSetMbId();
-      case MB_METADATA:
-        return isSetMbMetadata();
-      case MB_DATA:
-        return isSetMbData();
+      case TRANSFER_ID:
+        return isSetTransferId();
       }
       throw new java.lang.IllegalStateException();
     }
@@ -3597,41 +10108,23 @@ public class EdgeService {
     public boolean equals(java.lang.Object that) {
       if (that == null)
         return false;
-      if (that instanceof write_args)
-        return this.equals((write_args)that);
+      if (that instanceof commitWrite_args)
+        return this.equals((commitWrite_args)that);
       return false;
     }
 
-    public boolean equals(write_args that) {
+    public boolean equals(commitWrite_args that) {
       if (that == null)
         return false;
       if (this == that)
         return true;
 
-      boolean this_present_mbId = true;
-      boolean that_present_mbId = true;
-      if (this_present_mbId || that_present_mbId) {
-        if (!(this_present_mbId && that_present_mbId))
-          return false;
-        if (this.mbId != that.mbId)
-          return false;
-      }
-
-      boolean this_present_mbMetadata = true && this.isSetMbMetadata();
-      boolean that_present_mbMetadata = true && that.isSetMbMetadata();
-      if (this_present_mbMetadata || that_present_mbMetadata) {
-        if (!(this_present_mbMetadata && that_present_mbMetadata))
-          return false;
-        if (!this.mbMetadata.equals(that.mbMetadata))
-          return false;
-      }
-
-      boolean this_present_mbData = true && this.isSetMbData();
-      boolean that_present_mbData = true && that.isSetMbData();
-      if (this_present_mbData || that_present_mbData) {
-        if (!(this_present_mbData && that_present_mbData))
+      boolean this_present_transferId = true && this.isSetTransferId();
+      boolean that_present_transferId = true && that.isSetTransferId();
+      if (this_present_transferId || that_present_transferId) {
+        if (!(this_present_transferId && that_present_transferId))
           return false;
-        if (!this.mbData.equals(that.mbData))
+        if (!this.transferId.equals(that.transferId))
           return false;
       }
 
@@ -3639,56 +10132,30 @@ public class EdgeService {
     }
 
     @Override
-    public int hashCode() {
-      int hashCode = 1;
-
-      hashCode = hashCode * 8191 + org.apache.thrift.TBaseHelper.hashCode(mbId);
-
-      hashCode = hashCode * 8191 + ((isSetMbMetadata()) ? 131071 : 524287);
-      if (isSetMbMetadata())
-        hashCode = hashCode * 8191 + mbMetadata.hashCode();
-
-      hashCode = hashCode * 8191 + ((isSetMbData()) ? 131071 : 524287);
-      if (isSetMbData())
-        hashCode = hashCode * 8191 + mbData.hashCode();
-
-      return hashCode;
-    }
-
-    @Override
-    public int compareTo(write_args other) {
-      if (!getClass().equals(other.getClass())) {
-        return getClass().getName().compareTo(other.getClass().getName());
-      }
-
-      int lastComparison = 0;
-
-      lastComparison = java.lang.Boolean.valueOf(isSetMbId()).compareTo(other.isSetMbId());
-      if (lastComparison != 0) {
-        return lastComparison;
-      }
-      if (isSetMbId()) {
-        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.mbId, other.mbId);
-        if (lastComparison != 0) {
-          return lastComparison;
-        }
-      }
-      lastComparison = java.lang.Boolean.valueOf(isSetMbMetadata()).compareTo(other.isSetMbMetadata());
-      if (lastComparison != 0) {
-        return lastComparison;
-      }
-      if (isSetMbMetadata()) {
-        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.mbMetadata, other.mbMetadata);
-        if (lastComparison != 0) {
-          return lastComparison;
-        }
+    public int hashCode() {
+      int hashCode = 1;
+
+      hashCode = hashCode * 8191 + ((isSetTransferId()) ? 131071 : 524287);
+      if (isSetTransferId())
+        hashCode = hashCode * 8191 + transferId.hashCode();
+
+      return hashCode;
+    }
+
+    @Override
+    public int compareTo(commitWrite_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
       }
-      lastComparison = java.lang.Boolean.valueOf(isSetMbData()).compareTo(other.isSetMbData());
+
+      int lastComparison = 0;
+
+      lastComparison = java.lang.Boolean.valueOf(isSetTransferId()).compareTo(other.isSetTransferId());
       if (lastComparison != 0) {
         return lastComparison;
       }
-      if (isSetMbData()) {
-        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.mbData, other.mbData);
+      if (isSetTransferId()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.transferId, other.transferId);
         if (lastComparison != 0) {
           return lastComparison;
         }
@@ -3710,26 +10177,14 @@ public class EdgeService {
 
     @Override
     public java.lang.String toString() {
-      java.lang.StringBuilder sb = new java.lang.StringBuilder("write_args(");
+      java.lang.StringBuilder sb = new java.lang.StringBuilder("commitWrite_args(");
       boolean first = true;
 
-      sb.append("mbId:");
-      sb.append(this.mbId);
-      first = false;
-      if (!first) sb.append(", ");
-      sb.append("mbMetadata:");
-      if (this.mbMetadata == null) {
-        sb.append("null");
-      } else {
-        sb.append(this.mbMetadata);
-      }
-      first = false;
-      if (!first) sb.append(", ");
-      sb.append("mbData:");
-      if (this.mbData == null) {
+      sb.append("transferId:");
+      if (this.transferId == null) {
         sb.append("null");
       } else {
-        org.apache.thrift.TBaseHelper.toString(this.mbData, sb);
+        sb.append(this.transferId);
       }
       first = false;
       sb.append(")");
@@ -3739,9 +10194,6 @@ public class EdgeService {
     public void validate() throws org.apache.thrift.TException {
       // check for required fields
       // check for sub-struct validity
-      if (mbMetadata != null) {
-        mbMetadata.validate();
-      }
     }
 
     private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
@@ -3754,23 +10206,21 @@ public class EdgeService {
 
     private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, java.lang.ClassNotFoundException {
       try {
-        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
-        __isset_bitfield = 0;
         read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
       } catch (org.apache.thrift.TException te) {
         throw new java.io.IOException(te);
       }
     }
 
-    private static class write_argsStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
-      public write_argsStandardScheme getScheme() {
-        return new write_argsStandardScheme();
+    private static class commitWrite_argsStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public commitWrite_argsStandardScheme getScheme() {
+        return new commitWrite_argsStandardScheme();
       }
     }
 
-    private static class write_argsStandardScheme extends org.apache.thrift.scheme.StandardScheme<write_args> {
+    private static class commitWrite_argsStandardScheme extends org.apache.thrift.scheme.StandardScheme<commitWrite_args> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, write_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, commitWrite_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -3780,27 +10230,10 @@ public class EdgeService {
             break;
           }
           switch (schemeField.id) {
-            case 1: // MB_ID
-              if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
-                struct.mbId = iprot.readI64();
-                struct.setMbIdIsSet(true);
-              } else { 
-                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
-              }
-              break;
-            case 2: // MB_METADATA
-              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
-                struct.mbMetadata = new Metadata();
-                struct.mbMetadata.read(iprot);
-                struct.setMbMetadataIsSet(true);
-              } else { 
-                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
-              }
-              break;
-            case 3: // MB_DATA
+            case 1: // TRANSFER_ID
               if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
-                struct.mbData = iprot.readBinary();
-                struct.setMbDataIsSet(true);
+                struct.transferId = iprot.readString();
+                struct.setTransferIdIsSet(true);
               } else { 
                 org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
               }
@@ -3816,21 +10249,13 @@ public class EdgeService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, write_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, commitWrite_args struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
-        oprot.writeFieldBegin(MB_ID_FIELD_DESC);
-        oprot.writeI64(struct.mbId);
-        oprot.writeFieldEnd();
-        if (struct.mbMetadata != null) {
-          oprot.writeFieldBegin(MB_METADATA_FIELD_DESC);
-          struct.mbMetadata.write(oprot);
-          oprot.writeFieldEnd();
-        }
-        if (struct.mbData != null) {
-          oprot.writeFieldBegin(MB_DATA_FIELD_DESC);
-          oprot.writeBinary(struct.mbData);
+        if (struct.transferId != null) {
+          oprot.writeFieldBegin(TRANSFER_ID_FIELD_DESC);
+          oprot.writeString(struct.transferId);
           oprot.writeFieldEnd();
         }
         oprot.writeFieldStop();
@@ -3839,55 +10264,34 @@ public class EdgeService {
 
     }
 
-    private static class write_argsTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
-      public write_argsTupleScheme getScheme() {
-        return new write_argsTupleScheme();
+    private static class commitWrite_argsTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public commitWrite_argsTupleScheme getScheme() {
+        return new commitWrite_argsTupleScheme();
       }
     }
 
-    private static class write_argsTupleScheme extends org.apache.thrift.scheme.TupleScheme<write_args> {
+    private static class commitWrite_argsTupleScheme extends org.apache.thrift.scheme.TupleScheme<commitWrite_args> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, write_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, commitWrite_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TTupleProtocol oprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
         java.util.BitSet optionals = new java.util.BitSet();
-        if (struct.isSetMbId()) {
+        if (struct.isSetTransferId()) {
           optionals.set(0);
         }
-        if (struct.isSetMbMetadata()) {
-          optionals.set(1);
-        }
-        if (struct.isSetMbData()) {
-          optionals.set(2);
-        }
-        oprot.writeBitSet(optionals, 3);
-        if (struct.isSetMbId()) {
-          oprot.writeI64(struct.mbId);
-        }
-        if (struct.isSetMbMetadata()) {
-          struct.mbMetadata.write(oprot);
-        }
-        if (struct.isSetMbData()) {
-          oprot.writeBinary(struct.mbData);
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetTransferId()) {
+          oprot.writeString(struct.transferId);
         }
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, write_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, commitWrite_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
-        java.util.BitSet incoming = iprot.readBitSet(3);
+        java.util.BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
-          struct.mbId = iprot.readI64();
-          struct.setMbIdIsSet(true);
-        }
-        if (incoming.get(1)) {
-          struct.mbMetadata = new Metadata();
-          struct.mbMetadata.read(iprot);
-          struct.setMbMetadataIsSet(true);
-        }
-        if (incoming.get(2)) {
-          struct.mbData = iprot.readBinary();
-          struct.setMbDataIsSet(true);
+          struct.transferId = iprot.readString();
+          struct.setTransferIdIsSet(true);
         }
       }
     }
@@ -3897,13 +10301,13 @@ public class EdgeService {
     }
   }
 
-  public static class write_result implements org.apache.thrift.TBase<write_result, write_result._Fields>, java.io.Serializable, Cloneable, Comparable<write_result>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("write_result");
+  public static class commitWrite_result implements org.apache.thrift.TBase<commitWrite_result, commitWrite_result._Fields>, java.io.Serializable, Cloneable, Comparable<commitWrite_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("commitWrite_result");
 
     private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
 
-    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new write_resultStandardSchemeFactory();
-    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new write_resultTupleSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new commitWrite_resultStandardSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new commitWrite_resultTupleSchemeFactory();
 
     public WriteResponse success; // required
 
@@ -3972,13 +10376,13 @@ public class EdgeService {
       tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
           new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, WriteResponse.class)));
       metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(write_result.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(commitWrite_result.class, metaDataMap);
     }
 
-    public write_result() {
+    public commitWrite_result() {
     }
 
-    public write_result(
+    public commitWrite_result(
       WriteResponse success)
     {
       this();
@@ -3988,14 +10392,14 @@ public class EdgeService {
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public write_result(write_result other) {
+    public commitWrite_result(commitWrite_result other) {
       if (other.isSetSuccess()) {
         this.success = new WriteResponse(other.success);
       }
     }
 
-    public write_result deepCopy() {
-      return new write_result(this);
+    public commitWrite_result deepCopy() {
+      return new commitWrite_result(this);
     }
 
     @Override
@@ -4007,7 +10411,7 @@ public class EdgeService {
       return this.success;
     }
 
-    public write_result setSuccess(WriteResponse success) {
+    public commitWrite_result setSuccess(WriteResponse success) {
       this.success = success;
       return this;
     }
@@ -4066,12 +10470,12 @@ public class EdgeService {
     public boolean equals(java.lang.Object that) {
       if (that == null)
         return false;
-      if (that instanceof write_result)
-        return this.equals((write_result)that);
+      if (that instanceof commitWrite_result)
+        return this.equals((commitWrite_result)that);
       return false;
     }
 
-    public boolean equals(write_result that) {
+    public boolean equals(commitWrite_result that) {
       if (that == null)
         return false;
       if (this == that)
@@ -4101,7 +10505,7 @@ public class EdgeService {
     }
 
     @Override
-    public int compareTo(write_result other) {
+    public int compareTo(commitWrite_result other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
@@ -4135,7 +10539,7 @@ public class EdgeService {
 
     @Override
     public java.lang.String toString() {
-      java.lang.StringBuilder sb = new java.lang.StringBuilder("write_result(");
+      java.lang.StringBuilder sb = new java.lang.StringBuilder("commitWrite_result(");
       boolean first = true;
 
       sb.append("success:");
@@ -4173,15 +10577,15 @@ public class EdgeService {
       }
     }
 
-    private static class write_resultStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
-      public write_resultStandardScheme getScheme() {
-        return new write_resultStandardScheme();
+    private static class commitWrite_resultStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public commitWrite_resultStandardScheme getScheme() {
+        return new commitWrite_resultStandardScheme();
       }
     }
 
-    private static class write_resultStandardScheme extends org.apache.thrift.scheme.StandardScheme<write_result> {
+    private static class commitWrite_resultStandardScheme extends org.apache.thrift.scheme.StandardScheme<commitWrite_result> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, write_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, commitWrite_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -4211,7 +10615,7 @@ public class EdgeService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, write_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, commitWrite_result struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
@@ -4226,16 +10630,16 @@ public class EdgeService {
 
     }
 
-    private static class write_resultTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
-      public write_resultTupleScheme getScheme() {
-        return new write_resultTupleScheme();
+    private static class commitWrite_resultTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public commitWrite_resultTupleScheme getScheme() {
+        return new commitWrite_resultTupleScheme();
       }
     }
 
-    private static class write_resultTupleScheme extends org.apache.thrift.scheme.TupleScheme<write_result> {
+    private static class commitWrite_resultTupleScheme extends org.apache.thrift.scheme.TupleScheme<commitWrite_result> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, write_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, commitWrite_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TTupleProtocol oprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
         java.util.BitSet optionals = new java.util.BitSet();
         if (struct.isSetSuccess()) {
@@ -4248,7 +10652,7 @@ public class EdgeService {
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, write_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, commitWrite_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
         java.util.BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
@@ -4264,25 +10668,19 @@ public class EdgeService {
     }
   }
 
-  public static class update_args implements org.apache.thrift.TBase<update_args, update_args._Fields>, java.io.Serializable, Cloneable, Comparable<update_args>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("update_args");
+  public static class abortWrite_args implements org.apache.thrift.TBase<abortWrite_args, abortWrite_args._Fields>, java.io.Serializable, Cloneable, Comparable<abortWrite_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("abortWrite_args");
 
-    private static final org.apache.thrift.protocol.TField MB_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("mbId", org.apache.thrift.protocol.TType.I64, (short)1);
-    private static final org.apache.thrift.protocol.TField MB_METADATA_FIELD_DESC = new org.apache.thrift.protocol.TField("mbMetadata", org.apache.thrift.protocol.TType.STRUCT, (short)2);
-    private static final org.apache.thrift.protocol.TField MB_DATA_FIELD_DESC = new org.apache.thrift.protocol.TField("mbData", org.apache.thrift.protocol.TType.STRING, (short)3);
+    private static final org.apache.thrift.protocol.TField TRANSFER_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("transferId", org.apache.thrift.protocol.TType.STRING, (short)1);
 
-    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new update_argsStandardSchemeFactory();
-    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new update_argsTupleSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new abortWrite_argsStandardSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new abortWrite_argsTupleSchemeFactory();
 
-    public long mbId; // required
-    public Metadata mbMetadata; // required
-    public java.nio.ByteBuffer mbData; // required
+    public java.lang.String transferId; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
-      MB_ID((short)1, "mbId"),
-      MB_METADATA((short)2, "mbMetadata"),
-      MB_DATA((short)3, "mbData");
+      TRANSFER_ID((short)1, "transferId");
 
       private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
 
@@ -4297,12 +10695,8 @@ public class EdgeService {
        */
       public static _Fields findByThriftId(int fieldId) {
         switch(fieldId) {
-          case 1: // MB_ID
-            return MB_ID;
-          case 2: // MB_METADATA
-            return MB_METADATA;
-          case 3: // MB_DATA
-            return MB_DATA;
+          case 1: // TRANSFER_ID
+            return TRANSFER_ID;
           default:
             return null;
         }
@@ -4343,170 +10737,74 @@ public class EdgeService {
     }
 
     // isset id assignments
-    private static final int __MBID_ISSET_ID = 0;
-    private byte __isset_bitfield = 0;
     public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
     static {
       java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
-      tmpMap.put(_Fields.MB_ID, new org.apache.thrift.meta_data.FieldMetaData("mbId", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
-      tmpMap.put(_Fields.MB_METADATA, new org.apache.thrift.meta_data.FieldMetaData("mbMetadata", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, Metadata.class)));
-      tmpMap.put(_Fields.MB_DATA, new org.apache.thrift.meta_data.FieldMetaData("mbData", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING          , true)));
+      tmpMap.put(_Fields.TRANSFER_ID, new org.apache.thrift.meta_data.FieldMetaData("transferId", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
       metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(update_args.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(abortWrite_args.class, metaDataMap);
     }
 
-    public update_args() {
+    public abortWrite_args() {
     }
 
-    public update_args(
-      long mbId,
-      Metadata mbMetadata,
-      java.nio.ByteBuffer mbData)
+    public abortWrite_args(
+      java.lang.String transferId)
     {
       this();
-      this.mbId = mbId;
-      setMbIdIsSet(true);
-      this.mbMetadata = mbMetadata;
-      this.mbData = org.apache.thrift.TBaseHelper.copyBinary(mbData);
+      this.transferId = transferId;
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public update_args(update_args other) {
-      __isset_bitfield = other.__isset_bitfield;
-      this.mbId = other.mbId;
-      if (other.isSetMbMetadata()) {
-        this.mbMetadata = new Metadata(other.mbMetadata);
-      }
-      if (other.isSetMbData()) {
-        this.mbData = org.apache.thrift.TBaseHelper.copyBinary(other.mbData);
+    public abortWrite_args(abortWrite_args other) {
+      if (other.isSetTransferId()) {
+        this.transferId = other.transferId;
       }
     }
 
-    public update_args deepCopy() {
-      return new update_args(this);
+    public abortWrite_args deepCopy() {
+      return new abortWrite_args(this);
     }
 
     @Override
     public void clear() {
-      setMbIdIsSet(false);
-      this.mbId = 0;
-      this.mbMetadata = null;
-      this.mbData = null;
-    }
-
-    public long getMbId() {
-      return this.mbId;
-    }
-
-    public update_args setMbId(long mbId) {
-      this.mbId = mbId;
-      setMbIdIsSet(true);
-      return this;
-    }
-
-    public void unsetMbId() {
-      __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __MBID_ISSET_ID);
-    }
-
-    /** Returns true if field mbId is set (has been assigned a value) and false otherwise */
-    public boolean isSetMbId() {
-      return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __MBID_ISSET_ID);
-    }
-
-    public void setMbIdIsSet(boolean value) {
-      __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __MBID_ISSET_ID, value);
-    }
-
-    public Metadata getMbMetadata() {
-      return this.mbMetadata;
-    }
-
-    public update_args setMbMetadata(Metadata mbMetadata) {
-      this.mbMetadata = mbMetadata;
-      return this;
-    }
-
-    public void unsetMbMetadata() {
-      this.mbMetadata = null;
-    }
-
-    /** Returns true if field mbMetadata is set (has been assigned a value) and false otherwise */
-    public boolean isSetMbMetadata() {
-      return this.mbMetadata != null;
-    }
-
-    public void setMbMetadataIsSet(boolean value) {
-      if (!value) {
-        this.mbMetadata = null;
-      }
-    }
-
-    public byte[] getMbData() {
-      setMbData(org.apache.thrift.TBaseHelper.rightSize(mbData));
-      return mbData == null ? null : mbData.array();
-    }
-
-    public java.nio.ByteBuffer bufferForMbData() {
-      return org.apache.thrift.TBaseHelper.copyBinary(mbData);
+      this.transferId = null;
     }
 
-    public update_args setMbData(byte[] mbData) {
-      this.mbData = mbData == null ? (java.nio.ByteBuffer)null : java.nio.ByteBuffer.wrap(mbData.clone());
-      return this;
+    public java.lang.String getTransferId() {
+      return this.transferId;
     }
 
-    public update_args setMbData(java.nio.ByteBuffer mbData) {
-      this.mbData = org.apache.thrift.TBaseHelper.copyBinary(mbData);
+    public abortWrite_args setTransferId(java.lang.String transferId) {
+      this.transferId = transferId;
       return this;
     }
 
-    public void unsetMbData() {
-      this.mbData = null;
+    public void unsetTransferId() {
+      this.transferId = null;
     }
 
-    /** Returns true if field mbData is set (has been assigned a value) and false otherwise */
-    public boolean isSetMbData() {
-      return this.mbData != null;
+    /** Returns true if field transferId is set (has been assigned a value) and false otherwise */
+    public boolean isSetTransferId() {
+      return this.transferId != null;
     }
 
-    public void setMbDataIsSet(boolean value) {
+    public void setTransferIdIsSet(boolean value) {
       if (!value) {
-        this.mbData = null;
+        this.transferId = null;
       }
     }
 
     public void setFieldValue(_Fields field, java.lang.Object value) {
       switch (field) {
-      case MB_ID:
-        if (value == null) {
-          unsetMbId();
-        } else {
-          setMbId((java.lang.Long)value);
-        }
-        break;
-
-      case MB_METADATA:
-        if (value == null) {
-          unsetMbMetadata();
-        } else {
-          setMbMetadata((Metadata)value);
-        }
-        break;
-
-      case MB_DATA:
+      case TRANSFER_ID:
         if (value == null) {
-          unsetMbData();
+          unsetTransferId();
         } else {
-          if (value instanceof byte[]) {
-            setMbData((byte[])value);
-          } else {
-            setMbData((java.nio.ByteBuffer)value);
-          }
+          setTransferId((java.lang.String)value);
         }
         break;
 
@@ -4515,14 +10813,8 @@ public class EdgeService {
 
     public java.lang.Object getFieldValue(_Fields field) {
       switch (field) {
-      case MB_ID:
-        return getMbId();
-
-      case MB_METADATA:
-        return getMbMetadata();
-
-      case MB_DATA:
-        return getMbData();
+      case TRANSFER_ID:
+        return getTransferId();
 
       }
       throw new java.lang.IllegalStateException();
@@ -4535,12 +10827,8 @@ public class EdgeService {
       }
 
       switch (field) {
-      case MB_ID:
-        return isSetMbId();
-      case MB_METADATA:
-        return isSetMbMetadata();
-      case MB_DATA:
-        return isSetMbData();
+      case TRANSFER_ID:
+        return isSetTransferId();
       }
       throw new java.lang.IllegalStateException();
     }
@@ -4549,41 +10837,23 @@ public class EdgeService {
     public boolean equals(java.lang.Object that) {
       if (that == null)
         return false;
-      if (that instanceof update_args)
-        return this.equals((update_args)that);
+      if (that instanceof abortWrite_args)
+        return this.equals((abortWrite_args)that);
       return false;
     }
 
-    public boolean equals(update_args that) {
+    public boolean equals(abortWrite_args that) {
       if (that == null)
         return false;
       if (this == that)
         return true;
 
-      boolean this_present_mbId = true;
-      boolean that_present_mbId = true;
-      if (this_present_mbId || that_present_mbId) {
-        if (!(this_present_mbId && that_present_mbId))
-          return false;
-        if (this.mbId != that.mbId)
-          return false;
-      }
-
-      boolean this_present_mbMetadata = true && this.isSetMbMetadata();
-      boolean that_present_mbMetadata = true && that.isSetMbMetadata();
-      if (this_present_mbMetadata || that_present_mbMetadata) {
-        if (!(this_present_mbMetadata && that_present_mbMetadata))
-          return false;
-        if (!this.mbMetadata.equals(that.mbMetadata))
-          return false;
-      }
-
-      boolean this_present_mbData = true && this.isSetMbData();
-      boolean that_present_mbData = true && that.isSetMbData();
-      if (this_present_mbData || that_present_mbData) {
-        if (!(this_present_mbData && that_present_mbData))
+      boolean this_present_transferId = true && this.isSetTransferId();
+      boolean that_present_transferId = true && that.isSetTransferId();
+      if (this_present_transferId || that_present_transferId) {
+        if (!(this_present_transferId && that_present_transferId))
           return false;
-        if (!this.mbData.equals(that.mbData))
+        if (!this.transferId.equals(that.transferId))
           return false;
       }
 
@@ -4594,53 +10864,27 @@ public class EdgeService {
     public int hashCode() {
       int hashCode = 1;
 
-      hashCode = hashCode * 8191 + org.apache.thrift.TBaseHelper.hashCode(mbId);
-
-      hashCode = hashCode * 8191 + ((isSetMbMetadata()) ? 131071 : 524287);
-      if (isSetMbMetadata())
-        hashCode = hashCode * 8191 + mbMetadata.hashCode();
-
-      hashCode = hashCode * 8191 + ((isSetMbData()) ? 131071 : 524287);
-      if (isSetMbData())
-        hashCode = hashCode * 8191 + mbData.hashCode();
+      hashCode = hashCode * 8191 + ((isSetTransferId()) ? 131071 : 524287);
+      if (isSetTransferId())
+        hashCode = hashCode * 8191 + transferId.hashCode();
 
       return hashCode;
     }
 
     @Override
-    public int compareTo(update_args other) {
+    public int compareTo(abortWrite_args other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
 
-      lastComparison = java.lang.Boolean.valueOf(isSetMbId()).compareTo(other.isSetMbId());
-      if (lastComparison != 0) {
-        return lastComparison;
-      }
-      if (isSetMbId()) {
-        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.mbId, other.mbId);
-        if (lastComparison != 0) {
-          return lastComparison;
-        }
-      }
-      lastComparison = java.lang.Boolean.valueOf(isSetMbMetadata()).compareTo(other.isSetMbMetadata());
-      if (lastComparison != 0) {
-        return lastComparison;
-      }
-      if (isSetMbMetadata()) {
-        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.mbMetadata, other.mbMetadata);
-        if (lastComparison != 0) {
-          return lastComparison;
-        }
-      }
-      lastComparison = java.lang.Boolean.valueOf(isSetMbData()).compareTo(other.isSetMbData());
+      lastComparison = java.lang.Boolean.valueOf(isSetTransferId()).compareTo(other.isSetTransferId());
       if (lastComparison != 0) {
         return lastComparison;
       }
-      if (isSetMbData()) {
-        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.mbData, other.mbData);
+      if (isSetTransferId()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.transferId, other.transferId);
         if (lastComparison != 0) {
           return lastComparison;
         }
@@ -4662,26 +10906,14 @@ public class EdgeService {
 
     @Override
     public java.lang.String toString() {
-      java.lang.StringBuilder sb = new java.lang.StringBuilder("update_args(");
+      java.lang.StringBuilder sb = new java.lang.StringBuilder("abortWrite_args(");
       boolean first = true;
 
-      sb.append("mbId:");
-      sb.append(this.mbId);
-      first = false;
-      if (!first) sb.append(", ");
-      sb.append("mbMetadata:");
-      if (this.mbMetadata == null) {
-        sb.append("null");
-      } else {
-        sb.append(this.mbMetadata);
-      }
-      first = false;
-      if (!first) sb.append(", ");
-      sb.append("mbData:");
-      if (this.mbData == null) {
+      sb.append("transferId:");
+      if (this.transferId == null) {
         sb.append("null");
       } else {
-        org.apache.thrift.TBaseHelper.toString(this.mbData, sb);
+        sb.append(this.transferId);
       }
       first = false;
       sb.append(")");
@@ -4691,9 +10923,6 @@ public class EdgeService {
     public void validate() throws org.apache.thrift.TException {
       // check for required fields
       // check for sub-struct validity
-      if (mbMetadata != null) {
-        mbMetadata.validate();
-      }
     }
 
     private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
@@ -4706,23 +10935,21 @@ public class EdgeService {
 
     private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, java.lang.ClassNotFoundException {
       try {
-        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
-        __isset_bitfield = 0;
         read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
       } catch (org.apache.thrift.TException te) {
         throw new java.io.IOException(te);
       }
     }
 
-    private static class update_argsStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
-      public update_argsStandardScheme getScheme() {
-        return new update_argsStandardScheme();
+    private static class abortWrite_argsStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public abortWrite_argsStandardScheme getScheme() {
+        return new abortWrite_argsStandardScheme();
       }
     }
 
-    private static class update_argsStandardScheme extends org.apache.thrift.scheme.StandardScheme<update_args> {
+    private static class abortWrite_argsStandardScheme extends org.apache.thrift.scheme.StandardScheme<abortWrite_args> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, update_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, abortWrite_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -4732,27 +10959,10 @@ public class EdgeService {
             break;
           }
           switch (schemeField.id) {
-            case 1: // MB_ID
-              if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
-                struct.mbId = iprot.readI64();
-                struct.setMbIdIsSet(true);
-              } else { 
-                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
-              }
-              break;
-            case 2: // MB_METADATA
-              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
-                struct.mbMetadata = new Metadata();
-                struct.mbMetadata.read(iprot);
-                struct.setMbMetadataIsSet(true);
-              } else { 
-                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
-              }
-              break;
-            case 3: // MB_DATA
+            case 1: // TRANSFER_ID
               if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
-                struct.mbData = iprot.readBinary();
-                struct.setMbDataIsSet(true);
+                struct.transferId = iprot.readString();
+                struct.setTransferIdIsSet(true);
               } else { 
                 org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
               }
@@ -4768,21 +10978,13 @@ public class EdgeService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, update_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, abortWrite_args struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
-        oprot.writeFieldBegin(MB_ID_FIELD_DESC);
-        oprot.writeI64(struct.mbId);
-        oprot.writeFieldEnd();
-        if (struct.mbMetadata != null) {
-          oprot.writeFieldBegin(MB_METADATA_FIELD_DESC);
-          struct.mbMetadata.write(oprot);
-          oprot.writeFieldEnd();
-        }
-        if (struct.mbData != null) {
-          oprot.writeFieldBegin(MB_DATA_FIELD_DESC);
-          oprot.writeBinary(struct.mbData);
+        if (struct.transferId != null) {
+          oprot.writeFieldBegin(TRANSFER_ID_FIELD_DESC);
+          oprot.writeString(struct.transferId);
           oprot.writeFieldEnd();
         }
         oprot.writeFieldStop();
@@ -4791,55 +10993,34 @@ public class EdgeService {
 
     }
 
-    private static class update_argsTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
-      public update_argsTupleScheme getScheme() {
-        return new update_argsTupleScheme();
+    private static class abortWrite_argsTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public abortWrite_argsTupleScheme getScheme() {
+        return new abortWrite_argsTupleScheme();
       }
     }
 
-    private static class update_argsTupleScheme extends org.apache.thrift.scheme.TupleScheme<update_args> {
+    private static class abortWrite_argsTupleScheme extends org.apache.thrift.scheme.TupleScheme<abortWrite_args> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, update_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, abortWrite_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TTupleProtocol oprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
         java.util.BitSet optionals = new java.util.BitSet();
-        if (struct.isSetMbId()) {
+        if (struct.isSetTransferId()) {
           optionals.set(0);
         }
-        if (struct.isSetMbMetadata()) {
-          optionals.set(1);
-        }
-        if (struct.isSetMbData()) {
-          optionals.set(2);
-        }
-        oprot.writeBitSet(optionals, 3);
-        if (struct.isSetMbId()) {
-          oprot.writeI64(struct.mbId);
-        }
-        if (struct.isSetMbMetadata()) {
-          struct.mbMetadata.write(oprot);
-        }
-        if (struct.isSetMbData()) {
-          oprot.writeBinary(struct.mbData);
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetTransferId()) {
+          oprot.writeString(struct.transferId);
         }
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, update_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, abortWrite_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
-        java.util.BitSet incoming = iprot.readBitSet(3);
+        java.util.BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
-          struct.mbId = iprot.readI64();
-          struct.setMbIdIsSet(true);
-        }
-        if (incoming.get(1)) {
-          struct.mbMetadata = new Metadata();
-          struct.mbMetadata.read(iprot);
-          struct.setMbMetadataIsSet(true);
-        }
-        if (incoming.get(2)) {
-          struct.mbData = iprot.readBinary();
-          struct.setMbDataIsSet(true);
+          struct.transferId = iprot.readString();
+          struct.setTransferIdIsSet(true);
         }
       }
     }
@@ -4849,15 +11030,15 @@ public class EdgeService {
     }
   }
 
-  public static class update_result implements org.apache.thrift.TBase<update_result, update_result._Fields>, java.io.Serializable, Cloneable, Comparable<update_result>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("update_result");
+  public static class abortWrite_result implements org.apache.thrift.TBase<abortWrite_result, abortWrite_result._Fields>, java.io.Serializable, Cloneable, Comparable<abortWrite_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("abortWrite_result");
 
-    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.BYTE, (short)0);
 
-    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new update_resultStandardSchemeFactory();
-    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new update_resultTupleSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new abortWrite_resultStandardSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new abortWrite_resultTupleSchemeFactory();
 
-    public WriteResponse success; // required
+    public byte success; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -4918,65 +11099,67 @@ public class EdgeService {
     }
 
     // isset id assignments
+    private static final int __SUCCESS_ISSET_ID = 0;
+    private byte __isset_bitfield = 0;
     public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
     static {
       java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
       tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, WriteResponse.class)));
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.BYTE)));
       metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(update_result.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(abortWrite_result.class, metaDataMap);
     }
 
-    public update_result() {
+    public abortWrite_result() {
     }
 
-    public update_result(
-      WriteResponse success)
+    public abortWrite_result(
+      byte success)
     {
       this();
       this.success = success;
+      setSuccessIsSet(true);
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public update_result(update_result other) {
-      if (other.isSetSuccess()) {
-        this.success = new WriteResponse(other.success);
-      }
+    public abortWrite_result(abortWrite_result other) {
+      __isset_bitfield = other.__isset_bitfield;
+      this.success = other.success;
     }
 
-    public update_result deepCopy() {
-      return new update_result(this);
+    public abortWrite_result deepCopy() {
+      return new abortWrite_result(this);
     }
 
     @Override
     public void clear() {
-      this.success = null;
+      setSuccessIsSet(false);
+      this.success = 0;
     }
 
-    public WriteResponse getSuccess() {
+    public byte getSuccess() {
       return this.success;
     }
 
-    public update_result setSuccess(WriteResponse success) {
+    public abortWrite_result setSuccess(byte success) {
       this.success = success;
+      setSuccessIsSet(true);
       return this;
     }
 
     public void unsetSuccess() {
-      this.success = null;
+      __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __SUCCESS_ISSET_ID);
     }
 
     /** Returns true if field success is set (has been assigned a value) and false otherwise */
     public boolean isSetSuccess() {
-      return this.success != null;
+      return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __SUCCESS_ISSET_ID);
     }
 
     public void setSuccessIsSet(boolean value) {
-      if (!value) {
-        this.success = null;
-      }
+      __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __SUCCESS_ISSET_ID, value);
     }
 
     public void setFieldValue(_Fields field, java.lang.Object value) {
@@ -4985,7 +11168,7 @@ public class EdgeService {
         if (value == null) {
           unsetSuccess();
         } else {
-          setSuccess((WriteResponse)value);
+          setSuccess((java.lang.Byte)value);
         }
         break;
 
@@ -5018,23 +11201,23 @@ public class EdgeService {
     public boolean equals(java.lang.Object that) {
       if (that == null)
         return false;
-      if (that instanceof update_result)
-        return this.equals((update_result)that);
+      if (that instanceof abortWrite_result)
+        return this.equals((abortWrite_result)that);
       return false;
     }
 
-    public boolean equals(update_result that) {
+    public boolean equals(abortWrite_result that) {
       if (that == null)
         return false;
       if (this == that)
         return true;
 
-      boolean this_present_success = true && this.isSetSuccess();
-      boolean that_present_success = true && that.isSetSuccess();
+      boolean this_present_success = true;
+      boolean that_present_success = true;
       if (this_present_success || that_present_success) {
         if (!(this_present_success && that_present_success))
           return false;
-        if (!this.success.equals(that.success))
+        if (this.success != that.success)
           return false;
       }
 
@@ -5045,15 +11228,13 @@ public class EdgeService {
     public int hashCode() {
       int hashCode = 1;
 
-      hashCode = hashCode * 8191 + ((isSetSuccess()) ? 131071 : 524287);
-      if (isSetSuccess())
-        hashCode = hashCode * 8191 + success.hashCode();
+      hashCode = hashCode * 8191 + (int) (success);
 
       return hashCode;
     }
 
     @Override
-    public int compareTo(update_result other) {
+    public int compareTo(abortWrite_result other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
@@ -5087,15 +11268,11 @@ public class EdgeService {
 
     @Override
     public java.lang.String toString() {
-      java.lang.StringBuilder sb = new java.lang.StringBuilder("update_result(");
+      java.lang.StringBuilder sb = new java.lang.StringBuilder("abortWrite_result(");
       boolean first = true;
 
-      sb.append("success:");
-      if (this.success == null) {
-        sb.append("null");
-      } else {
-        sb.append(this.success);
-      }
+      sb.append("success:");
+      sb.append(this.success);
       first = false;
       sb.append(")");
       return sb.toString();
@@ -5104,9 +11281,6 @@ public class EdgeService {
     public void validate() throws org.apache.thrift.TException {
       // check for required fields
       // check for sub-struct validity
-      if (success != null) {
-        success.validate();
-      }
     }
 
     private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
@@ -5119,21 +11293,23 @@ public class EdgeService {
 
     private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, java.lang.ClassNotFoundException {
       try {
+        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+        __isset_bitfield = 0;
         read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
       } catch (org.apache.thrift.TException te) {
         throw new java.io.IOException(te);
       }
     }
 
-    private static class update_resultStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
-      public update_resultStandardScheme getScheme() {
-        return new update_resultStandardScheme();
+    private static class abortWrite_resultStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public abortWrite_resultStandardScheme getScheme() {
+        return new abortWrite_resultStandardScheme();
       }
     }
 
-    private static class update_resultStandardScheme extends org.apache.thrift.scheme.StandardScheme<update_result> {
+    private static class abortWrite_resultStandardScheme extends org.apache.thrift.scheme.StandardScheme<abortWrite_result> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, update_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, abortWrite_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -5144,9 +11320,8 @@ public class EdgeService {
           }
           switch (schemeField.id) {
             case 0: // SUCCESS
-              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
-                struct.success = new WriteResponse();
-                struct.success.read(iprot);
+              if (schemeField.type == org.apache.thrift.protocol.TType.BYTE) {
+                struct.success = iprot.readByte();
                 struct.setSuccessIsSet(true);
               } else { 
                 org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
@@ -5163,13 +11338,13 @@ public class EdgeService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, update_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, abortWrite_result struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
-        if (struct.success != null) {
+        if (struct.isSetSuccess()) {
           oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
-          struct.success.write(oprot);
+          oprot.writeByte(struct.success);
           oprot.writeFieldEnd();
         }
         oprot.writeFieldStop();
@@ -5178,16 +11353,16 @@ public class EdgeService {
 
     }
 
-    private static class update_resultTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
-      public update_resultTupleScheme getScheme() {
-        return new update_resultTupleScheme();
+    private static class abortWrite_resultTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public abortWrite_resultTupleScheme getScheme() {
+        return new abortWrite_resultTupleScheme();
       }
     }
 
-    private static class update_resultTupleScheme extends org.apache.thrift.scheme.TupleScheme<update_result> {
+    private static class abortWrite_resultTupleScheme extends org.apache.thrift.scheme.TupleScheme<abortWrite_result> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, update_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, abortWrite_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TTupleProtocol oprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
         java.util.BitSet optionals = new java.util.BitSet();
         if (struct.isSetSuccess()) {
@@ -5195,17 +11370,16 @@ public class EdgeService {
         }
         oprot.writeBitSet(optionals, 1);
         if (struct.isSetSuccess()) {
-          struct.success.write(oprot);
+          oprot.writeByte(struct.success);
         }
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, update_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, abortWrite_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
         java.util.BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
-          struct.success = new WriteResponse();
-          struct.success.read(iprot);
+          struct.success = iprot.readByte();
           struct.setSuccessIsSet(true);
         }
       }
@@ -5216,28 +11390,19 @@ public class EdgeService {
     }
   }
 
-  public static class read_args implements org.apache.thrift.TBase<read_args, read_args._Fields>, java.io.Serializable, Cloneable, Comparable<read_args>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("read_args");
+  public static class deleteBlocks_args implements org.apache.thrift.TBase<deleteBlocks_args, deleteBlocks_args._Fields>, java.io.Serializable, Cloneable, Comparable<deleteBlocks_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("deleteBlocks_args");
 
-    private static final org.apache.thrift.protocol.TField MB_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("mbId", org.apache.thrift.protocol.TType.I64, (short)1);
-    private static final org.apache.thrift.protocol.TField FETCH_METADATA_FIELD_DESC = new org.apache.thrift.protocol.TField("fetchMetadata", org.apache.thrift.protocol.TType.BYTE, (short)2);
-    private static final org.apache.thrift.protocol.TField COMP_FORMAT_FIELD_DESC = new org.apache.thrift.protocol.TField("compFormat", org.apache.thrift.protocol.TType.STRING, (short)3);
-    private static final org.apache.thrift.protocol.TField UNCOMP_SIZE_FIELD_DESC = new org.apache.thrift.protocol.TField("uncompSize", org.apache.thrift.protocol.TType.I64, (short)4);
+    private static final org.apache.thrift.protocol.TField MB_IDS_FIELD_DESC = new org.apache.thrift.protocol.TField("mbIds", org.apache.thrift.protocol.TType.LIST, (short)1);
 
-    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new read_argsStandardSchemeFactory();
-    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new read_argsTupleSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new deleteBlocks_argsStandardSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new deleteBlocks_argsTupleSchemeFactory();
 
-    public long mbId; // required
-    public byte fetchMetadata; // required
-    public java.lang.String compFormat; // required
-    public long uncompSize; // required
+    public java.util.List<java.lang.Long> mbIds; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
-      MB_ID((short)1, "mbId"),
-      FETCH_METADATA((short)2, "fetchMetadata"),
-      COMP_FORMAT((short)3, "compFormat"),
-      UNCOMP_SIZE((short)4, "uncompSize");
+      MB_IDS((short)1, "mbIds");
 
       private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
 
@@ -5252,14 +11417,8 @@ public class EdgeService {
        */
       public static _Fields findByThriftId(int fieldId) {
         switch(fieldId) {
-          case 1: // MB_ID
-            return MB_ID;
-          case 2: // FETCH_METADATA
-            return FETCH_METADATA;
-          case 3: // COMP_FORMAT
-            return COMP_FORMAT;
-          case 4: // UNCOMP_SIZE
-            return UNCOMP_SIZE;
+          case 1: // MB_IDS
+            return MB_IDS;
           default:
             return null;
         }
@@ -5300,196 +11459,91 @@ public class EdgeService {
     }
 
     // isset id assignments
-    private static final int __MBID_ISSET_ID = 0;
-    private static final int __FETCHMETADATA_ISSET_ID = 1;
-    private static final int __UNCOMPSIZE_ISSET_ID = 2;
-    private byte __isset_bitfield = 0;
     public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
     static {
       java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
-      tmpMap.put(_Fields.MB_ID, new org.apache.thrift.meta_data.FieldMetaData("mbId", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
-      tmpMap.put(_Fields.FETCH_METADATA, new org.apache.thrift.meta_data.FieldMetaData("fetchMetadata", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.BYTE)));
-      tmpMap.put(_Fields.COMP_FORMAT, new org.apache.thrift.meta_data.FieldMetaData("compFormat", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
-      tmpMap.put(_Fields.UNCOMP_SIZE, new org.apache.thrift.meta_data.FieldMetaData("uncompSize", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+      tmpMap.put(_Fields.MB_IDS, new org.apache.thrift.meta_data.FieldMetaData("mbIds", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.ListMetaData(org.apache.thrift.protocol.TType.LIST, 
+              new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64))));
       metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(read_args.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(deleteBlocks_args.class, metaDataMap);
     }
 
-    public read_args() {
+    public deleteBlocks_args() {
     }
 
-    public read_args(
-      long mbId,
-      byte fetchMetadata,
-      java.lang.String compFormat,
-      long uncompSize)
+    public deleteBlocks_args(
+      java.util.List<java.lang.Long> mbIds)
     {
       this();
-      this.mbId = mbId;
-      setMbIdIsSet(true);
-      this.fetchMetadata = fetchMetadata;
-      setFetchMetadataIsSet(true);
-      this.compFormat = compFormat;
-      this.uncompSize = uncompSize;
-      setUncompSizeIsSet(true);
+      this.mbIds = mbIds;
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public read_args(read_args other) {
-      __isset_bitfield = other.__isset_bitfield;
-      this.mbId = other.mbId;
-      this.fetchMetadata = other.fetchMetadata;
-      if (other.isSetCompFormat()) {
-        this.compFormat = other.compFormat;
+    public deleteBlocks_args(deleteBlocks_args other) {
+      if (other.isSetMbIds()) {
+        java.util.List<java.lang.Long> __this__mbIds = new java.util.ArrayList<java.lang.Long>(other.mbIds);
+        this.mbIds = __this__mbIds;
       }
-      this.uncompSize = other.uncompSize;
     }
 
-    public read_args deepCopy() {
-      return new read_args(this);
+    public deleteBlocks_args deepCopy() {
+      return new deleteBlocks_args(this);
     }
 
     @Override
     public void clear() {
-      setMbIdIsSet(false);
-      this.mbId = 0;
-      setFetchMetadataIsSet(false);
-      this.fetchMetadata = 0;
-      this.compFormat = null;
-      setUncompSizeIsSet(false);
-      this.uncompSize = 0;
-    }
-
-    public long getMbId() {
-      return this.mbId;
-    }
-
-    public read_args setMbId(long mbId) {
-      this.mbId = mbId;
-      setMbIdIsSet(true);
-      return this;
-    }
-
-    public void unsetMbId() {
-      __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __MBID_ISSET_ID);
-    }
-
-    /** Returns true if field mbId is set (has been assigned a value) and false otherwise */
-    public boolean isSetMbId() {
-      return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __MBID_ISSET_ID);
-    }
-
-    public void setMbIdIsSet(boolean value) {
-      __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __MBID_ISSET_ID, value);
-    }
-
-    public byte getFetchMetadata() {
-      return this.fetchMetadata;
-    }
-
-    public read_args setFetchMetadata(byte fetchMetadata) {
-      this.fetchMetadata = fetchMetadata;
-      setFetchMetadataIsSet(true);
-      return this;
+      this.mbIds = null;
     }
 
-    public void unsetFetchMetadata() {
-      __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __FETCHMETADATA_ISSET_ID);
+    public int getMbIdsSize() {
+      return (this.mbIds == null) ? 0 : this.mbIds.size();
     }
 
-    /** Returns true if field fetchMetadata is set (has been assigned a value) and false otherwise */
-    public boolean isSetFetchMetadata() {
-      return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __FETCHMETADATA_ISSET_ID);
+    public java.util.Iterator<java.lang.Long> getMbIdsIterator() {
+      return (this.mbIds == null) ? null : this.mbIds.iterator();
     }
 
-    public void setFetchMetadataIsSet(boolean value) {
-      __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __FETCHMETADATA_ISSET_ID, value);
+    public void addToMbIds(long elem) {
+      if (this.mbIds == null) {
+        this.mbIds = new java.util.ArrayList<java.lang.Long>();
+      }
+      this.mbIds.add(elem);
     }
 
-    public java.lang.String getCompFormat() {
-      return this.compFormat;
+    public java.util.List<java.lang.Long> getMbIds() {
+      return this.mbIds;
     }
 
-    public read_args setCompFormat(java.lang.String compFormat) {
-      this.compFormat = compFormat;
+    public deleteBlocks_args setMbIds(java.util.List<java.lang.Long> mbIds) {
+      this.mbIds = mbIds;
       return this;
     }
 
-    public void unsetCompFormat() {
-      this.compFormat = null;
+    public void unsetMbIds() {
+      this.mbIds = null;
     }
 
-    /** Returns true if field compFormat is set (has been assigned a value) and false otherwise */
-    public boolean isSetCompFormat() {
-      return this.compFormat != null;
+    /** Returns true if field mbIds is set (has been assigned a value) and false otherwise */
+    public boolean isSetMbIds() {
+      return this.mbIds != null;
     }
 
-    public void setCompFormatIsSet(boolean value) {
+    public void setMbIdsIsSet(boolean value) {
       if (!value) {
-        this.compFormat = null;
+        this.mbIds = null;
       }
     }
 
-    public long getUncompSize() {
-      return this.uncompSize;
-    }
-
-    public read_args setUncompSize(long uncompSize) {
-      this.uncompSize = uncompSize;
-      setUncompSizeIsSet(true);
-      return this;
-    }
-
-    public void unsetUncompSize() {
-      __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __UNCOMPSIZE_ISSET_ID);
-    }
-
-    /** Returns true if field uncompSize is set (has been assigned a value) and false otherwise */
-    public boolean isSetUncompSize() {
-      return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __UNCOMPSIZE_ISSET_ID);
-    }
-
-    public void setUncompSizeIsSet(boolean value) {
-      __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __UNCOMPSIZE_ISSET_ID, value);
-    }
-
     public void setFieldValue(_Fields field, java.lang.Object value) {
       switch (field) {
-      case MB_ID:
-        if (value == null) {
-          unsetMbId();
-        } else {
-          setMbId((java.lang.Long)value);
-        }
-        break;
-
-      case FETCH_METADATA:
-        if (value == null) {
-          unsetFetchMetadata();
-        } else {
-          setFetchMetadata((java.lang.Byte)value);
-        }
-        break;
-
-      case COMP_FORMAT:
-        if (value == null) {
-          unsetCompFormat();
-        } else {
-          setCompFormat((java.lang.String)value);
-        }
-        break;
-
-      case UNCOMP_SIZE:
+      case MB_IDS:
         if (value == null) {
-          unsetUncompSize();
+          unsetMbIds();
         } else {
-          setUncompSize((java.lang.Long)value);
+          setMbIds((java.util.List<java.lang.Long>)value);
         }
         break;
 
@@ -5498,17 +11552,8 @@ public class EdgeService {
 
     public java.lang.Object getFieldValue(_Fields field) {
       switch (field) {
-      case MB_ID:
-        return getMbId();
-
-      case FETCH_METADATA:
-        return getFetchMetadata();
-
-      case COMP_FORMAT:
-        return getCompFormat();
-
-      case UNCOMP_SIZE:
-        return getUncompSize();
+      case MB_IDS:
+        return getMbIds();
 
       }
       throw new java.lang.IllegalStateException();
@@ -5521,14 +11566,8 @@ public class EdgeService {
       }
 
       switch (field) {
-      case MB_ID:
-        return isSetMbId();
-      case FETCH_METADATA:
-        return isSetFetchMetadata();
-      case COMP_FORMAT:
-        return isSetCompFormat();
-      case UNCOMP_SIZE:
-        return isSetUncompSize();
+      case MB_IDS:
+        return isSetMbIds();
       }
       throw new java.lang.IllegalStateException();
     }
@@ -5537,50 +11576,23 @@ public class EdgeService {
     public boolean equals(java.lang.Object that) {
       if (that == null)
         return false;
-      if (that instanceof read_args)
-        return this.equals((read_args)that);
+      if (that instanceof deleteBlocks_args)
+        return this.equals((deleteBlocks_args)that);
       return false;
     }
 
-    public boolean equals(read_args that) {
+    public boolean equals(deleteBlocks_args that) {
       if (that == null)
         return false;
       if (this == that)
-        return true;
-
-      boolean this_present_mbId = true;
-      boolean that_present_mbId = true;
-      if (this_present_mbId || that_present_mbId) {
-        if (!(this_present_mbId && that_present_mbId))
-          return false;
-        if (this.mbId != that.mbId)
-          return false;
-      }
-
-      boolean this_present_fetchMetadata = true;
-      boolean that_present_fetchMetadata = true;
-      if (this_present_fetchMetadata || that_present_fetchMetadata) {
-        if (!(this_present_fetchMetadata && that_present_fetchMetadata))
-          return false;
-        if (this.fetchMetadata != that.fetchMetadata)
-          return false;
-      }
-
-      boolean this_present_compFormat = true && this.isSetCompFormat();
-      boolean that_present_compFormat = true && that.isSetCompFormat();
-      if (this_present_compFormat || that_present_compFormat) {
-        if (!(this_present_compFormat && that_present_compFormat))
-          return false;
-        if (!this.compFormat.equals(that.compFormat))
-          return false;
-      }
-
-      boolean this_present_uncompSize = true;
-      boolean that_present_uncompSize = true;
-      if (this_present_uncompSize || that_present_uncompSize) {
-        if (!(this_present_uncompSize && that_present_uncompSize))
+        return true;
+
+      boolean this_present_mbIds = true && this.isSetMbIds();
+      boolean that_present_mbIds = true && that.isSetMbIds();
+      if (this_present_mbIds || that_present_mbIds) {
+        if (!(this_present_mbIds && that_present_mbIds))
           return false;
-        if (this.uncompSize != that.uncompSize)
+        if (!this.mbIds.equals(that.mbIds))
           return false;
       }
 
@@ -5591,63 +11603,27 @@ public class EdgeService {
     public int hashCode() {
       int hashCode = 1;
 
-      hashCode = hashCode * 8191 + org.apache.thrift.TBaseHelper.hashCode(mbId);
-
-      hashCode = hashCode * 8191 + (int) (fetchMetadata);
-
-      hashCode = hashCode * 8191 + ((isSetCompFormat()) ? 131071 : 524287);
-      if (isSetCompFormat())
-        hashCode = hashCode * 8191 + compFormat.hashCode();
-
-      hashCode = hashCode * 8191 + org.apache.thrift.TBaseHelper.hashCode(uncompSize);
+      hashCode = hashCode * 8191 + ((isSetMbIds()) ? 131071 : 524287);
+      if (isSetMbIds())
+        hashCode = hashCode * 8191 + mbIds.hashCode();
 
       return hashCode;
     }
 
     @Override
-    public int compareTo(read_args other) {
+    public int compareTo(deleteBlocks_args other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
 
-      lastComparison = java.lang.Boolean.valueOf(isSetMbId()).compareTo(other.isSetMbId());
-      if (lastComparison != 0) {
-        return lastComparison;
-      }
-      if (isSetMbId()) {
-        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.mbId, other.mbId);
-        if (lastComparison != 0) {
-          return lastComparison;
-        }
-      }
-      lastComparison = java.lang.Boolean.valueOf(isSetFetchMetadata()).compareTo(other.isSetFetchMetadata());
-      if (lastComparison != 0) {
-        return lastComparison;
-      }
-      if (isSetFetchMetadata()) {
-        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.fetchMetadata, other.fetchMetadata);
-        if (lastComparison != 0) {
-          return lastComparison;
-        }
-      }
-      lastComparison = java.lang.Boolean.valueOf(isSetCompFormat()).compareTo(other.isSetCompFormat());
-      if (lastComparison != 0) {
-        return lastComparison;
-      }
-      if (isSetCompFormat()) {
-        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.compFormat, other.compFormat);
-        if (lastComparison != 0) {
-          return lastComparison;
-        }
-      }
-      lastComparison = java.lang.Boolean.valueOf(isSetUncompSize()).compareTo(other.isSetUncompSize());
+      lastComparison = java.lang.Boolean.valueOf(isSetMbIds()).compareTo(other.isSetMbIds());
       if (lastComparison != 0) {
         return lastComparison;
       }
-      if (isSetUncompSize()) {
-        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.uncompSize, other.uncompSize);
+      if (isSetMbIds()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.mbIds, other.mbIds);
         if (lastComparison != 0) {
           return lastComparison;
         }
@@ -5669,28 +11645,16 @@ public class EdgeService {
 
     @Override
     public java.lang.String toString() {
-      java.lang.StringBuilder sb = new java.lang.StringBuilder("read_args(");
+      java.lang.StringBuilder sb = new java.lang.StringBuilder("deleteBlocks_args(");
       boolean first = true;
 
-      sb.append("mbId:");
-      sb.append(this.mbId);
-      first = false;
-      if (!first) sb.append(", ");
-      sb.append("fetchMetadata:");
-      sb.append(this.fetchMetadata);
-      first = false;
-      if (!first) sb.append(", ");
-      sb.append("compFormat:");
-      if (this.compFormat == null) {
+      sb.append("mbIds:");
+      if (this.mbIds == null) {
         sb.append("null");
       } else {
-        sb.append(this.compFormat);
+        sb.append(this.mbIds);
       }
       first = false;
-      if (!first) sb.append(", ");
-      sb.append("uncompSize:");
-      sb.append(this.uncompSize);
-      first = false;
       sb.append(")");
       return sb.toString();
     }
@@ -5710,23 +11674,21 @@ public class EdgeService {
 
     private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, java.lang.ClassNotFoundException {
       try {
-        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
-        __isset_bitfield = 0;
         read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
       } catch (org.apache.thrift.TException te) {
         throw new java.io.IOException(te);
       }
     }
 
-    private static class read_argsStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
-      public read_argsStandardScheme getScheme() {
-        return new read_argsStandardScheme();
+    private static class deleteBlocks_argsStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public deleteBlocks_argsStandardScheme getScheme() {
+        return new deleteBlocks_argsStandardScheme();
       }
     }
 
-    private static class read_argsStandardScheme extends org.apache.thrift.scheme.StandardScheme<read_args> {
+    private static class deleteBlocks_argsStandardScheme extends org.apache.thrift.scheme.StandardScheme<deleteBlocks_args> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, read_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, deleteBlocks_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -5736,34 +11698,20 @@ public class EdgeService {
             break;
           }
           switch (schemeField.id) {
-            case 1: // MB_ID
-              if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
-                struct.mbId = iprot.readI64();
-                struct.setMbIdIsSet(true);
-              } else { 
-                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
-              }
-              break;
-            case 2: // FETCH_METADATA
-              if (schemeField.type == org.apache.thrift.protocol.TType.BYTE) {
-                struct.fetchMetadata = iprot.readByte();
-                struct.setFetchMetadataIsSet(true);
-              } else { 
-                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
-              }
-              break;
-            case 3: // COMP_FORMAT
-              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
-                struct.compFormat = iprot.readString();
-                struct.setCompFormatIsSet(true);
-              } else { 
-                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
-              }
-              break;
-            case 4: // UNCOMP_SIZE
-              if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
-                struct.uncompSize = iprot.readI64();
-                struct.setUncompSizeIsSet(true);
+            case 1: // MB_IDS
+              if (schemeField.type == org.apache.thrift.protocol.TType.LIST) {
+                {
+                  org.apache.thrift.protocol.TList _list0 = iprot.readListBegin();
+                  struct.mbIds = new java.util.ArrayList<java.lang.Long>(_list0.size);
+                  long _elem1;
+                  for (int _i2 = 0; _i2 < _list0.size; ++_i2)
+                  {
+                    _elem1 = iprot.readI64();
+                    struct.mbIds.add(_elem1);
+                  }
+                  iprot.readListEnd();
+                }
+                struct.setMbIdsIsSet(true);
               } else { 
                 org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
               }
@@ -5779,88 +11727,71 @@ public class EdgeService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, read_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, deleteBlocks_args struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
-        oprot.writeFieldBegin(MB_ID_FIELD_DESC);
-        oprot.writeI64(struct.mbId);
-        oprot.writeFieldEnd();
-        oprot.writeFieldBegin(FETCH_METADATA_FIELD_DESC);
-        oprot.writeByte(struct.fetchMetadata);
-        oprot.writeFieldEnd();
-        if (struct.compFormat != null) {
-          oprot.writeFieldBegin(COMP_FORMAT_FIELD_DESC);
-          oprot.writeString(struct.compFormat);
+        if (struct.mbIds != null) {
+          oprot.writeFieldBegin(MB_IDS_FIELD_DESC);
+          {
+            oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.I64, struct.mbIds.size()));
+            for (long _iter3 : struct.mbIds)
+            {
+              oprot.writeI64(_iter3);
+            }
+            oprot.writeListEnd();
+          }
           oprot.writeFieldEnd();
         }
-        oprot.writeFieldBegin(UNCOMP_SIZE_FIELD_DESC);
-        oprot.writeI64(struct.uncompSize);
-        oprot.writeFieldEnd();
         oprot.writeFieldStop();
         oprot.writeStructEnd();
       }
 
     }
 
-    private static class read_argsTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
-      public read_argsTupleScheme getScheme() {
-        return new read_argsTupleScheme();
+    private static class deleteBlocks_argsTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public deleteBlocks_argsTupleScheme getScheme() {
+        return new deleteBlocks_argsTupleScheme();
       }
     }
 
-    private static class read_argsTupleScheme extends org.apache.thrift.scheme.TupleScheme<read_args> {
+    private static class deleteBlocks_argsTupleScheme extends org.apache.thrift.scheme.TupleScheme<deleteBlocks_args> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, read_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, deleteBlocks_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TTupleProtocol oprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
         java.util.BitSet optionals = new java.util.BitSet();
-        if (struct.isSetMbId()) {
+        if (struct.isSetMbIds()) {
           optionals.set(0);
         }
-        if (struct.isSetFetchMetadata()) {
-          optionals.set(1);
-        }
-        if (struct.isSetCompFormat()) {
-          optionals.set(2);
-        }
-        if (struct.isSetUncompSize()) {
-          optionals.set(3);
-        }
-        oprot.writeBitSet(optionals, 4);
-        if (struct.isSetMbId()) {
-          oprot.writeI64(struct.mbId);
-        }
-        if (struct.isSetFetchMetadata()) {
-          oprot.writeByte(struct.fetchMetadata);
-        }
-        if (struct.isSetCompFormat()) {
-          oprot.writeString(struct.compFormat);
-        }
-        if (struct.isSetUncompSize()) {
-          oprot.writeI64(struct.uncompSize);
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetMbIds()) {
+          {
+            oprot.writeI32(struct.mbIds.size());
+            for (long _iter4 : struct.mbIds)
+            {
+              oprot.writeI64(_iter4);
+            }
+          }
         }
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, read_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, deleteBlocks_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
-        java.util.BitSet incoming = iprot.readBitSet(4);
+        java.util.BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
-          struct.mbId = iprot.readI64();
-          struct.setMbIdIsSet(true);
-        }
-        if (incoming.get(1)) {
-          struct.fetchMetadata = iprot.readByte();
-          struct.setFetchMetadataIsSet(true);
-        }
-        if (incoming.get(2)) {
-          struct.compFormat = iprot.readString();
-          struct.setCompFormatIsSet(true);
-        }
-        if (incoming.get(3)) {
-          struct.uncompSize = iprot.readI64();
-          struct.setUncompSizeIsSet(true);
+          {
+            org.apache.thrift.protocol.TList _list5 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.I64, iprot.readI32());
+            struct.mbIds = new java.util.ArrayList<java.lang.Long>(_list5.size);
+            long _elem6;
+            for (int _i7 = 0; _i7 < _list5.size; ++_i7)
+            {
+              _elem6 = iprot.readI64();
+              struct.mbIds.add(_elem6);
+            }
+          }
+          struct.setMbIdsIsSet(true);
         }
       }
     }
@@ -5870,15 +11801,15 @@ public class EdgeService {
     }
   }
 
-  public static class read_result implements org.apache.thrift.TBase<read_result, read_result._Fields>, java.io.Serializable, Cloneable, Comparable<read_result>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("read_result");
+  public static class deleteBlocks_result implements org.apache.thrift.TBase<deleteBlocks_result, deleteBlocks_result._Fields>, java.io.Serializable, Cloneable, Comparable<deleteBlocks_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("deleteBlocks_result");
 
-    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.BYTE, (short)0);
 
-    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new read_resultStandardSchemeFactory();
-    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new read_resultTupleSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new deleteBlocks_resultStandardSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new deleteBlocks_resultTupleSchemeFactory();
 
-    public ReadReplica success; // required
+    public byte success; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -5939,65 +11870,67 @@ public class EdgeService {
     }
 
     // isset id assignments
+    private static final int __SUCCESS_ISSET_ID = 0;
+    private byte __isset_bitfield = 0;
     public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
     static {
       java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
       tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, ReadReplica.class)));
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.BYTE)));
       metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(read_result.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(deleteBlocks_result.class, metaDataMap);
     }
 
-    public read_result() {
+    public deleteBlocks_result() {
     }
 
-    public read_result(
-      ReadReplica success)
+    public deleteBlocks_result(
+      byte success)
     {
       this();
       this.success = success;
+      setSuccessIsSet(true);
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public read_result(read_result other) {
-      if (other.isSetSuccess()) {
-        this.success = new ReadReplica(other.success);
-      }
+    public deleteBlocks_result(deleteBlocks_result other) {
+      __isset_bitfield = other.__isset_bitfield;
+      this.success = other.success;
     }
 
-    public read_result deepCopy() {
-      return new read_result(this);
+    public deleteBlocks_result deepCopy() {
+      return new deleteBlocks_result(this);
     }
 
     @Override
     public void clear() {
-      this.success = null;
+      setSuccessIsSet(false);
+      this.success = 0;
     }
 
-    public ReadReplica getSuccess() {
+    public byte getSuccess() {
       return this.success;
     }
 
-    public read_result setSuccess(ReadReplica success) {
+    public deleteBlocks_result setSuccess(byte success) {
       this.success = success;
+      setSuccessIsSet(true);
       return this;
     }
 
     public void unsetSuccess() {
-      this.success = null;
+      __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __SUCCESS_ISSET_ID);
     }
 
     /** Returns true if field success is set (has been assigned a value) and false otherwise */
     public boolean isSetSuccess() {
-      return this.success != null;
+      return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __SUCCESS_ISSET_ID);
     }
 
     public void setSuccessIsSet(boolean value) {
-      if (!value) {
-        this.success = null;
-      }
+      __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __SUCCESS_ISSET_ID, value);
     }
 
     public void setFieldValue(_Fields field, java.lang.Object value) {
@@ -6006,7 +11939,7 @@ public class EdgeService {
         if (value == null) {
           unsetSuccess();
         } else {
-          setSuccess((ReadReplica)value);
+          setSuccess((java.lang.Byte)value);
         }
         break;
 
@@ -6039,23 +11972,23 @@ public class EdgeService {
     public boolean equals(java.lang.Object that) {
       if (that == null)
         return false;
-      if (that instanceof read_result)
-        return this.equals((read_result)that);
+      if (that instanceof deleteBlocks_result)
+        return this.equals((deleteBlocks_result)that);
       return false;
     }
 
-    public boolean equals(read_result that) {
+    public boolean equals(deleteBlocks_result that) {
       if (that == null)
         return false;
       if (this == that)
         return true;
 
-      boolean this_present_success = true && this.isSetSuccess();
-      boolean that_present_success = true && that.isSetSuccess();
+      boolean this_present_success = true;
+      boolean that_present_success = true;
       if (this_present_success || that_present_success) {
         if (!(this_present_success && that_present_success))
           return false;
-        if (!this.success.equals(that.success))
+        if (this.success != that.success)
           return false;
       }
 
@@ -6066,15 +11999,13 @@ public class EdgeService {
     public int hashCode() {
       int hashCode = 1;
 
-      hashCode = hashCode * 8191 + ((isSetSuccess()) ? 131071 : 524287);
-      if (isSetSuccess())
-        hashCode = hashCode * 8191 + success.hashCode();
+      hashCode = hashCode * 8191 + (int) (success);
 
       return hashCode;
     }
 
     @Override
-    public int compareTo(read_result other) {
+    public int compareTo(deleteBlocks_result other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
@@ -6108,15 +12039,11 @@ public class EdgeService {
 
     @Override
     public java.lang.String toString() {
-      java.lang.StringBuilder sb = new java.lang.StringBuilder("read_result(");
+      java.lang.StringBuilder sb = new java.lang.StringBuilder("deleteBlocks_result(");
       boolean first = true;
 
       sb.append("success:");
-      if (this.success == null) {
-        sb.append("null");
-      } else {
-        sb.append(this.success);
-      }
+      sb.append(this.success);
       first = false;
       sb.append(")");
       return sb.toString();
@@ -6125,9 +12052,6 @@ public class EdgeService {
     public void validate() throws org.apache.thrift.TException {
       // check for required fields
       // check for sub-struct validity
-      if (success != null) {
-        success.validate();
-      }
     }
 
     private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
@@ -6140,21 +12064,23 @@ public class EdgeService {
 
     private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, java.lang.ClassNotFoundException {
       try {
+        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+        __isset_bitfield = 0;
         read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
       } catch (org.apache.thrift.TException te) {
         throw new java.io.IOException(te);
       }
     }
 
-    private static class read_resultStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
-      public read_resultStandardScheme getScheme() {
-        return new read_resultStandardScheme();
+    private static class deleteBlocks_resultStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public deleteBlocks_resultStandardScheme getScheme() {
+        return new deleteBlocks_resultStandardScheme();
       }
     }
 
-    private static class read_resultStandardScheme extends org.apache.thrift.scheme.StandardScheme<read_result> {
+    private static class deleteBlocks_resultStandardScheme extends org.apache.thrift.scheme.StandardScheme<deleteBlocks_result> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, read_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, deleteBlocks_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -6165,9 +12091,8 @@ public class EdgeService {
           }
           switch (schemeField.id) {
             case 0: // SUCCESS
-              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
-                struct.success = new ReadReplica();
-                struct.success.read(iprot);
+              if (schemeField.type == org.apache.thrift.protocol.TType.BYTE) {
+                struct.success = iprot.readByte();
                 struct.setSuccessIsSet(true);
               } else { 
                 org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
@@ -6184,13 +12109,13 @@ public class EdgeService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, read_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, deleteBlocks_result struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
-        if (struct.success != null) {
+        if (struct.isSetSuccess()) {
           oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
-          struct.success.write(oprot);
+          oprot.writeByte(struct.success);
           oprot.writeFieldEnd();
         }
         oprot.writeFieldStop();
@@ -6199,16 +12124,16 @@ public class EdgeService {
 
     }
 
-    private static class read_resultTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
-      public read_resultTupleScheme getScheme() {
-        return new read_resultTupleScheme();
+    private static class deleteBlocks_resultTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public deleteBlocks_resultTupleScheme getScheme() {
+        return new deleteBlocks_resultTupleScheme();
       }
     }
 
-    private static class read_resultTupleScheme extends org.apache.thrift.scheme.TupleScheme<read_result> {
+    private static class deleteBlocks_resultTupleScheme extends org.apache.thrift.scheme.TupleScheme<deleteBlocks_result> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, read_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, deleteBlocks_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TTupleProtocol oprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
         java.util.BitSet optionals = new java.util.BitSet();
         if (struct.isSetSuccess()) {
@@ -6216,17 +12141,16 @@ public class EdgeService {
         }
         oprot.writeBitSet(optionals, 1);
         if (struct.isSetSuccess()) {
-          struct.success.write(oprot);
+          oprot.writeByte(struct.success);
         }
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, read_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, deleteBlocks_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
         java.util.BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
-          struct.success = new ReadReplica();
-          struct.success.read(iprot);
+          struct.success = iprot.readByte();
           struct.setSuccessIsSet(true);
         }
       }
@@ -408,13 +408,13 @@ public class FindResponse implements org.apache.thrift.TBase<FindResponse, FindR
           case 2: // DATA
             if (schemeField.type == org.apache.thrift.protocol.TType.LIST) {
               {
-                org.apache.thrift.protocol.TList _list66 = iprot.readListBegin();
-                struct.data = new java.util.ArrayList<java.nio.ByteBuffer>(_list66.size);
-                java.nio.ByteBuffer _elem67;
-                for (int _i68 = 0; _i68 < _list66.size; ++_i68)
+                org.apache.thrift.protocol.TList _list76 = iprot.readListBegin();
+                struct.data = new java.util.ArrayList<java.nio.ByteBuffer>(_list76.size);
+                java.nio.ByteBuffer _elem77;
+                for (int _i78 = 0; _i78 < _list76.size; ++_i78)
                 {
-                  _elem67 = iprot.readBinary();
-                  struct.data.add(_elem67);
+                  _elem77 = iprot.readBinary();
+                  struct.data.add(_elem77);
                 }
                 iprot.readListEnd();
               }
@@ -449,9 +449,9 @@ public class FindResponse implements org.apache.thrift.TBase<FindResponse, FindR
           oprot.writeFieldBegin(DATA_FIELD_DESC);
           {
             oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRING, struct.data.size()));
-            for (java.nio.ByteBuffer _iter69 : struct.data)
+            for (java.nio.ByteBuffer _iter79 : struct.data)
             {
-              oprot.writeBinary(_iter69);
+              oprot.writeBinary(_iter79);
             }
             oprot.writeListEnd();
           }
@@ -484,9 +484,9 @@ public class FindResponse implements org.apache.thrift.TBase<FindResponse, FindR
       if (struct.isSetData()) {
         {
           oprot.writeI32(struct.data.size());
-          for (java.nio.ByteBuffer _iter70 : struct.data)
+          for (java.nio.ByteBuffer _iter80 : struct.data)
           {
-            oprot.writeBinary(_iter70);
+            oprot.writeBinary(_iter80);
           }
         }
       }
@@ -500,13 +500,13 @@ public class FindResponse implements org.apache.thrift.TBase<FindResponse, FindR
       java.util.BitSet incoming = iprot.readBitSet(1);
       if (incoming.get(0)) {
         {
-          org.apache.thrift.protocol.TList _list71 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRING, iprot.readI32());
-          struct.data = new java.util.ArrayList<java.nio.ByteBuffer>(_list71.size);
-          java.nio.ByteBuffer _elem72;
-          for (int _i73 = 0; _i73 < _list71.size; ++_i73)
+          org.apache.thrift.protocol.TList _list81 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRING, iprot.readI32());
+          struct.data = new java.util.ArrayList<java.nio.ByteBuffer>(_list81.size);
+          java.nio.ByteBuffer _elem82;
+          for (int _i83 = 0; _i83 < _list81.size; ++_i83)
           {
-            _elem72 = iprot.readBinary();
-            struct.data.add(_elem72);
+            _elem82 = iprot.readBinary();
+            struct.data.add(_elem82);
           }
         }
         struct.setDataIsSet(true);
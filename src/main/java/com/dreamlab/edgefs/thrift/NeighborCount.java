@@ -489,15 +489,15 @@ public class NeighborCount implements org.apache.thrift.TBase<NeighborCount, Nei
           case 2: // NEIGHBOR_COUNT_PER_POOL
             if (schemeField.type == org.apache.thrift.protocol.TType.MAP) {
               {
-                org.apache.thrift.protocol.TMap _map38 = iprot.readMapBegin();
-                struct.neighborCountPerPool = new java.util.HashMap<java.lang.Short,java.lang.Short>(2*_map38.size);
-                short _key39;
-                short _val40;
-                for (int _i41 = 0; _i41 < _map38.size; ++_i41)
+                org.apache.thrift.protocol.TMap _map48 = iprot.readMapBegin();
+                struct.neighborCountPerPool = new java.util.HashMap<java.lang.Short,java.lang.Short>(2*_map48.size);
+                short _key49;
+                short _val50;
+                for (int _i51 = 0; _i51 < _map48.size; ++_i51)
                 {
-                  _key39 = iprot.readI16();
-                  _val40 = iprot.readI16();
-                  struct.neighborCountPerPool.put(_key39, _val40);
+                  _key49 = iprot.readI16();
+                  _val50 = iprot.readI16();
+                  struct.neighborCountPerPool.put(_key49, _val50);
                 }
                 iprot.readMapEnd();
               }
@@ -541,10 +541,10 @@ public class NeighborCount implements org.apache.thrift.TBase<NeighborCount, Nei
           oprot.writeFieldBegin(NEIGHBOR_COUNT_PER_POOL_FIELD_DESC);
           {
             oprot.writeMapBegin(new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.I16, org.apache.thrift.protocol.TType.I16, struct.neighborCountPerPool.size()));
-            for (java.util.Map.Entry<java.lang.Short, java.lang.Short> _iter42 : struct.neighborCountPerPool.entrySet())
+            for (java.util.Map.Entry<java.lang.Short, java.lang.Short> _iter52 : struct.neighborCountPerPool.entrySet())
             {
-              oprot.writeI16(_iter42.getKey());
-              oprot.writeI16(_iter42.getValue());
+              oprot.writeI16(_iter52.getKey());
+              oprot.writeI16(_iter52.getValue());
             }
             oprot.writeMapEnd();
           }
@@ -587,10 +587,10 @@ public class NeighborCount implements org.apache.thrift.TBase<NeighborCount, Nei
       if (struct.isSetNeighborCountPerPool()) {
         {
           oprot.writeI32(struct.neighborCountPerPool.size());
-          for (java.util.Map.Entry<java.lang.Short, java.lang.Short> _iter43 : struct.neighborCountPerPool.entrySet())
+          for (java.util.Map.Entry<java.lang.Short, java.lang.Short> _iter53 : struct.neighborCountPerPool.entrySet())
           {
-            oprot.writeI16(_iter43.getKey());
-            oprot.writeI16(_iter43.getValue());
+            oprot.writeI16(_iter53.getKey());
+            oprot.writeI16(_iter53.getValue());
           }
         }
       }
@@ -607,15 +607,15 @@ public class NeighborCount implements org.apache.thrift.TBase<NeighborCount, Nei
       java.util.BitSet incoming = iprot.readBitSet(2);
       if (incoming.get(0)) {
         {
-          org.apache.thrift.protocol.TMap _map44 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.I16, org.apache.thrift.protocol.TType.I16, iprot.readI32());
-          struct.neighborCountPerPool = new java.util.HashMap<java.lang.Short,java.lang.Short>(2*_map44.size);
-          short _key45;
-          short _val46;
-          for (int _i47 = 0; _i47 < _map44.size; ++_i47)
+          org.apache.thrift.protocol.TMap _map54 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.I16, org.apache.thrift.protocol.TType.I16, iprot.readI32());
+          struct.neighborCountPerPool = new java.util.HashMap<java.lang.Short,java.lang.Short>(2*_map54.size);
+          short _key55;
+          short _val56;
+          for (int _i57 = 0; _i57 < _map54.size; ++_i57)
           {
-            _key45 = iprot.readI16();
-            _val46 = iprot.readI16();
-            struct.neighborCountPerPool.put(_key45, _val46);
+            _key55 = iprot.readI16();
+            _val56 = iprot.readI16();
+            struct.neighborCountPerPool.put(_key55, _val56);
           }
         }
         struct.setNeighborCountPerPoolIsSet(true);
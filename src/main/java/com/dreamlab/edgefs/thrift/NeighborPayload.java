@@ -13,17 +13,20 @@ public class NeighborPayload implements org.apache.thrift.TBase<NeighborPayload,
 
   private static final org.apache.thrift.protocol.TField PAYLOAD_FIELD_DESC = new org.apache.thrift.protocol.TField("payload", org.apache.thrift.protocol.TType.STRING, (short)1);
   private static final org.apache.thrift.protocol.TField MB_ID_TO_STREAM_ID_MAP_FIELD_DESC = new org.apache.thrift.protocol.TField("mbIdToStreamIdMap", org.apache.thrift.protocol.TType.MAP, (short)2);
+  private static final org.apache.thrift.protocol.TField STATS_SKETCH_FIELD_DESC = new org.apache.thrift.protocol.TField("statsSketch", org.apache.thrift.protocol.TType.STRING, (short)3);
 
   private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new NeighborPayloadStandardSchemeFactory();
   private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new NeighborPayloadTupleSchemeFactory();
 
   public java.nio.ByteBuffer payload; // required
   public java.util.Map<java.lang.Long,java.lang.String> mbIdToStreamIdMap; // optional
+  public java.nio.ByteBuffer statsSketch; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.thrift.TFieldIdEnum {
     PAYLOAD((short)1, "payload"),
-    MB_ID_TO_STREAM_ID_MAP((short)2, "mbIdToStreamIdMap");
+    MB_ID_TO_STREAM_ID_MAP((short)2, "mbIdToStreamIdMap"),
+    STATS_SKETCH((short)3, "statsSketch");
 
     private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
 
@@ -42,6 +45,8 @@ public class NeighborPayload implements org.apache.thrift.TBase<NeighborPayload,
           return PAYLOAD;
         case 2: // MB_ID_TO_STREAM_ID_MAP
           return MB_ID_TO_STREAM_ID_MAP;
+        case 3: // STATS_SKETCH
+          return STATS_SKETCH;
         default:
           return null;
       }
@@ -82,7 +87,7 @@ public class NeighborPayload implements org.apache.thrift.TBase<NeighborPayload,
   }
 
   // isset id assignments
-  private static final _Fields optionals[] = {_Fields.MB_ID_TO_STREAM_ID_MAP};
+  private static final _Fields optionals[] = {_Fields.MB_ID_TO_STREAM_ID_MAP,_Fields.STATS_SKETCH};
   public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -92,6 +97,8 @@ public class NeighborPayload implements org.apache.thrift.TBase<NeighborPayload,
         new org.apache.thrift.meta_data.MapMetaData(org.apache.thrift.protocol.TType.MAP, 
             new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64), 
             new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING))));
+    tmpMap.put(_Fields.STATS_SKETCH, new org.apache.thrift.meta_data.FieldMetaData("statsSketch", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING        , true)));
     metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
     org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(NeighborPayload.class, metaDataMap);
   }
@@ -117,6 +124,9 @@ public class NeighborPayload implements org.apache.thrift.TBase<NeighborPayload,
       java.util.Map<java.lang.Long,java.lang.String> __this__mbIdToStreamIdMap = new java.util.HashMap<java.lang.Long,java.lang.String>(other.mbIdToStreamIdMap);
       this.mbIdToStreamIdMap = __this__mbIdToStreamIdMap;
     }
+    if (other.isSetStatsSketch()) {
+      this.statsSketch = org.apache.thrift.TBaseHelper.copyBinary(other.statsSketch);
+    }
   }
 
   public NeighborPayload deepCopy() {
@@ -127,6 +137,7 @@ public class NeighborPayload implements org.apache.thrift.TBase<NeighborPayload,
   public void clear() {
     this.payload = null;
     this.mbIdToStreamIdMap = null;
+    this.statsSketch = null;
   }
 
   public byte[] getPayload() {
@@ -198,6 +209,40 @@ public class NeighborPayload implements org.apache.thrift.TBase<NeighborPayload,
     }
   }
 
+  public byte[] getStatsSketch() {
+    setStatsSketch(org.apache.thrift.TBaseHelper.rightSize(statsSketch));
+    return statsSketch == null ? null : statsSketch.array();
+  }
+
+  public java.nio.ByteBuffer bufferForStatsSketch() {
+    return org.apache.thrift.TBaseHelper.copyBinary(statsSketch);
+  }
+
+  public NeighborPayload setStatsSketch(byte[] statsSketch) {
+    this.statsSketch = statsSketch == null ? (java.nio.ByteBuffer)null : java.nio.ByteBuffer.wrap(statsSketch.clone());
+    return this;
+  }
+
+  public NeighborPayload setStatsSketch(java.nio.ByteBuffer statsSketch) {
+    this.statsSketch = org.apache.thrift.TBaseHelper.copyBinary(statsSketch);
+    return this;
+  }
+
+  public void unsetStatsSketch() {
+    this.statsSketch = null;
+  }
+
+  /** Returns true if field statsSketch is set (has been assigned a value) and false otherwise */
+  public boolean isSetStatsSketch() {
+    return this.statsSketch != null;
+  }
+
+  public void setStatsSketchIsSet(boolean value) {
+    if (!value) {
+      this.statsSketch = null;
+    }
+  }
+
   public void setFieldValue(_Fields field, java.lang.Object value) {
     switch (field) {
     case PAYLOAD:
@@ -220,6 +265,18 @@ public class NeighborPayload implements org.apache.thrift.TBase<NeighborPayload,
       }
       break;
 
+    case STATS_SKETCH:
+      if (value == null) {
+        unsetStatsSketch();
+      } else {
+        if (value instanceof byte[]) {
+          setStatsSketch((byte[])value);
+        } else {
+          setStatsSketch((java.nio.ByteBuffer)value);
+        }
+      }
+      break;
+
     }
   }
 
@@ -231,6 +288,9 @@ public class NeighborPayload implements org.apache.thrift.TBase<NeighborPayload,
     case MB_ID_TO_STREAM_ID_MAP:
       return getMbIdToStreamIdMap();
 
+    case STATS_SKETCH:
+      return getStatsSketch();
+
     }
     throw new java.lang.IllegalStateException();
   }
@@ -246,6 +306,8 @@ public class NeighborPayload implements org.apache.thrift.TBase<NeighborPayload,
       return isSetPayload();
     case MB_ID_TO_STREAM_ID_MAP:
       return isSetMbIdToStreamIdMap();
+    case STATS_SKETCH:
+      return isSetStatsSketch();
     }
     throw new java.lang.IllegalStateException();
   }
@@ -283,6 +345,15 @@ public class NeighborPayload implements org.apache.thrift.TBase<NeighborPayload,
         return false;
     }
 
+    boolean this_present_statsSketch = true && this.isSetStatsSketch();
+    boolean that_present_statsSketch = true && that.isSetStatsSketch();
+    if (this_present_statsSketch || that_present_statsSketch) {
+      if (!(this_present_statsSketch && that_present_statsSketch))
+        return false;
+      if (!this.statsSketch.equals(that.statsSketch))
+        return false;
+    }
+
     return true;
   }
 
@@ -298,6 +369,10 @@ public class NeighborPayload implements org.apache.thrift.TBase<NeighborPayload,
     if (isSetMbIdToStreamIdMap())
       hashCode = hashCode * 8191 + mbIdToStreamIdMap.hashCode();
 
+    hashCode = hashCode * 8191 + ((isSetStatsSketch()) ? 131071 : 524287);
+    if (isSetStatsSketch())
+      hashCode = hashCode * 8191 + statsSketch.hashCode();
+
     return hashCode;
   }
 
@@ -329,6 +404,16 @@ public class NeighborPayload implements org.apache.thrift.TBase<NeighborPayload,
         return lastComparison;
       }
     }
+    lastComparison = java.lang.Boolean.valueOf(isSetStatsSketch()).compareTo(other.isSetStatsSketch());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetStatsSketch()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.statsSketch, other.statsSketch);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -366,6 +451,16 @@ public class NeighborPayload implements org.apache.thrift.TBase<NeighborPayload,
       }
       first = false;
     }
+    if (isSetStatsSketch()) {
+      if (!first) sb.append(", ");
+      sb.append("statsSketch:");
+      if (this.statsSketch == null) {
+        sb.append("null");
+      } else {
+        org.apache.thrift.TBaseHelper.toString(this.statsSketch, sb);
+      }
+      first = false;
+    }
     sb.append(")");
     return sb.toString();
   }
@@ -423,15 +518,15 @@ public class NeighborPayload implements org.apache.thrift.TBase<NeighborPayload,
           case 2: // MB_ID_TO_STREAM_ID_MAP
             if (schemeField.type == org.apache.thrift.protocol.TType.MAP) {
               {
-                org.apache.thrift.protocol.TMap _map28 = iprot.readMapBegin();
-                struct.mbIdToStreamIdMap = new java.util.HashMap<java.lang.Long,java.lang.String>(2*_map28.size);
-                long _key29;
-                java.lang.String _val30;
-                for (int _i31 = 0; _i31 < _map28.size; ++_i31)
+                org.apache.thrift.protocol.TMap _map38 = iprot.readMapBegin();
+                struct.mbIdToStreamIdMap = new java.util.HashMap<java.lang.Long,java.lang.String>(2*_map38.size);
+                long _key39;
+                java.lang.String _val40;
+                for (int _i41 = 0; _i41 < _map38.size; ++_i41)
                 {
-                  _key29 = iprot.readI64();
-                  _val30 = iprot.readString();
-                  struct.mbIdToStreamIdMap.put(_key29, _val30);
+                  _key39 = iprot.readI64();
+                  _val40 = iprot.readString();
+                  struct.mbIdToStreamIdMap.put(_key39, _val40);
                 }
                 iprot.readMapEnd();
               }
@@ -440,6 +535,14 @@ public class NeighborPayload implements org.apache.thrift.TBase<NeighborPayload,
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 3: // STATS_SKETCH
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+              struct.statsSketch = iprot.readBinary();
+              struct.setStatsSketchIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -465,16 +568,23 @@ public class NeighborPayload implements org.apache.thrift.TBase<NeighborPayload,
           oprot.writeFieldBegin(MB_ID_TO_STREAM_ID_MAP_FIELD_DESC);
           {
             oprot.writeMapBegin(new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.I64, org.apache.thrift.protocol.TType.STRING, struct.mbIdToStreamIdMap.size()));
-            for (java.util.Map.Entry<java.lang.Long, java.lang.String> _iter32 : struct.mbIdToStreamIdMap.entrySet())
+            for (java.util.Map.Entry<java.lang.Long, java.lang.String> _iter42 : struct.mbIdToStreamIdMap.entrySet())
             {
-              oprot.writeI64(_iter32.getKey());
-              oprot.writeString(_iter32.getValue());
+              oprot.writeI64(_iter42.getKey());
+              oprot.writeString(_iter42.getValue());
             }
             oprot.writeMapEnd();
           }
           oprot.writeFieldEnd();
         }
       }
+      if (struct.statsSketch != null) {
+        if (struct.isSetStatsSketch()) {
+          oprot.writeFieldBegin(STATS_SKETCH_FIELD_DESC);
+          oprot.writeBinary(struct.statsSketch);
+          oprot.writeFieldEnd();
+        }
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -497,17 +607,23 @@ public class NeighborPayload implements org.apache.thrift.TBase<NeighborPayload,
       if (struct.isSetMbIdToStreamIdMap()) {
         optionals.set(0);
       }
-      oprot.writeBitSet(optionals, 1);
+      if (struct.isSetStatsSketch()) {
+        optionals.set(1);
+      }
+      oprot.writeBitSet(optionals, 2);
       if (struct.isSetMbIdToStreamIdMap()) {
         {
           oprot.writeI32(struct.mbIdToStreamIdMap.size());
-          for (java.util.Map.Entry<java.lang.Long, java.lang.String> _iter33 : struct.mbIdToStreamIdMap.entrySet())
+          for (java.util.Map.Entry<java.lang.Long, java.lang.String> _iter43 : struct.mbIdToStreamIdMap.entrySet())
           {
-            oprot.writeI64(_iter33.getKey());
-            oprot.writeString(_iter33.getValue());
+            oprot.writeI64(_iter43.getKey());
+            oprot.writeString(_iter43.getValue());
           }
         }
       }
+      if (struct.isSetStatsSketch()) {
+        oprot.writeBinary(struct.statsSketch);
+      }
     }
 
     @Override
@@ -515,22 +631,26 @@ public class NeighborPayload implements org.apache.thrift.TBase<NeighborPayload,
       org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
       struct.payload = iprot.readBinary();
       struct.setPayloadIsSet(true);
-      java.util.BitSet incoming = iprot.readBitSet(1);
+      java.util.BitSet incoming = iprot.readBitSet(2);
       if (incoming.get(0)) {
         {
-          org.apache.thrift.protocol.TMap _map34 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.I64, org.apache.thrift.protocol.TType.STRING, iprot.readI32());
-          struct.mbIdToStreamIdMap = new java.util.HashMap<java.lang.Long,java.lang.String>(2*_map34.size);
-          long _key35;
-          java.lang.String _val36;
-          for (int _i37 = 0; _i37 < _map34.size; ++_i37)
+          org.apache.thrift.protocol.TMap _map44 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.I64, org.apache.thrift.protocol.TType.STRING, iprot.readI32());
+          struct.mbIdToStreamIdMap = new java.util.HashMap<java.lang.Long,java.lang.String>(2*_map44.size);
+          long _key45;
+          java.lang.String _val46;
+          for (int _i47 = 0; _i47 < _map44.size; ++_i47)
           {
-            _key35 = iprot.readI64();
-            _val36 = iprot.readString();
-            struct.mbIdToStreamIdMap.put(_key35, _val36);
+            _key45 = iprot.readI64();
+            _val46 = iprot.readString();
+            struct.mbIdToStreamIdMap.put(_key45, _val46);
           }
         }
         struct.setMbIdToStreamIdMapIsSet(true);
       }
+      if (incoming.get(1)) {
+        struct.statsSketch = iprot.readBinary();
+        struct.setStatsSketchIsSet(true);
+      }
     }
   }
 
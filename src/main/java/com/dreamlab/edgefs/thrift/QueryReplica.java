@@ -334,26 +334,26 @@ public class QueryReplica implements org.apache.thrift.TBase<QueryReplica, Query
           case 1: // MATCHING_NODES
             if (schemeField.type == org.apache.thrift.protocol.TType.MAP) {
               {
-                org.apache.thrift.protocol.TMap _map74 = iprot.readMapBegin();
-                struct.matchingNodes = new java.util.HashMap<java.lang.Long,java.util.List<NodeInfoData>>(2*_map74.size);
-                long _key75;
-                java.util.List<NodeInfoData> _val76;
-                for (int _i77 = 0; _i77 < _map74.size; ++_i77)
+                org.apache.thrift.protocol.TMap _map84 = iprot.readMapBegin();
+                struct.matchingNodes = new java.util.HashMap<java.lang.Long,java.util.List<NodeInfoData>>(2*_map84.size);
+                long _key85;
+                java.util.List<NodeInfoData> _val86;
+                for (int _i87 = 0; _i87 < _map84.size; ++_i87)
                 {
-                  _key75 = iprot.readI64();
+                  _key85 = iprot.readI64();
                   {
-                    org.apache.thrift.protocol.TList _list78 = iprot.readListBegin();
-                    _val76 = new java.util.ArrayList<NodeInfoData>(_list78.size);
-                    NodeInfoData _elem79;
-                    for (int _i80 = 0; _i80 < _list78.size; ++_i80)
+                    org.apache.thrift.protocol.TList _list88 = iprot.readListBegin();
+                    _val86 = new java.util.ArrayList<NodeInfoData>(_list88.size);
+                    NodeInfoData _elem89;
+                    for (int _i90 = 0; _i90 < _list88.size; ++_i90)
                     {
-                      _elem79 = new NodeInfoData();
-                      _elem79.read(iprot);
-                      _val76.add(_elem79);
+                      _elem89 = new NodeInfoData();
+                      _elem89.read(iprot);
+                      _val86.add(_elem89);
                     }
                     iprot.readListEnd();
                   }
-                  struct.matchingNodes.put(_key75, _val76);
+                  struct.matchingNodes.put(_key85, _val86);
                 }
                 iprot.readMapEnd();
               }
@@ -381,14 +381,14 @@ public class QueryReplica implements org.apache.thrift.TBase<QueryReplica, Query
         oprot.writeFieldBegin(MATCHING_NODES_FIELD_DESC);
         {
           oprot.writeMapBegin(new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.I64, org.apache.thrift.protocol.TType.LIST, struct.matchingNodes.size()));
-          for (java.util.Map.Entry<java.lang.Long, java.util.List<NodeInfoData>> _iter81 : struct.matchingNodes.entrySet())
+          for (java.util.Map.Entry<java.lang.Long, java.util.List<NodeInfoData>> _iter91 : struct.matchingNodes.entrySet())
           {
-            oprot.writeI64(_iter81.getKey());
+            oprot.writeI64(_iter91.getKey());
             {
-              oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, _iter81.getValue().size()));
-              for (NodeInfoData _iter82 : _iter81.getValue())
+              oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, _iter91.getValue().size()));
+              for (NodeInfoData _iter92 : _iter91.getValue())
               {
-                _iter82.write(oprot);
+                _iter92.write(oprot);
               }
               oprot.writeListEnd();
             }
@@ -416,14 +416,14 @@ public class QueryReplica implements org.apache.thrift.TBase<QueryReplica, Query
       org.apache.thrift.protocol.TTupleProtocol oprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
       {
         oprot.writeI32(struct.matchingNodes.size());
-        for (java.util.Map.Entry<java.lang.Long, java.util.List<NodeInfoData>> _iter83 : struct.matchingNodes.entrySet())
+        for (java.util.Map.Entry<java.lang.Long, java.util.List<NodeInfoData>> _iter93 : struct.matchingNodes.entrySet())
         {
-          oprot.writeI64(_iter83.getKey());
+          oprot.writeI64(_iter93.getKey());
           {
-            oprot.writeI32(_iter83.getValue().size());
-            for (NodeInfoData _iter84 : _iter83.getValue())
+            oprot.writeI32(_iter93.getValue().size());
+            for (NodeInfoData _iter94 : _iter93.getValue())
             {
-              _iter84.write(oprot);
+              _iter94.write(oprot);
             }
           }
         }
@@ -434,25 +434,25 @@ public class QueryReplica implements org.apache.thrift.TBase<QueryReplica, Query
     public void read(org.apache.thrift.protocol.TProtocol prot, QueryReplica struct) throws org.apache.thrift.TException {
       org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
       {
-        org.apache.thrift.protocol.TMap _map85 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.I64, org.apache.thrift.protocol.TType.LIST, iprot.readI32());
-        struct.matchingNodes = new java.util.HashMap<java.lang.Long,java.util.List<NodeInfoData>>(2*_map85.size);
-        long _key86;
-        java.util.List<NodeInfoData> _val87;
-        for (int _i88 = 0; _i88 < _map85.size; ++_i88)
+        org.apache.thrift.protocol.TMap _map95 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.I64, org.apache.thrift.protocol.TType.LIST, iprot.readI32());
+        struct.matchingNodes = new java.util.HashMap<java.lang.Long,java.util.List<NodeInfoData>>(2*_map95.size);
+        long _key96;
+        java.util.List<NodeInfoData> _val97;
+        for (int _i98 = 0; _i98 < _map95.size; ++_i98)
         {
-          _key86 = iprot.readI64();
+          _key96 = iprot.readI64();
           {
-            org.apache.thrift.protocol.TList _list89 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
-            _val87 = new java.util.ArrayList<NodeInfoData>(_list89.size);
-            NodeInfoData _elem90;
-            for (int _i91 = 0; _i91 < _list89.size; ++_i91)
+            org.apache.thrift.protocol.TList _list99 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+            _val97 = new java.util.ArrayList<NodeInfoData>(_list99.size);
+            NodeInfoData _elem100;
+            for (int _i101 = 0; _i101 < _list99.size; ++_i101)
             {
-              _elem90 = new NodeInfoData();
-              _elem90.read(iprot);
-              _val87.add(_elem90);
+              _elem100 = new NodeInfoData();
+              _elem100.read(iprot);
+              _val97.add(_elem100);
             }
           }
-          struct.matchingNodes.put(_key86, _val87);
+          struct.matchingNodes.put(_key96, _val97);
         }
       }
       struct.setMatchingNodesIsSet(true);
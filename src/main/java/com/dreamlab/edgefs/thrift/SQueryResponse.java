@@ -410,13 +410,13 @@ public class SQueryResponse implements org.apache.thrift.TBase<SQueryResponse, S
           case 2: // STREAM_LIST
             if (schemeField.type == org.apache.thrift.protocol.TType.LIST) {
               {
-                org.apache.thrift.protocol.TList _list58 = iprot.readListBegin();
-                struct.streamList = new java.util.ArrayList<java.lang.String>(_list58.size);
-                java.lang.String _elem59;
-                for (int _i60 = 0; _i60 < _list58.size; ++_i60)
+                org.apache.thrift.protocol.TList _list68 = iprot.readListBegin();
+                struct.streamList = new java.util.ArrayList<java.lang.String>(_list68.size);
+                java.lang.String _elem69;
+                for (int _i70 = 0; _i70 < _list68.size; ++_i70)
                 {
-                  _elem59 = iprot.readString();
-                  struct.streamList.add(_elem59);
+                  _elem69 = iprot.readString();
+                  struct.streamList.add(_elem69);
                 }
                 iprot.readListEnd();
               }
@@ -450,9 +450,9 @@ public class SQueryResponse implements org.apache.thrift.TBase<SQueryResponse, S
         oprot.writeFieldBegin(STREAM_LIST_FIELD_DESC);
         {
           oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRING, struct.streamList.size()));
-          for (java.lang.String _iter61 : struct.streamList)
+          for (java.lang.String _iter71 : struct.streamList)
           {
-            oprot.writeString(_iter61);
+            oprot.writeString(_iter71);
           }
           oprot.writeListEnd();
         }
@@ -478,9 +478,9 @@ public class SQueryResponse implements org.apache.thrift.TBase<SQueryResponse, S
       oprot.writeByte(struct.status);
       {
         oprot.writeI32(struct.streamList.size());
-        for (java.lang.String _iter62 : struct.streamList)
+        for (java.lang.String _iter72 : struct.streamList)
         {
-          oprot.writeString(_iter62);
+          oprot.writeString(_iter72);
         }
       }
     }
@@ -491,13 +491,13 @@ public class SQueryResponse implements org.apache.thrift.TBase<SQueryResponse, S
       struct.status = iprot.readByte();
       struct.setStatusIsSet(true);
       {
-        org.apache.thrift.protocol.TList _list63 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRING, iprot.readI32());
-        struct.streamList = new java.util.ArrayList<java.lang.String>(_list63.size);
-        java.lang.String _elem64;
-        for (int _i65 = 0; _i65 < _list63.size; ++_i65)
+        org.apache.thrift.protocol.TList _list73 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRING, iprot.readI32());
+        struct.streamList = new java.util.ArrayList<java.lang.String>(_list73.size);
+        java.lang.String _elem74;
+        for (int _i75 = 0; _i75 < _list73.size; ++_i75)
         {
-          _elem64 = iprot.readString();
-          struct.streamList.add(_elem64);
+          _elem74 = iprot.readString();
+          struct.streamList.add(_elem74);
         }
       }
       struct.setStreamListIsSet(true);
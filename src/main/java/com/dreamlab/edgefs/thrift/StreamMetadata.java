@@ -1086,16 +1086,16 @@ public class StreamMetadata implements org.apache.thrift.TBase<StreamMetadata, S
           case 9: // OTHER_PROPERTIES
             if (schemeField.type == org.apache.thrift.protocol.TType.MAP) {
               {
-                org.apache.thrift.protocol.TMap _map48 = iprot.readMapBegin();
-                struct.otherProperties = new java.util.HashMap<java.lang.String,DynamicTypeStreamMetadata>(2*_map48.size);
-                java.lang.String _key49;
-                DynamicTypeStreamMetadata _val50;
-                for (int _i51 = 0; _i51 < _map48.size; ++_i51)
+                org.apache.thrift.protocol.TMap _map58 = iprot.readMapBegin();
+                struct.otherProperties = new java.util.HashMap<java.lang.String,DynamicTypeStreamMetadata>(2*_map58.size);
+                java.lang.String _key59;
+                DynamicTypeStreamMetadata _val60;
+                for (int _i61 = 0; _i61 < _map58.size; ++_i61)
                 {
-                  _key49 = iprot.readString();
-                  _val50 = new DynamicTypeStreamMetadata();
-                  _val50.read(iprot);
-                  struct.otherProperties.put(_key49, _val50);
+                  _key59 = iprot.readString();
+                  _val60 = new DynamicTypeStreamMetadata();
+                  _val60.read(iprot);
+                  struct.otherProperties.put(_key59, _val60);
                 }
                 iprot.readMapEnd();
               }
@@ -1168,10 +1168,10 @@ public class StreamMetadata implements org.apache.thrift.TBase<StreamMetadata, S
           oprot.writeFieldBegin(OTHER_PROPERTIES_FIELD_DESC);
           {
             oprot.writeMapBegin(new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.STRUCT, struct.otherProperties.size()));
-            for (java.util.Map.Entry<java.lang.String, DynamicTypeStreamMetadata> _iter52 : struct.otherProperties.entrySet())
+            for (java.util.Map.Entry<java.lang.String, DynamicTypeStreamMetadata> _iter62 : struct.otherProperties.entrySet())
             {
-              oprot.writeString(_iter52.getKey());
-              _iter52.getValue().write(oprot);
+              oprot.writeString(_iter62.getKey());
+              _iter62.getValue().write(oprot);
             }
             oprot.writeMapEnd();
           }
@@ -1221,10 +1221,10 @@ public class StreamMetadata implements org.apache.thrift.TBase<StreamMetadata, S
       if (struct.isSetOtherProperties()) {
         {
           oprot.writeI32(struct.otherProperties.size());
-          for (java.util.Map.Entry<java.lang.String, DynamicTypeStreamMetadata> _iter53 : struct.otherProperties.entrySet())
+          for (java.util.Map.Entry<java.lang.String, DynamicTypeStreamMetadata> _iter63 : struct.otherProperties.entrySet())
           {
-            oprot.writeString(_iter53.getKey());
-            _iter53.getValue().write(oprot);
+            oprot.writeString(_iter63.getKey());
+            _iter63.getValue().write(oprot);
           }
         }
       }
@@ -1263,16 +1263,16 @@ public class StreamMetadata implements org.apache.thrift.TBase<StreamMetadata, S
       }
       if (incoming.get(2)) {
         {
-          org.apache.thrift.protocol.TMap _map54 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
-          struct.otherProperties = new java.util.HashMap<java.lang.String,DynamicTypeStreamMetadata>(2*_map54.size);
-          java.lang.String _key55;
-          DynamicTypeStreamMetadata _val56;
-          for (int _i57 = 0; _i57 < _map54.size; ++_i57)
+          org.apache.thrift.protocol.TMap _map64 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+          struct.otherProperties = new java.util.HashMap<java.lang.String,DynamicTypeStreamMetadata>(2*_map64.size);
+          java.lang.String _key65;
+          DynamicTypeStreamMetadata _val66;
+          for (int _i67 = 0; _i67 < _map64.size; ++_i67)
           {
-            _key55 = iprot.readString();
-            _val56 = new DynamicTypeStreamMetadata();
-            _val56.read(iprot);
-            struct.otherProperties.put(_key55, _val56);
+            _key65 = iprot.readString();
+            _val66 = new DynamicTypeStreamMetadata();
+            _val66.read(iprot);
+            struct.otherProperties.put(_key65, _val66);
           }
         }
         struct.setOtherPropertiesIsSet(true);
@@ -0,0 +1,75 @@
+package com.dreamlab.edgefs;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.dreamlab.edgefs.controlplane.Fog;
+import com.dreamlab.edgefs.misc.AdaptiveCadence;
+
+public class AdaptiveCadenceTest {
+
+	@Test
+	public void busySendsEveryHeartbeatTest() {
+		AdaptiveCadence cadence = new AdaptiveCadence(1, 5, 15, 60);
+		long changes = 0;
+		int sends = 0;
+		for (int i = 0; i < 20; i++) {
+			changes += 3;
+			if (cadence.onHeartbeat(changes, true)) {
+				sends++;
+			}
+		}
+		Assert.assertEquals(1, cadence.getInterval());
+		// only the first few heartbeats wait while the rate picks up
+		Assert.assertTrue(sends >= 18);
+	}
+
+	@Test
+	public void idleBacksOffTest() {
+		AdaptiveCadence cadence = new AdaptiveCadence(1, 5, 15, 60);
+		int sends = 0;
+		for (int i = 0; i < 200; i++) {
+			if (cadence.onHeartbeat(0, false)) {
+				sends++;
+			}
+		}
+		Assert.assertEquals(5, cadence.getInterval());
+		Assert.assertEquals(60, cadence.getForceInterval());
+		// forced sends at heartbeats 15, 45, 105 and 165
+		Assert.assertEquals(4, sends);
+	}
+
+	@Test
+	public void changeResetsForceBackoffTest() {
+		AdaptiveCadence cadence = new AdaptiveCadence(1, 5, 15, 60);
+		for (int i = 0; i < 100; i++) {
+			cadence.onHeartbeat(0, false);
+		}
+		Assert.assertEquals(60, cadence.getForceInterval());
+		// a single update is sent within the upper bound of the interval
+		boolean sent = false;
+		for (int i = 0; i < 5 && !sent; i++) {
+			sent = cadence.onHeartbeat(1, true);
+		}
+		Assert.assertTrue(sent);
+		Assert.assertEquals(15, cadence.getForceInterval());
+	}
+
+	@Test
+	public void deserializedFogCountsUpdatesTest() throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream oos = new ObjectOutputStream(bytes);
+		oos.writeObject(new Fog("127.0.0.1", (short) 1, 9090, (short) 1, 0.9f));
+		oos.close();
+		Fog fog = (Fog) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+		// the update counters are not part of the serialized Fog
+		fog.setMostRecentSelfBFUpdate(System.currentTimeMillis());
+		fog.setMostRecentNeighborBFUpdate(System.currentTimeMillis());
+	}
+
+}
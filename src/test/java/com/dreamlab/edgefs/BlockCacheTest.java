@@ -0,0 +1,117 @@
+package com.dreamlab.edgefs;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.dreamlab.edgefs.misc.BlockCache;
+import com.dreamlab.edgefs.misc.Constants;
+import com.dreamlab.edgefs.thrift.Metadata;
+import com.dreamlab.edgefs.thrift.ReadReplica;
+
+public class BlockCacheTest {
+
+	private ReadReplica replica(int length, Metadata metadata) {
+		ReadReplica replica = new ReadReplica();
+		replica.setStatus(Constants.SUCCESS);
+		byte[] data = new byte[length];
+		for (int i = 0; i < length; i++) {
+			data[i] = (byte) i;
+		}
+		replica.setData(data);
+		if (metadata != null) {
+			replica.setMetadata(metadata);
+		}
+		return replica;
+	}
+
+	@Test
+	public void lruEvictionTest() {
+		BlockCache cache = new BlockCache(300, false);
+		cache.put(1, "Snappy", replica(100, null));
+		cache.put(2, "Snappy", replica(100, null));
+		cache.put(3, "Snappy", replica(100, null));
+		// 1 is used so 2 is the least recently used
+		Assert.assertNotNull(cache.get(1, "Snappy", false));
+		cache.put(4, "Snappy", replica(100, null));
+		Assert.assertNull(cache.get(2, "Snappy", false));
+		Assert.assertNotNull(cache.get(1, "Snappy", false));
+		Assert.assertNotNull(cache.get(4, "Snappy", false));
+		// different compression format is a different block
+		Assert.assertNull(cache.get(1, "Gzip", false));
+
+		Assert.assertEquals(Long.valueOf(3), cache.getStats().get("hits"));
+		Assert.assertEquals(Long.valueOf(2), cache.getStats().get("misses"));
+		Assert.assertEquals(Long.valueOf(1), cache.getStats().get("evictions"));
+		Assert.assertEquals(Long.valueOf(300), cache.getStats().get("size"));
+	}
+
+	@Test
+	public void invalidateAndMetadataTest() {
+		BlockCache cache = new BlockCache(1024, true);
+		Metadata metadata = new Metadata();
+		metadata.setMbId(5);
+		cache.put(5, "Snappy", replica(64, metadata));
+		cache.put(5, "Gzip", replica(32, null));
+		cache.put(6, "Snappy", replica(16, null));
+
+		ReadReplica cached = cache.get(5, "Snappy", true);
+		Assert.assertEquals(64, cached.getData().length);
+		Assert.assertEquals(63, cached.getData()[63]);
+		Assert.assertEquals(5, cached.getMetadata().getMbId());
+		// cached without the metadata
+		Assert.assertNull(cache.get(5, "Gzip", true));
+
+		cache.invalidate(5);
+		Assert.assertNull(cache.get(5, "Snappy", false));
+		Assert.assertNull(cache.get(5, "Gzip", false));
+		Assert.assertNotNull(cache.get(6, "Snappy", false));
+		Assert.assertEquals(Long.valueOf(16), cache.getStats().get("size"));
+	}
+
+	@Test
+	public void invalidateAfterEvictionTest() {
+		BlockCache cache = new BlockCache(200, false);
+		cache.put(9, null, replica(100, null));
+		cache.put(9, "Gzip", replica(100, null));
+		// evicts the format cached first
+		cache.put(10, "NA", replica(100, null));
+		Assert.assertFalse(cache.contains(9, null));
+
+		cache.invalidate(9);
+		Assert.assertFalse(cache.contains(9, "Gzip"));
+		Assert.assertEquals(Long.valueOf(100), cache.getStats().get("size"));
+
+		// cached again after the invalidation, it is still found by the next one
+		cache.put(9, null, replica(50, null));
+		cache.invalidate(9);
+		Assert.assertFalse(cache.contains(9, null));
+		Assert.assertTrue(cache.contains(10, "NA"));
+		Assert.assertEquals(Long.valueOf(100), cache.getStats().get("size"));
+	}
+
+	@Test
+	public void staleReadTest() {
+		BlockCache cache = new BlockCache(1024, false);
+		// a read takes the generation and fetches the block, which is updated
+		// before the read puts its copy
+		long generation = cache.getGeneration(7);
+		cache.invalidate(7);
+		cache.put(7, "Snappy", replica(16, null), generation);
+		Assert.assertNull(cache.get(7, "Snappy", false));
+
+		cache.put(7, "Snappy", replica(16, null), cache.getGeneration(7));
+		Assert.assertNotNull(cache.get(7, "Snappy", false));
+	}
+
+	@Test
+	public void ttlTest() throws InterruptedException {
+		BlockCache cache = new BlockCache(1024, false, 50);
+		cache.put(8, "Snappy", replica(16, null));
+		Assert.assertTrue(cache.contains(8, "Snappy"));
+		Thread.sleep(100);
+		Assert.assertFalse(cache.contains(8, "Snappy"));
+		Assert.assertNull(cache.get(8, "Snappy", false));
+		Assert.assertEquals(Long.valueOf(0), cache.getStats().get("size"));
+	}
+
+}
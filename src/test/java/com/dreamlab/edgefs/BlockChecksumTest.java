@@ -0,0 +1,51 @@
+package com.dreamlab.edgefs;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.dreamlab.edgefs.misc.BlockChecksum;
+
+public class BlockChecksumTest {
+
+	@Test
+	public void knownValueTest() {
+		// the standard check value of CRC32C
+		byte[] data = "123456789".getBytes(StandardCharsets.US_ASCII);
+		Assert.assertEquals("crc32c:e3069283", BlockChecksum.compute(data));
+	}
+
+	@Test
+	public void bufferKindsTest() {
+		byte[] data = new byte[200 * 1024];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) (i * 31);
+		}
+		String expected = BlockChecksum.compute(data);
+
+		ByteBuffer direct = ByteBuffer.allocateDirect(data.length);
+		direct.duplicate().put(data);
+		Assert.assertEquals(expected, BlockChecksum.compute(direct));
+		// the position is not moved
+		Assert.assertEquals(data.length, direct.remaining());
+
+		byte[] padded = new byte[data.length + 20];
+		System.arraycopy(data, 0, padded, 10, data.length);
+		ByteBuffer sliced = ByteBuffer.wrap(padded, 10, data.length).slice();
+		Assert.assertEquals(expected, BlockChecksum.compute(sliced));
+	}
+
+	@Test
+	public void matchesTest() {
+		byte[] data = "some block".getBytes(StandardCharsets.US_ASCII);
+		String checksum = BlockChecksum.compute(data);
+		Assert.assertTrue(BlockChecksum.matches(checksum, ByteBuffer.wrap(data)));
+		data[0] = 'S';
+		Assert.assertFalse(BlockChecksum.matches(checksum, ByteBuffer.wrap(data)));
+		// MD5 digests of older clients are never taken to match
+		Assert.assertFalse(BlockChecksum.matches("5d41402abc4b2a76b9719d911017c592", ByteBuffer.wrap(data)));
+	}
+
+}
@@ -0,0 +1,225 @@
+package com.dreamlab.edgefs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+
+import org.apache.thrift.TException;
+import org.apache.thrift.server.TServer;
+import org.apache.thrift.server.TThreadPoolServer;
+import org.apache.thrift.transport.TFramedTransport;
+import org.apache.thrift.transport.TServerSocket;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dreamlab.edgefs.controlplane.BlockPurger;
+import com.dreamlab.edgefs.controlplane.Fog;
+import com.dreamlab.edgefs.edge.handler.EdgeServiceHandler;
+import com.dreamlab.edgefs.edge.model.Edge;
+import com.dreamlab.edgefs.misc.BloomFilter;
+import com.dreamlab.edgefs.misc.Constants;
+import com.dreamlab.edgefs.model.EdgeInfo;
+import com.dreamlab.edgefs.servicehandler.FogServiceHandler;
+import com.dreamlab.edgefs.thrift.ByteTypeStreamMetadata;
+import com.dreamlab.edgefs.thrift.DoubleTypeStreamMetadata;
+import com.dreamlab.edgefs.thrift.DynamicTypeStreamMetadata;
+import com.dreamlab.edgefs.thrift.EdgeService;
+import com.dreamlab.edgefs.thrift.EdgeInfoData;
+import com.dreamlab.edgefs.thrift.I32TypeStreamMetadata;
+import com.dreamlab.edgefs.thrift.I64TypeStreamMetadata;
+import com.dreamlab.edgefs.thrift.Metadata;
+import com.dreamlab.edgefs.thrift.StreamMetadata;
+import com.dreamlab.edgefs.thrift.StreamMetadataInfo;
+
+public class BlockPurgerTest {
+
+	private static final short EDGE_ID = 1;
+
+	private Fog fog;
+	private FogServiceHandler handler;
+
+	@Before
+	public void setUp() {
+		fog = new Fog("127.0.0.1", (short) 1, 9090, (short) 1, 0.9f);
+		handler = new FogServiceHandler(fog);
+		// no edge listens on this port so the files are left to a later run
+		fog.getLocalEdgesMap().put(EDGE_ID, new EdgeInfo(EDGE_ID, "127.0.0.1", 1, 90));
+		fog.getEdgeBloomFilters().put(EDGE_ID, new byte[Constants.BLOOM_FILTER_BYTES]);
+		fog.getEdgeMicrobatchMap().put(EDGE_ID, new HashSet<Long>());
+	}
+
+	private void insert(long mbId, String streamId, long timestamp) throws TException {
+		Metadata metadata = new Metadata("client", "secret", streamId, mbId, timestamp);
+		EdgeInfoData edgeInfoData = new EdgeInfoData(EDGE_ID, "127.0.0.1", 1, (byte) 90, (byte) 0);
+		handler.insertMetadata(metadata, edgeInfoData, new HashMap<String, String>());
+	}
+
+	private boolean inBloomFilter(long mbId) {
+		return BloomFilter.search(Constants.MICROBATCH_METADATA_ID, String.valueOf(mbId),
+				fog.getEdgeBloomFilters().get(EDGE_ID));
+	}
+
+	@Test
+	public void deleteBlockTest() throws TException {
+		insert(1, "stream", 1000);
+		insert(2, "stream", 2000);
+		Assert.assertTrue(inBloomFilter(2));
+
+		Assert.assertEquals(Constants.SUCCESS, handler.deleteBlock(2, false, false));
+		Assert.assertEquals(Constants.FAILURE, handler.deleteBlock(2, false, false));
+		// not found any more even before it is purged
+		Assert.assertTrue(handler.find(2, false, false, null).isEmpty());
+		Assert.assertEquals(1, handler.find(1, false, false, null).size());
+		Assert.assertFalse(fog.getEdgeMicrobatchMap().get(EDGE_ID).contains(2L));
+
+		fog.getBlockPurger().run();
+		Assert.assertFalse(fog.getMetaToMBIdListMap().containsKey(Constants.MICROBATCH_METADATA_ID + ":2"));
+		Assert.assertTrue(fog.getMetaToMBIdListMap().containsKey(Constants.MICROBATCH_METADATA_ID + ":1"));
+		Assert.assertFalse(inBloomFilter(2));
+		Assert.assertTrue(inBloomFilter(1));
+		Assert.assertTrue(BloomFilter.search(Constants.MICROBATCH_METADATA_ID, "1", fog.getPersonalBloomFilter()));
+		// the edge could not be reached so its files are removed later
+		Assert.assertEquals(1, fog.getBlockPurger().pendingCount());
+	}
+
+	@Test
+	public void singleRebuildTest() throws TException {
+		insert(1, "stream", 1000);
+		insert(2, "stream", 1000);
+		insert(3, "stream", 1000);
+		BlockPurger purger = new BlockPurger(fog, 1, 0);
+		fog.setBlockPurger(purger);
+		Assert.assertEquals(Constants.SUCCESS, handler.deleteBlock(1, false, false));
+		Assert.assertEquals(Constants.SUCCESS, handler.deleteBlock(2, false, false));
+
+		purger.run();
+		// the files go a batch per run but both blocks leave the index and the
+		// bloom filter in the first one
+		Assert.assertEquals(2, purger.pendingCount());
+		Assert.assertFalse(fog.getMetaToMBIdListMap().containsKey(Constants.MICROBATCH_METADATA_ID + ":1"));
+		Assert.assertFalse(fog.getMetaToMBIdListMap().containsKey(Constants.MICROBATCH_METADATA_ID + ":2"));
+		Assert.assertFalse(inBloomFilter(1));
+		Assert.assertFalse(inBloomFilter(2));
+		Assert.assertTrue(inBloomFilter(3));
+	}
+
+	/**
+	 * Edge recording the blocks it is asked to delete
+	 */
+	private static class RecordingEdge extends EdgeServiceHandler {
+
+		private final List<Long> deleted = Collections.synchronizedList(new ArrayList<Long>());
+
+		RecordingEdge() {
+			super(new Edge(EDGE_ID, "127.0.0.1", 1, (byte) 90, "127.0.0.1", 1, "", ""));
+		}
+
+		@Override
+		public byte deleteBlocks(List<Long> mbIds) throws TException {
+			deleted.addAll(mbIds);
+			return Constants.SUCCESS;
+		}
+	}
+
+	@Test
+	public void inactiveEdgeTest() throws Exception {
+		insert(1, "stream", 1000);
+		fog.getLocalEdgesMap().get(EDGE_ID).setStatus("D");
+		Assert.assertEquals(Constants.SUCCESS, handler.deleteBlock(1, false, false));
+		fog.getBlockPurger().run();
+		// kept for when the edge is back
+		Assert.assertEquals(1, fog.getBlockPurger().pendingCount());
+
+		RecordingEdge edge = new RecordingEdge();
+		TServerSocket socket = new TServerSocket(0);
+		final TServer server = new TThreadPoolServer(new TThreadPoolServer.Args(socket)
+				.processor(new EdgeService.Processor<EdgeService.Iface>(edge))
+				.transportFactory(new TFramedTransport.Factory()));
+		Thread thread = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				server.serve();
+			}
+		});
+		thread.setDaemon(true);
+		thread.start();
+		try {
+			while (!server.isServing()) {
+				Thread.sleep(10);
+			}
+			EdgeInfo edgeInfo = fog.getLocalEdgesMap().get(EDGE_ID);
+			edgeInfo.setPort(socket.getServerSocket().getLocalPort());
+			// still not active so nothing is sent
+			fog.getBlockPurger().run();
+			Assert.assertTrue(edge.deleted.isEmpty());
+
+			edgeInfo.setStatus("A");
+			fog.getBlockPurger().run();
+			Assert.assertEquals(Arrays.asList(1L), edge.deleted);
+			Assert.assertEquals(0, fog.getBlockPurger().pendingCount());
+		} finally {
+			server.stop();
+		}
+	}
+
+	private StreamMetadata streamMetadata(String streamId) {
+		return new StreamMetadata(streamId, new I64TypeStreamMetadata(0, false),
+				new DoubleTypeStreamMetadata(0.9, false), new ByteTypeStreamMetadata((byte) 1, false),
+				new ByteTypeStreamMetadata((byte) 2, false), new I32TypeStreamMetadata(0, true));
+	}
+
+	@Test
+	public void retentionTest() throws TException {
+		handler.registerStream("stream", streamMetadata("stream"), 0);
+		long now = System.currentTimeMillis();
+		insert(1, "stream", now - 120 * 1000);
+		insert(2, "stream", now);
+		new BlockPurger(fog, 10, 60).run();
+		Assert.assertFalse(fog.getBlockMetadata().containsKey(1L));
+		Assert.assertTrue(fog.getBlockMetadata().containsKey(2L));
+		Assert.assertFalse(inBloomFilter(1));
+	}
+
+	@Test
+	public void replicaRetentionTest() throws TException {
+		long now = System.currentTimeMillis();
+		insert(1, "remote", now - 120 * 1000);
+		insert(2, "remote", now - 20 * 1000);
+		BlockPurger purger = new BlockPurger(fog, 10, 60);
+		// the stream can't be found as this Fog has no neighbors
+		purger.setHandler(handler);
+		purger.run();
+		// a replica of a stream whose metadata is not known is kept
+		Assert.assertTrue(fog.getBlockMetadata().containsKey(1L));
+
+		// once a copy of the metadata is cached its retention is applied
+		StreamMetadata metadata = streamMetadata("remote");
+		metadata.putToOtherProperties(Constants.STREAM_RETENTION_PROPERTY,
+				new DynamicTypeStreamMetadata("10", "java.lang.Long", true));
+		fog.getStreamMetadata().put("remote", new StreamMetadataInfo(metadata, true));
+		// a new purger as the retention is checked once in an interval
+		new BlockPurger(fog, 10, 60).run();
+		Assert.assertFalse(fog.getBlockMetadata().containsKey(1L));
+		Assert.assertFalse(fog.getBlockMetadata().containsKey(2L));
+	}
+
+	@Test
+	public void deleteStreamTest() throws TException {
+		handler.registerStream("stream", streamMetadata("stream"), 0);
+		insert(1, "stream", 1000);
+		insert(2, "other", 1000);
+
+		Assert.assertEquals(Constants.SUCCESS, handler.terminate("stream"));
+		Assert.assertFalse(fog.getStreamMetadata().containsKey("stream"));
+		Assert.assertFalse(fog.getBlockMetadata().containsKey(1L));
+		Assert.assertTrue(fog.getBlockMetadata().containsKey(2L));
+		Assert.assertFalse(
+				BloomFilter.search(Constants.STREAM_METADATA_ID, "stream", fog.getPersonalStreamBFilter()));
+	}
+
+}
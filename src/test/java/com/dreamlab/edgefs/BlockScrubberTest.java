@@ -0,0 +1,124 @@
+package com.dreamlab.edgefs;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.thrift.TException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dreamlab.edgefs.edge.handler.BlockScrubber;
+import com.dreamlab.edgefs.edge.handler.EdgeServiceHandler;
+import com.dreamlab.edgefs.edge.model.Edge;
+import com.dreamlab.edgefs.misc.BlockChecksum;
+import com.dreamlab.edgefs.misc.Constants;
+import com.dreamlab.edgefs.thrift.Metadata;
+
+public class BlockScrubberTest {
+
+	private File dir;
+	private Edge edge;
+	private EdgeServiceHandler handler;
+
+	@Before
+	public void setUp() throws IOException {
+		dir = Files.createTempDirectory("scrubber").toFile();
+		// no Fog listens on this port so the corrupt blocks stay unreported
+		edge = new Edge((short) 1, "127.0.0.1", 8000, (byte) 90, "127.0.0.1", 1, dir.getPath(), "");
+		handler = new EdgeServiceHandler(edge);
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		FileUtils.deleteDirectory(dir);
+	}
+
+	private byte[] write(long mbId, String compFormat) throws TException {
+		byte[] data = new byte[100 * 1024];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) ('a' + (i * 7 + mbId) % 26);
+		}
+		Metadata metadata = new Metadata("client", "secret", "stream", mbId, 0);
+		metadata.setCompFormat(compFormat);
+		metadata.setUncompSize(data.length);
+		Assert.assertEquals(Constants.SUCCESS,
+				handler.write(mbId, metadata, ByteBuffer.wrap(data)).getStatus());
+		return data;
+	}
+
+	@Test
+	public void checksumSentIsVerifiedTest() throws TException {
+		Metadata metadata = new Metadata("client", "secret", "stream", 3, 0);
+		metadata.setCompFormat("NA");
+		metadata.setChecksum(BlockChecksum.compute(new byte[] { 1, 2, 3 }));
+		Assert.assertEquals(Constants.FAILURE,
+				handler.write(3, metadata, ByteBuffer.wrap(new byte[] { 1, 2, 4 })).getStatus());
+		Assert.assertFalse(new File(dir, "3.data").exists());
+	}
+
+	@Test
+	public void otherChecksumReplacedTest() throws TException {
+		Metadata metadata = new Metadata("client", "secret", "stream", 6, 0);
+		metadata.setCompFormat("NA");
+		// the MD5 digest an older client sends
+		metadata.setChecksum("5289df737df57326fcdd22597afb1fac");
+		Assert.assertEquals(Constants.SUCCESS,
+				handler.write(6, metadata, ByteBuffer.wrap(new byte[] { 1, 2, 3 })).getStatus());
+		Assert.assertEquals(BlockChecksum.compute(new byte[] { 1, 2, 3 }), metadata.getChecksum());
+	}
+
+	@Test
+	public void updateFromSliceTest() throws TException {
+		write(4, "NA");
+		// the block is a slice of a larger frame as under a nonblocking server
+		byte[] frame = new byte[] { 9, 9, 1, 2, 3, 9 };
+		ByteBuffer slice = ByteBuffer.wrap(frame, 2, 3).slice();
+		Metadata metadata = new Metadata("client", "secret", "stream", 4, 0);
+		metadata.setCompFormat("NA");
+		metadata.setChecksum(BlockChecksum.compute(new byte[] { 1, 2, 3 }));
+		Assert.assertEquals(Constants.SUCCESS, handler.update(4, metadata, slice).getStatus());
+		Assert.assertArrayEquals(new byte[] { 1, 2, 3 }, handler.read(4, (byte) 0, "NA", 3).getData());
+	}
+
+	@Test
+	public void updateCompressedTest() throws TException {
+		write(5, "Gzip");
+		byte[] data = new byte[] { 4, 5, 6, 7 };
+		Metadata metadata = new Metadata("client", "secret", "stream", 5, 0);
+		metadata.setCompFormat("Gzip");
+		metadata.setUncompSize(data.length);
+		Assert.assertEquals(Constants.SUCCESS, handler.update(5, metadata, ByteBuffer.wrap(data)).getStatus());
+		// the checksum is kept for the updated bytes and holds on a read
+		Assert.assertTrue(new File(dir, "5" + Constants.CHECKSUM_SUFFIX).exists());
+		Assert.assertArrayEquals(data, handler.read(5, (byte) 0, "Gzip", data.length).getData());
+	}
+
+	@Test
+	public void corruptBlockTest() throws Exception {
+		byte[] intact = write(1, "NA");
+		byte[] data = write(2, "NA");
+
+		// flip a byte in the middle of the second block
+		RandomAccessFile file = new RandomAccessFile(new File(dir, "2.data"), "rw");
+		file.seek(5000);
+		int b = file.read();
+		file.seek(5000);
+		file.write(b ^ 0xff);
+		file.close();
+
+		Assert.assertArrayEquals(intact, handler.read(1, (byte) 0, "NA", intact.length).getData());
+		Assert.assertEquals(Constants.CORRUPT, handler.read(2, (byte) 0, "NA", data.length).getStatus());
+
+		new BlockScrubber(edge, handler, 0, 0).scrub();
+		// the Fog was not reachable so the corrupt block is kept till reported
+		Assert.assertTrue(new File(dir, "2.data").exists());
+		Assert.assertTrue(new File(dir, "1.data").exists());
+	}
+
+}
@@ -0,0 +1,322 @@
+package com.dreamlab.edgefs;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.thrift.TException;
+import org.apache.thrift.TProcessor;
+import org.apache.thrift.server.TServer;
+import org.apache.thrift.server.TThreadPoolServer;
+import org.apache.thrift.transport.TFramedTransport;
+import org.apache.thrift.transport.TServerSocket;
+import org.apache.thrift.transport.TTransportException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dreamlab.edgefs.controlplane.Fog;
+import com.dreamlab.edgefs.edge.handler.EdgeServiceHandler;
+import com.dreamlab.edgefs.edge.model.Edge;
+import com.dreamlab.edgefs.misc.BandwidthThrottle;
+import com.dreamlab.edgefs.misc.BloomFilter;
+import com.dreamlab.edgefs.misc.Constants;
+import com.dreamlab.edgefs.model.BulkRecoverTask;
+import com.dreamlab.edgefs.model.EdgeInfo;
+import com.dreamlab.edgefs.model.FogExchangeInfo;
+import com.dreamlab.edgefs.model.NeighborInfo;
+import com.dreamlab.edgefs.model.NodeInfo;
+import com.dreamlab.edgefs.model.StorageReliability;
+import com.dreamlab.edgefs.servicehandler.FogServiceHandler;
+import com.dreamlab.edgefs.thrift.EdgeService;
+import com.dreamlab.edgefs.thrift.FogService;
+import com.dreamlab.edgefs.thrift.Metadata;
+import com.dreamlab.edgefs.thrift.NodeInfoData;
+import com.dreamlab.edgefs.thrift.ReadReplica;
+import com.dreamlab.edgefs.thrift.WritableFogData;
+import com.dreamlab.edgefs.thrift.WritePreference;
+
+public class BulkRecoverTaskTest {
+
+	/**
+	 * Records the batches it is asked to copy and copies all of them
+	 */
+	private static class TargetFog extends FogServiceHandler {
+
+		private final List<String> copies = Collections.synchronizedList(new ArrayList<String>());
+
+		TargetFog(short nodeId, int port) {
+			super(new Fog("127.0.0.1", nodeId, port, nodeId, 0.9f));
+		}
+
+		@Override
+		public List<Long> replicateFrom(List<Long> mbIds, NodeInfoData source, WritePreference preference)
+				throws TException {
+			copies.add(source.getNodeId() + ":" + mbIds);
+			List<Long> copied = new ArrayList<>();
+			for (int i = 0; i < mbIds.size(); i++) {
+				copied.add(100L);
+			}
+			return copied;
+		}
+	}
+
+	/**
+	 * Holds the surviving replicas and serves them only as a batch
+	 */
+	private static class SourceFog extends FogServiceHandler {
+
+		private final Map<Long, byte[]> blocks = new HashMap<>();
+		private final List<List<Long>> batches = Collections.synchronizedList(new ArrayList<List<Long>>());
+
+		SourceFog(short nodeId, int port) {
+			super(new Fog("127.0.0.1", nodeId, port, nodeId, 0.9f));
+		}
+
+		@Override
+		public List<ReadReplica> readBatch(List<Long> mbIds, boolean fetchMetadata) throws TException {
+			batches.add(new ArrayList<>(mbIds));
+			List<ReadReplica> replicas = new ArrayList<>();
+			for (Long mbId : mbIds) {
+				ReadReplica replica = new ReadReplica();
+				replica.setStatus(Constants.SUCCESS);
+				replica.setData(blocks.get(mbId));
+				Metadata metadata = new Metadata("client", "secret", "stream", mbId, 0);
+				metadata.setCompFormat("NA");
+				metadata.setUncompSize(blocks.get(mbId).length);
+				replica.setMetadata(metadata);
+				replicas.add(replica);
+			}
+			return replicas;
+		}
+	}
+
+	/**
+	 * Picks the target Fog for every batch and records the microbatch the
+	 * replicas are identified for
+	 */
+	private static class CoordinatorFog extends FogServiceHandler {
+
+		private final List<Long> identified = new ArrayList<>();
+		private WritableFogData target;
+		private volatile boolean readFrom;
+
+		CoordinatorFog(Fog fog) {
+			super(fog);
+		}
+
+		@Override
+		public List<ReadReplica> readBatch(List<Long> mbIds, boolean fetchMetadata) throws TException {
+			readFrom = true;
+			return super.readBatch(mbIds, fetchMetadata);
+		}
+
+		@Override
+		public ReadReplica read(long microbatchId, boolean fetchMetadata, String compFormat, long uncompSize)
+				throws TException {
+			readFrom = true;
+			return super.read(microbatchId, fetchMetadata, compFormat, uncompSize);
+		}
+
+		@Override
+		public List<WritableFogData> identifyReplicas(long mbId, long dataLength, boolean isEdge,
+				double expectedReliability, int minReplica, int maxReplica) {
+			identified.add(mbId);
+			return Arrays.asList(target);
+		}
+	}
+
+	private List<TServer> servers = new ArrayList<>();
+	private File dir;
+	private Fog fog;
+
+	@Before
+	public void setUp() throws IOException {
+		dir = Files.createTempDirectory("bulkrecover").toFile();
+		fog = new Fog("127.0.0.1", (short) 1, 9090, (short) 1, 0.9f);
+		fog.setRecoveryBatchSize(10);
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		for (TServer server : servers) {
+			server.stop();
+		}
+		FileUtils.deleteDirectory(dir);
+	}
+
+	private void serve(TServerSocket socket, TProcessor processor) throws InterruptedException {
+		final TServer server = new TThreadPoolServer(
+				new TThreadPoolServer.Args(socket).processor(processor).transportFactory(new TFramedTransport.Factory()));
+		Thread thread = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				server.serve();
+			}
+		});
+		thread.setDaemon(true);
+		thread.start();
+		servers.add(server);
+		while (!server.isServing()) {
+			Thread.sleep(10);
+		}
+	}
+
+	private void addEdge(short edgeId, int port, String status) {
+		EdgeInfo edgeInfo = new EdgeInfo(edgeId, "127.0.0.1", port, 90);
+		edgeInfo.setStatus(status);
+		fog.getLocalEdgesMap().put(edgeId, edgeInfo);
+	}
+
+	private void place(long mbId, short... edgeIds) {
+		Map<Short, Byte> edges = new HashMap<>();
+		for (short edgeId : edgeIds) {
+			edges.put(edgeId, (byte) 90);
+		}
+		fog.getMbIDLocationMap().put(mbId, edges);
+	}
+
+	@Test
+	public void batchPerSourceAndHoldersTest() throws Exception {
+		// edge 1 is dead, edges 2 and 3 hold the surviving local replicas
+		addEdge((short) 1, 1, "D");
+		addEdge((short) 2, 1, "A");
+		addEdge((short) 3, 1, "A");
+		place(1, (short) 1, (short) 2);
+		place(2, (short) 1, (short) 3);
+		place(3, (short) 1, (short) 2);
+		// the other replicas of these are on the neighbor
+		place(4, (short) 1);
+		place(5, (short) 1);
+		byte[] bloomFilter = new byte[Constants.BLOOM_FILTER_BYTES];
+		BloomFilter.storeEntry(Constants.MICROBATCH_METADATA_ID, "4", bloomFilter);
+		BloomFilter.storeEntry(Constants.MICROBATCH_METADATA_ID, "5", bloomFilter);
+		fog.getNeighborExchangeInfo().put((short) 5, new FogExchangeInfo(bloomFilter));
+		fog.getNeighborsMap().put((short) 5, new NeighborInfo(new NodeInfo("127.0.0.1", (short) 5, 1)));
+
+		TServerSocket socket = new TServerSocket(0);
+		TargetFog target = new TargetFog((short) 2, socket.getServerSocket().getLocalPort());
+		serve(socket, new FogService.Processor<FogService.Iface>(target));
+		CoordinatorFog coordinator = new CoordinatorFog(fog);
+		coordinator.target = new WritableFogData(new NodeInfoData((short) 2, "127.0.0.1",
+				socket.getServerSocket().getLocalPort()), WritePreference.HHH, 0.9);
+
+		BulkRecoverTask task = new BulkRecoverTask((short) 1, 90, Arrays.asList(1L, 2L, 3L, 4L, 5L), coordinator,
+				new BandwidthThrottle(0));
+		Assert.assertTrue(task.recover().isEmpty());
+
+		// the blocks are batched by the Fog they are copied from and by the
+		// local edges holding them, the targets are picked once per batch
+		Assert.assertEquals(Arrays.asList("1:[1, 3]", "1:[2]", "5:[4, 5]"), target.copies);
+		Assert.assertEquals(Arrays.asList(1L, 2L, 4L), coordinator.identified);
+		Assert.assertTrue(fog.getEdgeMicrobatchMap().get((short) 1) == null
+				|| fog.getEdgeMicrobatchMap().get((short) 1).isEmpty());
+	}
+
+	private EdgeServiceHandler startEdge(short edgeId, String status) throws IOException, TTransportException,
+			InterruptedException {
+		File edgeDir = new File(dir, "edge" + edgeId);
+		edgeDir.mkdirs();
+		TServerSocket socket = new TServerSocket(0);
+		int port = socket.getServerSocket().getLocalPort();
+		EdgeServiceHandler handler = new EdgeServiceHandler(
+				new Edge(edgeId, "127.0.0.1", port, (byte) 90, "127.0.0.1", 1, edgeDir.getPath(), ""));
+		serve(socket, new EdgeService.Processor<EdgeService.Iface>(handler));
+		addEdge(edgeId, port, status);
+		return handler;
+	}
+
+	@Test
+	public void readBatchFallbackTest() throws Exception {
+		// edge 2 can't be reached, edge 3 lost the block and edge 4 has it
+		addEdge((short) 2, 1, "A");
+		startEdge((short) 3, "A");
+		EdgeServiceHandler holder = startEdge((short) 4, "A");
+		byte[] block = new byte[1000];
+		Arrays.fill(block, (byte) 7);
+		Metadata metadata = new Metadata("client", "secret", "stream", 1, 0);
+		metadata.setCompFormat("NA");
+		metadata.setUncompSize(block.length);
+		Assert.assertEquals(Constants.SUCCESS, holder.write(1, metadata, ByteBuffer.wrap(block)).getStatus());
+		fog.getBlockMetadata().put(1L, metadata);
+		place(1, (short) 2, (short) 3, (short) 4);
+
+		List<ReadReplica> replicas = new FogServiceHandler(fog).readBatch(Arrays.asList(1L, 2L), false);
+		Assert.assertEquals(Constants.SUCCESS, replicas.get(0).getStatus());
+		Assert.assertArrayEquals(block, replicas.get(0).getData());
+		// not held by any local edge
+		Assert.assertEquals(Constants.FAILURE, replicas.get(1).getStatus());
+	}
+
+	@Test
+	public void directCopyTest() throws Exception {
+		// the blocks of the dead edge survive only on the source Fog
+		addEdge((short) 1, 1, "D");
+		place(1, (short) 1);
+		place(2, (short) 1);
+		fog.getEdgeMicrobatchMap().put((short) 1, ConcurrentHashMap.<Long>newKeySet());
+		fog.getEdgeMicrobatchMap().get((short) 1).addAll(Arrays.asList(1L, 2L));
+		byte[] bloomFilter = new byte[Constants.BLOOM_FILTER_BYTES];
+		BloomFilter.storeEntry(Constants.MICROBATCH_METADATA_ID, "1", bloomFilter);
+		BloomFilter.storeEntry(Constants.MICROBATCH_METADATA_ID, "2", bloomFilter);
+		fog.getNeighborExchangeInfo().put((short) 5, new FogExchangeInfo(bloomFilter));
+
+		TServerSocket sourceSocket = new TServerSocket(0);
+		int sourcePort = sourceSocket.getServerSocket().getLocalPort();
+		SourceFog source = new SourceFog((short) 5, sourcePort);
+		for (long mbId = 1; mbId <= 2; mbId++) {
+			byte[] block = new byte[1000];
+			Arrays.fill(block, (byte) mbId);
+			source.blocks.put(mbId, block);
+		}
+		serve(sourceSocket, new FogService.Processor<FogService.Iface>(source));
+		fog.getNeighborsMap().put((short) 5, new NeighborInfo(new NodeInfo("127.0.0.1", (short) 5, sourcePort)));
+
+		// the target Fog writes the copies to an edge of its own
+		File edgeDir = new File(dir, "target");
+		edgeDir.mkdirs();
+		TServerSocket edgeSocket = new TServerSocket(0);
+		int edgePort = edgeSocket.getServerSocket().getLocalPort();
+		serve(edgeSocket, new EdgeService.Processor<EdgeService.Iface>(new EdgeServiceHandler(
+				new Edge((short) 7, "127.0.0.1", edgePort, (byte) 90, "127.0.0.1", 1, edgeDir.getPath(), ""))));
+		TServerSocket targetSocket = new TServerSocket(0);
+		int targetPort = targetSocket.getServerSocket().getLocalPort();
+		Fog targetFog = new Fog("127.0.0.1", (short) 2, targetPort, (short) 2, 0.9f);
+		EdgeInfo targetEdge = new EdgeInfo((short) 7, "127.0.0.1", edgePort, 90);
+		targetEdge.getStats().setStorage(10 * Constants.DISK_WATERMARK);
+		targetFog.getLocalEdgesMap().put((short) 7, targetEdge);
+		targetFog.getEdgeBloomFilters().put((short) 7, new byte[Constants.BLOOM_FILTER_BYTES]);
+		targetFog.getLocalEdgeMapping().put(StorageReliability.HH, new ArrayList<>(Arrays.asList((short) 7)));
+		serve(targetSocket, new FogService.Processor<FogService.Iface>(new FogServiceHandler(targetFog)));
+
+		CoordinatorFog coordinator = new CoordinatorFog(fog);
+		coordinator.target = new WritableFogData(new NodeInfoData((short) 2, "127.0.0.1", targetPort),
+				WritePreference.HHH, 0.9);
+		BulkRecoverTask task = new BulkRecoverTask((short) 1, 90, Arrays.asList(1L, 2L), coordinator,
+				new BandwidthThrottle(0));
+		Assert.assertTrue(task.recover().isEmpty());
+
+		// the target pulled the batch from the source in one call and indexed the
+		// copies written to its edge, the data never went through this Fog
+		Assert.assertEquals(Arrays.asList(Arrays.asList(1L, 2L)), source.batches);
+		for (long mbId = 1; mbId <= 2; mbId++) {
+			Assert.assertTrue(targetFog.getMbIDLocationMap().get(mbId).containsKey((short) 7));
+			Assert.assertTrue(targetFog.getStreamMbIdMap().get("stream").contains(mbId));
+			Assert.assertTrue(new File(edgeDir, mbId + ".data").exists());
+		}
+		Assert.assertFalse(coordinator.readFrom);
+		Assert.assertTrue(fog.getEdgeMicrobatchMap().get((short) 1).isEmpty());
+	}
+
+}
@@ -0,0 +1,141 @@
+package com.dreamlab.edgefs;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.thrift.TException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dreamlab.edgefs.edge.handler.ChunkedBlockWriter;
+import com.dreamlab.edgefs.edge.handler.CompressionAndDecompression;
+import com.dreamlab.edgefs.edge.handler.EdgeServiceHandler;
+import com.dreamlab.edgefs.edge.model.Edge;
+import com.dreamlab.edgefs.misc.Constants;
+import com.dreamlab.edgefs.thrift.Metadata;
+
+public class ChunkedWriteTest {
+
+	private File dir;
+	private byte[] block;
+	private CompressionAndDecompression compression = new CompressionAndDecompression();
+
+	@Before
+	public void setUp() throws IOException {
+		dir = Files.createTempDirectory("chunkedwrite").toFile();
+		block = new byte[200 * 1024 + 17];
+		Random random = new Random(11);
+		for (int i = 0; i < block.length; i++) {
+			block[i] = (byte) ('a' + random.nextInt(4));
+		}
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		FileUtils.deleteDirectory(dir);
+	}
+
+	// chunks of a size unrelated to the compression chunks
+	private String writeInChunks(String format) throws IOException {
+		String path = new File(dir, format + ".data").getPath();
+		ChunkedBlockWriter writer = new ChunkedBlockWriter(path, format);
+		for (int offset = 0; offset < block.length; offset += 50000) {
+			Assert.assertEquals(offset, writer.getWritten());
+			writer.write(block, offset, Math.min(50000, block.length - offset));
+		}
+		Assert.assertTrue(writer.finish() > 0);
+		return path;
+	}
+
+	@Test
+	public void gzipChunkedWriteTest() throws IOException {
+		String path = writeInChunks("Gzip");
+		Assert.assertArrayEquals(block, compression.decompressAndReadGzip(path, block.length));
+		Assert.assertArrayEquals(Arrays.copyOfRange(block, 130000, 140000),
+				compression.readRangeGzip(path, 130000, 10000));
+	}
+
+	@Test
+	public void snappyChunkedWriteTest() throws IOException {
+		String path = writeInChunks("Snappy");
+		Assert.assertArrayEquals(block, compression.decompressAndReadSnappy(path, block.length));
+		Assert.assertArrayEquals(Arrays.copyOfRange(block, 130000, 140000),
+				compression.readRangeSnappy(path, 130000, 10000));
+	}
+
+	@Test
+	public void uncompressedChunkedWriteTest() throws IOException {
+		String path = writeInChunks("NA");
+		Assert.assertArrayEquals(block, compression.decompressAndReadNA(path, block.length));
+	}
+
+	@Test
+	public void abortAndExistingBlockTest() throws IOException {
+		String path = new File(dir, "aborted.data").getPath();
+		ChunkedBlockWriter writer = new ChunkedBlockWriter(path, "Gzip");
+		writer.write(block, 0, 1000);
+		writer.abort();
+		Assert.assertEquals(0, dir.list().length);
+
+		writeInChunks("Gzip");
+		ChunkedBlockWriter duplicate = new ChunkedBlockWriter(new File(dir, "Gzip.data").getPath(), "Gzip");
+		duplicate.write(block, 0, 1000);
+		try {
+			duplicate.finish();
+			Assert.fail("an existing block should not be overwritten");
+		} catch (IOException e) {
+			// expected
+		}
+		String gzipPath = new File(dir, "Gzip.data").getPath();
+		Assert.assertArrayEquals(block, compression.decompressAndReadGzip(gzipPath, block.length));
+	}
+
+	@Test
+	public void concurrentTransfersTest() throws IOException {
+		// two transfers of the same block write their chunks in turns
+		String path = new File(dir, "same.data").getPath();
+		ChunkedBlockWriter first = new ChunkedBlockWriter(path, "Gzip", "first");
+		ChunkedBlockWriter second = new ChunkedBlockWriter(path, "Gzip", "second");
+		for (int offset = 0; offset < block.length; offset += 50000) {
+			int length = Math.min(50000, block.length - offset);
+			first.write(block, offset, length);
+			second.write(block, offset, length);
+		}
+		Assert.assertTrue(first.finish() > 0);
+		try {
+			second.finish();
+			Assert.fail("an existing block should not be overwritten");
+		} catch (IOException e) {
+			// expected
+		}
+		Assert.assertArrayEquals(block, compression.decompressAndReadGzip(path, block.length));
+		Assert.assertEquals(2, dir.list().length);
+	}
+
+	@Test
+	public void idleTransferAbortedTest() throws TException {
+		Edge edge = new Edge((short) 1, "127.0.0.1", 8000, (byte) 90, "127.0.0.1", 1, dir.getPath(), "");
+		EdgeServiceHandler handler = new EdgeServiceHandler(edge);
+		Metadata metadata = new Metadata("client", "secret", "stream", 7, 0);
+		metadata.setCompFormat("NA");
+		String idle = handler.openWrite(7, metadata);
+		String active = handler.openWrite(7, metadata);
+		Assert.assertEquals(Constants.SUCCESS, handler.writeChunk(idle, 0, ByteBuffer.wrap(block, 0, 1000)));
+		Assert.assertEquals(2, dir.list().length);
+
+		handler.abortIdleTransfers(Constants.TRANSFER_IDLE_TIMEOUT * 1000L);
+		Assert.assertEquals(2, dir.list().length);
+		handler.abortIdleTransfers(-1);
+		Assert.assertEquals(0, dir.list().length);
+		Assert.assertEquals(Constants.FAILURE, handler.writeChunk(idle, 1000, ByteBuffer.wrap(block, 1000, 1000)));
+		Assert.assertEquals(Constants.FAILURE, handler.commitWrite(active).getStatus());
+	}
+
+}
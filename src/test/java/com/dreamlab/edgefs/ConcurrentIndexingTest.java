@@ -0,0 +1,136 @@
+package com.dreamlab.edgefs;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.dreamlab.edgefs.controlplane.Fog;
+import com.dreamlab.edgefs.misc.BloomFilter;
+import com.dreamlab.edgefs.misc.Constants;
+import com.dreamlab.edgefs.model.EdgeInfo;
+import com.dreamlab.edgefs.servicehandler.FogServiceHandler;
+import com.dreamlab.edgefs.thrift.EdgeInfoData;
+import com.dreamlab.edgefs.thrift.Metadata;
+
+public class ConcurrentIndexingTest {
+
+	private static final int THREADS = 8;
+	private static final int BLOCKS = 500;
+	// every purge tries the unreachable edge, so fewer are run
+	private static final int PURGES = 100;
+
+	@Test
+	public void concurrentInsertMetadataTest() throws Exception {
+		Fog fog = new Fog("127.0.0.1", (short) 1, 9090, (short) 1, 0.9f);
+		final FogServiceHandler handler = new FogServiceHandler(fog);
+		for (short edgeId = 1; edgeId <= 2; edgeId++) {
+			fog.getLocalEdgesMap().put(edgeId, new EdgeInfo(edgeId, "127.0.0.1", 1, 90));
+			fog.getEdgeBloomFilters().put(edgeId, new byte[Constants.BLOOM_FILTER_BYTES]);
+		}
+
+		// every block is written to both the edges by different threads, all of
+		// the blocks go to a stream and a timestamp shared by many of them
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		List<Future<Byte>> inserts = new ArrayList<>();
+		for (int i = 0; i < BLOCKS; i++) {
+			for (short edgeId = 1; edgeId <= 2; edgeId++) {
+				final Metadata metadata = new Metadata("client", "secret", "stream-" + (i % 3), i, i % 10);
+				final EdgeInfoData edgeInfoData = new EdgeInfoData(edgeId, "127.0.0.1", 1, (byte) 90, (byte) 0);
+				inserts.add(executor.submit(new Callable<Byte>() {
+
+					@Override
+					public Byte call() throws Exception {
+						return handler.insertMetadata(metadata, edgeInfoData, new HashMap<String, String>());
+					}
+				}));
+			}
+		}
+		for (Future<Byte> insert : inserts) {
+			insert.get();
+		}
+		executor.shutdown();
+
+		Assert.assertEquals(BLOCKS, fog.getMbIDLocationMap().size());
+		for (long mbId = 0; mbId < BLOCKS; mbId++) {
+			Assert.assertEquals(2, fog.getMbIDLocationMap().get(mbId).size());
+			Assert.assertTrue(BloomFilter.search(Constants.MICROBATCH_METADATA_ID, String.valueOf(mbId),
+					fog.getPersonalBloomFilter()));
+		}
+		int streamBlocks = 0;
+		for (int s = 0; s < 3; s++) {
+			streamBlocks += fog.getStreamMbIdMap().get("stream-" + s).size();
+		}
+		Assert.assertEquals(BLOCKS, streamBlocks);
+		Assert.assertEquals(BLOCKS, fog.getEdgeMicrobatchMap().get((short) 1).size());
+		Assert.assertEquals(BLOCKS, fog.getEdgeMicrobatchMap().get((short) 2).size());
+		// an entry for every write of a block with that timestamp
+		int timestampEntries = 0;
+		for (int t = 0; t < 10; t++) {
+			timestampEntries += fog.getMetaToMBIdListMap().get(Constants.MICROBATCH_METADATA_TIMESTAMP + ":" + t)
+					.size();
+		}
+		Assert.assertEquals(2 * BLOCKS, timestampEntries);
+	}
+
+	@Test
+	public void insertWhilePurgingTest() throws Exception {
+		final Fog fog = new Fog("127.0.0.1", (short) 1, 9090, (short) 1, 0.9f);
+		final FogServiceHandler handler = new FogServiceHandler(fog);
+		final short edgeId = 1;
+		// no edge listens on this port so the files are left to a later run
+		fog.getLocalEdgesMap().put(edgeId, new EdgeInfo(edgeId, "127.0.0.1", 1, 90));
+		fog.getEdgeBloomFilters().put(edgeId, new byte[Constants.BLOOM_FILTER_BYTES]);
+		final BlockingQueue<Long> written = new LinkedBlockingQueue<>();
+
+		// blocks 2k and 2k+1 share the timestamp k, the first is deleted and
+		// purged as the second is inserted so the list of k is emptied while
+		// it is appended to
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		Future<?> inserter = executor.submit(new Callable<Void>() {
+
+			@Override
+			public Void call() throws Exception {
+				for (long mbId = 0; mbId < 2 * PURGES; mbId++) {
+					Metadata metadata = new Metadata("client", "secret", "stream", mbId, mbId / 2);
+					EdgeInfoData edgeInfoData = new EdgeInfoData(edgeId, "127.0.0.1", 1, (byte) 90, (byte) 0);
+					handler.insertMetadata(metadata, edgeInfoData, new HashMap<String, String>());
+					if (mbId % 2 == 0) {
+						written.put(mbId);
+					}
+				}
+				return null;
+			}
+		});
+		Future<?> purger = executor.submit(new Callable<Void>() {
+
+			@Override
+			public Void call() throws Exception {
+				for (int i = 0; i < PURGES; i++) {
+					handler.deleteBlock(written.take(), false, false);
+					fog.getBlockPurger().run();
+				}
+				return null;
+			}
+		});
+		inserter.get();
+		purger.get();
+		executor.shutdown();
+
+		for (long k = 0; k < PURGES; k++) {
+			List<Long> list = fog.getMetaToMBIdListMap().get(Constants.MICROBATCH_METADATA_TIMESTAMP + ":" + k);
+			Assert.assertNotNull(list);
+			Assert.assertEquals(1, list.size());
+			Assert.assertEquals(2 * k + 1, (long) list.get(0));
+		}
+	}
+
+}
@@ -0,0 +1,59 @@
+package com.dreamlab.edgefs;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.dreamlab.edgefs.controlplane.EdgeLivenessTracker;
+
+public class EdgeLivenessTrackerTest {
+
+	private List<Short> deadEdges = new ArrayList<>();
+
+	private EdgeLivenessTracker.EdgeDeathListener listener = new EdgeLivenessTracker.EdgeDeathListener() {
+
+		@Override
+		public void edgeDead(short edgeId) {
+			deadEdges.add(edgeId);
+		}
+	};
+
+	@Test
+	public void missedHeartbeatsTest() {
+		long start = System.currentTimeMillis();
+		// 4 missed heartbeats of 30 seconds each
+		EdgeLivenessTracker tracker = new EdgeLivenessTracker(120000, 1000, 16, listener);
+		tracker.heartbeat((short) 1, start);
+		tracker.heartbeat((short) 2, start);
+
+		// edge 2 keeps sending heartbeats
+		for (long time = start + 30000; time <= start + 240000; time += 30000) {
+			tracker.heartbeat((short) 2, time);
+			tracker.advance(time);
+			if (time < start + 120000) {
+				Assert.assertTrue(deadEdges.isEmpty());
+			}
+		}
+		Assert.assertEquals(1, deadEdges.size());
+		Assert.assertEquals(Short.valueOf((short) 1), deadEdges.get(0));
+		Assert.assertEquals(false, tracker.isTracked((short) 1));
+		Assert.assertEquals(true, tracker.isTracked((short) 2));
+	}
+
+	@Test
+	public void deathNoticedWithinTickTest() {
+		long start = System.currentTimeMillis();
+		EdgeLivenessTracker tracker = new EdgeLivenessTracker(5000, 1000, 8, listener);
+		tracker.heartbeat((short) 3, start);
+		tracker.advance(start + 4000);
+		Assert.assertTrue(deadEdges.isEmpty());
+		tracker.advance(start + 6000);
+		Assert.assertEquals(1, deadEdges.size());
+		// not reported again
+		tracker.advance(start + 20000);
+		Assert.assertEquals(1, deadEdges.size());
+	}
+
+}
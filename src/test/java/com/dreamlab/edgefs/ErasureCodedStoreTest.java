@@ -0,0 +1,279 @@
+package com.dreamlab.edgefs;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.thrift.TException;
+import org.apache.thrift.server.TServer;
+import org.apache.thrift.server.TThreadPoolServer;
+import org.apache.thrift.transport.TFramedTransport;
+import org.apache.thrift.transport.TServerSocket;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dreamlab.edgefs.controlplane.ErasureCodedStore;
+import com.dreamlab.edgefs.controlplane.Fog;
+import com.dreamlab.edgefs.misc.Constants;
+import com.dreamlab.edgefs.misc.ErasureFragment;
+import com.dreamlab.edgefs.servicehandler.FogServiceHandler;
+import com.dreamlab.edgefs.thrift.ByteTypeStreamMetadata;
+import com.dreamlab.edgefs.thrift.DoubleTypeStreamMetadata;
+import com.dreamlab.edgefs.thrift.DynamicTypeStreamMetadata;
+import com.dreamlab.edgefs.thrift.FogService;
+import com.dreamlab.edgefs.thrift.I32TypeStreamMetadata;
+import com.dreamlab.edgefs.thrift.I64TypeStreamMetadata;
+import com.dreamlab.edgefs.thrift.Metadata;
+import com.dreamlab.edgefs.thrift.NodeInfoData;
+import com.dreamlab.edgefs.thrift.ReadReplica;
+import com.dreamlab.edgefs.thrift.StreamMetadata;
+import com.dreamlab.edgefs.thrift.StreamMetadataInfo;
+import com.dreamlab.edgefs.thrift.WritableFogData;
+import com.dreamlab.edgefs.thrift.WritePreference;
+import com.dreamlab.edgefs.thrift.WriteResponse;
+
+public class ErasureCodedStoreTest {
+
+	/**
+	 * A Fog keeping the fragments written to it in memory instead of on its
+	 * edges. The Fog writing the blocks reads the fragments of all of them
+	 */
+	private static class FragmentFog extends FogServiceHandler {
+
+		private final Map<Long, byte[]> fragments = new ConcurrentHashMap<>();
+		private final List<FragmentFog> cluster = new ArrayList<>();
+		private List<WritableFogData> locations = new ArrayList<>();
+		private StreamMetadataInfo streamMetadata;
+
+		FragmentFog(short nodeId, int port) {
+			super(new Fog("127.0.0.1", nodeId, port, nodeId, 0.9f));
+		}
+
+		WritableFogData location() {
+			return new WritableFogData(new NodeInfoData(getFog().getMyFogInfo().getNodeID(), "127.0.0.1",
+					getFog().getMyFogInfo().getPort()), WritePreference.HHH, 0.9);
+		}
+
+		@Override
+		public WriteResponse putNext(Metadata mbMetadata, ByteBuffer data, WritePreference preference,
+				Map<String, String> metaKeyValueMap) throws TException {
+			byte[] bytes = new byte[data.remaining()];
+			data.get(bytes);
+			fragments.put(mbMetadata.getMbId(), bytes);
+			getFog().getBlockMetadata().put(mbMetadata.getMbId(), mbMetadata);
+			WriteResponse response = new WriteResponse();
+			response.setStatus(Constants.SUCCESS);
+			return response;
+		}
+
+		@Override
+		public byte deleteBlock(long mbId, boolean checkNeighbors, boolean checkBuddies) throws TException {
+			return fragments.remove(mbId) != null ? Constants.SUCCESS : Constants.FAILURE;
+		}
+
+		@Override
+		public List<WritableFogData> identifyReplicas(long mbId, long dataLength, boolean isEdge,
+				double expectedReliability, int minReplica, int maxReplica) {
+			return locations;
+		}
+
+		@Override
+		public StreamMetadataInfo getStreamMetadata(String streamId, boolean checkNeighbors, boolean checkBuddies,
+				boolean forceLatest) throws TException {
+			return streamMetadata;
+		}
+
+		@Override
+		public ReadReplica read(long microbatchId, boolean fetchMetadata, String compFormat, long uncompSize)
+				throws TException {
+			ReadReplica replica = new ReadReplica();
+			replica.setStatus(Constants.FAILURE);
+			for (FragmentFog fog : cluster) {
+				byte[] fragment = fog.fragments.get(microbatchId);
+				if (fragment != null) {
+					replica.setStatus(Constants.SUCCESS);
+					replica.setData(fragment);
+				}
+			}
+			return replica;
+		}
+	}
+
+	private FragmentFog local;
+	private List<FragmentFog> remotes = new ArrayList<>();
+	private List<TServer> servers = new ArrayList<>();
+	private byte[] block;
+
+	@Before
+	public void setUp() throws Exception {
+		local = new FragmentFog((short) 1, 9090);
+		local.cluster.add(local);
+		for (short nodeId = 2; nodeId <= 3; nodeId++) {
+			TServerSocket socket = new TServerSocket(0);
+			FragmentFog remote = new FragmentFog(nodeId, socket.getServerSocket().getLocalPort());
+			final TServer server = new TThreadPoolServer(new TThreadPoolServer.Args(socket)
+					.processor(new FogService.Processor<FogService.Iface>(remote))
+					.transportFactory(new TFramedTransport.Factory()));
+			Thread thread = new Thread(new Runnable() {
+
+				@Override
+				public void run() {
+					server.serve();
+				}
+			});
+			thread.setDaemon(true);
+			thread.start();
+			servers.add(server);
+			remotes.add(remote);
+			local.cluster.add(remote);
+		}
+		for (TServer server : servers) {
+			while (!server.isServing()) {
+				Thread.sleep(10);
+			}
+		}
+		block = new byte[10 * 1024 + 5];
+		new Random(5).nextBytes(block);
+	}
+
+	@After
+	public void tearDown() {
+		for (TServer server : servers) {
+			server.stop();
+		}
+	}
+
+	private void setFragments(int data, int parity) {
+		local.streamMetadata = erasureCoded(data, parity);
+	}
+
+	private static StreamMetadataInfo erasureCoded(int data, int parity) {
+		StreamMetadata metadata = new StreamMetadata("stream", new I64TypeStreamMetadata(0, false),
+				new DoubleTypeStreamMetadata(0.9, false), new ByteTypeStreamMetadata((byte) 1, false),
+				new ByteTypeStreamMetadata((byte) 2, false), new I32TypeStreamMetadata(0, true));
+		metadata.putToOtherProperties(Constants.ERASURE_DATA_FRAGMENTS_PROPERTY,
+				new DynamicTypeStreamMetadata(String.valueOf(data), "java.lang.Integer", false));
+		metadata.putToOtherProperties(Constants.ERASURE_PARITY_FRAGMENTS_PROPERTY,
+				new DynamicTypeStreamMetadata(String.valueOf(parity), "java.lang.Integer", false));
+		return new StreamMetadataInfo(metadata, false);
+	}
+
+	private byte write(long mbId) throws TException {
+		return new ErasureCodedStore(local).write(new Metadata("client", "secret", "stream", mbId, 0), block,
+				new HashMap<String, String>()).getStatus();
+	}
+
+	// a location at which no Fog is listening
+	private WritableFogData deadLocation(short nodeId) {
+		return new WritableFogData(new NodeInfoData(nodeId, "127.0.0.1", 1), WritePreference.HHH, 0.9);
+	}
+
+	@Test
+	public void writeReadRebuildTest() throws TException {
+		setFragments(2, 2);
+		local.locations = Arrays.asList(local.location(), remotes.get(0).location(), remotes.get(1).location());
+		Assert.assertEquals(Constants.SUCCESS, write(1));
+		// no Fog holds more fragments than the parity ones
+		Assert.assertEquals(2, local.fragments.size());
+		Assert.assertEquals(1, remotes.get(0).fragments.size());
+		Assert.assertEquals(1, remotes.get(1).fragments.size());
+
+		ErasureCodedStore store = new ErasureCodedStore(local);
+		Assert.assertArrayEquals(block, store.read(1, false).getData());
+
+		long fragmentId = ErasureFragment.fragmentId(1, 0);
+		byte[] lost = local.fragments.remove(fragmentId);
+		Assert.assertTrue(store.rebuild(fragmentId));
+		Assert.assertArrayEquals(lost, local.fragments.get(fragmentId));
+		Assert.assertArrayEquals(block, store.read(1, false).getData());
+	}
+
+	@Test
+	public void tooFewLocationsTest() throws TException {
+		// three fragments can't be placed on two Fogs without losing the block
+		// with one of them
+		setFragments(2, 1);
+		local.locations = Arrays.asList(local.location(), remotes.get(0).location());
+		Assert.assertEquals(Constants.FAILURE, write(2));
+		Assert.assertTrue(local.fragments.isEmpty());
+		Assert.assertTrue(remotes.get(0).fragments.isEmpty());
+	}
+
+	@Test
+	public void partialWriteDeletedTest() throws TException {
+		// the first two fragments are written to the only live Fog and the third
+		// has no place left
+		setFragments(2, 2);
+		local.locations = Arrays.asList(remotes.get(0).location(), deadLocation((short) 4), deadLocation((short) 5));
+		Assert.assertEquals(Constants.FAILURE, write(3));
+		Assert.assertTrue(remotes.get(0).fragments.isEmpty());
+
+		local.locations = Arrays.asList(local.location(), deadLocation((short) 4), deadLocation((short) 5));
+		Assert.assertEquals(Constants.FAILURE, write(3));
+		Assert.assertTrue(local.fragments.isEmpty());
+	}
+
+	@Test
+	public void outOfRangeBlockTest() throws TException {
+		setFragments(2, 1);
+		local.locations = Arrays.asList(local.location(), remotes.get(0).location(), remotes.get(1).location());
+		// the fragment ids of this block would wrap around
+		Assert.assertEquals(Constants.FAILURE, write(Long.MAX_VALUE / 2));
+		Assert.assertTrue(local.fragments.isEmpty());
+		Assert.assertEquals(Constants.FAILURE,
+				new ErasureCodedStore(local).read(Long.MAX_VALUE / 2, false).getStatus());
+	}
+
+	/**
+	 * A Fog recording the fragments it is asked to delete
+	 */
+	private static class DeletingFog extends FogServiceHandler {
+
+		private final List<Long> deleted = new ArrayList<>();
+		private StreamMetadataInfo streamMetadata;
+
+		DeletingFog() {
+			super(new Fog("127.0.0.1", (short) 1, 9090, (short) 1, 0.9f));
+		}
+
+		@Override
+		public byte deleteBlock(long mbId, boolean checkNeighbors, boolean checkBuddies) throws TException {
+			if (ErasureFragment.isFragmentId(mbId)) {
+				deleted.add(mbId);
+				return Constants.SUCCESS;
+			}
+			return super.deleteBlock(mbId, checkNeighbors, checkBuddies);
+		}
+
+		@Override
+		public StreamMetadataInfo getStreamMetadata(String streamId, boolean checkNeighbors, boolean checkBuddies,
+				boolean forceLatest) throws TException {
+			return streamMetadata;
+		}
+	}
+
+	@Test
+	public void deleteFragmentsTest() throws TException {
+		DeletingFog fog = new DeletingFog();
+		fog.streamMetadata = erasureCoded(2, 1);
+		// a block not found at all is not looked for as fragments
+		Assert.assertEquals(Constants.FAILURE, fog.deleteBlock(5, false, false));
+		Assert.assertTrue(fog.deleted.isEmpty());
+
+		// only the fragments the stream is coded with are deleted
+		long firstFragment = ErasureFragment.fragmentId(6, 0);
+		Metadata metadata = new Metadata("client", "secret", "stream", firstFragment, 0);
+		fog.getFog().getBlockMetadata().put(firstFragment, metadata);
+		Assert.assertEquals(Constants.SUCCESS, fog.deleteBlock(6, false, false));
+		Assert.assertEquals(Arrays.asList(firstFragment, ErasureFragment.fragmentId(6, 1),
+				ErasureFragment.fragmentId(6, 2)), fog.deleted);
+	}
+
+}
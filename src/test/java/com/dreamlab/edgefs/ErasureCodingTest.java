@@ -0,0 +1,90 @@
+package com.dreamlab.edgefs;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.dreamlab.edgefs.misc.Constants;
+import com.dreamlab.edgefs.misc.ErasureFragment;
+import com.dreamlab.edgefs.misc.ReedSolomon;
+
+public class ErasureCodingTest {
+
+	@Test
+	public void reconstructTest() {
+		Random random = new Random(3);
+		byte[] data = new byte[100 * 1024 + 17];
+		random.nextBytes(data);
+		ReedSolomon codec = new ReedSolomon(6, 3);
+		byte[][] shards = codec.encode(data);
+		Assert.assertEquals(9, shards.length);
+		byte[][] original = new byte[shards.length][];
+		for (int i = 0; i < shards.length; i++) {
+			original[i] = shards[i].clone();
+		}
+
+		// every way of losing three of the nine shards
+		for (int a = 0; a < 9; a++) {
+			for (int b = a + 1; b < 9; b++) {
+				for (int c = b + 1; c < 9; c++) {
+					byte[][] copy = new byte[9][];
+					for (int i = 0; i < 9; i++) {
+						copy[i] = (i == a || i == b || i == c) ? null : original[i].clone();
+					}
+					Assert.assertArrayEquals(data, codec.decode(copy, data.length));
+					codec.reconstruct(copy);
+					for (int i = 0; i < 9; i++) {
+						Assert.assertArrayEquals(original[i], copy[i]);
+					}
+				}
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void tooFewShardsTest() {
+		ReedSolomon codec = new ReedSolomon(4, 2);
+		byte[][] shards = codec.encode(new byte[] { 1, 2, 3, 4, 5 });
+		shards[0] = null;
+		shards[2] = null;
+		shards[5] = null;
+		codec.decode(shards, 5);
+	}
+
+	@Test
+	public void fragmentIdRangeTest() {
+		long largest = (Long.MAX_VALUE - Constants.ERASURE_MAX_FRAGMENTS) / Constants.ERASURE_MAX_FRAGMENTS;
+		long fragmentId = ErasureFragment.fragmentId(largest, Constants.ERASURE_MAX_FRAGMENTS - 1);
+		Assert.assertTrue(ErasureFragment.isFragmentId(fragmentId));
+		Assert.assertEquals(largest, ErasureFragment.blockId(fragmentId));
+		Assert.assertFalse(ErasureFragment.canFragment(largest + 1));
+		Assert.assertFalse(ErasureFragment.canFragment(-1));
+		try {
+			ErasureFragment.fragmentId(Long.MAX_VALUE / 2, 0);
+			Assert.fail();
+		} catch (IllegalArgumentException e) {
+			// an id that wraps around is not handed out
+		}
+	}
+
+	@Test
+	public void fragmentTest() {
+		long fragmentId = ErasureFragment.fragmentId(1234, 7);
+		Assert.assertTrue(ErasureFragment.isFragmentId(fragmentId));
+		Assert.assertFalse(ErasureFragment.isFragmentId(1234));
+		Assert.assertEquals(1234, ErasureFragment.blockId(fragmentId));
+		Assert.assertEquals(7, ErasureFragment.fragmentIndex(fragmentId));
+		Assert.assertEquals(0, ErasureFragment.blockId(ErasureFragment.fragmentId(0, 0)));
+
+		ErasureFragment fragment = ErasureFragment
+				.parse(new ErasureFragment(4, 2, 5, 1000, new byte[] { 9, 8, 7 }).toBytes());
+		Assert.assertEquals(4, fragment.getDataFragments());
+		Assert.assertEquals(2, fragment.getParityFragments());
+		Assert.assertEquals(5, fragment.getIndex());
+		Assert.assertEquals(1000, fragment.getLength());
+		Assert.assertArrayEquals(new byte[] { 9, 8, 7 }, fragment.getShard());
+		Assert.assertNull(ErasureFragment.parse(new byte[] { 1, 2 }));
+	}
+
+}
@@ -0,0 +1,61 @@
+package com.dreamlab.edgefs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.dreamlab.edgefs.controlplane.HeartbeatScheduler;
+
+public class HeartbeatSchedulerTest {
+
+	private static final int PEER_TIMEOUT = 100;
+
+	@Test
+	public void morePeersThanThreadsTest() {
+		// each call takes most of its time, so the later ones only start after the
+		// time for the whole batch would have been up
+		HeartbeatScheduler scheduler = new HeartbeatScheduler(1, 2, PEER_TIMEOUT, 0);
+		List<Integer> peers = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			peers.add(i);
+		}
+		final Set<Integer> called = ConcurrentHashMap.newKeySet();
+		scheduler.dispatch("call", peers, new HeartbeatScheduler.PeerCall<Integer>() {
+
+			@Override
+			public void call(Integer peer) throws Exception {
+				Thread.sleep(PEER_TIMEOUT);
+				called.add(peer);
+			}
+		});
+		Assert.assertEquals(peers.size(), called.size());
+	}
+
+	@Test
+	public void hungPeerCancelledTest() {
+		HeartbeatScheduler scheduler = new HeartbeatScheduler(1, 2, PEER_TIMEOUT, 0);
+		List<Integer> peers = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			peers.add(i);
+		}
+		final Set<Integer> called = ConcurrentHashMap.newKeySet();
+		long start = System.currentTimeMillis();
+		scheduler.dispatch("call", peers, new HeartbeatScheduler.PeerCall<Integer>() {
+
+			@Override
+			public void call(Integer peer) throws Exception {
+				// the first peer never answers
+				Thread.sleep(peer == 0 ? 60 * 1000 : 10);
+				called.add(peer);
+			}
+		});
+		Assert.assertTrue(System.currentTimeMillis() - start < 10 * PEER_TIMEOUT);
+		Assert.assertEquals(peers.size() - 1, called.size());
+		Assert.assertFalse(called.contains(0));
+	}
+
+}
@@ -0,0 +1,46 @@
+package com.dreamlab.edgefs;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.dreamlab.edgefs.misc.LatencyWindow;
+
+public class LatencyWindowTest {
+
+	@Test
+	public void percentileTest() {
+		LatencyWindow window = new LatencyWindow(64, 95, 100, 16);
+		for (int i = 0; i < 15; i++) {
+			window.add(5);
+		}
+		// not enough samples yet
+		Assert.assertEquals(100, window.getValue());
+		window.add(5);
+		Assert.assertEquals(5, window.getValue());
+
+		// 1 to 64 ms, the 95th percentile is the 61st
+		for (int i = 1; i <= 64; i++) {
+			window.add(i);
+		}
+		Assert.assertEquals(61, window.getValue());
+	}
+
+	@Test
+	public void oldSamplesDroppedTest() {
+		LatencyWindow window = new LatencyWindow(32, 90, 100, 16);
+		for (int i = 0; i < 32; i++) {
+			window.add(500);
+		}
+		Assert.assertEquals(500, window.getValue());
+		for (int i = 0; i < 16; i++) {
+			window.add(20);
+		}
+		Assert.assertEquals(500, window.getValue());
+		// the slow reads are out of the window once it is filled again
+		for (int i = 0; i < 16; i++) {
+			window.add(20);
+		}
+		Assert.assertEquals(20, window.getValue());
+	}
+
+}
@@ -0,0 +1,123 @@
+package com.dreamlab.edgefs;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.dreamlab.edgefs.misc.LocalEdgeIndex;
+import com.dreamlab.edgefs.misc.OrderStatisticTree;
+import com.dreamlab.edgefs.model.EdgeInfo;
+import com.dreamlab.edgefs.model.FogStats;
+import com.dreamlab.edgefs.model.StorageReliability;
+
+public class LocalEdgeIndexTest {
+
+	private Random random = new Random(11);
+
+	@Test
+	public void orderStatisticTreeTest() {
+		OrderStatisticTree tree = new OrderStatisticTree();
+		TreeSet<Long> expected = new TreeSet<>();
+		for (int i = 0; i < 5000; i++) {
+			long key = random.nextInt(2000);
+			if (random.nextInt(3) == 0) {
+				Assert.assertEquals(expected.remove(key), tree.remove(key));
+			} else {
+				Assert.assertEquals(expected.add(key), tree.insert(key));
+			}
+		}
+		Assert.assertEquals(expected.size(), tree.size());
+		List<Long> sorted = new ArrayList<>(expected);
+		for (int k = 0; k < sorted.size(); k++) {
+			Assert.assertEquals((long) sorted.get(k), tree.select(k));
+			Assert.assertEquals(k, tree.rank(sorted.get(k)));
+		}
+		Assert.assertEquals(new ArrayList<>(expected.subSet(500L, 700L)), tree.range(500, 700));
+	}
+
+	@Test
+	public void incrementalStatsTest() {
+		Map<Short, EdgeInfo> edges = new HashMap<>();
+		Set<Short> noStorageEdges = new HashSet<>();
+		Map<StorageReliability, List<Short>> mapping = new HashMap<>();
+		LocalEdgeIndex index = new LocalEdgeIndex();
+
+		for (int i = 0; i < 3000; i++) {
+			short edgeId = (short) random.nextInt(300);
+			int op = random.nextInt(10);
+			if (op == 0) {
+				edges.remove(edgeId);
+			} else if (op == 1 && edges.containsKey(edgeId)) {
+				edges.get(edgeId).setStatus("D");
+			} else {
+				// few distinct reliabilities so that many edges share the median
+				edges.put(edgeId, new EdgeInfo(edgeId, 10 * random.nextInt(10), 1 + random.nextInt(1000)));
+			}
+			index.update(edgeId, edges.get(edgeId), noStorageEdges);
+			if (i % 25 == 0) {
+				check(index.refresh(mapping), edges, mapping);
+			}
+		}
+		check(index.refresh(mapping), edges, mapping);
+	}
+
+	private void check(FogStats stats, Map<Short, EdgeInfo> edges, Map<StorageReliability, List<Short>> mapping) {
+		List<Long> storage = new ArrayList<>();
+		List<Integer> reliability = new ArrayList<>();
+		for (EdgeInfo edgeInfo : edges.values()) {
+			if (edgeInfo.getStatus().equals("A")) {
+				storage.add(edgeInfo.getStats().getStorage());
+				reliability.add(edgeInfo.getStats().getReliability());
+			}
+		}
+		int n = storage.size();
+		if (n == 0) {
+			Assert.assertNull(stats);
+			return;
+		}
+		Collections.sort(storage);
+		Collections.sort(reliability);
+		Assert.assertEquals((long) storage.get(0), stats.getMinStorage());
+		Assert.assertEquals((long) storage.get((n - 1) / 2), stats.getMedianStorage());
+		Assert.assertEquals((long) storage.get(n - 1), stats.getMaxStorage());
+		Assert.assertEquals((int) reliability.get(0), stats.getMinReliability());
+		Assert.assertEquals((int) reliability.get(n - 1), stats.getMaxReliability());
+		Assert.assertEquals(n, stats.getA() + stats.getB() + stats.getC() + stats.getD());
+
+		// every usable edge is in the quadrant given by the medians, once
+		Map<StorageReliability, Integer> counts = new HashMap<>();
+		Set<Short> seen = new HashSet<>();
+		for (StorageReliability sr : mapping.keySet()) {
+			for (Short edgeId : mapping.get(sr)) {
+				Assert.assertTrue(seen.add(edgeId));
+				EdgeInfo edgeInfo = edges.get(edgeId);
+				Assert.assertEquals("A", edgeInfo.getStatus());
+				boolean highS = edgeInfo.getStats().getStorage() >= stats.getMedianStorage();
+				boolean highR = edgeInfo.getStats().getReliability() >= stats.getMedianReliability();
+				StorageReliability expected = highS ? (highR ? StorageReliability.HH : StorageReliability.HL)
+						: (highR ? StorageReliability.LH : StorageReliability.LL);
+				Assert.assertEquals(expected, sr);
+			}
+			counts.put(sr, mapping.get(sr).size());
+		}
+		Assert.assertEquals(n, seen.size());
+		Assert.assertEquals(stats.getA(), count(counts, StorageReliability.LL));
+		Assert.assertEquals(stats.getB(), count(counts, StorageReliability.HL));
+		Assert.assertEquals(stats.getC(), count(counts, StorageReliability.LH));
+		Assert.assertEquals(stats.getD(), count(counts, StorageReliability.HH));
+	}
+
+	private int count(Map<StorageReliability, Integer> counts, StorageReliability sr) {
+		return counts.containsKey(sr) ? counts.get(sr) : 0;
+	}
+
+}
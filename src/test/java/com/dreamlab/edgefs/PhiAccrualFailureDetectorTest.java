@@ -0,0 +1,50 @@
+package com.dreamlab.edgefs;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.dreamlab.edgefs.controlplane.PhiAccrualFailureDetector;
+
+public class PhiAccrualFailureDetectorTest {
+
+	@Test
+	public void suspectAfterMissedHeartbeatsTest() {
+		long start = System.currentTimeMillis();
+		// heartbeats every 10 seconds with a jitter of up to 1 second
+		PhiAccrualFailureDetector detector = new PhiAccrualFailureDetector(8, 100, 10000, 500, 1000);
+		short nodeId = 2;
+		Assert.assertFalse(detector.isSuspected(nodeId, start));
+
+		long time = start;
+		for (int i = 0; i < 20; i++) {
+			time += 10000 + (i % 3) * 300;
+			detector.heartbeat(nodeId, time);
+		}
+		// a heartbeat slightly late is fine
+		Assert.assertFalse(detector.isSuspected(nodeId, time + 12000));
+		Assert.assertTrue(detector.phi(nodeId, time + 12000) < detector.phi(nodeId, time + 14000));
+		// three heartbeats missed
+		Assert.assertTrue(detector.isSuspected(nodeId, time + 30000));
+		// a peer not heard from yet is not suspected
+		Assert.assertFalse(detector.isSuspected((short) 3, time + 30000));
+	}
+
+	@Test
+	public void recoverOnHeartbeatTest() {
+		long start = System.currentTimeMillis();
+		PhiAccrualFailureDetector detector = new PhiAccrualFailureDetector(8, 100, 10000, 500, 1000);
+		short nodeId = 4;
+		long time = start;
+		for (int i = 0; i < 10; i++) {
+			time += 10000;
+			detector.heartbeat(nodeId, time);
+		}
+		time += 120000;
+		Assert.assertTrue(detector.isSuspected(nodeId, time));
+		detector.heartbeat(nodeId, time);
+		Assert.assertFalse(detector.isSuspected(nodeId, time + 1000));
+		// the outage is not taken as a heartbeat interval
+		Assert.assertTrue(detector.isSuspected(nodeId, time + 30000));
+	}
+
+}
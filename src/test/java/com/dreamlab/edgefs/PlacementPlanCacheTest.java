@@ -0,0 +1,51 @@
+package com.dreamlab.edgefs;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dreamlab.edgefs.controlplane.GlobalReplicaAllocation;
+import com.dreamlab.edgefs.model.FogStats;
+import com.dreamlab.edgefs.model.StorageReliability;
+
+public class PlacementPlanCacheTest {
+
+	private Map<StorageReliability, Short> globalStorageMap = new HashMap<>();
+	private Map<StorageReliability, List<Short>> storageFogMap = new HashMap<>();
+	private Map<Short, FogStats> fogUpdateMap = new HashMap<>();
+
+	@Before
+	public void setUp() {
+		for (StorageReliability quadrant : StorageReliability.values()) {
+			globalStorageMap.put(quadrant, (short) 0);
+			storageFogMap.put(quadrant, new ArrayList<Short>());
+		}
+	}
+
+	private GlobalReplicaAllocation get(GlobalReplicaAllocation.PlanCache cache, double expectedReliability) {
+		return cache.get(globalStorageMap, storageFogMap, fogUpdateMap, 0.9, expectedReliability, 1, 2);
+	}
+
+	@Test
+	public void reuseTest() {
+		GlobalReplicaAllocation.PlanCache cache = new GlobalReplicaAllocation.PlanCache(1);
+		GlobalReplicaAllocation plan = get(cache, 0.99);
+		Assert.assertSame(plan, get(cache, 0.99));
+		Assert.assertNotSame(plan, get(cache, 0.999));
+
+		cache.invalidate();
+		Assert.assertNotSame(plan, get(cache, 0.99));
+	}
+
+	@Test
+	public void disabledTest() {
+		GlobalReplicaAllocation.PlanCache cache = new GlobalReplicaAllocation.PlanCache(0);
+		Assert.assertNotSame(get(cache, 0.99), get(cache, 0.99));
+	}
+
+}
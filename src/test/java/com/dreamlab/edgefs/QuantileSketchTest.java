@@ -0,0 +1,83 @@
+package com.dreamlab.edgefs;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.dreamlab.edgefs.misc.EdgeStatsSketch;
+import com.dreamlab.edgefs.misc.GlobalFogContributions;
+import com.dreamlab.edgefs.misc.QuantileSketch;
+import com.dreamlab.edgefs.model.FogStats;
+import com.dreamlab.edgefs.model.StorageReliability;
+
+public class QuantileSketchTest {
+
+	@Test
+	public void quantileTest() {
+		QuantileSketch sketch = new QuantileSketch(128);
+		for (int i = 0; i < 100000; i++) {
+			sketch.update((i * 7919L) % 100000);
+		}
+		Assert.assertEquals(100000, sketch.getCount());
+		Assert.assertEquals(50000, sketch.quantile(0.5), 3000);
+		Assert.assertEquals(90000, sketch.quantile(0.9), 3000);
+		Assert.assertEquals(0.25, sketch.cdf(25000), 0.03);
+
+		// a few values are kept exactly
+		QuantileSketch small = new QuantileSketch(128);
+		for (long v : new long[] { 5, 1, 4, 2, 3 }) {
+			small.update(v);
+		}
+		Assert.assertEquals(3, small.quantile(0.5));
+		Assert.assertEquals(0.4, small.cdf(3), 1e-9);
+	}
+
+	@Test
+	public void mergeTest() {
+		QuantileSketch low = new QuantileSketch(64);
+		QuantileSketch high = new QuantileSketch(64);
+		for (int i = 0; i < 20000; i++) {
+			low.update(i);
+			high.update(20000 + i);
+		}
+		QuantileSketch copy = QuantileSketch.fromBytes(ByteBuffer.wrap(high.toBytes()));
+		Assert.assertEquals(high.getCount(), copy.getCount());
+		Assert.assertEquals(high.quantile(0.5), copy.quantile(0.5));
+
+		low.merge(copy);
+		Assert.assertEquals(40000, low.getCount());
+		Assert.assertEquals(20000, low.quantile(0.5), 2000);
+		Assert.assertNull(QuantileSketch.fromBytes(ByteBuffer.wrap(new byte[] { 1, 2, 3 })));
+	}
+
+	@Test
+	public void contributionTest() {
+		// 100 edges with storage 1..100 and reliability 1..100 in the same order
+		EdgeStatsSketch sketch = new EdgeStatsSketch(128);
+		for (int i = 1; i <= 100; i++) {
+			sketch.getStorage().update(i);
+			sketch.getReliability().update(i);
+		}
+		Assert.assertNotNull(EdgeStatsSketch.fromBytes(sketch.toBytes()));
+		FogStats fog = new FogStats(1, 50, 100, 1, 50, 100, 49, 0, 0, 51);
+		fog.setSketch(sketch.toBytes());
+
+		// the global medians split the high cell of the Fog in the middle
+		FogStats global = new FogStats(1, 75, 100, 1, 75, 100);
+		Map<Short, FogStats> globalInfo = new HashMap<>();
+		globalInfo.put((short) 1, fog);
+		HashMap<StorageReliability, Short> edges = new GlobalFogContributions(global)
+				.createGlobalMapForEdge(globalInfo);
+		int total = 0;
+		for (Short count : edges.values()) {
+			total += count;
+		}
+		Assert.assertEquals(100, total);
+		Assert.assertEquals(61, (int) edges.get(StorageReliability.LL));
+		Assert.assertEquals(13, (int) edges.get(StorageReliability.HH));
+	}
+
+}
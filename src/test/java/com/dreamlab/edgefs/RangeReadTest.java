@@ -0,0 +1,82 @@
+package com.dreamlab.edgefs;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dreamlab.edgefs.edge.handler.CompressionAndDecompression;
+
+public class RangeReadTest {
+
+	private File dir;
+	private byte[] block;
+	private CompressionAndDecompression compression = new CompressionAndDecompression();
+
+	@Before
+	public void setUp() throws IOException {
+		dir = Files.createTempDirectory("rangeread").toFile();
+		// compressible data spanning a few chunks
+		block = new byte[300 * 1024];
+		Random random = new Random(7);
+		for (int i = 0; i < block.length; i++) {
+			block[i] = (byte) ('a' + random.nextInt(4));
+		}
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		FileUtils.deleteDirectory(dir);
+	}
+
+	private void checkRanges(String format) {
+		String path = new File(dir, format + ".data").getPath();
+		if (format.equals("Gzip")) {
+			compression.compressAndWriteGzip(path, block);
+			Assert.assertArrayEquals(block, compression.decompressAndReadGzip(path, block.length));
+		} else if (format.equals("Snappy")) {
+			compression.compressAndWriteSnappy(path, block);
+			Assert.assertArrayEquals(block, compression.decompressAndReadSnappy(path, block.length));
+		} else {
+			compression.compressAndWriteNA(path, block);
+		}
+		long[][] ranges = { { 0, 100 }, { 65530, 20 }, { 100000, 70000 }, { 290000, 50000 }, { 400000, 10 } };
+		for (long[] range : ranges) {
+			int from = (int) Math.min(range[0], block.length);
+			int to = (int) Math.min(block.length, range[0] + range[1]);
+			byte[] expected = Arrays.copyOfRange(block, from, to);
+			byte[] actual;
+			if (format.equals("Gzip")) {
+				actual = compression.readRangeGzip(path, range[0], (int) range[1]);
+			} else if (format.equals("Snappy")) {
+				actual = compression.readRangeSnappy(path, range[0], (int) range[1]);
+			} else {
+				actual = compression.readRangeNA(path, range[0], (int) range[1]);
+			}
+			Assert.assertArrayEquals(format + " range " + range[0], expected, actual);
+		}
+	}
+
+	@Test
+	public void gzipRangeTest() {
+		checkRanges("Gzip");
+	}
+
+	@Test
+	public void snappyRangeTest() {
+		checkRanges("Snappy");
+	}
+
+	@Test
+	public void uncompressedRangeTest() {
+		checkRanges("NA");
+	}
+
+}
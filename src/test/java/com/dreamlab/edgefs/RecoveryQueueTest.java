@@ -0,0 +1,164 @@
+package com.dreamlab.edgefs;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dreamlab.edgefs.controlplane.Fog;
+import com.dreamlab.edgefs.controlplane.RecoveryQueue;
+import com.dreamlab.edgefs.model.EdgeInfo;
+import com.dreamlab.edgefs.servicehandler.FogServiceHandler;
+
+public class RecoveryQueueTest {
+
+	/**
+	 * Records the microbatches it is asked to recover, the first failures of
+	 * each fail
+	 */
+	private static class RecordingQueue extends RecoveryQueue {
+
+		private final List<Long> recovered = Collections.synchronizedList(new ArrayList<Long>());
+		private final List<Long> attemptTimes = Collections.synchronizedList(new ArrayList<Long>());
+		private final CountDownLatch started = new CountDownLatch(1);
+		private volatile CountDownLatch release;
+		private volatile int failures;
+
+		RecordingQueue(FogServiceHandler handler, String journalFile) {
+			super(handler, journalFile);
+		}
+
+		@Override
+		protected List<Long> recover(short edgeId, int reliability, List<Long> mbIds) throws Exception {
+			started.countDown();
+			if (release != null) {
+				release.await();
+			}
+			attemptTimes.add(System.currentTimeMillis());
+			if (failures > 0) {
+				failures--;
+				return new ArrayList<>(mbIds);
+			}
+			recovered.addAll(mbIds);
+			return new ArrayList<>();
+		}
+	}
+
+	private File dir;
+	private String journalFile;
+	private Fog fog;
+	private FogServiceHandler handler;
+
+	@Before
+	public void setUp() throws IOException {
+		dir = Files.createTempDirectory("recovery").toFile();
+		journalFile = new File(dir, "recovery.journal").getPath();
+		fog = new Fog("127.0.0.1", (short) 1, 9090, (short) 1, 0.9f);
+		fog.setRecoveryConcurrency(1);
+		fog.setRecoveryBatchSize(1);
+		fog.setRecoveryRetryInterval(1);
+		handler = new FogServiceHandler(fog);
+		// edge 1 is dead and edges 2 and 3 are alive
+		for (short edgeId = 1; edgeId <= 3; edgeId++) {
+			EdgeInfo edgeInfo = new EdgeInfo(edgeId, "127.0.0.1", 1, 90);
+			edgeInfo.setStatus(edgeId == 1 ? "D" : "A");
+			fog.getLocalEdgesMap().put(edgeId, edgeInfo);
+		}
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		FileUtils.deleteDirectory(dir);
+	}
+
+	// the microbatch was on the dead edge and on the given live ones
+	private void place(long mbId, short... liveEdges) {
+		HashMap<Short, Byte> edges = new HashMap<>();
+		edges.put((short) 1, (byte) 90);
+		for (short edgeId : liveEdges) {
+			edges.put(edgeId, (byte) 90);
+		}
+		fog.getMbIDLocationMap().put(mbId, edges);
+	}
+
+	private void awaitRecovered(RecordingQueue queue, int count) throws InterruptedException {
+		for (int i = 0; i < 1000 && queue.recovered.size() < count; i++) {
+			Thread.sleep(10);
+		}
+	}
+
+	@Test
+	public void fewestSurvivingReplicasFirstTest() throws InterruptedException {
+		place(10, (short) 2, (short) 3);
+		place(11);
+		place(12, (short) 2);
+		RecordingQueue queue = new RecordingQueue(handler, journalFile);
+		queue.enqueue((short) 1, 90, Arrays.asList(10L, 11L, 12L));
+		queue.start();
+		awaitRecovered(queue, 3);
+		Assert.assertEquals(Arrays.asList(11L, 12L, 10L), queue.recovered);
+		Assert.assertEquals(0, queue.size());
+	}
+
+	@Test
+	public void journalReplayTest() throws IOException, InterruptedException {
+		RecordingQueue queue = new RecordingQueue(handler, journalFile);
+		queue.enqueue((short) 1, 90, Arrays.asList(20L, 21L, 22L));
+		queue.remove(Arrays.asList(21L));
+		// a record cut short by a crash of the Fog
+		DataOutputStream out = new DataOutputStream(new FileOutputStream(journalFile, true));
+		out.writeByte(1);
+		out.writeLong(23L);
+		out.writeShort(1);
+		out.close();
+
+		// the workers of the restarted Fog are held till the replay is checked
+		RecordingQueue restarted = new RecordingQueue(handler, journalFile);
+		restarted.release = new CountDownLatch(1);
+		restarted.start();
+		Assert.assertEquals(2, restarted.size());
+		restarted.release.countDown();
+		awaitRecovered(restarted, 2);
+		Collections.sort(restarted.recovered);
+		Assert.assertEquals(Arrays.asList(20L, 22L), restarted.recovered);
+
+		// the recovered microbatches are not replayed again
+		RecordingQueue again = new RecordingQueue(handler, journalFile);
+		again.release = new CountDownLatch(1);
+		again.start();
+		Assert.assertEquals(0, again.size());
+	}
+
+	@Test
+	public void retryWithBackoffTest() throws InterruptedException {
+		RecordingQueue queue = new RecordingQueue(handler, journalFile);
+		queue.failures = 2;
+		queue.enqueue((short) 1, 90, Arrays.asList(30L));
+		queue.start();
+		Assert.assertTrue(queue.started.await(2, TimeUnit.SECONDS));
+		awaitRecovered(queue, 1);
+		Assert.assertEquals(Arrays.asList(30L), queue.recovered);
+		Assert.assertEquals(3, queue.attemptTimes.size());
+		// retried after one and then two retry intervals
+		long firstDelay = queue.attemptTimes.get(1) - queue.attemptTimes.get(0);
+		long secondDelay = queue.attemptTimes.get(2) - queue.attemptTimes.get(1);
+		Assert.assertTrue(firstDelay >= 900 && firstDelay < 1900);
+		Assert.assertTrue(secondDelay >= 1900 && secondDelay < 2900);
+		Assert.assertEquals(0, queue.size());
+	}
+
+}
@@ -0,0 +1,86 @@
+package com.dreamlab.edgefs;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dreamlab.edgefs.controlplane.SessionPlacements;
+import com.dreamlab.edgefs.model.EdgeInfo;
+import com.dreamlab.edgefs.model.FogStats;
+import com.dreamlab.edgefs.thrift.EdgeInfoData;
+import com.dreamlab.edgefs.thrift.NodeInfoData;
+import com.dreamlab.edgefs.thrift.WritableFogData;
+import com.dreamlab.edgefs.thrift.WritePreference;
+
+public class SessionPlacementsTest {
+
+	private static final short SELF_ID = 1;
+	private static final short OTHER_ID = 2;
+	private static final short EDGE_ID = 5;
+
+	private Map<Short, FogStats> fogUpdateMap;
+	private Map<Short, EdgeInfo> localEdges;
+	private List<WritableFogData> locations;
+
+	@Before
+	public void setUp() {
+		fogUpdateMap = new HashMap<>();
+		fogUpdateMap.put(OTHER_ID, new FogStats(15, 20, 30, 70, 80, 90, 1, 2, 0, 1));
+		localEdges = new HashMap<>();
+		localEdges.put(EDGE_ID, new EdgeInfo(EDGE_ID, 90, 1000));
+
+		WritableFogData local = new WritableFogData(new NodeInfoData(SELF_ID, "127.0.0.1", 9090),
+				WritePreference.HHL, 0.9);
+		local.setEdgeInfo(new EdgeInfoData(EDGE_ID, "127.0.0.1", 8000, (byte) 90, (byte) 0));
+		locations = new ArrayList<>();
+		locations.add(local);
+		locations.add(new WritableFogData(new NodeInfoData(OTHER_ID, "127.0.0.2", 9090), WritePreference.HHH, 0.8));
+	}
+
+	@Test
+	public void reuseTest() throws InterruptedException {
+		SessionPlacements placements = new SessionPlacements(40);
+		Assert.assertNull(placements.get("secret", SELF_ID, fogUpdateMap, localEdges, 10));
+		placements.put("secret", SELF_ID, locations, fogUpdateMap);
+		Assert.assertEquals(locations, placements.get("secret", SELF_ID, fogUpdateMap, localEdges, 10));
+		// only the session the placement was made for reuses it
+		Assert.assertNull(placements.get("other", SELF_ID, fogUpdateMap, localEdges, 10));
+		// the storage of the Fog moving within its bucket doesn't drop it
+		fogUpdateMap.get(OTHER_ID).setMinStorage(18);
+		Assert.assertNotNull(placements.get("secret", SELF_ID, fogUpdateMap, localEdges, 10));
+		// no room left on the local edge for the block
+		Assert.assertNull(placements.get("secret", SELF_ID, fogUpdateMap, localEdges, 2000));
+		Assert.assertEquals(0, placements.size());
+
+		SessionPlacements expiring = new SessionPlacements(0);
+		expiring.put("secret", SELF_ID, locations, fogUpdateMap);
+		Thread.sleep(5);
+		Assert.assertNull(expiring.get("secret", SELF_ID, fogUpdateMap, localEdges, 10));
+	}
+
+	@Test
+	public void fogStatsMovedTest() {
+		SessionPlacements placements = new SessionPlacements(40);
+		placements.put("secret", SELF_ID, locations, fogUpdateMap);
+		// an edge of the chosen Fog moved to another quadrant
+		fogUpdateMap.put(OTHER_ID, new FogStats(15, 20, 30, 70, 80, 90, 1, 1, 0, 2));
+		Assert.assertNull(placements.get("secret", SELF_ID, fogUpdateMap, localEdges, 10));
+
+		placements.put("secret", SELF_ID, locations, fogUpdateMap);
+		// the edges of the chosen Fog filled up
+		fogUpdateMap.get(OTHER_ID).setMaxStorage(10);
+		fogUpdateMap.get(OTHER_ID).setMedianStorage(10);
+		Assert.assertNull(placements.get("secret", SELF_ID, fogUpdateMap, localEdges, 10));
+
+		placements.put("secret", SELF_ID, locations, fogUpdateMap);
+		// the chosen Fog is suspected
+		fogUpdateMap.remove(OTHER_ID);
+		Assert.assertNull(placements.get("secret", SELF_ID, fogUpdateMap, localEdges, 10));
+	}
+
+}
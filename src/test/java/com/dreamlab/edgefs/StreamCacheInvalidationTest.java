@@ -0,0 +1,120 @@
+package com.dreamlab.edgefs;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+
+import org.apache.thrift.TException;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dreamlab.edgefs.controlplane.Fog;
+import com.dreamlab.edgefs.controlplane.StreamCacheRegistry;
+import com.dreamlab.edgefs.servicehandler.FogServiceHandler;
+import com.dreamlab.edgefs.thrift.ByteTypeStreamMetadata;
+import com.dreamlab.edgefs.thrift.DoubleTypeStreamMetadata;
+import com.dreamlab.edgefs.thrift.I32TypeStreamMetadata;
+import com.dreamlab.edgefs.thrift.I64TypeStreamMetadata;
+import com.dreamlab.edgefs.thrift.NodeInfoData;
+import com.dreamlab.edgefs.thrift.NodeInfoPrimary;
+import com.dreamlab.edgefs.thrift.NodeInfoPrimaryTypeStreamMetadata;
+import com.dreamlab.edgefs.thrift.StreamMetadata;
+import com.dreamlab.edgefs.thrift.StreamMetadataInfo;
+
+public class StreamCacheInvalidationTest {
+
+	private Fog fog;
+	private FogServiceHandler handler;
+
+	@Before
+	public void setUp() {
+		fog = new Fog("127.0.0.1", (short) 1, 9090, (short) 1, 0.9f);
+		handler = new FogServiceHandler(fog);
+	}
+
+	private StreamMetadata metadata(String streamId, int version) {
+		return new StreamMetadata(streamId, new I64TypeStreamMetadata(0, false),
+				new DoubleTypeStreamMetadata(0.9, false), new ByteTypeStreamMetadata((byte) 1, false),
+				new ByteTypeStreamMetadata((byte) 2, false), new I32TypeStreamMetadata(version, true));
+	}
+
+	@Test
+	public void invalidateCachedCopyTest() throws TException {
+		StreamMetadataInfo cached = new StreamMetadataInfo(metadata("cached", 1), true);
+		cached.setCacheTime(System.currentTimeMillis());
+		fog.getStreamMetadata().put("cached", cached);
+
+		// an invalidation for the version already cached changes nothing
+		handler.invalidateStreamMetadata("cached", 1);
+		Assert.assertTrue(cached.getCacheTime() > 0);
+
+		handler.invalidateStreamMetadata("cached", 2);
+		Assert.assertEquals(0, cached.getCacheTime());
+
+		// the copy at the owner is never invalidated
+		handler.registerStream("owned", metadata("owned", 0), 0);
+		handler.invalidateStreamMetadata("owned", 5);
+		Assert.assertFalse(fog.getStreamMetadata().get("owned").isCached());
+	}
+
+	@Test
+	public void registerCachingFogTest() throws TException {
+		handler.registerStream("owned", metadata("owned", 0), 0);
+		handler.registerStreamCache("owned", new NodeInfoData((short) 2, "127.0.0.1", 9091), 0);
+		handler.registerStreamCache("owned", new NodeInfoData((short) 3, "127.0.0.1", 9092), 0);
+		handler.registerStreamCache("owned", new NodeInfoData((short) 2, "127.0.0.1", 9091), 0);
+		Assert.assertEquals(2, fog.getStreamCacheRegistry().getCachingFogs("owned").size());
+
+		// only the owner keeps the caching Fogs
+		StreamMetadataInfo cached = new StreamMetadataInfo(metadata("cached", 0), true);
+		fog.getStreamMetadata().put("cached", cached);
+		handler.registerStreamCache("cached", new NodeInfoData((short) 2, "127.0.0.1", 9091), 0);
+		Assert.assertTrue(fog.getStreamCacheRegistry().getCachingFogs("cached").isEmpty());
+
+		fog.getBlockPurger().deleteStream("owned");
+		Assert.assertTrue(fog.getStreamCacheRegistry().getCachingFogs("owned").isEmpty());
+	}
+
+	@Test
+	public void registrationExpiryTest() throws Exception {
+		StreamCacheRegistry registry = new StreamCacheRegistry(fog.getHeartbeatScheduler(), 100);
+		fog.setStreamCacheRegistry(registry);
+		handler.registerStream("owned", metadata("owned", 0), 0);
+		handler.registerStreamCache("owned", new NodeInfoData((short) 2, "127.0.0.1", 9091), 0);
+		Thread.sleep(200);
+		// renewed by the Fog still caching the metadata
+		handler.registerStreamCache("owned", new NodeInfoData((short) 3, "127.0.0.1", 9092), 0);
+		Assert.assertEquals(1, registry.getCachingFogs("owned").size());
+		Assert.assertEquals(3, registry.getCachingFogs("owned").iterator().next().getNodeId());
+	}
+
+	@Test
+	public void unreachableFogDroppedTest() throws Exception {
+		handler.registerStream("owned", metadata("owned", 0), 0);
+		// no Fog listens on this port
+		handler.registerStreamCache("owned", new NodeInfoData((short) 2, "127.0.0.1", 1), 0);
+		fog.getStreamCacheRegistry().invalidate("owned", 1);
+		for (int i = 0; i < 200 && !fog.getStreamCacheRegistry().getCachingFogs("owned").isEmpty(); i++) {
+			Thread.sleep(10);
+		}
+		Assert.assertTrue(fog.getStreamCacheRegistry().getCachingFogs("owned").isEmpty());
+	}
+
+	@Test
+	public void slowOwnerTest() throws IOException, TException {
+		// the owner accepts the connection but never answers
+		ServerSocket owner = new ServerSocket(0);
+		try {
+			StreamMetadata metadata = metadata("cached", 0);
+			metadata.setOwner(new NodeInfoPrimaryTypeStreamMetadata(
+					new NodeInfoPrimary("127.0.0.1", owner.getLocalPort()), false));
+			long start = System.currentTimeMillis();
+			handler.registerStreamDirectory("cached", metadata, false);
+			Assert.assertTrue(System.currentTimeMillis() - start < 1000);
+			Assert.assertTrue(fog.getStreamMetadata().get("cached").isCached());
+		} finally {
+			owner.close();
+		}
+	}
+
+}
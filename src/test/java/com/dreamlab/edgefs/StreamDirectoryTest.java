@@ -0,0 +1,115 @@
+package com.dreamlab.edgefs;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.thrift.TException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.dreamlab.edgefs.controlplane.Fog;
+import com.dreamlab.edgefs.controlplane.StreamDirectory;
+import com.dreamlab.edgefs.misc.ConsistentHashRing;
+import com.dreamlab.edgefs.misc.Constants;
+import com.dreamlab.edgefs.model.NeighborInfo;
+import com.dreamlab.edgefs.model.NodeInfo;
+import com.dreamlab.edgefs.servicehandler.FogServiceHandler;
+import com.dreamlab.edgefs.thrift.ByteTypeStreamMetadata;
+import com.dreamlab.edgefs.thrift.DoubleTypeStreamMetadata;
+import com.dreamlab.edgefs.thrift.I32TypeStreamMetadata;
+import com.dreamlab.edgefs.thrift.I64TypeStreamMetadata;
+import com.dreamlab.edgefs.thrift.NodeInfoData;
+import com.dreamlab.edgefs.thrift.NodeInfoPrimary;
+import com.dreamlab.edgefs.thrift.NodeInfoPrimaryTypeStreamMetadata;
+import com.dreamlab.edgefs.thrift.StreamMetadata;
+import com.dreamlab.edgefs.thrift.StreamMetadataInfo;
+
+public class StreamDirectoryTest {
+
+	@Test
+	public void ringTest() {
+		ConsistentHashRing ring = new ConsistentHashRing(Arrays.asList((short) 1, (short) 2, (short) 3), 64);
+		ConsistentHashRing reordered = new ConsistentHashRing(Arrays.asList((short) 3, (short) 1, (short) 2), 64);
+		ConsistentHashRing grown = new ConsistentHashRing(
+				Arrays.asList((short) 1, (short) 2, (short) 3, (short) 4), 64);
+		Map<Short, Integer> counts = new HashMap<>();
+		int moved = 0;
+		for (int i = 0; i < 3000; i++) {
+			String streamId = "stream-" + i;
+			Short member = ring.lookup(streamId);
+			Assert.assertEquals(member, reordered.lookup(streamId));
+			counts.put(member, counts.containsKey(member) ? counts.get(member) + 1 : 1);
+			// a new member only takes keys, the others keep theirs
+			Short after = grown.lookup(streamId);
+			if (!after.equals(member)) {
+				Assert.assertEquals((short) 4, (short) after);
+				moved++;
+			}
+		}
+		for (Short member : ring.getMembers()) {
+			Assert.assertTrue(counts.get(member) > 600);
+		}
+		Assert.assertTrue(moved > 300 && moved < 1200);
+		Assert.assertNull(new ConsistentHashRing(Arrays.<Short>asList(), 64).lookup("stream"));
+	}
+
+	@Test
+	public void directoryFogsTest() {
+		Fog fog = new Fog("127.0.0.1", (short) 1, 9090, (short) 1, 0.9f);
+		fog.getNeighborsMap().put((short) 2, new NeighborInfo(new NodeInfo("127.0.0.1", (short) 2, 9091, (short) 2)));
+		fog.getNeighborsMap().get((short) 2).setBuddyPoolId((short) 2);
+		fog.getNeighborsMap().put((short) 3, new NeighborInfo(new NodeInfo("127.0.0.1", (short) 3, 9092, (short) 3)));
+		fog.getNeighborsMap().get((short) 3).setBuddyPoolId((short) 3);
+		StreamDirectory directory = new StreamDirectory(fog, 64);
+		ConsistentHashRing ring = new ConsistentHashRing(Arrays.asList((short) 1, (short) 2, (short) 3), 64);
+
+		for (int i = 0; i < 100; i++) {
+			String streamId = "stream-" + i;
+			short homePool = ring.lookup(streamId);
+			Assert.assertEquals(homePool, (short) directory.getHomePool(streamId));
+			List<NodeInfoData> fogs = directory.getDirectoryFogs(streamId);
+			if (homePool == 1) {
+				// no buddies
+				Assert.assertTrue(directory.isHomePool(streamId));
+				Assert.assertTrue(fogs.isEmpty());
+			} else {
+				Assert.assertEquals(1, fogs.size());
+				Assert.assertEquals(homePool, fogs.get(0).getNodeId());
+			}
+		}
+		Assert.assertNull(new StreamDirectory(fog, 0).getHomePool("stream"));
+	}
+
+	@Test
+	public void registerDirectoryEntryTest() throws TException {
+		Fog fog = new Fog("127.0.0.1", (short) 1, 9090, (short) 1, 0.9f);
+		fog.setStreamMetaCacheInvalidation(Constants.DEFAULT_STREAM_METADATA_CACHE_INVALIDATION_TIMEOUT);
+		FogServiceHandler handler = new FogServiceHandler(fog);
+		handler.registerStream("owned", metadata(0), 0);
+		Assert.assertEquals(Constants.SUCCESS, handler.registerStreamDirectory("owned", metadata(3), false));
+		Assert.assertFalse(fog.getStreamMetadata().get("owned").isCached());
+		Assert.assertEquals(0, fog.getStreamMetadata().get("owned").getStreamMetadata().getVersion().getValue());
+
+		Assert.assertEquals(Constants.SUCCESS, handler.registerStreamDirectory("remote", metadata(2), false));
+		StreamMetadataInfo entry = fog.getStreamMetadata().get("remote");
+		Assert.assertTrue(entry.isCached());
+		Assert.assertEquals(2, entry.getStreamMetadata().getVersion().getValue());
+		// an older copy doesn't replace a later one
+		handler.registerStreamDirectory("remote", metadata(1), false);
+		Assert.assertEquals(2, fog.getStreamMetadata().get("remote").getStreamMetadata().getVersion().getValue());
+		// the copy is served to the Fogs looking up the stream
+		Assert.assertEquals(entry, handler.getStreamMetadata("remote", false, false, false));
+	}
+
+	private StreamMetadata metadata(int version) {
+		StreamMetadata metadata = new StreamMetadata("stream", new I64TypeStreamMetadata(0, false),
+				new DoubleTypeStreamMetadata(0.9, false), new ByteTypeStreamMetadata((byte) 1, false),
+				new ByteTypeStreamMetadata((byte) 2, false), new I32TypeStreamMetadata(version, true));
+		// an owner which is not running
+		metadata.setOwner(new NodeInfoPrimaryTypeStreamMetadata(new NodeInfoPrimary("127.0.0.1", 1), false));
+		return metadata;
+	}
+
+}
@@ -0,0 +1,98 @@
+package com.dreamlab.edgefs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.dreamlab.edgefs.controlplane.Fog;
+import com.dreamlab.edgefs.misc.Constants;
+import com.dreamlab.edgefs.misc.StripedLocks;
+import com.dreamlab.edgefs.servicehandler.FogServiceHandler;
+import com.dreamlab.edgefs.thrift.ByteTypeStreamMetadata;
+import com.dreamlab.edgefs.thrift.DoubleTypeStreamMetadata;
+import com.dreamlab.edgefs.thrift.I32TypeStreamMetadata;
+import com.dreamlab.edgefs.thrift.I64TypeStreamMetadata;
+import com.dreamlab.edgefs.thrift.StreamMetadata;
+
+public class StreamLockTest {
+
+	@Test
+	public void stripesTest() throws Exception {
+		final StripedLocks locks = new StripedLocks(60);
+		Assert.assertEquals(64, locks.size());
+		Assert.assertEquals(1, new StripedLocks(1).size());
+		Assert.assertSame(locks.get("stream-1"), locks.get(new String("stream-1")));
+
+		// a stream on another stripe is not held up by a held lock
+		String other = "stream-2";
+		for (int i = 3; locks.get(other) == locks.get("stream-1"); i++) {
+			other = "stream-" + i;
+		}
+		final Lock held = locks.get("stream-1");
+		held.lock();
+		try {
+			final String free = other;
+			ExecutorService executor = Executors.newSingleThreadExecutor();
+			Future<Boolean> acquired = executor.submit(new Callable<Boolean>() {
+
+				@Override
+				public Boolean call() throws Exception {
+					Lock lock = locks.get(free);
+					if (lock.tryLock(1, TimeUnit.SECONDS)) {
+						lock.unlock();
+						return true;
+					}
+					return false;
+				}
+			});
+			Assert.assertTrue(acquired.get());
+			executor.shutdown();
+		} finally {
+			held.unlock();
+		}
+	}
+
+	@Test
+	public void concurrentOpenTest() throws Exception {
+		Fog fog = new Fog("127.0.0.1", (short) 1, 9090, (short) 1, 0.9f);
+		fog.setStreamSoftLease(Constants.DEFAULT_STREAM_SOFT_LEASE_TIME);
+		final FogServiceHandler handler = new FogServiceHandler(fog);
+		for (int s = 0; s < 4; s++) {
+			handler.registerStream("stream-" + s, new StreamMetadata("stream-" + s, new I64TypeStreamMetadata(0, false),
+					new DoubleTypeStreamMetadata(0.9, false), new ByteTypeStreamMetadata((byte) 1, false),
+					new ByteTypeStreamMetadata((byte) 2, false), new I32TypeStreamMetadata(0, true)), 0);
+		}
+
+		// of the clients opening a stream at the same time only one gets the lease
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<Future<Byte>> opens = new ArrayList<>();
+		for (int c = 0; c < 32; c++) {
+			final String streamId = "stream-" + (c % 4);
+			final String clientId = "client-" + c;
+			opens.add(executor.submit(new Callable<Byte>() {
+
+				@Override
+				public Byte call() throws Exception {
+					return handler.open(streamId, clientId, 0, true).getStatus();
+				}
+			}));
+		}
+		int succeeded = 0;
+		for (Future<Byte> open : opens) {
+			if (open.get() == Constants.SUCCESS) {
+				succeeded++;
+			}
+		}
+		executor.shutdown();
+		Assert.assertEquals(4, succeeded);
+	}
+
+}
@@ -0,0 +1,139 @@
+package com.dreamlab.edgefs;
+
+import java.util.HashMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dreamlab.edgefs.controlplane.Fog;
+import com.dreamlab.edgefs.controlplane.HedgedReadCoordinator;
+import com.dreamlab.edgefs.controlplane.StreamPrefetcher;
+import com.dreamlab.edgefs.misc.Constants;
+import com.dreamlab.edgefs.thrift.Metadata;
+import com.dreamlab.edgefs.thrift.ReadReplica;
+
+public class StreamPrefetcherTest {
+
+	/**
+	 * Serves every block from memory, the read of a block can be held back
+	 */
+	private static class MemoryReads extends HedgedReadCoordinator {
+
+		private final Set<Long> reads = ConcurrentHashMap.newKeySet();
+		private volatile long heldBlock = -1;
+		private final CountDownLatch held = new CountDownLatch(1);
+		private final CountDownLatch release = new CountDownLatch(1);
+
+		MemoryReads(Fog fog) {
+			super(fog, 0, 0, 0, 1000, 1);
+		}
+
+		@Override
+		public ReadReplica read(long mbId, boolean fetchMetadata, String compFormat, long uncompSize) {
+			reads.add(mbId);
+			if (mbId == heldBlock) {
+				held.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			ReadReplica replica = new ReadReplica();
+			replica.setStatus(Constants.SUCCESS);
+			replica.setData(new byte[] { (byte) mbId });
+			replica.setMetadata(new Metadata("client", "secret", "stream", mbId, 0));
+			return replica;
+		}
+	}
+
+	private Fog fog;
+	private MemoryReads reads;
+	private StreamPrefetcher prefetcher;
+
+	@Before
+	public void setUp() {
+		fog = new Fog("127.0.0.1", (short) 1, 9090, (short) 1, 0.9f);
+		reads = new MemoryReads(fog);
+		fog.setReadCoordinator(reads);
+		for (long mbId = 1; mbId <= 20; mbId++) {
+			Metadata metadata = new Metadata("client", "secret", "stream", mbId, 0);
+			metadata.setCompFormat("NA");
+			fog.getBlockMetadata().put(mbId, metadata);
+			fog.getMbIdToStreamIdMap().put(mbId, "stream");
+			fog.getMbIDLocationMap().put(mbId, new HashMap<Short, Byte>());
+		}
+		prefetcher = new StreamPrefetcher(fog, 3, 1024 * 1024, 1);
+	}
+
+	// the read ahead runs in the background
+	private ReadReplica awaitTake(long mbId) throws InterruptedException {
+		for (int i = 0; i < 200; i++) {
+			ReadReplica replica = prefetcher.take(mbId, "NA", true);
+			if (replica != null) {
+				return replica;
+			}
+			Thread.sleep(10);
+		}
+		return null;
+	}
+
+	@Test
+	public void sequentialReadAheadTest() throws InterruptedException {
+		// reads out of order are not read ahead
+		prefetcher.onRead(10);
+		prefetcher.onRead(18);
+		prefetcher.onRead(15);
+		Thread.sleep(50);
+		Assert.assertTrue(reads.reads.isEmpty());
+
+		// the third block in a row starts the read ahead of the window after it
+		prefetcher.onRead(1);
+		prefetcher.onRead(2);
+		Assert.assertTrue(reads.reads.isEmpty());
+		prefetcher.onRead(3);
+		ReadReplica replica = awaitTake(6);
+		Assert.assertNotNull(replica);
+		Assert.assertEquals(6, replica.getData()[0]);
+		Assert.assertEquals(6, replica.getMetadata().getMbId());
+		Assert.assertNotNull(awaitTake(4));
+		Assert.assertNotNull(awaitTake(5));
+		Assert.assertFalse(reads.reads.contains(7L));
+		// a block is served from the read ahead buffer once
+		Assert.assertNull(prefetcher.take(4, "NA", true));
+
+		// the next read moves the window by one block
+		prefetcher.onRead(4);
+		Assert.assertNotNull(awaitTake(7));
+		Assert.assertFalse(reads.reads.contains(8L));
+	}
+
+	@Test
+	public void updateWhileReadingAheadTest() throws InterruptedException {
+		reads.heldBlock = 4;
+		prefetcher.onRead(1);
+		prefetcher.onRead(2);
+		prefetcher.onRead(3);
+		Assert.assertTrue(reads.held.await(2, TimeUnit.SECONDS));
+		// the block is updated while its old copy is being read
+		prefetcher.invalidate(4);
+		reads.release.countDown();
+		Assert.assertNotNull(awaitTake(6));
+		Assert.assertNull(prefetcher.take(4, "NA", true));
+	}
+
+	@Test
+	public void trackedStreamsBoundedTest() {
+		for (long mbId = 1; mbId <= 5000; mbId++) {
+			fog.getMbIdToStreamIdMap().put(mbId, "stream-" + mbId);
+			prefetcher.onRead(mbId);
+		}
+		Assert.assertTrue(prefetcher.getStats().get("streams") <= 1024);
+	}
+
+}
@@ -0,0 +1,52 @@
+package com.dreamlab.edgefs;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.dreamlab.edgefs.misc.WeightedSampler;
+
+public class WeightedSamplerTest {
+
+	@Test
+	public void proportionalDrawTest() {
+		long[] weights = new long[] { 1, 0, 3, 6 };
+		WeightedSampler sampler = new WeightedSampler(weights);
+		Assert.assertEquals(10, sampler.getTotal());
+		Random random = new Random(7);
+		int[] counts = new int[weights.length];
+		int draws = 100000;
+		for (int i = 0; i < draws; i++) {
+			counts[sampler.draw(random)]++;
+		}
+		Assert.assertEquals(0, counts[1]);
+		for (int i = 0; i < weights.length; i++) {
+			Assert.assertEquals(weights[i] / 10.0, counts[i] / (double) draws, 0.01);
+		}
+	}
+
+	@Test
+	public void drawWithoutReplacementTest() {
+		long[] weights = new long[1000];
+		for (int i = 0; i < weights.length; i++) {
+			weights[i] = i % 3;
+		}
+		WeightedSampler sampler = new WeightedSampler(weights);
+		Random random = new Random(11);
+		Set<Integer> drawn = new HashSet<Integer>();
+		int index;
+		while ((index = sampler.draw(random)) >= 0) {
+			Assert.assertTrue(weights[index] > 0);
+			Assert.assertTrue(drawn.add(index));
+			sampler.remove(index);
+		}
+		// every index with a weight is drawn exactly once
+		Assert.assertEquals(666, drawn.size());
+		Assert.assertEquals(0, sampler.getTotal());
+		Assert.assertEquals(-1, new WeightedSampler(new long[0]).draw(random));
+	}
+
+}
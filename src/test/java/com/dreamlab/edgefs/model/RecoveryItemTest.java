@@ -0,0 +1,46 @@
+package com.dreamlab.edgefs.model;
+
+import java.util.concurrent.PriorityBlockingQueue;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.dreamlab.edgefs.misc.BandwidthThrottle;
+
+public class RecoveryItemTest {
+
+	@Test
+	public void fewestReplicasFirstTest() {
+		PriorityBlockingQueue<RecoveryItem> queue = new PriorityBlockingQueue<>();
+		queue.offer(new RecoveryItem((short) 1, 10L, 90, 2, 100L));
+		queue.offer(new RecoveryItem((short) 1, 11L, 90, 0, 300L));
+		queue.offer(new RecoveryItem((short) 2, 12L, 80, 1, 50L));
+		queue.offer(new RecoveryItem((short) 2, 13L, 80, 0, 200L));
+
+		Assert.assertEquals(13L, queue.poll().getMbId());
+		Assert.assertEquals(11L, queue.poll().getMbId());
+		Assert.assertEquals(12L, queue.poll().getMbId());
+		Assert.assertEquals(10L, queue.poll().getMbId());
+	}
+
+	@Test
+	public void throttleTest() throws InterruptedException {
+		BandwidthThrottle unlimited = new BandwidthThrottle(0);
+		Assert.assertEquals(false, unlimited.isLimited());
+		long start = System.currentTimeMillis();
+		unlimited.acquire(100 * 1024 * 1024);
+		Assert.assertTrue(System.currentTimeMillis() - start < 100);
+
+		BandwidthThrottle throttle = new BandwidthThrottle(10);
+		Assert.assertEquals(true, throttle.isLimited());
+		// 5 MB at 10 MB/s, the first MB goes right away and the others wait for
+		// the ones before them
+		start = System.currentTimeMillis();
+		for (int i = 0; i < 5; i++) {
+			throttle.acquire(1024 * 1024);
+		}
+		long elapsed = System.currentTimeMillis() - start;
+		Assert.assertTrue("took " + elapsed + " ms", elapsed >= 390 && elapsed < 1000);
+	}
+
+}